@@ -0,0 +1,12 @@
+-- Schema of the AppCDS training statements in src/cds/sql. Re-record src/cds/training-metadata.json from it with
+-- --sql-dir src/cds/sql --embedded-schema src/cds/schema.sql --record-metadata src/cds/training-metadata.json
+CREATE TABLE customer (
+    customer_id int IDENTITY(1,1) PRIMARY KEY,
+    first_name varchar(45) NOT NULL,
+    last_name varchar(45) NOT NULL,
+    email varchar(50),
+    address_id int NOT NULL,
+    active bit NOT NULL DEFAULT 1,
+    create_date datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_update datetime DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,3 @@
+DELETE FROM customer 
+WHERE customer_id = ? 
+  AND active = ?
\ No newline at end of file
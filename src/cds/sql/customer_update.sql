@@ -0,0 +1,7 @@
+UPDATE customer 
+SET first_name = ?, 
+    last_name = ?, 
+    email = ?,
+    last_update = CURRENT_TIMESTAMP
+WHERE customer_id = ? 
+AND active = ?
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.jfeatures.msg.benchmark;
+
+import com.jfeatures.msg.codegen.dbmetadata.ColumnMetadata;
+import com.jfeatures.msg.codegen.domain.DBColumn;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic metadata shaped like what the SQL Server driver reports, so benchmarks run without a database.
+ */
+final class BenchmarkFixtures {
+
+    private static final int[] COLUMN_TYPES = {Types.INTEGER, Types.VARCHAR, Types.DECIMAL, Types.TIMESTAMP, Types.BIT, Types.BIGINT};
+    private static final String[] COLUMN_TYPE_NAMES = {"int", "varchar", "decimal", "datetime", "bit", "bigint"};
+    private static final String[] COLUMN_CLASS_NAMES = {"java.lang.Integer", "java.lang.String", "java.math.BigDecimal",
+                                                        "java.sql.Timestamp", "java.lang.Boolean", "java.lang.Long"};
+
+    private BenchmarkFixtures() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Returns result set columns {@code column_1 .. column_n} cycling through the common JDBC types.
+     */
+    static List<ColumnMetadata> columns(int count) {
+        List<ColumnMetadata> columns = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            int type = i % COLUMN_TYPES.length;
+            ColumnMetadata column = new ColumnMetadata();
+            column.setColumnName("column_" + i);
+            column.setColumnAlias("column_" + i);
+            column.setTableName("wide_table");
+            column.setColumnType(COLUMN_TYPES[type]);
+            column.setColumnTypeName(COLUMN_TYPE_NAMES[type]);
+            column.setColumnClassName(COLUMN_CLASS_NAMES[type]);
+            column.setIsNullable(i % 2);
+            columns.add(column);
+        }
+        return columns;
+    }
+
+    /**
+     * Returns WHERE clause parameters {@code filter_1 .. filter_n}.
+     */
+    static List<DBColumn> parameters(int count) {
+        List<DBColumn> parameters = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            parameters.add(new DBColumn("wide_table", "filter_" + i, "java.lang.Integer", "INTEGER"));
+        }
+        return parameters;
+    }
+
+    /**
+     * Returns {@code SELECT * FROM wide_table WHERE filter_1 = ? AND ... AND filter_n = ?}.
+     */
+    static String selectWithPlaceholders(int count) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM wide_table WHERE ");
+        for (int i = 1; i <= count; i++) {
+            sql.append(i > 1 ? " AND " : "").append("filter_").append(i).append(" = ?");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Returns a SELECT over a chain of {@code count} CTEs, each filtering and aggregating the previous one.
+     */
+    static String selectWithCtes(int count) {
+        StringBuilder sql = new StringBuilder("WITH cte_1 AS (SELECT customer_id, amount FROM payment WHERE payment_date >= ?)");
+        for (int i = 2; i <= count; i++) {
+            sql.append(",\n cte_").append(i).append(" AS (SELECT customer_id, SUM(amount) AS amount FROM cte_").append(i - 1)
+               .append(" WHERE customer_id IN (SELECT customer_id FROM customer WHERE active = 1) GROUP BY customer_id)");
+        }
+        sql.append("\nSELECT c.customer_id, c.first_name, t.amount FROM customer c JOIN cte_").append(count)
+           .append(" t ON c.customer_id = t.customer_id WHERE c.store_id = ?");
+        return sql.toString();
+    }
+}
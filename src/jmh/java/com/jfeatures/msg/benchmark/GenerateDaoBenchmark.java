@@ -0,0 +1,53 @@
+package com.jfeatures.msg.benchmark;
+
+import com.jfeatures.msg.codegen.GenerateDAO;
+import com.jfeatures.msg.codegen.dbmetadata.ColumnMetadata;
+import com.jfeatures.msg.codegen.domain.DBColumn;
+import com.squareup.javapoet.JavaFile;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end SELECT DAO generation from fixture metadata, rendered to source as the project writer does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenerateDaoBenchmark {
+
+    private static final int PARAMETER_COUNT = 3;
+
+    @Param({"10", "100"})
+    private int columnCount;
+
+    private List<ColumnMetadata> columns;
+    private List<DBColumn> parameters;
+    private String sql;
+
+    @Setup
+    public void setUp() {
+        columns = BenchmarkFixtures.columns(columnCount);
+        parameters = BenchmarkFixtures.parameters(PARAMETER_COUNT);
+        sql = BenchmarkFixtures.selectWithPlaceholders(PARAMETER_COUNT);
+    }
+
+    @Benchmark
+    public String createDaoFromMetadata() {
+        JavaFile dao = GenerateDAO.createDaoFromMetadata("Wide", columns, parameters, sql);
+        return dao.toString();
+    }
+}
@@ -0,0 +1,49 @@
+package com.jfeatures.msg.benchmark;
+
+import com.jfeatures.msg.codegen.dbmetadata.ColumnMetadata;
+import com.jfeatures.msg.codegen.mapping.ResultSetMappingGenerator;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.TypeName;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Generation of the ResultSet-to-DTO mapping code of a DAO. 255 columns is the threshold above which
+ * setters replace the builder, so it is measured on both sides.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultSetMappingBenchmark {
+
+    @Param({"10", "100", "255", "1000"})
+    private int columnCount;
+
+    private List<ColumnMetadata> columns;
+    private TypeName dtoType;
+
+    @Setup
+    public void setUp() {
+        columns = BenchmarkFixtures.columns(columnCount);
+        dtoType = ClassName.get("com.jfeatures.msg.wide.dto", "WideDTO");
+    }
+
+    @Benchmark
+    public String buildResultSetToObjectMappingCode() {
+        return ResultSetMappingGenerator.buildResultSetToObjectMappingCode(columns, dtoType);
+    }
+}
@@ -0,0 +1,46 @@
+package com.jfeatures.msg.benchmark;
+
+import com.jfeatures.msg.codegen.domain.DBColumn;
+import com.jfeatures.msg.codegen.sql.SqlParameterReplacer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rewriting of {@code ?} placeholders into named parameters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SqlParameterReplacerBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int placeholderCount;
+
+    private String sql;
+    private List<DBColumn> parameters;
+
+    @Setup
+    public void setUp() {
+        sql = BenchmarkFixtures.selectWithPlaceholders(placeholderCount);
+        parameters = BenchmarkFixtures.parameters(placeholderCount);
+    }
+
+    @Benchmark
+    public String convertToNamedParameterSql() {
+        return SqlParameterReplacer.convertToNamedParameterSql(sql, parameters);
+    }
+}
@@ -0,0 +1,44 @@
+package com.jfeatures.msg.benchmark;
+
+import com.jfeatures.msg.codegen.util.SqlStatementDetector;
+import com.jfeatures.msg.codegen.util.SqlStatementType;
+import java.util.concurrent.TimeUnit;
+import net.sf.jsqlparser.JSQLParserException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Statement type detection, which parses the whole statement, on SELECTs over long CTE chains.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SqlStatementDetectorBenchmark {
+
+    @Param({"5", "25", "100"})
+    private int cteCount;
+
+    private String sql;
+
+    @Setup
+    public void setUp() {
+        sql = BenchmarkFixtures.selectWithCtes(cteCount);
+    }
+
+    @Benchmark
+    public SqlStatementType detectStatementType() throws JSQLParserException {
+        return SqlStatementDetector.detectStatementType(sql);
+    }
+}
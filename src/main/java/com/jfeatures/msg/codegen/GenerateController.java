@@ -3,6 +3,7 @@ package com.jfeatures.msg.codegen;
 import com.jfeatures.msg.codegen.constants.CodeGenerationConstants;
 import com.jfeatures.msg.codegen.constants.ProjectConstants;
 import com.jfeatures.msg.codegen.domain.DBColumn;
+import com.jfeatures.msg.codegen.domain.ResultShape;
 import com.jfeatures.msg.codegen.util.JavaPackageNameBuilder;
 import com.jfeatures.msg.codegen.util.JavaPoetTypeNameBuilder;
 import com.squareup.javapoet.AnnotationSpec;
@@ -18,6 +19,7 @@ import com.squareup.javapoet.TypeSpec;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 import javax.lang.model.element.Modifier;
@@ -35,8 +37,29 @@ public class GenerateController {
         throw new UnsupportedOperationException("Utility class");
     }
 
+    /** The generated controller writes the rows of a stream with Jackson, which Spring Boot configures. */
+    private static final ClassName OBJECT_MAPPER = ClassName.get("com.fasterxml.jackson.databind", "ObjectMapper");
+    private static final ClassName JSON_GENERATOR = ClassName.get("com.fasterxml.jackson.core", "JsonGenerator");
+    private static final ClassName STREAMING_RESPONSE_BODY =
+            ClassName.get("org.springframework.web.servlet.mvc.method.annotation", "StreamingResponseBody");
+    private static final String OBJECT_MAPPER_FIELD_NAME = "objectMapper";
+
     public static JavaFile createController(String businessPurposeOfSQL, List<DBColumn> predicateHavingLiterals) throws IOException
     {
+        return createController(businessPurposeOfSQL, predicateHavingLiterals, ResultShape.LIST);
+    }
+
+    /**
+     * Creates the controller of a DAO generated with the same result shape: a list is returned as is, a page is
+     * selected with the {@code page} and {@code size} request parameters, which default to the DAO's default page
+     * size, and a stream is written to the response as a JSON array while the DAO reads the rows.
+     */
+    public static JavaFile createController(String businessPurposeOfSQL, List<DBColumn> predicateHavingLiterals,
+                                            ResultShape resultShape) throws IOException
+    {
+        if (resultShape == null) {
+            throw new IllegalArgumentException("Result shape cannot be null");
+        }
         TypeName daoTypeName = JavaPoetTypeNameBuilder.buildJavaPoetTypeNameForClass(businessPurposeOfSQL, "dao", "DAO");
         TypeName dtoTypeName = JavaPoetTypeNameBuilder.buildJavaPoetTypeNameForClass(businessPurposeOfSQL, "dto", "DTO");
 
@@ -48,10 +71,14 @@ public class GenerateController {
         CodeBlock codeblock = CodeBlock.builder()
                 .addStatement("this.$N = $N", daoInstanceFieldName, daoInstanceFieldName) //not working correctly
                 .build();
-        MethodSpec constructorSpec = MethodSpec.constructorBuilder()
+        MethodSpec.Builder constructorBuilder = MethodSpec.constructorBuilder()
                 .addParameter(daoTypeName, daoInstanceFieldName)
-                .addCode(codeblock)
-                .build();
+                .addCode(codeblock);
+        if (resultShape == ResultShape.STREAM) {
+            constructorBuilder.addParameter(OBJECT_MAPPER, OBJECT_MAPPER_FIELD_NAME)
+                    .addStatement("this.$N = $N", OBJECT_MAPPER_FIELD_NAME, OBJECT_MAPPER_FIELD_NAME);
+        }
+        MethodSpec constructorSpec = constructorBuilder.build();
 
 
         ClassName listClass = ClassName.get("java.util", "List");
@@ -73,9 +100,51 @@ public class GenerateController {
                                         .build())
                         .build()));
 
-        CodeBlock serviceCodeBlock = CodeBlock.builder()
-                .addStatement("return $N." + "get"+ businessPurposeOfSQL + "(" + getDataMethodParametersString + ")", daoInstanceFieldName)
-                .build();
+        CodeBlock serviceCodeBlock;
+        TypeName returnTypeName = parameterizedTypeName;
+        if (resultShape == ResultShape.PAGED) {
+            parameterSpecs.add(ParameterSpec.builder(int.class, "pageNumber")
+                    .addAnnotation(AnnotationSpec.builder(RequestParam.class)
+                            .addMember(CodeGenerationConstants.ANNOTATION_MEMBER_VALUE, CodeGenerationConstants.STRING_PLACEHOLDER, "page")
+                            .addMember("defaultValue", CodeGenerationConstants.STRING_PLACEHOLDER, "0")
+                            .build())
+                    .build());
+            parameterSpecs.add(ParameterSpec.builder(int.class, "pageSize")
+                    .addAnnotation(AnnotationSpec.builder(RequestParam.class)
+                            .addMember(CodeGenerationConstants.ANNOTATION_MEMBER_VALUE, CodeGenerationConstants.STRING_PLACEHOLDER, "size")
+                            .addMember("defaultValue", "\"\" + $T.DEFAULT_PAGE_SIZE", daoTypeName)
+                            .build())
+                    .build());
+            getDataParameters.add("pageNumber");
+            getDataParameters.add("pageSize");
+            serviceCodeBlock = CodeBlock.builder()
+                    .addStatement("return $N.get" + businessPurposeOfSQL + "(" + String.join(", ", getDataParameters) + ")", daoInstanceFieldName)
+                    .build();
+        } else if (resultShape == ResultShape.STREAM) {
+            getDataParameters.add("dto");
+            returnTypeName = STREAMING_RESPONSE_BODY;
+            serviceCodeBlock = CodeBlock.builder()
+                    .add("return outputStream -> {\n").indent()
+                    .beginControlFlow("try ($T jsonGenerator = $N.getFactory().createGenerator(outputStream))",
+                                      JSON_GENERATOR, OBJECT_MAPPER_FIELD_NAME)
+                    .addStatement("jsonGenerator.writeStartArray()")
+                    .add("$N.stream" + businessPurposeOfSQL + "(" + String.join(", ", getDataParameters) + " -> {\n",
+                         daoInstanceFieldName).indent()
+                    .beginControlFlow("try")
+                    .addStatement("jsonGenerator.writeObject(dto)")
+                    .nextControlFlow("catch ($T e)", IOException.class)
+                    .addStatement("throw new $T(e)", UncheckedIOException.class)
+                    .endControlFlow()
+                    .unindent().add("});\n")
+                    .addStatement("jsonGenerator.writeEndArray()")
+                    .endControlFlow()
+                    .unindent().add("};\n")
+                    .build();
+        } else {
+            serviceCodeBlock = CodeBlock.builder()
+                    .addStatement("return $N." + "get"+ businessPurposeOfSQL + "(" + getDataMethodParametersString + ")", daoInstanceFieldName)
+                    .build();
+        }
 
         MethodSpec methodSpec = MethodSpec.methodBuilder("getDataFor" + businessPurposeOfSQL)
                 .addAnnotation(AnnotationSpec.builder(GetMapping.class)
@@ -92,13 +161,17 @@ public class GenerateController {
                 .addParameters(parameterSpecs)
                 .addModifiers(Modifier.PUBLIC)
                 .addCode(serviceCodeBlock)
-                .returns(parameterizedTypeName)
+                .returns(returnTypeName)
                 .build();
 
 
-        TypeSpec controller = TypeSpec.classBuilder(businessPurposeOfSQL + "Controller")
+        TypeSpec.Builder controllerBuilder = TypeSpec.classBuilder(businessPurposeOfSQL + "Controller")
                 .addModifiers(Modifier.PUBLIC)
-                .addField(fieldSpec)
+                .addField(fieldSpec);
+        if (resultShape == ResultShape.STREAM) {
+            controllerBuilder.addField(FieldSpec.builder(OBJECT_MAPPER, OBJECT_MAPPER_FIELD_NAME, Modifier.PRIVATE, Modifier.FINAL).build());
+        }
+        TypeSpec controller = controllerBuilder
                 .addMethod(methodSpec)
                 .addMethod(constructorSpec)
                 .addAnnotation(RestController.class)
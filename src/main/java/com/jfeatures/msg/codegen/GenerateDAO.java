@@ -4,7 +4,11 @@ import com.github.vertical_blank.sqlformatter.SqlFormatter;
 import com.jfeatures.msg.codegen.constants.CodeGenerationConstants;
 import com.jfeatures.msg.codegen.dbmetadata.ColumnMetadata;
 import com.jfeatures.msg.codegen.domain.DBColumn;
+import com.jfeatures.msg.codegen.domain.ResultShape;
 import com.jfeatures.msg.codegen.mapping.ResultSetMappingGenerator;
+import com.jfeatures.msg.codegen.profile.GenerationPhase;
+import com.jfeatures.msg.codegen.profile.GenerationProfiler;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
 import com.jfeatures.msg.codegen.sql.SqlParameterReplacer;
 import com.jfeatures.msg.codegen.util.JavaPackageNameBuilder;
 import com.jfeatures.msg.codegen.util.JavaPoetTypeNameBuilder;
@@ -22,9 +26,13 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
 import javax.lang.model.element.Modifier;
 import lombok.extern.slf4j.Slf4j;
+import net.sf.jsqlparser.statement.select.PlainSelect;
 import org.apache.commons.text.CaseUtils;
 import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
@@ -37,6 +45,13 @@ public class GenerateDAO {
         throw new UnsupportedOperationException("Utility class");
     }
 
+    /** Named parameters of the OFFSET ... FETCH NEXT clause appended to the SQL of a paged DAO. */
+    static final String PAGE_OFFSET_PARAMETER = "pageOffset";
+    static final String PAGE_SIZE_PARAMETER = "pageSize";
+    static final String PAGE_NUMBER_PARAMETER = "pageNumber";
+    static final String ROW_CONSUMER_PARAMETER = "rowConsumer";
+    static final String STREAM_METHOD_PREFIX = "stream";
+
     /**
      * Creates DAO using database metadata instead of complex SQL parsing.
      * Much simpler, more reliable, and easier to maintain.
@@ -45,7 +60,38 @@ public class GenerateDAO {
                                                 List<ColumnMetadata> selectColumnMetadata, 
                                                 List<DBColumn> predicateHavingLiterals, 
                                                 String sql) {
-        
+        validateInput(businessPurposeOfSQL, selectColumnMetadata, predicateHavingLiterals, sql);
+        return createDao(businessPurposeOfSQL, selectColumnMetadata, predicateHavingLiterals, sql,
+                         ResultShape.LIST, OptionalLong.empty());
+    }
+
+    /**
+     * Creates a DAO that returns the rows in the given shape: collected into a list, one page per call with the
+     * page size defaults embedded as constants, or handed to a consumer one row at a time as they are read.
+     * The statement is taken compiled so that the pageability check reuses its syntax tree.
+     *
+     * @param resultShape how the rows are returned; {@link ResultShape#PAGED} needs a {@link #isPageable pageable} SQL
+     * @param estimatedRows the rows the statement was estimated to return, documented on the DAO when known
+     */
+    public static JavaFile createDaoFromMetadata(String businessPurposeOfSQL,
+                                                List<ColumnMetadata> selectColumnMetadata,
+                                                List<DBColumn> predicateHavingLiterals,
+                                                SqlCompilationUnit unit,
+                                                ResultShape resultShape,
+                                                OptionalLong estimatedRows) {
+        validateInput(businessPurposeOfSQL, selectColumnMetadata, predicateHavingLiterals, unit != null ? unit.sql() : null);
+        if (resultShape == null || estimatedRows == null) {
+            throw new IllegalArgumentException("Result shape and estimated rows cannot be null");
+        }
+        if (resultShape == ResultShape.PAGED && !isPageable(unit)) {
+            throw new IllegalArgumentException("Only a single SELECT with an ORDER BY and without TOP, OFFSET or FETCH can be paged");
+        }
+        return createDao(businessPurposeOfSQL, selectColumnMetadata, predicateHavingLiterals, unit.sql(),
+                         resultShape, estimatedRows);
+    }
+
+    private static void validateInput(String businessPurposeOfSQL, List<ColumnMetadata> selectColumnMetadata,
+                                      List<DBColumn> predicateHavingLiterals, String sql) {
         if (businessPurposeOfSQL == null || businessPurposeOfSQL.trim().isEmpty()) {
             throw new IllegalArgumentException("Business purpose of SQL cannot be null or empty");
         }
@@ -61,6 +107,14 @@ public class GenerateDAO {
         if (sql == null || sql.trim().isEmpty()) {
             throw new IllegalArgumentException("SQL cannot be null or empty");
         }
+    }
+
+    private static JavaFile createDao(String businessPurposeOfSQL,
+                                      List<ColumnMetadata> selectColumnMetadata,
+                                      List<DBColumn> predicateHavingLiterals,
+                                      String sql,
+                                      ResultShape resultShape,
+                                      OptionalLong estimatedRows) {
         
         String jdbcTemplateInstanceFieldName = CodeGenerationConstants.JDBC_TEMPLATE_FIELD_NAME;
         
@@ -80,8 +134,14 @@ public class GenerateDAO {
         
         // SQL field with named parameters - simple replacement approach
         String modifiedSQL = SqlParameterReplacer.convertToNamedParameterSql(sql, predicateHavingLiterals);
-        String formattedSQL = SqlFormatter.format(modifiedSQL);
+        String formattedSQL;
+        try (GenerationProfiler.Phase ignored = GenerationProfiler.phase(GenerationPhase.FORMAT, GenerateDAO.class.getSimpleName())) {
+            formattedSQL = SqlFormatter.format(modifiedSQL);
+        }
         formattedSQL = formattedSQL.replace(": ", ":");
+        if (resultShape == ResultShape.PAGED) {
+            formattedSQL = pagedSql(formattedSQL);
+        }
         log.info("Generated SQL for DAO: {}", formattedSQL);
         
         // Use text block for SQL formatting
@@ -110,10 +170,24 @@ public class GenerateDAO {
                 sqlParamMapBuilder.addStatement("sqlParamMap.put($S, $L)",
                         CaseUtils.toCamelCase(literal.columnName(), false),
                         CaseUtils.toCamelCase(literal.columnName(), false)));
+        
+        // A page is selected by its number and size, the size bounded by the page size limit of the DAO
+        if (resultShape == ResultShape.PAGED) {
+            parameters.add(ParameterSpec.builder(int.class, PAGE_NUMBER_PARAMETER).build());
+            parameters.add(ParameterSpec.builder(int.class, PAGE_SIZE_PARAMETER).build());
+            sqlParamMapBuilder.addStatement("int boundedPageSize = $T.min($T.max($N, 1), MAX_PAGE_SIZE)",
+                                            Math.class, Math.class, PAGE_SIZE_PARAMETER)
+                    .addStatement("sqlParamMap.put($S, (long) $T.max($N, 0) * boundedPageSize)",
+                                  PAGE_OFFSET_PARAMETER, Math.class, PAGE_NUMBER_PARAMETER)
+                    .addStatement("sqlParamMap.put($S, boundedPageSize)", PAGE_SIZE_PARAMETER);
+        }
         CodeBlock sqlParamMappingCodeBlock = sqlParamMapBuilder.build();
         
-        // Generate ResultSet mapping code using ColumnMetadata
-        String resultSetMappingCode = ResultSetMappingGenerator.buildResultSetToObjectMappingCode(selectColumnMetadata, dtoTypeName);
+        // Generate ResultSet mapping code using ColumnMetadata; a stream hands each row on instead of collecting it
+        String resultSetMappingCode = resultShape == ResultShape.STREAM
+                ? ResultSetMappingGenerator.buildResultSetToObjectMappingCode(selectColumnMetadata, dtoTypeName,
+                        ROW_CONSUMER_PARAMETER + ".accept(" + CodeGenerationConstants.DTO_VARIABLE_NAME + ")")
+                : ResultSetMappingGenerator.buildResultSetToObjectMappingCode(selectColumnMetadata, dtoTypeName);
         
         // Row callback handler
         TypeSpec rowCallbackHandler = TypeSpec
@@ -138,22 +212,52 @@ public class GenerateDAO {
         ParameterizedTypeName returnTypeName = JavaPoetTypeNameBuilder.buildParameterizedTypeName(dtoTypeName, list);
         
         // Main DAO method
-        MethodSpec daoMethodSpec = MethodSpec.methodBuilder(CodeGenerationConstants.DAO_METHOD_PREFIX + businessPurposeOfSQL)
-                .addStatement("$T " + CodeGenerationConstants.RESULT_LIST_NAME + " = new $T()", returnTypeName, ArrayList.class)
-                .addModifiers(Modifier.PUBLIC)
-                .addParameters(parameters)
-                .returns(returnTypeName)
-                .addCode(sqlParamsMapCodeBlock)
-                .addCode(sqlParamMappingCodeBlock)
-                .addCode(jdbcQueryCodeBlock)
-                .addStatement("return " + CodeGenerationConstants.RESULT_LIST_NAME)
-                .build();
+        MethodSpec daoMethodSpec;
+        if (resultShape == ResultShape.STREAM) {
+            daoMethodSpec = MethodSpec.methodBuilder(STREAM_METHOD_PREFIX + businessPurposeOfSQL)
+                    .addJavadoc("Hands every row to the consumer as it is read, without collecting the rows.\n")
+                    .addModifiers(Modifier.PUBLIC)
+                    .addParameters(parameters)
+                    .addParameter(ParameterizedTypeName.get(ClassName.get(Consumer.class), dtoTypeName), ROW_CONSUMER_PARAMETER)
+                    .addCode(sqlParamsMapCodeBlock)
+                    .addCode(sqlParamMappingCodeBlock)
+                    .addCode(jdbcQueryCodeBlock)
+                    .build();
+        } else {
+            MethodSpec.Builder daoMethodBuilder = MethodSpec.methodBuilder(CodeGenerationConstants.DAO_METHOD_PREFIX + businessPurposeOfSQL);
+            if (resultShape == ResultShape.PAGED) {
+                daoMethodBuilder.addJavadoc("Returns page $N, counted from 0, of at most $N rows; the page size is bounded by $N.\n",
+                                            PAGE_NUMBER_PARAMETER, PAGE_SIZE_PARAMETER, "MAX_PAGE_SIZE");
+            }
+            daoMethodSpec = daoMethodBuilder
+                    .addStatement("$T " + CodeGenerationConstants.RESULT_LIST_NAME + " = new $T()", returnTypeName, ArrayList.class)
+                    .addModifiers(Modifier.PUBLIC)
+                    .addParameters(parameters)
+                    .returns(returnTypeName)
+                    .addCode(sqlParamsMapCodeBlock)
+                    .addCode(sqlParamMappingCodeBlock)
+                    .addCode(jdbcQueryCodeBlock)
+                    .addStatement("return " + CodeGenerationConstants.RESULT_LIST_NAME)
+                    .build();
+        }
         
         // DAO class
-        TypeSpec dao = TypeSpec.classBuilder(businessPurposeOfSQL + "DAO")
+        TypeSpec.Builder daoBuilder = TypeSpec.classBuilder(businessPurposeOfSQL + "DAO")
                 .addModifiers(Modifier.PUBLIC)
                 .addField(jdbcTemplateFieldSpec)
-                .addField(sqlFieldSpec)
+                .addField(sqlFieldSpec);
+        if (resultShape == ResultShape.PAGED) {
+            daoBuilder.addField(FieldSpec.builder(int.class, "DEFAULT_PAGE_SIZE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                            .addJavadoc("Rows of a page when the caller does not ask for a page size.\n")
+                            .initializer("$L", ResultShape.DEFAULT_PAGE_SIZE)
+                            .build())
+                      .addField(FieldSpec.builder(int.class, "MAX_PAGE_SIZE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                            .addJavadoc("Largest page returned, whatever page size the caller asks for.\n")
+                            .initializer("$L", ResultShape.MAX_PAGE_SIZE)
+                            .build());
+        }
+        estimatedRows.ifPresent(rows -> daoBuilder.addJavadoc(estimateJavadoc(resultShape, rows)));
+        TypeSpec dao = daoBuilder
                 .addAnnotation(Component.class)
                 .addMethod(daoMethodSpec)
                 .addMethod(constructorSpec)
@@ -166,4 +270,40 @@ public class GenerateDAO {
 
         return javaFile;
     }
+
+    /**
+     * Returns whether the statement can be read one page at a time: a single SELECT ordered by an ORDER BY, without
+     * TOP, OFFSET or FETCH of its own. SQL Server only pages an ordered result, and without an ORDER BY the rows
+     * have no order from one page to the next.
+     */
+    public static boolean isPageable(SqlCompilationUnit unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException("SQL statement cannot be null");
+        }
+        return unit.statement().orElse(null) instanceof PlainSelect select
+            && select.getOrderByElements() != null && !select.getOrderByElements().isEmpty()
+            && select.getTop() == null && select.getOffset() == null && select.getFetch() == null
+            && select.getLimit() == null;
+    }
+
+    /**
+     * Appends the clause that reads one page to the formatted SQL, after removing its terminating semicolon. It is
+     * appended after formatting, which would join {@code OFFSET} and its parameter into one word.
+     */
+    private static String pagedSql(String formattedSql) {
+        String pagedSql = formattedSql.strip();
+        while (pagedSql.endsWith(";")) {
+            pagedSql = pagedSql.substring(0, pagedSql.length() - 1).strip();
+        }
+        return pagedSql + "\nOFFSET :" + PAGE_OFFSET_PARAMETER + " ROWS FETCH NEXT :" + PAGE_SIZE_PARAMETER + " ROWS ONLY\n";
+    }
+
+    private static String estimateJavadoc(ResultShape resultShape, long estimatedRows) {
+        String estimate = String.format(Locale.ROOT, "Estimated at generation time to return about %,d rows", estimatedRows);
+        return switch (resultShape) {
+            case LIST -> estimate + ".\n";
+            case PAGED -> estimate + ", so the rows are read one page at a time.\n";
+            case STREAM -> estimate + ", so the rows are handed on as they are read instead of being collected.\n";
+        };
+    }
 }
@@ -4,6 +4,8 @@ import com.github.vertical_blank.sqlformatter.SqlFormatter;
 import com.jfeatures.msg.codegen.constants.CodeGenerationConstants;
 import com.jfeatures.msg.codegen.dbmetadata.ColumnMetadata;
 import com.jfeatures.msg.codegen.dbmetadata.DeleteMetadata;
+import com.jfeatures.msg.codegen.profile.GenerationPhase;
+import com.jfeatures.msg.codegen.profile.GenerationProfiler;
 import com.jfeatures.msg.codegen.sql.SqlParameterReplacer;
 import com.jfeatures.msg.codegen.util.FieldBuilders;
 import com.jfeatures.msg.codegen.util.MethodBuilders;
@@ -62,7 +64,10 @@ public class GenerateDeleteDAO {
                 deleteMetadata.originalSql(), 
                 convertToDBColumns(deleteMetadata.whereColumns())
         );
-        String formattedSql = SqlFormatter.format(namedParameterSql);
+        String formattedSql;
+        try (GenerationProfiler.Phase ignored = GenerationProfiler.phase(GenerationPhase.FORMAT, GenerateDeleteDAO.class.getSimpleName())) {
+            formattedSql = SqlFormatter.format(namedParameterSql);
+        }
         
         // SQL field built inline to preserve existing documentation
         FieldSpec sqlFieldSpec = FieldSpec.builder(String.class, CodeGenerationConstants.SQL_FIELD_NAME, 
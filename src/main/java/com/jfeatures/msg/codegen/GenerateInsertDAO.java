@@ -4,6 +4,8 @@ import com.github.vertical_blank.sqlformatter.SqlFormatter;
 import com.jfeatures.msg.codegen.constants.CodeGenerationConstants;
 import com.jfeatures.msg.codegen.dbmetadata.ColumnMetadata;
 import com.jfeatures.msg.codegen.dbmetadata.InsertMetadata;
+import com.jfeatures.msg.codegen.profile.GenerationPhase;
+import com.jfeatures.msg.codegen.profile.GenerationProfiler;
 import com.jfeatures.msg.codegen.util.FieldBuilders;
 import com.jfeatures.msg.codegen.util.MethodBuilders;
 import com.jfeatures.msg.codegen.util.JavaPackageNameBuilder;
@@ -60,7 +62,10 @@ public class GenerateInsertDAO {
         
         // Generate INSERT SQL with named parameters
         String insertSql = generateInsertSql(insertMetadata);
-        String formattedSql = SqlFormatter.format(insertSql);
+        String formattedSql;
+        try (GenerationProfiler.Phase ignored = GenerationProfiler.phase(GenerationPhase.FORMAT, GenerateInsertDAO.class.getSimpleName())) {
+            formattedSql = SqlFormatter.format(insertSql);
+        }
         
         // Use shared field builder for SQL definition
         FieldSpec sqlFieldSpec = FieldBuilders.sqlField(formattedSql, CodeGenerationConstants.SQL_FIELD_NAME);
@@ -0,0 +1,236 @@
+package com.jfeatures.msg.codegen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jfeatures.msg.codegen.latency.LatencyBaselineRenderer;
+import com.jfeatures.msg.codegen.util.JavaPackageNameBuilder;
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.lang.model.element.Modifier;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Generates the latency regression test of a microservice. The test reads the baseline recorded with
+ * {@code --profile-latency}, repeats the measurement against the configured database the way the generator took it
+ * and fails when the p50 or p99 latency or the logical reads exceed the baseline by more than its tolerance.
+ * It is tagged {@code latency}, which the generated pom excludes by default so a build without a database passes.
+ */
+@Slf4j
+public class GenerateLatencyRegressionTest {
+
+    /** Suffix of the generated test class after the business purpose, e.g. {@code CustomerLatencyRegressionTest}. */
+    public static final String CLASS_NAME_SUFFIX = "LatencyRegressionTest";
+
+    private static final ClassName SPRING_BOOT_TEST = ClassName.get("org.springframework.boot.test.context", "SpringBootTest");
+    private static final ClassName TAG = ClassName.get("org.junit.jupiter.api", "Tag");
+    private static final ClassName TEST = ClassName.get("org.junit.jupiter.api", "Test");
+    private static final ClassName ASSUMPTIONS = ClassName.get("org.junit.jupiter.api", "Assumptions");
+    private static final ClassName ASSERTIONS = ClassName.get("org.assertj.core.api", "Assertions");
+    private static final TypeName PARAMETER_VALUES = ParameterizedTypeName.get(ClassName.get(List.class), TypeName.get(Object[].class));
+
+    private GenerateLatencyRegressionTest() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static JavaFile createLatencyRegressionTest(String businessPurposeOfSQL) {
+        if (businessPurposeOfSQL == null || businessPurposeOfSQL.trim().isEmpty()) {
+            throw new IllegalArgumentException("Business purpose of SQL cannot be null or empty");
+        }
+
+        TypeSpec regressionTest = TypeSpec.classBuilder(businessPurposeOfSQL + CLASS_NAME_SUFFIX)
+                .addAnnotation(SPRING_BOOT_TEST)
+                .addAnnotation(AnnotationSpec.builder(TAG).addMember("value", "$S", "latency").build())
+                .addField(FieldSpec.builder(String.class, "BASELINE_RESOURCE", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$S", LatencyBaselineRenderer.BASELINE_RESOURCE)
+                        .build())
+                .addField(FieldSpec.builder(Pattern.class, "LOGICAL_READS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$T.compile($S)", Pattern.class, "(?<!lob )logical reads (\\d+)")
+                        .build())
+                .addField(FieldSpec.builder(DataSource.class, "dataSource", Modifier.PRIVATE)
+                        .addAnnotation(Autowired.class)
+                        .build())
+                .addMethod(createTestMethod())
+                .addMethod(createSampleParameterValuesMethod())
+                .addMethod(createLogicalReadsMethod())
+                .addMethod(createPercentileMethod())
+                .addMethod(createAllowedMethod())
+                .build();
+
+        JavaFile javaFile = JavaFile.builder(JavaPackageNameBuilder.buildJavaPackageName(businessPurposeOfSQL, "dao"), regressionTest)
+                .build();
+
+        log.info(javaFile.toString());
+        return javaFile;
+    }
+
+    private static MethodSpec createTestMethod() {
+        return MethodSpec.methodBuilder("statement_StaysWithinLatencyBaseline")
+                .addAnnotation(TEST)
+                .addException(Exception.class)
+                .addStatement("$T baseline", JsonNode.class)
+                .beginControlFlow("try ($T input = getClass().getResourceAsStream(BASELINE_RESOURCE))", InputStream.class)
+                .addStatement("baseline = new $T().readTree(input)", ObjectMapper.class)
+                .endControlFlow()
+                .addStatement("double tolerance = baseline.get($S).asDouble()", "tolerance")
+                .addStatement("int warmupIterations = baseline.get($S).asInt()", "warmupIterations")
+                .addStatement("long[] latencies = new long[baseline.get($S).asInt()]", "iterations")
+                .addStatement("long logicalReads = 0")
+                .beginControlFlow("try ($T connection = dataSource.getConnection())", Connection.class)
+                .addStatement("$T parameterValues = sampleParameterValues(connection, baseline)", PARAMETER_VALUES)
+                .addStatement("$T.assumeFalse(parameterValues.isEmpty(), $S)", ASSUMPTIONS,
+                        "The tables hold no rows to sample parameter values from")
+                .addStatement("boolean autoCommit = connection.getAutoCommit()")
+                .addStatement("connection.setAutoCommit(false)")
+                .beginControlFlow("try ($T session = connection.createStatement();\n$T statement = connection.prepareStatement(baseline.get($S).asText()))",
+                        Statement.class, PreparedStatement.class, "sql")
+                .addStatement("session.execute($S)", "SET STATISTICS IO ON")
+                .beginControlFlow("try")
+                .beginControlFlow("for (int iteration = -warmupIterations; iteration < latencies.length; iteration++)")
+                .addStatement("Object[] values = parameterValues.get($T.floorMod(iteration, parameterValues.size()))", Math.class)
+                .beginControlFlow("for (int i = 0; i < values.length; i++)")
+                .addStatement("statement.setObject(i + 1, values[i])")
+                .endControlFlow()
+                .addStatement("statement.clearWarnings()")
+                .addStatement("long start = $T.nanoTime()", System.class)
+                .addStatement("boolean resultSet = statement.execute()")
+                .beginControlFlow("while (resultSet || statement.getUpdateCount() != -1)")
+                .beginControlFlow("if (resultSet)")
+                .beginControlFlow("try ($T rows = statement.getResultSet())", ResultSet.class)
+                .beginControlFlow("while (rows.next())")
+                .addComment("Read every row, as the DAO does")
+                .endControlFlow()
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("resultSet = statement.getMoreResults()")
+                .endControlFlow()
+                .addStatement("long elapsedMicros = ($T.nanoTime() - start) / 1_000", System.class)
+                .addStatement("long executionReads = logicalReads(statement.getWarnings())")
+                .addStatement("connection.rollback()")
+                .beginControlFlow("if (iteration >= 0)")
+                .addStatement("latencies[iteration] = elapsedMicros")
+                .addStatement("logicalReads = $T.max(logicalReads, executionReads)", Math.class)
+                .endControlFlow()
+                .endControlFlow()
+                .nextControlFlow("finally")
+                .addStatement("connection.rollback()")
+                .addStatement("session.execute($S)", "SET STATISTICS IO OFF")
+                .addStatement("connection.setAutoCommit(autoCommit)")
+                .endControlFlow()
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("$T.sort(latencies)", Arrays.class)
+                .addStatement("$T.assertThat(percentile(latencies, 50)).as($S)\n.isLessThanOrEqualTo(allowed(baseline.get($S).asLong(), tolerance))",
+                        ASSERTIONS, "p50 latency in microseconds", "p50Micros")
+                .addStatement("$T.assertThat(percentile(latencies, 99)).as($S)\n.isLessThanOrEqualTo(allowed(baseline.get($S).asLong(), tolerance))",
+                        ASSERTIONS, "p99 latency in microseconds", "p99Micros")
+                .addStatement("$T.assertThat(logicalReads).as($S)\n.isLessThanOrEqualTo(allowed(baseline.get($S).asLong(), tolerance))",
+                        ASSERTIONS, "logical reads", "logicalReads")
+                .build();
+    }
+
+    private static MethodSpec createSampleParameterValuesMethod() {
+        return MethodSpec.methodBuilder("sampleParameterValues")
+                .addJavadoc("Combines the n-th row of every sample query into the parameter values of the n-th execution.\n")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(PARAMETER_VALUES)
+                .addParameter(Connection.class, "connection")
+                .addParameter(JsonNode.class, "baseline")
+                .addException(SQLException.class)
+                .addStatement("$T<$T> sampledRows = new $T<>()", List.class, PARAMETER_VALUES, ArrayList.class)
+                .addStatement("int parameterCount = 0")
+                .addStatement("int combinations = 1")
+                .beginControlFlow("for ($T sample : baseline.get($S))", JsonNode.class, "parameterSamples")
+                .addStatement("int columns = sample.get($S).size()", "parameterPositions")
+                .addStatement("parameterCount += columns")
+                .addStatement("$T rows = new $T<>()", PARAMETER_VALUES, ArrayList.class)
+                .beginControlFlow("try ($T statement = connection.createStatement();\n$T resultSet = statement.executeQuery(sample.get($S).asText()))",
+                        Statement.class, ResultSet.class, "query")
+                .beginControlFlow("while (resultSet.next())")
+                .addStatement("Object[] row = new Object[columns]")
+                .beginControlFlow("for (int column = 0; column < columns; column++)")
+                .addStatement("row[column] = resultSet.getObject(column + 1)")
+                .endControlFlow()
+                .addStatement("rows.add(row)")
+                .endControlFlow()
+                .endControlFlow()
+                .beginControlFlow("if (rows.isEmpty())")
+                .addStatement("return $T.of()", List.class)
+                .endControlFlow()
+                .addStatement("sampledRows.add(rows)")
+                .addStatement("combinations = $T.max(combinations, rows.size())", Math.class)
+                .endControlFlow()
+                .addStatement("$T parameterValues = new $T<>()", PARAMETER_VALUES, ArrayList.class)
+                .beginControlFlow("for (int combination = 0; combination < combinations; combination++)")
+                .addStatement("Object[] values = new Object[parameterCount]")
+                .beginControlFlow("for (int i = 0; i < sampledRows.size(); i++)")
+                .addStatement("$T rows = sampledRows.get(i)", PARAMETER_VALUES)
+                .addStatement("Object[] row = rows.get(combination % rows.size())")
+                .addStatement("$T positions = baseline.get($S).get(i).get($S)", JsonNode.class, "parameterSamples", "parameterPositions")
+                .beginControlFlow("for (int column = 0; column < row.length; column++)")
+                .addStatement("values[positions.get(column).asInt() - 1] = row[column]")
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("parameterValues.add(values)")
+                .endControlFlow()
+                .addStatement("return parameterValues")
+                .build();
+    }
+
+    private static MethodSpec createLogicalReadsMethod() {
+        return MethodSpec.methodBuilder("logicalReads")
+                .addJavadoc("Sums the logical reads of the SET STATISTICS IO messages over the tables of one execution.\n")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(long.class)
+                .addParameter(SQLWarning.class, "warning")
+                .addStatement("long logicalReads = 0")
+                .beginControlFlow("for ($T current = warning; current != null; current = current.getNextWarning())", SQLWarning.class)
+                .addStatement("$T matcher = LOGICAL_READS.matcher(String.valueOf(current.getMessage()))", Matcher.class)
+                .beginControlFlow("while (matcher.find())")
+                .addStatement("logicalReads += $T.parseLong(matcher.group(1))", Long.class)
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("return logicalReads")
+                .build();
+    }
+
+    private static MethodSpec createPercentileMethod() {
+        return MethodSpec.methodBuilder("percentile")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(long.class)
+                .addParameter(long[].class, "sortedValues")
+                .addParameter(int.class, "percentile")
+                .addStatement("int rank = (int) $T.ceil(percentile / 100.0 * sortedValues.length)", Math.class)
+                .addStatement("return sortedValues[$T.max(rank, 1) - 1]", Math.class)
+                .build();
+    }
+
+    private static MethodSpec createAllowedMethod() {
+        return MethodSpec.methodBuilder("allowed")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(long.class)
+                .addParameter(long.class, "baseline")
+                .addParameter(double.class, "tolerance")
+                .addStatement("return (long) $T.ceil($T.max(baseline, 1) * (1 + tolerance))", Math.class, Math.class)
+                .build();
+    }
+}
@@ -4,6 +4,8 @@ import com.github.vertical_blank.sqlformatter.SqlFormatter;
 import com.jfeatures.msg.codegen.constants.CodeGenerationConstants;
 import com.jfeatures.msg.codegen.dbmetadata.ColumnMetadata;
 import com.jfeatures.msg.codegen.dbmetadata.UpdateMetadata;
+import com.jfeatures.msg.codegen.profile.GenerationPhase;
+import com.jfeatures.msg.codegen.profile.GenerationProfiler;
 import com.jfeatures.msg.codegen.util.FieldBuilders;
 import com.jfeatures.msg.codegen.util.MethodBuilders;
 import com.jfeatures.msg.codegen.util.JavaPackageNameBuilder;
@@ -45,8 +47,9 @@ public class GenerateUpdateDAO {
 
         // Generate SQL constant using text block for better readability
         String namedParameterSql = generateNamedParameterSql(updateMetadata);
-        FieldSpec sqlConstant = FieldBuilders.sqlField(
-        SqlFormatter.format(namedParameterSql), CodeGenerationConstants.SQL_FIELD_NAME);
+        String formattedSql = GenerationProfiler.time(GenerationPhase.FORMAT, GenerateUpdateDAO.class.getSimpleName(), () ->
+            SqlFormatter.format(namedParameterSql));
+        FieldSpec sqlConstant = FieldBuilders.sqlField(formattedSql, CodeGenerationConstants.SQL_FIELD_NAME);
 
         // Constructor using shared MethodBuilders utility
         MethodSpec constructorSpec = MethodBuilders.jdbcTemplateConstructor(jdbcTemplateInstanceFieldName);
@@ -87,14 +90,11 @@ public class GenerateUpdateDAO {
                 .build());
         
         // Add WHERE parameters
-        List<String> whereParamNames = new ArrayList<>();
+        List<String> whereParamNames = generateWhereParamNames(updateMetadata);
         for (int i = 0; i < updateMetadata.whereColumns().size(); i++) {
             ColumnMetadata column = updateMetadata.whereColumns().get(i);
             Class<?> paramType = SQLServerDataTypeEnum.getClassForType(column.getColumnTypeName());
-            String paramName = generateWhereParamName(column, i);
-            whereParamNames.add(paramName);
-            
-            parameterSpecs.add(ParameterSpec.builder(paramType, paramName).build());
+            parameterSpecs.add(ParameterSpec.builder(paramType, whereParamNames.get(i)).build());
         }
         
         // Build parameter map construction code
@@ -142,13 +142,12 @@ public class GenerateUpdateDAO {
         if (!updateMetadata.whereColumns().isEmpty()) {
             sql.append(" WHERE ");
             List<String> whereClauses = new ArrayList<>();
+            List<String> whereParamNames = generateWhereParamNames(updateMetadata);
             for (int i = 0; i < updateMetadata.whereColumns().size(); i++) {
                 ColumnMetadata column = updateMetadata.whereColumns().get(i);
-                String paramName = generateWhereParamName(column, i);
-                // For WHERE clauses, we need to guess the column names from the original SQL
-                // This is a simplification - in practice, we'd need better parsing
-                String columnName = i == 0 ? "id" : "param" + (i + 1);
-                whereClauses.add(columnName + " = :" + paramName);
+                // Columns resolved from the catalog keep their name; positional ones can only be guessed
+                String columnName = isPositionalWhereParam(column) ? (i == 0 ? "id" : "param" + (i + 1)) : column.getColumnName();
+                whereClauses.add(columnName + " = :" + whereParamNames.get(i));
             }
             sql.append(String.join(" AND ", whereClauses));
         }
@@ -178,6 +177,32 @@ public class GenerateUpdateDAO {
         return codeBuilder.build();
     }
     
+    /**
+     * Names the WHERE parameters, prefixing a name that a SET column already uses in the parameter map
+     * (e.g. {@code SET status = ? WHERE status = ?}).
+     */
+    private static List<String> generateWhereParamNames(UpdateMetadata updateMetadata) {
+        List<String> setParamNames = updateMetadata.setColumns().stream()
+                .map(column -> CaseUtils.toCamelCase(column.getColumnName(), false, '_'))
+                .toList();
+        List<String> whereParamNames = new ArrayList<>();
+        for (int i = 0; i < updateMetadata.whereColumns().size(); i++) {
+            String paramName = generateWhereParamName(updateMetadata.whereColumns().get(i), i);
+            if (setParamNames.contains(paramName)) {
+                paramName = "where" + Character.toUpperCase(paramName.charAt(0)) + paramName.substring(1);
+            }
+            if (whereParamNames.contains(paramName)) {
+                paramName = paramName + (i + 1);
+            }
+            whereParamNames.add(paramName);
+        }
+        return whereParamNames;
+    }
+
+    private static boolean isPositionalWhereParam(ColumnMetadata column) {
+        return column.getColumnName().startsWith("whereParam");
+    }
+
     /**
      * Generates meaningful parameter names for WHERE clause parameters.
      */
@@ -185,7 +210,7 @@ public class GenerateUpdateDAO {
         String columnName = column.getColumnName();
         
         // If column name is meaningful, use it
-        if (!columnName.startsWith("whereParam")) {
+        if (!isPositionalWhereParam(column)) {
             return CaseUtils.toCamelCase(columnName, false, '_');
         }
         
@@ -3,22 +3,68 @@ package com.jfeatures.msg.codegen;
 import static picocli.CommandLine.Command;
 
 import com.jfeatures.msg.codegen.constants.ProjectConstants;
+import com.jfeatures.msg.codegen.database.ConnectionFailures;
 import com.jfeatures.msg.codegen.database.DatabaseConnectionFactory;
+import com.jfeatures.msg.codegen.dbmetadata.CatalogTable;
+import com.jfeatures.msg.codegen.dbmetadata.ColumnStatisticsLoader;
+import com.jfeatures.msg.codegen.dbmetadata.MetadataCache;
+import com.jfeatures.msg.codegen.dbmetadata.MetadataFixture;
+import com.jfeatures.msg.codegen.dbmetadata.MetadataStore;
+import com.jfeatures.msg.codegen.dbmetadata.ReferencedTableCatalogLoader;
+import com.jfeatures.msg.codegen.dbmetadata.SchemaCatalog;
+import com.jfeatures.msg.codegen.dbmetadata.SchemaCatalogLoader;
+import com.jfeatures.msg.codegen.dbmetadata.TableRowCountLoader;
+import com.jfeatures.msg.codegen.dbmetadata.TableStatistics;
+import com.jfeatures.msg.codegen.dbmetadata.TableVersionLoader;
+import com.jfeatures.msg.codegen.domain.BatchGenerationResult;
+import com.jfeatures.msg.codegen.domain.CrudGenerationResult;
 import com.jfeatures.msg.codegen.domain.DatabaseConnection;
 import com.jfeatures.msg.codegen.domain.GeneratedMicroservice;
+import com.jfeatures.msg.codegen.domain.GeneratedProject;
+import com.jfeatures.msg.codegen.domain.SargabilityFinding;
+import com.jfeatures.msg.codegen.domain.ScriptGenerationResult;
+import com.jfeatures.msg.codegen.domain.ScriptStatement;
+import com.jfeatures.msg.codegen.domain.TableReference;
 import com.jfeatures.msg.codegen.filesystem.MicroserviceDirectoryCleaner;
 import com.jfeatures.msg.codegen.filesystem.MicroserviceProjectWriter;
-import com.jfeatures.msg.codegen.generator.DeleteMicroserviceGenerator;
-import com.jfeatures.msg.codegen.generator.InsertMicroserviceGenerator;
-import com.jfeatures.msg.codegen.generator.SelectMicroserviceGenerator;
-import com.jfeatures.msg.codegen.generator.UpdateMicroserviceGenerator;
+import com.jfeatures.msg.codegen.filesystem.ProjectOutputSink;
+import com.jfeatures.msg.codegen.filesystem.ZipProjectSink;
+import com.jfeatures.msg.codegen.generator.MicroserviceBatchGenerator;
+import com.jfeatures.msg.codegen.generator.SchemaCrudGenerator;
+import com.jfeatures.msg.codegen.generator.ServiceGenerationPipeline;
+import com.jfeatures.msg.codegen.generator.SqlScriptGenerator;
+import com.jfeatures.msg.codegen.generator.StatementMicroserviceGenerator;
+import com.jfeatures.msg.codegen.profile.GenerationPhase;
+import com.jfeatures.msg.codegen.profile.GenerationProfiler;
+import com.jfeatures.msg.codegen.sargability.SargabilityAdvisor;
+import com.jfeatures.msg.codegen.sargability.SargabilityRewriter;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
 import com.jfeatures.msg.codegen.sql.SqlFileResolver;
+import com.jfeatures.msg.codegen.sql.SqlFileWatcher;
+import com.jfeatures.msg.codegen.sql.SqlScriptSplitter;
+import com.jfeatures.msg.codegen.util.LazySupplier;
 import com.jfeatures.msg.codegen.util.SqlStatementDetector;
 import com.jfeatures.msg.codegen.util.SqlStatementType;
+import com.jfeatures.msg.codegen.verify.GeneratedSourceVerifier;
+import com.jfeatures.msg.config.DataSourceSettings;
 import com.jfeatures.msg.sql.ReadFileFromResources;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
 import picocli.CommandLine;
 import picocli.CommandLine.Option;
 
@@ -27,6 +73,10 @@ import picocli.CommandLine.Option;
         description = "Creates a microservice application.")
 public class MicroServiceGenerator implements Callable<Integer> {
 
+    private static final String STANDARD_OUTPUT = "-";
+    private static final String SQL_FILE_STEP = "sql-file";
+    private static final String ZIP_STEP = "zip";
+
     @Option(names = {"-d", "--destination"}, description = "The destination directory of the generated application. Default value is \"" + ProjectConstants.DEFAULT_DESTINATION_DIRECTORY + "\".")
     private String destinationDirectory = ProjectConstants.DEFAULT_DESTINATION_DIRECTORY;
 
@@ -36,6 +86,84 @@ public class MicroServiceGenerator implements Callable<Integer> {
     @Option(names = {"-f", "--sql-file"}, description = "SQL file to use for generation. Default tries UPDATE first, then SELECT.")
     private String sqlFileName;
 
+    @Option(names = "--sql-dir", paramLabel = "<directory|glob>", description = "Generates one microservice per .sql file of a directory or glob (e.g. 'sql/**/*.sql') into subdirectories of the destination, named after each file.")
+    private String batchSource;
+
+    @Option(names = "--crud", description = "Generates SELECT-by-primary-key, INSERT, UPDATE and DELETE microservices for every table of --schema into <destination>/<table>/<operation>.")
+    private boolean schemaCrud;
+    
+    @Option(names = "--sql-script", paramLabel = "<file>", description = "Generates one microservice per statement of a SQL script, separated by ';' or GO lines, into a single project at the destination named after --name. Each statement is named by an '-- @name: <Name>' comment before it, or numbered after --name. Statements are generated concurrently (see --jobs) and the metadata of their tables is loaded once for all of them.")
+    private String sqlScript;
+
+    @Option(names = "--jobs", description = "Maximum number of microservices generated concurrently with --sql-dir or --crud. Default is the connection pool size.")
+    private Integer jobs;
+
+    @Option(names = "--watch", description = "With --sql-dir, keep running after the first generation and regenerate the microservice of every SQL file that changes, reusing the connection pool and metadata cache.")
+    private boolean watchSqlFiles;
+
+    @Option(names = "--verify", description = "Compile the generated sources in memory against the generator's classpath and fail on compiler errors, reported per file. With --sql-dir or --crud services are verified concurrently.")
+    private boolean verifySources;
+
+    @Option(names = "--analyze-plan", description = "Fetch the estimated execution plan of every generated statement with SET SHOWPLAN_XML ON and write its table and index scans, key lookups, implicit conversions, missing indexes and high estimated cost to PERFORMANCE_REPORT.md in the generated project.")
+    private boolean analyzePlan;
+
+    @Option(names = "--fail-on-scan", paramLabel = "<rows>", description = "Implies --analyze-plan. Fail when the plan of a generated statement scans a table or index estimated to read at least <rows> rows; 0 fails on any scan.")
+    private Long failOnScanRows;
+
+    @Option(names = "--recommend-indexes", description = "Compare the predicate and selected columns of every generated statement with the existing indexes of its tables and write covering-index DDL, with the estimated size of each index, to db/recommended-indexes.sql in the generated project.")
+    private boolean recommendIndexes;
+    
+    @Option(names = "--profile-latency", description = "Execute every generated SELECT, UPDATE and DELETE statement with parameter values sampled from the columns they are compared with, each execution in a transaction that is rolled back, and write its p50 and p99 latency and logical reads (SET STATISTICS IO) to src/test/resources/latency-baseline.json in the generated project, with a regression test that fails when the live numbers exceed the baseline by more than its tolerance.")
+    private boolean profileLatency;
+    
+    @Option(names = "--check-sql", description = "Instead of generating, check the SQL files of --sql-dir for predicates that prevent index seeks: functions, arithmetic or date arithmetic on columns, LIKE patterns starting with a wildcard, OR across columns and, with --embedded-schema, implicit conversions of varchar columns. Exits with 1 when any is found. No database is contacted, so it can run as a pre-commit hook.")
+    private boolean checkSql;
+    
+    @Option(names = "--fix-sql", description = "Implies --check-sql. Rewrite the predicates that have an equivalent form an index can seek on in the SQL files; the others are only reported.")
+    private boolean fixSql;
+
+    @Option(names = "--profile", description = "Log a table of the duration, database round trips and bytes written of every generation phase (SQL resolve, parse, detect, each metadata lookup, each Generate* class, SQL formatting, write, verify) summed over all generated microservices when the run ends. The phases are always recorded as JFR events.")
+    private boolean profileGeneration;
+
+    @Option(names = "--zip", paramLabel = "<file|->", description = "Stream the generated project as a ZIP archive to the given file, or '-' for stdout, instead of writing it to --destination.")
+    private String zipTarget;
+
+    @Option(names = "--clean", description = "Delete previously generated sources, pom.xml and application.properties before writing. By default only changed files are rewritten and files no longer generated are deleted.")
+    private boolean cleanDestination;
+
+    @Option(names = "--db-url", description = "JDBC URL of the database used for metadata extraction. Overrides spring.datasource.url.")
+    private String databaseUrl;
+
+    @Option(names = "--db-username", description = "Database user name. Overrides spring.datasource.username.")
+    private String databaseUsername;
+
+    @Option(names = "--db-password", description = "Database password. Overrides spring.datasource.password.")
+    private String databasePassword;
+
+    @Option(names = "--db-pool-size", description = "Maximum number of pooled metadata connections. Overrides spring.datasource.hikari.maximum-pool-size.")
+    private Integer databasePoolSize;
+
+    @Option(names = "--db-connection-timeout", description = "Milliseconds to wait for a pooled connection. Overrides spring.datasource.hikari.connection-timeout.")
+    private Long databaseConnectionTimeoutMillis;
+
+    @Option(names = "--schema", description = "Database schema whose catalog is preloaded for metadata lookups. Default is '" + ProjectConstants.DEFAULT_SCHEMA_NAME + "'.")
+    private String schemaName = ProjectConstants.DEFAULT_SCHEMA_NAME;
+
+    @Option(names = "--metadata-cache-dir", description = "Directory of the persistent metadata cache. Default is ~/.msg/metadata-cache.")
+    private String metadataCacheDirectory;
+
+    @Option(names = "--no-metadata-cache", description = "Always read metadata from the database instead of the persistent metadata cache.")
+    private boolean metadataCacheDisabled;
+
+    @Option(names = "--record-metadata", description = "Record every metadata answer of this run into the given fixture file for offline replay.")
+    private String recordMetadataFile;
+
+    @Option(names = "--replay-metadata", description = "Serve all metadata from a fixture file recorded with --record-metadata; no database is contacted.")
+    private String replayMetadataFile;
+
+    @Option(names = "--embedded-schema", paramLabel = "<ddl file>", description = "Load the given DDL file into an in-process database in SQL Server compatibility mode and extract metadata from it instead of a SQL Server. Tables are created in --schema.")
+    private String embeddedSchemaFile;
+
     public static void main(String... args) {
         int exitCode = new CommandLine(new MicroServiceGenerator()).execute(args);
         System.exit(exitCode);
@@ -46,38 +174,515 @@ public class MicroServiceGenerator implements Callable<Integer> {
         // Validate input parameters
         validateInputParameters();
         
-        log.info("Starting microservice generation for business domain: {}", businessPurposeName);
-        log.info("Target directory: {}", destinationDirectory);
-        
+        // The archive owns stdout; log output (written to System.out by the console appender) moves to stderr
+        PrintStream standardOutput = System.out;
+        if (STANDARD_OUTPUT.equals(zipTarget)) {
+            System.setOut(System.err);
+        }
+        try {
+            return generate(standardOutput);
+        } finally {
+            System.setOut(standardOutput);
+        }
+    }
+    
+    private Integer generate(PrintStream standardOutput) throws Exception {
+        GenerationProfiler profiler = profileGeneration ? new GenerationProfiler() : GenerationProfiler.disabled();
+        try (GeneratedSourceVerifier sourceVerifier = verifySources ? new GeneratedSourceVerifier() : null) {
+            return generate(standardOutput, sourceVerifier, profiler);
+        } finally {
+            if (profiler.isEnabled()) {
+                profiler.logSummary();
+            }
+        }
+    }
+    
+    private Integer generate(PrintStream standardOutput, GeneratedSourceVerifier sourceVerifier,
+                             GenerationProfiler profiler) throws Exception {
         // Initialize all the focused helper components
         var directoryCleaner = new MicroserviceDirectoryCleaner();
         var sqlFileResolver = new SqlFileResolver();
-        var databaseConnectionFactory = new DatabaseConnectionFactory();
+        DataSourceSettings dataSourceSettings = buildDataSourceSettings();
+        var databaseConnectionFactory = new DatabaseConnectionFactory(dataSourceSettings);
         var projectWriter = new MicroserviceProjectWriter();
+        var pipeline = new ServiceGenerationPipeline(schemaName, analyzePlan, failOnScanRows, recommendIndexes,
+                                                     profileLatency, sourceVerifier);
         
-        // Clean destination directory (preserve IDE configurations)
-        directoryCleaner.cleanGeneratedCodeDirectories(destinationDirectory);
+        if (checkSql || fixSql) {
+            return checkSqlFiles(sqlFileResolver, databaseConnectionFactory);
+        }
         
-        // Resolve and read SQL file
-        String sql = sqlFileResolver.locateAndReadSqlFile(sqlFileName);
+        if (batchSource != null) {
+            return generateBatch(sqlFileResolver, directoryCleaner, projectWriter, pipeline, profiler,
+                                 databaseConnectionFactory, dataSourceSettings);
+        }
         
-        // Setup database connections
-        DatabaseConnection databaseConnection = databaseConnectionFactory.createDatabaseConnection();
+        if (schemaCrud) {
+            return generateSchemaCrud(directoryCleaner, projectWriter, pipeline, profiler,
+                                      databaseConnectionFactory, dataSourceSettings);
+        }
         
-        // Detect SQL statement type
-        SqlStatementType statementType = SqlStatementDetector.detectStatementType(sql);
-        log.info("Detected SQL statement type: {}", statementType);
+        if (sqlScript != null) {
+            return generateScript(directoryCleaner, projectWriter, pipeline, profiler,
+                                  databaseConnectionFactory, dataSourceSettings, standardOutput);
+        }
         
-        // Generate microservice based on SQL type
-        GeneratedMicroservice microservice = generateMicroserviceByType(statementType, sql, businessPurposeName, databaseConnection);
+        log.info("Starting microservice generation for business domain: {}", businessPurposeName);
+        log.info("Target directory: {}", destinationDirectory);
         
-        // Write complete microservice to filesystem
-        projectWriter.writeMicroserviceProject(microservice, destinationDirectory);
+        try (GenerationProfiler.ServiceScope ignored = profiler.profile(businessPurposeName)) {
+            // Resolve and read SQL file
+            String sql = GenerationProfiler.time(GenerationPhase.RESOLVE, SQL_FILE_STEP, () ->
+                sqlFileResolver.locateAndReadSqlFile(sqlFileName));
+            
+            // Parse once; the compiled statement is shared by type detection, metadata lookups and code generation
+            SqlCompilationUnit unit = SqlCompilationUnit.compile(sql);
+            SqlStatementType statementType = SqlStatementDetector.detectStatementType(unit);
+            log.info("Detected SQL statement type: {}", statementType);
+            
+            // Generate microservice based on SQL type, from recorded metadata or from the database
+            withMetadataSource(databaseConnectionFactory, dataSourceSettings,
+                (databaseConnection, schemaCatalog, metadataStore) -> pipeline.run(statementType, unit,
+                    businessPurposeName, databaseConnection,
+                    metadataSources(databaseConnection, schemaCatalog, metadataStore),
+                    (microservice, reportFiles) -> {
+                        // Write complete microservice to filesystem, or stream it as a ZIP archive
+                        if (zipTarget != null) {
+                            writeProjectArchive(microservice, reportFiles, projectWriter, standardOutput);
+                        } else {
+                            writeProject(microservice, reportFiles, destinationDirectory, directoryCleaner, projectWriter);
+                        }
+                    }));
+        }
         
         log.info("Successfully completed microservice generation!");
         return 0;
     }
     
+    /**
+     * Generates one microservice per SQL file into a subdirectory of the destination named after the file.
+     * All files share one connection pool, schema catalog and metadata cache; at most {@code --jobs} files
+     * are generated concurrently. Returns a non-zero exit code when any file failed.
+     * With {@code --watch} the run then keeps the connection pool and metadata cache open and regenerates
+     * the microservices of changed SQL files until it is stopped.
+     */
+    private Integer generateBatch(SqlFileResolver sqlFileResolver, MicroserviceDirectoryCleaner directoryCleaner,
+                                  MicroserviceProjectWriter projectWriter, ServiceGenerationPipeline pipeline,
+                                  GenerationProfiler profiler, DatabaseConnectionFactory databaseConnectionFactory,
+                                  DataSourceSettings dataSourceSettings) throws Exception {
+        List<Path> sqlFiles = sqlFileResolver.resolveSqlFiles(batchSource);
+        var batchGenerator = new MicroserviceBatchGenerator(concurrentJobs(dataSourceSettings), profiler);
+        Path destinationRoot = Paths.get(destinationDirectory);
+        
+        return withMetadataSource(databaseConnectionFactory, dataSourceSettings,
+            (databaseConnection, schemaCatalog, metadataStore) -> {
+                AtomicReference<ServiceGenerationPipeline.MetadataSources> metadataSources =
+                    new AtomicReference<>(metadataSources(databaseConnection, schemaCatalog, metadataStore));
+                // Created before the first generation, so that a change made while it runs is picked up by the watch
+                Runnable schemaChangeCheck = watchSqlFiles
+                    ? schemaChangeCheck(databaseConnection, dataSourceSettings, metadataSources)
+                    : () -> { };
+                MicroserviceBatchGenerator.FileGenerator fileGenerator = (sqlFile, businessDomainName, destination) -> {
+                    String sql = GenerationProfiler.time(GenerationPhase.RESOLVE, SQL_FILE_STEP, () -> Files.readString(sqlFile));
+                    SqlCompilationUnit unit = SqlCompilationUnit.compile(sql);
+                    SqlStatementType statementType = SqlStatementDetector.detectStatementType(unit);
+                    pipeline.run(statementType, unit, businessDomainName, databaseConnection, metadataSources.get(),
+                        (microservice, reportFiles) -> writeProject(microservice, reportFiles, destination.toString(),
+                                                                    directoryCleaner, projectWriter));
+                    return statementType;
+                };
+                
+                List<BatchGenerationResult> results = batchGenerator.generateAll(sqlFiles, destinationRoot, fileGenerator);
+                MicroserviceBatchGenerator.logSummary(results);
+                if (watchSqlFiles) {
+                    watchAndRegenerate(sqlFileResolver, batchGenerator, destinationRoot, fileGenerator, schemaChangeCheck,
+                                       projectWriter);
+                }
+                return results.stream().allMatch(BatchGenerationResult::succeeded) ? 0 : 1;
+            });
+    }
+    
+    /**
+     * Regenerates the microservices of the SQL files of {@code --sql-dir} as they change, until the thread is interrupted.
+     * Each debounced batch of changes goes through the same batch generator, so only the affected services are rewritten.
+     * Before each batch the schema change check runs, so that a table altered since the last batch is not generated
+     * from a stale catalog or cache. The service of a deleted SQL file is deleted as well, keeping any file that was
+     * not generated.
+     */
+    private void watchAndRegenerate(SqlFileResolver sqlFileResolver, MicroserviceBatchGenerator batchGenerator,
+                                    Path destinationRoot, MicroserviceBatchGenerator.FileGenerator fileGenerator,
+                                    Runnable schemaChangeCheck, MicroserviceProjectWriter projectWriter) throws IOException {
+        try (var watcher = new SqlFileWatcher(batchSource, sqlFileResolver, SqlFileWatcher.DEFAULT_DEBOUNCE)) {
+            log.info("Watching {} for changes; press Ctrl+C to stop", batchSource);
+            watcher.watch(new SqlFileWatcher.ChangeListener() {
+                @Override
+                public void filesChanged(List<Path> changedFiles) throws InterruptedException {
+                    schemaChangeCheck.run();
+                    MicroserviceBatchGenerator.logSummary(batchGenerator.generateAll(changedFiles, destinationRoot, fileGenerator));
+                }
+                
+                @Override
+                public void filesRemoved(List<Path> removedFiles) throws IOException {
+                    for (Path removedFile : removedFiles) {
+                        Path destination = MicroserviceBatchGenerator.destinationFor(removedFile, destinationRoot);
+                        if (Files.isDirectory(destination)) {
+                            log.info("{} was deleted, deleting its service {}", removedFile, destination);
+                            projectWriter.deleteGeneratedProject(destination.toString());
+                        }
+                    }
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("Stopped watching {}", batchSource);
+        }
+    }
+    
+    /**
+     * Returns the metadata sources the services are generated with: the given schema catalog and metadata store, and
+     * row counts and statistics loaded on first use.
+     */
+    private ServiceGenerationPipeline.MetadataSources metadataSources(DatabaseConnection databaseConnection,
+                                                                      Supplier<SchemaCatalog> schemaCatalog,
+                                                                      MetadataStore metadataStore) {
+        Supplier<Map<String, Long>> rowCounts = lazyRowCounts(databaseConnection);
+        return new ServiceGenerationPipeline.MetadataSources(schemaCatalog, metadataStore, rowCounts,
+                                                             lazyTableStatistics(databaseConnection, rowCounts));
+    }
+    
+    /**
+     * Returns a check that reads the table modification dates, as the generation service does per request, and when
+     * they differ from the previous check replaces the schema catalog, statistics and metadata cache of the batch.
+     * A recording fixture is kept, since its answers are saved when the run ends. The embedded database and a replayed
+     * fixture have no modification dates, so nothing is checked.
+     */
+    private Runnable schemaChangeCheck(DatabaseConnection databaseConnection, DataSourceSettings dataSourceSettings,
+                                       AtomicReference<ServiceGenerationPipeline.MetadataSources> metadataSources) {
+        if (embeddedSchemaFile != null || replayMetadataFile != null) {
+            return () -> { };
+        }
+        TableVersionLoader tableVersionLoader = new TableVersionLoader(databaseConnection.jdbcTemplate());
+        AtomicReference<Map<String, String>> knownVersions = new AtomicReference<>(readTableVersions(tableVersionLoader));
+        return () -> {
+            Map<String, String> tableVersions = readTableVersions(tableVersionLoader);
+            if (tableVersions == null || tableVersions.equals(knownVersions.get())) {
+                return;
+            }
+            log.info("Schema '{}' changed since the last generation, reloading its catalog", schemaName);
+            knownVersions.set(tableVersions);
+            MetadataStore metadataStore = recordMetadataFile != null
+                ? metadataSources.get().metadataStore()
+                : newMetadataCache(dataSourceSettings, tableVersions);
+            metadataSources.set(metadataSources(databaseConnection, lazySchemaCatalog(databaseConnection), metadataStore));
+        };
+    }
+    
+    private Map<String, String> readTableVersions(TableVersionLoader tableVersionLoader) {
+        try {
+            return tableVersionLoader.loadTableVersions();
+        } catch (DataAccessException e) {
+            ConnectionFailures.throwIfConnectionFailure(e, "table modification dates");
+            log.warn("Could not read table modification dates, schema changes are not detected: {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Generates the CRUD microservices of every table of the schema from SQL synthesized from the schema catalog.
+     * All tables share one connection pool, schema catalog and metadata cache; at most {@code --jobs} microservices
+     * are generated concurrently. Returns a non-zero exit code when any microservice failed.
+     */
+    private Integer generateSchemaCrud(MicroserviceDirectoryCleaner directoryCleaner,
+                                       MicroserviceProjectWriter projectWriter, ServiceGenerationPipeline pipeline,
+                                       GenerationProfiler profiler, DatabaseConnectionFactory databaseConnectionFactory,
+                                       DataSourceSettings dataSourceSettings) throws Exception {
+        var crudGenerator = new SchemaCrudGenerator(concurrentJobs(dataSourceSettings), profiler);
+        
+        List<CrudGenerationResult> results = withMetadataSource(databaseConnectionFactory, dataSourceSettings,
+            (databaseConnection, schemaCatalog, metadataStore) -> {
+                SchemaCatalog catalog = schemaCatalog.get();
+                if (catalog == null) {
+                    throw new IllegalStateException("--crud needs the schema catalog of '" + schemaName
+                        + "', which could not be loaded");
+                }
+                var metadataSources = metadataSources(databaseConnection, schemaCatalog, metadataStore);
+                List<CatalogTable> tables = SchemaCrudGenerator.tablesOf(catalog, schemaName);
+                if (tables.isEmpty()) {
+                    throw new IllegalStateException("Schema '" + schemaName + "' has no tables with a primary key");
+                }
+                return crudGenerator.generateAll(tables, Paths.get(destinationDirectory),
+                    (operation, unit, businessDomainName, destination) -> pipeline.run(operation, unit,
+                        businessDomainName, databaseConnection, metadataSources,
+                        (microservice, reportFiles) -> writeProject(microservice, reportFiles, destination.toString(),
+                                                                    directoryCleaner, projectWriter)));
+            });
+        
+        SchemaCrudGenerator.logSummary(results);
+        return results.stream().allMatch(CrudGenerationResult::succeeded) ? 0 : 1;
+    }
+    
+    /**
+     * Generates one microservice per statement of the SQL script of {@code --sql-script} into one project at the
+     * destination, with the application class and database configuration of {@code --name}. The statements share one
+     * connection pool and metadata cache, and the metadata of the tables they reference is loaded once for all of
+     * them; at most {@code --jobs} statements are generated concurrently. The microservices that were generated are
+     * written even when others failed; a non-zero exit code is returned then.
+     */
+    private Integer generateScript(MicroserviceDirectoryCleaner directoryCleaner,
+                                   MicroserviceProjectWriter projectWriter, ServiceGenerationPipeline pipeline,
+                                   GenerationProfiler profiler, DatabaseConnectionFactory databaseConnectionFactory,
+                                   DataSourceSettings dataSourceSettings, PrintStream standardOutput) throws Exception {
+        String script = GenerationProfiler.time(GenerationPhase.RESOLVE, SQL_FILE_STEP, () ->
+            Files.readString(Paths.get(sqlScript)));
+        List<ScriptStatement> statements = SqlScriptSplitter.split(script, businessPurposeName);
+        if (statements.isEmpty()) {
+            throw new IllegalArgumentException("SQL script " + sqlScript + " contains no statements");
+        }
+        var scriptGenerator = new SqlScriptGenerator(concurrentJobs(dataSourceSettings), profiler);
+        
+        List<ScriptGenerationResult> results = withMetadataSource(databaseConnectionFactory, dataSourceSettings,
+            (databaseConnection, schemaCatalog, metadataStore) -> {
+                var metadataSources = metadataSources(databaseConnection,
+                    scriptCatalog(statements, databaseConnection, schemaCatalog), metadataStore);
+                // The services are written into one project below, so only the generation step runs per statement
+                return scriptGenerator.generateAll(statements, (statementType, statement) -> pipeline.generate(
+                    statementType, statement.unit(), statement.businessDomainName(), databaseConnection,
+                    metadataSources).microservice());
+            });
+        SqlScriptGenerator.logSummary(results);
+        
+        List<GeneratedMicroservice> microservices = results.stream()
+            .filter(ScriptGenerationResult::succeeded)
+            .map(ScriptGenerationResult::microservice)
+            .toList();
+        if (microservices.isEmpty()) {
+            throw new IllegalStateException("No microservice could be generated from SQL script " + sqlScript);
+        }
+        GeneratedProject project = new GeneratedProject(businessPurposeName,
+            GenerateSpringBootApp.createSpringBootApp(businessPurposeName),
+            GenerateDatabaseConfig.createDatabaseConfig(businessPurposeName), microservices);
+        if (zipTarget != null) {
+            writeProjectArchive(businessPurposeName, microservices.size() + " microservice project",
+                sink -> projectWriter.writeProject(project, sink), standardOutput);
+        } else {
+            if (cleanDestination) {
+                directoryCleaner.cleanGeneratedCodeDirectories(destinationDirectory);
+            }
+            projectWriter.writeProject(project, destinationDirectory);
+        }
+        for (GeneratedMicroservice microservice : microservices) {
+            pipeline.verify(microservice);
+        }
+        return results.stream().allMatch(ScriptGenerationResult::succeeded) ? 0 : 1;
+    }
+    
+    /**
+     * Returns the schema catalog shared by the statements of a script. When the schema catalog cannot be loaded, as
+     * for the embedded database, the tables referenced by any statement are loaded together on the first metadata
+     * miss, instead of once per statement.
+     */
+    private Supplier<SchemaCatalog> scriptCatalog(List<ScriptStatement> statements,
+                                                  DatabaseConnection databaseConnection,
+                                                  Supplier<SchemaCatalog> schemaCatalog) {
+        return LazySupplier.of(() -> {
+            SchemaCatalog catalog = schemaCatalog.get();
+            List<TableReference> tables = SqlScriptGenerator.referencedTables(statements);
+            if (catalog != null || tables.isEmpty() || databaseConnection.dataSource() == null) {
+                return catalog;
+            }
+            try (var ignored = GenerationProfiler.phase(GenerationPhase.METADATA, "referenced-tables")) {
+                return new ReferencedTableCatalogLoader(databaseConnection.dataSource()).load(schemaName, tables);
+            } catch (SQLException | RuntimeException e) {
+                ConnectionFailures.throwIfConnectionFailure(e, "the tables of the script");
+                log.warn("Could not load metadata of the tables of the script, falling back to lookups per statement: {}", e.getMessage());
+                return null;
+            }
+        });
+    }
+    
+    /**
+     * With {@code --check-sql} or {@code --fix-sql}, reports the predicates of the SQL files of {@code --sql-dir} that
+     * prevent index seeks instead of generating; with {@code --fix-sql} the rewritable ones are rewritten in the files.
+     * No database is contacted; with {@code --embedded-schema} the column types are known, so implicit conversions
+     * are reported too. Returns 1 when any predicate was reported, so a pre-commit hook stops and rewritten files
+     * can be reviewed.
+     */
+    private Integer checkSqlFiles(SqlFileResolver sqlFileResolver,
+                                  DatabaseConnectionFactory databaseConnectionFactory) throws IOException {
+        List<Path> sqlFiles = sqlFileResolver.resolveSqlFiles(batchSource);
+        if (embeddedSchemaFile == null) {
+            return checkSqlFiles(sqlFiles, unit -> new SargabilityAdvisor());
+        }
+        try (DatabaseConnection databaseConnection = databaseConnectionFactory.createEmbeddedDatabaseConnection(
+                 Paths.get(embeddedSchemaFile), schemaName)) {
+            var catalogs = new StatementMicroserviceGenerator(() -> null, MetadataCache.disabled(), schemaName);
+            return checkSqlFiles(sqlFiles, unit -> {
+                SchemaCatalog catalog = catalogs.catalogOf(unit, databaseConnection);
+                return catalog != null ? new SargabilityAdvisor(catalog) : new SargabilityAdvisor();
+            });
+        }
+    }
+    
+    private Integer checkSqlFiles(List<Path> sqlFiles,
+                                  Function<SqlCompilationUnit, SargabilityAdvisor> advisors) throws IOException {
+        int reported = 0;
+        for (Path sqlFile : sqlFiles) {
+            String sql = Files.readString(sqlFile);
+            SqlCompilationUnit unit = SqlCompilationUnit.compile(sql);
+            if (!unit.isParsed()) {
+                log.warn("{}: not checked, the SQL could not be parsed", sqlFile);
+                continue;
+            }
+            List<SargabilityFinding> findings = advisors.apply(unit).analyze(unit);
+            ServiceGenerationPipeline.logSargabilityFindings(sqlFile.toString(), findings);
+            reported += findings.size();
+            if (fixSql) {
+                String rewritten = SargabilityRewriter.rewrite(sql, findings);
+                if (!rewritten.equals(sql)) {
+                    Files.writeString(sqlFile, rewritten);
+                    log.info("Rewrote {}", sqlFile);
+                }
+            }
+        }
+        log.info("Checked {} SQL files: {} predicates prevent index seeks", sqlFiles.size(), reported);
+        return reported == 0 ? 0 : 1;
+    }
+    
+    /**
+     * Writes the microservice incrementally: only changed files are rewritten and sources no longer generated are deleted.
+     * With {@code --clean} the previously generated files are removed first (IDE configurations are preserved).
+     * The requested reports are written relative to the project root the same way; reports no longer requested are
+     * deleted.
+     */
+    private void writeProject(GeneratedMicroservice microservice, Map<String, String> reportFiles, String destination,
+                              MicroserviceDirectoryCleaner directoryCleaner,
+                              MicroserviceProjectWriter projectWriter) throws Exception {
+        if (cleanDestination) {
+            directoryCleaner.cleanGeneratedCodeDirectories(destination);
+        }
+        projectWriter.writeMicroserviceProject(microservice, reportFiles, destination);
+    }
+    
+    /**
+     * Streams the microservice as a ZIP archive to {@code --zip}, a file or stdout, without a temporary directory.
+     */
+    private void writeProjectArchive(GeneratedMicroservice microservice, Map<String, String> reportFiles,
+                                     MicroserviceProjectWriter projectWriter,
+                                     PrintStream standardOutput) throws IOException {
+        writeProjectArchive(microservice.businessDomainName(), microservice.statementType() + " microservice",
+            sink -> projectWriter.writeMicroserviceProject(microservice, reportFiles, sink), standardOutput);
+    }
+    
+    /**
+     * Streams the files written by {@code content} as a ZIP archive to {@code --zip}, a file or stdout, under a root
+     * directory named after the project.
+     */
+    private void writeProjectArchive(String projectName, String description, ArchiveContent content,
+                                     PrintStream standardOutput) throws IOException {
+        String rootDirectory = projectName.toLowerCase();
+        if (STANDARD_OUTPUT.equals(zipTarget)) {
+            try (var ignored = GenerationProfiler.phase(GenerationPhase.WRITE, ZIP_STEP);
+                 var sink = new ZipProjectSink(standardOutput, rootDirectory)) {
+                content.writeTo(sink);
+            }
+            log.info("Wrote {} archive to stdout", description);
+            return;
+        }
+        try (var ignored = GenerationProfiler.phase(GenerationPhase.WRITE, ZIP_STEP);
+             OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(Paths.get(zipTarget)));
+             var sink = new ZipProjectSink(outputStream, rootDirectory)) {
+            content.writeTo(sink);
+        }
+        log.info("Wrote {} archive to {}", description, zipTarget);
+    }
+    
+    /**
+     * Writes the files of a project archive.
+     */
+    @FunctionalInterface
+    private interface ArchiveContent {
+        void writeTo(ProjectOutputSink sink) throws IOException;
+    }
+    
+    /**
+     * Returns the number of microservices generated concurrently: {@code --jobs}, or the connection pool size.
+     */
+    private int concurrentJobs(DataSourceSettings dataSourceSettings) {
+        int concurrentJobs = jobs != null ? jobs : dataSourceSettings.maximumPoolSize();
+        if (concurrentJobs > dataSourceSettings.maximumPoolSize()) {
+            log.warn("--jobs {} exceeds the connection pool size {}; jobs will wait for free connections",
+                     concurrentJobs, dataSourceSettings.maximumPoolSize());
+        }
+        return concurrentJobs;
+    }
+    
+    /**
+     * Generates with the metadata source of this run: pooled database connections, shared by every metadata lookup,
+     * the embedded database of {@code --embedded-schema}, or the fixture recorded with {@code --record-metadata}
+     * when {@code --replay-metadata} is given.
+     */
+    private <T> T withMetadataSource(DatabaseConnectionFactory databaseConnectionFactory,
+                                     DataSourceSettings dataSourceSettings,
+                                     MetadataSourceTask<T> task) throws Exception {
+        return replayMetadataFile != null
+            ? withMetadataFixture(databaseConnectionFactory, task)
+            : withDatabase(databaseConnectionFactory, dataSourceSettings, task);
+    }
+    
+    /**
+     * Generation work that needs database metadata.
+     */
+    @FunctionalInterface
+    private interface MetadataSourceTask<T> {
+        T run(DatabaseConnection databaseConnection, Supplier<SchemaCatalog> schemaCatalog,
+              MetadataStore metadataStore) throws Exception;
+    }
+    
+    /**
+     * Generates using pooled database connections, shared by every metadata lookup of this run,
+     * or the embedded database loaded from {@code --embedded-schema}.
+     * With {@code --record-metadata} every metadata answer is also written to the fixture file.
+     */
+    private <T> T withDatabase(DatabaseConnectionFactory databaseConnectionFactory,
+                               DataSourceSettings dataSourceSettings,
+                               MetadataSourceTask<T> task) throws Exception {
+        boolean embedded = embeddedSchemaFile != null;
+        try (DatabaseConnection databaseConnection = embedded
+                 ? databaseConnectionFactory.createEmbeddedDatabaseConnection(Paths.get(embeddedSchemaFile), schemaName)
+                 : databaseConnectionFactory.createDatabaseConnection()) {
+            // Cached metadata is validated against the tables' modification dates; the schema catalog
+            // is only loaded when the cache misses. The embedded database has neither the catalog views
+            // nor modification dates, and answers every lookup in-process anyway.
+            MetadataCache metadataCache = embedded
+                ? MetadataCache.disabled()
+                : createMetadataCache(databaseConnection, dataSourceSettings);
+            Supplier<SchemaCatalog> schemaCatalog = embedded ? () -> null : lazySchemaCatalog(databaseConnection);
+            MetadataFixture recorder = recordMetadataFile != null
+                ? MetadataFixture.recording(Paths.get(recordMetadataFile), metadataCache)
+                : null;
+            
+            T result = task.run(databaseConnection, schemaCatalog, recorder != null ? recorder : metadataCache);
+            if (metadataCache.isEnabled()) {
+                log.info("Metadata cache: {} hits, {} misses", metadataCache.hitCount(), metadataCache.missCount());
+            }
+            if (recorder != null) {
+                recorder.save();
+            }
+            return result;
+        }
+    }
+    
+    /**
+     * Generates from a fixture recorded with {@code --record-metadata}; no database is contacted.
+     */
+    private <T> T withMetadataFixture(DatabaseConnectionFactory databaseConnectionFactory,
+                                      MetadataSourceTask<T> task) throws Exception {
+        MetadataFixture fixture = MetadataFixture.replaying(Paths.get(replayMetadataFile));
+        try (DatabaseConnection databaseConnection = databaseConnectionFactory.createOfflineDatabaseConnection()) {
+            return task.run(databaseConnection, () -> null, fixture);
+        }
+    }
+    
     public static String getSql(String fileName) {
         return ReadFileFromResources.readFileFromResources(fileName);
     }
@@ -93,37 +698,117 @@ public class MicroServiceGenerator implements Callable<Integer> {
      */
     public GeneratedMicroservice generateMicroserviceFromSql(String sql, String businessPurposeName, DatabaseConnection databaseConnection) throws Exception {
         // Detect SQL statement type
-        SqlStatementType statementType = SqlStatementDetector.detectStatementType(sql);
+        SqlCompilationUnit unit = SqlCompilationUnit.compile(sql);
+        SqlStatementType statementType = SqlStatementDetector.detectStatementType(unit);
         
         // Generate microservice based on SQL type
-        return generateMicroserviceByType(statementType, sql, businessPurposeName, databaseConnection);
+        return new StatementMicroserviceGenerator(() -> null, MetadataCache.disabled(), schemaName)
+            .generate(statementType, unit, businessPurposeName, databaseConnection);
     }
     
     /**
-     * Generates a microservice based on the SQL statement type.
-     * Centralizes the switch logic to eliminate code duplication.
-     * 
-     * @param statementType The detected SQL statement type
-     * @param sql The SQL statement
-     * @param businessPurposeName The business purpose name
-     * @param databaseConnection The database connection
-     * @return Generated microservice
-     * @throws Exception if generation fails
+     * Creates the persistent metadata cache, scoped to the database URL and schema of this run.
+     * When the table modification dates cannot be read the cache is disabled, since entries could not be validated;
+     * when the database cannot be reached at all the run fails here, before any other lookup waits for a connection.
      */
-    private GeneratedMicroservice generateMicroserviceByType(SqlStatementType statementType, String sql, 
-                                                            String businessPurposeName, DatabaseConnection databaseConnection) throws Exception {
-        return switch (statementType) {
-            case SELECT -> new SelectMicroserviceGenerator()
-                .generateSelectMicroservice(sql, businessPurposeName, databaseConnection);
-            case UPDATE -> new UpdateMicroserviceGenerator()
-                .generateUpdateMicroservice(sql, businessPurposeName, databaseConnection);
-            case INSERT -> new InsertMicroserviceGenerator()
-                .generateInsertMicroservice(sql, businessPurposeName, databaseConnection);
-            case DELETE -> new DeleteMicroserviceGenerator()
-                .generateDeleteMicroservice(sql, businessPurposeName, databaseConnection);
-            default -> throw new IllegalArgumentException(
-                "Unknown or unsupported SQL statement type: '" + statementType + "'. Please provide a valid SELECT, UPDATE, INSERT, or DELETE statement.");
-        };
+    private MetadataCache createMetadataCache(DatabaseConnection databaseConnection, DataSourceSettings dataSourceSettings) {
+        if (metadataCacheDisabled) {
+            return MetadataCache.disabled();
+        }
+        try (var ignored = GenerationProfiler.phase(GenerationPhase.METADATA, "table-versions")) {
+            return newMetadataCache(dataSourceSettings, new TableVersionLoader(databaseConnection.jdbcTemplate()).loadTableVersions());
+        } catch (DataAccessException e) {
+            ConnectionFailures.throwIfConnectionFailure(e, "table modification dates");
+            log.warn("Could not read table modification dates, metadata cache disabled: {}", e.getMessage());
+            return MetadataCache.disabled();
+        }
+    }
+    
+    private MetadataCache newMetadataCache(DataSourceSettings dataSourceSettings, Map<String, String> tableVersions) {
+        if (metadataCacheDisabled) {
+            return MetadataCache.disabled();
+        }
+        Path cacheDirectory = metadataCacheDirectory != null ? Paths.get(metadataCacheDirectory) : MetadataCache.defaultDirectory();
+        return new MetadataCache(cacheDirectory, dataSourceSettings.url() + "|" + schemaName, schemaName, tableVersions);
+    }
+    
+    /**
+     * Returns a supplier that loads the schema catalog on first use and reuses it afterwards.
+     * Safe to share between the concurrent generations of a batch; the catalog is loaded only once.
+     */
+    private Supplier<SchemaCatalog> lazySchemaCatalog(DatabaseConnection databaseConnection) {
+        return LazySupplier.of(() -> loadSchemaCatalog(databaseConnection));
+    }
+    
+    /**
+     * Returns a supplier that loads the row counts of the tables of the schema on first use, for the estimated sizes
+     * of recommended indexes and the estimated result rows of SELECTs. The embedded database has no
+     * {@code sys.partitions} and a replayed fixture no database; when the counts cannot be read the index sizes are
+     * only estimated per row and the result rows not at all.
+     */
+    private Supplier<Map<String, Long>> lazyRowCounts(DatabaseConnection databaseConnection) {
+        if (embeddedSchemaFile != null || replayMetadataFile != null) {
+            return Map::of;
+        }
+        return LazySupplier.of(() -> {
+            try (var ignored = GenerationProfiler.phase(GenerationPhase.METADATA, "row-counts")) {
+                return new TableRowCountLoader(databaseConnection.jdbcTemplate()).loadRowCounts(schemaName);
+            } catch (DataAccessException e) {
+                ConnectionFailures.throwIfConnectionFailure(e, "table row counts");
+                log.warn("Could not read table row counts, index sizes are estimated per row and result rows not at all: {}", e.getMessage());
+                return Map.of();
+            }
+        });
+    }
+    
+    /**
+     * Returns a supplier that loads the statistics the result rows of a SELECT are estimated from on first use: the
+     * row counts and the distinct values of the columns. Without row counts, as for the embedded database or a
+     * replayed fixture, the rows are not estimated and every SELECT returns a list.
+     */
+    private Supplier<TableStatistics> lazyTableStatistics(DatabaseConnection databaseConnection,
+                                                          Supplier<Map<String, Long>> rowCounts) {
+        if (embeddedSchemaFile != null || replayMetadataFile != null) {
+            return TableStatistics::empty;
+        }
+        return LazySupplier.of(() -> {
+            Map<String, Long> tableRows = rowCounts.get();
+            if (tableRows.isEmpty()) {
+                return TableStatistics.empty();
+            }
+            try (var ignored = GenerationProfiler.phase(GenerationPhase.METADATA, "column-statistics")) {
+                return new TableStatistics(tableRows,
+                    new ColumnStatisticsLoader(databaseConnection.jdbcTemplate()).loadDistinctValues(schemaName));
+            } catch (DataAccessException e) {
+                ConnectionFailures.throwIfConnectionFailure(e, "column statistics");
+                log.warn("Could not read column statistics, equality predicates are estimated from row counts: {}", e.getMessage());
+                return new TableStatistics(tableRows, Map.of());
+            }
+        });
+    }
+    
+    /**
+     * Loads the schema catalog in one bulk query. When the catalog views cannot be read
+     * (e.g. missing VIEW DEFINITION permission) generation continues with per-statement JDBC metadata;
+     * a connection failure ends the run.
+     */
+    private SchemaCatalog loadSchemaCatalog(DatabaseConnection databaseConnection) {
+        try (var ignored = GenerationProfiler.phase(GenerationPhase.METADATA, "schema-catalog")) {
+            return new SchemaCatalogLoader(databaseConnection.jdbcTemplate()).load(schemaName);
+        } catch (DataAccessException e) {
+            ConnectionFailures.throwIfConnectionFailure(e, "the schema catalog");
+            log.warn("Could not load schema catalog for '{}', falling back to JDBC metadata lookups: {}", schemaName, e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Builds the DataSource settings from application.properties with any CLI overrides applied.
+     */
+    private DataSourceSettings buildDataSourceSettings() {
+        return DataSourceSettings.fromApplicationProperties()
+            .withOverrides(databaseUrl, databaseUsername, databasePassword,
+                           databasePoolSize, databaseConnectionTimeoutMillis);
     }
     
     /**
@@ -140,6 +825,78 @@ public class MicroServiceGenerator implements Callable<Integer> {
             throw new IllegalArgumentException(ProjectConstants.ERROR_NULL_DESTINATION);
         }
         
+        if (schemaName == null || schemaName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Schema name cannot be null or empty");
+        }
+        
+        if (batchSource != null && sqlFileName != null) {
+            throw new IllegalArgumentException("--sql-file and --sql-dir cannot be used together");
+        }
+        
+        if (sqlScript != null && (sqlFileName != null || batchSource != null || schemaCrud)) {
+            throw new IllegalArgumentException("--sql-script cannot be used together with --sql-file, --sql-dir or --crud");
+        }
+        
+        if (sqlScript != null && (analyzePlan || failOnScanRows != null || recommendIndexes || profileLatency)) {
+            throw new IllegalArgumentException("--sql-script cannot be used together with --analyze-plan, --fail-on-scan, --recommend-indexes or --profile-latency");
+        }
+        
+        if (zipTarget != null && (batchSource != null || schemaCrud || cleanDestination)) {
+            throw new IllegalArgumentException("--zip cannot be used together with --sql-dir, --crud or --clean");
+        }
+        
+        if (zipTarget != null && zipTarget.trim().isEmpty()) {
+            throw new IllegalArgumentException("--zip needs a file name or '-' for stdout");
+        }
+        
+        if (watchSqlFiles && batchSource == null) {
+            throw new IllegalArgumentException("--watch requires --sql-dir");
+        }
+        
+        if (schemaCrud && (batchSource != null || sqlFileName != null)) {
+            throw new IllegalArgumentException("--crud cannot be used together with --sql-file or --sql-dir");
+        }
+        
+        if (jobs != null && jobs < 1) {
+            throw new IllegalArgumentException("--jobs must be at least 1");
+        }
+        
+        if (recordMetadataFile != null && replayMetadataFile != null) {
+            throw new IllegalArgumentException("--record-metadata and --replay-metadata cannot be used together");
+        }
+        
+        if (embeddedSchemaFile != null && (replayMetadataFile != null || databaseUrl != null)) {
+            throw new IllegalArgumentException("--embedded-schema cannot be used together with --replay-metadata or --db-url");
+        }
+        
+        if (failOnScanRows != null && failOnScanRows < 0) {
+            throw new IllegalArgumentException("--fail-on-scan must be at least 0");
+        }
+        
+        if ((analyzePlan || failOnScanRows != null) && (replayMetadataFile != null || embeddedSchemaFile != null)) {
+            throw new IllegalArgumentException("--analyze-plan and --fail-on-scan need a SQL Server and cannot be used with --replay-metadata or --embedded-schema");
+        }
+        
+        if (profileLatency && (replayMetadataFile != null || embeddedSchemaFile != null)) {
+            throw new IllegalArgumentException("--profile-latency executes the statements on a SQL Server and cannot be used with --replay-metadata or --embedded-schema");
+        }
+        
+        if (recommendIndexes && replayMetadataFile != null) {
+            throw new IllegalArgumentException("--recommend-indexes needs the indexes of the database and cannot be used with --replay-metadata");
+        }
+        
+        if ((checkSql || fixSql) && batchSource == null) {
+            throw new IllegalArgumentException("--check-sql and --fix-sql require --sql-dir");
+        }
+        
+        if ((checkSql || fixSql) && (watchSqlFiles || replayMetadataFile != null)) {
+            throw new IllegalArgumentException("--check-sql and --fix-sql cannot be used together with --watch or --replay-metadata");
+        }
+        
+        if (embeddedSchemaFile != null && schemaCrud) {
+            throw new IllegalArgumentException("--crud needs the SQL Server schema catalog and cannot be used with --embedded-schema");
+        }
+        
         // Validate business purpose name doesn't contain invalid characters
         if (!businessPurposeName.matches(ProjectConstants.VALID_BUSINESS_NAME_PATTERN)) {
             throw new IllegalArgumentException(ProjectConstants.ERROR_INVALID_BUSINESS_NAME);
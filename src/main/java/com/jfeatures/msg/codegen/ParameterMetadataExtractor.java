@@ -1,7 +1,14 @@
 package com.jfeatures.msg.codegen;
 
 import com.jfeatures.msg.codegen.constants.ProjectConstants;
+import com.jfeatures.msg.codegen.dbmetadata.CatalogColumn;
+import com.jfeatures.msg.codegen.dbmetadata.SchemaCatalog;
 import com.jfeatures.msg.codegen.domain.DBColumn;
+import com.jfeatures.msg.codegen.domain.ParameterReference;
+import com.jfeatures.msg.codegen.domain.TableReference;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import com.jfeatures.msg.codegen.sql.SqlLexer;
+import com.jfeatures.msg.codegen.sql.SqlToken;
 import java.sql.Connection;
 import java.sql.ParameterMetaData;
 import java.sql.PreparedStatement;
@@ -9,7 +16,9 @@ import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Pattern;
 import javax.sql.DataSource;
 import lombok.extern.slf4j.Slf4j;
@@ -18,24 +27,32 @@ import lombok.extern.slf4j.Slf4j;
 public class ParameterMetadataExtractor {
 
     private static final int MAX_SQL_LENGTH = 10_000;
-    private static final Pattern COLUMN_PATTERN = Pattern.compile(
-        "([A-Za-z0-9_]+\\.[A-Za-z0-9_]+|[A-Za-z0-9_]+)\\s*=\\s*\\?",
-        Pattern.CASE_INSENSITIVE
-    );
-    private static final Pattern WHERE_PATTERN = Pattern.compile("\\bwhere\\b", Pattern.CASE_INSENSITIVE);
-    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+    private static final Pattern SIMPLE_IDENTIFIER_PATTERN = Pattern.compile("[A-Za-z0-9_]+");
+    /** Keywords that can precede {@code = ?} in malformed SQL and must not be taken for a column name. */
+    private static final Set<String> PRECEDING_KEYWORDS =
+        Set.of("WHERE", "AND", "OR", "NOT", "ON", "SET", "HAVING", "WHEN", "THEN", "ELSE");
     private static final String SQL_QUERY_TOO_LONG_MESSAGE = "SQL query too long";
     private static final String DEFAULT_PARAM_PREFIX = "param";
     private static final String DEFAULT_JAVA_TYPE = "String";
     private static final String DEFAULT_JDBC_TYPE = "VARCHAR";
 
     private final DataSource dataSource;
+    private final SchemaCatalog schemaCatalog;
     
     public ParameterMetadataExtractor(DataSource dataSource) {
+        this(dataSource, null);
+    }
+
+    /**
+     * Creates an extractor that resolves WHERE parameters from a preloaded schema catalog when every
+     * parameter maps to a known column, and prepares the statement on the server only otherwise.
+     */
+    public ParameterMetadataExtractor(DataSource dataSource, SchemaCatalog schemaCatalog) {
         if (dataSource == null) {
             throw new IllegalArgumentException(ProjectConstants.ERROR_NULL_DATASOURCE);
         }
         this.dataSource = dataSource;
+        this.schemaCatalog = schemaCatalog;
     }
     
     public List<DBColumn> extractParameters(String sql) throws SQLException {
@@ -45,6 +62,30 @@ public class ParameterMetadataExtractor {
         if (sql.length() > MAX_SQL_LENGTH) {
             throw new IllegalArgumentException(SQL_QUERY_TOO_LONG_MESSAGE);
         }
+        return extractParameters(SqlCompilationUnit.compile(sql));
+    }
+
+    /**
+     * Extracts the parameters of an already compiled statement. Parameter names and catalog lookups
+     * use the unit's syntax tree; the SQL text is only scanned when the parser rejected it.
+     */
+    public List<DBColumn> extractParameters(SqlCompilationUnit unit) throws SQLException {
+        if (unit == null) {
+            throw new IllegalArgumentException(ProjectConstants.ERROR_NULL_SQL);
+        }
+        String sql = unit.sql();
+        if (sql.length() > MAX_SQL_LENGTH) {
+            throw new IllegalArgumentException(SQL_QUERY_TOO_LONG_MESSAGE);
+        }
+        
+        if (schemaCatalog != null) {
+            Optional<List<DBColumn>> catalogParameters = resolveParametersFromCatalog(unit);
+            if (catalogParameters.isPresent()) {
+                log.info("Resolved {} parameters from schema catalog", catalogParameters.get().size());
+                return catalogParameters.get();
+            }
+            log.info("Schema catalog could not resolve every parameter, falling back to prepared statement metadata");
+        }
         
         List<DBColumn> parameters = new ArrayList<>();
         
@@ -56,8 +97,10 @@ public class ParameterMetadataExtractor {
             
             log.info("Found {} parameters in SQL query", parameterCount);
             
-            // Extract column names from WHERE clause
-            List<String> columnNames = extractColumnNamesFromWhereClause(sql, parameterCount);
+            // Name parameters after the columns they are compared with
+            List<String> columnNames = unit.isParsed()
+                ? extractColumnNamesFromParameters(unit, parameterCount)
+                : extractColumnNamesFromTokens(sql, parameterCount);
             log.info("Extracted column names: {}", columnNames);
             
             for (int i = 1; i <= parameterCount; i++) {
@@ -87,77 +130,125 @@ public class ParameterMetadataExtractor {
         return parameters;
     }
     
-    private List<String> extractColumnNamesFromWhereClause(String sql, int expectedParameterCount) {
-        List<String> columnNames = new ArrayList<>();
-        
-        try {
-            // Extract WHERE clause from SQL
-            String whereClause = extractWhereClause(sql);
-            if (whereClause == null || whereClause.isEmpty()) {
-                log.warn("Could not extract WHERE clause from SQL, using default parameter names");
-                return generateDefaultParameterNames(expectedParameterCount);
-            }
+    /**
+     * Resolves every {@code column = ?} parameter against the schema catalog.
+     * Returns empty when any parameter cannot be matched to exactly one catalog column, so the caller
+     * can fall back to the driver's parameter metadata.
+     */
+    private Optional<List<DBColumn>> resolveParametersFromCatalog(SqlCompilationUnit unit) {
+        if (unit.parameterCount() == 0) {
+            return Optional.of(new ArrayList<>());
+        }
+        if (!unit.isParsed()) {
+            return Optional.empty();
+        }
 
-            if (whereClause.length() > MAX_SQL_LENGTH) {
-                throw new IllegalArgumentException("WHERE clause too long");
+        List<DBColumn> parameters = new ArrayList<>();
+        for (ParameterReference parameter : unit.parameters()) {
+            if (!isSimpleColumnReference(parameter)) {
+                return Optional.empty();
             }
+            Optional<CatalogColumn> column = resolveColumnReference(parameter, unit.tableReferences());
+            if (column.isEmpty()) {
+                return Optional.empty();
+            }
+            int sqlType = column.get().jdbcType();
+            parameters.add(new DBColumn(null, convertToParameterName(parameter.columnReference()),
+                getJavaTypeForSqlType(sqlType), getJdbcTypeForSqlType(sqlType)));
+        }
+        return Optional.of(parameters);
+    }
 
-            // Find all column references before '?' parameters
-            Matcher matcher = COLUMN_PATTERN.matcher(whereClause);
-            
-            while (matcher.find() && columnNames.size() < expectedParameterCount) {
-                String columnReference = matcher.group(1);
+    private Optional<CatalogColumn> resolveColumnReference(ParameterReference parameter, List<TableReference> tableReferences) {
+        String qualifier = parameter.qualifier();
+        String columnName = parameter.columnName();
+
+        List<CatalogColumn> matches = new ArrayList<>();
+        for (TableReference table : tableReferences) {
+            if (qualifier != null && !qualifier.equalsIgnoreCase(table.alias())
+                    && !qualifier.equalsIgnoreCase(table.tableName())) {
+                continue;
+            }
+            schemaCatalog.findColumn(table.schemaName(), table.tableName(), columnName).ifPresent(matches::add);
+        }
+        // An unqualified column present in several joined tables is ambiguous
+        return matches.size() == 1 ? Optional.of(matches.get(0)) : Optional.empty();
+    }
+    
+    /**
+     * Names each parameter after the column it is compared with, or {@code paramN} when it is not bound
+     * to a plain column (e.g. a range comparison or a quoted identifier).
+     */
+    private List<String> extractColumnNamesFromParameters(SqlCompilationUnit unit, int expectedParameterCount) {
+        List<String> columnNames = new ArrayList<>();
+        List<ParameterReference> parameters = unit.parameters();
+        for (int i = 0; i < expectedParameterCount; i++) {
+            if (i < parameters.size() && isSimpleColumnReference(parameters.get(i))) {
+                String columnReference = parameters.get(i).columnReference();
                 String parameterName = convertToParameterName(columnReference);
                 columnNames.add(parameterName);
                 log.info("Extracted parameter name: {} from column: {}", parameterName, columnReference);
+            } else {
+                columnNames.add(DEFAULT_PARAM_PREFIX + (i + 1));
             }
-            
-            // Fill remaining parameters with default names if needed
-            while (columnNames.size() < expectedParameterCount) {
-                columnNames.add(DEFAULT_PARAM_PREFIX + (columnNames.size() + 1));
-            }
-            
-        } catch (IllegalArgumentException | IllegalStateException e) {
-            log.warn("Invalid SQL structure while extracting column names: {}", e.getMessage());
-            return generateDefaultParameterNames(expectedParameterCount);
-        } catch (RuntimeException e) {
-            log.error("Unexpected runtime error extracting column names from WHERE clause: {}", e.getMessage(), e);
-            return generateDefaultParameterNames(expectedParameterCount);
         }
-        
         return columnNames;
     }
+
+    private static boolean isSimpleColumnReference(ParameterReference parameter) {
+        return parameter.isBoundToColumn()
+            && SIMPLE_IDENTIFIER_PATTERN.matcher(parameter.columnName()).matches()
+            && (parameter.qualifier() == null || SIMPLE_IDENTIFIER_PATTERN.matcher(parameter.qualifier()).matches());
+    }
     
-    private String extractWhereClause(String sql) {
-        if (sql.length() > MAX_SQL_LENGTH) {
-            throw new IllegalArgumentException(SQL_QUERY_TOO_LONG_MESSAGE);
+    /**
+     * Names the parameters of SQL the parser rejected from its tokens: a placeholder preceded by
+     * {@code column =} or {@code alias.column =} is named after the column, any other one {@code paramN}.
+     */
+    private List<String> extractColumnNamesFromTokens(String sql, int expectedParameterCount) {
+        List<SqlToken> tokens = SqlLexer.tokenize(sql);
+        List<String> columnNames = new ArrayList<>();
+        for (int i = 0; i < tokens.size() && columnNames.size() < expectedParameterCount; i++) {
+            if (!tokens.get(i).is(SqlToken.Type.PARAMETER)) {
+                continue;
+            }
+            String columnReference = comparedColumn(tokens, i);
+            if (columnReference != null) {
+                String parameterName = convertToParameterName(columnReference);
+                columnNames.add(parameterName);
+                log.info("Extracted parameter name: {} from column: {}", parameterName, columnReference);
+            } else {
+                columnNames.add(DEFAULT_PARAM_PREFIX + (columnNames.size() + 1));
+            }
         }
+        while (columnNames.size() < expectedParameterCount) {
+            columnNames.add(DEFAULT_PARAM_PREFIX + (columnNames.size() + 1));
+        }
+        return columnNames;
+    }
 
-        // Remove line breaks and extra spaces for easier parsing
-        String normalizedSql = WHITESPACE_PATTERN.matcher(sql).replaceAll(" ").trim();
-
-        // Find WHERE keyword (case insensitive)
-        Matcher whereMatcher = WHERE_PATTERN.matcher(normalizedSql);
-        
-        if (!whereMatcher.find()) {
+    /**
+     * Returns the column reference compared for equality with the placeholder at the given token index, or null.
+     */
+    private static String comparedColumn(List<SqlToken> tokens, int parameterIndex) {
+        if (parameterIndex < 2 || !tokens.get(parameterIndex - 1).isSymbol('=')) {
             return null;
         }
-        
-        int whereStart = whereMatcher.start();
-        
-        // Find potential end keywords (case insensitive)
-        String[] endKeywords = {"group by", "order by", "having", "limit", "offset"};
-        int whereEnd = normalizedSql.length();
-        
-        for (String keyword : endKeywords) {
-            Pattern endPattern = Pattern.compile("\\b" + keyword + "\\b", Pattern.CASE_INSENSITIVE);
-            Matcher endMatcher = endPattern.matcher(normalizedSql);
-            if (endMatcher.find(whereStart)) {
-                whereEnd = Math.min(whereEnd, endMatcher.start());
-            }
+        SqlToken column = tokens.get(parameterIndex - 2);
+        if (!isColumnName(column)) {
+            return null;
         }
-        
-        return normalizedSql.substring(whereStart + 5, whereEnd).trim(); // +5 for "WHERE"
+        if (parameterIndex >= 4 && tokens.get(parameterIndex - 3).isSymbol('.')) {
+            SqlToken qualifier = tokens.get(parameterIndex - 4);
+            return isColumnName(qualifier) ? qualifier.text() + "." + column.text() : null;
+        }
+        return column.text();
+    }
+
+    private static boolean isColumnName(SqlToken token) {
+        return token.is(SqlToken.Type.WORD)
+            && SIMPLE_IDENTIFIER_PATTERN.matcher(token.text()).matches()
+            && !PRECEDING_KEYWORDS.contains(token.text().toUpperCase(Locale.ROOT));
     }
     
     private String convertToParameterName(String columnReference) {
@@ -191,14 +282,6 @@ public class ParameterMetadataExtractor {
         return camelCase.toString();
     }
     
-    private List<String> generateDefaultParameterNames(int count) {
-        List<String> defaultNames = new ArrayList<>();
-        for (int i = 1; i <= count; i++) {
-            defaultNames.add(DEFAULT_PARAM_PREFIX + i);
-        }
-        return defaultNames;
-    }
-    
     private String getJavaTypeForSqlType(int sqlType) {
         return switch (sqlType) {
             case Types.INTEGER, Types.SMALLINT, Types.TINYINT -> "Integer";
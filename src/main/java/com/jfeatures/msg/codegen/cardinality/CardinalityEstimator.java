@@ -0,0 +1,455 @@
+package com.jfeatures.msg.codegen.cardinality;
+
+import com.jfeatures.msg.codegen.dbmetadata.CatalogColumn;
+import com.jfeatures.msg.codegen.dbmetadata.CatalogTable;
+import com.jfeatures.msg.codegen.dbmetadata.SchemaCatalog;
+import com.jfeatures.msg.codegen.dbmetadata.TableStatistics;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import com.jfeatures.msg.codegen.util.TableReferenceFinder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jsqlparser.expression.BinaryExpression;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.Function;
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
+import net.sf.jsqlparser.expression.operators.relational.Between;
+import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
+import net.sf.jsqlparser.expression.operators.relational.ExpressionList;
+import net.sf.jsqlparser.expression.operators.relational.GreaterThan;
+import net.sf.jsqlparser.expression.operators.relational.GreaterThanEquals;
+import net.sf.jsqlparser.expression.operators.relational.InExpression;
+import net.sf.jsqlparser.expression.operators.relational.IsNullExpression;
+import net.sf.jsqlparser.expression.operators.relational.LikeExpression;
+import net.sf.jsqlparser.expression.operators.relational.MinorThan;
+import net.sf.jsqlparser.expression.operators.relational.MinorThanEquals;
+import net.sf.jsqlparser.expression.operators.relational.NotEqualsTo;
+import net.sf.jsqlparser.expression.operators.relational.ParenthesedExpressionList;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.select.FromItem;
+import net.sf.jsqlparser.statement.select.Join;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.SelectItem;
+
+/**
+ * Estimates the number of rows a SELECT returns from the row counts of its tables and the distinct values of its
+ * predicate columns, the way SQL Server estimates a statement whose parameter values are unknown.
+ * <p>
+ * An equality predicate keeps one distinct value of its column: the rows divided by the distinct values of the
+ * column's statistics, or a single row when the column alone is a primary key or unique index. Without statistics,
+ * {@code rows^0.75} rows are kept, as SQL Server guesses. A range comparison keeps 30% of the rows, BETWEEN and LIKE
+ * 9%. The predicates of a table are combined with exponential backoff: the most selective in full, the next by its
+ * square root, the next by its fourth root and so on, since predicates on one table are rarely independent.
+ * <p>
+ * An equi-join returns the product of the filtered rows of both tables divided by the larger number of distinct
+ * values of the two join columns. GROUP BY and DISTINCT return at most the product of the distinct values of their
+ * columns, an aggregate without GROUP BY one row, and TOP or FETCH with a constant at most that many rows. Only single
+ * SELECTs without CTEs whose FROM and JOIN items are tables of the catalog are estimated; for any other statement,
+ * or when a table has no row count, the number of rows is unknown.
+ */
+@Slf4j
+public class CardinalityEstimator {
+
+    static final double RANGE_SELECTIVITY = 0.3;
+    static final double BETWEEN_SELECTIVITY = 0.09;
+    static final double LIKE_SELECTIVITY = 0.09;
+    private static final double EQUALITY_GUESS_EXPONENT = 0.75;
+    /** SQL Server's exponential backoff only combines the four most selective predicates of a table. */
+    private static final int BACKOFF_PREDICATES = 4;
+    private static final Set<String> AGGREGATE_FUNCTIONS = Set.of(
+        "count", "count_big", "sum", "avg", "min", "max", "stdev", "stdevp", "var", "varp", "string_agg", "checksum_agg");
+
+    private final SchemaCatalog schemaCatalog;
+    private final TableStatistics statistics;
+
+    /**
+     * @param schemaCatalog resolves the tables and columns of the statement and their unique indexes
+     * @param statistics the row counts of the tables and distinct values of the columns
+     */
+    public CardinalityEstimator(SchemaCatalog schemaCatalog, TableStatistics statistics) {
+        if (schemaCatalog == null) {
+            throw new IllegalArgumentException("Schema catalog cannot be null");
+        }
+        if (statistics == null) {
+            throw new IllegalArgumentException("Table statistics cannot be null");
+        }
+        this.schemaCatalog = schemaCatalog;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Returns the estimated number of rows of the statement, at least one; empty when it cannot be estimated.
+     */
+    public OptionalLong estimateRows(SqlCompilationUnit unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException("SQL statement cannot be null");
+        }
+        if (!(unit.statement().orElse(null) instanceof PlainSelect select) || select.getWithItemsList() != null) {
+            log.debug("Statement is not estimated: {}", unit.sql());
+            return OptionalLong.empty();
+        }
+        OptionalDouble rows = estimate(select);
+        return rows.isPresent() ? OptionalLong.of(Math.max(1, Math.round(rows.getAsDouble()))) : OptionalLong.empty();
+    }
+
+    private OptionalDouble estimate(PlainSelect select) {
+        QueryBlock block = new QueryBlock();
+        if (!block.addTable(select.getFromItem(), null)) {
+            return OptionalDouble.empty();
+        }
+        List<Join> joins = select.getJoins() != null ? select.getJoins() : List.of();
+        for (Join join : joins) {
+            if (!block.addTable(join.getRightItem(), join)) {
+                return OptionalDouble.empty();
+            }
+        }
+        block.addPredicate(select.getWhere());
+        for (Join join : joins) {
+            join.getOnExpressions().forEach(block::addPredicate);
+        }
+
+        double rows = block.joinedRows();
+        if (select.getGroupBy() != null && select.getGroupBy().getGroupByExpressionList() != null) {
+            rows = Math.min(rows, block.distinctCombinations(select.getGroupBy().getGroupByExpressionList()));
+        } else if (select.getSelectItems().stream().anyMatch(item -> isAggregate(item.getExpression()))) {
+            rows = 1;
+        }
+        if (select.getDistinct() != null) {
+            rows = Math.min(rows, block.distinctCombinations(select.getSelectItems().stream()
+                .map(SelectItem::getExpression)
+                .toList()));
+        }
+        if (select.getTop() != null && !select.getTop().isPercentage()
+                && select.getTop().getExpression() instanceof LongValue top) {
+            rows = Math.min(rows, top.getValue());
+        }
+        if (select.getFetch() != null && select.getFetch().getExpression() instanceof LongValue fetch) {
+            rows = Math.min(rows, fetch.getValue());
+        }
+        return OptionalDouble.of(rows);
+    }
+
+    private static boolean isAggregate(Expression expression) {
+        return expression instanceof Function function && function.getName() != null
+            && AGGREGATE_FUNCTIONS.contains(function.getName().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Combines the selectivities of the predicates of one table with exponential backoff.
+     */
+    static double backoff(List<Double> selectivities) {
+        List<Double> sorted = selectivities.stream().sorted().toList();
+        double combined = 1;
+        double exponent = 1;
+        for (int i = 0; i < Math.min(sorted.size(), BACKOFF_PREDICATES); i++) {
+            combined *= Math.pow(sorted.get(i), exponent);
+            exponent /= 2;
+        }
+        return combined;
+    }
+
+    private static String lower(String identifier) {
+        return identifier == null ? "" : TableReferenceFinder.unquote(identifier).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The tables of one SELECT, their predicates and the equi-joins between them.
+     */
+    private final class QueryBlock {
+
+        private final List<TableUsage> tables = new ArrayList<>();
+        private final List<JoinColumns> joinColumns = new ArrayList<>();
+
+        /**
+         * Adds a FROM or JOIN item; returns false when it is not a table of the catalog with a row count.
+         */
+        private boolean addTable(FromItem fromItem, Join join) {
+            if (!(fromItem instanceof Table table)) {
+                return false;
+            }
+            Optional<CatalogTable> catalogTable = schemaCatalog.findTable(TableReferenceFinder.unquote(table.getSchemaName()),
+                                                                          TableReferenceFinder.unquote(table.getName()));
+            if (catalogTable.isEmpty()) {
+                return false;
+            }
+            OptionalLong rowCount = statistics.rowCount(catalogTable.get().schemaName(), catalogTable.get().tableName());
+            if (rowCount.isEmpty()) {
+                return false;
+            }
+            String alias = table.getAlias() != null ? TableReferenceFinder.unquote(table.getAlias().getName()) : null;
+            tables.add(new TableUsage(catalogTable.get(), alias, rowCount.getAsLong(), join));
+            return true;
+        }
+
+        private void addPredicate(Expression expression) {
+            if (expression == null) {
+                return;
+            }
+            for (Expression conjunct : conjuncts(expression)) {
+                if (conjunct instanceof EqualsTo equalsTo && equalsTo.getLeftExpression() instanceof Column left
+                        && equalsTo.getRightExpression() instanceof Column right) {
+                    Optional<TableUsage> leftTable = resolve(left);
+                    Optional<TableUsage> rightTable = resolve(right);
+                    if (leftTable.isPresent() && rightTable.isPresent() && leftTable.get() != rightTable.get()) {
+                        joinColumns.add(new JoinColumns(leftTable.get(), columnName(left), rightTable.get(), columnName(right)));
+                    }
+                    continue;
+                }
+                filter(conjunct).ifPresent(filter -> filter.table().selectivities.add(filter.selectivity()));
+            }
+        }
+
+        /**
+         * Returns the fraction of the rows of its table a predicate keeps; empty when it cannot be told or the
+         * predicate filters more than one table.
+         */
+        private Optional<Filter> filter(Expression predicate) {
+            if (predicate instanceof ParenthesedExpressionList<?> parenthesed && parenthesed.size() == 1) {
+                return filter(parenthesed.get(0));
+            }
+            if (predicate instanceof AndExpression || predicate instanceof OrExpression) {
+                Optional<Filter> left = filter(((BinaryExpression) predicate).getLeftExpression());
+                Optional<Filter> right = filter(((BinaryExpression) predicate).getRightExpression());
+                if (left.isEmpty() || right.isEmpty() || left.get().table() != right.get().table()) {
+                    return Optional.empty();
+                }
+                double leftSelectivity = left.get().selectivity();
+                double rightSelectivity = right.get().selectivity();
+                return Optional.of(new Filter(left.get().table(), predicate instanceof AndExpression
+                    ? backoff(List.of(leftSelectivity, rightSelectivity))
+                    : Math.min(1, leftSelectivity + rightSelectivity - leftSelectivity * rightSelectivity)));
+            }
+            if (predicate instanceof EqualsTo || predicate instanceof NotEqualsTo) {
+                BinaryExpression comparison = (BinaryExpression) predicate;
+                return comparedColumn(comparison).flatMap(column -> resolve(column).map(table -> {
+                    double equality = table.equalitySelectivity(columnName(column));
+                    return new Filter(table, predicate instanceof EqualsTo ? equality : 1 - equality);
+                }));
+            }
+            if (predicate instanceof GreaterThan || predicate instanceof GreaterThanEquals
+                    || predicate instanceof MinorThan || predicate instanceof MinorThanEquals) {
+                return comparedColumn((BinaryExpression) predicate)
+                    .flatMap(this::resolve)
+                    .map(table -> new Filter(table, RANGE_SELECTIVITY));
+            }
+            if (predicate instanceof InExpression in && in.getLeftExpression() instanceof Column column
+                    && in.getRightExpression() instanceof ExpressionList<?> values) {
+                return resolve(column).map(table -> {
+                    double selectivity = Math.min(1, values.size() * table.equalitySelectivity(columnName(column)));
+                    return new Filter(table, in.isNot() ? 1 - selectivity : selectivity);
+                });
+            }
+            if (predicate instanceof IsNullExpression isNull && isNull.getLeftExpression() instanceof Column column) {
+                return resolve(column).map(table -> {
+                    double equality = table.equalitySelectivity(columnName(column));
+                    return new Filter(table, isNull.isNot() ? 1 - equality : equality);
+                });
+            }
+            if (predicate instanceof Between between && between.getLeftExpression() instanceof Column column) {
+                return resolve(column).map(table ->
+                    new Filter(table, between.isNot() ? 1 - BETWEEN_SELECTIVITY : BETWEEN_SELECTIVITY));
+            }
+            if (predicate instanceof LikeExpression like && like.getLeftExpression() instanceof Column column) {
+                return resolve(column).map(table -> new Filter(table, like.isNot() ? 1 - LIKE_SELECTIVITY : LIKE_SELECTIVITY));
+            }
+            return Optional.empty();
+        }
+
+        /**
+         * Returns the column a comparison filters: one side is a column and the other is not.
+         */
+        private static Optional<Column> comparedColumn(BinaryExpression comparison) {
+            Expression left = comparison.getLeftExpression();
+            Expression right = comparison.getRightExpression();
+            if (left instanceof Column column && !(right instanceof Column)) {
+                return Optional.of(column);
+            }
+            if (right instanceof Column column && !(left instanceof Column)) {
+                return Optional.of(column);
+            }
+            return Optional.empty();
+        }
+
+        /**
+         * Joins the tables in the order of the statement: each table multiplies the rows joined so far by its
+         * filtered rows, divided by the larger number of distinct values of the most selective join columns.
+         * The rows of the preserved side of an outer join are kept even when nothing matches.
+         */
+        private double joinedRows() {
+            double rows = tables.get(0).filteredRows();
+            for (int i = 1; i < tables.size(); i++) {
+                TableUsage table = tables.get(i);
+                double divisor = 1;
+                for (JoinColumns join : joinColumns) {
+                    if (join.joins(table, tables.subList(0, i))) {
+                        divisor = Math.max(divisor, join.divisor());
+                    }
+                }
+                double joined = rows * table.filteredRows() / divisor;
+                Join join = table.join;
+                if (join.isLeft() || join.isFull()) {
+                    joined = Math.max(joined, rows);
+                }
+                if (join.isRight() || join.isFull()) {
+                    joined = Math.max(joined, table.filteredRows());
+                }
+                rows = joined;
+            }
+            return rows;
+        }
+
+        /**
+         * Returns the product of the distinct values of the expressions, or infinity when one is not a column with
+         * known distinct values.
+         */
+        private double distinctCombinations(List<? extends Expression> expressions) {
+            double combinations = 1;
+            for (Expression expression : expressions) {
+                if (!(expression instanceof Column column)) {
+                    return Double.POSITIVE_INFINITY;
+                }
+                Optional<TableUsage> table = resolve(column);
+                OptionalDouble distinct = table.isPresent() ? table.get().distinctValues(columnName(column)) : OptionalDouble.empty();
+                if (distinct.isEmpty()) {
+                    return Double.POSITIVE_INFINITY;
+                }
+                combinations *= distinct.getAsDouble();
+            }
+            return combinations;
+        }
+
+        /**
+         * Resolves a column to its table: by alias or table name when qualified, otherwise the only table that has it.
+         */
+        private Optional<TableUsage> resolve(Column column) {
+            String columnName = columnName(column);
+            if (column.getTable() != null && column.getTable().getName() != null) {
+                String qualifier = TableReferenceFinder.unquote(column.getTable().getName());
+                return tables.stream()
+                    .filter(usage -> qualifier.equalsIgnoreCase(usage.alias) || qualifier.equalsIgnoreCase(usage.table.tableName()))
+                    .filter(usage -> usage.table.findColumn(columnName).isPresent())
+                    .findFirst();
+            }
+            List<TableUsage> matches = tables.stream()
+                .filter(usage -> usage.table.findColumn(columnName).isPresent())
+                .toList();
+            return matches.size() == 1 ? Optional.of(matches.get(0)) : Optional.empty();
+        }
+
+        private static String columnName(Column column) {
+            return TableReferenceFinder.unquote(column.getColumnName());
+        }
+
+        /**
+         * Splits a predicate into the conditions combined with AND; a condition under OR is kept whole.
+         */
+        private static List<Expression> conjuncts(Expression expression) {
+            if (expression instanceof AndExpression and) {
+                List<Expression> conjuncts = new ArrayList<>(conjuncts(and.getLeftExpression()));
+                conjuncts.addAll(conjuncts(and.getRightExpression()));
+                return conjuncts;
+            }
+            if (expression instanceof ParenthesedExpressionList<?> parenthesed && parenthesed.size() == 1
+                    && parenthesed.get(0) instanceof AndExpression) {
+                return conjuncts(parenthesed.get(0));
+            }
+            return List.of(expression);
+        }
+    }
+
+    /**
+     * A table of the statement, the selectivities of its predicates and the join that adds it, null for the FROM item.
+     */
+    private final class TableUsage {
+
+        private final CatalogTable table;
+        private final String alias;
+        private final double rows;
+        private final Join join;
+        private final List<Double> selectivities = new ArrayList<>();
+
+        private TableUsage(CatalogTable table, String alias, long rows, Join join) {
+            this.table = table;
+            this.alias = alias;
+            this.rows = rows;
+            this.join = join;
+        }
+
+        private double filteredRows() {
+            return rows * backoff(selectivities);
+        }
+
+        private double equalitySelectivity(String columnName) {
+            if (rows <= 1) {
+                return 1;
+            }
+            OptionalDouble distinct = distinctValues(columnName);
+            if (distinct.isPresent()) {
+                return 1 / Math.max(1, distinct.getAsDouble());
+            }
+            return Math.pow(rows, EQUALITY_GUESS_EXPONENT) / rows;
+        }
+
+        /**
+         * Returns the distinct values of the column: the row count when it alone is unique, otherwise the distinct
+         * values of its statistics, at most the row count; empty when neither is known.
+         */
+        private OptionalDouble distinctValues(String columnName) {
+            if (isUnique(columnName)) {
+                return OptionalDouble.of(rows);
+            }
+            OptionalLong distinct = statistics.distinctValues(table.schemaName(), table.tableName(), columnName);
+            return distinct.isPresent() ? OptionalDouble.of(Math.min(distinct.getAsLong(), rows)) : OptionalDouble.empty();
+        }
+
+        private boolean isUnique(String columnName) {
+            List<CatalogColumn> primaryKeyColumns = table.primaryKeyColumns();
+            if (primaryKeyColumns.size() == 1 && primaryKeyColumns.get(0).columnName().equalsIgnoreCase(columnName)) {
+                return true;
+            }
+            return table.indexes().stream()
+                .filter(index -> index.unique() || index.primaryKey())
+                .anyMatch(index -> index.keyColumns().size() == 1 && lower(index.keyColumns().get(0)).equals(lower(columnName)));
+        }
+    }
+
+    private record Filter(TableUsage table, double selectivity) {
+    }
+
+    /**
+     * An equi-join condition between a column of each of two tables.
+     */
+    private record JoinColumns(TableUsage left, String leftColumn, TableUsage right, String rightColumn) {
+
+        /**
+         * Returns whether the condition joins the table to one of the tables joined before it.
+         */
+        private boolean joins(TableUsage table, List<TableUsage> joinedTables) {
+            return (left == table && joinedTables.contains(right)) || (right == table && joinedTables.contains(left));
+        }
+
+        /**
+         * Returns the larger number of distinct values of the two columns; when only one is known it is taken for
+         * both, as every value of one column is assumed to occur in the other; when neither, the larger row count.
+         */
+        private double divisor() {
+            OptionalDouble leftDistinct = left.distinctValues(leftColumn);
+            OptionalDouble rightDistinct = right.distinctValues(rightColumn);
+            if (leftDistinct.isPresent() && rightDistinct.isPresent()) {
+                return Math.max(1, Math.max(leftDistinct.getAsDouble(), rightDistinct.getAsDouble()));
+            }
+            if (leftDistinct.isPresent() || rightDistinct.isPresent()) {
+                return Math.max(1, leftDistinct.isPresent() ? leftDistinct.getAsDouble() : rightDistinct.getAsDouble());
+            }
+            return Math.max(1, Math.max(left.rows, right.rows));
+        }
+    }
+}
@@ -30,6 +30,7 @@ public final class ProjectConstants {
     // Default configuration values
     public static final String DEFAULT_BUSINESS_DOMAIN = "Customer";
     public static final String DEFAULT_DESTINATION_DIRECTORY = "/home/vipin/BusinessData";
+    public static final String DEFAULT_SCHEMA_NAME = "dbo";
     
     // Template file names
     public static final String POM_TEMPLATE_FILE = "pom_file.xml";
@@ -63,4 +64,5 @@ public final class ProjectConstants {
     public static final String BUSINESS_NAME_PARAM = "businessName";
     public static final String OPERATION_PARAM = "operation";
     public static final String APPLICATION_JSON = "application/json";
+    public static final String APPLICATION_ZIP = "application/zip";
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.jfeatures.msg.codegen.database;
+
+import com.zaxxer.hikari.pool.HikariPool;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+
+/**
+ * Tells connection failures apart from the other errors of optional metadata lookups.
+ * <p>
+ * The schema catalog, table versions, row counts and statistics are optional: without a permission or catalog view
+ * generation falls back to other metadata sources. When the database cannot be reached at all, every fallback would
+ * wait for the connection timeout again, so a connection failure ends the run instead.
+ */
+public final class ConnectionFailures {
+
+    private static final String CONNECTION_EXCEPTION_SQL_STATE_CLASS = "08";
+
+    private ConnectionFailures() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Throws a {@link DatabaseConnectionException} when the exception, or any of its causes, reports that no
+     * connection could be opened: an exhausted or uninitialized pool, or a SQL state of class 08.
+     *
+     * @param e the exception of an optional metadata lookup
+     * @param lookup what was being read, for the error message
+     */
+    public static void throwIfConnectionFailure(Exception e, String lookup) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (isConnectionFailure(cause)) {
+                throw new DatabaseConnectionException("Database connection failed while reading " + lookup + ": "
+                    + e.getMessage(), e);
+            }
+        }
+    }
+
+    private static boolean isConnectionFailure(Throwable throwable) {
+        if (throwable instanceof CannotGetJdbcConnectionException
+            || throwable instanceof HikariPool.PoolInitializationException
+            || throwable instanceof SQLTransientConnectionException
+            || throwable instanceof SQLNonTransientConnectionException) {
+            return true;
+        }
+        return throwable instanceof SQLException sqlException && sqlException.getSQLState() != null
+            && sqlException.getSQLState().startsWith(CONNECTION_EXCEPTION_SQL_STATE_CLASS);
+    }
+}
@@ -2,10 +2,14 @@ package com.jfeatures.msg.codegen.database;
 
 import com.jfeatures.msg.codegen.domain.DatabaseConnection;
 import com.jfeatures.msg.config.DataSourceConfig;
+import com.jfeatures.msg.config.DataSourceSettings;
 import com.jfeatures.msg.config.JdbcTemplateConfig;
 import com.jfeatures.msg.config.NamedParameterJdbcTemplateConfig;
+import java.io.IOException;
+import java.nio.file.Path;
 import javax.sql.DataSource;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 
@@ -16,11 +20,29 @@ import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
  */
 @Slf4j
 public class DatabaseConnectionFactory {
+
+    private final DataSourceSettings settings;
+
+    /**
+     * Creates a factory using the settings from {@code application.properties}.
+     */
+    public DatabaseConnectionFactory() {
+        this(null);
+    }
+
+    /**
+     * Creates a factory using explicit settings, e.g. with CLI overrides applied.
+     * A null value falls back to the settings from {@code application.properties}.
+     */
+    public DatabaseConnectionFactory(DataSourceSettings settings) {
+        this.settings = settings;
+    }
     
     /**
      * Creates a complete database connection with all required JDBC templates.
      * Uses the existing Spring configuration classes to ensure consistency
      * with the runtime application configuration.
+     * The returned connection owns a connection pool and should be closed when the generation run ends.
      * 
      * @return a DatabaseConnection containing all database access components
      * @throws RuntimeException if configuration instantiation or connection setup fails
@@ -29,11 +51,12 @@ public class DatabaseConnectionFactory {
         try {
             log.info("Creating database connection components");
             
-            DataSourceConfig dataSourceConfig = new DataSourceConfig();
+            DataSourceConfig dataSourceConfig = settings != null ? new DataSourceConfig(settings) : new DataSourceConfig();
             JdbcTemplateConfig jdbcTemplateConfig = new JdbcTemplateConfig();
             NamedParameterJdbcTemplateConfig namedParameterJdbcTemplateConfig = new NamedParameterJdbcTemplateConfig();
             
-            DataSource dataSource = dataSourceConfig.dataSource();
+            // Every metadata query goes through the counting wrapper, so profiles report round trips per phase
+            DataSource dataSource = new RoundTripCountingDataSource(dataSourceConfig.dataSource());
             JdbcTemplate jdbcTemplate = jdbcTemplateConfig.jdbcTemplate(dataSource);
             NamedParameterJdbcTemplate namedParameterJdbcTemplate = namedParameterJdbcTemplateConfig.namedParameterJdbcTemplate(dataSource);
             
@@ -48,4 +71,37 @@ public class DatabaseConnectionFactory {
             throw new DatabaseConnectionException("Failed to create database connection due to unexpected error", ex);
         }
     }
+
+    /**
+     * Creates a connection to an in-process database loaded from a DDL file (see {@link EmbeddedSchemaDataSource}),
+     * so metadata can be extracted without a SQL Server. Closing the connection drops the database.
+     *
+     * @param ddlFile the DDL script that creates the tables
+     * @param schemaName the schema the tables are created in
+     * @return a DatabaseConnection backed by the embedded database
+     * @throws DatabaseConnectionException if the DDL file cannot be read or loaded
+     */
+    public DatabaseConnection createEmbeddedDatabaseConnection(Path ddlFile, String schemaName) {
+        try {
+            log.info("Creating embedded database connection from {}", ddlFile);
+            DataSource dataSource = new RoundTripCountingDataSource(new EmbeddedSchemaDataSource(ddlFile, schemaName));
+            return new DatabaseConnection(dataSource, new JdbcTemplate(dataSource), new NamedParameterJdbcTemplate(dataSource));
+        } catch (IOException e) {
+            throw new DatabaseConnectionException("Failed to read DDL file " + ddlFile + ": " + e.getMessage(), e);
+        } catch (DataAccessException e) {
+            throw new DatabaseConnectionException("Failed to load DDL file " + ddlFile + " into the embedded database: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates a connection stand-in for metadata replay runs. It is backed by an {@link OfflineDataSource},
+     * so no database is contacted and any attempt to open a connection fails immediately.
+     *
+     * @return a DatabaseConnection that never connects
+     */
+    public DatabaseConnection createOfflineDatabaseConnection() {
+        log.info("Creating offline database connection for metadata replay");
+        DataSource dataSource = new OfflineDataSource();
+        return new DatabaseConnection(dataSource, new JdbcTemplate(dataSource), new NamedParameterJdbcTemplate(dataSource));
+    }
 }
\ No newline at end of file
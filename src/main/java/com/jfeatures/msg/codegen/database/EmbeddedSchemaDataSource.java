@@ -0,0 +1,228 @@
+package com.jfeatures.msg.codegen.database;
+
+import com.jfeatures.msg.codegen.sql.SqlScriptSplitter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.embedded.ConnectionProperties;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseConfigurer;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseFactory;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * An in-process H2 database in SQL Server compatibility mode, created from a DDL file, that answers metadata
+ * lookups in place of a SQL Server. H2 reports standard SQL type names ({@code CHARACTER VARYING},
+ * {@code TIMESTAMP}); the type names of result set, parameter and {@link DatabaseMetaData#getColumns column}
+ * metadata are translated to the names the SQL Server driver reports ({@code varchar}, {@code datetime}), so the
+ * metadata extractors and generators run against it unchanged. The SQL Server catalog views ({@code sys.*}) do
+ * not exist, so callers should not load the schema catalog or table versions from it.
+ * <p>
+ * Identifiers keep the case of the DDL, and tables are created in the given schema, which is also the default
+ * schema of every connection, so both {@code customer} and {@code dbo.customer} resolve. T-SQL {@code GO} batch
+ * separators and {@code CLUSTERED}/{@code NONCLUSTERED} index options are accepted. Closing this DataSource drops
+ * the database.
+ */
+@Slf4j
+public class EmbeddedSchemaDataSource extends DelegatingDataSource implements Closeable {
+
+    private static final Pattern SCHEMA_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+    private static final Pattern CLUSTERED_OPTION = Pattern.compile("(?i)\\s+(NON)?CLUSTERED\\b");
+    private static final String TYPE_NAME_COLUMN = "TYPE_NAME";
+
+    /**
+     * H2 type names and the SQL Server type names of the same columns; unlisted names are only lower-cased.
+     */
+    private static final Map<String, String> SQL_SERVER_TYPE_NAMES = Map.ofEntries(
+        Map.entry("CHARACTER VARYING", "varchar"),
+        Map.entry("VARCHAR_IGNORECASE", "varchar"),
+        Map.entry("CHARACTER", "char"),
+        Map.entry("CHARACTER LARGE OBJECT", "text"),
+        Map.entry("BINARY VARYING", "varbinary"),
+        Map.entry("BINARY LARGE OBJECT", "image"),
+        Map.entry("BOOLEAN", "bit"),
+        Map.entry("INTEGER", "int"),
+        Map.entry("DOUBLE PRECISION", "float"),
+        Map.entry("TIMESTAMP", "datetime"),
+        Map.entry("TIMESTAMP WITH TIME ZONE", "datetimeoffset"),
+        Map.entry("UUID", "uniqueidentifier"));
+
+    private final EmbeddedDatabase database;
+
+    /**
+     * Creates the database and runs the DDL file against it.
+     *
+     * @param ddlFile the DDL script, statements separated by {@code ;} or {@code GO} lines
+     * @param schemaName the schema the tables are created in, e.g. {@code dbo}
+     * @throws IOException if the DDL file cannot be read
+     * @throws org.springframework.jdbc.datasource.init.ScriptException if a DDL statement fails
+     */
+    public EmbeddedSchemaDataSource(Path ddlFile, String schemaName) throws IOException {
+        if (ddlFile == null) {
+            throw new IllegalArgumentException("DDL file cannot be null");
+        }
+        if (schemaName == null || !SCHEMA_NAME.matcher(schemaName).matches()) {
+            throw new IllegalArgumentException("Schema name must be a plain identifier: " + schemaName);
+        }
+        String ddl = toH2Script(Files.readString(ddlFile, StandardCharsets.UTF_8));
+
+        EmbeddedDatabaseFactory factory = new EmbeddedDatabaseFactory();
+        factory.setGenerateUniqueDatabaseName(true);
+        factory.setDatabaseConfigurer(new SqlServerModeConfigurer(schemaName));
+        factory.setDatabasePopulator(new ResourceDatabasePopulator(
+            new ByteArrayResource(ddl.getBytes(StandardCharsets.UTF_8), ddlFile.toString())));
+        this.database = factory.getDatabase();
+        setTargetDataSource(database);
+        log.info("Loaded DDL file {} into an embedded database (schema '{}')", ddlFile, schemaName);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, obtainTargetDataSource().getConnection(username, password));
+    }
+
+    @Override
+    public void close() {
+        database.shutdown();
+    }
+
+    /**
+     * Returns the SQL Server name of an H2 type name, e.g. {@code varchar} for {@code CHARACTER VARYING}.
+     */
+    static String toSqlServerTypeName(String h2TypeName) {
+        if (h2TypeName == null) {
+            return null;
+        }
+        String typeName = h2TypeName.toUpperCase(Locale.ROOT);
+        return SQL_SERVER_TYPE_NAMES.getOrDefault(typeName, typeName.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Rewrites the T-SQL constructs H2 does not parse: the statements are split as {@link SqlScriptSplitter} splits
+     * them, at {@code ;} and {@code GO} lines, and rejoined with {@code ;}, and {@code CLUSTERED}/{@code NONCLUSTERED}
+     * index options are dropped, since they do not affect metadata.
+     */
+    static String toH2Script(String ddl) {
+        String separated = SqlScriptSplitter.statementTexts(ddl).stream()
+            .map(statement -> statement + ";\n")
+            .collect(Collectors.joining());
+        return CLUSTERED_OPTION.matcher(separated).replaceAll("");
+    }
+
+    private static <T> T wrap(Class<T> type, T target) {
+        if (target == null) {
+            return null;
+        }
+        return type.cast(Proxy.newProxyInstance(EmbeddedSchemaDataSource.class.getClassLoader(), new Class<?>[] {type},
+                                                new TypeNameTranslatingHandler(target)));
+    }
+
+    /**
+     * Forwards every call to the target, translating reported type names and wrapping the statements and
+     * metadata that report them.
+     */
+    private record TypeNameTranslatingHandler(Object target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> method.invoke(target, args);
+                };
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (reportsTypeName(method, args)) {
+                return toSqlServerTypeName((String) result);
+            }
+            return wrapResult(method.getReturnType(), result);
+        }
+
+        private boolean reportsTypeName(Method method, Object[] args) {
+            return switch (method.getName()) {
+                case "getColumnTypeName", "getParameterTypeName" -> true;
+                // Only result sets of DatabaseMetaData are wrapped, so TYPE_NAME is the catalog column
+                case "getString" -> args[0] instanceof String label && label.equalsIgnoreCase(TYPE_NAME_COLUMN);
+                default -> false;
+            };
+        }
+
+        private Object wrapResult(Class<?> returnType, Object result) {
+            if (returnType == PreparedStatement.class) {
+                return wrap(PreparedStatement.class, (PreparedStatement) result);
+            }
+            if (returnType == DatabaseMetaData.class) {
+                return wrap(DatabaseMetaData.class, (DatabaseMetaData) result);
+            }
+            if (returnType == ResultSetMetaData.class) {
+                return wrap(ResultSetMetaData.class, (ResultSetMetaData) result);
+            }
+            if (returnType == ParameterMetaData.class) {
+                return wrap(ParameterMetaData.class, (ParameterMetaData) result);
+            }
+            if (returnType == ResultSet.class && target instanceof DatabaseMetaData) {
+                return wrap(ResultSet.class, (ResultSet) result);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Opens H2 in-memory connections in SQL Server mode with the schema of the DDL as default schema.
+     */
+    private record SqlServerModeConfigurer(String schemaName) implements EmbeddedDatabaseConfigurer {
+
+        @Override
+        public void configureConnectionProperties(ConnectionProperties properties, String databaseName) {
+            properties.setDriverClass(org.h2.Driver.class);
+            properties.setUrl("jdbc:h2:mem:" + databaseName
+                + ";MODE=MSSQLServer;DATABASE_TO_UPPER=FALSE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1"
+                + ";INIT=CREATE SCHEMA IF NOT EXISTS " + schemaName + "\\;SET SCHEMA " + schemaName);
+            properties.setUsername("sa");
+            properties.setPassword("");
+        }
+
+        @Override
+        public void shutdown(DataSource dataSource, String databaseName) {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("SHUTDOWN");
+            } catch (SQLException e) {
+                log.warn("Could not shut down embedded database {}: {}", databaseName, e.getMessage());
+            }
+        }
+    }
+}
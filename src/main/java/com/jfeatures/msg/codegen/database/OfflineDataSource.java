@@ -0,0 +1,25 @@
+package com.jfeatures.msg.codegen.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/**
+ * DataSource stand-in for offline replay runs: it never opens a connection.
+ * Any code path that still tries to reach the database fails fast with a message pointing at the missing fixture entry.
+ */
+public class OfflineDataSource extends AbstractDataSource {
+
+    static final String OFFLINE_MESSAGE =
+        "No database is available in metadata replay mode; record the missing statement with --record-metadata first";
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        throw new SQLException(OFFLINE_MESSAGE);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException(OFFLINE_MESSAGE);
+    }
+}
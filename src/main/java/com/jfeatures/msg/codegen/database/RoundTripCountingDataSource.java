@@ -0,0 +1,116 @@
+package com.jfeatures.msg.codegen.database;
+
+import com.jfeatures.msg.codegen.profile.GenerationProfiler;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Counts the database round trips of metadata extraction against the current generation phase
+ * (see {@link GenerationProfiler#countRoundTrip()}).
+ * Connections, statements and database metadata are wrapped in proxies that count every statement execution,
+ * every statement or parameter description requested before execution, every {@link DatabaseMetaData} query
+ * and every commit or rollback. Fetching further rows of an open result set is not counted.
+ * Closing this DataSource closes the target, so a wrapped connection pool is released with it.
+ */
+public class RoundTripCountingDataSource extends DelegatingDataSource implements Closeable {
+
+    private static final Set<String> ROUND_TRIP_METHODS = Set.of("getParameterMetaData", "commit", "rollback");
+
+    public RoundTripCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, obtainTargetDataSource().getConnection(username, password));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (obtainTargetDataSource() instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static <T> T wrap(Class<T> type, T target) {
+        if (target == null) {
+            return null;
+        }
+        return type.cast(Proxy.newProxyInstance(RoundTripCountingDataSource.class.getClassLoader(), new Class<?>[] {type},
+                                                new CountingHandler(target)));
+    }
+
+    private static boolean isRoundTrip(Object target, Method method) {
+        String name = method.getName();
+        if (name.startsWith("execute") || ROUND_TRIP_METHODS.contains(name)) {
+            return true;
+        }
+        // A prepared statement describes its result set with a server call before it is executed
+        if (target instanceof PreparedStatement && name.equals("getMetaData")) {
+            return true;
+        }
+        return target instanceof DatabaseMetaData && method.getReturnType() == ResultSet.class;
+    }
+
+    /**
+     * Forwards every call to the target, counting round trips and wrapping the statements and metadata it returns.
+     */
+    private record CountingHandler(Object target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> method.invoke(target, args);
+                };
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (isRoundTrip(target, method)) {
+                GenerationProfiler.countRoundTrip();
+            }
+            return wrapResult(method.getReturnType(), result);
+        }
+
+        private static Object wrapResult(Class<?> returnType, Object result) {
+            if (returnType == CallableStatement.class) {
+                return wrap(CallableStatement.class, (CallableStatement) result);
+            }
+            if (returnType == PreparedStatement.class) {
+                return wrap(PreparedStatement.class, (PreparedStatement) result);
+            }
+            if (returnType == Statement.class) {
+                return wrap(Statement.class, (Statement) result);
+            }
+            if (returnType == DatabaseMetaData.class) {
+                return wrap(DatabaseMetaData.class, (DatabaseMetaData) result);
+            }
+            return result;
+        }
+    }
+}
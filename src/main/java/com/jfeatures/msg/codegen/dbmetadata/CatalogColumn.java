@@ -0,0 +1,53 @@
+package com.jfeatures.msg.codegen.dbmetadata;
+
+/**
+ * One column of a table or view as recorded in a {@link SchemaCatalog} snapshot.
+ *
+ * @param jdbcType the {@link java.sql.Types} constant matching {@code typeName}
+ * @param maxLength the storage length in bytes as reported by {@code sys.columns} (-1 for MAX types)
+ * @param computed whether the column is a computed column
+ * @param generatedAlways whether the column is a {@code GENERATED ALWAYS} column, such as a temporal table's period columns
+ */
+public record CatalogColumn(
+    String schemaName,
+    String tableName,
+    String columnName,
+    int ordinalPosition,
+    String typeName,
+    int jdbcType,
+    int maxLength,
+    int precision,
+    int scale,
+    boolean nullable,
+    boolean identity,
+    boolean primaryKey,
+    boolean computed,
+    boolean generatedAlways
+) {
+
+    /**
+     * Creates an entry for a column whose value is stored as written (neither computed nor generated always).
+     */
+    public CatalogColumn(String schemaName, String tableName, String columnName, int ordinalPosition, String typeName,
+                         int jdbcType, int maxLength, int precision, int scale, boolean nullable, boolean identity,
+                         boolean primaryKey) {
+        this(schemaName, tableName, columnName, ordinalPosition, typeName, jdbcType, maxLength, precision, scale,
+            nullable, identity, primaryKey, false, false);
+    }
+
+    /**
+     * Converts this catalog entry into the ColumnMetadata shape used by the code generators.
+     */
+    public ColumnMetadata toColumnMetadata() {
+        ColumnMetadata columnMetadata = new ColumnMetadata();
+        columnMetadata.setColumnName(columnName);
+        columnMetadata.setTableName(tableName);
+        columnMetadata.setColumnTypeName(typeName);
+        columnMetadata.setColumnType(jdbcType);
+        columnMetadata.setPrecision(precision);
+        columnMetadata.setScale(scale);
+        columnMetadata.setIsNullable(nullable ? 1 : 0);
+        columnMetadata.setAutoIncrement(identity);
+        return columnMetadata;
+    }
+}
@@ -0,0 +1,24 @@
+package com.jfeatures.msg.codegen.dbmetadata;
+
+import java.util.List;
+
+/**
+ * An index of a table as recorded in a {@link SchemaCatalog} snapshot.
+ * Key columns are listed in key order; included columns are the non-key columns of a covering index.
+ *
+ * @param clustered whether the index is the clustered index, whose leaf level is the table itself
+ */
+public record CatalogIndex(
+    String indexName,
+    boolean primaryKey,
+    boolean unique,
+    boolean clustered,
+    List<String> keyColumns,
+    List<String> includedColumns
+) {
+
+    public CatalogIndex {
+        keyColumns = List.copyOf(keyColumns);
+        includedColumns = List.copyOf(includedColumns);
+    }
+}
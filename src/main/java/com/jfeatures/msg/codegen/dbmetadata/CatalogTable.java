@@ -0,0 +1,65 @@
+package com.jfeatures.msg.codegen.dbmetadata;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A table or view of a {@link SchemaCatalog} with its columns in ordinal order and its indexes.
+ * Column lookups are case-insensitive, matching SQL Server's default collation.
+ */
+public final class CatalogTable {
+
+    private final String schemaName;
+    private final String tableName;
+    private final Map<String, CatalogColumn> columnsByName;
+    private final List<CatalogIndex> indexes;
+
+    CatalogTable(String schemaName, String tableName, List<CatalogColumn> columns, List<CatalogIndex> indexes) {
+        this.schemaName = schemaName;
+        this.tableName = tableName;
+        Map<String, CatalogColumn> byName = new LinkedHashMap<>();
+        columns.stream()
+               .sorted((a, b) -> Integer.compare(a.ordinalPosition(), b.ordinalPosition()))
+               .forEach(column -> byName.put(column.columnName().toLowerCase(Locale.ROOT), column));
+        this.columnsByName = Collections.unmodifiableMap(byName);
+        this.indexes = List.copyOf(indexes);
+    }
+
+    public String schemaName() {
+        return schemaName;
+    }
+
+    public String tableName() {
+        return tableName;
+    }
+
+    /**
+     * Returns all columns in ordinal order.
+     */
+    public List<CatalogColumn> columns() {
+        return new ArrayList<>(columnsByName.values());
+    }
+
+    public List<CatalogIndex> indexes() {
+        return indexes;
+    }
+
+    /**
+     * Returns the primary key columns in ordinal order.
+     */
+    public List<CatalogColumn> primaryKeyColumns() {
+        return columnsByName.values().stream().filter(CatalogColumn::primaryKey).toList();
+    }
+
+    public Optional<CatalogColumn> findColumn(String columnName) {
+        if (columnName == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(columnsByName.get(columnName.toLowerCase(Locale.ROOT)));
+    }
+}
@@ -0,0 +1,64 @@
+package com.jfeatures.msg.codegen.dbmetadata;
+
+import java.sql.ResultSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Loads the number of distinct values of the columns of a schema from the histograms of their statistics, read with
+ * {@code sys.dm_db_stats_histogram}, so no table is scanned. A histogram describes the leading column of its
+ * statistics only; SQL Server creates statistics for every index and, with automatic statistics, for every column
+ * a query has filtered on.
+ */
+@Slf4j
+public class ColumnStatisticsLoader {
+
+    /**
+     * Every histogram step holds one distinct value at its upper bound and {@code distinct_range_rows} values below
+     * it; when several statistics lead with the same column, the one that found the most values is taken.
+     */
+    static final String DISTINCT_VALUES_QUERY = """
+        SELECT s.name AS schema_name,
+               o.name AS table_name,
+               c.name AS column_name,
+               MAX(h.distinct_values) AS distinct_values
+        FROM sys.stats st
+        JOIN sys.stats_columns sc ON sc.object_id = st.object_id AND sc.stats_id = st.stats_id AND sc.stats_column_id = 1
+        JOIN sys.columns c ON c.object_id = sc.object_id AND c.column_id = sc.column_id
+        JOIN sys.objects o ON o.object_id = st.object_id AND o.type = 'U'
+        JOIN sys.schemas s ON s.schema_id = o.schema_id
+        CROSS APPLY (SELECT COUNT(*) + SUM(hist.distinct_range_rows) AS distinct_values
+                     FROM sys.dm_db_stats_histogram(st.object_id, st.stats_id) hist) h
+        WHERE s.name = ? AND h.distinct_values > 0
+        GROUP BY s.name, o.name, c.name
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ColumnStatisticsLoader(JdbcTemplate jdbcTemplate) {
+        if (jdbcTemplate == null) {
+            throw new IllegalArgumentException("JdbcTemplate cannot be null");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns the distinct values of every column of the schema that has statistics, keyed by
+     * {@link TableStatistics#columnKey(String, String, String)}.
+     */
+    public Map<String, Long> loadDistinctValues(String schemaName) {
+        if (schemaName == null || schemaName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Schema name cannot be null or empty");
+        }
+        Map<String, Long> distinctValues = new LinkedHashMap<>();
+        jdbcTemplate.query(DISTINCT_VALUES_QUERY, (ResultSet rs) -> {
+            distinctValues.put(TableStatistics.columnKey(rs.getString("schema_name"), rs.getString("table_name"),
+                                                         rs.getString("column_name")),
+                               rs.getLong("distinct_values"));
+        }, schemaName);
+        log.info("Loaded distinct values for {} columns", distinctValues.size());
+        return distinctValues;
+    }
+}
@@ -2,16 +2,18 @@ package com.jfeatures.msg.codegen.dbmetadata;
 
 import com.jfeatures.msg.codegen.ParameterMetadataExtractor;
 import com.jfeatures.msg.codegen.domain.DBColumn;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import com.jfeatures.msg.codegen.util.TableReferenceFinder;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import javax.sql.DataSource;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.jsqlparser.JSQLParserException;
-import net.sf.jsqlparser.parser.CCJSqlParserUtil;
 import net.sf.jsqlparser.statement.Statement;
 import net.sf.jsqlparser.statement.delete.Delete;
 
@@ -23,9 +25,19 @@ import net.sf.jsqlparser.statement.delete.Delete;
 public class DeleteMetadataExtractor {
     
     private final DataSource dataSource;
+    private final SchemaCatalog schemaCatalog;
 
     public DeleteMetadataExtractor(DataSource dataSource) {
+        this(dataSource, null);
+    }
+
+    /**
+     * Creates an extractor that resolves WHERE columns from a preloaded schema catalog,
+     * falling back to JDBC metadata only for tables the catalog does not contain.
+     */
+    public DeleteMetadataExtractor(DataSource dataSource, SchemaCatalog schemaCatalog) {
         this.dataSource = dataSource;
+        this.schemaCatalog = schemaCatalog;
     }
     
     /**
@@ -36,8 +48,18 @@ public class DeleteMetadataExtractor {
         if (sql == null || sql.isBlank()) {
             throw new IllegalArgumentException("SQL is not a DELETE statement");
         }
-        // Parse with JSQLParser 5.x
-        Statement statement = CCJSqlParserUtil.parse(sql);
+        return extractDeleteMetadata(SqlCompilationUnit.compile(sql));
+    }
+
+    /**
+     * Extracts metadata from an already compiled DELETE statement without parsing it again.
+     */
+    public DeleteMetadata extractDeleteMetadata(SqlCompilationUnit unit) throws JSQLParserException, SQLException {
+        if (unit == null) {
+            throw new IllegalArgumentException("SQL is not a DELETE statement");
+        }
+        String sql = unit.sql();
+        Statement statement = unit.requireStatement();
         if (!(statement instanceof Delete deleteStatement)) {
             throw new IllegalArgumentException("SQL is not a DELETE statement");
         }
@@ -45,11 +67,29 @@ public class DeleteMetadataExtractor {
         log.info("Extracting DELETE metadata for table: {}", tableName);
         
         // Extract WHERE clause parameters using existing parameter metadata extractor
-        ParameterMetadataExtractor parameterExtractor = new ParameterMetadataExtractor(dataSource);
-        List<DBColumn> whereParameters = parameterExtractor.extractParameters(sql);
+        ParameterMetadataExtractor parameterExtractor = new ParameterMetadataExtractor(dataSource, schemaCatalog);
+        List<DBColumn> whereParameters = parameterExtractor.extractParameters(unit);
         
         // Convert DBColumn to ColumnMetadata for WHERE clause
         List<ColumnMetadata> whereColumnMetadata = new ArrayList<>();
+
+        String schemaName = TableReferenceFinder.unquote(deleteStatement.getTable().getSchemaName());
+        Optional<CatalogTable> catalogTable = schemaCatalog != null
+            ? schemaCatalog.findTable(schemaName, tableName)
+            : Optional.empty();
+        if (catalogTable.isPresent()) {
+            for (DBColumn whereParam : whereParameters) {
+                String columnName = extractColumnNameFromParameter(whereParam.columnName());
+                Optional<CatalogColumn> catalogColumn = catalogTable.get().findColumn(columnName);
+                if (catalogColumn.isPresent()) {
+                    whereColumnMetadata.add(catalogColumn.get().toColumnMetadata());
+                } else {
+                    log.warn("Could not extract metadata for DELETE WHERE column: {}", columnName);
+                }
+            }
+            log.info("Resolved DELETE metadata for {} WHERE columns in table {} from schema catalog", whereColumnMetadata.size(), tableName);
+            return new DeleteMetadata(tableName, whereColumnMetadata, sql);
+        }
         
         try (Connection connection = dataSource.getConnection()) {
             DatabaseMetaData dbMetadata = connection.getMetaData();
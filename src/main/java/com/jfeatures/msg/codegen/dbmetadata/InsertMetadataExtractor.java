@@ -1,16 +1,18 @@
 package com.jfeatures.msg.codegen.dbmetadata;
 
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import com.jfeatures.msg.codegen.util.TableReferenceFinder;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import javax.sql.DataSource;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.jsqlparser.JSQLParserException;
 import net.sf.jsqlparser.expression.operators.relational.ExpressionList;
-import net.sf.jsqlparser.parser.CCJSqlParserUtil;
 import net.sf.jsqlparser.schema.Column;
 import net.sf.jsqlparser.statement.Statement;
 import net.sf.jsqlparser.statement.insert.Insert;
@@ -23,9 +25,19 @@ import net.sf.jsqlparser.statement.insert.Insert;
 public class InsertMetadataExtractor {
     
     private final DataSource dataSource;
+    private final SchemaCatalog schemaCatalog;
 
     public InsertMetadataExtractor(DataSource dataSource) {
+        this(dataSource, null);
+    }
+
+    /**
+     * Creates an extractor that resolves columns from a preloaded schema catalog,
+     * falling back to JDBC metadata only for tables the catalog does not contain.
+     */
+    public InsertMetadataExtractor(DataSource dataSource, SchemaCatalog schemaCatalog) {
         this.dataSource = dataSource;
+        this.schemaCatalog = schemaCatalog;
     }
     
     /**
@@ -36,13 +48,25 @@ public class InsertMetadataExtractor {
         if (sql == null || sql.isBlank()) {
             throw new IllegalArgumentException("SQL is not an INSERT statement");
         }
-        // Parse with JSQLParser (5.x)
-        Statement statement = CCJSqlParserUtil.parse(sql);
+        return extractInsertMetadata(SqlCompilationUnit.compile(sql));
+    }
+
+    /**
+     * Extracts metadata from an already compiled INSERT statement without parsing it again.
+     */
+    public InsertMetadata extractInsertMetadata(SqlCompilationUnit unit) throws JSQLParserException, SQLException {
+        if (unit == null) {
+            throw new IllegalArgumentException("SQL is not an INSERT statement");
+        }
+        String sql = unit.sql();
+        Statement statement = unit.requireStatement();
         if (!(statement instanceof Insert insertStatement)) {
             throw new IllegalArgumentException("SQL is not an INSERT statement");
         }
 
         String tableName = insertStatement.getTable().getName();
+        // The generated DAO writes to the table as named in the statement, schema included
+        String qualifiedTableName = insertStatement.getTable().getFullyQualifiedName();
         log.info("Extracting INSERT metadata for table: {}", tableName);
         
         // Columns are now wrapped in ExpressionList<Column> in 5.x
@@ -52,6 +76,16 @@ public class InsertMetadataExtractor {
             throw new IllegalArgumentException("INSERT statement must specify column names");
         }
         
+        String schemaName = TableReferenceFinder.unquote(insertStatement.getTable().getSchemaName());
+        Optional<CatalogTable> catalogTable = schemaCatalog != null
+            ? schemaCatalog.findTable(schemaName, tableName)
+            : Optional.empty();
+        if (catalogTable.isPresent()) {
+            List<ColumnMetadata> columnMetadataList = extractColumnMetadataFromCatalog(catalogTable.get(), insertColumns);
+            log.info("Resolved INSERT metadata for {} columns in table {} from schema catalog", columnMetadataList.size(), tableName);
+            return new InsertMetadata(qualifiedTableName, columnMetadataList, sql);
+        }
+        
         // Extract metadata for each INSERT column using database metadata
         List<ColumnMetadata> columnMetadataList = new ArrayList<>();
         
@@ -72,11 +106,25 @@ public class InsertMetadataExtractor {
         
         log.info("Successfully extracted INSERT metadata for {} columns in table: {}", columnMetadataList.size(), tableName);
         
-        return new InsertMetadata(tableName, columnMetadataList, sql);
+        return new InsertMetadata(qualifiedTableName, columnMetadataList, sql);
     }
     
     // JSQLParser 5.x is used; no custom string parsing helpers needed here.
 
+    private List<ColumnMetadata> extractColumnMetadataFromCatalog(CatalogTable catalogTable, List<Column> insertColumns) {
+        List<ColumnMetadata> columnMetadataList = new ArrayList<>();
+        for (Column column : insertColumns) {
+            String columnName = TableReferenceFinder.unquote(column.getColumnName());
+            Optional<CatalogColumn> catalogColumn = catalogTable.findColumn(columnName);
+            if (catalogColumn.isPresent()) {
+                columnMetadataList.add(catalogColumn.get().toColumnMetadata());
+            } else {
+                log.warn("Could not extract metadata for INSERT column: {}", columnName);
+            }
+        }
+        return columnMetadataList;
+    }
+
     private ColumnMetadata extractColumnMetadata(DatabaseMetaData dbMetadata, String tableName, String columnName) throws SQLException {
         try (ResultSet columns = dbMetadata.getColumns(null, null, tableName, columnName)) {
             if (columns.next()) {
@@ -0,0 +1,231 @@
+package com.jfeatures.msg.codegen.dbmetadata;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jfeatures.msg.codegen.domain.TableReference;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import com.jfeatures.msg.codegen.util.SqlFingerprint;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Persistent on-disk cache of extracted statement metadata.
+ * <p>
+ * Each entry is a JSON file keyed by the SQL fingerprint (see {@link SqlFingerprint}), the kind of metadata
+ * and the cache scope (typically the database URL and schema). The entry records the {@code modify_date} of every
+ * table the statement references; it is served only while all of those dates still match the current
+ * {@link TableVersionLoader table versions}, so altering one table invalidates only the entries that touch it.
+ * Cache hits never touch the database. The cache is best-effort: unreadable entries are treated as misses and
+ * write failures are logged and ignored.
+ */
+@Slf4j
+public class MetadataCache implements MetadataStore {
+
+    static final int FORMAT_VERSION = 1;
+    static final String ENTRY_FILE_SUFFIX = ".json";
+
+    private static final String FORMAT_VERSION_FIELD = "formatVersion";
+    private static final String KIND_FIELD = "kind";
+    private static final String TABLES_FIELD = "tables";
+    private static final String PAYLOAD_FIELD = "payload";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final String scope;
+    private final String defaultSchema;
+    private final Map<String, String> tableVersions;
+    private final ObjectMapper objectMapper;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    /**
+     * Creates a cache backed by the given directory.
+     *
+     * @param directory the directory holding the entry files; created on first write
+     * @param scope identifies the database the metadata was read from, so different servers never share entries
+     * @param defaultSchema the schema of unqualified table names
+     * @param tableVersions the current modification date of every table, keyed by {@link SchemaCatalog#tableKey}
+     */
+    public MetadataCache(Path directory, String scope, String defaultSchema, Map<String, String> tableVersions) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Cache directory cannot be null");
+        }
+        if (scope == null) {
+            throw new IllegalArgumentException("Cache scope cannot be null");
+        }
+        if (defaultSchema == null || defaultSchema.trim().isEmpty()) {
+            throw new IllegalArgumentException("Default schema cannot be null or empty");
+        }
+        if (tableVersions == null) {
+            throw new IllegalArgumentException("Table versions cannot be null");
+        }
+        this.enabled = true;
+        this.directory = directory;
+        this.scope = scope;
+        this.defaultSchema = defaultSchema;
+        this.tableVersions = Map.copyOf(tableVersions);
+        this.objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    private MetadataCache() {
+        this.enabled = false;
+        this.directory = null;
+        this.scope = "";
+        this.defaultSchema = "";
+        this.tableVersions = Map.of();
+        this.objectMapper = null;
+    }
+
+    /**
+     * Returns a cache that stores nothing and always delegates to the loader.
+     */
+    public static MetadataCache disabled() {
+        return new MetadataCache();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the default cache directory, {@code ~/.msg/metadata-cache}.
+     */
+    public static Path defaultDirectory() {
+        return Paths.get(System.getProperty("user.home"), ".msg", "metadata-cache");
+    }
+
+    /**
+     * Returns the cached metadata of the given kind for the statement, or loads, stores and returns it.
+     * Statements whose tables cannot be determined or are unknown to the table versions are never cached.
+     */
+    @Override
+    public <T> T getOrLoad(SqlCompilationUnit unit, String kind, TypeReference<T> type, MetadataLoader<T> loader) throws Exception {
+        if (kind == null || kind.trim().isEmpty()) {
+            throw new IllegalArgumentException("Metadata kind cannot be null or empty");
+        }
+        if (!enabled) {
+            return loader.load();
+        }
+        Map<String, String> referencedVersions = referencedTableVersions(unit);
+        if (referencedVersions == null) {
+            misses.incrementAndGet();
+            return loader.load();
+        }
+
+        Path entryFile = entryFile(unit, kind);
+        T cached = readEntry(entryFile, kind, referencedVersions, type);
+        if (cached != null) {
+            hits.incrementAndGet();
+            log.info("Metadata cache hit for {} ({})", kind, entryFile.getFileName());
+            return cached;
+        }
+
+        misses.incrementAndGet();
+        T loaded = loader.load();
+        writeEntry(entryFile, kind, referencedVersions, loaded);
+        return loaded;
+    }
+
+    public int hitCount() {
+        return hits.get();
+    }
+
+    public int missCount() {
+        return misses.get();
+    }
+
+    Path entryFile(String sql, String kind) {
+        return entryFile(SqlCompilationUnit.compile(sql), kind);
+    }
+
+    private Path entryFile(SqlCompilationUnit unit, String kind) {
+        String key = SqlFingerprint.fingerprint(scope + "\n" + kind + "\n" + unit.normalizedSql());
+        return directory.resolve(kind + "-" + key + ENTRY_FILE_SUFFIX);
+    }
+
+    /**
+     * Returns the current version of every table the statement references, or null when the statement
+     * cannot be parsed or references a table without a known version.
+     */
+    private Map<String, String> referencedTableVersions(SqlCompilationUnit unit) {
+        if (!unit.isParsed()) {
+            log.debug("Could not parse SQL for metadata caching");
+            return null;
+        }
+        Map<String, String> versions = new TreeMap<>();
+        for (TableReference table : unit.tableReferences()) {
+            String schema = table.schemaName() != null ? table.schemaName() : defaultSchema;
+            String key = SchemaCatalog.tableKey(schema, table.tableName());
+            String version = tableVersions.get(key);
+            if (version == null) {
+                log.debug("No version known for table {}, statement metadata will not be cached", key);
+                return null;
+            }
+            versions.put(key, version);
+        }
+        return versions;
+    }
+
+    private <T> T readEntry(Path entryFile, String kind, Map<String, String> referencedVersions, TypeReference<T> type) {
+        if (!Files.isRegularFile(entryFile)) {
+            return null;
+        }
+        try {
+            JsonNode entry = objectMapper.readTree(entryFile.toFile());
+            if (entry.path(FORMAT_VERSION_FIELD).asInt() != FORMAT_VERSION || !kind.equals(entry.path(KIND_FIELD).asText())) {
+                return null;
+            }
+            Map<String, String> storedVersions = objectMapper.convertValue(entry.path(TABLES_FIELD),
+                new TypeReference<TreeMap<String, String>>() { });
+            if (!referencedVersions.equals(storedVersions)) {
+                log.info("Metadata cache entry {} is stale, a referenced table has changed", entryFile.getFileName());
+                return null;
+            }
+            return objectMapper.convertValue(entry.get(PAYLOAD_FIELD), type);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Ignoring unreadable metadata cache entry {}: {}", entryFile, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeEntry(Path entryFile, String kind, Map<String, String> referencedVersions, Object payload) {
+        try {
+            Files.createDirectories(directory);
+            ObjectNode entry = objectMapper.createObjectNode();
+            entry.put(FORMAT_VERSION_FIELD, FORMAT_VERSION);
+            entry.put(KIND_FIELD, kind);
+            entry.set(TABLES_FIELD, objectMapper.valueToTree(referencedVersions));
+            entry.set(PAYLOAD_FIELD, objectMapper.valueToTree(payload));
+
+            // Write to a temporary file first so concurrent readers never see a partial entry
+            Path tempFile = Files.createTempFile(directory, kind, ".tmp");
+            try {
+                objectMapper.writeValue(tempFile.toFile(), entry);
+                moveIntoPlace(tempFile, entryFile);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Could not write metadata cache entry {}: {}", entryFile, e.getMessage());
+        }
+    }
+
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.jfeatures.msg.codegen.dbmetadata;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A JSON file of recorded metadata answers that lets the generator run without a database.
+ * <p>
+ * In record mode every answer obtained from the delegate store is also written to the fixture by {@link #save()};
+ * an existing fixture file is extended, so several runs can share one fixture. In replay mode answers are served
+ * from the fixture only and a statement that was never recorded fails with a descriptive error.
+ * Entries are keyed by metadata kind and SQL fingerprint, so reformatting a statement does not break replay.
+ */
+@Slf4j
+public final class MetadataFixture implements MetadataStore {
+
+    static final int FORMAT_VERSION = 1;
+
+    private static final String FORMAT_VERSION_FIELD = "formatVersion";
+    private static final String ENTRIES_FIELD = "entries";
+    private static final String KIND_FIELD = "kind";
+    private static final String SQL_FIELD = "sql";
+    private static final String PAYLOAD_FIELD = "payload";
+
+    private final Path file;
+    private final MetadataStore delegate;
+    private final ObjectMapper objectMapper;
+    private final Map<String, ObjectNode> entries = new ConcurrentSkipListMap<>();
+
+    private MetadataFixture(Path file, MetadataStore delegate) {
+        this.file = file;
+        this.delegate = delegate;
+        this.objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    /**
+     * Creates a fixture that records every answer of the delegate store into the given file.
+     * Entries already present in the file are kept unless the same statement is recorded again.
+     */
+    public static MetadataFixture recording(Path file, MetadataStore delegate) {
+        if (file == null) {
+            throw new IllegalArgumentException("Fixture file cannot be null");
+        }
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate metadata store cannot be null");
+        }
+        MetadataFixture fixture = new MetadataFixture(file, delegate);
+        if (Files.isRegularFile(file)) {
+            fixture.readEntries();
+        }
+        return fixture;
+    }
+
+    /**
+     * Creates a fixture that serves answers from the given file without ever contacting the database.
+     */
+    public static MetadataFixture replaying(Path file) {
+        if (file == null) {
+            throw new IllegalArgumentException("Fixture file cannot be null");
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("Metadata fixture file not found: " + file);
+        }
+        MetadataFixture fixture = new MetadataFixture(file, null);
+        fixture.readEntries();
+        log.info("Replaying {} recorded metadata answers from {}", fixture.size(), file);
+        return fixture;
+    }
+
+    public boolean isReplaying() {
+        return delegate == null;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public <T> T getOrLoad(SqlCompilationUnit unit, String kind, TypeReference<T> type, MetadataLoader<T> loader) throws Exception {
+        String key = entryKey(unit, kind);
+        if (isReplaying()) {
+            ObjectNode entry = entries.get(key);
+            if (entry == null) {
+                throw new IllegalStateException("No recorded " + kind + " metadata in " + file + " for statement: "
+                    + unit.normalizedSql() + ". Record it with --record-metadata against a database first.");
+            }
+            return objectMapper.convertValue(entry.get(PAYLOAD_FIELD), type);
+        }
+
+        T value = delegate.getOrLoad(unit, kind, type, loader);
+        ObjectNode entry = objectMapper.createObjectNode();
+        entry.put(KIND_FIELD, kind);
+        entry.put(SQL_FIELD, unit.normalizedSql());
+        entry.set(PAYLOAD_FIELD, objectMapper.valueToTree(value));
+        entries.put(key, entry);
+        return value;
+    }
+
+    /**
+     * Writes the recorded answers to the fixture file.
+     */
+    public void save() throws IOException {
+        if (isReplaying()) {
+            throw new IllegalStateException("A replaying metadata fixture cannot be saved");
+        }
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put(FORMAT_VERSION_FIELD, FORMAT_VERSION);
+        ObjectNode entriesNode = root.putObject(ENTRIES_FIELD);
+        entries.forEach(entriesNode::set);
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path tempFile = Files.createTempFile(directory, "metadata-fixture", ".tmp");
+        try {
+            objectMapper.writeValue(tempFile.toFile(), root);
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        log.info("Recorded {} metadata answers to {}", entries.size(), file);
+    }
+
+    private void readEntries() {
+        try {
+            JsonNode root = objectMapper.readTree(file.toFile());
+            if (root == null || root.path(FORMAT_VERSION_FIELD).asInt() != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported metadata fixture format in " + file);
+            }
+            Iterator<Map.Entry<String, JsonNode>> fields = root.path(ENTRIES_FIELD).fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (field.getValue() instanceof ObjectNode entry) {
+                    entries.put(field.getKey(), entry);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read metadata fixture " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String entryKey(SqlCompilationUnit unit, String kind) {
+        if (kind == null || kind.trim().isEmpty()) {
+            throw new IllegalArgumentException("Metadata kind cannot be null or empty");
+        }
+        return kind + ":" + unit.fingerprint();
+    }
+}
@@ -0,0 +1,36 @@
+package com.jfeatures.msg.codegen.dbmetadata;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+
+/**
+ * Source of extracted statement metadata used by the microservice generators.
+ * Implementations decide whether an answer comes from the database, a persistent cache or a recorded fixture.
+ */
+public interface MetadataStore {
+
+    /**
+     * Returns the metadata of the given kind for the statement, calling the loader if it has to be extracted.
+     *
+     * @param unit the compiled SQL statement the metadata describes
+     * @param kind distinguishes different metadata extracted from the same statement (e.g. {@code "insert"})
+     * @param type the metadata type, used to deserialize stored answers
+     * @param loader extracts the metadata from the database
+     */
+    <T> T getOrLoad(SqlCompilationUnit unit, String kind, TypeReference<T> type, MetadataLoader<T> loader) throws Exception;
+
+    /**
+     * Compiles the SQL statement and returns its metadata; see {@link #getOrLoad(SqlCompilationUnit, String, TypeReference, MetadataLoader)}.
+     */
+    default <T> T getOrLoad(String sql, String kind, TypeReference<T> type, MetadataLoader<T> loader) throws Exception {
+        return getOrLoad(SqlCompilationUnit.compile(sql), kind, type, loader);
+    }
+
+    /**
+     * Extracts metadata from the database.
+     */
+    @FunctionalInterface
+    interface MetadataLoader<T> {
+        T load() throws Exception;
+    }
+}
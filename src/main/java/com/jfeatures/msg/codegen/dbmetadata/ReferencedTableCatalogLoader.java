@@ -0,0 +1,205 @@
+package com.jfeatures.msg.codegen.dbmetadata;
+
+import com.jfeatures.msg.codegen.domain.TableReference;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads a {@link SchemaCatalog} of only the tables a statement references, through standard JDBC
+ * {@link DatabaseMetaData}, for runs where the bulk {@link SchemaCatalogLoader} query is unavailable
+ * (no VIEW DEFINITION permission, or a database without the SQL Server catalog views).
+ * <p>
+ * Every table is looked up on its own virtual thread with its own pooled connection, so a join of n tables
+ * costs the latency of the slowest table rather than the sum of all of them; the connection pool bounds how many
+ * lookups actually run at once. The results are merged in table key order, so the catalog does not depend on which
+ * lookup finished first.
+ */
+@Slf4j
+public class ReferencedTableCatalogLoader {
+
+    private static final String IDENTITY_SUFFIX = " identity";
+    private static final Set<String> UNICODE_TYPES = Set.of("nchar", "nvarchar");
+    private static final int BYTES_PER_UNICODE_CHARACTER = 2;
+    private static final int MAX_IN_ROW_BYTES = 8000;
+
+    private final DataSource dataSource;
+
+    public ReferencedTableCatalogLoader(DataSource dataSource) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("DataSource cannot be null");
+        }
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Loads the columns, primary keys and indexes of the given tables concurrently.
+     *
+     * @param defaultSchema the schema of tables referenced without one; it also becomes the catalog's default schema
+     * @param tableReferences the tables to load; repeated references (self joins) are loaded once
+     * @return a catalog of the tables that exist; unknown tables are left out
+     * @throws SQLException if a lookup fails
+     */
+    public SchemaCatalog load(String defaultSchema, List<TableReference> tableReferences) throws SQLException {
+        if (defaultSchema == null || defaultSchema.trim().isEmpty()) {
+            throw new IllegalArgumentException("Default schema cannot be null or empty");
+        }
+        if (tableReferences == null) {
+            throw new IllegalArgumentException("Table references cannot be null");
+        }
+
+        Map<String, TableReference> tablesByKey = new TreeMap<>();
+        for (TableReference table : tableReferences) {
+            String schema = table.schemaName() != null ? table.schemaName() : defaultSchema;
+            tablesByKey.putIfAbsent(SchemaCatalog.tableKey(schema, table.tableName()),
+                                    new TableReference(schema, table.tableName(), null));
+        }
+
+        Map<String, Future<TableMetadata>> lookups = new LinkedHashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            tablesByKey.forEach((key, table) -> lookups.put(key, executor.submit(() -> loadTable(table))));
+        }
+
+        List<CatalogColumn> columns = new ArrayList<>();
+        Map<String, List<CatalogIndex>> indexesByTable = new LinkedHashMap<>();
+        for (Map.Entry<String, Future<TableMetadata>> lookup : lookups.entrySet()) {
+            TableMetadata table = result(lookup.getValue());
+            columns.addAll(table.columns());
+            indexesByTable.put(lookup.getKey(), table.indexes());
+        }
+
+        SchemaCatalog catalog = SchemaCatalog.of(defaultSchema, columns, indexesByTable);
+        log.info("Loaded metadata of {} referenced tables: {} found, {} columns", tablesByKey.size(),
+                 catalog.tableCount(), columns.size());
+        return catalog;
+    }
+
+    private static TableMetadata result(Future<TableMetadata> lookup) throws SQLException {
+        try {
+            return lookup.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new IllegalStateException("Table metadata lookup failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading table metadata", e);
+        }
+    }
+
+    private TableMetadata loadTable(TableReference table) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            Set<String> primaryKeyColumns = new HashSet<>();
+            String primaryKeyName = null;
+            try (ResultSet primaryKeys = metaData.getPrimaryKeys(null, table.schemaName(), table.tableName())) {
+                while (primaryKeys.next()) {
+                    primaryKeyColumns.add(primaryKeys.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                    primaryKeyName = primaryKeys.getString("PK_NAME");
+                }
+            }
+
+            List<CatalogColumn> columns = new ArrayList<>();
+            try (ResultSet resultSet = metaData.getColumns(null, table.schemaName(), table.tableName(), "%")) {
+                while (resultSet.next()) {
+                    columns.add(readColumn(resultSet, primaryKeyColumns));
+                }
+            }
+            if (columns.isEmpty()) {
+                log.debug("Table {}.{} not found", table.schemaName(), table.tableName());
+                return new TableMetadata(List.of(), List.of());
+            }
+
+            Map<String, IndexColumns> indexes = new TreeMap<>();
+            try (ResultSet indexInfo = metaData.getIndexInfo(null, table.schemaName(), table.tableName(), false, true)) {
+                while (indexInfo.next()) {
+                    String indexName = indexInfo.getString("INDEX_NAME");
+                    String columnName = indexInfo.getString("COLUMN_NAME");
+                    if (indexName == null || columnName == null || indexInfo.getShort("TYPE") == DatabaseMetaData.tableIndexStatistic) {
+                        continue;
+                    }
+                    boolean unique = !indexInfo.getBoolean("NON_UNIQUE");
+                    boolean clustered = indexInfo.getShort("TYPE") == DatabaseMetaData.tableIndexClustered;
+                    indexes.computeIfAbsent(indexName, name -> new IndexColumns(unique, clustered, new TreeMap<>()))
+                           .keyColumns().put(indexInfo.getInt("ORDINAL_POSITION"), columnName);
+                }
+            }
+            String primaryKeyIndex = primaryKeyName;
+            List<CatalogIndex> catalogIndexes = indexes.entrySet().stream()
+                .map(index -> new CatalogIndex(index.getKey(), index.getKey().equalsIgnoreCase(primaryKeyIndex),
+                                               index.getValue().unique(), index.getValue().clustered(),
+                                               List.copyOf(index.getValue().keyColumns().values()), List.of()))
+                .toList();
+            return new TableMetadata(columns, catalogIndexes);
+        }
+    }
+
+    /**
+     * Reads one {@link DatabaseMetaData#getColumns} row. The SQL Server driver reports identity columns with an
+     * {@code identity} suffix on the type name ({@code int identity}), which is stripped to match the catalog views.
+     * The driver reports the declared size in characters or digits; the length is converted to the bytes the
+     * catalog views report, see {@link #maxLengthInBytes}.
+     */
+    private static CatalogColumn readColumn(ResultSet resultSet, Set<String> primaryKeyColumns) throws SQLException {
+        String columnName = resultSet.getString("COLUMN_NAME");
+        String typeName = resultSet.getString("TYPE_NAME");
+        boolean identity = "YES".equalsIgnoreCase(resultSet.getString("IS_AUTOINCREMENT"));
+        if (typeName != null && typeName.toLowerCase(Locale.ROOT).endsWith(IDENTITY_SUFFIX)) {
+            typeName = typeName.substring(0, typeName.length() - IDENTITY_SUFFIX.length());
+            identity = true;
+        }
+        return new CatalogColumn(
+            resultSet.getString("TABLE_SCHEM"),
+            resultSet.getString("TABLE_NAME"),
+            columnName,
+            resultSet.getInt("ORDINAL_POSITION"),
+            typeName,
+            resultSet.getInt("DATA_TYPE"),
+            maxLengthInBytes(typeName, resultSet.getInt("COLUMN_SIZE")),
+            resultSet.getInt("COLUMN_SIZE"),
+            resultSet.getInt("DECIMAL_DIGITS"),
+            resultSet.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls,
+            identity,
+            primaryKeyColumns.contains(columnName.toLowerCase(Locale.ROOT)),
+            "YES".equalsIgnoreCase(resultSet.getString("IS_GENERATEDCOLUMN")),
+            false
+        );
+    }
+
+    /**
+     * Converts a {@code COLUMN_SIZE} into the storage length {@code sys.columns} reports: an {@code nchar} or
+     * {@code nvarchar} character takes two bytes, and a size beyond the 8000 bytes of an in-row value is a MAX type,
+     * reported as -1.
+     */
+    static int maxLengthInBytes(String typeName, int columnSize) {
+        long bytes = typeName != null && UNICODE_TYPES.contains(typeName.toLowerCase(Locale.ROOT))
+            ? (long) columnSize * BYTES_PER_UNICODE_CHARACTER
+            : columnSize;
+        return bytes > MAX_IN_ROW_BYTES ? -1 : (int) bytes;
+    }
+
+    private record TableMetadata(List<CatalogColumn> columns, List<CatalogIndex> indexes) {
+    }
+
+    /**
+     * Key columns of one index by ordinal position.
+     */
+    private record IndexColumns(boolean unique, boolean clustered, Map<Integer, String> keyColumns) {
+    }
+}
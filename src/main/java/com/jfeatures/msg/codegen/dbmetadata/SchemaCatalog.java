@@ -0,0 +1,100 @@
+package com.jfeatures.msg.codegen.dbmetadata;
+
+import com.jfeatures.msg.codegen.util.TableReferenceFinder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable in-memory snapshot of a database schema: every table and view with its columns,
+ * types, nullability, primary key and indexes, indexed by (schema, table, column).
+ * Loaded once per generation run by {@link SchemaCatalogLoader} so that the metadata extractors
+ * resolve columns from memory instead of issuing one metadata round trip per column.
+ */
+public final class SchemaCatalog {
+
+    private final String defaultSchema;
+    private final Map<String, CatalogTable> tablesByKey;
+
+    private SchemaCatalog(String defaultSchema, Map<String, CatalogTable> tablesByKey) {
+        this.defaultSchema = defaultSchema;
+        this.tablesByKey = Collections.unmodifiableMap(tablesByKey);
+    }
+
+    /**
+     * Builds a catalog from flat column and index lists.
+     *
+     * @param defaultSchema the schema used for lookups that do not specify one (e.g. {@code dbo})
+     * @param columns every column of every table in the snapshot
+     * @param indexesByTable indexes keyed by {@link #tableKey(String, String)}; tables without an entry have no indexes
+     */
+    public static SchemaCatalog of(String defaultSchema, List<CatalogColumn> columns,
+                                   Map<String, List<CatalogIndex>> indexesByTable) {
+        if (defaultSchema == null || defaultSchema.trim().isEmpty()) {
+            throw new IllegalArgumentException("Default schema cannot be null or empty");
+        }
+        if (columns == null) {
+            throw new IllegalArgumentException("Catalog columns cannot be null");
+        }
+        Map<String, List<CatalogColumn>> columnsByTable = new LinkedHashMap<>();
+        for (CatalogColumn column : columns) {
+            columnsByTable.computeIfAbsent(tableKey(column.schemaName(), column.tableName()), key -> new ArrayList<>())
+                          .add(column);
+        }
+
+        Map<String, CatalogTable> tables = new LinkedHashMap<>();
+        columnsByTable.forEach((key, tableColumns) -> {
+            CatalogColumn first = tableColumns.get(0);
+            List<CatalogIndex> indexes = indexesByTable != null ? indexesByTable.getOrDefault(key, List.of()) : List.of();
+            tables.put(key, new CatalogTable(first.schemaName(), first.tableName(), tableColumns, indexes));
+        });
+        return new SchemaCatalog(defaultSchema, tables);
+    }
+
+    /**
+     * Returns the normalized lookup key of a table: lower-case {@code schema.table} with quoting removed.
+     */
+    public static String tableKey(String schemaName, String tableName) {
+        return normalize(schemaName) + "." + normalize(tableName);
+    }
+
+    public String defaultSchema() {
+        return defaultSchema;
+    }
+
+    public Collection<CatalogTable> tables() {
+        return tablesByKey.values();
+    }
+
+    public int tableCount() {
+        return tablesByKey.size();
+    }
+
+    /**
+     * Finds a table; a null or blank schema name resolves against the default schema.
+     */
+    public Optional<CatalogTable> findTable(String schemaName, String tableName) {
+        if (tableName == null || tableName.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        String schema = schemaName == null || schemaName.trim().isEmpty() ? defaultSchema : schemaName;
+        return Optional.ofNullable(tablesByKey.get(tableKey(schema, tableName)));
+    }
+
+    /**
+     * Finds a column; a null or blank schema name resolves against the default schema.
+     */
+    public Optional<CatalogColumn> findColumn(String schemaName, String tableName, String columnName) {
+        return findTable(schemaName, tableName).flatMap(table -> table.findColumn(TableReferenceFinder.unquote(columnName)));
+    }
+
+    private static String normalize(String identifier) {
+        String unquoted = TableReferenceFinder.unquote(identifier);
+        return unquoted == null ? "" : unquoted.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,212 @@
+package com.jfeatures.msg.codegen.dbmetadata;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Loads a {@link SchemaCatalog} for one schema with a single bulk query over the SQL Server catalog views.
+ * Every column of every table and view is returned together with its index memberships,
+ * so the whole schema costs one round trip however many tables the generated statements touch.
+ */
+@Slf4j
+public class SchemaCatalogLoader {
+
+    static final String CATALOG_QUERY = """
+        SELECT s.name AS schema_name,
+               o.name AS table_name,
+               c.column_id,
+               c.name AS column_name,
+               COALESCE(TYPE_NAME(c.system_type_id), TYPE_NAME(c.user_type_id)) AS base_type_name,
+               c.max_length,
+               c.precision,
+               c.scale,
+               c.is_nullable,
+               c.is_identity,
+               c.is_computed,
+               c.generated_always_type,
+               i.name AS index_name,
+               i.is_primary_key,
+               i.is_unique,
+               i.type AS index_type,
+               ic.key_ordinal,
+               ic.is_included_column
+        FROM sys.columns c
+        JOIN sys.objects o ON o.object_id = c.object_id AND o.type IN ('U', 'V')
+        JOIN sys.schemas s ON s.schema_id = o.schema_id
+        LEFT JOIN sys.index_columns ic ON ic.object_id = c.object_id AND ic.column_id = c.column_id
+        LEFT JOIN sys.indexes i ON i.object_id = ic.object_id AND i.index_id = ic.index_id
+        WHERE s.name = ?
+        ORDER BY o.name, c.column_id, i.index_id
+        """;
+
+    /** {@code sys.indexes.type} of a clustered rowstore index. */
+    private static final int CLUSTERED_INDEX_TYPE = 1;
+    /** {@code sys.columns.generated_always_type} of a column whose value is written by the statement. */
+    private static final int NOT_GENERATED_ALWAYS = 0;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SchemaCatalogLoader(JdbcTemplate jdbcTemplate) {
+        if (jdbcTemplate == null) {
+            throw new IllegalArgumentException("JdbcTemplate cannot be null");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Loads every table, view, column and index of the given schema.
+     *
+     * @param schemaName the schema to snapshot; it also becomes the catalog's default schema
+     * @return the loaded catalog, empty if the schema has no tables
+     */
+    public SchemaCatalog load(String schemaName) {
+        if (schemaName == null || schemaName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Schema name cannot be null or empty");
+        }
+
+        Map<String, CatalogColumn> columns = new LinkedHashMap<>();
+        Map<String, Map<String, IndexBuilder>> indexBuilders = new LinkedHashMap<>();
+
+        jdbcTemplate.query(CATALOG_QUERY, (ResultSet rs) -> {
+            String schema = rs.getString("schema_name");
+            String table = rs.getString("table_name");
+            String columnName = rs.getString("column_name");
+            String tableKey = SchemaCatalog.tableKey(schema, table);
+            String columnKey = tableKey + "." + columnName.toLowerCase(Locale.ROOT);
+
+            String indexName = rs.getString("index_name");
+            boolean inPrimaryKey = indexName != null && rs.getBoolean("is_primary_key") && !rs.getBoolean("is_included_column");
+
+            CatalogColumn existing = columns.get(columnKey);
+            if (existing == null) {
+                columns.put(columnKey, readColumn(rs, schema, table, columnName, inPrimaryKey));
+            } else if (inPrimaryKey && !existing.primaryKey()) {
+                columns.put(columnKey, withPrimaryKey(existing));
+            }
+
+            if (indexName != null) {
+                boolean primaryKeyIndex = rs.getBoolean("is_primary_key");
+                boolean uniqueIndex = rs.getBoolean("is_unique");
+                boolean clusteredIndex = rs.getInt("index_type") == CLUSTERED_INDEX_TYPE;
+                indexBuilders.computeIfAbsent(tableKey, key -> new LinkedHashMap<>())
+                             .computeIfAbsent(indexName, name -> new IndexBuilder(name, primaryKeyIndex, uniqueIndex, clusteredIndex))
+                             .addColumn(columnName, rs.getBoolean("is_included_column"), rs.getInt("key_ordinal"));
+            }
+        }, schemaName);
+
+        Map<String, List<CatalogIndex>> indexesByTable = new LinkedHashMap<>();
+        indexBuilders.forEach((tableKey, builders) ->
+            indexesByTable.put(tableKey, builders.values().stream().map(IndexBuilder::build).toList()));
+
+        SchemaCatalog catalog = SchemaCatalog.of(schemaName, new ArrayList<>(columns.values()), indexesByTable);
+        log.info("Loaded schema catalog for '{}': {} tables, {} columns", schemaName, catalog.tableCount(), columns.size());
+        return catalog;
+    }
+
+    private CatalogColumn readColumn(ResultSet rs, String schema, String table, String columnName,
+                                     boolean primaryKey) throws SQLException {
+        // Alias types such as AdventureWorks' Name or Flag are reported by their base type, as the driver does;
+        // CLR types (geography, geometry, hierarchyid) share system_type_id 240 and are reported by their own name
+        String typeName = rs.getString("base_type_name");
+        return new CatalogColumn(
+            schema,
+            table,
+            columnName,
+            rs.getInt("column_id"),
+            typeName,
+            jdbcTypeFor(typeName),
+            rs.getInt("max_length"),
+            rs.getInt("precision"),
+            rs.getInt("scale"),
+            rs.getBoolean("is_nullable"),
+            rs.getBoolean("is_identity"),
+            primaryKey,
+            rs.getBoolean("is_computed"),
+            rs.getInt("generated_always_type") != NOT_GENERATED_ALWAYS
+        );
+    }
+
+    private CatalogColumn withPrimaryKey(CatalogColumn column) {
+        return new CatalogColumn(column.schemaName(), column.tableName(), column.columnName(), column.ordinalPosition(),
+            column.typeName(), column.jdbcType(), column.maxLength(), column.precision(), column.scale(),
+            column.nullable(), column.identity(), true, column.computed(), column.generatedAlways());
+    }
+
+    /**
+     * Maps a SQL Server type name to the {@link Types} constant reported by the mssql-jdbc driver.
+     */
+    static int jdbcTypeFor(String typeName) {
+        if (typeName == null) {
+            return Types.OTHER;
+        }
+        return switch (typeName.toLowerCase(Locale.ROOT)) {
+            case "int" -> Types.INTEGER;
+            case "bigint" -> Types.BIGINT;
+            case "smallint" -> Types.SMALLINT;
+            case "tinyint" -> Types.TINYINT;
+            case "bit" -> Types.BIT;
+            case "decimal", "money", "smallmoney" -> Types.DECIMAL;
+            case "numeric" -> Types.NUMERIC;
+            case "float" -> Types.DOUBLE;
+            case "real" -> Types.REAL;
+            case "char", "uniqueidentifier" -> Types.CHAR;
+            case "varchar" -> Types.VARCHAR;
+            case "nchar" -> Types.NCHAR;
+            case "nvarchar", "sysname" -> Types.NVARCHAR;
+            case "text" -> Types.LONGVARCHAR;
+            case "ntext", "xml" -> Types.LONGNVARCHAR;
+            case "date" -> Types.DATE;
+            case "time" -> Types.TIME;
+            case "datetime", "datetime2", "smalldatetime" -> Types.TIMESTAMP;
+            case "datetimeoffset" -> Types.TIMESTAMP_WITH_TIMEZONE;
+            case "binary", "timestamp", "rowversion" -> Types.BINARY;
+            case "varbinary" -> Types.VARBINARY;
+            case "image" -> Types.LONGVARBINARY;
+            default -> Types.OTHER;
+        };
+    }
+
+    /**
+     * Accumulates the columns of one index while the catalog rows stream past.
+     */
+    private static final class IndexBuilder {
+        private final String indexName;
+        private final boolean primaryKey;
+        private final boolean unique;
+        private final boolean clustered;
+        private final List<Map.Entry<Integer, String>> keyColumns = new ArrayList<>();
+        private final List<String> includedColumns = new ArrayList<>();
+
+        private IndexBuilder(String indexName, boolean primaryKey, boolean unique, boolean clustered) {
+            this.indexName = indexName;
+            this.primaryKey = primaryKey;
+            this.unique = unique;
+            this.clustered = clustered;
+        }
+
+        private void addColumn(String columnName, boolean included, int keyOrdinal) {
+            if (included) {
+                includedColumns.add(columnName);
+            } else {
+                keyColumns.add(Map.entry(keyOrdinal, columnName));
+            }
+        }
+
+        private CatalogIndex build() {
+            List<String> orderedKeys = keyColumns.stream()
+                .sorted(Comparator.comparing(Map.Entry::getKey))
+                .map(Map.Entry::getValue)
+                .toList();
+            return new CatalogIndex(indexName, primaryKey, unique, clustered, orderedKeys, includedColumns);
+        }
+    }
+}
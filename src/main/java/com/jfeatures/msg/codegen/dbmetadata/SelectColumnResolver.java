@@ -0,0 +1,159 @@
+package com.jfeatures.msg.codegen.dbmetadata;
+
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import com.jfeatures.msg.codegen.util.TableReferenceFinder;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.select.AllColumns;
+import net.sf.jsqlparser.statement.select.AllTableColumns;
+import net.sf.jsqlparser.statement.select.FromItem;
+import net.sf.jsqlparser.statement.select.Join;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.SelectItem;
+
+/**
+ * Resolves the result set columns of a SELECT statement from the schema catalog.
+ * Only selects that project plain columns ({@code *}, {@code t.*}, {@code col} or {@code t.col AS alias})
+ * from tables of the catalog are resolved; anything else (expressions, subqueries, CTEs, unknown tables)
+ * is left to the database, which describes the statement instead.
+ */
+@Slf4j
+public class SelectColumnResolver {
+
+    private final SchemaCatalog schemaCatalog;
+
+    public SelectColumnResolver(SchemaCatalog schemaCatalog) {
+        if (schemaCatalog == null) {
+            throw new IllegalArgumentException("Schema catalog cannot be null");
+        }
+        this.schemaCatalog = schemaCatalog;
+    }
+
+    /**
+     * Returns the projected columns in select-list order, or empty when the catalog cannot resolve every one of them.
+     */
+    public Optional<List<ColumnMetadata>> resolveColumns(SqlCompilationUnit unit) {
+        if (unit == null || !(unit.statement().orElse(null) instanceof PlainSelect plainSelect)
+                || plainSelect.getWithItemsList() != null) {
+            return Optional.empty();
+        }
+
+        List<SelectedTable> tables = new ArrayList<>();
+        if (!addTable(plainSelect.getFromItem(), tables)) {
+            return Optional.empty();
+        }
+        if (plainSelect.getJoins() != null) {
+            for (Join join : plainSelect.getJoins()) {
+                if (!addTable(join.getRightItem(), tables)) {
+                    return Optional.empty();
+                }
+            }
+        }
+
+        List<ColumnMetadata> columns = new ArrayList<>();
+        for (SelectItem<?> selectItem : plainSelect.getSelectItems()) {
+            if (!addSelectItem(selectItem, tables, columns)) {
+                log.debug("Select item {} cannot be resolved from the schema catalog", selectItem);
+                return Optional.empty();
+            }
+        }
+        return Optional.of(columns);
+    }
+
+    private boolean addTable(FromItem fromItem, List<SelectedTable> tables) {
+        if (!(fromItem instanceof Table table)) {
+            return false;
+        }
+        Optional<CatalogTable> catalogTable = schemaCatalog.findTable(
+            TableReferenceFinder.unquote(table.getSchemaName()), TableReferenceFinder.unquote(table.getName()));
+        if (catalogTable.isEmpty()) {
+            return false;
+        }
+        String alias = table.getAlias() != null ? TableReferenceFinder.unquote(table.getAlias().getName()) : null;
+        tables.add(new SelectedTable(catalogTable.get(), alias));
+        return true;
+    }
+
+    private boolean addSelectItem(SelectItem<?> selectItem, List<SelectedTable> tables, List<ColumnMetadata> columns) {
+        Expression expression = selectItem.getExpression();
+        if (expression instanceof AllTableColumns allTableColumns) {
+            Optional<SelectedTable> table = findTable(allTableColumns.getTable().getName(), tables);
+            table.ifPresent(selected -> selected.table().columns().forEach(column -> columns.add(toColumnMetadata(column, null))));
+            return table.isPresent();
+        }
+        if (expression instanceof AllColumns) {
+            tables.forEach(selected -> selected.table().columns().forEach(column -> columns.add(toColumnMetadata(column, null))));
+            return true;
+        }
+        if (!(expression instanceof Column column)) {
+            return false;
+        }
+
+        String columnName = TableReferenceFinder.unquote(column.getColumnName());
+        String qualifier = column.getTable() != null ? column.getTable().getName() : null;
+        List<CatalogColumn> matches = new ArrayList<>();
+        if (qualifier != null) {
+            findTable(qualifier, tables).flatMap(selected -> selected.table().findColumn(columnName)).ifPresent(matches::add);
+        } else {
+            tables.forEach(selected -> selected.table().findColumn(columnName).ifPresent(matches::add));
+        }
+        // An unqualified column present in several joined tables is ambiguous
+        if (matches.size() != 1) {
+            return false;
+        }
+        String alias = selectItem.getAlias() != null ? TableReferenceFinder.unquote(selectItem.getAlias().getName()) : null;
+        columns.add(toColumnMetadata(matches.get(0), alias));
+        return true;
+    }
+
+    private static Optional<SelectedTable> findTable(String qualifier, List<SelectedTable> tables) {
+        String name = TableReferenceFinder.unquote(qualifier);
+        return tables.stream()
+            .filter(selected -> name.equalsIgnoreCase(selected.alias()) || name.equalsIgnoreCase(selected.table().tableName()))
+            .findFirst();
+    }
+
+    /**
+     * Converts a catalog column into result set metadata shaped like the driver's description of the statement.
+     */
+    private static ColumnMetadata toColumnMetadata(CatalogColumn column, String alias) {
+        ColumnMetadata columnMetadata = column.toColumnMetadata();
+        columnMetadata.setColumnAlias(alias != null ? alias : column.columnName());
+        columnMetadata.setColumnClassName(columnClassNameFor(column.jdbcType()));
+        return columnMetadata;
+    }
+
+    /**
+     * Returns the class the SQL Server driver reports for a column of the given JDBC type.
+     */
+    static String columnClassNameFor(int jdbcType) {
+        return switch (jdbcType) {
+            case Types.BIT, Types.BOOLEAN -> Boolean.class.getName();
+            case Types.TINYINT, Types.SMALLINT -> Short.class.getName();
+            case Types.INTEGER -> Integer.class.getName();
+            case Types.BIGINT -> Long.class.getName();
+            case Types.REAL -> Float.class.getName();
+            case Types.FLOAT, Types.DOUBLE -> Double.class.getName();
+            case Types.DECIMAL, Types.NUMERIC -> BigDecimal.class.getName();
+            case Types.DATE -> Date.class.getName();
+            case Types.TIME -> Time.class.getName();
+            case Types.TIMESTAMP -> Timestamp.class.getName();
+            case Types.TIMESTAMP_WITH_TIMEZONE -> "microsoft.sql.DateTimeOffset";
+            case Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY -> byte[].class.getName();
+            default -> String.class.getName();
+        };
+    }
+
+    private record SelectedTable(CatalogTable table, String alias) {
+    }
+}
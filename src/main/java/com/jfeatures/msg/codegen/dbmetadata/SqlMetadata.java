@@ -1,6 +1,5 @@
 package com.jfeatures.msg.codegen.dbmetadata;
 
-import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -8,7 +7,7 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.PreparedStatementCallback;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -22,6 +21,14 @@ public class SqlMetadata {
         this.jdbcTemplate = jdbcTemplate;
     }
 
+    /**
+     * Returns the result set column metadata of the given query without executing it.
+     * The statement is only prepared, so a single round trip is needed whatever the table size,
+     * and parameterized queries can be described without binding values.
+     *
+     * @param query the SQL query to describe
+     * @return one ColumnMetadata per projected column, or an empty list if the statement has no result set
+     */
     public List<ColumnMetadata> getColumnMetadata(String query) {
         // Input validation to prevent SQL injection
         if (query == null || query.trim().isEmpty()) {
@@ -39,42 +46,12 @@ public class SqlMetadata {
             throw new IllegalArgumentException("Invalid SQL query structure detected");
         }
 
-        List<ColumnMetadata> columnMetadataList = new ArrayList<>();
-        
         try {
-            jdbcTemplate.query(query, new RowMapper<ColumnMetadata>() {
-            @Override
-            public ColumnMetadata mapRow(ResultSet rs, int rowNum) throws SQLException {
-                ResultSetMetaData metadata = rs.getMetaData();
-
-                int columnCount = metadata.getColumnCount();
-
-                for (int i = 1; i <= columnCount; i++) {
-                    ColumnMetadata columnMetadata = new ColumnMetadata();
-                    columnMetadata.setColumnName(metadata.getColumnName(i));
-                    columnMetadata.setColumnAlias(metadata.getColumnLabel(i));
-                    columnMetadata.setTableName(metadata.getTableName(i));
-                    columnMetadata.setColumnType(metadata.getColumnType(i));
-                    columnMetadata.setColumnTypeName(metadata.getColumnTypeName(i));
-                    columnMetadata.setColumnClassName(metadata.getColumnClassName(i));
-                    columnMetadata.setColumnDisplaySize(metadata.getColumnDisplaySize(i));
-                    columnMetadata.setPrecision(metadata.getPrecision(i));
-                    columnMetadata.setScale(metadata.getScale(i));
-                    columnMetadata.setIsNullable(metadata.isNullable(i));
-                    columnMetadata.setAutoIncrement(metadata.isAutoIncrement(i));
-                    columnMetadata.setCaseSensitive(metadata.isCaseSensitive(i));
-                    columnMetadata.setReadOnly(metadata.isReadOnly(i));
-                    columnMetadata.setWritable(metadata.isWritable(i));
-                    columnMetadata.setDefinitelyWritable(metadata.isDefinitelyWritable(i));
-                    columnMetadata.setCurrency(metadata.isCurrency(i));
-                    columnMetadata.setSigned(metadata.isSigned(i));
-
-                    columnMetadataList.add(columnMetadata);
-                }
-
-                return null;
-            }
-            });
+            // Describe the statement without executing it: the driver answers from
+            // sp_describe_first_result_set, so no rows are fetched regardless of table size.
+            List<ColumnMetadata> columnMetadataList = jdbcTemplate.execute(query,
+                    (PreparedStatementCallback<List<ColumnMetadata>>) ps -> describeResultSet(ps.getMetaData()));
+            return columnMetadataList != null ? columnMetadataList : new ArrayList<>();
         } catch (org.springframework.dao.DataAccessException e) {
             // Log error with contextual information for debugging
             logger.error("Failed to fetch column metadata for query: {}. Error: {}",
@@ -83,7 +60,42 @@ public class SqlMetadata {
             throw new org.springframework.dao.DataAccessException(
                 "Unable to retrieve column metadata from database for the provided SQL query", e) {};
         }
-        
+    }
+
+    /**
+     * Converts result set metadata into one ColumnMetadata per projected column.
+     * Statements that produce no result set (e.g. an UPDATE) report null metadata and yield an empty list.
+     */
+    private List<ColumnMetadata> describeResultSet(ResultSetMetaData metadata) throws SQLException {
+        List<ColumnMetadata> columnMetadataList = new ArrayList<>();
+        if (metadata == null) {
+            return columnMetadataList;
+        }
+
+        int columnCount = metadata.getColumnCount();
+        for (int i = 1; i <= columnCount; i++) {
+            ColumnMetadata columnMetadata = new ColumnMetadata();
+            columnMetadata.setColumnName(metadata.getColumnName(i));
+            columnMetadata.setColumnAlias(metadata.getColumnLabel(i));
+            columnMetadata.setTableName(metadata.getTableName(i));
+            columnMetadata.setColumnType(metadata.getColumnType(i));
+            columnMetadata.setColumnTypeName(metadata.getColumnTypeName(i));
+            columnMetadata.setColumnClassName(metadata.getColumnClassName(i));
+            columnMetadata.setColumnDisplaySize(metadata.getColumnDisplaySize(i));
+            columnMetadata.setPrecision(metadata.getPrecision(i));
+            columnMetadata.setScale(metadata.getScale(i));
+            columnMetadata.setIsNullable(metadata.isNullable(i));
+            columnMetadata.setAutoIncrement(metadata.isAutoIncrement(i));
+            columnMetadata.setCaseSensitive(metadata.isCaseSensitive(i));
+            columnMetadata.setReadOnly(metadata.isReadOnly(i));
+            columnMetadata.setWritable(metadata.isWritable(i));
+            columnMetadata.setDefinitelyWritable(metadata.isDefinitelyWritable(i));
+            columnMetadata.setCurrency(metadata.isCurrency(i));
+            columnMetadata.setSigned(metadata.isSigned(i));
+
+            columnMetadataList.add(columnMetadata);
+        }
+
         return columnMetadataList;
     }
     
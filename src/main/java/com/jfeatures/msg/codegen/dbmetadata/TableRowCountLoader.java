@@ -0,0 +1,56 @@
+package com.jfeatures.msg.codegen.dbmetadata;
+
+import java.sql.ResultSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Loads the number of rows of every table of a schema from {@code sys.partitions}. The counts are maintained by
+ * the storage engine, so no table is scanned. They are used to estimate the size of recommended indexes and,
+ * with the column statistics, the result rows of a SELECT, which decide whether its DAO returns a list, pages or streams.
+ * <p>
+ * {@code sys.dm_db_partition_stats} reports the same counts but requires {@code VIEW DATABASE STATE}, while
+ * {@code sys.partitions} only needs the metadata visibility the schema catalog query already relies on.
+ */
+@Slf4j
+public class TableRowCountLoader {
+
+    /** Index 0 is the heap and index 1 the clustered index; either holds every row of the table exactly once. */
+    static final String ROW_COUNT_QUERY = """
+        SELECT s.name AS schema_name,
+               o.name AS table_name,
+               SUM(p.rows) AS row_count
+        FROM sys.partitions p
+        JOIN sys.objects o ON o.object_id = p.object_id AND o.type = 'U'
+        JOIN sys.schemas s ON s.schema_id = o.schema_id
+        WHERE p.index_id IN (0, 1) AND s.name = ?
+        GROUP BY s.name, o.name
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TableRowCountLoader(JdbcTemplate jdbcTemplate) {
+        if (jdbcTemplate == null) {
+            throw new IllegalArgumentException("JdbcTemplate cannot be null");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns the row count of every table of the schema, keyed by {@link SchemaCatalog#tableKey(String, String)}.
+     */
+    public Map<String, Long> loadRowCounts(String schemaName) {
+        if (schemaName == null || schemaName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Schema name cannot be null or empty");
+        }
+        Map<String, Long> rowCounts = new LinkedHashMap<>();
+        jdbcTemplate.query(ROW_COUNT_QUERY, (ResultSet rs) -> {
+            rowCounts.put(SchemaCatalog.tableKey(rs.getString("schema_name"), rs.getString("table_name")),
+                          rs.getLong("row_count"));
+        }, schemaName);
+        log.info("Loaded row counts for {} tables", rowCounts.size());
+        return rowCounts;
+    }
+}
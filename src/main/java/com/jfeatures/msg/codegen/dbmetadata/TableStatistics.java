@@ -0,0 +1,57 @@
+package com.jfeatures.msg.codegen.dbmetadata;
+
+import com.jfeatures.msg.codegen.util.TableReferenceFinder;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * The row counts of the tables of a schema and the number of distinct values of their columns, used to estimate
+ * how many rows a statement returns.
+ *
+ * @param rowCounts the row counts keyed by {@link SchemaCatalog#tableKey(String, String)}
+ * @param distinctValues the distinct values of the columns that have statistics, keyed by
+ *                       {@link #columnKey(String, String, String)}
+ */
+public record TableStatistics(Map<String, Long> rowCounts, Map<String, Long> distinctValues) {
+
+    private static final TableStatistics EMPTY = new TableStatistics(Map.of(), Map.of());
+
+    public TableStatistics {
+        if (rowCounts == null || distinctValues == null) {
+            throw new IllegalArgumentException("Row counts and distinct values cannot be null");
+        }
+        rowCounts = Map.copyOf(rowCounts);
+        distinctValues = Map.copyOf(distinctValues);
+    }
+
+    /**
+     * Returns statistics without any table, as for a run without a database.
+     */
+    public static TableStatistics empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns the normalized lookup key of a column: its {@link SchemaCatalog#tableKey(String, String) table key}
+     * followed by the lower-case column name with quoting removed.
+     */
+    public static String columnKey(String schemaName, String tableName, String columnName) {
+        String unquoted = TableReferenceFinder.unquote(columnName);
+        return SchemaCatalog.tableKey(schemaName, tableName) + "." + (unquoted == null ? "" : unquoted.toLowerCase(Locale.ROOT));
+    }
+
+    public boolean isEmpty() {
+        return rowCounts.isEmpty();
+    }
+
+    public OptionalLong rowCount(String schemaName, String tableName) {
+        Long rowCount = rowCounts.get(SchemaCatalog.tableKey(schemaName, tableName));
+        return rowCount != null ? OptionalLong.of(rowCount) : OptionalLong.empty();
+    }
+
+    public OptionalLong distinctValues(String schemaName, String tableName, String columnName) {
+        Long distinct = distinctValues.get(columnKey(schemaName, tableName, columnName));
+        return distinct != null ? OptionalLong.of(distinct) : OptionalLong.empty();
+    }
+}
@@ -0,0 +1,49 @@
+package com.jfeatures.msg.codegen.dbmetadata;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Loads the last DDL modification time of every table and view from {@code sys.objects}.
+ * The result is the schema version that {@link MetadataCache} entries are validated against:
+ * a table whose {@code modify_date} changed invalidates only the cache entries that reference it.
+ */
+@Slf4j
+public class TableVersionLoader {
+
+    static final String TABLE_VERSION_QUERY = """
+        SELECT s.name AS schema_name,
+               o.name AS table_name,
+               o.modify_date
+        FROM sys.objects o
+        JOIN sys.schemas s ON s.schema_id = o.schema_id
+        WHERE o.type IN ('U', 'V')
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TableVersionLoader(JdbcTemplate jdbcTemplate) {
+        if (jdbcTemplate == null) {
+            throw new IllegalArgumentException("JdbcTemplate cannot be null");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns the modification time of every table and view, keyed by {@link SchemaCatalog#tableKey(String, String)}.
+     */
+    public Map<String, String> loadTableVersions() {
+        Map<String, String> versions = new LinkedHashMap<>();
+        jdbcTemplate.query(TABLE_VERSION_QUERY, (ResultSet rs) -> {
+            Timestamp modifyDate = rs.getTimestamp("modify_date");
+            versions.put(SchemaCatalog.tableKey(rs.getString("schema_name"), rs.getString("table_name")),
+                         modifyDate != null ? modifyDate.toInstant().toString() : "");
+        });
+        log.info("Loaded modification dates for {} tables", versions.size());
+        return versions;
+    }
+}
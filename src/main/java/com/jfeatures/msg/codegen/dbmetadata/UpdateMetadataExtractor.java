@@ -1,10 +1,15 @@
 package com.jfeatures.msg.codegen.dbmetadata;
 
+import com.jfeatures.msg.codegen.domain.ParameterReference;
+import com.jfeatures.msg.codegen.domain.TableReference;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import com.jfeatures.msg.codegen.util.TableReferenceFinder;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import javax.sql.DataSource;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.jsqlparser.JSQLParserException;
@@ -13,7 +18,6 @@ import net.sf.jsqlparser.expression.ExpressionVisitorAdapter;
 import net.sf.jsqlparser.expression.JdbcParameter;
 import net.sf.jsqlparser.expression.operators.relational.ComparisonOperator;
 import net.sf.jsqlparser.expression.operators.relational.ExpressionList;
-import net.sf.jsqlparser.parser.CCJSqlParserUtil;
 import net.sf.jsqlparser.schema.Column;
 import net.sf.jsqlparser.statement.Statement;
 import net.sf.jsqlparser.statement.update.Update;
@@ -27,9 +31,19 @@ import net.sf.jsqlparser.statement.update.UpdateSet;
 public class UpdateMetadataExtractor {
     
     private final DataSource dataSource;
+    private final SchemaCatalog schemaCatalog;
 
     public UpdateMetadataExtractor(DataSource dataSource) {
+        this(dataSource, null);
+    }
+
+    /**
+     * Creates an extractor that resolves SET and WHERE columns from a preloaded schema catalog,
+     * falling back to JDBC metadata only for tables the catalog does not contain.
+     */
+    public UpdateMetadataExtractor(DataSource dataSource, SchemaCatalog schemaCatalog) {
         this.dataSource = dataSource;
+        this.schemaCatalog = schemaCatalog;
     }
     
     /**
@@ -39,19 +53,31 @@ public class UpdateMetadataExtractor {
         if (sql == null || sql.isBlank()) {
             throw new IllegalArgumentException("SQL is not an UPDATE statement");
         }
-        // Parse UPDATE with JSQLParser 5.x
-        Statement statement = CCJSqlParserUtil.parse(sql);
+        return extractUpdateMetadata(SqlCompilationUnit.compile(sql));
+    }
+
+    /**
+     * Extracts metadata from an already compiled UPDATE statement; the syntax tree is shared
+     * by the SET and WHERE analysis instead of parsing the SQL again.
+     */
+    public UpdateMetadata extractUpdateMetadata(SqlCompilationUnit unit) throws JSQLParserException, SQLException {
+        if (unit == null) {
+            throw new IllegalArgumentException("SQL is not an UPDATE statement");
+        }
+        String sql = unit.sql();
+        Statement statement = unit.requireStatement();
         if (!(statement instanceof Update updateStatement)) {
             throw new IllegalArgumentException("SQL is not an UPDATE statement");
         }
 
-        String tableName = updateStatement.getTable().getName();
+        // The generated DAO updates the table as named in the statement, schema included
+        String tableName = updateStatement.getTable().getFullyQualifiedName();
 
         // Extract SET columns from parsed statement
         List<ColumnMetadata> setColumns = extractSetColumns(updateStatement);
         
-        // Extract WHERE columns using parameter metadata
-        List<ColumnMetadata> whereColumns = extractWhereColumns(sql);
+        // Extract WHERE columns from the catalog, or parameter metadata for what it cannot resolve
+        List<ColumnMetadata> whereColumns = extractWhereColumns(unit, updateStatement);
         
         return new UpdateMetadata(tableName, setColumns, whereColumns, sql);
     }
@@ -62,29 +88,23 @@ public class UpdateMetadataExtractor {
 
         // Build a map of table column metadata
         java.util.Map<String, ColumnMetadata> columnTypeMap = new java.util.HashMap<>();
-        try (Connection connection = dataSource.getConnection()) {
-            var dbMetaData = connection.getMetaData();
-            var resultSet = dbMetaData.getColumns(null, null, tableName, null);
-            while (resultSet.next()) {
-                String columnName = resultSet.getString("COLUMN_NAME");
-                String dataType = resultSet.getString("TYPE_NAME");
-                int sqlType = resultSet.getInt("DATA_TYPE");
-                boolean nullable = resultSet.getInt("NULLABLE") == 1;
-
-                ColumnMetadata metadata = new ColumnMetadata();
-                metadata.setColumnName(columnName);
-                metadata.setColumnTypeName(dataType);
-                metadata.setColumnType(sqlType);
-                metadata.setIsNullable(nullable ? 1 : 0);
-                columnTypeMap.put(columnName.toLowerCase(), metadata);
+        String schemaName = TableReferenceFinder.unquote(updateStatement.getTable().getSchemaName());
+        Optional<CatalogTable> catalogTable = schemaCatalog != null
+            ? schemaCatalog.findTable(schemaName, tableName)
+            : Optional.empty();
+        if (catalogTable.isPresent()) {
+            for (CatalogColumn catalogColumn : catalogTable.get().columns()) {
+                columnTypeMap.put(catalogColumn.columnName().toLowerCase(), catalogColumn.toColumnMetadata());
             }
+        } else {
+            loadColumnTypesFromDatabase(tableName, columnTypeMap);
         }
 
         for (UpdateSet updateSet : updateStatement.getUpdateSets()) {
             ExpressionList<Column> cols = updateSet.getColumns();
             if (cols == null) continue;
             for (Column column : cols) {
-                String columnName = column.getColumnName();
+                String columnName = TableReferenceFinder.unquote(column.getColumnName());
                 ColumnMetadata metadata = columnTypeMap.get(columnName.toLowerCase());
                 if (metadata != null) {
                     setColumns.add(metadata);
@@ -102,17 +122,88 @@ public class UpdateMetadataExtractor {
 
         return setColumns;
     }
+
+    private void loadColumnTypesFromDatabase(String tableName, java.util.Map<String, ColumnMetadata> columnTypeMap) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            var dbMetaData = connection.getMetaData();
+            var resultSet = dbMetaData.getColumns(null, null, tableName, null);
+            while (resultSet.next()) {
+                String columnName = resultSet.getString("COLUMN_NAME");
+                String dataType = resultSet.getString("TYPE_NAME");
+                int sqlType = resultSet.getInt("DATA_TYPE");
+                boolean nullable = resultSet.getInt("NULLABLE") == 1;
+
+                ColumnMetadata metadata = new ColumnMetadata();
+                metadata.setColumnName(columnName);
+                metadata.setColumnTypeName(dataType);
+                metadata.setColumnType(sqlType);
+                metadata.setIsNullable(nullable ? 1 : 0);
+                columnTypeMap.put(columnName.toLowerCase(), metadata);
+            }
+        }
+    }
     
+    /**
+     * Resolves the WHERE parameters from the schema catalog when one is loaded: a {@code column = ?} parameter
+     * takes the type and name of its column. Only parameters the catalog cannot resolve are described by
+     * PreparedStatement parameter metadata.
+     */
+    private List<ColumnMetadata> extractWhereColumns(SqlCompilationUnit unit, Update updateStatement) throws SQLException {
+        int setParameterCount = countSetParameters(updateStatement);
+        if (schemaCatalog == null) {
+            return extractWhereColumnsFromDriver(unit.sql(), updateStatement, setParameterCount);
+        }
+
+        List<ParameterReference> parameters = unit.parameters();
+        List<ColumnMetadata> whereColumns = new ArrayList<>();
+        boolean unresolved = false;
+        for (int i = setParameterCount; i < parameters.size(); i++) {
+            Optional<CatalogColumn> column = resolveFromCatalog(parameters.get(i), unit.tableReferences());
+            whereColumns.add(column.map(CatalogColumn::toColumnMetadata).orElse(null));
+            unresolved |= column.isEmpty();
+        }
+        if (!unresolved) {
+            return whereColumns;
+        }
+
+        List<ColumnMetadata> driverColumns = extractWhereColumnsFromDriver(unit.sql(), updateStatement, setParameterCount);
+        if (driverColumns.size() != whereColumns.size()) {
+            // The parsed fallback does not line up with the placeholders, so it cannot fill single gaps
+            return driverColumns;
+        }
+        for (int i = 0; i < whereColumns.size(); i++) {
+            if (whereColumns.get(i) == null) {
+                whereColumns.set(i, driverColumns.get(i));
+            }
+        }
+        return whereColumns;
+    }
+
+    private Optional<CatalogColumn> resolveFromCatalog(ParameterReference parameter, List<TableReference> tableReferences) {
+        if (!parameter.isBoundToColumn()) {
+            return Optional.empty();
+        }
+        String qualifier = parameter.qualifier();
+        List<CatalogColumn> matches = new ArrayList<>();
+        for (TableReference table : tableReferences) {
+            if (qualifier != null && !qualifier.equalsIgnoreCase(table.alias())
+                    && !qualifier.equalsIgnoreCase(table.tableName())) {
+                continue;
+            }
+            schemaCatalog.findColumn(table.schemaName(), table.tableName(), parameter.columnName()).ifPresent(matches::add);
+        }
+        // An unqualified column present in several joined tables is ambiguous
+        return matches.size() == 1 ? Optional.of(matches.get(0)) : Optional.empty();
+    }
+
     /**
      * Extracts WHERE columns using PreparedStatement parameter metadata.
      */
-    private List<ColumnMetadata> extractWhereColumns(String sql) throws SQLException {
+    private List<ColumnMetadata> extractWhereColumnsFromDriver(String sql, Update updateStatement,
+                                                               int setParameterCount) throws SQLException {
         List<ColumnMetadata> whereColumns = new ArrayList<>();
         
         try (Connection connection = dataSource.getConnection()) {
-            // Count parameters in SET clause to skip them
-            int setParameterCount = countSetParameters(sql);
-            
             try (PreparedStatement ps = connection.prepareStatement(sql)) {
                 var paramMetaData = ps.getParameterMetaData();
                 int totalParams = paramMetaData.getParameterCount();
@@ -137,7 +228,7 @@ public class UpdateMetadataExtractor {
         } catch (SQLException e) {
             log.warn("Could not extract WHERE parameter metadata: {}", e.getMessage());
             // Fallback: try to extract WHERE columns by parsing
-            whereColumns.addAll(extractWhereColumnsByParsing(sql));
+            whereColumns.addAll(extractWhereColumnsFromStatement(updateStatement));
         }
         
         return whereColumns;
@@ -146,24 +237,7 @@ public class UpdateMetadataExtractor {
     /**
      * Counts the number of parameters in the SET clause.
      */
-    private int countSetParameters(String sql) {
-        try {
-            return countSetParametersByParsing(sql);
-        } catch (JSQLParserException e) {
-            log.warn("Could not parse UPDATE to count SET params: {}", e.getMessage());
-            return countSetParametersByStringAnalysis(sql);
-        }
-    }
-    
-    /**
-     * Counts SET parameters using JSQLParser.
-     */
-    private int countSetParametersByParsing(String sql) throws JSQLParserException {
-        Statement statement = CCJSqlParserUtil.parse(sql);
-        if (!(statement instanceof Update updateStatement)) {
-            return 0;
-        }
-        
+    private int countSetParameters(Update updateStatement) {
         return updateStatement.getUpdateSets()
                 .stream()
                 .mapToInt(this::countParametersInUpdateSet)
@@ -185,45 +259,25 @@ public class UpdateMetadataExtractor {
     }
     
     /**
-     * Fallback method to count SET parameters by string analysis.
-     */
-    private int countSetParametersByStringAnalysis(String sql) {
-        String upperSql = sql.toUpperCase();
-        int setIndex = upperSql.indexOf("SET");
-        if (setIndex == -1) {
-            return 0;
-        }
-        
-        int whereIndex = upperSql.indexOf("WHERE", setIndex);
-        String setClause = whereIndex == -1 ? sql.substring(setIndex) : sql.substring(setIndex, whereIndex);
-        return (int) setClause.chars().filter(ch -> ch == '?').count();
-    }
-    
-    /**
-     * Fallback method to extract WHERE columns by parsing the SQL.
+     * Fallback method to extract WHERE columns from the parsed statement.
      */
-    private List<ColumnMetadata> extractWhereColumnsByParsing(String sql) {
+    private List<ColumnMetadata> extractWhereColumnsFromStatement(Update updateStatement) {
         List<ColumnMetadata> whereColumns = new ArrayList<>();
-        try {
-            Statement statement = CCJSqlParserUtil.parse(sql);
-            if (statement instanceof Update updateStatement && updateStatement.getWhere() != null) {
-                updateStatement.getWhere().accept(new ExpressionVisitorAdapter<Void>() {
-                    @Override
-                    protected <S> Void visitBinaryExpression(BinaryExpression expr, S context) {
-                        if (expr instanceof ComparisonOperator && expr.getLeftExpression() instanceof Column column) {
-                            ColumnMetadata columnMetadata = new ColumnMetadata();
-                            columnMetadata.setColumnName(column.getColumnName());
-                            columnMetadata.setColumnTypeName("VARCHAR");
-                            columnMetadata.setColumnType(java.sql.Types.VARCHAR);
-                            columnMetadata.setIsNullable(1);
-                            whereColumns.add(columnMetadata);
-                        }
-                        return super.visitBinaryExpression(expr, context);
+        if (updateStatement.getWhere() != null) {
+            updateStatement.getWhere().accept(new ExpressionVisitorAdapter<Void>() {
+                @Override
+                protected <S> Void visitBinaryExpression(BinaryExpression expr, S context) {
+                    if (expr instanceof ComparisonOperator && expr.getLeftExpression() instanceof Column column) {
+                        ColumnMetadata columnMetadata = new ColumnMetadata();
+                        columnMetadata.setColumnName(column.getColumnName());
+                        columnMetadata.setColumnTypeName("VARCHAR");
+                        columnMetadata.setColumnType(java.sql.Types.VARCHAR);
+                        columnMetadata.setIsNullable(1);
+                        whereColumns.add(columnMetadata);
                     }
-                }, null);
-            }
-        } catch (JSQLParserException e) {
-            log.warn("Could not parse WHERE clause: {}", e.getMessage());
+                    return super.visitBinaryExpression(expr, context);
+                }
+            }, null);
         }
         return whereColumns;
     }
@@ -0,0 +1,43 @@
+package com.jfeatures.msg.codegen.domain;
+
+import com.jfeatures.msg.codegen.util.SqlStatementType;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Outcome of generating one microservice of a batch run.
+ * A failed generation has a null statement type and carries the error message.
+ */
+public record BatchGenerationResult(
+    Path sqlFile,
+    String businessDomainName,
+    Path destination,
+    SqlStatementType statementType,
+    String errorMessage,
+    Duration elapsed
+) {
+
+    public BatchGenerationResult {
+        if (sqlFile == null) {
+            throw new IllegalArgumentException("SQL file cannot be null");
+        }
+        if (elapsed == null) {
+            throw new IllegalArgumentException("Elapsed time cannot be null");
+        }
+    }
+
+    public static BatchGenerationResult success(Path sqlFile, String businessDomainName, Path destination,
+                                                SqlStatementType statementType, Duration elapsed) {
+        return new BatchGenerationResult(sqlFile, businessDomainName, destination, statementType, null, elapsed);
+    }
+
+    public static BatchGenerationResult failure(Path sqlFile, String businessDomainName, Path destination,
+                                                String errorMessage, Duration elapsed) {
+        return new BatchGenerationResult(sqlFile, businessDomainName, destination, null,
+                                         errorMessage != null ? errorMessage : "Unknown error", elapsed);
+    }
+
+    public boolean succeeded() {
+        return errorMessage == null;
+    }
+}
@@ -0,0 +1,46 @@
+package com.jfeatures.msg.codegen.domain;
+
+import com.jfeatures.msg.codegen.util.SqlStatementType;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Outcome of generating one CRUD microservice of a table in schema-wide generation.
+ * A failed generation carries the error message.
+ */
+public record CrudGenerationResult(
+    String tableName,
+    SqlStatementType operation,
+    String businessDomainName,
+    Path destination,
+    String errorMessage,
+    Duration elapsed
+) {
+
+    public CrudGenerationResult {
+        if (tableName == null || tableName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Table name cannot be null or empty");
+        }
+        if (operation == null) {
+            throw new IllegalArgumentException("Operation cannot be null");
+        }
+        if (elapsed == null) {
+            throw new IllegalArgumentException("Elapsed time cannot be null");
+        }
+    }
+
+    public static CrudGenerationResult success(String tableName, SqlStatementType operation, String businessDomainName,
+                                               Path destination, Duration elapsed) {
+        return new CrudGenerationResult(tableName, operation, businessDomainName, destination, null, elapsed);
+    }
+
+    public static CrudGenerationResult failure(String tableName, SqlStatementType operation, String businessDomainName,
+                                               Path destination, String errorMessage, Duration elapsed) {
+        return new CrudGenerationResult(tableName, operation, businessDomainName, destination,
+                                        errorMessage != null ? errorMessage : "Unknown error", elapsed);
+    }
+
+    public boolean succeeded() {
+        return errorMessage == null;
+    }
+}
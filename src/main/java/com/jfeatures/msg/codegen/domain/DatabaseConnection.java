@@ -1,5 +1,8 @@
 package com.jfeatures.msg.codegen.domain;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import javax.sql.DataSource;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
@@ -8,12 +11,13 @@ import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
  * Represents all database connection components needed for microservice generation.
  * This value object encapsulates the DataSource and both JDBC templates used
  * throughout the code generation process.
+ * Closing it releases the underlying connection pool, if the DataSource is pooled.
  */
 public record DatabaseConnection(
     DataSource dataSource,
     JdbcTemplate jdbcTemplate,
     NamedParameterJdbcTemplate namedParameterJdbcTemplate
-) {
+) implements AutoCloseable {
     
     public DatabaseConnection {
         if (dataSource == null) {
@@ -26,4 +30,15 @@ public record DatabaseConnection(
             throw new IllegalArgumentException("NamedParameterJdbcTemplate cannot be null");
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public void close() {
+        if (dataSource instanceof Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to close DataSource: " + e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.jfeatures.msg.codegen.domain;
+
+import java.util.List;
+
+/**
+ * Outcome of analyzing the estimated execution plan of the statement of one microservice.
+ *
+ * @param businessDomainName the name of the microservice
+ * @param sql the analyzed statement, with {@code ?} placeholders
+ * @param estimatedCost the estimated subtree cost of the statement, in the optimizer's cost units
+ * @param findings the potential problems, in plan order
+ */
+public record ExecutionPlanReport(
+    String businessDomainName,
+    String sql,
+    double estimatedCost,
+    List<PlanFinding> findings
+) {
+
+    public ExecutionPlanReport {
+        if (findings == null) {
+            throw new IllegalArgumentException("Findings cannot be null");
+        }
+        findings = List.copyOf(findings);
+    }
+
+    /**
+     * Returns the table and index scans estimated to read at least the given number of rows.
+     */
+    public List<PlanFinding> scansReading(long minimumRows) {
+        return findings.stream()
+            .filter(PlanFinding::isScan)
+            .filter(finding -> finding.estimatedRows() >= minimumRows)
+            .toList();
+    }
+}
@@ -0,0 +1,46 @@
+package com.jfeatures.msg.codegen.domain;
+
+import com.squareup.javapoet.JavaFile;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Several generated microservices written as one Spring Boot project: the DTO, controller and DAO of every
+ * microservice share one application class and one database configuration.
+ *
+ * @param projectName the business name of the project, which names its application class and configuration package
+ * @param springBootApplication the application class of the project
+ * @param databaseConfigContent the database configuration of the project
+ * @param microservices the microservices of the project, each with its own business domain name
+ */
+public record GeneratedProject(
+    String projectName,
+    JavaFile springBootApplication,
+    String databaseConfigContent,
+    List<GeneratedMicroservice> microservices
+) {
+
+    public GeneratedProject {
+        if (projectName == null || projectName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Project name cannot be null or empty");
+        }
+        if (springBootApplication == null) {
+            throw new IllegalArgumentException("Spring Boot application file cannot be null");
+        }
+        if (databaseConfigContent == null || databaseConfigContent.trim().isEmpty()) {
+            throw new IllegalArgumentException("Database config content cannot be null or empty");
+        }
+        if (microservices == null || microservices.isEmpty()) {
+            throw new IllegalArgumentException("Microservices cannot be null or empty");
+        }
+        // Packages are named after the lower-case business domain name
+        long distinctNames = microservices.stream()
+            .map(microservice -> microservice.businessDomainName().toLowerCase(Locale.ROOT))
+            .distinct()
+            .count();
+        if (distinctNames < microservices.size()) {
+            throw new IllegalArgumentException("Microservices of a project need distinct business domain names");
+        }
+        microservices = List.copyOf(microservices);
+    }
+}
@@ -0,0 +1,60 @@
+package com.jfeatures.msg.codegen.domain;
+
+import java.util.List;
+
+/**
+ * A nonclustered index a generated statement needs, because no existing index lets it seek on its predicate
+ * columns and read its other columns without a lookup into the table.
+ *
+ * @param schemaName the schema of the table
+ * @param tableName the indexed table
+ * @param indexName the name of the new index, or of the existing index it extends
+ * @param keyColumns the equality predicate columns, then at most one range predicate column
+ * @param includedColumns the other columns the statement reads from the table
+ * @param extendsExisting whether the index replaces an existing index with the same keys ({@code DROP_EXISTING})
+ * @param bytesPerRow the estimated size of one leaf-level row, including the row locator
+ * @param tableRows the number of rows of the table, or null when unknown
+ * @param reason why the existing indexes do not support the statement
+ */
+public record IndexRecommendation(
+    String schemaName,
+    String tableName,
+    String indexName,
+    List<String> keyColumns,
+    List<String> includedColumns,
+    boolean extendsExisting,
+    int bytesPerRow,
+    Long tableRows,
+    String reason
+) {
+
+    /** Usable bytes of an 8 KB page, after the page header. */
+    private static final int PAGE_DATA_BYTES = 8096;
+    private static final int PAGE_BYTES = 8192;
+    /** Each row also takes a 2-byte entry in the slot array of its page. */
+    private static final int SLOT_BYTES = 2;
+
+    public IndexRecommendation {
+        if (tableName == null || tableName.isBlank() || indexName == null || indexName.isBlank()) {
+            throw new IllegalArgumentException("Table and index name cannot be null or empty");
+        }
+        if (keyColumns == null || keyColumns.isEmpty()) {
+            throw new IllegalArgumentException("An index needs at least one key column");
+        }
+        keyColumns = List.copyOf(keyColumns);
+        includedColumns = includedColumns != null ? List.copyOf(includedColumns) : List.of();
+    }
+
+    /**
+     * Returns the estimated size of the leaf level of the index, which holds one row per table row, or null when
+     * the number of rows of the table is unknown.
+     */
+    public Long estimatedSizeBytes() {
+        if (tableRows == null) {
+            return null;
+        }
+        long rowsPerPage = Math.max(1, PAGE_DATA_BYTES / (bytesPerRow + SLOT_BYTES));
+        long pages = (tableRows + rowsPerPage - 1) / rowsPerPage;
+        return pages * PAGE_BYTES;
+    }
+}
@@ -0,0 +1,71 @@
+package com.jfeatures.msg.codegen.domain;
+
+import java.util.List;
+
+/**
+ * Latency and logical reads of the statement of one microservice, measured at generation time by executing it with
+ * parameter values sampled from the columns they are compared with. The generated regression test repeats the
+ * measurement and fails when the live numbers exceed the baseline by more than the tolerance.
+ *
+ * @param businessDomainName the name of the microservice
+ * @param sql the measured statement, with {@code ?} placeholders
+ * @param parameterSamples the queries the parameter values are sampled with, one per table
+ * @param warmupIterations the executions before the measured ones, which are not measured
+ * @param iterations the measured executions
+ * @param p50Micros the median latency in microseconds, including reading every returned row
+ * @param p99Micros the 99th percentile latency in microseconds
+ * @param logicalReads the most logical reads of one execution, summed over its tables
+ * @param tolerance the fraction by which the live numbers may exceed the baseline, e.g. 1.0 allows twice the baseline
+ */
+public record LatencyBaseline(
+    String businessDomainName,
+    String sql,
+    List<ParameterSample> parameterSamples,
+    int warmupIterations,
+    int iterations,
+    long p50Micros,
+    long p99Micros,
+    long logicalReads,
+    double tolerance
+) {
+
+    /** Latency varies with the load of the database and the machine it is measured on, so the default is generous. */
+    public static final double DEFAULT_TOLERANCE = 1.0;
+
+    public LatencyBaseline {
+        if (sql == null || sql.trim().isEmpty()) {
+            throw new IllegalArgumentException("SQL cannot be null or empty");
+        }
+        if (parameterSamples == null) {
+            throw new IllegalArgumentException("Parameter samples cannot be null");
+        }
+        if (warmupIterations < 0 || iterations < 1) {
+            throw new IllegalArgumentException("At least one measured iteration is required");
+        }
+        if (tolerance < 0) {
+            throw new IllegalArgumentException("Tolerance cannot be negative");
+        }
+        parameterSamples = List.copyOf(parameterSamples);
+    }
+
+    /**
+     * A query returning rows of values for some parameters of the statement: the value in its n-th column is bound to
+     * the n-th of the parameter positions. The parameters compared with columns of the same table are sampled
+     * together, so the values of one row belong together.
+     *
+     * @param query the sampling query
+     * @param parameterPositions the 1-based positions of the parameters, in the order of the selected columns
+     */
+    public record ParameterSample(String query, List<Integer> parameterPositions) {
+
+        public ParameterSample {
+            if (query == null || query.trim().isEmpty()) {
+                throw new IllegalArgumentException("Sample query cannot be null or empty");
+            }
+            if (parameterPositions == null || parameterPositions.isEmpty()) {
+                throw new IllegalArgumentException("Parameter positions cannot be null or empty");
+            }
+            parameterPositions = List.copyOf(parameterPositions);
+        }
+    }
+}
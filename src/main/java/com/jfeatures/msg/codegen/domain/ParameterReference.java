@@ -0,0 +1,29 @@
+package com.jfeatures.msg.codegen.domain;
+
+/**
+ * A {@code ?} placeholder of a SQL statement, numbered from 1 in order of appearance.
+ * When the placeholder is compared for equality with a column ({@code alias.column = ?}, possibly cast to the
+ * column type) the unquoted qualifier and column name are recorded; otherwise both are null.
+ */
+public record ParameterReference(int position, String qualifier, String columnName) {
+
+    public ParameterReference {
+        if (position < 1) {
+            throw new IllegalArgumentException("Parameter position must be positive");
+        }
+    }
+
+    public boolean isBoundToColumn() {
+        return columnName != null;
+    }
+
+    /**
+     * Returns the column as written in the SQL, e.g. {@code cus.customer_id}, or null when the parameter is not bound to a column.
+     */
+    public String columnReference() {
+        if (columnName == null) {
+            return null;
+        }
+        return qualifier != null ? qualifier + "." + columnName : columnName;
+    }
+}
@@ -0,0 +1,51 @@
+package com.jfeatures.msg.codegen.domain;
+
+/**
+ * A potential performance problem found in the estimated execution plan of a generated statement.
+ *
+ * @param type the kind of problem
+ * @param objectName the table or index concerned, e.g. {@code [dbo].[rental].[PK_rental]}, or null when the
+ *                   finding is not tied to one object
+ * @param estimatedRows the rows the operator is estimated to read, or 0 when not applicable
+ * @param detail a human readable description, e.g. the implicit conversion or the suggested index
+ */
+public record PlanFinding(Type type, String objectName, double estimatedRows, String detail) {
+
+    public enum Type {
+        /** A heap or clustered index is read in full. */
+        TABLE_SCAN("Table scan"),
+        /** A nonclustered index is read in full. */
+        INDEX_SCAN("Index scan"),
+        /** Every row found through a nonclustered index is looked up in the clustered index or heap. */
+        KEY_LOOKUP("Key lookup"),
+        /** A column is converted to the parameter type, which can prevent an index seek. */
+        IMPLICIT_CONVERSION("Implicit conversion"),
+        /** The optimizer would have used an index that does not exist. */
+        MISSING_INDEX("Missing index"),
+        /** The estimated cost of the statement exceeds the threshold. */
+        HIGH_COST("High estimated cost");
+
+        private final String label;
+
+        Type(String label) {
+            this.label = label;
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+
+    public PlanFinding {
+        if (type == null) {
+            throw new IllegalArgumentException("Finding type cannot be null");
+        }
+        if (detail == null) {
+            throw new IllegalArgumentException("Finding detail cannot be null");
+        }
+    }
+
+    public boolean isScan() {
+        return type == Type.TABLE_SCAN || type == Type.INDEX_SCAN;
+    }
+}
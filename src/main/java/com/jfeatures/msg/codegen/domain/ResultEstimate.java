@@ -0,0 +1,22 @@
+package com.jfeatures.msg.codegen.domain;
+
+import java.util.OptionalLong;
+
+/**
+ * The estimated rows of a SELECT and the {@link ResultShape} chosen for them, stored in the metadata store so a
+ * cached statement is shaped without reading the table statistics again.
+ *
+ * @param estimatedRows the estimated number of result rows; null when they could not be estimated
+ */
+public record ResultEstimate(Long estimatedRows, ResultShape resultShape) {
+
+    public ResultEstimate {
+        if (resultShape == null) {
+            throw new IllegalArgumentException("Result shape cannot be null");
+        }
+    }
+
+    public OptionalLong rows() {
+        return estimatedRows != null ? OptionalLong.of(estimatedRows) : OptionalLong.empty();
+    }
+}
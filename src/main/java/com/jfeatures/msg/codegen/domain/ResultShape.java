@@ -0,0 +1,36 @@
+package com.jfeatures.msg.codegen.domain;
+
+import java.util.OptionalLong;
+
+/**
+ * How the generated endpoint of a SELECT returns its rows, chosen from the number of rows the statement is estimated
+ * to return.
+ */
+public enum ResultShape {
+    /** Every row is collected into a {@code List}; for at most {@link #LIST_MAX_ROWS} rows, or an unknown number. */
+    LIST,
+    /** One page of rows per request, read with {@code OFFSET ... FETCH NEXT}; for at most {@link #PAGED_MAX_ROWS} rows. */
+    PAGED,
+    /** Every row is written to the response as it is read, so no more than one row is held in memory. */
+    STREAM;
+
+    public static final long LIST_MAX_ROWS = 1_000;
+    public static final long PAGED_MAX_ROWS = 100_000;
+    /** The rows of a page when the caller does not ask for a page size. */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    /** The largest page returned, so a page never holds more rows than a result returned as a list. */
+    public static final int MAX_PAGE_SIZE = (int) LIST_MAX_ROWS;
+
+    /**
+     * Returns the shape for the estimated number of rows; a list when the number is unknown, as without statistics.
+     */
+    public static ResultShape forEstimatedRows(OptionalLong estimatedRows) {
+        if (estimatedRows == null) {
+            throw new IllegalArgumentException("Estimated rows cannot be null");
+        }
+        if (estimatedRows.isEmpty() || estimatedRows.getAsLong() <= LIST_MAX_ROWS) {
+            return LIST;
+        }
+        return estimatedRows.getAsLong() <= PAGED_MAX_ROWS ? PAGED : STREAM;
+    }
+}
@@ -0,0 +1,50 @@
+package com.jfeatures.msg.codegen.domain;
+
+/**
+ * A predicate of a SQL statement that prevents an index seek on the column it filters, found without a database.
+ *
+ * @param type the kind of problem
+ * @param predicate the predicate as printed by the parser, e.g. {@code YEAR(rental_date) = 2005}
+ * @param detail a human readable description of why no index can seek and what to do instead
+ * @param rewrite an equivalent predicate that can seek, or null when no rewrite is safe
+ */
+public record SargabilityFinding(Type type, String predicate, String detail, String rewrite) {
+
+    public enum Type {
+        /** A function is applied to the column, so the index order cannot be used. */
+        FUNCTION_ON_COLUMN("Function on column"),
+        /** The column is part of an arithmetic expression. */
+        ARITHMETIC_ON_COLUMN("Arithmetic on column"),
+        /** The column is shifted or compared with {@code DATEADD} or {@code DATEDIFF}. */
+        DATE_ARITHMETIC("Date arithmetic on column"),
+        /** A {@code LIKE} pattern starts with a wildcard. */
+        LEADING_WILDCARD("Leading wildcard"),
+        /** Conditions combined with OR filter different columns, or include an optional parameter. */
+        OR_ACROSS_COLUMNS("OR across columns"),
+        /** The column is converted to the type of the value it is compared with. */
+        IMPLICIT_CONVERSION("Implicit conversion");
+
+        private final String label;
+
+        Type(String label) {
+            this.label = label;
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+
+    public SargabilityFinding {
+        if (type == null) {
+            throw new IllegalArgumentException("Finding type cannot be null");
+        }
+        if (predicate == null || detail == null) {
+            throw new IllegalArgumentException("Finding predicate and detail cannot be null");
+        }
+    }
+
+    public boolean isRewritable() {
+        return rewrite != null;
+    }
+}
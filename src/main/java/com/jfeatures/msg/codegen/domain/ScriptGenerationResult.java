@@ -0,0 +1,43 @@
+package com.jfeatures.msg.codegen.domain;
+
+import com.jfeatures.msg.codegen.util.SqlStatementType;
+import java.time.Duration;
+
+/**
+ * Outcome of generating the microservice of one statement of a SQL script.
+ * A failed generation has no microservice and carries the error message.
+ */
+public record ScriptGenerationResult(
+    String businessDomainName,
+    int lineNumber,
+    SqlStatementType statementType,
+    GeneratedMicroservice microservice,
+    String errorMessage,
+    Duration elapsed
+) {
+
+    public ScriptGenerationResult {
+        if (businessDomainName == null || businessDomainName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Business domain name cannot be null or empty");
+        }
+        if (elapsed == null) {
+            throw new IllegalArgumentException("Elapsed time cannot be null");
+        }
+    }
+
+    public static ScriptGenerationResult success(ScriptStatement statement, SqlStatementType statementType,
+                                                 GeneratedMicroservice microservice, Duration elapsed) {
+        return new ScriptGenerationResult(statement.businessDomainName(), statement.lineNumber(), statementType,
+                                          microservice, null, elapsed);
+    }
+
+    public static ScriptGenerationResult failure(ScriptStatement statement, SqlStatementType statementType,
+                                                 String errorMessage, Duration elapsed) {
+        return new ScriptGenerationResult(statement.businessDomainName(), statement.lineNumber(), statementType, null,
+                                          errorMessage != null ? errorMessage : "Unknown error", elapsed);
+    }
+
+    public boolean succeeded() {
+        return errorMessage == null;
+    }
+}
@@ -0,0 +1,26 @@
+package com.jfeatures.msg.codegen.domain;
+
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+
+/**
+ * One statement of a multi-statement SQL script.
+ *
+ * @param businessDomainName the name of the microservice generated for the statement, from its {@code @name}
+ *                           annotation or numbered after the script
+ * @param lineNumber the 1-based line of the script the statement starts on
+ * @param unit the compiled statement, without its separator
+ */
+public record ScriptStatement(String businessDomainName, int lineNumber, SqlCompilationUnit unit) {
+
+    public ScriptStatement {
+        if (businessDomainName == null || businessDomainName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Business domain name cannot be null or empty");
+        }
+        if (lineNumber < 1) {
+            throw new IllegalArgumentException("Line number must be positive");
+        }
+        if (unit == null) {
+            throw new IllegalArgumentException("SQL statement cannot be null");
+        }
+    }
+}
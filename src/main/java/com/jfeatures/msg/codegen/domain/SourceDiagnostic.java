@@ -0,0 +1,17 @@
+package com.jfeatures.msg.codegen.domain;
+
+/**
+ * A compiler error reported for one generated source file.
+ *
+ * @param sourceFile the path of the file relative to the project root, e.g. {@code src/main/java/.../CustomerDAO.java}
+ * @param lineNumber the line of the error, or -1 when it is not tied to a position
+ * @param columnNumber the column of the error, or -1 when it is not tied to a position
+ * @param message the compiler message
+ */
+public record SourceDiagnostic(String sourceFile, long lineNumber, long columnNumber, String message) {
+
+    @Override
+    public String toString() {
+        return lineNumber < 0 ? sourceFile + ": " + message : sourceFile + ":" + lineNumber + ":" + columnNumber + ": " + message;
+    }
+}
@@ -0,0 +1,30 @@
+package com.jfeatures.msg.codegen.domain;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of compiling the generated sources of one microservice.
+ * The sources compile when there are no diagnostics.
+ */
+public record SourceVerificationResult(
+    String businessDomainName,
+    int sourceFileCount,
+    List<SourceDiagnostic> diagnostics,
+    Duration elapsed
+) {
+
+    public SourceVerificationResult {
+        if (diagnostics == null) {
+            throw new IllegalArgumentException("Diagnostics cannot be null");
+        }
+        if (elapsed == null) {
+            throw new IllegalArgumentException("Elapsed time cannot be null");
+        }
+        diagnostics = List.copyOf(diagnostics);
+    }
+
+    public boolean succeeded() {
+        return diagnostics.isEmpty();
+    }
+}
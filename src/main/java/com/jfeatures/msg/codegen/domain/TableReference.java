@@ -0,0 +1,14 @@
+package com.jfeatures.msg.codegen.domain;
+
+/**
+ * A table referenced by a SQL statement, with its optional schema and alias as written in the SQL.
+ * Names are unquoted (no brackets or double quotes).
+ */
+public record TableReference(String schemaName, String tableName, String alias) {
+
+    public TableReference {
+        if (tableName == null || tableName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Table name cannot be null or empty");
+        }
+    }
+}
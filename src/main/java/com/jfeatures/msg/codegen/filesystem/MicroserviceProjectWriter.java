@@ -1,25 +1,71 @@
 package com.jfeatures.msg.codegen.filesystem;
 
+import com.jfeatures.msg.codegen.GenerateLatencyRegressionTest;
 import com.jfeatures.msg.codegen.constants.ProjectConstants;
 import com.jfeatures.msg.codegen.domain.GeneratedMicroservice;
+import com.jfeatures.msg.codegen.domain.GeneratedProject;
 import com.jfeatures.msg.codegen.domain.ProjectDirectoryStructure;
+import com.jfeatures.msg.codegen.index.RecommendedIndexScriptRenderer;
+import com.jfeatures.msg.codegen.latency.LatencyBaselineRenderer;
+import com.jfeatures.msg.codegen.plan.PerformanceReportRenderer;
+import com.jfeatures.msg.codegen.profile.GenerationPhase;
+import com.jfeatures.msg.codegen.profile.GenerationProfiler;
 import com.squareup.javapoet.JavaFile;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Writes generated microservice files to the filesystem.
+ * Writes generated microservice files to the filesystem or streams them into a {@link ProjectOutputSink}.
  * Handles all file writing operations including Java source files,
  * configuration files, and template resource copying.
+ * Writing is incremental: a file is only replaced when its content changed, through a temporary file that is
+ * atomically moved into place, and generated files the project no longer contains are deleted. The files of each
+ * generation are listed in the {@value #GENERATED_FILES_MANIFEST} manifest at the project root, so the reports and
+ * tests written outside the generated source tree are deleted too once they are no longer requested.
+ * Unchanged files keep their modification time, so IDEs and incremental builds of the generated project skip them.
  */
 @Slf4j
 public class MicroserviceProjectWriter {
     
+    private static final String JAVA_FILE_EXTENSION = ".java";
+    // Project-relative paths handed to output sinks always use '/' separators
+    private static final String SRC_MAIN_JAVA = ProjectConstants.SRC_MAIN_JAVA_PATH.replace(File.separatorChar, '/');
+    private static final String SRC_MAIN_RESOURCES = ProjectConstants.SRC_MAIN_RESOURCES_PATH.replace(File.separatorChar, '/');
+    
+    /** Lists the files of the last generation, relative to the project root, one per line. */
+    public static final String GENERATED_FILES_MANIFEST = ".msg-generated-files";
+    
+    /**
+     * Files written outside the generated source tree by generations from before the manifest; deleted when a
+     * generation no longer produces them.
+     */
+    private static final List<String> GENERATED_REPORT_PATHS = List.of(PerformanceReportRenderer.REPORT_FILE_NAME,
+                                                                       RecommendedIndexScriptRenderer.SCRIPT_PATH,
+                                                                       LatencyBaselineRenderer.BASELINE_PATH);
+    
     private final ProjectDirectoryBuilder directoryBuilder;
     
     public MicroserviceProjectWriter() {
@@ -29,7 +75,7 @@ public class MicroserviceProjectWriter {
     /**
      * Writes a complete generated microservice to the filesystem.
      * Creates the project directory structure and writes all Java files,
-     * configuration files, and template resources.
+     * configuration files, and template resources that differ from what is on disk.
      * 
      * @param microservice the generated microservice to write
      * @param destinationPath the target directory path
@@ -37,27 +83,196 @@ public class MicroserviceProjectWriter {
      * @throws IllegalArgumentException if input parameters are invalid
      */
     public void writeMicroserviceProject(GeneratedMicroservice microservice, String destinationPath) throws IOException {
+        writeMicroserviceProject(microservice, Map.of(), destinationPath);
+    }
+    
+    /**
+     * Writes a generated microservice with its reports to the filesystem. The reports are written, kept and deleted
+     * like the other generated files: a report no longer requested is deleted.
+     * 
+     * @param microservice the generated microservice to write
+     * @param reportFiles the requested reports by path relative to the project root
+     * @param destinationPath the target directory path
+     * @throws IOException if file writing operations fail
+     * @throws IllegalArgumentException if input parameters are invalid
+     */
+    public void writeMicroserviceProject(GeneratedMicroservice microservice, Map<String, String> reportFiles,
+                                         String destinationPath) throws IOException {
         validateInputParameters(microservice, destinationPath);
+        if (reportFiles == null) {
+            throw new IllegalArgumentException("Report files cannot be null");
+        }
         
         log.info("Writing {} microservice to: {}", microservice.statementType(), destinationPath);
         
-        try {
+        // Render every file of the project before touching the disk
+        writeRenderedProject(() -> renderMicroserviceProject(microservice, reportFiles), destinationPath);
+        
+        log.info("Successfully wrote {} microservice for '{}' to: {}", 
+                microservice.statementType(), 
+                microservice.businessDomainName(), 
+                destinationPath);
+    }
+    
+    /**
+     * Writes several microservices as one project to the filesystem, incrementally like a single microservice.
+     * 
+     * @param project the microservices and the application class and database configuration they share
+     * @param destinationPath the target directory path
+     * @throws IOException if file writing operations fail
+     * @throws IllegalArgumentException if input parameters are invalid
+     */
+    public void writeProject(GeneratedProject project, String destinationPath) throws IOException {
+        if (project == null) {
+            throw new IllegalArgumentException("Generated project cannot be null");
+        }
+        if (destinationPath == null || destinationPath.trim().isEmpty()) {
+            throw new IllegalArgumentException("Destination path cannot be null or empty");
+        }
+        validatePathSecurity(destinationPath);
+        
+        log.info("Writing project {} with {} microservices to: {}", project.projectName(),
+                 project.microservices().size(), destinationPath);
+        writeRenderedProject(() -> renderProject(project), destinationPath);
+        log.info("Successfully wrote project '{}' to: {}", project.projectName(), destinationPath);
+    }
+    
+    /**
+     * Renders a generated project in memory without touching the filesystem.
+     * 
+     * @return the content of every project file keyed by its path relative to the project root, with {@code /} separators
+     * @throws IOException if a file cannot be rendered or a template resource is missing
+     */
+    public Map<String, byte[]> renderProject(GeneratedProject project) throws IOException {
+        Map<String, byte[]> projectFiles = new LinkedHashMap<>();
+        writeProject(project, (relativePath, content) -> {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            content.writeTo(buffer);
+            projectFiles.put(relativePath, buffer.toByteArray());
+        });
+        return projectFiles;
+    }
+    
+    /**
+     * Streams every file of a generated project into a sink, one file at a time: the shared application class,
+     * database configuration and templates, and the DTO, controller and DAO of each microservice.
+     * 
+     * @throws IOException if a file cannot be written or a template resource is missing
+     */
+    public void writeProject(GeneratedProject project, ProjectOutputSink sink) throws IOException {
+        if (project == null) {
+            throw new IllegalArgumentException("Generated project cannot be null");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Project output sink cannot be null");
+        }
+        writeJavaFile(sink, project.springBootApplication());
+        for (GeneratedMicroservice microservice : project.microservices()) {
+            writeJavaFile(sink, microservice.dtoFile());
+            writeJavaFile(sink, microservice.controllerFile());
+            writeJavaFile(sink, microservice.daoFile());
+        }
+        writeDatabaseConfigFile(sink, project.databaseConfigContent(), project.projectName());
+        writeTemplateFiles(sink);
+    }
+    
+    /**
+     * Renders a generated microservice in memory without touching the filesystem.
+     * 
+     * @param microservice the generated microservice to render
+     * @return the content of every project file keyed by its path relative to the project root, with {@code /} separators
+     * @throws IOException if a file cannot be rendered or a template resource is missing
+     */
+    public Map<String, byte[]> renderMicroserviceProject(GeneratedMicroservice microservice) throws IOException {
+        return renderMicroserviceProject(microservice, Map.of());
+    }
+    
+    private Map<String, byte[]> renderMicroserviceProject(GeneratedMicroservice microservice,
+                                                          Map<String, String> reportFiles) throws IOException {
+        Map<String, byte[]> projectFiles = new LinkedHashMap<>();
+        writeMicroserviceProject(microservice, reportFiles, (relativePath, content) -> {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            content.writeTo(buffer);
+            projectFiles.put(relativePath, buffer.toByteArray());
+        });
+        return projectFiles;
+    }
+    
+    /**
+     * Streams every file of a generated microservice into a sink, one file at a time:
+     * the JavaPoet sources, the database configuration and the pom.xml and application.properties templates.
+     * 
+     * @param microservice the generated microservice to write
+     * @param sink the destination of the project files
+     * @throws IOException if a file cannot be written or a template resource is missing
+     */
+    public void writeMicroserviceProject(GeneratedMicroservice microservice, ProjectOutputSink sink) throws IOException {
+        writeMicroserviceProject(microservice, Map.of(), sink);
+    }
+    
+    /**
+     * Streams every file of a generated microservice into a sink, followed by its reports.
+     * 
+     * @param microservice the generated microservice to write
+     * @param reportFiles the requested reports by path relative to the project root
+     * @param sink the destination of the project files
+     * @throws IOException if a file cannot be written or a template resource is missing
+     */
+    public void writeMicroserviceProject(GeneratedMicroservice microservice, Map<String, String> reportFiles,
+                                         ProjectOutputSink sink) throws IOException {
+        if (microservice == null) {
+            throw new IllegalArgumentException("Generated microservice cannot be null");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Project output sink cannot be null");
+        }
+        writeJavaFile(sink, microservice.springBootApplication());
+        writeJavaFile(sink, microservice.dtoFile());
+        writeJavaFile(sink, microservice.controllerFile());
+        writeJavaFile(sink, microservice.daoFile());
+        writeDatabaseConfigFile(sink, microservice.databaseConfigContent(), microservice.businessDomainName());
+        writeTemplateFiles(sink);
+        for (Map.Entry<String, String> report : reportFiles.entrySet()) {
+            byte[] content = report.getValue().getBytes(StandardCharsets.UTF_8);
+            sink.writeFile(report.getKey(), outputStream -> outputStream.write(content));
+        }
+    }
+    
+    /**
+     * Provides the rendered files of a project, keyed by path relative to its root.
+     */
+    @FunctionalInterface
+    private interface ProjectRenderer {
+        Map<String, byte[]> render() throws IOException;
+    }
+    
+    /**
+     * Writes the rendered files that differ from what is on disk, deletes the generated files the project no longer
+     * contains and records the rendered files in the manifest.
+     */
+    private void writeRenderedProject(ProjectRenderer renderer, String destinationPath) throws IOException {
+        try (GenerationProfiler.Phase ignored = GenerationProfiler.phase(GenerationPhase.WRITE, "project")) {
             // Build project directory structure
             ProjectDirectoryStructure directories = directoryBuilder.buildDirectoryStructure(destinationPath);
             
-            // Write all Java source files
-            writeJavaFile(microservice.springBootApplication(), directories.srcMainJava());
-            writeJavaFile(microservice.dtoFile(), directories.srcMainJava());
-            writeJavaFile(microservice.controllerFile(), directories.srcMainJava());
-            writeJavaFile(microservice.daoFile(), directories.srcMainJava());
-            
-            // Write database configuration file
-            writeDatabaseConfigFile(microservice.databaseConfigContent(), 
-                                   microservice.businessDomainName(), 
-                                   directories.srcMainJava());
+            Map<String, byte[]> renderedFiles = renderer.render();
+            Map<Path, byte[]> projectFiles = new LinkedHashMap<>();
+            renderedFiles.forEach((relativePath, content) ->
+                projectFiles.put(directories.targetDirectory().resolve(relativePath), content));
             
-            // Copy template files (pom.xml, application.properties)
-            copyTemplateFiles(directories);
+            int writtenCount = 0;
+            for (Map.Entry<Path, byte[]> projectFile : projectFiles.entrySet()) {
+                if (writeIfChanged(projectFile.getKey(), projectFile.getValue())) {
+                    writtenCount++;
+                }
+            }
+            int deletedCount = deleteStaleSources(directories.srcMainJava().resolve(ProjectConstants.JFEATURES_PACKAGE_PATH),
+                                                  projectFiles.keySet())
+                + deleteStaleGeneratedFiles(directories, projectFiles.keySet());
+            writeIfChanged(directories.targetDirectory().resolve(GENERATED_FILES_MANIFEST),
+                           manifest(renderedFiles.keySet()));
+            log.info("{} files written, {} unchanged, {} stale files deleted",
+                     writtenCount, projectFiles.size() - writtenCount, deletedCount);
             
         } catch (IOException e) {
             log.error("I/O error while writing microservice project: {}", e.getMessage(), e);
@@ -66,11 +281,6 @@ public class MicroserviceProjectWriter {
             log.error("Runtime error while writing microservice project: {}", e.getMessage(), e);
             throw new IOException("Failed to write microservice project due to runtime error", e);
         }
-        
-        log.info("Successfully wrote {} microservice for '{}' to: {}", 
-                microservice.statementType(), 
-                microservice.businessDomainName(), 
-                destinationPath);
     }
     
     private void validateInputParameters(GeneratedMicroservice microservice, String destinationPath) {
@@ -119,58 +329,257 @@ public class MicroserviceProjectWriter {
         }
     }
     
-    private void writeJavaFile(JavaFile javaFile, Path sourceDirectory) throws IOException {
+    /**
+     * Streams a Java file to the path JavaPoet would write it to.
+     */
+    private void writeJavaFile(ProjectOutputSink sink, JavaFile javaFile) throws IOException {
+        StringBuilder relativePath = new StringBuilder(SRC_MAIN_JAVA).append('/');
+        if (!javaFile.packageName.isEmpty()) {
+            relativePath.append(javaFile.packageName.replace('.', '/')).append('/');
+        }
+        relativePath.append(javaFile.typeSpec.name).append(JAVA_FILE_EXTENSION);
         try {
-            javaFile.writeTo(sourceDirectory);
-            log.debug("Successfully wrote Java file: {}.{}", javaFile.packageName, javaFile.typeSpec.name);
+            sink.writeFile(relativePath.toString(), outputStream -> {
+                Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+                javaFile.writeTo(writer);
+                writer.flush();
+            });
         } catch (IOException e) {
-            log.error("Failed to write Java file: {}.{} - {}", javaFile.packageName, javaFile.typeSpec.name, e.getMessage());
+            log.error("Failed to render Java file: {}.{} - {}", javaFile.packageName, javaFile.typeSpec.name, e.getMessage());
             throw new IOException("Failed to write Java file: " + javaFile.packageName + "." + 
                                javaFile.typeSpec.name + " - " + e.getMessage(), e);
         }
     }
     
-    private void writeDatabaseConfigFile(String content, String businessDomainName, Path sourceDirectory) throws IOException {
-        try {
-            Path configPackagePath = sourceDirectory.resolve("com/jfeatures/" + 
-                                                            businessDomainName.toLowerCase() + "/config");
-            Files.createDirectories(configPackagePath);
-            Path configFilePath = configPackagePath.resolve(ProjectConstants.DATABASE_CONFIG_FILE_NAME);
-            Files.write(configFilePath, content.getBytes(StandardCharsets.UTF_8));
-            log.debug("Successfully wrote database config file: {}", configFilePath);
-        } catch (IOException e) {
-            log.error("Failed to write database config file: {}", e.getMessage());
-            throw new IOException("Failed to write database config file: " + e.getMessage(), e);
-        }
+    private void writeDatabaseConfigFile(ProjectOutputSink sink, String content, String businessDomainName) throws IOException {
+        String configPackagePath = SRC_MAIN_JAVA + "/com/jfeatures/" + businessDomainName.toLowerCase() + "/config";
+        sink.writeFile(configPackagePath + "/" + ProjectConstants.DATABASE_CONFIG_FILE_NAME,
+                       outputStream -> outputStream.write(content.getBytes(StandardCharsets.UTF_8)));
     }
     
-    private void copyTemplateFiles(ProjectDirectoryStructure directories) throws IOException {
-        // Copy pom.xml template
-        copyResourceFileToPath(
-            ProjectConstants.POM_TEMPLATE_FILE,
-            directories.targetDirectory().resolve(ProjectConstants.POM_FILE_NAME)
-        );
+    private void writeTemplateFiles(ProjectOutputSink sink) throws IOException {
+        // pom.xml template
+        sink.writeFile(ProjectConstants.POM_FILE_NAME,
+                       outputStream -> copyResourceFile(ProjectConstants.POM_TEMPLATE_FILE, outputStream));
         
-        // Copy application.properties template
-        copyResourceFileToPath(
-            ProjectConstants.APPLICATION_PROPERTIES_TEMPLATE_FILE,
-            directories.srcMainResources().resolve(ProjectConstants.APPLICATION_PROPERTIES_FILE_NAME)
-        );
+        // application.properties template
+        sink.writeFile(SRC_MAIN_RESOURCES + "/" + ProjectConstants.APPLICATION_PROPERTIES_FILE_NAME,
+                       outputStream -> copyResourceFile(ProjectConstants.APPLICATION_PROPERTIES_TEMPLATE_FILE, outputStream));
     }
     
-    private void copyResourceFileToPath(String resourceFileName, Path targetFilePath) throws IOException {
+    private void copyResourceFile(String resourceFileName, OutputStream outputStream) throws IOException {
         try (InputStream inputStream = MicroserviceProjectWriter.class.getClassLoader()
                                                                       .getResourceAsStream(resourceFileName)) {
             if (inputStream == null) {
                 log.error("Template resource file not found: {}", resourceFileName);
                 throw new IOException("Template resource file not found: " + resourceFileName);
             }
-            Files.write(targetFilePath, inputStream.readAllBytes());
-            log.debug("Successfully copied resource file {} to {}", resourceFileName, targetFilePath);
+            inputStream.transferTo(outputStream);
+        }
+    }
+    
+    /**
+     * Writes the file unless its current content has the same SHA-256 hash.
+     * The content goes to a temporary file in the target directory first and is then moved over the target,
+     * atomically where the filesystem supports it, so readers never see a partially written file.
+     * 
+     * @return true if the file was written, false if it was already up to date
+     */
+    private boolean writeIfChanged(Path targetFile, byte[] content) throws IOException {
+        if (Files.isRegularFile(targetFile) && Files.size(targetFile) == content.length
+                && Arrays.equals(sha256(Files.readAllBytes(targetFile)), sha256(content))) {
+            log.debug("Unchanged: {}", targetFile);
+            return false;
+        }
+        
+        Path directory = targetFile.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporaryFile = Files.createTempFile(directory, "." + targetFile.getFileName(), ".tmp");
+        try {
+            Files.write(temporaryFile, content);
+            try {
+                Files.move(temporaryFile, targetFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile, targetFile, StandardCopyOption.REPLACE_EXISTING);
+            }
         } catch (IOException e) {
-            log.error("Failed to copy resource file {} to {}: {}", resourceFileName, targetFilePath, e.getMessage());
-            throw new IOException("Failed to copy resource file " + resourceFileName + 
-                               " to " + targetFilePath + ": " + e.getMessage(), e);
+            log.error("Failed to write file {}: {}", targetFile, e.getMessage());
+            throw new IOException("Failed to write file " + targetFile + ": " + e.getMessage(), e);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+        GenerationProfiler.countBytesWritten(content.length);
+        log.debug("Wrote: {}", targetFile);
+        return true;
+    }
+    
+    /**
+     * Deletes the files under the generated source tree that this generation did not produce,
+     * e.g. the classes of a previous business name, together with the directories left empty.
+     * 
+     * @return the number of deleted files
+     */
+    private int deleteStaleSources(Path generatedSourceRoot, Set<Path> projectFiles) throws IOException {
+        if (!Files.isDirectory(generatedSourceRoot)) {
+            return 0;
+        }
+        Set<Path> producedFiles = new HashSet<>();
+        for (Path projectFile : projectFiles) {
+            producedFiles.add(projectFile.toAbsolutePath().normalize());
+        }
+        
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(generatedSourceRoot)) {
+            // Children before their parents, so emptied directories can be removed on the way up
+            paths = walk.sorted(Comparator.reverseOrder()).toList();
+        }
+        int deletedCount = 0;
+        for (Path path : paths) {
+            if (Files.isDirectory(path)) {
+                if (!path.equals(generatedSourceRoot) && isEmptyDirectory(path)) {
+                    Files.delete(path);
+                }
+            } else if (!producedFiles.contains(path.toAbsolutePath().normalize())) {
+                Files.delete(path);
+                log.info("Deleted stale file: {}", path);
+                deletedCount++;
+            }
+        }
+        return deletedCount;
+    }
+    
+    /**
+     * Deletes the files outside the generated source tree that an earlier generation wrote and this one did not
+     * produce: those listed in the manifest, the regression tests of latency baselines and the reports of
+     * generations from before the manifest. Directories left empty are removed up to the project root.
+     * 
+     * @return the number of deleted files
+     */
+    private int deleteStaleGeneratedFiles(ProjectDirectoryStructure directories, Set<Path> projectFiles) throws IOException {
+        Path projectRoot = directories.targetDirectory().toAbsolutePath().normalize();
+        Set<Path> producedFiles = new HashSet<>();
+        for (Path projectFile : projectFiles) {
+            producedFiles.add(projectFile.toAbsolutePath().normalize());
+        }
+        
+        Set<Path> generatedFiles = new LinkedHashSet<>(previousGeneratedFiles(projectRoot));
+        for (String reportPath : GENERATED_REPORT_PATHS) {
+            generatedFiles.add(projectRoot.resolve(reportPath).normalize());
+        }
+        Path generatedTestRoot = directories.srcTestJava();
+        if (Files.isDirectory(generatedTestRoot)) {
+            try (Stream<Path> walk = Files.walk(generatedTestRoot)) {
+                walk.filter(path -> path.getFileName().toString()
+                        .endsWith(GenerateLatencyRegressionTest.CLASS_NAME_SUFFIX + JAVA_FILE_EXTENSION))
+                    .forEach(path -> generatedFiles.add(path.toAbsolutePath().normalize()));
+            }
+        }
+        
+        int deletedCount = 0;
+        for (Path generatedFile : generatedFiles) {
+            if (producedFiles.contains(generatedFile) || !Files.isRegularFile(generatedFile)) {
+                continue;
+            }
+            deleteWithEmptiedDirectories(generatedFile, projectRoot);
+            log.info("Deleted stale file: {}", generatedFile);
+            deletedCount++;
+        }
+        return deletedCount;
+    }
+    
+    /**
+     * Deletes a project whose SQL file is gone: the files listed in its manifest, the manifest and every empty
+     * directory, the project directory included. Files the manifest does not list, e.g. ones added by hand, are
+     * kept together with their directories. A project without a manifest is left untouched.
+     * 
+     * @return the number of deleted files, the manifest not counted
+     */
+    public int deleteGeneratedProject(String destinationPath) throws IOException {
+        if (destinationPath == null || destinationPath.trim().isEmpty()) {
+            throw new IllegalArgumentException("Destination path cannot be null or empty");
+        }
+        validatePathSecurity(destinationPath);
+        Path projectRoot = Paths.get(destinationPath).toAbsolutePath().normalize();
+        Path manifestFile = projectRoot.resolve(GENERATED_FILES_MANIFEST);
+        if (!Files.isRegularFile(manifestFile)) {
+            log.warn("Not deleting {}: it has no {} manifest", projectRoot, GENERATED_FILES_MANIFEST);
+            return 0;
+        }
+        
+        int deletedCount = 0;
+        for (Path generatedFile : previousGeneratedFiles(projectRoot)) {
+            if (Files.isRegularFile(generatedFile)) {
+                deleteWithEmptiedDirectories(generatedFile, projectRoot);
+                deletedCount++;
+            }
+        }
+        Files.delete(manifestFile);
+        // The directory skeleton is created whether or not files are generated into it
+        List<Path> directories;
+        try (Stream<Path> walk = Files.walk(projectRoot)) {
+            directories = walk.filter(Files::isDirectory).sorted(Comparator.reverseOrder()).toList();
+        }
+        for (Path directory : directories) {
+            if (isEmptyDirectory(directory)) {
+                Files.delete(directory);
+            }
+        }
+        if (!Files.exists(projectRoot)) {
+            log.info("Deleted generated project {} ({} files)", projectRoot, deletedCount);
+        } else {
+            log.warn("Deleted {} generated files of {}; kept the files that were not generated", deletedCount, projectRoot);
+        }
+        return deletedCount;
+    }
+    
+    /**
+     * Deletes the file and then its parent directories up to the project root while they are empty.
+     */
+    private static void deleteWithEmptiedDirectories(Path file, Path projectRoot) throws IOException {
+        Files.delete(file);
+        for (Path directory = file.getParent();
+             !directory.equals(projectRoot) && isEmptyDirectory(directory);
+             directory = directory.getParent()) {
+            Files.delete(directory);
+        }
+    }
+    
+    /**
+     * Reads the files listed in the manifest of the previous generation; entries outside the project are ignored.
+     */
+    private static List<Path> previousGeneratedFiles(Path projectRoot) throws IOException {
+        Path manifestFile = projectRoot.resolve(GENERATED_FILES_MANIFEST);
+        if (!Files.isRegularFile(manifestFile)) {
+            return List.of();
+        }
+        return Files.readAllLines(manifestFile, StandardCharsets.UTF_8).stream()
+            .map(String::trim)
+            .filter(line -> !line.isEmpty())
+            .map(line -> projectRoot.resolve(line).normalize())
+            .filter(path -> path.startsWith(projectRoot) && !path.equals(projectRoot))
+            .toList();
+    }
+    
+    /**
+     * Lists the rendered files in path order, so an unchanged project leaves the manifest unchanged.
+     */
+    private static byte[] manifest(Set<String> relativePaths) {
+        StringBuilder manifest = new StringBuilder();
+        relativePaths.stream().sorted().forEach(relativePath -> manifest.append(relativePath).append('\n'));
+        return manifest.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static boolean isEmptyDirectory(Path directory) throws IOException {
+        try (Stream<Path> entries = Files.list(directory)) {
+            return entries.findAny().isEmpty();
+        }
+    }
+    
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
     }
-}
\ No newline at end of file
+}
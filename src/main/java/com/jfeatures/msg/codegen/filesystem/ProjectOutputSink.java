@@ -0,0 +1,31 @@
+package com.jfeatures.msg.codegen.filesystem;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Destination of the files of a generated project, such as a directory or a ZIP stream.
+ * Files are handed over one at a time and their content is streamed into the sink, so a sink
+ * does not need to hold the whole project in memory.
+ */
+@FunctionalInterface
+public interface ProjectOutputSink {
+
+    /**
+     * Writes one project file.
+     *
+     * @param relativePath the path of the file relative to the project root, with {@code /} separators
+     * @param content writes the content of the file
+     * @throws IOException if the file cannot be written
+     */
+    void writeFile(String relativePath, FileContent content) throws IOException;
+
+    /**
+     * Streams the content of one file. The stream belongs to the sink and must not be closed.
+     */
+    @FunctionalInterface
+    interface FileContent {
+
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
+}
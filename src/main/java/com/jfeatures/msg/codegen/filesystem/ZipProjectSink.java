@@ -0,0 +1,71 @@
+package com.jfeatures.msg.codegen.filesystem;
+
+import com.jfeatures.msg.codegen.profile.GenerationProfiler;
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams the files of a generated project into a ZIP archive, each under a common root directory.
+ * Entries are written as they are produced, so the archive can go straight to an HTTP response or stdout
+ * without a temporary directory. Closing the sink finishes the archive but leaves the target stream open;
+ * it belongs to the caller.
+ */
+public class ZipProjectSink implements ProjectOutputSink, Closeable {
+
+    private final ZipOutputStream zipOutputStream;
+    private final String rootDirectory;
+
+    /**
+     * @param outputStream the stream the archive is written to
+     * @param rootDirectory the directory every entry is placed under, usually the project name
+     */
+    public ZipProjectSink(OutputStream outputStream, String rootDirectory) {
+        if (outputStream == null) {
+            throw new IllegalArgumentException("Output stream cannot be null");
+        }
+        if (rootDirectory == null || rootDirectory.trim().isEmpty()) {
+            throw new IllegalArgumentException("Root directory cannot be null or empty");
+        }
+        this.zipOutputStream = new ZipOutputStream(outputStream);
+        this.rootDirectory = rootDirectory;
+    }
+
+    @Override
+    public void writeFile(String relativePath, FileContent content) throws IOException {
+        ZipEntry entry = new ZipEntry(rootDirectory + "/" + relativePath);
+        zipOutputStream.putNextEntry(entry);
+        content.writeTo(new EntryOutputStream(zipOutputStream));
+        zipOutputStream.closeEntry();
+        GenerationProfiler.countBytesWritten(entry.getCompressedSize());
+    }
+
+    @Override
+    public void close() throws IOException {
+        zipOutputStream.finish();
+        zipOutputStream.flush();
+    }
+
+    /**
+     * Shields the archive from content writers that close the stream they were given.
+     */
+    private static final class EntryOutputStream extends FilterOutputStream {
+
+        EntryOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
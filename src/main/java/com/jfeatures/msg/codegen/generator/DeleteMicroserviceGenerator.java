@@ -1,5 +1,6 @@
 package com.jfeatures.msg.codegen.generator;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.jfeatures.msg.codegen.GenerateDatabaseConfig;
 import com.jfeatures.msg.codegen.GenerateDeleteController;
 import com.jfeatures.msg.codegen.GenerateDeleteDAO;
@@ -7,11 +8,18 @@ import com.jfeatures.msg.codegen.GenerateDeleteDTO;
 import com.jfeatures.msg.codegen.GenerateSpringBootApp;
 import com.jfeatures.msg.codegen.dbmetadata.ColumnMetadata;
 import com.jfeatures.msg.codegen.dbmetadata.DeleteMetadata;
+import com.jfeatures.msg.codegen.dbmetadata.MetadataCache;
+import com.jfeatures.msg.codegen.dbmetadata.MetadataStore;
+import com.jfeatures.msg.codegen.dbmetadata.SchemaCatalog;
 import com.jfeatures.msg.codegen.domain.DatabaseConnection;
 import com.jfeatures.msg.codegen.domain.GeneratedMicroservice;
+import com.jfeatures.msg.codegen.profile.GenerationPhase;
+import com.jfeatures.msg.codegen.profile.GenerationProfiler;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
 import com.jfeatures.msg.codegen.util.SqlStatementType;
 import com.squareup.javapoet.JavaFile;
 import java.util.List;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -20,6 +28,26 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 public class DeleteMicroserviceGenerator {
+
+    private final Supplier<SchemaCatalog> schemaCatalog;
+    private final MetadataStore metadataStore;
+
+    public DeleteMicroserviceGenerator() {
+        this(() -> null, MetadataCache.disabled());
+    }
+
+    /**
+     * Creates a generator that answers metadata from the given store (a cache or a recorded fixture) and,
+     * when the store has to extract it, resolves it from the schema catalog. The catalog is only requested
+     * on extraction; a null catalog falls back to per-statement JDBC metadata lookups.
+     */
+    public DeleteMicroserviceGenerator(Supplier<SchemaCatalog> schemaCatalog, MetadataStore metadataStore) {
+        if (schemaCatalog == null || metadataStore == null) {
+            throw new IllegalArgumentException("Schema catalog supplier and metadata store cannot be null");
+        }
+        this.schemaCatalog = schemaCatalog;
+        this.metadataStore = metadataStore;
+    }
     
     /**
      * Generates a complete microservice for DELETE SQL statements.
@@ -28,8 +56,22 @@ public class DeleteMicroserviceGenerator {
     public GeneratedMicroservice generateDeleteMicroservice(String sql, 
                                                            String businessDomainName, 
                                                            DatabaseConnection databaseConnection) throws Exception {
+        if (sql == null || sql.trim().isEmpty()) {
+            throw new IllegalArgumentException("SQL statement cannot be null or empty");
+        }
+        return generateDeleteMicroservice(SqlCompilationUnit.compile(sql), businessDomainName, databaseConnection);
+    }
+
+    /**
+     * Generates a complete microservice for an already compiled DELETE statement,
+     * sharing its syntax tree with every metadata lookup instead of parsing the SQL again.
+     */
+    public GeneratedMicroservice generateDeleteMicroservice(SqlCompilationUnit unit,
+                                                           String businessDomainName,
+                                                           DatabaseConnection databaseConnection) throws Exception {
         
-        validateInputParameters(sql, businessDomainName, databaseConnection);
+        validateInputParameters(unit, businessDomainName, databaseConnection);
+        String sql = unit.sql();
         
         log.info("Generating DELETE microservice for business domain: {}", businessDomainName);
         
@@ -38,28 +80,34 @@ public class DeleteMicroserviceGenerator {
         log.info("Extracted table name from DELETE SQL: {}", tableName);
         
         // Extract WHERE clause parameters using the reliable parameter extractor (same as SELECT)
-        com.jfeatures.msg.codegen.ParameterMetadataExtractor parameterExtractor = 
-            new com.jfeatures.msg.codegen.ParameterMetadataExtractor(databaseConnection.dataSource());
-        List<com.jfeatures.msg.codegen.domain.DBColumn> whereParameters = parameterExtractor.extractParameters(sql);
+        List<com.jfeatures.msg.codegen.domain.DBColumn> whereParameters = GenerationProfiler.time(GenerationPhase.METADATA, "delete-parameters", () ->
+            metadataStore.getOrLoad(unit, "delete-parameters", new TypeReference<List<com.jfeatures.msg.codegen.domain.DBColumn>>() { }, () ->
+                new com.jfeatures.msg.codegen.ParameterMetadataExtractor(databaseConnection.dataSource(), schemaCatalog.get())
+                    .extractParameters(unit)));
         
         // Create simplified DeleteMetadata using original parameters
         DeleteMetadata deleteMetadata = new DeleteMetadata(tableName, convertToColumnMetadata(whereParameters), sql);
         log.info("Extracted DELETE metadata for {} WHERE parameters in table: {}", whereParameters.size(), deleteMetadata.tableName());
         
         // Generate Spring Boot application
-        JavaFile springBootApplication = GenerateSpringBootApp.createSpringBootApp(businessDomainName);
+        JavaFile springBootApplication = GenerationProfiler.time(GenerationPhase.GENERATE, GenerateSpringBootApp.class.getSimpleName(), () ->
+            GenerateSpringBootApp.createSpringBootApp(businessDomainName));
         
         // Generate database configuration
-        String databaseConfigContent = GenerateDatabaseConfig.createDatabaseConfig(businessDomainName);
+        String databaseConfigContent = GenerationProfiler.time(GenerationPhase.GENERATE, GenerateDatabaseConfig.class.getSimpleName(), () ->
+            GenerateDatabaseConfig.createDatabaseConfig(businessDomainName));
         
         // Generate DTO for DELETE operations (WHERE clause parameters)
-        JavaFile deleteDTO = GenerateDeleteDTO.createDeleteDTO(businessDomainName, deleteMetadata);
+        JavaFile deleteDTO = GenerationProfiler.time(GenerationPhase.GENERATE, GenerateDeleteDTO.class.getSimpleName(), () ->
+            GenerateDeleteDTO.createDeleteDTO(businessDomainName, deleteMetadata));
         
         // Generate Controller with DELETE REST endpoints
-        JavaFile controllerFile = GenerateDeleteController.createDeleteController(businessDomainName, deleteMetadata);
+        JavaFile controllerFile = GenerationProfiler.time(GenerationPhase.GENERATE, GenerateDeleteController.class.getSimpleName(), () ->
+            GenerateDeleteController.createDeleteController(businessDomainName, deleteMetadata));
         
         // Generate DAO for DELETE operations
-        JavaFile daoFile = GenerateDeleteDAO.createDeleteDAO(businessDomainName, deleteMetadata);
+        JavaFile daoFile = GenerationProfiler.time(GenerationPhase.GENERATE, GenerateDeleteDAO.class.getSimpleName(), () ->
+            GenerateDeleteDAO.createDeleteDAO(businessDomainName, deleteMetadata));
         
         log.info("Successfully generated DELETE microservice components for: {}", businessDomainName);
         
@@ -74,8 +122,8 @@ public class DeleteMicroserviceGenerator {
         );
     }
     
-    private void validateInputParameters(String sql, String businessDomainName, DatabaseConnection databaseConnection) {
-        if (sql == null || sql.trim().isEmpty()) {
+    private void validateInputParameters(SqlCompilationUnit unit, String businessDomainName, DatabaseConnection databaseConnection) {
+        if (unit == null) {
             throw new IllegalArgumentException("SQL statement cannot be null or empty");
         }
         if (businessDomainName == null || businessDomainName.trim().isEmpty()) {
@@ -1,5 +1,6 @@
 package com.jfeatures.msg.codegen.generator;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.jfeatures.msg.codegen.GenerateDatabaseConfig;
 import com.jfeatures.msg.codegen.GenerateInsertController;
 import com.jfeatures.msg.codegen.GenerateInsertDAO;
@@ -7,10 +8,17 @@ import com.jfeatures.msg.codegen.GenerateInsertDTO;
 import com.jfeatures.msg.codegen.GenerateSpringBootApp;
 import com.jfeatures.msg.codegen.dbmetadata.InsertMetadata;
 import com.jfeatures.msg.codegen.dbmetadata.InsertMetadataExtractor;
+import com.jfeatures.msg.codegen.dbmetadata.MetadataCache;
+import com.jfeatures.msg.codegen.dbmetadata.MetadataStore;
+import com.jfeatures.msg.codegen.dbmetadata.SchemaCatalog;
 import com.jfeatures.msg.codegen.domain.DatabaseConnection;
 import com.jfeatures.msg.codegen.domain.GeneratedMicroservice;
+import com.jfeatures.msg.codegen.profile.GenerationPhase;
+import com.jfeatures.msg.codegen.profile.GenerationProfiler;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
 import com.jfeatures.msg.codegen.util.SqlStatementType;
 import com.squareup.javapoet.JavaFile;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -19,6 +27,26 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 public class InsertMicroserviceGenerator {
+
+    private final Supplier<SchemaCatalog> schemaCatalog;
+    private final MetadataStore metadataStore;
+
+    public InsertMicroserviceGenerator() {
+        this(() -> null, MetadataCache.disabled());
+    }
+
+    /**
+     * Creates a generator that answers metadata from the given store (a cache or a recorded fixture) and,
+     * when the store has to extract it, resolves it from the schema catalog. The catalog is only requested
+     * on extraction; a null catalog falls back to per-statement JDBC metadata lookups.
+     */
+    public InsertMicroserviceGenerator(Supplier<SchemaCatalog> schemaCatalog, MetadataStore metadataStore) {
+        if (schemaCatalog == null || metadataStore == null) {
+            throw new IllegalArgumentException("Schema catalog supplier and metadata store cannot be null");
+        }
+        this.schemaCatalog = schemaCatalog;
+        this.metadataStore = metadataStore;
+    }
     
     /**
      * Generates a complete microservice for INSERT SQL statements.
@@ -27,32 +55,51 @@ public class InsertMicroserviceGenerator {
     public GeneratedMicroservice generateInsertMicroservice(String sql, 
                                                            String businessDomainName, 
                                                            DatabaseConnection databaseConnection) throws Exception {
+        if (sql == null || sql.trim().isEmpty()) {
+            throw new IllegalArgumentException("SQL statement cannot be null or empty");
+        }
+        return generateInsertMicroservice(SqlCompilationUnit.compile(sql), businessDomainName, databaseConnection);
+    }
+
+    /**
+     * Generates a complete microservice for an already compiled INSERT statement,
+     * sharing its syntax tree with every metadata lookup instead of parsing the SQL again.
+     */
+    public GeneratedMicroservice generateInsertMicroservice(SqlCompilationUnit unit,
+                                                           String businessDomainName,
+                                                           DatabaseConnection databaseConnection) throws Exception {
         
-        validateInputParameters(sql, businessDomainName, databaseConnection);
+        validateInputParameters(unit, businessDomainName, databaseConnection);
+        String sql = unit.sql();
         
         log.info("Generating INSERT microservice for business domain: {}", businessDomainName);
         
-        // Extract INSERT metadata from SQL statement
-        InsertMetadataExtractor insertExtractor = new InsertMetadataExtractor(
-            databaseConnection.dataSource()
-        );
-        InsertMetadata insertMetadata = insertExtractor.extractInsertMetadata(sql);
+        // Extract INSERT metadata from SQL statement, reusing a cached extraction when the tables are unchanged
+        InsertMetadata cachedMetadata = GenerationProfiler.time(GenerationPhase.METADATA, "insert", () ->
+            metadataStore.getOrLoad(unit, "insert", new TypeReference<InsertMetadata>() { }, () ->
+                new InsertMetadataExtractor(databaseConnection.dataSource(), schemaCatalog.get()).extractInsertMetadata(unit)));
+        InsertMetadata insertMetadata = new InsertMetadata(cachedMetadata.tableName(), cachedMetadata.insertColumns(), sql);
         log.info("Extracted INSERT metadata for table: {}", insertMetadata.tableName());
         
         // Generate Spring Boot application
-        JavaFile springBootApplication = GenerateSpringBootApp.createSpringBootApp(businessDomainName);
+        JavaFile springBootApplication = GenerationProfiler.time(GenerationPhase.GENERATE, GenerateSpringBootApp.class.getSimpleName(), () ->
+            GenerateSpringBootApp.createSpringBootApp(businessDomainName));
         
         // Generate database configuration
-        String databaseConfigContent = GenerateDatabaseConfig.createDatabaseConfig(businessDomainName);
+        String databaseConfigContent = GenerationProfiler.time(GenerationPhase.GENERATE, GenerateDatabaseConfig.class.getSimpleName(), () ->
+            GenerateDatabaseConfig.createDatabaseConfig(businessDomainName));
         
         // Generate DTO for INSERT operations
-        JavaFile insertDTO = GenerateInsertDTO.createInsertDTO(businessDomainName, insertMetadata);
+        JavaFile insertDTO = GenerationProfiler.time(GenerationPhase.GENERATE, GenerateInsertDTO.class.getSimpleName(), () ->
+            GenerateInsertDTO.createInsertDTO(businessDomainName, insertMetadata));
         
         // Generate Controller with INSERT REST endpoints
-        JavaFile controllerFile = GenerateInsertController.createInsertController(businessDomainName, insertMetadata);
+        JavaFile controllerFile = GenerationProfiler.time(GenerationPhase.GENERATE, GenerateInsertController.class.getSimpleName(), () ->
+            GenerateInsertController.createInsertController(businessDomainName, insertMetadata));
         
         // Generate DAO for INSERT operations
-        JavaFile daoFile = GenerateInsertDAO.createInsertDAO(businessDomainName, insertMetadata);
+        JavaFile daoFile = GenerationProfiler.time(GenerationPhase.GENERATE, GenerateInsertDAO.class.getSimpleName(), () ->
+            GenerateInsertDAO.createInsertDAO(businessDomainName, insertMetadata));
         
         log.info("Successfully generated INSERT microservice components for: {}", businessDomainName);
         
@@ -67,8 +114,8 @@ public class InsertMicroserviceGenerator {
         );
     }
     
-    private void validateInputParameters(String sql, String businessDomainName, DatabaseConnection databaseConnection) {
-        if (sql == null || sql.trim().isEmpty()) {
+    private void validateInputParameters(SqlCompilationUnit unit, String businessDomainName, DatabaseConnection databaseConnection) {
+        if (unit == null) {
             throw new IllegalArgumentException("SQL statement cannot be null or empty");
         }
         if (businessDomainName == null || businessDomainName.trim().isEmpty()) {
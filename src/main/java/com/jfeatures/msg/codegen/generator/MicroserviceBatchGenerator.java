@@ -0,0 +1,204 @@
+package com.jfeatures.msg.codegen.generator;
+
+import com.jfeatures.msg.codegen.domain.BatchGenerationResult;
+import com.jfeatures.msg.codegen.profile.GenerationProfiler;
+import com.jfeatures.msg.codegen.util.SqlStatementType;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates one microservice per SQL file concurrently on virtual threads.
+ * At most {@code jobs} files are generated at the same time; each file gets its own subdirectory of the
+ * destination, named after the file, and a business domain name derived from the file name.
+ * A failing file does not stop the others; every outcome is reported in the returned results.
+ */
+@Slf4j
+public class MicroserviceBatchGenerator {
+
+    private static final String SQL_FILE_EXTENSION = ".sql";
+
+    private final int jobs;
+    private final GenerationProfiler profiler;
+
+    public MicroserviceBatchGenerator(int jobs) {
+        this(jobs, GenerationProfiler.disabled());
+    }
+
+    /**
+     * @param jobs the maximum number of files generated at the same time
+     * @param profiler collects the generation phases of each file, bound to its business domain name
+     */
+    public MicroserviceBatchGenerator(int jobs, GenerationProfiler profiler) {
+        if (jobs < 1) {
+            throw new IllegalArgumentException("Number of concurrent jobs must be at least 1");
+        }
+        if (profiler == null) {
+            throw new IllegalArgumentException("Generation profiler cannot be null");
+        }
+        this.jobs = jobs;
+        this.profiler = profiler;
+    }
+
+    /**
+     * Generates a microservice for one SQL file of the batch.
+     */
+    @FunctionalInterface
+    public interface FileGenerator {
+
+        /**
+         * @param sqlFile the SQL file to generate from
+         * @param businessDomainName the business domain name derived from the file name
+         * @param destination the directory the microservice is written to
+         * @return the type of the generated statement
+         */
+        SqlStatementType generate(Path sqlFile, String businessDomainName, Path destination) throws Exception;
+    }
+
+    /**
+     * Generates all files and returns their results in the order of {@code sqlFiles}.
+     *
+     * @throws IllegalArgumentException if two files would be written to the same destination
+     * @throws InterruptedException if the batch is interrupted while waiting for generations to finish
+     */
+    public List<BatchGenerationResult> generateAll(List<Path> sqlFiles, Path destinationRoot,
+                                                   FileGenerator fileGenerator) throws InterruptedException {
+        if (sqlFiles == null || sqlFiles.isEmpty()) {
+            throw new IllegalArgumentException("SQL file list cannot be null or empty");
+        }
+        if (destinationRoot == null) {
+            throw new IllegalArgumentException("Destination directory cannot be null");
+        }
+        if (fileGenerator == null) {
+            throw new IllegalArgumentException("File generator cannot be null");
+        }
+        validateDistinctDestinations(sqlFiles);
+
+        log.info("Generating {} microservices with up to {} concurrent jobs", sqlFiles.size(), jobs);
+        Semaphore permits = new Semaphore(jobs);
+        List<Future<BatchGenerationResult>> futures = new ArrayList<>(sqlFiles.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Path sqlFile : sqlFiles) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return generateOne(sqlFile, destinationFor(sqlFile, destinationRoot), fileGenerator);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            List<BatchGenerationResult> results = new ArrayList<>(futures.size());
+            for (Future<BatchGenerationResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            // generateOne reports every exception as a failed result, so only errors end up here
+            throw new IllegalStateException("Batch generation failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Logs one line per file followed by the totals.
+     */
+    public static void logSummary(List<BatchGenerationResult> results) {
+        long failures = results.stream().filter(result -> !result.succeeded()).count();
+        log.info("Batch generation summary:");
+        for (BatchGenerationResult result : results) {
+            if (result.succeeded()) {
+                log.info("  OK    {} -> {} ({}, {} ms)", result.sqlFile(), result.destination(),
+                         result.statementType(), result.elapsed().toMillis());
+            } else {
+                log.warn("  FAIL  {}: {}", result.sqlFile(), result.errorMessage());
+            }
+        }
+        log.info("{} of {} microservices generated, {} failed", results.size() - failures, results.size(), failures);
+    }
+
+    /**
+     * Returns the directory the microservice of the SQL file is written to: the file name without its extension.
+     */
+    public static Path destinationFor(Path sqlFile, Path destinationRoot) {
+        return destinationRoot.resolve(fileStem(sqlFile));
+    }
+
+    /**
+     * Derives a business domain name from the file name: {@code customer_orders.sql} becomes {@code CustomerOrders}.
+     * Leading digits are dropped because a business name has to start with a letter.
+     */
+    public static String businessDomainNameFor(Path sqlFile) {
+        return toBusinessDomainName(fileStem(sqlFile));
+    }
+
+    /**
+     * Converts a file or table name into a business domain name: {@code film_actor} becomes {@code FilmActor}.
+     *
+     * @throws IllegalArgumentException if the name contains no letter
+     */
+    public static String toBusinessDomainName(String name) {
+        StringBuilder businessName = new StringBuilder();
+        for (String part : name.split("[^A-Za-z0-9]+")) {
+            if (!part.isEmpty()) {
+                businessName.append(Character.toUpperCase(part.charAt(0))).append(part.substring(1));
+            }
+        }
+        int firstLetter = 0;
+        while (firstLetter < businessName.length() && !Character.isLetter(businessName.charAt(firstLetter))) {
+            firstLetter++;
+        }
+        if (firstLetter == businessName.length()) {
+            throw new IllegalArgumentException("Cannot derive a business domain name from: " + name);
+        }
+        String businessDomainName = businessName.substring(firstLetter);
+        return Character.toUpperCase(businessDomainName.charAt(0)) + businessDomainName.substring(1);
+    }
+
+    private BatchGenerationResult generateOne(Path sqlFile, Path destination, FileGenerator fileGenerator) {
+        long start = System.nanoTime();
+        String businessDomainName = null;
+        try {
+            businessDomainName = businessDomainNameFor(sqlFile);
+            SqlStatementType statementType;
+            try (GenerationProfiler.ServiceScope ignored = profiler.profile(businessDomainName)) {
+                statementType = fileGenerator.generate(sqlFile, businessDomainName, destination);
+            }
+            return BatchGenerationResult.success(sqlFile, businessDomainName, destination, statementType, elapsedSince(start));
+        } catch (Exception e) {
+            log.error("Failed to generate microservice from {}: {}", sqlFile, e.getMessage(), e);
+            return BatchGenerationResult.failure(sqlFile, businessDomainName, destination, e.getMessage(), elapsedSince(start));
+        }
+    }
+
+    private static void validateDistinctDestinations(List<Path> sqlFiles) {
+        Map<String, Path> filesByStem = new HashMap<>();
+        for (Path sqlFile : sqlFiles) {
+            Path previous = filesByStem.putIfAbsent(fileStem(sqlFile).toLowerCase(), sqlFile);
+            if (previous != null) {
+                throw new IllegalArgumentException("SQL files " + previous + " and " + sqlFile
+                    + " would be generated into the same directory; rename one of them");
+            }
+        }
+    }
+
+    private static String fileStem(Path sqlFile) {
+        String fileName = sqlFile.getFileName().toString();
+        return fileName.toLowerCase().endsWith(SQL_FILE_EXTENSION)
+            ? fileName.substring(0, fileName.length() - SQL_FILE_EXTENSION.length())
+            : fileName;
+    }
+
+    private static Duration elapsedSince(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,217 @@
+package com.jfeatures.msg.codegen.generator;
+
+import com.jfeatures.msg.codegen.dbmetadata.CatalogTable;
+import com.jfeatures.msg.codegen.dbmetadata.SchemaCatalog;
+import com.jfeatures.msg.codegen.domain.CrudGenerationResult;
+import com.jfeatures.msg.codegen.profile.GenerationProfiler;
+import com.jfeatures.msg.codegen.sql.CrudSqlSynthesizer;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import com.jfeatures.msg.codegen.util.SqlStatementType;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates SELECT-by-primary-key, INSERT, UPDATE and DELETE microservices for every table of a schema.
+ * The statements are synthesized from the schema catalog; each table runs as its own fork/join pipeline
+ * that generates its four services concurrently on virtual threads, with at most {@code jobs} services
+ * generated at the same time across all tables.
+ * Each service is written to {@code <destination>/<table>/<operation>}; a failing service does not stop the others.
+ */
+@Slf4j
+public class SchemaCrudGenerator {
+
+    private static final List<CrudOperation> OPERATIONS = List.of(
+        new CrudOperation(SqlStatementType.SELECT, CrudSqlSynthesizer::selectByPrimaryKey),
+        new CrudOperation(SqlStatementType.INSERT, CrudSqlSynthesizer::insert),
+        new CrudOperation(SqlStatementType.UPDATE, CrudSqlSynthesizer::updateByPrimaryKey),
+        new CrudOperation(SqlStatementType.DELETE, CrudSqlSynthesizer::deleteByPrimaryKey));
+
+    private final int jobs;
+    private final GenerationProfiler profiler;
+
+    public SchemaCrudGenerator(int jobs) {
+        this(jobs, GenerationProfiler.disabled());
+    }
+
+    /**
+     * @param jobs the maximum number of services generated at the same time
+     * @param profiler collects the generation phases of each service, bound to its business domain name
+     */
+    public SchemaCrudGenerator(int jobs, GenerationProfiler profiler) {
+        if (jobs < 1) {
+            throw new IllegalArgumentException("Number of concurrent jobs must be at least 1");
+        }
+        if (profiler == null) {
+            throw new IllegalArgumentException("Generation profiler cannot be null");
+        }
+        this.jobs = jobs;
+        this.profiler = profiler;
+    }
+
+    /**
+     * Generates one microservice for a synthesized CRUD statement.
+     */
+    @FunctionalInterface
+    public interface ServiceGenerator {
+
+        /**
+         * @param operation the type of the synthesized statement
+         * @param unit the compiled synthesized statement
+         * @param businessDomainName the business domain name derived from the table name
+         * @param destination the directory the microservice is written to
+         */
+        void generate(SqlStatementType operation, SqlCompilationUnit unit, String businessDomainName,
+                      Path destination) throws Exception;
+    }
+
+    /**
+     * Returns the tables of a schema that CRUD services can be generated for, ordered by name.
+     * Tables and views without a primary key are skipped, since their rows cannot be addressed by key.
+     */
+    public static List<CatalogTable> tablesOf(SchemaCatalog schemaCatalog, String schemaName) {
+        if (schemaCatalog == null) {
+            throw new IllegalArgumentException("Schema catalog cannot be null");
+        }
+        if (schemaName == null || schemaName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Schema name cannot be null or empty");
+        }
+        List<CatalogTable> tables = new ArrayList<>();
+        for (CatalogTable table : schemaCatalog.tables()) {
+            if (!table.schemaName().equalsIgnoreCase(schemaName)) {
+                continue;
+            }
+            if (table.primaryKeyColumns().isEmpty()) {
+                log.warn("Skipping {}.{}: no primary key", table.schemaName(), table.tableName());
+                continue;
+            }
+            tables.add(table);
+        }
+        tables.sort(Comparator.comparing(table -> table.tableName().toLowerCase(Locale.ROOT)));
+        return tables;
+    }
+
+    /**
+     * Generates the CRUD services of all tables and returns their results grouped by table, in the order of
+     * {@code tables}, and by operation (SELECT, INSERT, UPDATE, DELETE). Operations a table does not support,
+     * such as UPDATE on a table made only of key columns, are skipped.
+     *
+     * @throws InterruptedException if generation is interrupted while waiting for the pipelines to finish
+     */
+    public List<CrudGenerationResult> generateAll(List<CatalogTable> tables, Path destinationRoot,
+                                                  ServiceGenerator serviceGenerator) throws InterruptedException {
+        if (tables == null || tables.isEmpty()) {
+            throw new IllegalArgumentException("Table list cannot be null or empty");
+        }
+        if (destinationRoot == null) {
+            throw new IllegalArgumentException("Destination directory cannot be null");
+        }
+        if (serviceGenerator == null) {
+            throw new IllegalArgumentException("Service generator cannot be null");
+        }
+
+        log.info("Generating CRUD microservices for {} tables with up to {} concurrent jobs", tables.size(), jobs);
+        Semaphore permits = new Semaphore(jobs);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<List<CrudGenerationResult>>> pipelines = new ArrayList<>(tables.size());
+            for (CatalogTable table : tables) {
+                pipelines.add(executor.submit(() -> generateTable(table, destinationRoot, serviceGenerator, executor, permits)));
+            }
+
+            List<CrudGenerationResult> results = new ArrayList<>(tables.size() * OPERATIONS.size());
+            for (Future<List<CrudGenerationResult>> pipeline : pipelines) {
+                results.addAll(pipeline.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            // generateOne reports every exception as a failed result, so only errors end up here
+            throw new IllegalStateException("Schema CRUD generation failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Logs one line per service followed by the totals.
+     */
+    public static void logSummary(List<CrudGenerationResult> results) {
+        long failures = results.stream().filter(result -> !result.succeeded()).count();
+        log.info("Schema CRUD generation summary:");
+        for (CrudGenerationResult result : results) {
+            if (result.succeeded()) {
+                log.info("  OK    {} {} -> {} ({} ms)", result.tableName(), result.operation(), result.destination(),
+                         result.elapsed().toMillis());
+            } else {
+                log.warn("  FAIL  {} {}: {}", result.tableName(), result.operation(), result.errorMessage());
+            }
+        }
+        log.info("{} of {} microservices generated, {} failed", results.size() - failures, results.size(), failures);
+    }
+
+    /**
+     * Forks one generation per supported operation of the table and joins them in operation order.
+     */
+    private List<CrudGenerationResult> generateTable(CatalogTable table, Path destinationRoot,
+                                                     ServiceGenerator serviceGenerator, ExecutorService executor,
+                                                     Semaphore permits) throws InterruptedException, ExecutionException {
+        Path tableDestination = destinationRoot.resolve(table.tableName());
+        List<Future<CrudGenerationResult>> forks = new ArrayList<>(OPERATIONS.size());
+        for (CrudOperation operation : OPERATIONS) {
+            String sql;
+            try {
+                sql = operation.synthesizer().apply(table);
+            } catch (IllegalArgumentException e) {
+                log.info("Skipping {} for {}: {}", operation.type(), table.tableName(), e.getMessage());
+                continue;
+            }
+            Path destination = tableDestination.resolve(operation.type().name().toLowerCase(Locale.ROOT));
+            forks.add(executor.submit(() -> {
+                permits.acquire();
+                try {
+                    return generateOne(table, operation.type(), sql, destination, serviceGenerator);
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+
+        List<CrudGenerationResult> results = new ArrayList<>(forks.size());
+        for (Future<CrudGenerationResult> fork : forks) {
+            results.add(fork.get());
+        }
+        return results;
+    }
+
+    private CrudGenerationResult generateOne(CatalogTable table, SqlStatementType operation, String sql,
+                                            Path destination, ServiceGenerator serviceGenerator) {
+        long start = System.nanoTime();
+        String businessDomainName = null;
+        try {
+            businessDomainName = MicroserviceBatchGenerator.toBusinessDomainName(table.tableName());
+            try (GenerationProfiler.ServiceScope ignored = profiler.profile(businessDomainName)) {
+                serviceGenerator.generate(operation, SqlCompilationUnit.compile(sql), businessDomainName, destination);
+            }
+            return CrudGenerationResult.success(table.tableName(), operation, businessDomainName, destination,
+                                                elapsedSince(start));
+        } catch (Exception e) {
+            log.error("Failed to generate {} microservice for {}: {}", operation, table.tableName(), e.getMessage(), e);
+            return CrudGenerationResult.failure(table.tableName(), operation, businessDomainName, destination,
+                                                e.getMessage(), elapsedSince(start));
+        }
+    }
+
+    private static Duration elapsedSince(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+
+    private record CrudOperation(SqlStatementType type, Function<CatalogTable, String> synthesizer) {
+    }
+}
@@ -1,31 +1,84 @@
 package com.jfeatures.msg.codegen.generator;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.jfeatures.msg.codegen.GenerateController;
 import com.jfeatures.msg.codegen.GenerateDAO;
 import com.jfeatures.msg.codegen.GenerateDTO;
 import com.jfeatures.msg.codegen.GenerateDatabaseConfig;
 import com.jfeatures.msg.codegen.GenerateSpringBootApp;
 import com.jfeatures.msg.codegen.ParameterMetadataExtractor;
+import com.jfeatures.msg.codegen.cardinality.CardinalityEstimator;
 import com.jfeatures.msg.codegen.dbmetadata.ColumnMetadata;
+import com.jfeatures.msg.codegen.dbmetadata.MetadataCache;
+import com.jfeatures.msg.codegen.dbmetadata.MetadataStore;
+import com.jfeatures.msg.codegen.dbmetadata.SchemaCatalog;
+import com.jfeatures.msg.codegen.dbmetadata.SelectColumnResolver;
 import com.jfeatures.msg.codegen.dbmetadata.SqlMetadata;
+import com.jfeatures.msg.codegen.dbmetadata.TableStatistics;
 import com.jfeatures.msg.codegen.domain.DBColumn;
 import com.jfeatures.msg.codegen.domain.DatabaseConnection;
 import com.jfeatures.msg.codegen.domain.GeneratedMicroservice;
+import com.jfeatures.msg.codegen.domain.ResultEstimate;
+import com.jfeatures.msg.codegen.domain.ResultShape;
+import com.jfeatures.msg.codegen.profile.GenerationPhase;
+import com.jfeatures.msg.codegen.profile.GenerationProfiler;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
 import com.jfeatures.msg.codegen.util.SqlStatementType;
-import com.jfeatures.msg.controller.CodeGenController;
 import com.squareup.javapoet.JavaFile;
-import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Generates complete microservices for SELECT SQL statements.
  * Orchestrates the creation of DTO, Controller, and DAO components
  * specifically optimized for SELECT operations.
+ * <p>
+ * The rows of the statement are estimated from the table statistics with {@link CardinalityEstimator}, and the
+ * generated DAO and controller return them in the {@link ResultShape} of the estimate. A statement that cannot be
+ * paged is streamed instead; without statistics the rows are returned as a list. The estimate and shape are kept in
+ * the metadata store like the columns, so a cached statement reads neither the statistics nor the schema catalog.
  */
 @Slf4j
 public class SelectMicroserviceGenerator {
+
+    private final Supplier<SchemaCatalog> schemaCatalog;
+    private final MetadataStore metadataStore;
+    private final Supplier<TableStatistics> tableStatistics;
+
+    public SelectMicroserviceGenerator() {
+        this(() -> null, MetadataCache.disabled());
+    }
+
+    /**
+     * Creates a generator that answers metadata from the given store (a cache or a recorded fixture) and,
+     * when the store has to extract it, resolves it from the schema catalog. The catalog is only requested
+     * on extraction; a null catalog falls back to per-statement JDBC metadata lookups.
+     */
+    public SelectMicroserviceGenerator(Supplier<SchemaCatalog> schemaCatalog, MetadataStore metadataStore) {
+        this(schemaCatalog, metadataStore, TableStatistics::empty);
+    }
+
+    /**
+     * Creates a generator that also estimates the rows of the statement from the table statistics. The statistics
+     * are only requested when the metadata store has no estimate for the statement; a cached estimate is renewed
+     * when one of the tables it reads changes.
+     */
+    public SelectMicroserviceGenerator(Supplier<SchemaCatalog> schemaCatalog, MetadataStore metadataStore,
+                                       Supplier<TableStatistics> tableStatistics) {
+        if (schemaCatalog == null || metadataStore == null) {
+            throw new IllegalArgumentException("Schema catalog supplier and metadata store cannot be null");
+        }
+        if (tableStatistics == null) {
+            throw new IllegalArgumentException("Table statistics supplier cannot be null");
+        }
+        this.schemaCatalog = schemaCatalog;
+        this.metadataStore = metadataStore;
+        this.tableStatistics = tableStatistics;
+    }
     
     /**
      * Generates a complete microservice for SELECT SQL statements.
@@ -41,36 +94,78 @@ public class SelectMicroserviceGenerator {
     public GeneratedMicroservice generateSelectMicroservice(String sql, 
                                                            String businessDomainName, 
                                                            DatabaseConnection databaseConnection) throws Exception {
+        if (sql == null || sql.trim().isEmpty()) {
+            throw new IllegalArgumentException("SQL statement cannot be null or empty");
+        }
+        return generateSelectMicroservice(SqlCompilationUnit.compile(sql), businessDomainName, databaseConnection);
+    }
+
+    /**
+     * Generates a complete microservice for an already compiled SELECT statement,
+     * sharing its syntax tree with every metadata lookup instead of parsing the SQL again.
+     */
+    public GeneratedMicroservice generateSelectMicroservice(SqlCompilationUnit unit,
+                                                           String businessDomainName,
+                                                           DatabaseConnection databaseConnection) throws Exception {
         
-        validateInputParameters(sql, businessDomainName, databaseConnection);
+        validateInputParameters(unit, businessDomainName, databaseConnection);
+        String sql = unit.sql();
         
         log.info("Generating SELECT microservice for business domain: {}", businessDomainName);
         
         // Extract metadata from database for SELECT columns
-        SqlMetadata sqlMetadata = new SqlMetadata(databaseConnection.jdbcTemplate());
-        CodeGenController codeGenController = new CodeGenController(sqlMetadata);
-        List<ColumnMetadata> resultSetColumnDefinitions = codeGenController.selectColumnMetadata();
+        List<ColumnMetadata> resultSetColumnDefinitions = GenerationProfiler.time(GenerationPhase.METADATA, "select-columns", () ->
+            metadataStore.getOrLoad(unit, "select-columns", new TypeReference<List<ColumnMetadata>>() { }, () -> {
+                SchemaCatalog catalog = schemaCatalog.get();
+                if (catalog != null) {
+                    Optional<List<ColumnMetadata>> catalogColumns = new SelectColumnResolver(catalog).resolveColumns(unit);
+                    if (catalogColumns.isPresent()) {
+                        log.info("Resolved {} result columns from schema catalog", catalogColumns.get().size());
+                        return catalogColumns.get();
+                    }
+                }
+                return new SqlMetadata(databaseConnection.jdbcTemplate()).getColumnMetadata(sql);
+            }));
         
         // Extract SQL parameters from WHERE clause
-        ArrayList<DBColumn> sqlWhereClauseParameters = extractSqlParametersFromStatement(sql, databaseConnection);
+        ArrayList<DBColumn> sqlWhereClauseParameters = extractSqlParametersFromStatement(unit, databaseConnection);
+        
+        // Choose how the rows are returned from the estimated number of rows
+        ResultEstimate resultEstimate = GenerationProfiler.time(GenerationPhase.METADATA, "cardinality", () ->
+            metadataStore.getOrLoad(unit, "select-cardinality", new TypeReference<ResultEstimate>() { }, () -> {
+                OptionalLong rows = estimateRows(unit);
+                return new ResultEstimate(rows.isPresent() ? rows.getAsLong() : null, resultShapeOf(unit, rows));
+            }));
+        OptionalLong estimatedRows = resultEstimate.rows();
+        ResultShape resultShape = resultEstimate.resultShape();
+        if (estimatedRows.isPresent()) {
+            log.info("Estimated {} result rows, returned as {}", estimatedRows.getAsLong(), resultShape);
+        }
         
         // Generate Spring Boot application
-        JavaFile springBootApplication = GenerateSpringBootApp.createSpringBootApp(businessDomainName);
+        JavaFile springBootApplication = GenerationProfiler.time(GenerationPhase.GENERATE, GenerateSpringBootApp.class.getSimpleName(), () ->
+            GenerateSpringBootApp.createSpringBootApp(businessDomainName));
         
         // Generate database configuration
-        String databaseConfigContent = GenerateDatabaseConfig.createDatabaseConfig(businessDomainName);
+        String databaseConfigContent = GenerationProfiler.time(GenerationPhase.GENERATE, GenerateDatabaseConfig.class.getSimpleName(), () ->
+            GenerateDatabaseConfig.createDatabaseConfig(businessDomainName));
         
         // Generate DTO for SELECT result mapping
-        JavaFile dtoFile = GenerateDTO.dtoFromColumnMetadata(resultSetColumnDefinitions, businessDomainName);
+        JavaFile dtoFile = GenerationProfiler.time(GenerationPhase.GENERATE, GenerateDTO.class.getSimpleName(), () ->
+            GenerateDTO.dtoFromColumnMetadata(resultSetColumnDefinitions, businessDomainName));
         
         // Generate Controller with REST endpoints
-        JavaFile controllerFile = GenerateController.createController(businessDomainName, sqlWhereClauseParameters);
+        JavaFile controllerFile = GenerationProfiler.time(GenerationPhase.GENERATE, GenerateController.class.getSimpleName(), () ->
+            GenerateController.createController(businessDomainName, sqlWhereClauseParameters, resultShape));
         
         // Generate DAO using metadata approach - much simpler and more reliable than SQL parsing
-        JavaFile daoFile = GenerateDAO.createDaoFromMetadata(businessDomainName, 
-                                                             resultSetColumnDefinitions, 
-                                                             sqlWhereClauseParameters, 
-                                                             sql);
+        JavaFile daoFile = GenerationProfiler.time(GenerationPhase.GENERATE, GenerateDAO.class.getSimpleName(), () ->
+            GenerateDAO.createDaoFromMetadata(businessDomainName,
+                                              resultSetColumnDefinitions,
+                                              sqlWhereClauseParameters,
+                                              unit,
+                                              resultShape,
+                                              estimatedRows));
         
         log.info("Successfully generated SELECT microservice components for: {}", businessDomainName);
         
@@ -85,8 +180,8 @@ public class SelectMicroserviceGenerator {
         );
     }
     
-    private void validateInputParameters(String sql, String businessDomainName, DatabaseConnection databaseConnection) {
-        if (sql == null || sql.trim().isEmpty()) {
+    private void validateInputParameters(SqlCompilationUnit unit, String businessDomainName, DatabaseConnection databaseConnection) {
+        if (unit == null) {
             throw new IllegalArgumentException("SQL statement cannot be null or empty");
         }
         if (businessDomainName == null || businessDomainName.trim().isEmpty()) {
@@ -97,9 +192,32 @@ public class SelectMicroserviceGenerator {
         }
     }
     
-    private ArrayList<DBColumn> extractSqlParametersFromStatement(String sql, DatabaseConnection databaseConnection) throws SQLException {
-        ParameterMetadataExtractor extractor = new ParameterMetadataExtractor(databaseConnection.dataSource());
-        List<DBColumn> parameters = extractor.extractParameters(sql);
+    /**
+     * Estimates the rows of the statement; empty without statistics or a schema catalog, which is only requested
+     * when there are statistics.
+     */
+    private OptionalLong estimateRows(SqlCompilationUnit unit) {
+        TableStatistics statistics = tableStatistics.get();
+        if (statistics == null || statistics.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        SchemaCatalog catalog = schemaCatalog.get();
+        return catalog != null ? new CardinalityEstimator(catalog, statistics).estimateRows(unit) : OptionalLong.empty();
+    }
+
+    private static ResultShape resultShapeOf(SqlCompilationUnit unit, OptionalLong estimatedRows) {
+        ResultShape resultShape = ResultShape.forEstimatedRows(estimatedRows);
+        if (resultShape == ResultShape.PAGED && !GenerateDAO.isPageable(unit)) {
+            log.info("Statement has no ORDER BY to page by, or limits its rows itself; streaming its rows instead");
+            resultShape = ResultShape.STREAM;
+        }
+        return resultShape;
+    }
+    
+    private ArrayList<DBColumn> extractSqlParametersFromStatement(SqlCompilationUnit unit, DatabaseConnection databaseConnection) throws Exception {
+        List<DBColumn> parameters = GenerationProfiler.time(GenerationPhase.METADATA, "select-parameters", () ->
+            metadataStore.getOrLoad(unit, "select-parameters", new TypeReference<List<DBColumn>>() { }, () ->
+                new ParameterMetadataExtractor(databaseConnection.dataSource(), schemaCatalog.get()).extractParameters(unit)));
         return new ArrayList<>(parameters);
     }
 }
\ No newline at end of file
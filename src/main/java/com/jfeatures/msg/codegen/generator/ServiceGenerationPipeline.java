@@ -0,0 +1,280 @@
+package com.jfeatures.msg.codegen.generator;
+
+import com.jfeatures.msg.codegen.GenerateLatencyRegressionTest;
+import com.jfeatures.msg.codegen.constants.ProjectConstants;
+import com.jfeatures.msg.codegen.dbmetadata.MetadataStore;
+import com.jfeatures.msg.codegen.dbmetadata.SchemaCatalog;
+import com.jfeatures.msg.codegen.dbmetadata.TableStatistics;
+import com.jfeatures.msg.codegen.domain.DatabaseConnection;
+import com.jfeatures.msg.codegen.domain.ExecutionPlanReport;
+import com.jfeatures.msg.codegen.domain.GeneratedMicroservice;
+import com.jfeatures.msg.codegen.domain.IndexRecommendation;
+import com.jfeatures.msg.codegen.domain.LatencyBaseline;
+import com.jfeatures.msg.codegen.domain.PlanFinding;
+import com.jfeatures.msg.codegen.domain.SargabilityFinding;
+import com.jfeatures.msg.codegen.domain.SourceVerificationResult;
+import com.jfeatures.msg.codegen.index.IndexRecommender;
+import com.jfeatures.msg.codegen.index.RecommendedIndexScriptRenderer;
+import com.jfeatures.msg.codegen.latency.LatencyBaselineRenderer;
+import com.jfeatures.msg.codegen.latency.LatencyProfiler;
+import com.jfeatures.msg.codegen.plan.ExecutionPlanAnalyzer;
+import com.jfeatures.msg.codegen.plan.PerformanceReportRenderer;
+import com.jfeatures.msg.codegen.profile.GenerationPhase;
+import com.jfeatures.msg.codegen.profile.GenerationProfiler;
+import com.jfeatures.msg.codegen.sargability.SargabilityAdvisor;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import com.jfeatures.msg.codegen.util.SqlStatementType;
+import com.jfeatures.msg.codegen.verify.GeneratedSourceVerifier;
+import com.squareup.javapoet.JavaFile;
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The steps every generated service goes through, whichever mode generates it: the microservice is generated from
+ * its statement, its execution plan analyzed, indexes recommended and its latency profiled as requested, then the
+ * project is written with the requested reports, its sources verified and the plan checked for scans.
+ * Shared by single-file, batch, schema-wide CRUD and script generation; safe to use from concurrent generations.
+ */
+@Slf4j
+public class ServiceGenerationPipeline {
+
+    private final String schemaName;
+    private final boolean analyzePlan;
+    private final Long failOnScanRows;
+    private final boolean recommendIndexes;
+    private final boolean profileLatency;
+    private final GeneratedSourceVerifier sourceVerifier;
+
+    /**
+     * @param schemaName the schema of tables the statements reference without one
+     * @param analyzePlan whether the execution plan is analyzed and written as a performance report
+     * @param failOnScanRows fail when the plan scans at least this many rows; null to not check, and to not analyze
+     *                       the plan unless {@code analyzePlan} is set
+     * @param recommendIndexes whether missing indexes are recommended and written as a script
+     * @param profileLatency whether the latency is profiled and written as a baseline with its regression test
+     * @param sourceVerifier compiles the generated sources; null to not verify them
+     */
+    public ServiceGenerationPipeline(String schemaName, boolean analyzePlan, Long failOnScanRows,
+                                     boolean recommendIndexes, boolean profileLatency,
+                                     GeneratedSourceVerifier sourceVerifier) {
+        if (schemaName == null || schemaName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Schema name cannot be null or empty");
+        }
+        this.schemaName = schemaName;
+        this.analyzePlan = analyzePlan;
+        this.failOnScanRows = failOnScanRows;
+        this.recommendIndexes = recommendIndexes;
+        this.profileLatency = profileLatency;
+        this.sourceVerifier = sourceVerifier;
+    }
+
+    /**
+     * The metadata the services are generated with. A batch in watch mode replaces them when the schema changed.
+     *
+     * @param schemaCatalog supplies the schema catalog on a metadata store miss; may supply null
+     * @param metadataStore answers metadata lookups (cache, recorder or replayed fixture)
+     * @param rowCounts supplies the row counts of the tables, for the estimated sizes of recommended indexes
+     * @param tableStatistics supplies the statistics the result rows of a SELECT are estimated from
+     */
+    public record MetadataSources(Supplier<SchemaCatalog> schemaCatalog, MetadataStore metadataStore,
+                                  Supplier<Map<String, Long>> rowCounts, Supplier<TableStatistics> tableStatistics) {
+    }
+
+    /**
+     * A generated microservice with what was learned about its statement.
+     *
+     * @param microservice the generated microservice
+     * @param planReport the analyzed execution plan; null when not requested
+     * @param reportFiles the requested reports by path relative to the project root
+     */
+    public record GeneratedService(GeneratedMicroservice microservice, ExecutionPlanReport planReport,
+                                   Map<String, String> reportFiles) {
+    }
+
+    /**
+     * Writes a generated microservice and its reports, to a directory or an archive.
+     */
+    @FunctionalInterface
+    public interface ServiceWriter {
+        void write(GeneratedMicroservice microservice, Map<String, String> reportFiles) throws Exception;
+    }
+
+    /**
+     * Runs every step for one statement: generates the service, writes it, verifies its sources and fails on a
+     * scan. The project and its reports are written before the checks, so a failure can be inspected.
+     *
+     * @return the generated microservice
+     */
+    public GeneratedMicroservice run(SqlStatementType statementType, SqlCompilationUnit unit, String businessDomainName,
+                                     DatabaseConnection databaseConnection, MetadataSources metadataSources,
+                                     ServiceWriter writer) throws Exception {
+        GeneratedService service = generate(statementType, unit, businessDomainName, databaseConnection, metadataSources);
+        writer.write(service.microservice(), service.reportFiles());
+        verify(service.microservice());
+        failOnScan(service.planReport());
+        return service.microservice();
+    }
+
+    /**
+     * Generates the microservice of the statement and the requested reports, without writing anything. For modes
+     * that write several services into one project; they call {@link #verify} once it is written.
+     */
+    public GeneratedService generate(SqlStatementType statementType, SqlCompilationUnit unit, String businessDomainName,
+                                     DatabaseConnection databaseConnection,
+                                     MetadataSources metadataSources) throws Exception {
+        logSargabilityFindings(businessDomainName, unit);
+        GeneratedMicroservice microservice = new StatementMicroserviceGenerator(metadataSources.schemaCatalog(),
+            metadataSources.metadataStore(), schemaName, metadataSources.tableStatistics())
+            .generate(statementType, unit, businessDomainName, databaseConnection);
+        ExecutionPlanReport planReport = analyzePlan(microservice, unit, databaseConnection);
+        List<IndexRecommendation> indexRecommendations =
+            recommendIndexes(microservice, unit, databaseConnection, metadataSources);
+        LatencyBaseline latencyBaseline = profileLatency(microservice, unit, databaseConnection);
+        return new GeneratedService(microservice, planReport,
+                                    reportFiles(microservice, planReport, indexRecommendations, latencyBaseline));
+    }
+
+    /**
+     * When sources are verified, compiles the generated sources in memory and fails when they do not compile.
+     * Every compiler error is logged with its file, line and column; the project has already been written,
+     * so the reported lines can be inspected.
+     */
+    public void verify(GeneratedMicroservice microservice) throws IOException {
+        if (sourceVerifier == null) {
+            return;
+        }
+        SourceVerificationResult result = sourceVerifier.verify(microservice);
+        if (result.succeeded()) {
+            log.info("Verified {}: {} generated sources compile ({} ms)", result.businessDomainName(),
+                     result.sourceFileCount(), result.elapsed().toMillis());
+            return;
+        }
+        log.error("Generated sources of {} do not compile:", result.businessDomainName());
+        result.diagnostics().forEach(diagnostic -> log.error("  {}", diagnostic));
+        throw new IllegalStateException("Generated sources of " + result.businessDomainName() + " do not compile: "
+            + result.diagnostics().size() + " compiler errors");
+    }
+
+    /**
+     * Logs the predicates that prevent index seeks, with their rewrite when there is one.
+     */
+    public static void logSargabilityFindings(String source, List<SargabilityFinding> findings) {
+        findings.forEach(finding -> log.warn("{}: {} {} - {}{}", source, finding.type().label(), finding.predicate(),
+            finding.detail(), finding.isRewritable() ? ". Rewrite: " + finding.rewrite() : ""));
+    }
+
+    /**
+     * Logs the predicates of the statement that prevent index seeks. Only the syntax is checked, so no metadata is
+     * needed and generation is not delayed.
+     */
+    private static void logSargabilityFindings(String businessDomainName, SqlCompilationUnit unit) {
+        try (var ignored = GenerationProfiler.phase(GenerationPhase.PLAN, "sargability")) {
+            logSargabilityFindings(businessDomainName, new SargabilityAdvisor().analyze(unit));
+        }
+    }
+
+    /**
+     * When the plan is analyzed or checked for scans, fetches the estimated execution plan of the statement and logs
+     * its findings; returns null otherwise.
+     */
+    private ExecutionPlanReport analyzePlan(GeneratedMicroservice microservice, SqlCompilationUnit unit,
+                                            DatabaseConnection databaseConnection) throws SQLException {
+        if (!analyzePlan && failOnScanRows == null) {
+            return null;
+        }
+        ExecutionPlanReport report = new ExecutionPlanAnalyzer(databaseConnection.dataSource())
+            .analyze(microservice.businessDomainName(), unit);
+        report.findings().forEach(finding -> log.warn("{}: {} {} - {}", report.businessDomainName(),
+            finding.type().label(), finding.objectName() != null ? finding.objectName() : "", finding.detail()));
+        return report;
+    }
+
+    /**
+     * When indexes are recommended, compares the predicate and selected columns of the statement with the existing
+     * indexes of its tables and logs the indexes it needs; returns null otherwise, or when the metadata of the tables
+     * cannot be loaded.
+     */
+    private List<IndexRecommendation> recommendIndexes(GeneratedMicroservice microservice, SqlCompilationUnit unit,
+                                                       DatabaseConnection databaseConnection,
+                                                       MetadataSources metadataSources) {
+        if (!recommendIndexes) {
+            return null;
+        }
+        try (var ignored = GenerationProfiler.phase(GenerationPhase.PLAN, "indexes")) {
+            SchemaCatalog catalog = new StatementMicroserviceGenerator(metadataSources.schemaCatalog(),
+                metadataSources.metadataStore(), schemaName).catalogOf(unit, databaseConnection);
+            if (catalog == null) {
+                log.warn("{}: no index recommendations, the metadata of its tables could not be loaded",
+                         microservice.businessDomainName());
+                return null;
+            }
+            List<IndexRecommendation> recommendations =
+                new IndexRecommender(catalog, metadataSources.rowCounts().get()).recommend(unit);
+            recommendations.forEach(recommendation -> log.warn("{}: recommended index {} on {}.{} - {}",
+                microservice.businessDomainName(), recommendation.indexName(), recommendation.schemaName(),
+                recommendation.tableName(), recommendation.reason()));
+            return recommendations;
+        }
+    }
+
+    /**
+     * When latency is profiled, measures the latency and logical reads of a SELECT, UPDATE or DELETE statement;
+     * returns null otherwise, for an INSERT, or when its parameter values cannot be sampled.
+     */
+    private LatencyBaseline profileLatency(GeneratedMicroservice microservice, SqlCompilationUnit unit,
+                                           DatabaseConnection databaseConnection) throws SQLException {
+        if (!profileLatency || !LatencyProfiler.canProfile(microservice.statementType())) {
+            return null;
+        }
+        return new LatencyProfiler(databaseConnection.dataSource(), schemaName)
+            .profile(microservice.businessDomainName(), unit)
+            .orElse(null);
+    }
+
+    /**
+     * When scans are checked, fails when the plan scans a table or index estimated to read at least the given
+     * number of rows.
+     */
+    private void failOnScan(ExecutionPlanReport planReport) {
+        if (planReport == null || failOnScanRows == null) {
+            return;
+        }
+        List<PlanFinding> scans = planReport.scansReading(failOnScanRows);
+        if (!scans.isEmpty()) {
+            throw new IllegalStateException("Execution plan of " + planReport.businessDomainName() + " scans "
+                + scans.stream().map(PlanFinding::objectName).distinct().toList()
+                + ", estimated to read at least " + failOnScanRows + " rows (--fail-on-scan)");
+        }
+    }
+
+    /**
+     * Returns the requested reports by path relative to the project root: the performance report of the plan, the
+     * index script and the latency baseline with its regression test.
+     */
+    private static Map<String, String> reportFiles(GeneratedMicroservice microservice, ExecutionPlanReport planReport,
+                                                   List<IndexRecommendation> indexRecommendations,
+                                                   LatencyBaseline latencyBaseline) {
+        Map<String, String> reportFiles = new LinkedHashMap<>();
+        if (planReport != null) {
+            reportFiles.put(PerformanceReportRenderer.REPORT_FILE_NAME, PerformanceReportRenderer.render(planReport));
+        }
+        if (indexRecommendations != null) {
+            reportFiles.put(RecommendedIndexScriptRenderer.SCRIPT_PATH,
+                RecommendedIndexScriptRenderer.render(microservice.businessDomainName(), indexRecommendations));
+        }
+        if (latencyBaseline != null) {
+            reportFiles.put(LatencyBaselineRenderer.BASELINE_PATH, LatencyBaselineRenderer.render(latencyBaseline));
+            JavaFile regressionTest = GenerateLatencyRegressionTest.createLatencyRegressionTest(microservice.businessDomainName());
+            reportFiles.put(ProjectConstants.SRC_TEST_JAVA_PATH.replace(File.separatorChar, '/') + "/"
+                + regressionTest.packageName.replace('.', '/') + "/" + regressionTest.typeSpec.name + ".java",
+                regressionTest.toString());
+        }
+        return reportFiles;
+    }
+}
@@ -0,0 +1,165 @@
+package com.jfeatures.msg.codegen.generator;
+
+import com.jfeatures.msg.codegen.domain.GeneratedMicroservice;
+import com.jfeatures.msg.codegen.domain.ScriptGenerationResult;
+import com.jfeatures.msg.codegen.domain.ScriptStatement;
+import com.jfeatures.msg.codegen.domain.TableReference;
+import com.jfeatures.msg.codegen.profile.GenerationProfiler;
+import com.jfeatures.msg.codegen.util.SqlStatementDetector;
+import com.jfeatures.msg.codegen.util.SqlStatementType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates the microservices of the statements of a SQL script concurrently on virtual threads, with at most
+ * {@code jobs} statements generated at the same time. The microservices are returned rather than written, so they
+ * can be written together as one project; a failing statement does not stop the others.
+ * Statements other than SELECT, INSERT, UPDATE and DELETE, such as the {@code USE} or {@code SET} statements
+ * scripts often start with, are skipped.
+ */
+@Slf4j
+public class SqlScriptGenerator {
+
+    private final int jobs;
+    private final GenerationProfiler profiler;
+
+    public SqlScriptGenerator(int jobs) {
+        this(jobs, GenerationProfiler.disabled());
+    }
+
+    /**
+     * @param jobs the maximum number of statements generated at the same time
+     * @param profiler collects the generation phases of each statement, bound to its business domain name
+     */
+    public SqlScriptGenerator(int jobs, GenerationProfiler profiler) {
+        if (jobs < 1) {
+            throw new IllegalArgumentException("Number of concurrent jobs must be at least 1");
+        }
+        if (profiler == null) {
+            throw new IllegalArgumentException("Generation profiler cannot be null");
+        }
+        this.jobs = jobs;
+        this.profiler = profiler;
+    }
+
+    /**
+     * Generates the microservice of one statement of the script.
+     */
+    @FunctionalInterface
+    public interface StatementGenerator {
+
+        /**
+         * @param statementType the detected type of the statement
+         * @param statement the statement with its business domain name
+         * @return the generated microservice
+         */
+        GeneratedMicroservice generate(SqlStatementType statementType, ScriptStatement statement) throws Exception;
+    }
+
+    /**
+     * Returns the tables referenced by any statement of the script, each once, in order of first reference,
+     * so their metadata can be loaded for all statements together.
+     */
+    public static List<TableReference> referencedTables(List<ScriptStatement> statements) {
+        if (statements == null) {
+            throw new IllegalArgumentException("Script statements cannot be null");
+        }
+        Set<TableReference> tables = new LinkedHashSet<>();
+        for (ScriptStatement statement : statements) {
+            for (TableReference table : statement.unit().tableReferences()) {
+                // Aliases differ between statements but do not change which table is loaded
+                tables.add(new TableReference(table.schemaName(), table.tableName(), null));
+            }
+        }
+        return List.copyOf(tables);
+    }
+
+    /**
+     * Generates the microservices of all statements and returns their results in script order.
+     *
+     * @throws InterruptedException if generation is interrupted while waiting for the statements to finish
+     */
+    public List<ScriptGenerationResult> generateAll(List<ScriptStatement> statements,
+                                                    StatementGenerator statementGenerator) throws InterruptedException {
+        if (statements == null || statements.isEmpty()) {
+            throw new IllegalArgumentException("Script statements cannot be null or empty");
+        }
+        if (statementGenerator == null) {
+            throw new IllegalArgumentException("Statement generator cannot be null");
+        }
+
+        log.info("Generating microservices for {} statements with up to {} concurrent jobs", statements.size(), jobs);
+        Semaphore permits = new Semaphore(jobs);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<ScriptGenerationResult>> forks = new ArrayList<>(statements.size());
+            for (ScriptStatement statement : statements) {
+                SqlStatementType statementType = SqlStatementDetector.detectStatementType(statement.unit());
+                if (statementType == SqlStatementType.UNKNOWN) {
+                    log.warn("Skipping statement {} at line {}: not a SELECT, INSERT, UPDATE or DELETE statement",
+                             statement.businessDomainName(), statement.lineNumber());
+                    continue;
+                }
+                forks.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return generateOne(statementType, statement, statementGenerator);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            List<ScriptGenerationResult> results = new ArrayList<>(forks.size());
+            for (Future<ScriptGenerationResult> fork : forks) {
+                results.add(fork.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            // generateOne reports every exception as a failed result, so only errors end up here
+            throw new IllegalStateException("Script generation failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Logs one line per statement followed by the totals.
+     */
+    public static void logSummary(List<ScriptGenerationResult> results) {
+        long failures = results.stream().filter(result -> !result.succeeded()).count();
+        log.info("Script generation summary:");
+        for (ScriptGenerationResult result : results) {
+            if (result.succeeded()) {
+                log.info("  OK    line {} {} {} ({} ms)", result.lineNumber(), result.statementType(),
+                         result.businessDomainName(), result.elapsed().toMillis());
+            } else {
+                log.warn("  FAIL  line {} {}: {}", result.lineNumber(), result.businessDomainName(), result.errorMessage());
+            }
+        }
+        log.info("{} of {} microservices generated, {} failed", results.size() - failures, results.size(), failures);
+    }
+
+    private ScriptGenerationResult generateOne(SqlStatementType statementType, ScriptStatement statement,
+                                               StatementGenerator statementGenerator) {
+        long start = System.nanoTime();
+        try (GenerationProfiler.ServiceScope ignored = profiler.profile(statement.businessDomainName())) {
+            GeneratedMicroservice microservice = statementGenerator.generate(statementType, statement);
+            return ScriptGenerationResult.success(statement, statementType, microservice, elapsedSince(start));
+        } catch (Exception e) {
+            log.error("Failed to generate {} microservice {} at line {}: {}", statementType,
+                      statement.businessDomainName(), statement.lineNumber(), e.getMessage(), e);
+            return ScriptGenerationResult.failure(statement, statementType, e.getMessage(), elapsedSince(start));
+        }
+    }
+
+    private static Duration elapsedSince(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+}
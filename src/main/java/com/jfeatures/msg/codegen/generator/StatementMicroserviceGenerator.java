@@ -0,0 +1,148 @@
+package com.jfeatures.msg.codegen.generator;
+
+import com.jfeatures.msg.codegen.constants.ProjectConstants;
+import com.jfeatures.msg.codegen.database.ConnectionFailures;
+import com.jfeatures.msg.codegen.dbmetadata.MetadataStore;
+import com.jfeatures.msg.codegen.dbmetadata.ReferencedTableCatalogLoader;
+import com.jfeatures.msg.codegen.dbmetadata.SchemaCatalog;
+import com.jfeatures.msg.codegen.dbmetadata.TableStatistics;
+import com.jfeatures.msg.codegen.domain.DatabaseConnection;
+import com.jfeatures.msg.codegen.domain.GeneratedMicroservice;
+import com.jfeatures.msg.codegen.profile.GenerationPhase;
+import com.jfeatures.msg.codegen.profile.GenerationProfiler;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import com.jfeatures.msg.codegen.util.LazySupplier;
+import com.jfeatures.msg.codegen.util.SqlStatementDetector;
+import com.jfeatures.msg.codegen.util.SqlStatementType;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates a microservice for any supported SQL statement by delegating to the generator of its statement type.
+ * Shared by the command line, batch and schema-wide generation and the generation service.
+ * <p>
+ * When the schema catalog is unavailable, the tables the statement references are looked up concurrently
+ * with {@link ReferencedTableCatalogLoader} before falling back to per-statement JDBC metadata lookups.
+ */
+@Slf4j
+public class StatementMicroserviceGenerator {
+
+    private final Supplier<SchemaCatalog> schemaCatalog;
+    private final MetadataStore metadataStore;
+    private final String defaultSchema;
+    private final Supplier<TableStatistics> tableStatistics;
+
+    /**
+     * Creates a generator whose statements reference tables of the {@code dbo} schema by default.
+     *
+     * @param schemaCatalog supplies the schema catalog on a metadata store miss; may supply null to query JDBC metadata per statement
+     * @param metadataStore answers metadata lookups (cache, recorder or replayed fixture)
+     */
+    public StatementMicroserviceGenerator(Supplier<SchemaCatalog> schemaCatalog, MetadataStore metadataStore) {
+        this(schemaCatalog, metadataStore, ProjectConstants.DEFAULT_SCHEMA_NAME);
+    }
+
+    /**
+     * @param schemaCatalog supplies the schema catalog on a metadata store miss; may supply null to query JDBC metadata per statement
+     * @param metadataStore answers metadata lookups (cache, recorder or replayed fixture)
+     * @param defaultSchema the schema of tables the statements reference without one
+     */
+    public StatementMicroserviceGenerator(Supplier<SchemaCatalog> schemaCatalog, MetadataStore metadataStore,
+                                          String defaultSchema) {
+        this(schemaCatalog, metadataStore, defaultSchema, TableStatistics::empty);
+    }
+
+    /**
+     * @param schemaCatalog supplies the schema catalog on a metadata store miss; may supply null to query JDBC metadata per statement
+     * @param metadataStore answers metadata lookups (cache, recorder or replayed fixture)
+     * @param defaultSchema the schema of tables the statements reference without one
+     * @param tableStatistics supplies the row counts and distinct values a SELECT's result rows are estimated from
+     */
+    public StatementMicroserviceGenerator(Supplier<SchemaCatalog> schemaCatalog, MetadataStore metadataStore,
+                                          String defaultSchema, Supplier<TableStatistics> tableStatistics) {
+        if (schemaCatalog == null || metadataStore == null) {
+            throw new IllegalArgumentException("Schema catalog supplier and metadata store cannot be null");
+        }
+        if (defaultSchema == null || defaultSchema.trim().isEmpty()) {
+            throw new IllegalArgumentException("Default schema cannot be null or empty");
+        }
+        if (tableStatistics == null) {
+            throw new IllegalArgumentException("Table statistics supplier cannot be null");
+        }
+        this.schemaCatalog = schemaCatalog;
+        this.metadataStore = metadataStore;
+        this.defaultSchema = defaultSchema;
+        this.tableStatistics = tableStatistics;
+    }
+
+    /**
+     * Detects the statement type of the compiled SQL and generates its microservice.
+     */
+    public GeneratedMicroservice generate(SqlCompilationUnit unit, String businessDomainName,
+                                          DatabaseConnection databaseConnection) throws Exception {
+        if (unit == null) {
+            throw new IllegalArgumentException("SQL statement cannot be null or empty");
+        }
+        return generate(SqlStatementDetector.detectStatementType(unit), unit, businessDomainName, databaseConnection);
+    }
+
+    /**
+     * Generates the microservice of a statement whose type is already known.
+     *
+     * @throws IllegalArgumentException if the statement type is not SELECT, UPDATE, INSERT or DELETE
+     */
+    public GeneratedMicroservice generate(SqlStatementType statementType, SqlCompilationUnit unit,
+                                          String businessDomainName,
+                                          DatabaseConnection databaseConnection) throws Exception {
+        Supplier<SchemaCatalog> catalog = statementCatalog(unit, databaseConnection);
+        return switch (statementType) {
+            case SELECT -> new SelectMicroserviceGenerator(catalog, metadataStore, tableStatistics)
+                .generateSelectMicroservice(unit, businessDomainName, databaseConnection);
+            case UPDATE -> new UpdateMicroserviceGenerator(catalog, metadataStore)
+                .generateUpdateMicroservice(unit, businessDomainName, databaseConnection);
+            case INSERT -> new InsertMicroserviceGenerator(catalog, metadataStore)
+                .generateInsertMicroservice(unit, businessDomainName, databaseConnection);
+            case DELETE -> new DeleteMicroserviceGenerator(catalog, metadataStore)
+                .generateDeleteMicroservice(unit, businessDomainName, databaseConnection);
+            default -> throw new IllegalArgumentException(
+                "Unknown or unsupported SQL statement type: '" + statementType + "'. Please provide a valid SELECT, UPDATE, INSERT, or DELETE statement.");
+        };
+    }
+
+    /**
+     * Returns the schema catalog, or when there is none, a catalog of the tables the statement references.
+     *
+     * @return the catalog, or null when neither can be loaded
+     */
+    public SchemaCatalog catalogOf(SqlCompilationUnit unit, DatabaseConnection databaseConnection) {
+        if (unit == null) {
+            throw new IllegalArgumentException("SQL statement cannot be null or empty");
+        }
+        return statementCatalog(unit, databaseConnection).get();
+    }
+
+    /**
+     * Returns the schema catalog, or when there is none, a catalog of the tables the statement references. Like
+     * the schema catalog, it is only loaded on a metadata store miss, and at most once per statement.
+     */
+    private Supplier<SchemaCatalog> statementCatalog(SqlCompilationUnit unit, DatabaseConnection databaseConnection) {
+        return LazySupplier.of(() -> {
+            SchemaCatalog catalog = schemaCatalog.get();
+            return catalog != null ? catalog : loadReferencedTables(unit, databaseConnection);
+        });
+    }
+
+    private SchemaCatalog loadReferencedTables(SqlCompilationUnit unit, DatabaseConnection databaseConnection) {
+        if (unit.tableReferences().isEmpty() || databaseConnection == null || databaseConnection.dataSource() == null) {
+            return null;
+        }
+        try (GenerationProfiler.Phase ignored = GenerationProfiler.phase(GenerationPhase.METADATA, "referenced-tables")) {
+            return new ReferencedTableCatalogLoader(databaseConnection.dataSource()).load(defaultSchema, unit.tableReferences());
+        } catch (SQLException | RuntimeException e) {
+            ConnectionFailures.throwIfConnectionFailure(e, "the referenced tables");
+            log.warn("Could not load metadata of the referenced tables, falling back to JDBC metadata lookups: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -1,16 +1,24 @@
 package com.jfeatures.msg.codegen.generator;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.jfeatures.msg.codegen.GenerateDatabaseConfig;
 import com.jfeatures.msg.codegen.GenerateSpringBootApp;
 import com.jfeatures.msg.codegen.GenerateUpdateController;
 import com.jfeatures.msg.codegen.GenerateUpdateDAO;
 import com.jfeatures.msg.codegen.GenerateUpdateDTO;
+import com.jfeatures.msg.codegen.dbmetadata.MetadataCache;
+import com.jfeatures.msg.codegen.dbmetadata.MetadataStore;
+import com.jfeatures.msg.codegen.dbmetadata.SchemaCatalog;
 import com.jfeatures.msg.codegen.dbmetadata.UpdateMetadata;
 import com.jfeatures.msg.codegen.dbmetadata.UpdateMetadataExtractor;
 import com.jfeatures.msg.codegen.domain.DatabaseConnection;
 import com.jfeatures.msg.codegen.domain.GeneratedMicroservice;
+import com.jfeatures.msg.codegen.profile.GenerationPhase;
+import com.jfeatures.msg.codegen.profile.GenerationProfiler;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
 import com.jfeatures.msg.codegen.util.SqlStatementType;
 import com.squareup.javapoet.JavaFile;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -20,6 +28,26 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 public class UpdateMicroserviceGenerator {
+
+    private final Supplier<SchemaCatalog> schemaCatalog;
+    private final MetadataStore metadataStore;
+
+    public UpdateMicroserviceGenerator() {
+        this(() -> null, MetadataCache.disabled());
+    }
+
+    /**
+     * Creates a generator that answers metadata from the given store (a cache or a recorded fixture) and,
+     * when the store has to extract it, resolves it from the schema catalog. The catalog is only requested
+     * on extraction; a null catalog falls back to per-statement JDBC metadata lookups.
+     */
+    public UpdateMicroserviceGenerator(Supplier<SchemaCatalog> schemaCatalog, MetadataStore metadataStore) {
+        if (schemaCatalog == null || metadataStore == null) {
+            throw new IllegalArgumentException("Schema catalog supplier and metadata store cannot be null");
+        }
+        this.schemaCatalog = schemaCatalog;
+        this.metadataStore = metadataStore;
+    }
     
     /**
      * Generates a complete microservice for UPDATE SQL statements.
@@ -35,32 +63,52 @@ public class UpdateMicroserviceGenerator {
     public GeneratedMicroservice generateUpdateMicroservice(String sql, 
                                                            String businessDomainName, 
                                                            DatabaseConnection databaseConnection) throws Exception {
+        if (sql == null || sql.trim().isEmpty()) {
+            throw new IllegalArgumentException("SQL statement cannot be null or empty");
+        }
+        return generateUpdateMicroservice(SqlCompilationUnit.compile(sql), businessDomainName, databaseConnection);
+    }
+
+    /**
+     * Generates a complete microservice for an already compiled UPDATE statement,
+     * sharing its syntax tree with every metadata lookup instead of parsing the SQL again.
+     */
+    public GeneratedMicroservice generateUpdateMicroservice(SqlCompilationUnit unit,
+                                                           String businessDomainName,
+                                                           DatabaseConnection databaseConnection) throws Exception {
         
-        validateInputParameters(sql, businessDomainName, databaseConnection);
+        validateInputParameters(unit, businessDomainName, databaseConnection);
+        String sql = unit.sql();
         
         log.info("Generating UPDATE microservice for business domain: {}", businessDomainName);
         
-        // Extract UPDATE metadata from SQL statement
-        UpdateMetadataExtractor updateExtractor = new UpdateMetadataExtractor(
-            databaseConnection.dataSource()
-        );
-        UpdateMetadata updateMetadata = updateExtractor.extractUpdateMetadata(sql);
+        // Extract UPDATE metadata from SQL statement, reusing a cached extraction when the tables are unchanged
+        UpdateMetadata cachedMetadata = GenerationProfiler.time(GenerationPhase.METADATA, "update", () ->
+            metadataStore.getOrLoad(unit, "update", new TypeReference<UpdateMetadata>() { }, () ->
+                new UpdateMetadataExtractor(databaseConnection.dataSource(), schemaCatalog.get()).extractUpdateMetadata(unit)));
+        UpdateMetadata updateMetadata = new UpdateMetadata(cachedMetadata.tableName(), cachedMetadata.setColumns(),
+                                                           cachedMetadata.whereColumns(), sql);
         log.info("Extracted UPDATE metadata for table: {}", updateMetadata.tableName());
         
         // Generate Spring Boot application
-        JavaFile springBootApplication = GenerateSpringBootApp.createSpringBootApp(businessDomainName);
+        JavaFile springBootApplication = GenerationProfiler.time(GenerationPhase.GENERATE, GenerateSpringBootApp.class.getSimpleName(), () ->
+            GenerateSpringBootApp.createSpringBootApp(businessDomainName));
         
         // Generate database configuration
-        String databaseConfigContent = GenerateDatabaseConfig.createDatabaseConfig(businessDomainName);
+        String databaseConfigContent = GenerationProfiler.time(GenerationPhase.GENERATE, GenerateDatabaseConfig.class.getSimpleName(), () ->
+            GenerateDatabaseConfig.createDatabaseConfig(businessDomainName));
         
         // Generate DTOs for UPDATE operations (both SET and WHERE DTOs)
-        JavaFile updateDTO = GenerateUpdateDTO.createUpdateDTO(businessDomainName, updateMetadata);
+        JavaFile updateDTO = GenerationProfiler.time(GenerationPhase.GENERATE, GenerateUpdateDTO.class.getSimpleName(), () ->
+            GenerateUpdateDTO.createUpdateDTO(businessDomainName, updateMetadata));
         
         // Generate Controller with UPDATE REST endpoints
-        JavaFile controllerFile = GenerateUpdateController.createUpdateController(businessDomainName, updateMetadata);
+        JavaFile controllerFile = GenerationProfiler.time(GenerationPhase.GENERATE, GenerateUpdateController.class.getSimpleName(), () ->
+            GenerateUpdateController.createUpdateController(businessDomainName, updateMetadata));
         
         // Generate DAO for UPDATE operations
-        JavaFile daoFile = GenerateUpdateDAO.createUpdateDAO(businessDomainName, updateMetadata);
+        JavaFile daoFile = GenerationProfiler.time(GenerationPhase.GENERATE, GenerateUpdateDAO.class.getSimpleName(), () ->
+            GenerateUpdateDAO.createUpdateDAO(businessDomainName, updateMetadata));
         
         log.info("Successfully generated UPDATE microservice components for: {}", businessDomainName);
         
@@ -75,8 +123,8 @@ public class UpdateMicroserviceGenerator {
         );
     }
     
-    private void validateInputParameters(String sql, String businessDomainName, DatabaseConnection databaseConnection) {
-        if (sql == null || sql.trim().isEmpty()) {
+    private void validateInputParameters(SqlCompilationUnit unit, String businessDomainName, DatabaseConnection databaseConnection) {
+        if (unit == null) {
             throw new IllegalArgumentException("SQL statement cannot be null or empty");
         }
         if (businessDomainName == null || businessDomainName.trim().isEmpty()) {
@@ -0,0 +1,518 @@
+package com.jfeatures.msg.codegen.index;
+
+import com.jfeatures.msg.codegen.dbmetadata.CatalogColumn;
+import com.jfeatures.msg.codegen.dbmetadata.CatalogIndex;
+import com.jfeatures.msg.codegen.dbmetadata.CatalogTable;
+import com.jfeatures.msg.codegen.dbmetadata.SchemaCatalog;
+import com.jfeatures.msg.codegen.domain.IndexRecommendation;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import com.jfeatures.msg.codegen.util.TableReferenceFinder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jsqlparser.expression.BinaryExpression;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.ExpressionVisitorAdapter;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.expression.operators.relational.Between;
+import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
+import net.sf.jsqlparser.expression.operators.relational.ExpressionList;
+import net.sf.jsqlparser.expression.operators.relational.GreaterThan;
+import net.sf.jsqlparser.expression.operators.relational.GreaterThanEquals;
+import net.sf.jsqlparser.expression.operators.relational.InExpression;
+import net.sf.jsqlparser.expression.operators.relational.IsNullExpression;
+import net.sf.jsqlparser.expression.operators.relational.MinorThan;
+import net.sf.jsqlparser.expression.operators.relational.MinorThanEquals;
+import net.sf.jsqlparser.expression.operators.relational.ParenthesedExpressionList;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.delete.Delete;
+import net.sf.jsqlparser.statement.select.AllColumns;
+import net.sf.jsqlparser.statement.select.AllTableColumns;
+import net.sf.jsqlparser.statement.select.FromItem;
+import net.sf.jsqlparser.statement.select.Join;
+import net.sf.jsqlparser.statement.select.OrderByElement;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.SelectItem;
+import net.sf.jsqlparser.statement.update.Update;
+
+/**
+ * Recommends the nonclustered indexes a generated statement needs, from its predicate and selected columns and the
+ * indexes recorded in the {@link SchemaCatalog}.
+ * <p>
+ * For every table, the columns compared for equality in the WHERE clause become the index keys, followed by at most
+ * one range-compared column, as SQL Server's own missing-index suggestions order them. A joined table without
+ * predicates of its own is keyed on a join column when another table of the statement is filtered, since the
+ * join then seeks into it once per filtered row. For a SELECT the other columns it reads from the table are
+ * included, so the index covers the statement and no key lookups are needed; a SELECT of all columns is not
+ * covered, since the index would duplicate the table.
+ * <p>
+ * No index is recommended when an existing index has the key columns as its leading keys and covers the statement,
+ * or when it is unique on exactly the key columns, so at most one lookup is needed. A non-unique index with the key
+ * columns that lacks included columns is extended instead of duplicated. Only single SELECTs without CTEs, UPDATEs
+ * and DELETEs are analyzed; predicates combined with OR do not make key columns. When no index is marked as
+ * clustered, the primary key is taken for the clustered index, as SQL Server creates it by default.
+ */
+@Slf4j
+public class IndexRecommender {
+
+    /** Row header of a leaf-level index row: status bits, fixed-length size, column count and null bitmap. */
+    private static final int ROW_OVERHEAD_BYTES = 7;
+    /** Each variable-length column adds an entry to the column offset array of the row. */
+    private static final int VARIABLE_COLUMN_OFFSET_BYTES = 2;
+    /** A nonclustered index of a heap points to its rows with an 8-byte row identifier. */
+    private static final int ROW_IDENTIFIER_BYTES = 8;
+    private static final int MAX_INDEX_NAME_LENGTH = 128;
+    private static final Set<String> VARIABLE_LENGTH_TYPES = Set.of("varchar", "nvarchar", "varbinary", "sql_variant");
+    private static final Set<String> LARGE_OBJECT_TYPES = Set.of("text", "ntext", "image", "xml", "geography", "geometry");
+
+    private final SchemaCatalog schemaCatalog;
+    private final Map<String, Long> rowCounts;
+
+    /**
+     * @param schemaCatalog the tables, columns and existing indexes
+     * @param rowCounts the row counts keyed by {@link SchemaCatalog#tableKey(String, String)}; may be empty, in
+     *                  which case the sizes of the recommended indexes are only estimated per row
+     */
+    public IndexRecommender(SchemaCatalog schemaCatalog, Map<String, Long> rowCounts) {
+        if (schemaCatalog == null) {
+            throw new IllegalArgumentException("Schema catalog cannot be null");
+        }
+        this.schemaCatalog = schemaCatalog;
+        this.rowCounts = rowCounts != null ? Map.copyOf(rowCounts) : Map.of();
+    }
+
+    /**
+     * Returns the indexes the statement needs, in order of the tables in the statement; empty when the existing
+     * indexes support it or the statement is not analyzed.
+     */
+    public List<IndexRecommendation> recommend(SqlCompilationUnit unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException("SQL statement cannot be null");
+        }
+        Optional<QueryBlock> block = unit.statement().flatMap(this::queryBlock);
+        if (block.isEmpty()) {
+            log.debug("Statement is not analyzed for index recommendations: {}", unit.sql());
+            return List.of();
+        }
+
+        Map<String, IndexRecommendation> recommendations = new LinkedHashMap<>();
+        boolean filtered = block.get().tables.stream().anyMatch(TableUsage::isFiltered);
+        for (TableUsage usage : block.get().tables) {
+            List<String> keyColumns = usage.isFiltered() ? usage.filterKeyColumns()
+                : filtered ? joinKeyColumns(usage) : List.of();
+            if (keyColumns.isEmpty()) {
+                continue;
+            }
+            recommend(usage, keyColumns, block.get().select).ifPresent(recommendation ->
+                recommendations.putIfAbsent(recommendation.schemaName() + "." + recommendation.tableName() + "."
+                                            + recommendation.indexName(), recommendation));
+        }
+        return List.copyOf(recommendations.values());
+    }
+
+    private Optional<IndexRecommendation> recommend(TableUsage usage, List<String> keyColumns, boolean select) {
+        CatalogTable table = usage.table;
+        CatalogIndex clusteredIndex = clusteredIndex(table);
+        List<String> rowLocator = clusteredIndex != null ? clusteredIndex.keyColumns() : List.of();
+
+        // Every column the statement reads must be in the index for it to cover the statement
+        Set<String> needed = new LinkedHashSet<>(lower(keyColumns));
+        if (select && !usage.readsAllColumns) {
+            table.columns().stream()
+                 .filter(column -> usage.readColumns.contains(lower(column.columnName())) && !isLargeObject(column))
+                 .forEach(column -> needed.add(lower(column.columnName())));
+        }
+
+        CatalogIndex seekable = null;
+        for (CatalogIndex index : table.indexes()) {
+            if (!hasLeadingKeys(index, keyColumns)) {
+                continue;
+            }
+            if (index == clusteredIndex || covers(index, needed, rowLocator)
+                    || (index.unique() && index.keyColumns().size() == keyColumns.size())) {
+                return Optional.empty();
+            }
+            if (seekable == null) {
+                seekable = index;
+            }
+        }
+
+        Set<String> includedColumns = new LinkedHashSet<>(needed);
+        lower(keyColumns).forEach(includedColumns::remove);
+        lower(rowLocator).forEach(includedColumns::remove);
+        String reason;
+        String indexName;
+        List<String> indexKeys;
+        boolean extendsExisting = seekable != null && !seekable.unique() && !seekable.primaryKey();
+        if (seekable != null) {
+            Set<String> missing = new LinkedHashSet<>(includedColumns);
+            missing.removeAll(lower(seekable.keyColumns()));
+            missing.removeAll(lower(seekable.includedColumns()));
+            reason = seekable.indexName() + " has the key columns but does not include " + columnList(table, missing);
+        } else {
+            reason = "No index has " + String.join(", ", keyColumns) + " as leading key columns";
+        }
+        if (extendsExisting) {
+            indexName = seekable.indexName();
+            indexKeys = seekable.keyColumns();
+            lower(seekable.keyColumns()).forEach(includedColumns::remove);
+            includedColumns.addAll(lower(seekable.includedColumns()));
+        } else {
+            indexName = indexName(table, keyColumns);
+            indexKeys = keyColumns;
+        }
+
+        List<String> included = table.columns().stream()
+            .map(CatalogColumn::columnName)
+            .filter(column -> includedColumns.contains(lower(column)))
+            .toList();
+        int bytesPerRow = bytesPerRow(table, indexKeys, included, rowLocator, clusteredIndex == null);
+        Long tableRows = rowCounts.get(SchemaCatalog.tableKey(table.schemaName(), table.tableName()));
+        return Optional.of(new IndexRecommendation(table.schemaName(), table.tableName(), indexName, indexKeys,
+                                                   included, extendsExisting, bytesPerRow, tableRows, reason));
+    }
+
+    /**
+     * Returns the join column to key an unfiltered table on, or nothing when an index already starts with one of its
+     * join columns. Each join seeks on its own column, so join columns are never combined into one key.
+     */
+    private static List<String> joinKeyColumns(TableUsage usage) {
+        for (String joinColumn : usage.joinColumns) {
+            if (usage.table.indexes().stream().anyMatch(index -> hasLeadingKeys(index, List.of(joinColumn)))) {
+                return List.of();
+            }
+        }
+        return usage.joinColumns.stream().limit(1).toList();
+    }
+
+    /**
+     * Returns the clustered index of the table, the primary key index when no index is marked as clustered (matched by
+     * its columns when the catalog does not name it, as for the embedded database), or null for a heap.
+     */
+    private static CatalogIndex clusteredIndex(CatalogTable table) {
+        List<String> primaryKeyColumns = lower(table.primaryKeyColumns().stream().map(CatalogColumn::columnName).toList());
+        return table.indexes().stream().filter(CatalogIndex::clustered).findFirst()
+            .or(() -> table.indexes().stream()
+                .filter(index -> index.primaryKey()
+                    || (!primaryKeyColumns.isEmpty() && lower(index.keyColumns()).equals(primaryKeyColumns)))
+                .findFirst())
+            .orElse(null);
+    }
+
+    /**
+     * Returns whether the index can seek on the key columns: its leading keys are the key columns, in any order.
+     */
+    private static boolean hasLeadingKeys(CatalogIndex index, List<String> keyColumns) {
+        List<String> indexKeys = lower(index.keyColumns());
+        if (indexKeys.size() < keyColumns.size()) {
+            return false;
+        }
+        return Set.copyOf(indexKeys.subList(0, keyColumns.size())).equals(Set.copyOf(lower(keyColumns)));
+    }
+
+    private static boolean covers(CatalogIndex index, Set<String> needed, List<String> rowLocator) {
+        Set<String> available = new LinkedHashSet<>(lower(index.keyColumns()));
+        available.addAll(lower(index.includedColumns()));
+        available.addAll(lower(rowLocator));
+        return available.containsAll(needed);
+    }
+
+    private static String indexName(CatalogTable table, List<String> keyColumns) {
+        String name = "IX_" + table.tableName() + "_" + String.join("_", keyColumns);
+        return name.length() > MAX_INDEX_NAME_LENGTH ? name.substring(0, MAX_INDEX_NAME_LENGTH) : name;
+    }
+
+    /**
+     * Estimates the size of one leaf-level row: the row header, the key and included columns, and the row locator,
+     * which is the clustered key (when not already in the index) or, for a heap, the row identifier. A
+     * variable-length column is taken to be half full, as SQL Server assumes when it estimates memory grants.
+     */
+    private static int bytesPerRow(CatalogTable table, List<String> keyColumns, List<String> includedColumns,
+                                   List<String> rowLocator, boolean heap) {
+        Set<String> columns = new LinkedHashSet<>(lower(keyColumns));
+        columns.addAll(lower(includedColumns));
+        columns.addAll(lower(rowLocator));
+        int bytes = ROW_OVERHEAD_BYTES + (heap ? ROW_IDENTIFIER_BYTES : 0);
+        for (String columnName : columns) {
+            Optional<CatalogColumn> column = table.findColumn(columnName);
+            if (column.isPresent()) {
+                bytes += columnBytes(column.get());
+            }
+        }
+        return bytes;
+    }
+
+    private static int columnBytes(CatalogColumn column) {
+        String type = lower(column.typeName());
+        if (VARIABLE_LENGTH_TYPES.contains(type)) {
+            return Math.max(1, column.maxLength() / 2) + VARIABLE_COLUMN_OFFSET_BYTES;
+        }
+        return switch (type) {
+            case "bit", "tinyint" -> 1;
+            case "smallint" -> 2;
+            case "date" -> 3;
+            case "int", "real", "smallmoney", "smalldatetime" -> 4;
+            case "time" -> 5;
+            case "bigint", "float", "money", "datetime", "datetime2" -> 8;
+            case "datetimeoffset" -> 10;
+            case "uniqueidentifier" -> 16;
+            case "decimal", "numeric" -> column.precision() <= 9 ? 5 : column.precision() <= 19 ? 9 : column.precision() <= 28 ? 13 : 17;
+            default -> column.maxLength() > 0 ? column.maxLength() : 8;
+        };
+    }
+
+    private static boolean isLargeObject(CatalogColumn column) {
+        return column.maxLength() == -1 || LARGE_OBJECT_TYPES.contains(lower(column.typeName()));
+    }
+
+    private static String columnList(CatalogTable table, Collection<String> lowerCaseColumns) {
+        return String.join(", ", table.columns().stream()
+            .map(CatalogColumn::columnName)
+            .filter(column -> lowerCaseColumns.contains(lower(column)))
+            .toList());
+    }
+
+    private Optional<QueryBlock> queryBlock(Statement statement) {
+        if (statement instanceof PlainSelect plainSelect && plainSelect.getWithItemsList() == null) {
+            QueryBlock block = new QueryBlock(true);
+            block.addTable(plainSelect.getFromItem());
+            block.addJoins(plainSelect.getJoins());
+            block.addPredicate(plainSelect.getWhere());
+            block.addPredicate(plainSelect.getHaving());
+            for (SelectItem<?> selectItem : plainSelect.getSelectItems()) {
+                block.addRead(selectItem.getExpression());
+            }
+            if (plainSelect.getGroupBy() != null && plainSelect.getGroupBy().getGroupByExpressionList() != null) {
+                ExpressionList<?> groupBy = plainSelect.getGroupBy().getGroupByExpressionList();
+                for (Expression expression : groupBy) {
+                    block.addRead(expression);
+                }
+            }
+            if (plainSelect.getOrderByElements() != null) {
+                for (OrderByElement orderByElement : plainSelect.getOrderByElements()) {
+                    block.addRead(orderByElement.getExpression());
+                }
+            }
+            return Optional.of(block);
+        }
+        if (statement instanceof Update update && update.getWithItemsList() == null) {
+            QueryBlock block = new QueryBlock(false);
+            block.addTable(update.getTable());
+            block.addTable(update.getFromItem());
+            block.addJoins(update.getStartJoins());
+            block.addJoins(update.getJoins());
+            block.addPredicate(update.getWhere());
+            return Optional.of(block);
+        }
+        if (statement instanceof Delete delete && delete.getWithItemsList() == null) {
+            QueryBlock block = new QueryBlock(false);
+            block.addTable(delete.getTable());
+            block.addJoins(delete.getJoins());
+            block.addPredicate(delete.getWhere());
+            return Optional.of(block);
+        }
+        return Optional.empty();
+    }
+
+    private static String lower(String identifier) {
+        return identifier == null ? "" : TableReferenceFinder.unquote(identifier).toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> lower(Collection<String> identifiers) {
+        return identifiers.stream().map(IndexRecommender::lower).toList();
+    }
+
+    /**
+     * The tables of one SELECT, UPDATE or DELETE and how the statement uses their columns.
+     */
+    private final class QueryBlock {
+
+        private final boolean select;
+        private final List<TableUsage> tables = new ArrayList<>();
+
+        private QueryBlock(boolean select) {
+            this.select = select;
+        }
+
+        private void addTable(FromItem fromItem) {
+            if (!(fromItem instanceof Table table)) {
+                return;
+            }
+            String alias = table.getAlias() != null ? TableReferenceFinder.unquote(table.getAlias().getName()) : null;
+            String name = TableReferenceFinder.unquote(table.getName());
+            // UPDATE c ... FROM customer c names the alias as its target
+            if (table.getSchemaName() == null && tables.stream().anyMatch(usage -> name.equalsIgnoreCase(usage.alias))) {
+                return;
+            }
+            schemaCatalog.findTable(TableReferenceFinder.unquote(table.getSchemaName()), name)
+                         .filter(catalogTable -> tables.stream().noneMatch(usage ->
+                             usage.table == catalogTable && Objects.equals(usage.alias, alias)))
+                         .ifPresent(catalogTable -> tables.add(new TableUsage(catalogTable, alias)));
+        }
+
+        private void addJoins(List<Join> joins) {
+            if (joins == null) {
+                return;
+            }
+            for (Join join : joins) {
+                addTable(join.getRightItem());
+            }
+            for (Join join : joins) {
+                join.getOnExpressions().forEach(this::addPredicate);
+            }
+        }
+
+        private void addPredicate(Expression expression) {
+            if (expression == null) {
+                return;
+            }
+            addRead(expression);
+            for (Expression conjunct : conjuncts(expression)) {
+                classify(conjunct);
+            }
+        }
+
+        private void classify(Expression conjunct) {
+            if (conjunct instanceof EqualsTo equalsTo) {
+                Expression left = equalsTo.getLeftExpression();
+                Expression right = equalsTo.getRightExpression();
+                if (left instanceof Column leftColumn && right instanceof Column rightColumn) {
+                    Optional<TableUsage> leftTable = resolve(leftColumn);
+                    Optional<TableUsage> rightTable = resolve(rightColumn);
+                    if (leftTable.isPresent() && rightTable.isPresent() && leftTable.get() != rightTable.get()) {
+                        leftTable.get().joinColumns.add(columnName(leftTable.get(), leftColumn));
+                        rightTable.get().joinColumns.add(columnName(rightTable.get(), rightColumn));
+                    }
+                } else if (left instanceof Column column) {
+                    addFilter(column, false);
+                } else if (right instanceof Column column) {
+                    addFilter(column, false);
+                }
+            } else if (conjunct instanceof InExpression in && !in.isNot() && in.getLeftExpression() instanceof Column column) {
+                addFilter(column, false);
+            } else if (conjunct instanceof IsNullExpression isNull && !isNull.isNot()
+                       && isNull.getLeftExpression() instanceof Column column) {
+                addFilter(column, false);
+            } else if (conjunct instanceof Between between && !between.isNot()
+                       && between.getLeftExpression() instanceof Column column) {
+                addFilter(column, true);
+            } else if (conjunct instanceof GreaterThan || conjunct instanceof GreaterThanEquals
+                       || conjunct instanceof MinorThan || conjunct instanceof MinorThanEquals) {
+                BinaryExpression comparison = (BinaryExpression) conjunct;
+                if (comparison.getLeftExpression() instanceof Column column && !(comparison.getRightExpression() instanceof Column)) {
+                    addFilter(column, true);
+                } else if (comparison.getRightExpression() instanceof Column column && !(comparison.getLeftExpression() instanceof Column)) {
+                    addFilter(column, true);
+                }
+            }
+        }
+
+        private void addFilter(Column column, boolean range) {
+            resolve(column).ifPresent(usage ->
+                (range ? usage.rangeColumns : usage.equalityColumns).add(columnName(usage, column)));
+        }
+
+        private void addRead(Expression expression) {
+            if (expression instanceof AllColumns && !(expression instanceof AllTableColumns)) {
+                tables.forEach(usage -> usage.readsAllColumns = true);
+                return;
+            }
+            if (expression instanceof AllTableColumns allTableColumns) {
+                findTable(allTableColumns.getTable().getName()).ifPresent(usage -> usage.readsAllColumns = true);
+                return;
+            }
+            expression.accept(new ExpressionVisitorAdapter<Void>() {
+                @Override
+                public <S> Void visit(Column column, S context) {
+                    resolve(column).ifPresent(usage -> usage.readColumns.add(lower(column.getColumnName())));
+                    return null;
+                }
+            }, null);
+        }
+
+        /**
+         * Resolves a column to its table: by alias or table name when qualified, otherwise the only table that has it.
+         */
+        private Optional<TableUsage> resolve(Column column) {
+            String columnName = TableReferenceFinder.unquote(column.getColumnName());
+            if (column.getTable() != null && column.getTable().getName() != null) {
+                return findTable(column.getTable().getName())
+                    .filter(usage -> usage.table.findColumn(columnName).isPresent());
+            }
+            List<TableUsage> matches = tables.stream()
+                .filter(usage -> usage.table.findColumn(columnName).isPresent())
+                .toList();
+            return matches.size() == 1 ? Optional.of(matches.get(0)) : Optional.empty();
+        }
+
+        private Optional<TableUsage> findTable(String qualifier) {
+            String name = TableReferenceFinder.unquote(qualifier);
+            return tables.stream()
+                .filter(usage -> name.equalsIgnoreCase(usage.alias) || name.equalsIgnoreCase(usage.table.tableName()))
+                .findFirst();
+        }
+
+        private static String columnName(TableUsage usage, Column column) {
+            return usage.table.findColumn(TableReferenceFinder.unquote(column.getColumnName()))
+                              .map(CatalogColumn::columnName)
+                              .orElseThrow();
+        }
+
+        /**
+         * Splits a predicate into the conditions combined with AND; a condition under OR is kept whole.
+         */
+        private static List<Expression> conjuncts(Expression expression) {
+            if (expression instanceof AndExpression and) {
+                List<Expression> conjuncts = new ArrayList<>(conjuncts(and.getLeftExpression()));
+                conjuncts.addAll(conjuncts(and.getRightExpression()));
+                return conjuncts;
+            }
+            if (expression instanceof ParenthesedExpressionList<?> parenthesed && parenthesed.size() == 1) {
+                return conjuncts(parenthesed.get(0));
+            }
+            return List.of(expression);
+        }
+    }
+
+    /**
+     * How a statement uses the columns of one of its tables, by lower-case column name.
+     */
+    private static final class TableUsage {
+
+        private final CatalogTable table;
+        private final String alias;
+        private final Set<String> equalityColumns = new LinkedHashSet<>();
+        private final Set<String> rangeColumns = new LinkedHashSet<>();
+        private final Set<String> joinColumns = new LinkedHashSet<>();
+        private final Set<String> readColumns = new LinkedHashSet<>();
+        private boolean readsAllColumns;
+
+        private TableUsage(CatalogTable table, String alias) {
+            this.table = table;
+            this.alias = alias;
+        }
+
+        private boolean isFiltered() {
+            return !equalityColumns.isEmpty() || !rangeColumns.isEmpty();
+        }
+
+        /**
+         * Returns the equality columns followed by the first range column, which is the most a seek can use.
+         */
+        private List<String> filterKeyColumns() {
+            List<String> keyColumns = new ArrayList<>(equalityColumns);
+            rangeColumns.stream().filter(column -> !equalityColumns.contains(column)).findFirst().ifPresent(keyColumns::add);
+            return keyColumns;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.jfeatures.msg.codegen.index;
+
+import com.jfeatures.msg.codegen.domain.IndexRecommendation;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Renders the index recommendations of a generated service as the {@code db/recommended-indexes.sql} of its project.
+ * The script sits outside {@code src/main/resources}, so a migration tool of the service never applies it unreviewed.
+ */
+public final class RecommendedIndexScriptRenderer {
+
+    public static final String SCRIPT_PATH = "db/recommended-indexes.sql";
+
+    private RecommendedIndexScriptRenderer() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static String render(String businessDomainName, List<IndexRecommendation> recommendations) {
+        if (recommendations == null) {
+            throw new IllegalArgumentException("Index recommendations cannot be null");
+        }
+        StringBuilder script = new StringBuilder()
+            .append("-- Recommended indexes for the ").append(businessDomainName).append(" service\n")
+            .append("-- Derived from the predicate and selected columns of its statement and the existing indexes.\n")
+            .append("-- Review before applying: an index speeds up this statement but slows down every write to its table.\n");
+        if (recommendations.isEmpty()) {
+            return script.append("\n-- The existing indexes support the statement; no index is needed.\n").toString();
+        }
+        for (IndexRecommendation recommendation : recommendations) {
+            String table = bracket(recommendation.schemaName()) + "." + bracket(recommendation.tableName());
+            script.append('\n')
+                  .append("-- ").append(table).append(": ").append(recommendation.reason()).append('\n')
+                  .append("-- ").append(sizeComment(recommendation)).append('\n')
+                  .append("CREATE NONCLUSTERED INDEX ").append(bracket(recommendation.indexName()))
+                  .append(" ON ").append(table)
+                  .append(" (").append(columnList(recommendation.keyColumns())).append(')');
+            if (!recommendation.includedColumns().isEmpty()) {
+                script.append(" INCLUDE (").append(columnList(recommendation.includedColumns())).append(')');
+            }
+            if (recommendation.extendsExisting()) {
+                script.append(" WITH (DROP_EXISTING = ON)");
+            }
+            script.append(";\n");
+        }
+        return script.toString();
+    }
+
+    private static String sizeComment(IndexRecommendation recommendation) {
+        Long sizeBytes = recommendation.estimatedSizeBytes();
+        if (sizeBytes == null) {
+            return String.format(Locale.ROOT, "Estimated size: %d bytes per row; the row count of the table is unknown",
+                                 recommendation.bytesPerRow());
+        }
+        return String.format(Locale.ROOT, "Estimated size: %s for %,d rows (%d bytes per row)",
+                             formatBytes(sizeBytes), recommendation.tableRows(), recommendation.bytesPerRow());
+    }
+
+    static String formatBytes(long bytes) {
+        if (bytes < 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+        }
+        if (bytes < 1024L * 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024));
+        }
+        return String.format(Locale.ROOT, "%.1f GB", bytes / (1024.0 * 1024 * 1024));
+    }
+
+    private static String columnList(List<String> columns) {
+        return columns.stream().map(RecommendedIndexScriptRenderer::bracket).collect(Collectors.joining(", "));
+    }
+
+    private static String bracket(String identifier) {
+        return "[" + identifier.replace("]", "]]") + "]";
+    }
+}
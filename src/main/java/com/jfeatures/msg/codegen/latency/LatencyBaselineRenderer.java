@@ -0,0 +1,42 @@
+package com.jfeatures.msg.codegen.latency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.util.DefaultIndenter;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.jfeatures.msg.codegen.domain.LatencyBaseline;
+import java.io.UncheckedIOException;
+
+/**
+ * Renders the latency baseline of a generated service as the {@code latency-baseline.json} test resource its
+ * regression test reads. The tolerance can be edited in the file to match the noise of the environment the test runs in.
+ */
+public final class LatencyBaselineRenderer {
+
+    public static final String BASELINE_PATH = "src/test/resources/latency-baseline.json";
+
+    /** The classpath resource the generated regression test reads the baseline from. */
+    public static final String BASELINE_RESOURCE = "/latency-baseline.json";
+
+    // Line separators are fixed so the file is identical on every platform and unchanged files are not rewritten
+    private static final DefaultIndenter INDENTER = new DefaultIndenter("  ", "\n");
+
+    private static final ObjectWriter WRITER = new ObjectMapper().writer(
+        new DefaultPrettyPrinter().withObjectIndenter(INDENTER).withArrayIndenter(INDENTER));
+
+    private LatencyBaselineRenderer() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static String render(LatencyBaseline baseline) {
+        if (baseline == null) {
+            throw new IllegalArgumentException("Latency baseline cannot be null");
+        }
+        try {
+            return WRITER.writeValueAsString(baseline) + "\n";
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to render the latency baseline of " + baseline.businessDomainName(), e);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.jfeatures.msg.codegen.latency;
+
+import com.jfeatures.msg.codegen.domain.LatencyBaseline;
+import com.jfeatures.msg.codegen.profile.GenerationPhase;
+import com.jfeatures.msg.codegen.profile.GenerationProfiler;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import com.jfeatures.msg.codegen.util.SqlStatementDetector;
+import com.jfeatures.msg.codegen.util.SqlStatementType;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measures the latency and logical reads of a generated SELECT, UPDATE or DELETE statement by executing it with
+ * parameter values sampled from the columns they are compared with. Every execution runs in its own transaction that
+ * is rolled back, so the data is never changed; an UPDATE or DELETE still holds its locks until the rollback, so
+ * profile against a development or staging database.
+ * <p>
+ * Logical reads are read from the messages of {@code SET STATISTICS IO ON}, which the driver reports as warnings of
+ * the statement. The latency is measured in the generator and includes reading every returned row, as the generated
+ * DAO does.
+ */
+@Slf4j
+public class LatencyProfiler {
+
+    /** Enough executions that the nearest-rank p99 leaves out the slowest ones instead of being the maximum. */
+    public static final int DEFAULT_ITERATIONS = 200;
+
+    /** Executions that compile the plan and load the pages into the buffer pool before the measured ones. */
+    public static final int WARMUP_ITERATIONS = 5;
+
+    /** The rows each parameter sample query returns at most. */
+    public static final int SAMPLE_SIZE = 20;
+
+    private static final Set<SqlStatementType> PROFILED_STATEMENT_TYPES =
+        Set.of(SqlStatementType.SELECT, SqlStatementType.UPDATE, SqlStatementType.DELETE);
+
+    // "lob logical reads" counts the pages of large object columns and is reported separately
+    private static final Pattern LOGICAL_READS = Pattern.compile("(?<!lob )logical reads (\\d+)");
+
+    private final DataSource dataSource;
+    private final String schemaName;
+    private final int iterations;
+
+    public LatencyProfiler(DataSource dataSource, String schemaName) {
+        this(dataSource, schemaName, DEFAULT_ITERATIONS);
+    }
+
+    /**
+     * @param schemaName the schema of tables referenced without one
+     * @param iterations the number of measured executions
+     */
+    public LatencyProfiler(DataSource dataSource, String schemaName, int iterations) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("DataSource cannot be null");
+        }
+        if (schemaName == null || schemaName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Schema name cannot be null or empty");
+        }
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Iterations must be positive");
+        }
+        this.dataSource = dataSource;
+        this.schemaName = schemaName;
+        this.iterations = iterations;
+    }
+
+    /**
+     * Returns whether statements of the given type can be profiled; an INSERT has no rows to sample its values from.
+     */
+    public static boolean canProfile(SqlStatementType statementType) {
+        return PROFILED_STATEMENT_TYPES.contains(statementType);
+    }
+
+    /**
+     * Executes the statement {@link #WARMUP_ITERATIONS} times and then the measured number of times, cycling through
+     * the sampled parameter values.
+     *
+     * @param businessDomainName the microservice the statement belongs to
+     * @param unit the generated statement
+     * @return the baseline, or empty when the parameters cannot be sampled: a parameter is not compared with a column
+     *         of a known table, or a sampled table has no rows
+     * @throws SQLException if sampling or executing the statement fails
+     */
+    public Optional<LatencyBaseline> profile(String businessDomainName, SqlCompilationUnit unit) throws SQLException {
+        if (unit == null) {
+            throw new IllegalArgumentException("SQL statement cannot be null");
+        }
+        if (!canProfile(SqlStatementDetector.detectStatementType(unit))) {
+            throw new IllegalArgumentException("Only SELECT, UPDATE and DELETE statements can be profiled");
+        }
+        Optional<List<LatencyBaseline.ParameterSample>> samples =
+            ParameterSampler.sampleQueries(unit, schemaName, SAMPLE_SIZE);
+        if (samples.isEmpty()) {
+            log.warn("{}: latency not profiled, a parameter is not compared with a column of a known table",
+                     businessDomainName);
+            return Optional.empty();
+        }
+        try (GenerationProfiler.Phase ignored = GenerationProfiler.phase(GenerationPhase.PLAN, "latency");
+             Connection connection = dataSource.getConnection()) {
+            List<Object[]> parameterValues = sampleParameterValues(connection, samples.get(), unit.parameterCount());
+            if (parameterValues.isEmpty()) {
+                log.warn("{}: latency not profiled, the tables hold no rows to sample parameter values from",
+                         businessDomainName);
+                return Optional.empty();
+            }
+            long[] latencies = new long[iterations];
+            long logicalReads = measure(connection, unit.sql(), parameterValues, latencies);
+            Arrays.sort(latencies);
+            LatencyBaseline baseline = new LatencyBaseline(businessDomainName, unit.sql(), samples.get(),
+                WARMUP_ITERATIONS, iterations, percentile(latencies, 50), percentile(latencies, 99), logicalReads,
+                LatencyBaseline.DEFAULT_TOLERANCE);
+            log.info("Latency of {}: p50 {} us, p99 {} us, {} logical reads", businessDomainName,
+                     baseline.p50Micros(), baseline.p99Micros(), baseline.logicalReads());
+            return Optional.of(baseline);
+        }
+    }
+
+    /**
+     * Returns the parameter values of each execution: the n-th combines the n-th row of every sample query, wrapping
+     * around the queries that returned fewer rows. Returns an empty list when a query returned no rows.
+     */
+    static List<Object[]> sampleParameterValues(Connection connection, List<LatencyBaseline.ParameterSample> samples,
+                                                int parameterCount) throws SQLException {
+        List<List<Object[]>> sampledRows = new ArrayList<>();
+        int combinations = 1;
+        for (LatencyBaseline.ParameterSample sample : samples) {
+            List<Object[]> rows = new ArrayList<>();
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(sample.query())) {
+                while (resultSet.next()) {
+                    Object[] row = new Object[sample.parameterPositions().size()];
+                    for (int column = 0; column < row.length; column++) {
+                        row[column] = resultSet.getObject(column + 1);
+                    }
+                    rows.add(row);
+                }
+            }
+            if (rows.isEmpty()) {
+                return List.of();
+            }
+            sampledRows.add(rows);
+            combinations = Math.max(combinations, rows.size());
+        }
+
+        List<Object[]> parameterValues = new ArrayList<>(combinations);
+        for (int combination = 0; combination < combinations; combination++) {
+            Object[] values = new Object[parameterCount];
+            for (int i = 0; i < samples.size(); i++) {
+                List<Object[]> rows = sampledRows.get(i);
+                Object[] row = rows.get(combination % rows.size());
+                List<Integer> positions = samples.get(i).parameterPositions();
+                for (int column = 0; column < positions.size(); column++) {
+                    values[positions.get(column) - 1] = row[column];
+                }
+            }
+            parameterValues.add(values);
+        }
+        return parameterValues;
+    }
+
+    /**
+     * Executes the statement with statistics IO switched on, fills the latencies of the measured executions in
+     * microseconds and returns the most logical reads of one of them. Every execution is rolled back; the statistics
+     * are switched off and auto-commit is restored before the pooled connection is returned.
+     */
+    private long measure(Connection connection, String sql, List<Object[]> parameterValues,
+                         long[] latencies) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        long logicalReads = 0;
+        try (Statement session = connection.createStatement();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            session.execute("SET STATISTICS IO ON");
+            try {
+                for (int iteration = -WARMUP_ITERATIONS; iteration < latencies.length; iteration++) {
+                    Object[] values = parameterValues.get(Math.floorMod(iteration, parameterValues.size()));
+                    for (int i = 0; i < values.length; i++) {
+                        statement.setObject(i + 1, values[i]);
+                    }
+                    statement.clearWarnings();
+                    long start = System.nanoTime();
+                    drainResults(statement, statement.execute());
+                    long elapsedMicros = (System.nanoTime() - start) / 1_000;
+                    long executionReads = logicalReads(statement.getWarnings());
+                    connection.rollback();
+                    if (iteration >= 0) {
+                        latencies[iteration] = elapsedMicros;
+                        logicalReads = Math.max(logicalReads, executionReads);
+                    }
+                }
+            } finally {
+                connection.rollback();
+                session.execute("SET STATISTICS IO OFF");
+            }
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        return logicalReads;
+    }
+
+    private static void drainResults(PreparedStatement statement, boolean resultSet) throws SQLException {
+        while (resultSet || statement.getUpdateCount() != -1) {
+            if (resultSet) {
+                try (ResultSet rows = statement.getResultSet()) {
+                    while (rows.next()) {
+                        // Read every row, as the generated DAO does
+                    }
+                }
+            }
+            resultSet = statement.getMoreResults();
+        }
+    }
+
+    /**
+     * Returns the logical reads of the {@code SET STATISTICS IO} messages in the warning chain, summed over tables.
+     */
+    static long logicalReads(SQLWarning warning) {
+        long logicalReads = 0;
+        for (SQLWarning current = warning; current != null; current = current.getNextWarning()) {
+            if (current.getMessage() == null) {
+                continue;
+            }
+            Matcher matcher = LOGICAL_READS.matcher(current.getMessage());
+            while (matcher.find()) {
+                logicalReads += Long.parseLong(matcher.group(1));
+            }
+        }
+        return logicalReads;
+    }
+
+    /**
+     * Returns the nearest-rank percentile of sorted values.
+     */
+    static long percentile(long[] sortedValues, int percentile) {
+        if (sortedValues.length == 0) {
+            throw new IllegalArgumentException("Values cannot be empty");
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedValues.length);
+        return sortedValues[Math.max(rank, 1) - 1];
+    }
+}
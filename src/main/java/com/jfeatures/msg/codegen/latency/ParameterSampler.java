@@ -0,0 +1,172 @@
+package com.jfeatures.msg.codegen.latency;
+
+import com.jfeatures.msg.codegen.domain.LatencyBaseline;
+import com.jfeatures.msg.codegen.domain.TableReference;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import com.jfeatures.msg.codegen.util.TableReferenceFinder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jsqlparser.expression.BinaryExpression;
+import net.sf.jsqlparser.expression.CastExpression;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.JdbcParameter;
+import net.sf.jsqlparser.expression.operators.relational.Between;
+import net.sf.jsqlparser.expression.operators.relational.ComparisonOperator;
+import net.sf.jsqlparser.expression.operators.relational.LikeExpression;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.update.Update;
+import net.sf.jsqlparser.statement.update.UpdateSet;
+import net.sf.jsqlparser.util.TablesNamesFinder;
+
+/**
+ * Derives the queries that sample realistic values for the {@code ?} parameters of a statement from the columns they
+ * are compared with ({@code =}, {@code <>}, ranges, {@code BETWEEN} and {@code LIKE}) or, in an UPDATE, assigned to.
+ * Parameters compared with columns of the same table are sampled by one query, so values that occur together in a
+ * row are bound together and a statement filtering on several columns of a table still finds rows.
+ * <p>
+ * The sampling query reads the first distinct values it finds rather than a random sample, which would sort the
+ * whole table.
+ */
+@Slf4j
+public final class ParameterSampler {
+
+    private ParameterSampler() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Returns one sampling query per table, or empty when a parameter is not compared with a column whose table is
+     * known, e.g. a parameter inside a function call or an unqualified column of a join.
+     *
+     * @param unit the statement to profile
+     * @param defaultSchema the schema of tables referenced without one
+     * @param sampleSize the number of rows each query returns at most
+     */
+    public static Optional<List<LatencyBaseline.ParameterSample>> sampleQueries(SqlCompilationUnit unit,
+                                                                               String defaultSchema, int sampleSize) {
+        if (unit == null) {
+            throw new IllegalArgumentException("SQL statement cannot be null");
+        }
+        if (sampleSize < 1) {
+            throw new IllegalArgumentException("Sample size must be positive");
+        }
+        if (unit.parameterCount() == 0) {
+            return Optional.of(List.of());
+        }
+        if (!unit.isParsed()) {
+            return Optional.empty();
+        }
+
+        Map<Integer, Column> boundColumns = boundColumns(unit.statement().orElseThrow());
+        Map<TableReference, Map<Integer, String>> columnsByTable = new LinkedHashMap<>();
+        for (int position = 1; position <= unit.parameterCount(); position++) {
+            Column column = boundColumns.get(position);
+            TableReference table = column != null ? tableOf(column, unit.tableReferences()) : null;
+            if (table == null) {
+                log.debug("Parameter {} is not compared with a column of a known table", position);
+                return Optional.empty();
+            }
+            columnsByTable.computeIfAbsent(table, ignored -> new LinkedHashMap<>())
+                          .put(position, TableReferenceFinder.unquote(column.getColumnName()));
+        }
+
+        List<LatencyBaseline.ParameterSample> samples = new ArrayList<>();
+        columnsByTable.forEach((table, columns) -> samples.add(new LatencyBaseline.ParameterSample(
+            sampleQuery(table, defaultSchema, columns.values(), sampleSize), List.copyOf(columns.keySet()))));
+        return Optional.of(samples);
+    }
+
+    /**
+     * Returns the query selecting the first distinct non-null combinations of the columns of the table.
+     * A column compared with several parameters, e.g. by {@code BETWEEN}, is selected once per parameter.
+     */
+    static String sampleQuery(TableReference table, String defaultSchema, Iterable<String> columnNames, int sampleSize) {
+        List<String> columns = new ArrayList<>();
+        columnNames.forEach(column -> columns.add(bracket(column)));
+        String schema = table.schemaName() != null ? table.schemaName() : defaultSchema;
+        return "SELECT DISTINCT TOP (" + sampleSize + ") " + String.join(", ", columns)
+            + " FROM " + bracket(schema) + "." + bracket(table.tableName())
+            + " WHERE " + columns.stream().distinct().map(column -> column + " IS NOT NULL")
+                                 .collect(Collectors.joining(" AND "));
+    }
+
+    private static String bracket(String identifier) {
+        return "[" + identifier.replace("]", "]]") + "]";
+    }
+
+    /**
+     * Returns the table a column belongs to: the one its qualifier names by alias or name, or the only table of the
+     * statement when it is unqualified.
+     */
+    private static TableReference tableOf(Column column, List<TableReference> tableReferences) {
+        String qualifier = column.getTable() != null ? TableReferenceFinder.unquote(column.getTable().getName()) : null;
+        if (qualifier == null) {
+            return tableReferences.size() == 1 ? tableReferences.get(0) : null;
+        }
+        return tableReferences.stream()
+            .filter(table -> qualifier.equalsIgnoreCase(table.alias()) || qualifier.equalsIgnoreCase(table.tableName()))
+            .findFirst()
+            .orElse(null);
+    }
+
+    private static Map<Integer, Column> boundColumns(Statement statement) {
+        Map<Integer, Column> boundColumns = new HashMap<>();
+        if (statement instanceof Update update) {
+            for (UpdateSet updateSet : update.getUpdateSets()) {
+                for (int i = 0; i < updateSet.getColumns().size() && i < updateSet.getValues().size(); i++) {
+                    bind(boundColumns, updateSet.getColumns().get(i), (Expression) updateSet.getValues().get(i));
+                }
+            }
+        }
+        try {
+            new ComparedColumnFinder(boundColumns).getTables(statement);
+        } catch (UnsupportedOperationException e) {
+            log.debug("Could not bind parameters to columns: {}", e.getMessage());
+        }
+        return boundColumns;
+    }
+
+    private static void bind(Map<Integer, Column> boundColumns, Expression column, Expression value) {
+        Expression parameter = value instanceof CastExpression cast ? cast.getLeftExpression() : value;
+        if (column instanceof Column boundColumn && parameter instanceof JdbcParameter jdbcParameter
+                && jdbcParameter.getIndex() != null) {
+            boundColumns.putIfAbsent(jdbcParameter.getIndex(), boundColumn);
+        }
+    }
+
+    /**
+     * Walks every expression of the statement, including subqueries, and records the column each comparison,
+     * {@code BETWEEN} or {@code LIKE} binds a parameter to, on either side of the operator.
+     */
+    private static final class ComparedColumnFinder extends TablesNamesFinder<Void> {
+
+        private final Map<Integer, Column> boundColumns;
+
+        private ComparedColumnFinder(Map<Integer, Column> boundColumns) {
+            this.boundColumns = boundColumns;
+        }
+
+        @Override
+        public void visitBinaryExpression(BinaryExpression binaryExpression) {
+            if (binaryExpression instanceof ComparisonOperator || binaryExpression instanceof LikeExpression) {
+                bind(boundColumns, binaryExpression.getLeftExpression(), binaryExpression.getRightExpression());
+                bind(boundColumns, binaryExpression.getRightExpression(), binaryExpression.getLeftExpression());
+            }
+            super.visitBinaryExpression(binaryExpression);
+        }
+
+        @Override
+        public <S> Void visit(Between between, S context) {
+            bind(boundColumns, between.getLeftExpression(), between.getBetweenExpressionStart());
+            bind(boundColumns, between.getLeftExpression(), between.getBetweenExpressionEnd());
+            return super.visit(between, context);
+        }
+    }
+}
@@ -15,6 +15,16 @@ public final class ResultSetMappingGenerator {
     }
     
     public static String buildResultSetToObjectMappingCode(List<ColumnMetadata> resultSetColumnDefinitions, TypeName targetDtoType) {
+        return buildResultSetToObjectMappingCode(resultSetColumnDefinitions, targetDtoType,
+            CodeGenerationConstants.RESULT_LIST_NAME + ".add(" + CodeGenerationConstants.DTO_VARIABLE_NAME + ")");
+    }
+    
+    /**
+     * Builds the code that maps the current row to a DTO, followed by the statement that hands the DTO on,
+     * e.g. {@code rowConsumer.accept(dto)} instead of adding it to the result list.
+     */
+    public static String buildResultSetToObjectMappingCode(List<ColumnMetadata> resultSetColumnDefinitions, TypeName targetDtoType,
+                                                           String dtoConsumingStatement) {
         if (resultSetColumnDefinitions == null) {
             throw new IllegalArgumentException("ResultSet column definitions list cannot be null");
         }
@@ -24,6 +34,9 @@ public final class ResultSetMappingGenerator {
         if (targetDtoType == null) {
             throw new IllegalArgumentException("Target DTO type name cannot be null");
         }
+        if (dtoConsumingStatement == null || dtoConsumingStatement.trim().isEmpty()) {
+            throw new IllegalArgumentException("DTO consuming statement cannot be null or empty");
+        }
         
         StringBuilder code = new StringBuilder();
         
@@ -33,7 +46,7 @@ public final class ResultSetMappingGenerator {
             buildSetterPatternMappingCode(code, resultSetColumnDefinitions, targetDtoType);
         }
         
-        code.append(CodeGenerationConstants.RESULT_LIST_NAME + ".add(" + CodeGenerationConstants.DTO_VARIABLE_NAME + ")");
+        code.append(dtoConsumingStatement);
         return code.toString();
     }
     
@@ -0,0 +1,175 @@
+package com.jfeatures.msg.codegen.plan;
+
+import com.jfeatures.msg.codegen.ParameterMetadataExtractor;
+import com.jfeatures.msg.codegen.domain.DBColumn;
+import com.jfeatures.msg.codegen.domain.ExecutionPlanReport;
+import com.jfeatures.msg.codegen.domain.PlanFinding;
+import com.jfeatures.msg.codegen.profile.GenerationPhase;
+import com.jfeatures.msg.codegen.profile.GenerationProfiler;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import com.jfeatures.msg.codegen.sql.SqlLexer;
+import com.jfeatures.msg.codegen.sql.SqlToken;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fetches the estimated execution plan of a generated statement with {@code SET SHOWPLAN_XML ON} and reports
+ * the operators that tend to hurt under production load. The statement is compiled but never executed, so
+ * INSERT, UPDATE and DELETE statements are safe to analyze.
+ * <p>
+ * The {@code ?} placeholders become local variables declared with the types the generated DAO binds, e.g.
+ * {@code nvarchar(4000)} for strings since the SQL Server driver sends strings as Unicode by default. The plan
+ * therefore shows the implicit conversions production will see, and is optimized for an unknown parameter value.
+ */
+@Slf4j
+public class ExecutionPlanAnalyzer {
+
+    /** The default cost threshold for parallelism of SQL Server, a common line between cheap and expensive queries. */
+    public static final double DEFAULT_COST_THRESHOLD = 5.0;
+
+    private static final String PARAMETER_VARIABLE_PREFIX = "@msg_p";
+
+    private final DataSource dataSource;
+    private final double costThreshold;
+
+    public ExecutionPlanAnalyzer(DataSource dataSource) {
+        this(dataSource, DEFAULT_COST_THRESHOLD);
+    }
+
+    /**
+     * @param costThreshold the estimated cost from which a statement is reported as expensive
+     */
+    public ExecutionPlanAnalyzer(DataSource dataSource, double costThreshold) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("DataSource cannot be null");
+        }
+        if (costThreshold <= 0) {
+            throw new IllegalArgumentException("Cost threshold must be positive");
+        }
+        this.dataSource = dataSource;
+        this.costThreshold = costThreshold;
+    }
+
+    /**
+     * Fetches and analyzes the estimated plan of the statement.
+     *
+     * @param businessDomainName the microservice the statement belongs to
+     * @param unit the generated statement
+     * @return the estimated cost and findings
+     * @throws SQLException if the parameter types or the plan cannot be read
+     */
+    public ExecutionPlanReport analyze(String businessDomainName, SqlCompilationUnit unit) throws SQLException {
+        if (unit == null) {
+            throw new IllegalArgumentException("SQL statement cannot be null");
+        }
+        try (GenerationProfiler.Phase ignored = GenerationProfiler.phase(GenerationPhase.PLAN, "showplan")) {
+            List<DBColumn> parameters = unit.parameterCount() == 0
+                ? List.of()
+                : new ParameterMetadataExtractor(dataSource).extractParameters(unit);
+
+            double estimatedCost = 0;
+            List<PlanFinding> findings = new ArrayList<>();
+            for (String showplanXml : fetchShowplanXml(toShowplanBatch(unit.sql(), parameters))) {
+                ShowplanXmlParser.ParsedShowplan plan = ShowplanXmlParser.parse(showplanXml);
+                estimatedCost += plan.estimatedCost();
+                findings.addAll(plan.findings());
+            }
+            if (estimatedCost >= costThreshold) {
+                findings.add(new PlanFinding(PlanFinding.Type.HIGH_COST, null, 0, String.format(Locale.ROOT,
+                    "Estimated cost %.4f is at least the threshold of %.1f", estimatedCost, costThreshold)));
+            }
+            ExecutionPlanReport report = new ExecutionPlanReport(businessDomainName, unit.sql(), estimatedCost, findings);
+            log.info("Execution plan of {}: estimated cost {}, {} findings", businessDomainName,
+                     String.format(Locale.ROOT, "%.4f", estimatedCost), findings.size());
+            return report;
+        }
+    }
+
+    /**
+     * Returns the batch whose plan is fetched: the statement with every placeholder replaced by a local variable,
+     * preceded by the declaration of the variables.
+     */
+    static String toShowplanBatch(String sql, List<DBColumn> parameters) {
+        List<SqlToken> placeholders = SqlLexer.placeholders(sql);
+        if (placeholders.isEmpty()) {
+            return sql;
+        }
+        StringBuilder batch = new StringBuilder("DECLARE ");
+        for (int i = 0; i < placeholders.size(); i++) {
+            if (i > 0) {
+                batch.append(", ");
+            }
+            String jdbcType = i < parameters.size() ? parameters.get(i).jdbcType() : null;
+            batch.append(PARAMETER_VARIABLE_PREFIX).append(i + 1).append(' ').append(sqlServerType(jdbcType));
+        }
+        batch.append(";\n");
+
+        int copiedUpTo = 0;
+        for (int i = 0; i < placeholders.size(); i++) {
+            SqlToken placeholder = placeholders.get(i);
+            batch.append(sql, copiedUpTo, placeholder.start()).append(PARAMETER_VARIABLE_PREFIX).append(i + 1);
+            copiedUpTo = placeholder.end();
+        }
+        return batch.append(sql, copiedUpTo, sql.length()).toString();
+    }
+
+    /**
+     * Returns the SQL Server type the driver binds a parameter of the given JDBC type name as.
+     */
+    static String sqlServerType(String jdbcType) {
+        if (jdbcType == null) {
+            return "nvarchar(4000)";
+        }
+        return switch (jdbcType) {
+            case "INTEGER" -> "int";
+            case "SMALLINT" -> "smallint";
+            case "TINYINT" -> "tinyint";
+            case "BIGINT" -> "bigint";
+            case "DECIMAL", "NUMERIC" -> "decimal(38, 10)";
+            case "DOUBLE", "FLOAT" -> "float";
+            case "REAL" -> "real";
+            case "BOOLEAN", "BIT" -> "bit";
+            case "DATE" -> "date";
+            case "TIME" -> "time";
+            case "TIMESTAMP" -> "datetime2";
+            case "BLOB" -> "varbinary(max)";
+            default -> "nvarchar(4000)";
+        };
+    }
+
+    /**
+     * Returns the showplan documents of the batch. {@code SHOWPLAN_XML} has to be set in a batch of its own, and is
+     * always switched off again before the pooled connection is returned, since it would make every later
+     * query on that connection return a plan instead of rows.
+     */
+    private List<String> fetchShowplanXml(String batch) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SET SHOWPLAN_XML ON");
+            try {
+                List<String> plans = new ArrayList<>();
+                boolean resultSet = statement.execute(batch);
+                while (resultSet || statement.getUpdateCount() != -1) {
+                    if (resultSet) {
+                        try (ResultSet plan = statement.getResultSet()) {
+                            while (plan.next()) {
+                                plans.add(plan.getString(1));
+                            }
+                        }
+                    }
+                    resultSet = statement.getMoreResults();
+                }
+                return plans;
+            } finally {
+                statement.execute("SET SHOWPLAN_XML OFF");
+            }
+        }
+    }
+}
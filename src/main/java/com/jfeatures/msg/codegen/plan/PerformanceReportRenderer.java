@@ -0,0 +1,50 @@
+package com.jfeatures.msg.codegen.plan;
+
+import com.jfeatures.msg.codegen.domain.ExecutionPlanReport;
+import com.jfeatures.msg.codegen.domain.PlanFinding;
+import java.util.Locale;
+
+/**
+ * Renders an {@link ExecutionPlanReport} as the {@code PERFORMANCE_REPORT.md} of a generated project.
+ */
+public final class PerformanceReportRenderer {
+
+    public static final String REPORT_FILE_NAME = "PERFORMANCE_REPORT.md";
+
+    private PerformanceReportRenderer() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static String render(ExecutionPlanReport report) {
+        if (report == null) {
+            throw new IllegalArgumentException("Execution plan report cannot be null");
+        }
+        StringBuilder markdown = new StringBuilder()
+            .append("# Performance Report: ").append(report.businessDomainName()).append("\n\n")
+            .append("Estimated execution plan of the DAO statement, fetched with `SET SHOWPLAN_XML ON` when the ")
+            .append("service was generated. Estimates reflect the statistics of the database at that time.\n\n")
+            .append("```sql\n").append(report.sql().strip()).append("\n```\n\n")
+            .append(String.format(Locale.ROOT, "Estimated cost: %.4f%n%n", report.estimatedCost()));
+
+        if (report.findings().isEmpty()) {
+            return markdown.append("No scans, key lookups, implicit conversions or missing indexes found.\n").toString();
+        }
+        markdown.append("| Finding | Object | Estimated rows | Details |\n")
+                .append("|---|---|---:|---|\n");
+        for (PlanFinding finding : report.findings()) {
+            markdown.append("| ").append(finding.type().label())
+                    .append(" | ").append(finding.objectName() != null ? cell(finding.objectName()) : "")
+                    .append(" | ").append(finding.estimatedRows() > 0 ? String.format(Locale.ROOT, "%.0f", finding.estimatedRows()) : "")
+                    .append(" | ").append(cell(finding.detail()))
+                    .append(" |\n");
+        }
+        return markdown.toString();
+    }
+
+    /**
+     * Escapes the characters that would break a Markdown table cell.
+     */
+    private static String cell(String text) {
+        return text.replace("|", "\\|").replace('\n', ' ');
+    }
+}
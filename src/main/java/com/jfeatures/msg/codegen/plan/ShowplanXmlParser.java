@@ -0,0 +1,226 @@
+package com.jfeatures.msg.codegen.plan;
+
+import com.jfeatures.msg.codegen.domain.PlanFinding;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * Reads the findings of a SQL Server showplan XML document ({@code SET SHOWPLAN_XML ON}): table and index scans,
+ * key and RID lookups, plan-affecting implicit conversions and missing-index suggestions, together with the
+ * estimated cost of its statements.
+ */
+public final class ShowplanXmlParser {
+
+    static final String SHOWPLAN_NAMESPACE = "http://schemas.microsoft.com/sqlserver/2004/07/showplan";
+
+    private ShowplanXmlParser() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * The estimated cost and findings of one showplan document.
+     *
+     * @param estimatedCost the summed estimated subtree cost of every statement of the document
+     * @param findings the findings in document order; a conversion or index suggestion repeated in the plan is reported once
+     */
+    public record ParsedShowplan(double estimatedCost, List<PlanFinding> findings) {
+    }
+
+    /**
+     * Parses one showplan document.
+     *
+     * @param showplanXml the document returned for a batch while {@code SHOWPLAN_XML} is on
+     * @return the estimated cost and findings
+     * @throws IllegalArgumentException if the document is not well-formed XML
+     */
+    public static ParsedShowplan parse(String showplanXml) {
+        if (showplanXml == null || showplanXml.isBlank()) {
+            throw new IllegalArgumentException("Showplan XML cannot be null or empty");
+        }
+        Document document = readDocument(showplanXml);
+
+        double estimatedCost = 0;
+        for (Element statement : elements(document, "StmtSimple")) {
+            estimatedCost += doubleAttribute(statement, "StatementSubTreeCost");
+        }
+
+        Set<PlanFinding> uniqueFindings = new LinkedHashSet<>();
+        for (Element relOp : elements(document, "RelOp")) {
+            operatorFinding(relOp).ifPresent(uniqueFindings::add);
+        }
+        for (Element convert : elements(document, "PlanAffectingConvert")) {
+            uniqueFindings.add(new PlanFinding(PlanFinding.Type.IMPLICIT_CONVERSION, null, 0,
+                convert.getAttribute("Expression") + " (affects " + convert.getAttribute("ConvertIssue") + ")"));
+        }
+        for (Element group : elements(document, "MissingIndexGroup")) {
+            for (Element missingIndex : childElements(group, "MissingIndex")) {
+                uniqueFindings.add(missingIndexFinding(missingIndex, doubleAttribute(group, "Impact")));
+            }
+        }
+        return new ParsedShowplan(estimatedCost, List.copyOf(uniqueFindings));
+    }
+
+    private static Optional<PlanFinding> operatorFinding(Element relOp) {
+        String physicalOp = relOp.getAttribute("PhysicalOp");
+        PlanFinding.Type type = switch (physicalOp) {
+            case "Table Scan", "Clustered Index Scan" -> PlanFinding.Type.TABLE_SCAN;
+            case "Index Scan" -> PlanFinding.Type.INDEX_SCAN;
+            case "Key Lookup", "RID Lookup" -> PlanFinding.Type.KEY_LOOKUP;
+            default -> null;
+        };
+        if (type == null) {
+            return Optional.empty();
+        }
+        Element object = operatorObject(relOp);
+        String objectName = object != null ? objectName(object) : null;
+        // A lookup runs once per row of the outer input: 1 + rebinds + rewinds times, each returning EstimateRows
+        double estimatedRows = type == PlanFinding.Type.KEY_LOOKUP
+            ? doubleAttribute(relOp, "EstimateRows")
+                * (1 + doubleAttribute(relOp, "EstimateRebinds") + doubleAttribute(relOp, "EstimateRewinds"))
+            : firstPresent(relOp, "EstimatedRowsRead", "TableCardinality", "EstimateRows");
+        String detail = String.format(Locale.ROOT, "%s, estimated subtree cost %.4f",
+                                      physicalOp, doubleAttribute(relOp, "EstimatedTotalSubtreeCost"));
+        return Optional.of(new PlanFinding(type, objectName, estimatedRows, detail));
+    }
+
+    /**
+     * Returns the {@code Object} of the scan or lookup operator, which is nested in its {@code IndexScan} or
+     * {@code TableScan} element rather than in a child operator.
+     */
+    private static Element operatorObject(Element relOp) {
+        for (Element child : childElements(relOp, null)) {
+            if ("IndexScan".equals(child.getLocalName()) || "TableScan".equals(child.getLocalName())) {
+                List<Element> objects = childElements(child, "Object");
+                return objects.isEmpty() ? null : objects.get(0);
+            }
+        }
+        return null;
+    }
+
+    private static String objectName(Element object) {
+        StringBuilder name = new StringBuilder();
+        for (String attribute : List.of("Schema", "Table", "Index")) {
+            if (object.hasAttribute(attribute)) {
+                if (!name.isEmpty()) {
+                    name.append('.');
+                }
+                name.append(object.getAttribute(attribute));
+            }
+        }
+        return name.toString();
+    }
+
+    /**
+     * Describes a missing index as the {@code CREATE INDEX} statement SQL Server suggests: equality columns first,
+     * then inequality columns as keys, and the remaining columns included.
+     */
+    private static PlanFinding missingIndexFinding(Element missingIndex, double impact) {
+        List<String> keyColumns = new ArrayList<>();
+        List<String> includedColumns = new ArrayList<>();
+        for (String usage : List.of("EQUALITY", "INEQUALITY", "INCLUDE")) {
+            for (Element columnGroup : childElements(missingIndex, "ColumnGroup")) {
+                if (!usage.equals(columnGroup.getAttribute("Usage"))) {
+                    continue;
+                }
+                for (Element column : childElements(columnGroup, "Column")) {
+                    (usage.equals("INCLUDE") ? includedColumns : keyColumns).add(column.getAttribute("Name"));
+                }
+            }
+        }
+        String table = missingIndex.getAttribute("Schema") + "." + missingIndex.getAttribute("Table");
+        StringJoiner indexName = new StringJoiner("_", "IX_", "");
+        indexName.add(unbracket(missingIndex.getAttribute("Table")));
+        keyColumns.forEach(column -> indexName.add(unbracket(column)));
+
+        StringBuilder statement = new StringBuilder("CREATE INDEX ").append(indexName).append(" ON ").append(table)
+            .append(" (").append(String.join(", ", keyColumns)).append(')');
+        if (!includedColumns.isEmpty()) {
+            statement.append(" INCLUDE (").append(String.join(", ", includedColumns)).append(')');
+        }
+        return new PlanFinding(PlanFinding.Type.MISSING_INDEX, table, 0,
+            String.format(Locale.ROOT, "Estimated impact %.1f%%: %s", impact, statement));
+    }
+
+    private static String unbracket(String identifier) {
+        return identifier.startsWith("[") && identifier.endsWith("]")
+            ? identifier.substring(1, identifier.length() - 1)
+            : identifier;
+    }
+
+    private static double firstPresent(Element element, String... attributes) {
+        for (String attribute : attributes) {
+            if (element.hasAttribute(attribute)) {
+                return doubleAttribute(element, attribute);
+            }
+        }
+        return 0;
+    }
+
+    private static double doubleAttribute(Element element, String attribute) {
+        String value = element.getAttribute(attribute);
+        if (value.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static List<Element> elements(Document document, String localName) {
+        NodeList nodes = document.getElementsByTagNameNS(SHOWPLAN_NAMESPACE, localName);
+        List<Element> elements = new ArrayList<>(nodes.getLength());
+        for (int i = 0; i < nodes.getLength(); i++) {
+            elements.add((Element) nodes.item(i));
+        }
+        return elements;
+    }
+
+    /**
+     * Returns the direct child elements with the given local name, or all of them when the name is null.
+     */
+    private static List<Element> childElements(Element parent, String localName) {
+        List<Element> children = new ArrayList<>();
+        for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element element && (localName == null || localName.equals(element.getLocalName()))) {
+                children.add(element);
+            }
+        }
+        return children;
+    }
+
+    private static Document readDocument(String showplanXml) {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            // Plans come from the database, but a document type declaration is never part of one
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            builder.setErrorHandler(null);
+            return builder.parse(new InputSource(new StringReader(showplanXml)));
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("XML parser is not available", e);
+        } catch (SAXException | IOException e) {
+            throw new IllegalArgumentException("Invalid showplan XML: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.jfeatures.msg.codegen.profile;
+
+/**
+ * The phases of generating one microservice, in pipeline order.
+ */
+public enum GenerationPhase {
+    /** Locating and reading the SQL file. */
+    RESOLVE,
+    /** Parsing the SQL statement. */
+    PARSE,
+    /** Detecting the statement type. */
+    DETECT,
+    /** Looking up the metadata of one extractor, from the cache, a fixture or the database. */
+    METADATA,
+    /** Emitting the sources of one {@code Generate*} class. */
+    GENERATE,
+    /** Formatting the SQL of a generated DAO with {@code SqlFormatter}, nested in its {@code Generate*} phase. */
+    FORMAT,
+    /** Analyzing the statement: its predicates for sargability, its estimated execution plan with {@code --analyze-plan}, its indexes with {@code --recommend-indexes}. */
+    PLAN,
+    /** Writing the project to disk or into an archive. */
+    WRITE,
+    /** Compiling the generated sources with {@code --verify}. */
+    VERIFY
+}
@@ -0,0 +1,40 @@
+package com.jfeatures.msg.codegen.profile;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded for every phase of a microservice generation, e.g. with
+ * {@code java -XX:StartFlightRecording=filename=msg.jfr -jar MSG.jar ...}.
+ */
+@Name("com.jfeatures.msg.GenerationPhase")
+@Label("Generation Phase")
+@Category({"MSG", "Generation"})
+@Description("A phase of generating one microservice")
+@StackTrace(false)
+final class GenerationPhaseEvent extends Event {
+
+    @Label("Service")
+    @Description("Business domain name of the generated microservice")
+    String businessDomainName;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Step")
+    @Description("Metadata extractor, Generate* class or file the phase worked on")
+    String step;
+
+    @Label("Round Trips")
+    @Description("Database round trips made during the phase")
+    long roundTrips;
+
+    @Label("Bytes Written")
+    @DataAmount
+    long bytesWritten;
+}
@@ -0,0 +1,257 @@
+package com.jfeatures.msg.codegen.profile;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Times the phases of microservice generation: SQL resolution, parsing, type detection, each metadata lookup,
+ * each {@code Generate*} class and the SQL formatting inside it, writing and verification.
+ * Every phase is recorded as a {@link GenerationPhaseEvent} JFR event, whether or not profiling is enabled;
+ * without a running recording that costs little more than two clock reads. An enabled profiler additionally
+ * collects the phases of the microservices bound to it with {@link #profile(String)} for a summary table.
+ * <p>
+ * Phases, services and counters are bound to the current thread, which matches the generation of one
+ * microservice on one (virtual) thread. Database round trips and written bytes are attributed to the
+ * innermost open phase of the thread, and added to its enclosing phase when it closes.
+ */
+@Slf4j
+public class GenerationProfiler {
+
+    private static final GenerationProfiler DISABLED = new GenerationProfiler(false);
+    private static final ThreadLocal<ServiceScope> CURRENT_SERVICE = new ThreadLocal<>();
+    private static final ThreadLocal<Phase> CURRENT_PHASE = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final Queue<PhaseTiming> timings = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger profiledServices = new AtomicInteger();
+
+    /**
+     * Creates a profiler that collects the phases of the microservices bound to it.
+     */
+    public GenerationProfiler() {
+        this(true);
+    }
+
+    private GenerationProfiler(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns a profiler that collects nothing; phases are still named after the bound microservice in JFR events.
+     */
+    public static GenerationProfiler disabled() {
+        return DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Binds the generation of a microservice to the current thread until the returned scope is closed.
+     * Scopes nest; closing one restores the microservice bound before it.
+     */
+    public ServiceScope profile(String businessDomainName) {
+        if (businessDomainName == null || businessDomainName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Business domain name cannot be null or empty");
+        }
+        if (enabled) {
+            profiledServices.incrementAndGet();
+        }
+        ServiceScope scope = new ServiceScope(this, businessDomainName, CURRENT_SERVICE.get());
+        CURRENT_SERVICE.set(scope);
+        return scope;
+    }
+
+    /**
+     * Opens a phase on the current thread; it ends when the returned phase is closed.
+     *
+     * @param phase the kind of phase
+     * @param step what the phase works on, e.g. the metadata extractor or the {@code Generate*} class
+     */
+    public static Phase phase(GenerationPhase phase, String step) {
+        if (phase == null) {
+            throw new IllegalArgumentException("Generation phase cannot be null");
+        }
+        if (step == null || step.trim().isEmpty()) {
+            throw new IllegalArgumentException("Phase step cannot be null or empty");
+        }
+        Phase opened = new Phase(phase, step, CURRENT_PHASE.get());
+        CURRENT_PHASE.set(opened);
+        return opened;
+    }
+
+    /**
+     * Runs an action as a phase of the current thread and returns its result.
+     */
+    public static <T> T time(GenerationPhase phase, String step, Callable<T> action) throws Exception {
+        try (Phase ignored = phase(phase, step)) {
+            return action.call();
+        }
+    }
+
+    /**
+     * Counts a database round trip against the innermost open phase of the current thread, if any.
+     */
+    public static void countRoundTrip() {
+        Phase current = CURRENT_PHASE.get();
+        if (current != null) {
+            current.roundTrips++;
+        }
+    }
+
+    /**
+     * Counts written bytes against the innermost open phase of the current thread, if any.
+     */
+    public static void countBytesWritten(long bytes) {
+        Phase current = CURRENT_PHASE.get();
+        if (current != null && bytes > 0) {
+            current.bytesWritten += bytes;
+        }
+    }
+
+    /**
+     * Returns the phases collected so far, in completion order per thread.
+     */
+    public List<PhaseTiming> timings() {
+        return List.copyOf(timings);
+    }
+
+    /**
+     * Logs one line per phase and step with its count, total, average and maximum duration, round trips and
+     * written bytes, summed over every profiled microservice.
+     */
+    public void logSummary() {
+        List<PhaseTiming> completed = timings();
+        if (completed.isEmpty()) {
+            log.info("Generation profile: no phases recorded");
+            return;
+        }
+        Map<PhaseTiming, StepTotals> totalsByStep = new TreeMap<>(
+            Comparator.comparing(PhaseTiming::phase).thenComparing(PhaseTiming::step));
+        for (PhaseTiming timing : completed) {
+            totalsByStep.computeIfAbsent(timing, key -> new StepTotals()).add(timing);
+        }
+
+        log.info("Generation profile of {} microservices (durations include nested phases):", profiledServices.get());
+        log.info(String.format("  %-9s %-32s %6s %11s %9s %9s %12s %14s",
+                               "PHASE", "STEP", "COUNT", "TOTAL ms", "AVG ms", "MAX ms", "ROUND TRIPS", "BYTES WRITTEN"));
+        totalsByStep.forEach((key, totals) -> log.info(String.format("  %-9s %-32s %6d %11.1f %9.1f %9.1f %12d %14d",
+            key.phase(), key.step(), totals.count, millis(totals.total), millis(totals.total) / totals.count,
+            millis(totals.max), totals.roundTrips, totals.bytesWritten)));
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+
+    /**
+     * The microservice whose phases are attributed to this profiler on the current thread.
+     */
+    public static final class ServiceScope implements AutoCloseable {
+
+        private final GenerationProfiler profiler;
+        private final String businessDomainName;
+        private final ServiceScope previous;
+
+        private ServiceScope(GenerationProfiler profiler, String businessDomainName, ServiceScope previous) {
+            this.profiler = profiler;
+            this.businessDomainName = businessDomainName;
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous != null) {
+                CURRENT_SERVICE.set(previous);
+            } else {
+                CURRENT_SERVICE.remove();
+            }
+        }
+    }
+
+    /**
+     * An open phase; closing it records its duration and counters.
+     */
+    public static final class Phase implements AutoCloseable {
+
+        private final GenerationPhase phase;
+        private final String step;
+        private final Phase parent;
+        private final GenerationPhaseEvent event = new GenerationPhaseEvent();
+        private final long startNanos;
+        private long roundTrips;
+        private long bytesWritten;
+        private boolean closed;
+
+        private Phase(GenerationPhase phase, String step, Phase parent) {
+            this.phase = phase;
+            this.step = step;
+            this.parent = parent;
+            event.begin();
+            this.startNanos = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+            event.end();
+
+            if (parent != null) {
+                parent.roundTrips += roundTrips;
+                parent.bytesWritten += bytesWritten;
+                CURRENT_PHASE.set(parent);
+            } else {
+                CURRENT_PHASE.remove();
+            }
+
+            ServiceScope service = CURRENT_SERVICE.get();
+            String businessDomainName = service != null ? service.businessDomainName : null;
+            if (event.shouldCommit()) {
+                event.businessDomainName = businessDomainName;
+                event.phase = phase.name();
+                event.step = step;
+                event.roundTrips = roundTrips;
+                event.bytesWritten = bytesWritten;
+                event.commit();
+            }
+            if (service != null && service.profiler.enabled) {
+                service.profiler.timings.add(new PhaseTiming(businessDomainName, phase, step, elapsed, roundTrips, bytesWritten));
+            }
+        }
+    }
+
+    /**
+     * Running totals of one phase and step.
+     */
+    private static final class StepTotals {
+
+        private int count;
+        private Duration total = Duration.ZERO;
+        private Duration max = Duration.ZERO;
+        private long roundTrips;
+        private long bytesWritten;
+
+        void add(PhaseTiming timing) {
+            count++;
+            total = total.plus(timing.elapsed());
+            if (timing.elapsed().compareTo(max) > 0) {
+                max = timing.elapsed();
+            }
+            roundTrips += timing.roundTrips();
+            bytesWritten += timing.bytesWritten();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.jfeatures.msg.codegen.profile;
+
+import java.time.Duration;
+
+/**
+ * One completed phase of a microservice generation.
+ *
+ * @param businessDomainName the microservice the phase belongs to
+ * @param phase the kind of phase
+ * @param step what the phase worked on, e.g. the metadata extractor or the {@code Generate*} class
+ * @param elapsed the wall-clock time of the phase
+ * @param roundTrips the database round trips made during the phase
+ * @param bytesWritten the bytes written to disk or into an archive during the phase
+ */
+public record PhaseTiming(String businessDomainName, GenerationPhase phase, String step, Duration elapsed,
+                          long roundTrips, long bytesWritten) {
+}
@@ -0,0 +1,700 @@
+package com.jfeatures.msg.codegen.sargability;
+
+import com.jfeatures.msg.codegen.dbmetadata.CatalogColumn;
+import com.jfeatures.msg.codegen.dbmetadata.CatalogTable;
+import com.jfeatures.msg.codegen.dbmetadata.SchemaCatalog;
+import com.jfeatures.msg.codegen.domain.SargabilityFinding;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import com.jfeatures.msg.codegen.util.TableReferenceFinder;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jsqlparser.expression.BinaryExpression;
+import net.sf.jsqlparser.expression.CastExpression;
+import net.sf.jsqlparser.expression.DoubleValue;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.ExpressionVisitorAdapter;
+import net.sf.jsqlparser.expression.Function;
+import net.sf.jsqlparser.expression.JdbcNamedParameter;
+import net.sf.jsqlparser.expression.JdbcParameter;
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.expression.NotExpression;
+import net.sf.jsqlparser.expression.SignedExpression;
+import net.sf.jsqlparser.expression.StringValue;
+import net.sf.jsqlparser.expression.TranscodingFunction;
+import net.sf.jsqlparser.expression.TrimFunction;
+import net.sf.jsqlparser.expression.UserVariable;
+import net.sf.jsqlparser.expression.operators.arithmetic.Addition;
+import net.sf.jsqlparser.expression.operators.arithmetic.Concat;
+import net.sf.jsqlparser.expression.operators.arithmetic.Division;
+import net.sf.jsqlparser.expression.operators.arithmetic.Modulo;
+import net.sf.jsqlparser.expression.operators.arithmetic.Multiplication;
+import net.sf.jsqlparser.expression.operators.arithmetic.Subtraction;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
+import net.sf.jsqlparser.expression.operators.relational.Between;
+import net.sf.jsqlparser.expression.operators.relational.ComparisonOperator;
+import net.sf.jsqlparser.expression.operators.relational.InExpression;
+import net.sf.jsqlparser.expression.operators.relational.LikeExpression;
+import net.sf.jsqlparser.expression.operators.relational.ParenthesedExpressionList;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.create.table.ColDataType;
+import net.sf.jsqlparser.statement.delete.Delete;
+import net.sf.jsqlparser.statement.select.FromItem;
+import net.sf.jsqlparser.statement.select.Join;
+import net.sf.jsqlparser.statement.select.ParenthesedSelect;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.update.Update;
+import net.sf.jsqlparser.util.TablesNamesFinder;
+
+/**
+ * Finds the predicates of a SQL statement that prevent an index seek on the column they filter. Only the syntax tree
+ * is inspected, so the check needs no database and runs before generation or in a pre-commit hook.
+ * <p>
+ * Every WHERE and JOIN ON condition, those of subqueries and CTEs included, is checked for a function or arithmetic
+ * applied to a column that is compared with a value, date arithmetic on a column, a {@code LIKE} pattern starting
+ * with a wildcard, and conditions combined with OR that share no column. With a {@link SchemaCatalog} the column
+ * types are known as well, so a varchar column compared with a {@code ?} parameter, which the driver sends as
+ * nvarchar, or with a Unicode or numeric literal is reported as an implicit conversion.
+ * <p>
+ * A rewrite is only offered when it is equivalent and changes nothing about a {@code ?} placeholder but a cast to
+ * the type of the column it is compared with, so the parameters of the generated service keep their types.
+ * A column cast to {@code DATE} can seek and is not reported.
+ */
+@Slf4j
+public class SargabilityAdvisor {
+
+    private static final Set<String> DATE_ARITHMETIC_FUNCTIONS = Set.of("DATEADD", "DATEDIFF", "DATEDIFF_BIG");
+    /** Functions whose first argument is a date part such as {@code day}, which the parser reads as a column. */
+    private static final Set<String> DATE_PART_FUNCTIONS = Set.of("DATEADD", "DATEDIFF", "DATEDIFF_BIG", "DATEPART",
+                                                                  "DATENAME", "DATETRUNC");
+    private static final Set<String> DATE_COMPONENT_FUNCTIONS = Set.of("YEAR", "MONTH", "DAY", "DATEPART", "DATENAME",
+                                                                       "DATETRUNC", "EOMONTH");
+    /** Date parts that add a fixed duration; months and years do not, since the day is clamped to the month end. */
+    private static final Set<String> FIXED_DATE_PARTS = Set.of("WEEK", "WK", "WW", "DAY", "DD", "D", "HOUR", "HH",
+                                                               "MINUTE", "MI", "N", "SECOND", "SS", "S",
+                                                               "MILLISECOND", "MS");
+    private static final Set<String> DAY_DATE_PARTS = Set.of("DAY", "DD", "D");
+    private static final Set<String> NON_UNICODE_CHARACTER_TYPES = Set.of("char", "varchar", "text");
+    private static final int MAX_VARCHAR_LENGTH = 8000;
+    private static final int MAX_YEAR = 9998;
+
+    private final SchemaCatalog schemaCatalog;
+
+    /**
+     * Creates an advisor that checks the syntax only; implicit conversions are not found without the column types.
+     */
+    public SargabilityAdvisor() {
+        this.schemaCatalog = null;
+    }
+
+    /**
+     * @param schemaCatalog the tables of the statement, for the types of the columns its predicates compare
+     */
+    public SargabilityAdvisor(SchemaCatalog schemaCatalog) {
+        if (schemaCatalog == null) {
+            throw new IllegalArgumentException("Schema catalog cannot be null");
+        }
+        this.schemaCatalog = schemaCatalog;
+    }
+
+    /**
+     * Returns the predicates of the statement that prevent an index seek, in order of appearance; empty when there
+     * are none or the statement could not be parsed.
+     */
+    public List<SargabilityFinding> analyze(SqlCompilationUnit unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException("SQL statement cannot be null");
+        }
+        if (!unit.isParsed()) {
+            log.debug("Statement is not checked for sargability, it could not be parsed: {}", unit.sql());
+            return List.of();
+        }
+        Set<SargabilityFinding> findings = new LinkedHashSet<>();
+        try {
+            new PredicateFinder(findings).getTables(unit.statement().orElseThrow());
+        } catch (UnsupportedOperationException e) {
+            // TablesNamesFinder does not support every statement type (e.g. DDL)
+            log.debug("Could not check every predicate for sargability: {}", e.getMessage());
+        }
+        return List.copyOf(findings);
+    }
+
+    /**
+     * Visits every SELECT, UPDATE and DELETE of the statement, including subqueries and CTEs, and checks its
+     * WHERE and JOIN ON conditions against the tables of its FROM clause.
+     */
+    private final class PredicateFinder extends TablesNamesFinder<Void> {
+
+        private final Set<SargabilityFinding> findings;
+
+        private PredicateFinder(Set<SargabilityFinding> findings) {
+            this.findings = findings;
+        }
+
+        @Override
+        public <S> Void visit(PlainSelect plainSelect, S context) {
+            Scope scope = new Scope();
+            scope.add(plainSelect.getFromItem());
+            scope.addJoins(plainSelect.getJoins());
+            checkPredicate(plainSelect.getWhere(), scope);
+            checkJoins(plainSelect.getJoins(), scope);
+            return super.visit(plainSelect, context);
+        }
+
+        @Override
+        public <S> Void visit(Update update, S context) {
+            Scope scope = new Scope();
+            scope.add(update.getTable());
+            scope.add(update.getFromItem());
+            scope.addJoins(update.getStartJoins());
+            scope.addJoins(update.getJoins());
+            checkJoins(update.getStartJoins(), scope);
+            checkJoins(update.getJoins(), scope);
+            checkPredicate(update.getWhere(), scope);
+            return super.visit(update, context);
+        }
+
+        @Override
+        public <S> Void visit(Delete delete, S context) {
+            Scope scope = new Scope();
+            scope.add(delete.getTable());
+            scope.addJoins(delete.getJoins());
+            checkJoins(delete.getJoins(), scope);
+            checkPredicate(delete.getWhere(), scope);
+            return super.visit(delete, context);
+        }
+
+        private void checkJoins(List<Join> joins, Scope scope) {
+            if (joins != null) {
+                joins.forEach(join -> join.getOnExpressions().forEach(on -> checkPredicate(on, scope)));
+            }
+        }
+
+        private void checkPredicate(Expression predicate, Scope scope) {
+            if (predicate instanceof AndExpression and) {
+                checkPredicate(and.getLeftExpression(), scope);
+                checkPredicate(and.getRightExpression(), scope);
+            } else if (predicate instanceof OrExpression) {
+                List<Expression> disjuncts = disjuncts(predicate);
+                checkDisjunction(predicate, disjuncts);
+                disjuncts.forEach(disjunct -> checkPredicate(disjunct, scope));
+            } else if (predicate instanceof ParenthesedExpressionList<?> parenthesed && parenthesed.size() == 1) {
+                checkPredicate(parenthesed.get(0), scope);
+            } else if (predicate instanceof NotExpression not) {
+                checkPredicate(not.getExpression(), scope);
+            } else if (predicate instanceof ComparisonOperator comparison) {
+                checkComparison(comparison, scope);
+            } else if (predicate instanceof LikeExpression like) {
+                checkLike(like, scope);
+            } else if (predicate instanceof Between between) {
+                checkOperand(between, between.getLeftExpression(),
+                             List.of(between.getBetweenExpressionStart(), between.getBetweenExpressionEnd()));
+            } else if (predicate instanceof InExpression in) {
+                checkOperand(in, in.getLeftExpression(), List.of(in.getRightExpression()));
+            }
+        }
+
+        private void checkComparison(ComparisonOperator comparison, Scope scope) {
+            Expression left = comparison.getLeftExpression();
+            Expression right = comparison.getRightExpression();
+            boolean columnOnLeft = !columnsOf(left).isEmpty();
+            if (columnOnLeft == !columnsOf(right).isEmpty()) {
+                // A join condition, or a comparison of values only
+                return;
+            }
+            Expression columnSide = unwrap(columnOnLeft ? left : right);
+            Expression value = columnOnLeft ? right : left;
+            if (columnSide instanceof Column column) {
+                checkConversion(comparison, column, value, scope);
+                return;
+            }
+            String operator = columnOnLeft ? comparison.getStringExpression() : mirror(comparison.getStringExpression());
+            checkWrappedColumn(comparison, columnSide, value, operator);
+        }
+
+        private void checkLike(LikeExpression like, Scope scope) {
+            Expression left = unwrap(like.getLeftExpression());
+            if (like.isNot() || columnsOf(left).isEmpty() || !columnsOf(like.getRightExpression()).isEmpty()) {
+                return;
+            }
+            if (!(left instanceof Column column)) {
+                checkWrappedColumn(like, left, like.getRightExpression(), null);
+            } else if (startsWithWildcard(like.getRightExpression())) {
+                add(SargabilityFinding.Type.LEADING_WILDCARD, like, "A pattern starting with a wildcard can match "
+                    + "anywhere in " + column + ", so its index is scanned; anchor the pattern at the start, or use "
+                    + "a full-text index for substring searches", null);
+            } else {
+                checkConversion(like, column, like.getRightExpression(), scope);
+            }
+        }
+
+        private void checkOperand(Expression predicate, Expression operand, List<Expression> values) {
+            Expression unwrapped = unwrap(operand);
+            if (unwrapped instanceof Column || columnsOf(unwrapped).isEmpty()
+                    || values.stream().anyMatch(value -> value != null && !columnsOf(value).isEmpty())) {
+                return;
+            }
+            checkWrappedColumn(predicate, unwrapped, null, null);
+        }
+
+        /**
+         * Reports a column inside a function or calculation that is compared with a value. The operator is given
+         * with the column on the left, or null when the predicate is not a comparison and cannot be rewritten.
+         */
+        private void checkWrappedColumn(Expression predicate, Expression wrapped, Expression value, String operator) {
+            String columns = columnList(wrapped);
+            String function = functionName(wrapped);
+            if (isDateCast(wrapped)) {
+                return;
+            }
+            if (function != null && DATE_ARITHMETIC_FUNCTIONS.contains(function)) {
+                add(SargabilityFinding.Type.DATE_ARITHMETIC, predicate, notSeekable(columns, function)
+                    + "; apply the inverse date arithmetic to the value it is compared with instead",
+                    operator != null ? dateArithmeticRewrite((Function) wrapped, function, value, operator) : null);
+            } else if (isArithmetic(wrapped)) {
+                add(SargabilityFinding.Type.ARITHMETIC_ON_COLUMN, predicate, "No index on " + columns
+                    + " can seek, since it is part of a calculation evaluated for every row; move the calculation "
+                    + "to the value it is compared with", null);
+            } else {
+                add(SargabilityFinding.Type.FUNCTION_ON_COLUMN, predicate,
+                    notSeekable(columns, function != null ? function : "an expression") + "; " + hint(function, columns),
+                    operator != null && wrapped instanceof Function call ? functionRewrite(call, function, value, operator) : null);
+            }
+        }
+
+        /**
+         * Reports a varchar column that is converted to the type of the value it is compared with.
+         */
+        private void checkConversion(BinaryExpression predicate, Column column, Expression value, Scope scope) {
+            Optional<CatalogColumn> catalogColumn = scope.resolve(column);
+            if (catalogColumn.isEmpty() || !NON_UNICODE_CHARACTER_TYPES.contains(lower(catalogColumn.get().typeName()))) {
+                return;
+            }
+            String type = lower(catalogColumn.get().typeName());
+            if (value instanceof JdbcParameter) {
+                add(SargabilityFinding.Type.IMPLICIT_CONVERSION, predicate, "The driver sends String parameters as "
+                    + "nvarchar, so the " + type + " column " + column + " is converted to nvarchar for every row; "
+                    + "cast the parameter to the column type, or set sendStringParametersAsUnicode=false in the JDBC URL",
+                    replaceValue(predicate, value, "CAST(? AS " + varcharType(catalogColumn.get()) + ")"));
+            } else if (value instanceof StringValue literal && "N".equalsIgnoreCase(literal.getPrefix())) {
+                boolean ascii = literal.getValue().chars().allMatch(character -> character < 128);
+                add(SargabilityFinding.Type.IMPLICIT_CONVERSION, predicate, "The Unicode literal converts the " + type
+                    + " column " + column + " to nvarchar for every row; drop the N prefix",
+                    ascii ? replaceValue(predicate, value, "'" + literal.getValue() + "'") : null);
+            } else if (isNumericLiteral(value)) {
+                add(SargabilityFinding.Type.IMPLICIT_CONVERSION, predicate, "The " + type + " column " + column
+                    + " is converted to a number for every row, since numbers take precedence over strings; "
+                    + "compare it with a string literal", null);
+            }
+        }
+
+        /**
+         * Reports conditions combined with OR that no single index can seek on: they share no column, or one of
+         * them has no column at all, such as the {@code ? IS NULL} of an optional parameter.
+         */
+        private void checkDisjunction(Expression predicate, List<Expression> disjuncts) {
+            List<Set<String>> columnSets = disjuncts.stream().map(SargabilityAdvisor::columnNames).toList();
+            Set<String> allColumns = new LinkedHashSet<>();
+            columnSets.forEach(allColumns::addAll);
+            if (allColumns.isEmpty()) {
+                return;
+            }
+            boolean optionalParameter = false;
+            for (int i = 0; i < disjuncts.size(); i++) {
+                if (columnSets.get(i).isEmpty()) {
+                    if (!hasParameter(disjuncts.get(i))) {
+                        // e.g. an EXISTS subquery, which has its own seeks
+                        return;
+                    }
+                    optionalParameter = true;
+                }
+            }
+            if (optionalParameter) {
+                add(SargabilityFinding.Type.OR_ACROSS_COLUMNS, predicate, "A condition without columns, such as "
+                    + "? IS NULL, makes one cached plan serve every parameter value, so it scans instead of seeking on "
+                    + String.join(", ", allColumns) + "; add OPTION (RECOMPILE) or generate one statement per "
+                    + "combination of parameters", null);
+                return;
+            }
+            Set<String> sharedColumns = new LinkedHashSet<>(columnSets.get(0));
+            columnSets.forEach(sharedColumns::retainAll);
+            if (sharedColumns.isEmpty()) {
+                add(SargabilityFinding.Type.OR_ACROSS_COLUMNS, predicate, "The conditions filter different columns ("
+                    + String.join(", ", allColumns) + "), so no single index can seek on all of them and the table "
+                    + "is scanned unless each column has its own index; split the statement into a UNION of one "
+                    + "query per condition", null);
+            }
+        }
+
+        private void add(SargabilityFinding.Type type, Expression predicate, String detail, String rewrite) {
+            findings.add(new SargabilityFinding(type, predicate.toString(), detail, rewrite));
+        }
+    }
+
+    /**
+     * The tables of one SELECT, UPDATE or DELETE, by alias and name, for the types of the columns its predicates compare.
+     */
+    private final class Scope {
+
+        private final Map<String, CatalogTable> tables = new LinkedHashMap<>();
+
+        private void add(FromItem fromItem) {
+            if (schemaCatalog == null || !(fromItem instanceof Table table)) {
+                return;
+            }
+            schemaCatalog.findTable(TableReferenceFinder.unquote(table.getSchemaName()),
+                                    TableReferenceFinder.unquote(table.getName()))
+                         .ifPresent(catalogTable -> {
+                             if (table.getAlias() != null) {
+                                 tables.put(lower(table.getAlias().getName()), catalogTable);
+                             }
+                             tables.putIfAbsent(lower(catalogTable.tableName()), catalogTable);
+                         });
+        }
+
+        private void addJoins(List<Join> joins) {
+            if (joins != null) {
+                joins.forEach(join -> add(join.getRightItem()));
+            }
+        }
+
+        /**
+         * Resolves a column to the catalog: by alias or table name when qualified, otherwise the only table that has it.
+         */
+        private Optional<CatalogColumn> resolve(Column column) {
+            String columnName = TableReferenceFinder.unquote(column.getColumnName());
+            if (column.getTable() != null && column.getTable().getName() != null) {
+                return Optional.ofNullable(tables.get(lower(column.getTable().getName())))
+                               .flatMap(table -> table.findColumn(columnName));
+            }
+            List<CatalogColumn> matches = tables.values().stream().distinct()
+                .flatMap(table -> table.findColumn(columnName).stream())
+                .toList();
+            return matches.size() == 1 ? Optional.of(matches.get(0)) : Optional.empty();
+        }
+    }
+
+    /**
+     * Rewrites {@code YEAR(column)}, {@code RTRIM(column)} and {@code LEFT(column, n)} compared with a value.
+     */
+    private static String functionRewrite(Function function, String name, Expression value, String operator) {
+        List<Expression> arguments = arguments(function);
+        if (arguments.isEmpty() || !(arguments.get(0) instanceof Column column)) {
+            return null;
+        }
+        if (name.equals("YEAR") && arguments.size() == 1) {
+            Long year = integerLiteral(value);
+            return year != null && year >= 1 && year <= MAX_YEAR ? yearRange(column, operator, year) : null;
+        }
+        if (name.equals("RTRIM") && arguments.size() == 1) {
+            // Comparisons ignore trailing spaces, so trimming them changes nothing
+            return column + " " + operator + " " + value;
+        }
+        if (name.equals("LEFT") && arguments.size() == 2 && operator.equals("=")
+                && value instanceof StringValue prefix && !prefix.getValue().matches(".*[%_\\[].*|.* ")) {
+            Long length = integerLiteral(arguments.get(1));
+            if (length != null && length == prefix.getNotExcapedValue().length()) {
+                String literalPrefix = prefix.getPrefix() != null ? prefix.getPrefix() : "";
+                return column + " LIKE " + literalPrefix + "'" + prefix.getValue() + "%'";
+            }
+        }
+        return null;
+    }
+
+    private static String yearRange(Column column, String operator, long year) {
+        String yearStart = String.format(Locale.ROOT, "'%04d0101'", year);
+        String nextYearStart = String.format(Locale.ROOT, "'%04d0101'", year + 1);
+        return switch (operator) {
+            case "=" -> "(" + column + " >= " + yearStart + " AND " + column + " < " + nextYearStart + ")";
+            case ">=" -> column + " >= " + yearStart;
+            case ">" -> column + " >= " + nextYearStart;
+            case "<" -> column + " < " + yearStart;
+            case "<=" -> column + " < " + nextYearStart;
+            default -> null;
+        };
+    }
+
+    /**
+     * Rewrites {@code DATEADD} by a fixed-length date part, which is reversible, and {@code DATEDIFF} in days, which
+     * compares the dates of its arguments. The value they are compared with must not contain a {@code ?}, since it
+     * ends up inside the date arithmetic.
+     */
+    private static String dateArithmeticRewrite(Function function, String name, Expression value, String operator) {
+        List<Expression> arguments = arguments(function);
+        if (arguments.size() != 3 || !(arguments.get(0) instanceof Column datePart)) {
+            return null;
+        }
+        String part = datePart.getColumnName().toUpperCase(Locale.ROOT);
+        if (name.equals("DATEADD")) {
+            Long amount = integerLiteral(arguments.get(1));
+            if (!FIXED_DATE_PARTS.contains(part) || amount == null || !(arguments.get(2) instanceof Column column)
+                    || hasParameter(value)) {
+                return null;
+            }
+            return column + " " + operator + " DATEADD(" + datePart + ", " + -amount + ", " + value + ")";
+        }
+        Long days = integerLiteral(value);
+        Expression start = arguments.get(1);
+        Expression end = arguments.get(2);
+        if (!DAY_DATE_PARTS.contains(part) || days == null || !Set.of("<", "<=", ">", ">=").contains(operator)) {
+            return null;
+        }
+        // DATEDIFF(DAY, column, x) = date(x) - date(column), DATEDIFF(DAY, x, column) = date(column) - date(x)
+        if (start instanceof Column column && columnsOf(end).isEmpty() && !hasParameter(end)) {
+            return dayRange(column, mirror(operator), -days, end);
+        }
+        if (end instanceof Column column && columnsOf(start).isEmpty() && !hasParameter(start)) {
+            return dayRange(column, operator, days, start);
+        }
+        return null;
+    }
+
+    /**
+     * Compares the column with the start of the day {@code offset} days from the date of the value, equivalent to
+     * comparing the date of the column with that day.
+     */
+    private static String dayRange(Column column, String operator, long offset, Expression value) {
+        return switch (operator) {
+            case ">=" -> column + " >= " + dayStart(offset, value);
+            case ">" -> column + " >= " + dayStart(offset + 1, value);
+            case "<=" -> column + " < " + dayStart(offset + 1, value);
+            case "<" -> column + " < " + dayStart(offset, value);
+            default -> null;
+        };
+    }
+
+    private static String dayStart(long offset, Expression value) {
+        return "DATEADD(DAY, " + offset + ", CAST(" + value + " AS DATE))";
+    }
+
+    /**
+     * Returns the predicate with the value replaced, or null when it is not a plain comparison or {@code LIKE}.
+     */
+    private static String replaceValue(BinaryExpression predicate, Expression value, String replacement) {
+        String operator;
+        if (predicate instanceof ComparisonOperator comparison) {
+            operator = comparison.getStringExpression();
+        } else if (predicate instanceof LikeExpression like && !like.isNot() && like.getEscape() == null) {
+            operator = like.getStringExpression();
+        } else {
+            return null;
+        }
+        String left = predicate.getLeftExpression() == value ? replacement : predicate.getLeftExpression().toString();
+        String right = predicate.getRightExpression() == value ? replacement : predicate.getRightExpression().toString();
+        return left + " " + operator + " " + right;
+    }
+
+    /**
+     * Returns the type a parameter is cast to for a varchar column. Casting to the declared length would truncate
+     * longer values, which could then match, so the longest varchar is used instead.
+     */
+    private static String varcharType(CatalogColumn column) {
+        return column.maxLength() == -1 || lower(column.typeName()).equals("text")
+            ? "VARCHAR(MAX)" : "VARCHAR(" + MAX_VARCHAR_LENGTH + ")";
+    }
+
+    private static String notSeekable(String columns, String function) {
+        return "No index on " + columns + " can seek, since " + function + " is applied to it for every row";
+    }
+
+    private static String hint(String function, String columns) {
+        if (function == null) {
+            return "compare the column itself, or index a computed column on the expression";
+        }
+        return switch (function) {
+            case "UPPER", "LOWER" -> "comparisons follow the collation of the column, which is case-insensitive by "
+                                     + "default, so compare the column itself";
+            case "ISNULL", "COALESCE" -> "compare the column itself and add OR " + columns + " IS NULL where NULL "
+                                         + "has to match";
+            case "CAST", "CONVERT", "TRY_CAST", "TRY_CONVERT" -> "convert the value it is compared with to the type "
+                                                                 + "of the column instead";
+            default -> DATE_COMPONENT_FUNCTIONS.contains(function)
+                ? "compare the column with a date range instead, e.g. " + columns + " >= ? AND " + columns + " < ?"
+                : "compare the column itself, or index a computed column on the expression";
+        };
+    }
+
+    private static String functionName(Expression expression) {
+        if (expression instanceof Function function && function.getName() != null) {
+            return function.getName().toUpperCase(Locale.ROOT);
+        }
+        if (expression instanceof CastExpression cast) {
+            return cast.keyword != null ? cast.keyword.toUpperCase(Locale.ROOT) : "CAST";
+        }
+        if (expression instanceof TranscodingFunction) {
+            return "CONVERT";
+        }
+        if (expression instanceof TrimFunction) {
+            return "TRIM";
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether the expression casts a column to {@code DATE}, which SQL Server turns into a range seek.
+     */
+    private static boolean isDateCast(Expression expression) {
+        if (expression instanceof CastExpression cast) {
+            return cast.getLeftExpression() instanceof Column && isDate(cast.getColDataType());
+        }
+        if (expression instanceof TranscodingFunction convert) {
+            return convert.getExpression() instanceof Column && isDate(convert.getColDataType());
+        }
+        return false;
+    }
+
+    private static boolean isDate(ColDataType dataType) {
+        return dataType != null && "DATE".equalsIgnoreCase(dataType.getDataType());
+    }
+
+    private static boolean isArithmetic(Expression expression) {
+        return expression instanceof Addition || expression instanceof Subtraction
+            || expression instanceof Multiplication || expression instanceof Division || expression instanceof Modulo;
+    }
+
+    private static boolean startsWithWildcard(Expression pattern) {
+        Expression unwrapped = unwrap(pattern);
+        if (unwrapped instanceof StringValue literal) {
+            return literal.getValue().startsWith("%") || literal.getValue().startsWith("_");
+        }
+        if (unwrapped instanceof Addition || unwrapped instanceof Concat) {
+            return startsWithWildcard(((BinaryExpression) unwrapped).getLeftExpression());
+        }
+        if (unwrapped instanceof Function function && "CONCAT".equalsIgnoreCase(function.getName())) {
+            List<Expression> arguments = arguments(function);
+            return !arguments.isEmpty() && startsWithWildcard(arguments.get(0));
+        }
+        return false;
+    }
+
+    private static boolean isNumericLiteral(Expression expression) {
+        Expression value = expression instanceof SignedExpression signed ? signed.getExpression() : expression;
+        return value instanceof LongValue || value instanceof DoubleValue;
+    }
+
+    private static Long integerLiteral(Expression expression) {
+        if (expression instanceof LongValue literal) {
+            return literal.getValue();
+        }
+        if (expression instanceof SignedExpression signed && signed.getExpression() instanceof LongValue literal) {
+            return signed.getSign() == '-' ? -literal.getValue() : literal.getValue();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the operator for the operands swapped, e.g. {@code <} for {@code >}.
+     */
+    private static String mirror(String operator) {
+        return switch (operator) {
+            case "<" -> ">";
+            case ">" -> "<";
+            case "<=" -> ">=";
+            case ">=" -> "<=";
+            default -> operator;
+        };
+    }
+
+    private static Expression unwrap(Expression expression) {
+        Expression unwrapped = expression;
+        while (unwrapped instanceof ParenthesedExpressionList<?> parenthesed && parenthesed.size() == 1) {
+            unwrapped = parenthesed.get(0);
+        }
+        return unwrapped;
+    }
+
+    /**
+     * Splits conditions combined with OR, including those in nested parentheses.
+     */
+    private static List<Expression> disjuncts(Expression expression) {
+        Expression unwrapped = unwrap(expression);
+        if (unwrapped instanceof OrExpression or) {
+            List<Expression> disjuncts = new ArrayList<>(disjuncts(or.getLeftExpression()));
+            disjuncts.addAll(disjuncts(or.getRightExpression()));
+            return disjuncts;
+        }
+        return List.of(expression);
+    }
+
+    private static List<Expression> arguments(Function function) {
+        return function.getParameters() != null ? new ArrayList<>(function.getParameters()) : List.of();
+    }
+
+    /**
+     * Returns the columns of the expression, outside subqueries and without the date part of date functions.
+     */
+    private static List<Column> columnsOf(Expression expression) {
+        List<Column> columns = new ArrayList<>();
+        expression.accept(new ExpressionVisitorAdapter<Void>() {
+            @Override
+            public <S> Void visit(Column column, S context) {
+                columns.add(column);
+                return null;
+            }
+
+            @Override
+            public <S> Void visit(Function function, S context) {
+                List<Expression> arguments = arguments(function);
+                int first = function.getName() != null
+                    && DATE_PART_FUNCTIONS.contains(function.getName().toUpperCase(Locale.ROOT)) ? 1 : 0;
+                for (int i = first; i < arguments.size(); i++) {
+                    arguments.get(i).accept(this, context);
+                }
+                return null;
+            }
+
+            @Override
+            public <S> Void visit(ParenthesedSelect select, S context) {
+                return null;
+            }
+        }, null);
+        return columns;
+    }
+
+    private static Set<String> columnNames(Expression expression) {
+        return columnsOf(expression).stream()
+            .map(column -> lower(column.getColumnName()))
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static String columnList(Expression expression) {
+        return columnsOf(expression).stream().map(Column::toString).distinct().collect(Collectors.joining(", "));
+    }
+
+    private static boolean hasParameter(Expression expression) {
+        boolean[] found = {false};
+        expression.accept(new ExpressionVisitorAdapter<Void>() {
+            @Override
+            public <S> Void visit(JdbcParameter parameter, S context) {
+                found[0] = true;
+                return null;
+            }
+
+            @Override
+            public <S> Void visit(JdbcNamedParameter parameter, S context) {
+                found[0] = true;
+                return null;
+            }
+
+            @Override
+            public <S> Void visit(UserVariable variable, S context) {
+                found[0] = true;
+                return null;
+            }
+        }, null);
+        return found[0];
+    }
+
+    private static String lower(String identifier) {
+        return identifier == null ? "" : TableReferenceFinder.unquote(identifier).toLowerCase(Locale.ROOT);
+    }
+}
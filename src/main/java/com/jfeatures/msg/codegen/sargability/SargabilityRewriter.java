@@ -0,0 +1,98 @@
+package com.jfeatures.msg.codegen.sargability;
+
+import com.jfeatures.msg.codegen.domain.SargabilityFinding;
+import com.jfeatures.msg.codegen.sql.SqlLexer;
+import com.jfeatures.msg.codegen.sql.SqlToken;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies the rewrites of {@link SargabilityFinding findings} to the SQL text they were found in.
+ * <p>
+ * The parser prints a predicate with its own spacing and keyword case, so the predicate is located by its tokens:
+ * words match regardless of case, every other token exactly. Only the matched characters are replaced, so the
+ * formatting and comments of the rest of the file are kept. A predicate found more than once, or not at all, is
+ * left unchanged, since it cannot be told which occurrence the finding is about.
+ */
+@Slf4j
+public final class SargabilityRewriter {
+
+    private SargabilityRewriter() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Returns the SQL with the rewrite of every rewritable finding applied; the SQL itself when there is none.
+     *
+     * @param sql the SQL text the findings were found in
+     * @param findings the findings of the SQL
+     * @return the rewritten SQL
+     */
+    public static String rewrite(String sql, List<SargabilityFinding> findings) {
+        if (sql == null) {
+            throw new IllegalArgumentException("SQL cannot be null");
+        }
+        if (findings == null) {
+            throw new IllegalArgumentException("Sargability findings cannot be null");
+        }
+        List<SqlToken> tokens = SqlLexer.tokenize(sql);
+        List<Replacement> replacements = new ArrayList<>();
+        for (SargabilityFinding finding : findings) {
+            if (!finding.isRewritable()) {
+                continue;
+            }
+            List<SqlToken> predicateTokens = SqlLexer.tokenize(finding.predicate());
+            List<Integer> matches = find(tokens, predicateTokens);
+            if (matches.size() != 1) {
+                log.debug("Predicate {} found {} times, not rewritten", finding.predicate(), matches.size());
+                continue;
+            }
+            int start = tokens.get(matches.get(0)).start();
+            int end = tokens.get(matches.get(0) + predicateTokens.size() - 1).end();
+            if (replacements.stream().noneMatch(replacement -> replacement.start() < end && start < replacement.end())) {
+                replacements.add(new Replacement(start, end, finding.rewrite()));
+            }
+        }
+
+        StringBuilder rewritten = new StringBuilder(sql);
+        replacements.sort(Comparator.comparingInt(Replacement::start).reversed());
+        for (Replacement replacement : replacements) {
+            rewritten.replace(replacement.start(), replacement.end(), replacement.text());
+        }
+        return rewritten.toString();
+    }
+
+    /**
+     * Returns the index of every token at which the predicate tokens occur.
+     */
+    private static List<Integer> find(List<SqlToken> tokens, List<SqlToken> predicateTokens) {
+        List<Integer> matches = new ArrayList<>();
+        if (predicateTokens.isEmpty()) {
+            return matches;
+        }
+        for (int i = 0; i + predicateTokens.size() <= tokens.size(); i++) {
+            int matched = 0;
+            while (matched < predicateTokens.size() && sameToken(tokens.get(i + matched), predicateTokens.get(matched))) {
+                matched++;
+            }
+            if (matched == predicateTokens.size()) {
+                matches.add(i);
+            }
+        }
+        return matches;
+    }
+
+    private static boolean sameToken(SqlToken token, SqlToken predicateToken) {
+        if (token.type() != predicateToken.type()) {
+            return false;
+        }
+        return token.is(SqlToken.Type.WORD)
+            ? token.text().equalsIgnoreCase(predicateToken.text())
+            : token.text().equals(predicateToken.text());
+    }
+
+    private record Replacement(int start, int end, String text) {
+    }
+}
@@ -0,0 +1,135 @@
+package com.jfeatures.msg.codegen.sql;
+
+import com.jfeatures.msg.codegen.dbmetadata.CatalogColumn;
+import com.jfeatures.msg.codegen.dbmetadata.CatalogTable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import net.sf.jsqlparser.parser.ParserKeywordsUtils;
+
+/**
+ * Synthesizes the CRUD statements of a catalog table: SELECT by primary key, INSERT, UPDATE by primary key
+ * and DELETE by primary key, with one {@code ?} placeholder per value.
+ * Identifiers are written as is when they are plain names and double-quoted otherwise (spaces, reserved words).
+ */
+public final class CrudSqlSynthesizer {
+
+    private static final Pattern PLAIN_IDENTIFIER_PATTERN = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+    private static final Set<String> RESERVED_WORDS =
+        ParserKeywordsUtils.getReservedKeywords(ParserKeywordsUtils.RESTRICTED_JSQLPARSER).stream()
+                           .map(keyword -> keyword.toUpperCase(Locale.ROOT))
+                           .collect(Collectors.toUnmodifiableSet());
+    // Server-generated row version columns can be neither inserted nor updated
+    private static final Set<String> SERVER_GENERATED_TYPES = Set.of("timestamp", "rowversion");
+
+    private CrudSqlSynthesizer() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Returns {@code SELECT <all columns> FROM <table> WHERE <pk> = ? [AND ...]}.
+     *
+     * @throws IllegalArgumentException if the table has no primary key
+     */
+    public static String selectByPrimaryKey(CatalogTable table) {
+        return "SELECT " + columnList(requireTable(table).columns())
+            + " FROM " + qualifiedName(table)
+            + " WHERE " + primaryKeyCondition(table);
+    }
+
+    /**
+     * Returns {@code INSERT INTO <table> (<columns>) VALUES (?, ...)} over every column that is not
+     * generated by the server (identity, row version, computed and {@code GENERATED ALWAYS} columns).
+     *
+     * @throws IllegalArgumentException if the table has no insertable column
+     */
+    public static String insert(CatalogTable table) {
+        List<CatalogColumn> columns = requireTable(table).columns().stream()
+            .filter(column -> !column.identity() && !isServerGenerated(column))
+            .toList();
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("Table " + qualifiedName(table) + " has no insertable columns");
+        }
+        return "INSERT INTO " + qualifiedName(table) + " (" + columnList(columns) + ")"
+            + " VALUES (" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+    }
+
+    /**
+     * Returns {@code UPDATE <table> SET <column> = ?, ... WHERE <pk> = ? [AND ...]} over every column
+     * outside the primary key that is not generated by the server.
+     *
+     * @throws IllegalArgumentException if the table has no primary key or no updatable column
+     */
+    public static String updateByPrimaryKey(CatalogTable table) {
+        String condition = primaryKeyCondition(requireTable(table));
+        List<CatalogColumn> columns = table.columns().stream()
+            .filter(column -> !column.primaryKey() && !column.identity() && !isServerGenerated(column))
+            .toList();
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("Table " + qualifiedName(table) + " has no updatable columns");
+        }
+        String assignments = columns.stream()
+            .map(column -> quoteIdentifier(column.columnName()) + " = ?")
+            .collect(Collectors.joining(", "));
+        return "UPDATE " + qualifiedName(table) + " SET " + assignments + " WHERE " + condition;
+    }
+
+    /**
+     * Returns {@code DELETE FROM <table> WHERE <pk> = ? [AND ...]}.
+     *
+     * @throws IllegalArgumentException if the table has no primary key
+     */
+    public static String deleteByPrimaryKey(CatalogTable table) {
+        return "DELETE FROM " + qualifiedName(requireTable(table)) + " WHERE " + primaryKeyCondition(table);
+    }
+
+    /**
+     * Returns the schema-qualified table name, quoting each part when necessary.
+     */
+    public static String qualifiedName(CatalogTable table) {
+        return quoteIdentifier(table.schemaName()) + "." + quoteIdentifier(table.tableName());
+    }
+
+    /**
+     * Returns the identifier unchanged when it is a plain, non-reserved name and double-quoted otherwise.
+     */
+    public static String quoteIdentifier(String identifier) {
+        if (identifier == null || identifier.isEmpty()) {
+            throw new IllegalArgumentException("Identifier cannot be null or empty");
+        }
+        if (PLAIN_IDENTIFIER_PATTERN.matcher(identifier).matches()
+                && !RESERVED_WORDS.contains(identifier.toUpperCase(Locale.ROOT))) {
+            return identifier;
+        }
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    private static CatalogTable requireTable(CatalogTable table) {
+        if (table == null) {
+            throw new IllegalArgumentException("Catalog table cannot be null");
+        }
+        return table;
+    }
+
+    private static String primaryKeyCondition(CatalogTable table) {
+        List<CatalogColumn> primaryKey = table.primaryKeyColumns();
+        if (primaryKey.isEmpty()) {
+            throw new IllegalArgumentException("Table " + qualifiedName(table) + " has no primary key");
+        }
+        return primaryKey.stream()
+            .map(column -> quoteIdentifier(column.columnName()) + " = ?")
+            .collect(Collectors.joining(" AND "));
+    }
+
+    private static String columnList(List<CatalogColumn> columns) {
+        return columns.stream().map(column -> quoteIdentifier(column.columnName())).collect(Collectors.joining(", "));
+    }
+
+    private static boolean isServerGenerated(CatalogColumn column) {
+        return column.computed() || column.generatedAlways()
+            || column.typeName() != null && SERVER_GENERATED_TYPES.contains(column.typeName().toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,212 @@
+package com.jfeatures.msg.codegen.sql;
+
+import com.jfeatures.msg.codegen.domain.ParameterReference;
+import com.jfeatures.msg.codegen.domain.TableReference;
+import com.jfeatures.msg.codegen.profile.GenerationPhase;
+import com.jfeatures.msg.codegen.profile.GenerationProfiler;
+import com.jfeatures.msg.codegen.util.SqlFingerprint;
+import com.jfeatures.msg.codegen.util.TableReferenceFinder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.expression.CastExpression;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.JdbcParameter;
+import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.util.TablesNamesFinder;
+
+/**
+ * A SQL statement parsed once, together with everything the generators and metadata extractors derive from it:
+ * the AST, the referenced tables, the {@code ?} parameters and the normalized text used for fingerprinting.
+ * <p>
+ * Parsing is by far the most expensive step for large CTE-heavy queries, so a unit is compiled once per statement
+ * and handed to every consumer instead of the raw SQL. A statement the parser rejects still yields a unit; its
+ * {@link #statement()} is empty and {@link #requireStatement()} rethrows the original parse error.
+ * Two units are equal when they were compiled from the same SQL text.
+ */
+@Slf4j
+public final class SqlCompilationUnit {
+
+    private final String sql;
+    private final Statement statement;
+    private final JSQLParserException parseException;
+    private final String normalizedSql;
+    private final List<TableReference> tableReferences;
+    private final List<ParameterReference> parameters;
+    private final String fingerprint;
+
+    private SqlCompilationUnit(String sql, Statement statement, JSQLParserException parseException) {
+        this.sql = sql;
+        this.statement = statement;
+        this.parseException = parseException;
+        this.normalizedSql = SqlFingerprint.normalize(sql);
+        this.fingerprint = SqlFingerprint.fingerprint(normalizedSql);
+        this.tableReferences = statement != null ? findTableReferences(statement) : List.of();
+        this.parameters = findParameters(statement, SqlLexer.placeholders(normalizedSql).size());
+    }
+
+    /**
+     * Parses the SQL statement. Never throws for invalid SQL; the parse error is kept for {@link #requireStatement()}.
+     *
+     * @param sql the SQL statement
+     * @return the compiled statement
+     */
+    public static SqlCompilationUnit compile(String sql) {
+        if (sql == null || sql.trim().isEmpty()) {
+            throw new IllegalArgumentException("SQL cannot be null or empty");
+        }
+        try (GenerationProfiler.Phase ignored = GenerationProfiler.phase(GenerationPhase.PARSE, "SqlCompilationUnit")) {
+            return new SqlCompilationUnit(sql, CCJSqlParserUtil.parse(sql), null);
+        } catch (JSQLParserException e) {
+            log.debug("Could not parse SQL, continuing without a syntax tree: {}", e.getMessage());
+            return new SqlCompilationUnit(sql, null, e);
+        }
+    }
+
+    /**
+     * Returns the SQL exactly as it was compiled.
+     */
+    public String sql() {
+        return sql;
+    }
+
+    /**
+     * Returns the parsed statement, or empty when the parser rejected the SQL.
+     */
+    public Optional<Statement> statement() {
+        return Optional.ofNullable(statement);
+    }
+
+    public boolean isParsed() {
+        return statement != null;
+    }
+
+    /**
+     * Returns the parsed statement.
+     *
+     * @throws JSQLParserException the error the parser reported when the unit was compiled
+     */
+    public Statement requireStatement() throws JSQLParserException {
+        if (statement == null) {
+            throw parseException;
+        }
+        return statement;
+    }
+
+    /**
+     * Returns the SQL with comments, redundant whitespace and a trailing semicolon removed; see {@link SqlFingerprint}.
+     */
+    public String normalizedSql() {
+        return normalizedSql;
+    }
+
+    /**
+     * Returns the fingerprint of the normalized SQL; see {@link SqlFingerprint#fingerprint(String)}.
+     */
+    public String fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Returns the physical tables the statement references, or an empty list when the SQL could not be parsed.
+     */
+    public List<TableReference> tableReferences() {
+        return tableReferences;
+    }
+
+    /**
+     * Returns the number of {@code ?} placeholders outside string literals, quoted identifiers and comments.
+     */
+    public int parameterCount() {
+        return parameters.size();
+    }
+
+    /**
+     * Returns one entry per {@code ?} placeholder in order of appearance. When the SQL could not be parsed
+     * no parameter is bound to a column.
+     */
+    public List<ParameterReference> parameters() {
+        return parameters;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof SqlCompilationUnit unit && sql.equals(unit.sql));
+    }
+
+    @Override
+    public int hashCode() {
+        return sql.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return normalizedSql;
+    }
+
+    private static List<TableReference> findTableReferences(Statement statement) {
+        try {
+            return List.copyOf(TableReferenceFinder.findTableReferences(statement));
+        } catch (UnsupportedOperationException e) {
+            // TablesNamesFinder does not support every statement type (e.g. DDL)
+            log.debug("Could not determine referenced tables: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static List<ParameterReference> findParameters(Statement statement, int parameterCount) {
+        Map<Integer, Column> boundColumns = new HashMap<>();
+        if (statement != null) {
+            try {
+                new ParameterBindingFinder(boundColumns).getTables(statement);
+            } catch (UnsupportedOperationException e) {
+                log.debug("Could not bind parameters to columns: {}", e.getMessage());
+            }
+        }
+
+        List<ParameterReference> references = new ArrayList<>(parameterCount);
+        for (int position = 1; position <= parameterCount; position++) {
+            Column column = boundColumns.get(position);
+            if (column == null) {
+                references.add(new ParameterReference(position, null, null));
+            } else {
+                String qualifier = column.getTable() != null ? TableReferenceFinder.unquote(column.getTable().getName()) : null;
+                references.add(new ParameterReference(position, qualifier, TableReferenceFinder.unquote(column.getColumnName())));
+            }
+        }
+        return List.copyOf(references);
+    }
+
+    /**
+     * Walks every expression of the statement, including subqueries and CTEs, and records the column
+     * each {@code column = ?} comparison binds its parameter to, also when the parameter is cast to the column type
+     * ({@code column = CAST(? AS VARCHAR(8000))}). The parser numbers parameters in order of appearance.
+     */
+    private static final class ParameterBindingFinder extends TablesNamesFinder<Void> {
+
+        private final Map<Integer, Column> boundColumns;
+
+        private ParameterBindingFinder(Map<Integer, Column> boundColumns) {
+            this.boundColumns = boundColumns;
+        }
+
+        @Override
+        public <S> Void visit(EqualsTo equalsTo, S context) {
+            Expression value = equalsTo.getRightExpression() instanceof CastExpression cast
+                ? cast.getLeftExpression() : equalsTo.getRightExpression();
+            if (equalsTo.getLeftExpression() instanceof Column column
+                    && value instanceof JdbcParameter parameter
+                    && parameter.getIndex() != null) {
+                boundColumns.put(parameter.getIndex(), column);
+            }
+            return super.visit(equalsTo, context);
+        }
+    }
+}
@@ -2,6 +2,15 @@ package com.jfeatures.msg.codegen.sql;
 
 import com.jfeatures.msg.codegen.constants.ProjectConstants;
 import com.jfeatures.msg.sql.ReadFileFromResources;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -11,6 +20,9 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 public class SqlFileResolver {
+
+    private static final String SQL_FILE_EXTENSION = ".sql";
+    private static final String GLOB_CHARACTERS = "*?[{";
     
     /**
      * Locates and reads the appropriate SQL file for microservice generation.
@@ -74,6 +86,88 @@ public class SqlFileResolver {
         }
     }
     
+    /**
+     * Resolves the SQL files of a batch run. A directory yields every {@code .sql} file directly inside it;
+     * anything else is treated as a glob such as {@code sql/**}{@code /*.sql}, matched relative to its
+     * longest directory prefix without wildcards.
+     *
+     * @param directoryOrGlob a directory or a glob pattern
+     * @return the matching files in lexical order
+     * @throws IllegalArgumentException if nothing matches
+     */
+    public List<Path> resolveSqlFiles(String directoryOrGlob) {
+        if (directoryOrGlob == null || directoryOrGlob.trim().isEmpty()) {
+            throw new IllegalArgumentException("SQL directory or glob cannot be null or empty");
+        }
+
+        Path directory = Paths.get(directoryOrGlob);
+        List<Path> sqlFiles;
+        if (Files.isDirectory(directory)) {
+            sqlFiles = listFiles(directory, 1, SqlFileResolver::hasSqlExtension);
+        } else {
+            Path baseDirectory = globBaseDirectory(directoryOrGlob);
+            PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + directoryOrGlob);
+            sqlFiles = Files.isDirectory(baseDirectory)
+                ? listFiles(baseDirectory, Integer.MAX_VALUE, path -> matcher.matches(path.normalize()))
+                : List.of();
+        }
+
+        if (sqlFiles.isEmpty()) {
+            throw new IllegalArgumentException("No SQL files found for: " + directoryOrGlob);
+        }
+        log.info("Resolved {} SQL files from {}", sqlFiles.size(), directoryOrGlob);
+        return sqlFiles;
+    }
+
+    /**
+     * Returns whether the path is one {@link #resolveSqlFiles(String)} would resolve for the source if it existed,
+     * e.g. a SQL file that was just deleted.
+     *
+     * @param directoryOrGlob a directory or a glob pattern
+     * @param path the file, as a path below the directory or the glob's base directory
+     */
+    public boolean isSqlFileOf(String directoryOrGlob, Path path) {
+        if (directoryOrGlob == null || directoryOrGlob.trim().isEmpty() || path == null) {
+            return false;
+        }
+        Path directory = Paths.get(directoryOrGlob);
+        if (Files.isDirectory(directory)) {
+            Path parent = path.toAbsolutePath().normalize().getParent();
+            return directory.toAbsolutePath().normalize().equals(parent) && hasSqlExtension(path);
+        }
+        return FileSystems.getDefault().getPathMatcher("glob:" + directoryOrGlob).matches(path.normalize());
+    }
+
+    private static boolean hasSqlExtension(Path path) {
+        return path.getFileName().toString().toLowerCase().endsWith(SQL_FILE_EXTENSION);
+    }
+
+    private static List<Path> listFiles(Path directory, int maxDepth, PathMatcher matcher) {
+        try (Stream<Path> paths = Files.walk(directory, maxDepth)) {
+            return paths.filter(Files::isRegularFile)
+                        .filter(matcher::matches)
+                        .sorted()
+                        .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list SQL files in " + directory + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the directory part of the glob before the first wildcard, or the current directory.
+     */
+    static Path globBaseDirectory(String glob) {
+        int firstWildcard = glob.length();
+        for (char c : GLOB_CHARACTERS.toCharArray()) {
+            int index = glob.indexOf(c);
+            if (index >= 0) {
+                firstWildcard = Math.min(firstWildcard, index);
+            }
+        }
+        int lastSeparator = Math.max(glob.lastIndexOf('/', firstWildcard), glob.lastIndexOf('\\', firstWildcard));
+        return lastSeparator > 0 ? Paths.get(glob.substring(0, lastSeparator)) : Paths.get(lastSeparator == 0 ? "/" : ".");
+    }
+    
     private String readSqlFromResources(String fileName) {
         if (fileName == null || fileName.trim().isEmpty()) {
             throw new IllegalArgumentException("SQL file name cannot be null or empty");
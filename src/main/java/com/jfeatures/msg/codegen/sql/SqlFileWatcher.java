@@ -0,0 +1,252 @@
+package com.jfeatures.msg.codegen.sql;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Watches the SQL files of a directory or glob and reports the files that changed.
+ * Changes are debounced: events are collected until none has arrived for the debounce period, so that an editor
+ * saving a file several times in a row (or writing it through a temporary file) triggers a single notification.
+ * Only files that {@link SqlFileResolver#resolveSqlFiles(String)} resolves for the watched source are reported;
+ * files created after the watch started are picked up as well. Files that were deleted are reported separately,
+ * so the listener can clean up what was generated from them.
+ */
+@Slf4j
+public class SqlFileWatcher implements Closeable {
+
+    public static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis(300);
+
+    private final String directoryOrGlob;
+    private final SqlFileResolver sqlFileResolver;
+    private final Duration debounce;
+    private final WatchService watchService;
+    // A directory source only covers the files directly inside it; a glob may match files at any depth
+    private final boolean recursive;
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+
+    /**
+     * Receives the SQL files that changed or were removed within one debounce window.
+     * Removals are reported before changes, so a file moved within the source is cleaned up and then generated again.
+     */
+    @FunctionalInterface
+    public interface ChangeListener {
+
+        /**
+         * @param sqlFiles the changed SQL files in lexical order, never empty
+         */
+        void filesChanged(List<Path> sqlFiles) throws Exception;
+
+        /**
+         * @param sqlFiles the SQL files of the source that were deleted, in lexical order, never empty
+         */
+        default void filesRemoved(List<Path> sqlFiles) throws Exception {
+        }
+    }
+
+    /**
+     * Starts watching the directory of the source: the directory itself, or for a glob its longest directory prefix
+     * without wildcards and every directory below it.
+     *
+     * @throws IllegalArgumentException if the source is empty or its directory does not exist
+     */
+    public SqlFileWatcher(String directoryOrGlob, SqlFileResolver sqlFileResolver, Duration debounce) throws IOException {
+        if (directoryOrGlob == null || directoryOrGlob.trim().isEmpty()) {
+            throw new IllegalArgumentException("SQL directory or glob cannot be null or empty");
+        }
+        if (sqlFileResolver == null) {
+            throw new IllegalArgumentException("SQL file resolver cannot be null");
+        }
+        if (debounce == null || debounce.isNegative()) {
+            throw new IllegalArgumentException("Debounce period cannot be null or negative");
+        }
+        this.directoryOrGlob = directoryOrGlob;
+        this.sqlFileResolver = sqlFileResolver;
+        this.debounce = debounce;
+
+        boolean directorySource = Files.isDirectory(Paths.get(directoryOrGlob));
+        Path baseDirectory = directorySource ? Paths.get(directoryOrGlob) : SqlFileResolver.globBaseDirectory(directoryOrGlob);
+        if (!Files.isDirectory(baseDirectory)) {
+            throw new IllegalArgumentException("Cannot watch " + directoryOrGlob + ": directory " + baseDirectory + " does not exist");
+        }
+        this.recursive = !directorySource;
+        this.watchService = baseDirectory.getFileSystem().newWatchService();
+        if (recursive) {
+            registerTree(baseDirectory);
+        } else {
+            register(baseDirectory);
+        }
+    }
+
+    /**
+     * Blocks and calls the listener after every debounced batch of changes until the watcher is closed
+     * or the thread is interrupted. A failing listener is logged and the watch goes on.
+     * When events were lost, every SQL file is reported as changed and no removals are reported.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting for changes
+     */
+    public void watch(ChangeListener listener) throws InterruptedException {
+        if (listener == null) {
+            throw new IllegalArgumentException("Change listener cannot be null");
+        }
+        try {
+            while (true) {
+                Set<Path> changedPaths = new LinkedHashSet<>();
+                Set<Path> deletedPaths = new LinkedHashSet<>();
+                boolean overflow = collectEvents(watchService.take(), changedPaths, deletedPaths);
+                WatchKey key;
+                while ((key = watchService.poll(debounce.toMillis(), TimeUnit.MILLISECONDS)) != null) {
+                    overflow |= collectEvents(key, changedPaths, deletedPaths);
+                }
+
+                List<Path> removedSqlFiles = overflow ? List.of() : removedSqlFiles(deletedPaths);
+                if (!removedSqlFiles.isEmpty()) {
+                    log.info("{} SQL file(s) removed: {}", removedSqlFiles.size(), removedSqlFiles);
+                    notifyListener(() -> listener.filesRemoved(removedSqlFiles), "Cleanup after SQL file removal");
+                }
+                List<Path> changedSqlFiles = changedSqlFiles(changedPaths, overflow);
+                if (!changedSqlFiles.isEmpty()) {
+                    log.info("{} SQL file(s) changed: {}", changedSqlFiles.size(), changedSqlFiles);
+                    notifyListener(() -> listener.filesChanged(changedSqlFiles), "Regeneration after SQL file change");
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            log.debug("Stopped watching {}", directoryOrGlob);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private interface ListenerCall {
+        void run() throws Exception;
+    }
+
+    private static void notifyListener(ListenerCall call, String description) throws InterruptedException {
+        try {
+            call.run();
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("{} failed: {}", description, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Adds the paths of the key's events to {@code changedPaths}, or to {@code deletedPaths} for deletions,
+     * and returns whether events were lost.
+     * New directories are registered so that files created in them are seen too; one that cannot be registered
+     * or listed is logged and skipped rather than ending the watch.
+     */
+    private boolean collectEvents(WatchKey key, Set<Path> changedPaths, Set<Path> deletedPaths) {
+        Path directory = watchedDirectories.get(key);
+        boolean overflow = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                overflow = true;
+                continue;
+            }
+            Path path = directory.resolve((Path) event.context());
+            if (event.kind() == ENTRY_DELETE) {
+                deletedPaths.add(path);
+                continue;
+            }
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                if (!recursive) {
+                    continue;
+                }
+                // The directory may be gone again by now, e.g. a temporary directory of a build or an editor
+                try {
+                    registerTree(path);
+                } catch (UncheckedIOException e) {
+                    log.warn("Could not watch new directory {}: {}", path, e.getMessage());
+                    continue;
+                }
+                // Files written before the directory was registered would otherwise be missed
+                try (Stream<Path> files = Files.walk(path)) {
+                    files.filter(Files::isRegularFile).forEach(changedPaths::add);
+                } catch (IOException | UncheckedIOException e) {
+                    log.warn("Could not list new directory {}: {}", path, e.getMessage());
+                }
+                continue;
+            }
+            changedPaths.add(path);
+        }
+        if (!key.reset()) {
+            watchedDirectories.remove(key);
+        }
+        return overflow;
+    }
+
+    /**
+     * Returns the SQL files of the source that are among the changed paths, or all of them when events were lost.
+     */
+    private List<Path> changedSqlFiles(Set<Path> changedPaths, boolean overflow) {
+        List<Path> sqlFiles;
+        try {
+            sqlFiles = sqlFileResolver.resolveSqlFiles(directoryOrGlob);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+        if (overflow) {
+            log.warn("File change events were lost; regenerating every SQL file of {}", directoryOrGlob);
+            return sqlFiles;
+        }
+        Set<Path> changed = new LinkedHashSet<>();
+        changedPaths.forEach(path -> changed.add(path.toAbsolutePath().normalize()));
+        return sqlFiles.stream()
+                       .filter(sqlFile -> changed.contains(sqlFile.toAbsolutePath().normalize()))
+                       .toList();
+    }
+
+    /**
+     * Returns the deleted paths that were SQL files of the source and are still gone; a file an editor replaced
+     * by deleting and recreating it is reported as changed instead.
+     */
+    private List<Path> removedSqlFiles(Set<Path> deletedPaths) {
+        return deletedPaths.stream()
+                           .filter(path -> !Files.exists(path))
+                           .filter(path -> sqlFileResolver.isSqlFileOf(directoryOrGlob, path))
+                           .sorted()
+                           .toList();
+    }
+
+    private void registerTree(Path root) {
+        try (Stream<Path> directories = Files.walk(root)) {
+            directories.filter(Files::isDirectory).forEach(this::register);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to watch " + root + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void register(Path directory) {
+        try {
+            watchedDirectories.put(directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to watch " + directory + ": " + e.getMessage(), e);
+        }
+    }
+}
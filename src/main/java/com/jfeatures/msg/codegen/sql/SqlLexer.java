@@ -0,0 +1,148 @@
+package com.jfeatures.msg.codegen.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single-pass T-SQL lexer. It splits a statement into {@link SqlToken tokens} with their positions in the
+ * source text, so a {@code ?} inside a string literal, a quoted identifier or a comment is never taken for a
+ * placeholder. Comments and whitespace produce no tokens. Unterminated literals and comments extend to the end
+ * of the text instead of failing, since the SQL is validated by the parser or the database anyway.
+ */
+public final class SqlLexer {
+
+    private SqlLexer() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Splits the SQL into tokens in order of appearance.
+     *
+     * @param sql the SQL text
+     * @return the tokens; empty for blank SQL
+     */
+    public static List<SqlToken> tokenize(String sql) {
+        if (sql == null) {
+            throw new IllegalArgumentException("SQL cannot be null");
+        }
+        List<SqlToken> tokens = new ArrayList<>();
+        scan(sql, tokens, false);
+        return tokens;
+    }
+
+    /**
+     * Returns the {@code ?} placeholders of the SQL in order of appearance, without building the other tokens.
+     *
+     * @param sql the SQL text
+     * @return one {@link SqlToken.Type#PARAMETER} token per placeholder
+     */
+    public static List<SqlToken> placeholders(String sql) {
+        if (sql == null) {
+            throw new IllegalArgumentException("SQL cannot be null");
+        }
+        List<SqlToken> placeholders = new ArrayList<>();
+        scan(sql, placeholders, true);
+        return placeholders;
+    }
+
+    private static void scan(String sql, List<SqlToken> tokens, boolean placeholdersOnly) {
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            char next = i + 1 < length ? sql.charAt(i + 1) : 0;
+            int start = i;
+            SqlToken.Type type;
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            } else if (c == '-' && next == '-') {
+                int end = sql.indexOf('\n', i);
+                i = end == -1 ? length : end + 1;
+                continue;
+            } else if (c == '/' && next == '*') {
+                i = skipBlockComment(sql, i);
+                continue;
+            } else if (c == '\'') {
+                type = SqlToken.Type.STRING;
+                i = findQuotedEnd(sql, i, '\'');
+            } else if ((c == 'N' || c == 'n') && next == '\'') {
+                type = SqlToken.Type.STRING;
+                i = findQuotedEnd(sql, i + 1, '\'');
+            } else if (c == '[' || c == '"' || c == '`') {
+                type = SqlToken.Type.QUOTED_IDENTIFIER;
+                i = findQuotedEnd(sql, i, c == '[' ? ']' : c);
+            } else if (c == '?') {
+                type = SqlToken.Type.PARAMETER;
+                i++;
+            } else if (isWordStart(c)) {
+                type = SqlToken.Type.WORD;
+                i++;
+                while (i < length && isWordPart(sql.charAt(i))) {
+                    i++;
+                }
+            } else if (Character.isDigit(c)) {
+                type = SqlToken.Type.NUMBER;
+                i++;
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+            } else {
+                type = SqlToken.Type.SYMBOL;
+                i++;
+            }
+            if (!placeholdersOnly || type == SqlToken.Type.PARAMETER) {
+                tokens.add(new SqlToken(type, start, i, sql.substring(start, i)));
+            }
+        }
+    }
+
+    private static boolean isWordStart(char c) {
+        return Character.isLetter(c) || c == '_' || c == '@' || c == '#';
+    }
+
+    private static boolean isWordPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '@' || c == '#' || c == '$';
+    }
+
+    /**
+     * Returns the index just past the block comment starting at {@code start}. T-SQL block comments nest.
+     */
+    private static int skipBlockComment(String sql, int start) {
+        int depth = 0;
+        int i = start;
+        while (i < sql.length()) {
+            if (sql.startsWith("/*", i)) {
+                depth++;
+                i += 2;
+            } else if (sql.startsWith("*/", i)) {
+                depth--;
+                i += 2;
+                if (depth == 0) {
+                    return i;
+                }
+            } else {
+                i++;
+            }
+        }
+        return sql.length();
+    }
+
+    /**
+     * Returns the index just past the closing quote, treating a doubled closing quote as an escape.
+     */
+    private static int findQuotedEnd(String sql, int start, char closing) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == closing) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == closing) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return sql.length();
+    }
+}
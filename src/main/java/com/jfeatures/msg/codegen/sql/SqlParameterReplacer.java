@@ -10,6 +10,13 @@ public final class SqlParameterReplacer {
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
     }
     
+    /**
+     * Replaces the {@code ?} placeholders of the SQL, in order, with named parameters ({@code :columnName}).
+     * Placeholders are located by {@link SqlLexer} in a single pass, so a {@code ?} inside a string literal,
+     * quoted identifier or comment is left alone.
+     *
+     * @throws IllegalArgumentException if the number of placeholders and parameters differ or a parameter has no name
+     */
     public static String convertToNamedParameterSql(String sql, List<DBColumn> sqlWhereClauseParameters) {
         if (sql == null || sql.trim().isEmpty()) {
             throw new IllegalArgumentException("SQL cannot be null or empty");
@@ -18,26 +25,29 @@ public final class SqlParameterReplacer {
             throw new IllegalArgumentException("SQL WHERE clause parameters list cannot be null");
         }
         
-        // Count placeholders in SQL
-        long placeholderCount = sql.chars().filter(ch -> ch == '?').count();
-        if (placeholderCount != sqlWhereClauseParameters.size()) {
+        List<SqlToken> placeholders = SqlLexer.placeholders(sql);
+        if (placeholders.size() != sqlWhereClauseParameters.size()) {
             throw new IllegalArgumentException(
                 String.format("Parameter count mismatch: SQL has %d placeholders but %d parameters provided", 
-                    placeholderCount, sqlWhereClauseParameters.size()));
+                    placeholders.size(), sqlWhereClauseParameters.size()));
         }
         
-        String result = sql;
-        for (int i = 0; i < sqlWhereClauseParameters.size(); i++) {
+        StringBuilder result = new StringBuilder(sql.length() + 16 * placeholders.size());
+        int copiedUpTo = 0;
+        for (int i = 0; i < placeholders.size(); i++) {
             DBColumn parameter = sqlWhereClauseParameters.get(i);
             if (parameter == null || parameter.columnName() == null || parameter.columnName().trim().isEmpty()) {
                 throw new IllegalArgumentException(
                     String.format("Parameter at index %d has null or empty column name", i));
             }
             
-            String paramName = CaseUtils.toCamelCase(parameter.columnName(), false);
-            result = result.replaceFirst("\\?", ":" + paramName);
+            SqlToken placeholder = placeholders.get(i);
+            result.append(sql, copiedUpTo, placeholder.start())
+                  .append(':')
+                  .append(CaseUtils.toCamelCase(parameter.columnName(), false));
+            copiedUpTo = placeholder.end();
         }
         
-        return result;
+        return result.append(sql, copiedUpTo, sql.length()).toString();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,177 @@
+package com.jfeatures.msg.codegen.sql;
+
+import com.jfeatures.msg.codegen.constants.ProjectConstants;
+import com.jfeatures.msg.codegen.domain.ScriptStatement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Splits a SQL script into its statements. Statements end at a {@code ;} or at a {@code GO} batch separator on a
+ * line of its own, as sqlcmd and SQL Server Management Studio accept it, optionally followed by a repeat count.
+ * The split works on the tokens of {@link SqlLexer}, so a separator inside a string literal, quoted identifier or
+ * comment does not end a statement, and every statement keeps its source text; each one is then parsed on its own.
+ * <p>
+ * A statement is named after an {@code @name} annotation in the comments before it, e.g.
+ * {@code -- @name: CustomerByEmail}; statements without one are numbered after the script,
+ * e.g. {@code Customer3} for its third statement.
+ */
+@Slf4j
+public final class SqlScriptSplitter {
+
+    private static final Pattern NAME_ANNOTATION = Pattern.compile("@name\\b\\s*:?\\s*(\\S*)", Pattern.CASE_INSENSITIVE);
+    private static final String BATCH_SEPARATOR = "GO";
+
+    private SqlScriptSplitter() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Returns the statements of the script in order. Empty statements, such as a {@code ;} directly after a
+     * {@code GO}, are skipped.
+     *
+     * @param script the script text
+     * @param scriptName the name unannotated statements are numbered after
+     * @return the named and compiled statements
+     * @throws IllegalArgumentException if an annotation holds an invalid name or two statements have the same name
+     */
+    public static List<ScriptStatement> split(String script, String scriptName) {
+        if (script == null) {
+            throw new IllegalArgumentException("SQL script cannot be null");
+        }
+        if (scriptName == null || !scriptName.matches(ProjectConstants.VALID_BUSINESS_NAME_PATTERN)) {
+            throw new IllegalArgumentException(ProjectConstants.ERROR_INVALID_BUSINESS_NAME);
+        }
+
+        List<ScriptStatement> statements = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (Segment segment : segments(script)) {
+            ScriptStatement statement = toStatement(script, segment, scriptName, statements.size() + 1);
+            if (!names.add(statement.businessDomainName().toLowerCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("Statement at line " + statement.lineNumber()
+                    + " has the same name as an earlier statement: " + statement.businessDomainName());
+            }
+            statements.add(statement);
+        }
+        log.info("Split script into {} statements", statements.size());
+        return statements;
+    }
+
+    /**
+     * Returns the source text of each statement of the script in order, without separators, leading comments or
+     * surrounding whitespace, and without parsing or naming them. Empty statements are skipped.
+     *
+     * @param script the script text
+     * @return the statement texts
+     */
+    public static List<String> statementTexts(String script) {
+        if (script == null) {
+            throw new IllegalArgumentException("SQL script cannot be null");
+        }
+        return segments(script).stream()
+            .map(segment -> script.substring(segment.first().start(), segment.last().end()))
+            .toList();
+    }
+
+    /**
+     * Walks the tokens of the script and returns its non-empty statements. Line numbers are counted on the way, from
+     * the previous statement onwards, so the script is scanned for line breaks once.
+     */
+    private static List<Segment> segments(String script) {
+        List<SqlToken> tokens = SqlLexer.tokenize(script);
+        List<Segment> segments = new ArrayList<>();
+        int lineNumber = 1;
+        int lineCountedUpTo = 0;
+        int segmentStart = 0;
+        int firstToken = 0;
+        int i = 0;
+        while (i <= tokens.size()) {
+            int separatorTokens = i < tokens.size() ? separatorLength(script, tokens, i) : 0;
+            if (i == tokens.size() || separatorTokens > 0) {
+                if (i > firstToken) {
+                    SqlToken first = tokens.get(firstToken);
+                    lineNumber += countLineBreaks(script, lineCountedUpTo, first.start());
+                    lineCountedUpTo = first.start();
+                    segments.add(new Segment(segmentStart, first, tokens.get(i - 1), lineNumber));
+                }
+                if (i == tokens.size()) {
+                    break;
+                }
+                i += separatorTokens;
+                segmentStart = tokens.get(i - 1).end();
+                firstToken = i;
+            } else {
+                i++;
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Returns the number of tokens of the separator starting at the token: 1 for a {@code ;} or a {@code GO}, 2 for
+     * {@code GO} with a repeat count, or 0 when the token does not end a statement.
+     */
+    private static int separatorLength(String script, List<SqlToken> tokens, int index) {
+        SqlToken token = tokens.get(index);
+        if (token.isSymbol(';')) {
+            return 1;
+        }
+        if (!token.is(SqlToken.Type.WORD) || !token.text().equalsIgnoreCase(BATCH_SEPARATOR)) {
+            return 0;
+        }
+        if (index > 0 && !startsNewLine(script, tokens.get(index - 1).end(), token.start())) {
+            return 0;
+        }
+        int lineEnd = index + 1;
+        if (lineEnd < tokens.size() && tokens.get(lineEnd).is(SqlToken.Type.NUMBER)
+                && !startsNewLine(script, token.end(), tokens.get(lineEnd).start())) {
+            lineEnd++;
+        }
+        if (lineEnd < tokens.size() && !startsNewLine(script, tokens.get(lineEnd - 1).end(), tokens.get(lineEnd).start())) {
+            return 0;
+        }
+        return lineEnd - index;
+    }
+
+    private static boolean startsNewLine(String script, int from, int to) {
+        return script.substring(from, to).indexOf('\n') >= 0;
+    }
+
+    private static int countLineBreaks(String script, int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (script.charAt(i) == '\n') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static ScriptStatement toStatement(String script, Segment segment, String scriptName, int statementNumber) {
+        SqlToken first = segment.first();
+        int lineNumber = segment.lineNumber();
+        // Comments produce no tokens, so the text before the first token is the statement's leading comments
+        String name = scriptName + statementNumber;
+        Matcher annotation = NAME_ANNOTATION.matcher(script.substring(segment.start(), first.start()));
+        if (annotation.find()) {
+            name = annotation.group(1);
+            if (!name.matches(ProjectConstants.VALID_BUSINESS_NAME_PATTERN)) {
+                throw new IllegalArgumentException("Invalid @name '" + name + "' of the statement at line " + lineNumber
+                    + ": " + ProjectConstants.ERROR_INVALID_BUSINESS_NAME);
+            }
+        }
+        return new ScriptStatement(name, lineNumber, SqlCompilationUnit.compile(script.substring(first.start(), segment.last().end())));
+    }
+
+    /**
+     * One statement of the script: the text from {@code start}, just past the previous separator, up to the end of
+     * its last token, and the line its first token is on.
+     */
+    private record Segment(int start, SqlToken first, SqlToken last, int lineNumber) {
+    }
+}
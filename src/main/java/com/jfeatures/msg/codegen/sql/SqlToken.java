@@ -0,0 +1,37 @@
+package com.jfeatures.msg.codegen.sql;
+
+/**
+ * One token of a SQL statement as produced by {@link SqlLexer}, with its exact position in the source text.
+ *
+ * @param type what kind of token this is
+ * @param start the index of the first character in the SQL text
+ * @param end the index just past the last character in the SQL text
+ * @param text the characters of the token, quotes included
+ */
+public record SqlToken(Type type, int start, int end, String text) {
+
+    public enum Type {
+        /** An unquoted identifier, keyword or variable, e.g. {@code customer_id}, {@code WHERE} or {@code @id}. */
+        WORD,
+        /** An identifier in brackets, double quotes or backticks, e.g. {@code [order]}. */
+        QUOTED_IDENTIFIER,
+        /** A string literal, including the {@code N} prefix of Unicode literals. */
+        STRING,
+        NUMBER,
+        /** A {@code ?} placeholder. */
+        PARAMETER,
+        /** Any other single character, e.g. an operator, comma or parenthesis. */
+        SYMBOL
+    }
+
+    public boolean is(Type expectedType) {
+        return type == expectedType;
+    }
+
+    /**
+     * Returns whether this is the given symbol, e.g. {@code =} or {@code .}.
+     */
+    public boolean isSymbol(char symbol) {
+        return type == Type.SYMBOL && text.charAt(0) == symbol;
+    }
+}
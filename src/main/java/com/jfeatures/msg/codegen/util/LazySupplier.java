@@ -0,0 +1,49 @@
+package com.jfeatures.msg.codegen.util;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * A supplier that calls its loader on first use and returns the same result, which may be null, afterwards.
+ * Concurrent first calls load once; the others wait for that result.
+ * <p>
+ * The wait uses a lock rather than a monitor: loaders such as the referenced-table catalog wait for virtual threads,
+ * which must not pin the carrier thread they would need to run on.
+ */
+public final class LazySupplier<T> implements Supplier<T> {
+
+    private final Supplier<T> loader;
+    private final AtomicReference<Optional<T>> loaded = new AtomicReference<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private LazySupplier(Supplier<T> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the loader is null
+     */
+    public static <T> LazySupplier<T> of(Supplier<T> loader) {
+        if (loader == null) {
+            throw new IllegalArgumentException("Loader cannot be null");
+        }
+        return new LazySupplier<>(loader);
+    }
+
+    @Override
+    public T get() {
+        if (loaded.get() == null) {
+            lock.lock();
+            try {
+                if (loaded.get() == null) {
+                    loaded.set(Optional.ofNullable(loader.get()));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return loaded.get().orElse(null);
+    }
+}
@@ -2,6 +2,8 @@ package com.jfeatures.msg.codegen.util;
 
 import com.github.vertical_blank.sqlformatter.SqlFormatter;
 import com.jfeatures.msg.codegen.dbmetadata.ColumnMetadata;
+import com.jfeatures.msg.codegen.profile.GenerationPhase;
+import com.jfeatures.msg.codegen.profile.GenerationProfiler;
 import com.squareup.javapoet.CodeBlock;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -248,7 +250,10 @@ public final class SqlBuilders {
             return sql;
         }
         
-        String formatted = SqlFormatter.format(sql);
+        String formatted;
+        try (GenerationProfiler.Phase ignored = GenerationProfiler.phase(GenerationPhase.FORMAT, SqlBuilders.class.getSimpleName())) {
+            formatted = SqlFormatter.format(sql);
+        }
         // Fix colon spacing for named parameters
         return formatted.replace(": ", ":");
     }
@@ -0,0 +1,65 @@
+package com.jfeatures.msg.codegen.util;
+
+import com.jfeatures.msg.codegen.sql.SqlLexer;
+import com.jfeatures.msg.codegen.sql.SqlToken;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Utility class to compute a stable fingerprint of a SQL statement.
+ * Comments, whitespace and a trailing semicolon do not change the fingerprint; everything else,
+ * including identifier case, is significant because generated names are derived from it.
+ */
+public final class SqlFingerprint {
+
+    private SqlFingerprint() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Returns the hex-encoded SHA-256 of the normalized SQL.
+     *
+     * @param sql the SQL statement
+     * @return a 64 character fingerprint
+     */
+    public static String fingerprint(String sql) {
+        String normalized = normalize(sql);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Normalizes the SQL text: strips comments, collapses whitespace outside string literals and quoted identifiers
+     * to single spaces, and removes a trailing semicolon. Works on the tokens of {@link SqlLexer}, so literals,
+     * quoted identifiers and comments are recognized exactly as everywhere else.
+     */
+    public static String normalize(String sql) {
+        if (sql == null || sql.trim().isEmpty()) {
+            throw new IllegalArgumentException("SQL cannot be null or empty");
+        }
+
+        List<SqlToken> tokens = SqlLexer.tokenize(sql);
+        int end = tokens.size();
+        while (end > 0 && tokens.get(end - 1).isSymbol(';')) {
+            end--;
+        }
+
+        StringBuilder normalized = new StringBuilder(sql.length());
+        for (int i = 0; i < end; i++) {
+            SqlToken token = tokens.get(i);
+            // Comments and whitespace produce no tokens, so a gap between two tokens becomes one space
+            if (i > 0 && token.start() > tokens.get(i - 1).end()) {
+                normalized.append(' ');
+            }
+            normalized.append(token.text());
+        }
+        return normalized.toString();
+    }
+}
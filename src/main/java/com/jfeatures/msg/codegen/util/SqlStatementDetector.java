@@ -1,7 +1,10 @@
 package com.jfeatures.msg.codegen.util;
 
+import com.jfeatures.msg.codegen.profile.GenerationPhase;
+import com.jfeatures.msg.codegen.profile.GenerationProfiler;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import java.util.Optional;
 import net.sf.jsqlparser.JSQLParserException;
-import net.sf.jsqlparser.parser.CCJSqlParserUtil;
 import net.sf.jsqlparser.statement.Statement;
 import net.sf.jsqlparser.statement.delete.Delete;
 import net.sf.jsqlparser.statement.insert.Insert;
@@ -29,9 +32,29 @@ public final class SqlStatementDetector {
             return SqlStatementType.UNKNOWN;
         }
         
-        try {
-            Statement statement = CCJSqlParserUtil.parse(sql);
-            
+        return detectStatementType(SqlCompilationUnit.compile(sql));
+    }
+
+    /**
+     * Determines the type of an already compiled SQL statement without parsing it again.
+     * When the parser rejected the SQL the type is guessed from the first keyword.
+     *
+     * @param unit The compiled SQL statement
+     * @return The type of SQL statement
+     */
+    public static SqlStatementType detectStatementType(SqlCompilationUnit unit) {
+        if (unit == null) {
+            return SqlStatementType.UNKNOWN;
+        }
+        try (GenerationProfiler.Phase ignored = GenerationProfiler.phase(GenerationPhase.DETECT, "SqlStatementDetector")) {
+            return detectCompiledStatementType(unit);
+        }
+    }
+
+    private static SqlStatementType detectCompiledStatementType(SqlCompilationUnit unit) {
+        Optional<Statement> parsed = unit.statement();
+        if (parsed.isPresent()) {
+            Statement statement = parsed.get();
             if (statement instanceof Select) {
                 return SqlStatementType.SELECT;
             } else if (statement instanceof Update) {
@@ -43,20 +66,20 @@ public final class SqlStatementDetector {
             } else {
                 return SqlStatementType.UNKNOWN;
             }
-        } catch (JSQLParserException e) {
-            // If parsing fails, try to detect based on first keyword
-            String trimmedSql = sql.trim().toUpperCase();
-            if (trimmedSql.startsWith("SELECT")) {
-                return SqlStatementType.SELECT;
-            } else if (trimmedSql.startsWith("UPDATE")) {
-                return SqlStatementType.UPDATE;
-            } else if (trimmedSql.startsWith("INSERT")) {
-                return SqlStatementType.INSERT;
-            } else if (trimmedSql.startsWith("DELETE")) {
-                return SqlStatementType.DELETE;
-            } else {
-                return SqlStatementType.UNKNOWN;
-            }
+        }
+
+        // If parsing failed, try to detect based on first keyword
+        String trimmedSql = unit.sql().trim().toUpperCase();
+        if (trimmedSql.startsWith("SELECT")) {
+            return SqlStatementType.SELECT;
+        } else if (trimmedSql.startsWith("UPDATE")) {
+            return SqlStatementType.UPDATE;
+        } else if (trimmedSql.startsWith("INSERT")) {
+            return SqlStatementType.INSERT;
+        } else if (trimmedSql.startsWith("DELETE")) {
+            return SqlStatementType.DELETE;
+        } else {
+            return SqlStatementType.UNKNOWN;
         }
     }
 }
\ No newline at end of file
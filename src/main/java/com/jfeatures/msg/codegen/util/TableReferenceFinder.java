@@ -0,0 +1,73 @@
+package com.jfeatures.msg.codegen.util;
+
+import com.jfeatures.msg.codegen.domain.TableReference;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.util.TablesNamesFinder;
+
+/**
+ * Utility class to find the physical tables referenced by a parsed SQL statement, together with their aliases.
+ * CTE names and other non-table sources are excluded.
+ */
+public final class TableReferenceFinder {
+
+    private TableReferenceFinder() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Returns the distinct tables referenced by the statement in order of first appearance.
+     *
+     * @param statement the parsed SQL statement
+     * @return the referenced tables; a table used under several aliases appears once per alias
+     */
+    public static List<TableReference> findTableReferences(Statement statement) {
+        if (statement == null) {
+            throw new IllegalArgumentException("Statement cannot be null");
+        }
+
+        AliasCollectingTablesNamesFinder finder = new AliasCollectingTablesNamesFinder();
+        Set<String> physicalTableNames = finder.getTables(statement);
+
+        Set<TableReference> references = new LinkedHashSet<>();
+        for (Table table : finder.visitedTables) {
+            if (!physicalTableNames.contains(table.getFullyQualifiedName())) {
+                continue;
+            }
+            String alias = table.getAlias() != null ? unquote(table.getAlias().getName()) : null;
+            references.add(new TableReference(unquote(table.getSchemaName()), unquote(table.getName()), alias));
+        }
+        return new ArrayList<>(references);
+    }
+
+    /**
+     * Strips SQL Server brackets and ANSI double quotes from an identifier.
+     */
+    public static String unquote(String identifier) {
+        if (identifier == null) {
+            return null;
+        }
+        String trimmed = identifier.trim();
+        if (trimmed.length() >= 2
+                && ((trimmed.startsWith("[") && trimmed.endsWith("]"))
+                || (trimmed.startsWith("\"") && trimmed.endsWith("\"")))) {
+            return trimmed.substring(1, trimmed.length() - 1);
+        }
+        return trimmed;
+    }
+
+    private static final class AliasCollectingTablesNamesFinder extends TablesNamesFinder<Void> {
+
+        private final List<Table> visitedTables = new ArrayList<>();
+
+        @Override
+        public <S> Void visit(Table table, S context) {
+            visitedTables.add(table);
+            return super.visit(table, context);
+        }
+    }
+}
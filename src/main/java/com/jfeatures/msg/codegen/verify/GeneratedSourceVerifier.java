@@ -0,0 +1,221 @@
+package com.jfeatures.msg.codegen.verify;
+
+import com.jfeatures.msg.codegen.domain.GeneratedMicroservice;
+import com.jfeatures.msg.codegen.domain.SourceDiagnostic;
+import com.jfeatures.msg.codegen.domain.SourceVerificationResult;
+import com.jfeatures.msg.codegen.filesystem.MicroserviceProjectWriter;
+import com.jfeatures.msg.codegen.profile.GenerationPhase;
+import com.jfeatures.msg.codegen.profile.GenerationProfiler;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compiles the generated sources of a microservice in memory to catch generator bugs without a Maven build.
+ * The sources are compiled with {@link javax.tools.JavaCompiler} against the generator's own classpath, which
+ * carries every library the generated code uses (Spring, Lombok, Jakarta Validation, OpenAPI annotations);
+ * class files are discarded. Each call compiles independently, so microservices can be verified concurrently.
+ * The opened classpath is kept between calls until the verifier is closed.
+ */
+@Slf4j
+public class GeneratedSourceVerifier implements Closeable {
+
+    private static final String JAVA_FILE_EXTENSION = ".java";
+
+    private static final List<String> COMPILER_OPTIONS = List.of("-proc:full", "-implicit:none", "-Xlint:none", "-nowarn");
+
+    private final JavaCompiler compiler;
+    private final String classpath;
+    // A file manager caches the opened classpath jars, which makes up most of the cost of a compilation;
+    // it is not thread-safe, so each concurrent verification borrows its own
+    private final Queue<StandardJavaFileManager> idleFileManagers = new ConcurrentLinkedQueue<>();
+    private final MicroserviceProjectWriter projectWriter = new MicroserviceProjectWriter();
+
+    /**
+     * Creates a verifier that compiles with the system Java compiler against the classpath of the running generator.
+     *
+     * @throws IllegalStateException if the JVM has no Java compiler (a JRE instead of a JDK)
+     */
+    public GeneratedSourceVerifier() {
+        this(ToolProvider.getSystemJavaCompiler(), generatorClasspath());
+    }
+
+    GeneratedSourceVerifier(JavaCompiler compiler, String classpath) {
+        if (compiler == null) {
+            throw new IllegalStateException("No Java compiler available; --verify needs a JDK, not a JRE");
+        }
+        if (classpath == null) {
+            throw new IllegalArgumentException("Classpath cannot be null");
+        }
+        this.compiler = compiler;
+        this.classpath = classpath;
+    }
+
+    /**
+     * Compiles every Java source of the microservice, exactly as it would be written to the project.
+     *
+     * @return the compiler errors of each file; empty when the sources compile
+     * @throws IOException if the sources cannot be rendered
+     */
+    public SourceVerificationResult verify(GeneratedMicroservice microservice) throws IOException {
+        if (microservice == null) {
+            throw new IllegalArgumentException("Generated microservice cannot be null");
+        }
+        try (GenerationProfiler.Phase ignored = GenerationProfiler.phase(GenerationPhase.VERIFY, "javac")) {
+            return compile(microservice);
+        }
+    }
+
+    private SourceVerificationResult compile(GeneratedMicroservice microservice) throws IOException {
+        long start = System.nanoTime();
+        List<JavaFileObject> sources = new ArrayList<>();
+        projectWriter.writeMicroserviceProject(microservice, (relativePath, content) -> {
+            if (relativePath.endsWith(JAVA_FILE_EXTENSION)) {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                content.writeTo(buffer);
+                sources.add(new SourceFile(relativePath, buffer.toString(StandardCharsets.UTF_8)));
+            }
+        });
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        StandardJavaFileManager fileManager = acquireFileManager();
+        try {
+            compiler.getTask(null, new DiscardingFileManager(fileManager), diagnostics, COMPILER_OPTIONS, null, sources).call();
+        } finally {
+            idleFileManagers.offer(fileManager);
+        }
+
+        List<SourceDiagnostic> errors = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                String sourceFile = diagnostic.getSource() != null ? diagnostic.getSource().getName() : "<generated>";
+                errors.add(new SourceDiagnostic(sourceFile, diagnostic.getLineNumber(), diagnostic.getColumnNumber(),
+                                                diagnostic.getMessage(Locale.ROOT)));
+            }
+        }
+        SourceVerificationResult result = new SourceVerificationResult(microservice.businessDomainName(), sources.size(),
+                                                                       errors, Duration.ofNanos(System.nanoTime() - start));
+        log.debug("Compiled {} sources of {} in {} ms with {} errors", sources.size(), microservice.businessDomainName(),
+                  result.elapsed().toMillis(), errors.size());
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        StandardJavaFileManager fileManager;
+        while ((fileManager = idleFileManagers.poll()) != null) {
+            fileManager.close();
+        }
+    }
+
+    private StandardJavaFileManager acquireFileManager() throws IOException {
+        StandardJavaFileManager fileManager = idleFileManagers.poll();
+        if (fileManager == null) {
+            fileManager = compiler.getStandardFileManager(null, Locale.ROOT, StandardCharsets.UTF_8);
+            List<File> classpathEntries = new ArrayList<>();
+            for (String entry : classpath.split(File.pathSeparator)) {
+                if (!entry.isEmpty()) {
+                    classpathEntries.add(new File(entry));
+                }
+            }
+            fileManager.setLocation(StandardLocation.CLASS_PATH, classpathEntries);
+        }
+        return fileManager;
+    }
+
+    /**
+     * Returns the classpath the generator runs with: the JVM classpath plus the URLs of the context class loaders,
+     * which differ from it when the generator runs inside another tool (e.g. {@code mvn exec:java}).
+     */
+    static String generatorClasspath() {
+        Set<String> entries = new LinkedHashSet<>(List.of(System.getProperty("java.class.path", "").split(File.pathSeparator)));
+        for (ClassLoader loader = Thread.currentThread().getContextClassLoader(); loader != null; loader = loader.getParent()) {
+            if (loader instanceof URLClassLoader urlClassLoader) {
+                for (URL url : urlClassLoader.getURLs()) {
+                    if ("file".equals(url.getProtocol())) {
+                        try {
+                            entries.add(Paths.get(url.toURI()).toString());
+                        } catch (URISyntaxException | IllegalArgumentException e) {
+                            log.debug("Skipping classpath entry {}: {}", url, e.getMessage());
+                        }
+                    }
+                }
+            }
+        }
+        entries.remove("");
+        return String.join(File.pathSeparator, entries);
+    }
+
+    /**
+     * A generated source held in memory, named by its path in the project so diagnostics point at the right file.
+     */
+    private static final class SourceFile extends SimpleJavaFileObject {
+
+        private final String relativePath;
+        private final String content;
+
+        SourceFile(String relativePath, String content) {
+            super(URI.create("string:///" + relativePath), Kind.SOURCE);
+            this.relativePath = relativePath;
+            this.content = content;
+        }
+
+        @Override
+        public String getName() {
+            return relativePath;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return content;
+        }
+    }
+
+    /**
+     * Keeps class files in memory and drops them; only the diagnostics of the compilation are of interest.
+     */
+    private static final class DiscardingFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+        DiscardingFileManager(StandardJavaFileManager fileManager) {
+            super(fileManager);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+                                                   FileObject sibling) {
+            return new SimpleJavaFileObject(URI.create("mem:///" + className.replace('.', '/') + kind.extension), kind) {
+                @Override
+                public OutputStream openOutputStream() {
+                    return OutputStream.nullOutputStream();
+                }
+            };
+        }
+    }
+}
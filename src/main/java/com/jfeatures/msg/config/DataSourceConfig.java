@@ -1,9 +1,11 @@
 package com.jfeatures.msg.config;
 
+import com.zaxxer.hikari.HikariDataSource;
 import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.core.env.Environment;
 
 /**
  * Configuration class for database DataSource.
@@ -12,17 +14,46 @@ import org.springframework.jdbc.datasource.DriverManagerDataSource;
 @Configuration
 public class DataSourceConfig {
 
+    private final DataSourceSettings settings;
+
+    public DataSourceConfig() {
+        this(DataSourceSettings.fromApplicationProperties());
+    }
+
+    /**
+     * Used by the Spring application: the settings are bound from its environment, so environment variables,
+     * profiles and command line arguments override application.properties.
+     */
+    @Autowired
+    public DataSourceConfig(Environment environment) {
+        this(DataSourceSettings.fromEnvironment(environment));
+    }
+
+    public DataSourceConfig(DataSourceSettings settings) {
+        if (settings == null) {
+            throw new IllegalArgumentException("DataSource settings cannot be null");
+        }
+        this.settings = settings;
+    }
+
     /**
-     * Creates and configures the database DataSource.
+     * Creates and configures the pooled database DataSource.
      * Single responsibility: DataSource creation only.
+     * Connections are opened lazily on first use and reused for the lifetime of the pool,
+     * so a generation run pays the TLS handshake once per pooled connection instead of once per lookup.
      */
     @Bean
     public DataSource dataSource() {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setDriverClassName("com.microsoft.sqlserver.jdbc.SQLServerDriver");
-        dataSource.setUrl("jdbc:sqlserver://localhost:1433;databaseName=sakila;encrypt=true;trustServerCertificate=true;");
-        dataSource.setUsername("sa");
-        dataSource.setPassword("Password@1");
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("msg-metadata");
+        dataSource.setDriverClassName(settings.driverClassName());
+        dataSource.setJdbcUrl(settings.url());
+        dataSource.setUsername(settings.username());
+        dataSource.setPassword(settings.password());
+        dataSource.setMaximumPoolSize(settings.maximumPoolSize());
+        dataSource.setMinimumIdle(settings.minimumIdle());
+        dataSource.setConnectionTimeout(settings.connectionTimeoutMillis());
+        dataSource.setIdleTimeout(settings.idleTimeoutMillis());
         return dataSource;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,173 @@
+package com.jfeatures.msg.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+import java.util.function.UnaryOperator;
+import org.springframework.core.env.Environment;
+
+/**
+ * Connection and pool settings for the generator's metadata DataSource.
+ * Values are read from the standard {@code spring.datasource.*} keys: from the Spring {@link Environment} inside the
+ * Spring application, or from {@code application.properties} on the command line, where they can be overridden per
+ * run from CLI flags with {@link #withOverrides}.
+ */
+public record DataSourceSettings(
+    String url,
+    String username,
+    String password,
+    String driverClassName,
+    int maximumPoolSize,
+    int minimumIdle,
+    long connectionTimeoutMillis,
+    long idleTimeoutMillis
+) {
+
+    public static final String APPLICATION_PROPERTIES_FILE = "application.properties";
+
+    static final String URL_KEY = "spring.datasource.url";
+    static final String USERNAME_KEY = "spring.datasource.username";
+    static final String PASSWORD_KEY = "spring.datasource.password";
+    static final String DRIVER_CLASS_NAME_KEY = "spring.datasource.driver-class-name";
+    static final String MAXIMUM_POOL_SIZE_KEY = "spring.datasource.hikari.maximum-pool-size";
+    static final String MINIMUM_IDLE_KEY = "spring.datasource.hikari.minimum-idle";
+    static final String CONNECTION_TIMEOUT_KEY = "spring.datasource.hikari.connection-timeout";
+    static final String IDLE_TIMEOUT_KEY = "spring.datasource.hikari.idle-timeout";
+
+    static final String DEFAULT_URL = "jdbc:sqlserver://localhost:1433;databaseName=sakila;encrypt=true;trustServerCertificate=true;";
+    static final String DEFAULT_USERNAME = "sa";
+    static final String DEFAULT_PASSWORD = "Password@1";
+    static final String DEFAULT_DRIVER_CLASS_NAME = "com.microsoft.sqlserver.jdbc.SQLServerDriver";
+    static final int DEFAULT_MAXIMUM_POOL_SIZE = 4;
+    static final int DEFAULT_MINIMUM_IDLE = 1;
+    static final long DEFAULT_CONNECTION_TIMEOUT_MILLIS = 30_000L;
+    static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 600_000L;
+
+    public DataSourceSettings {
+        if (url == null || url.trim().isEmpty()) {
+            throw new IllegalArgumentException("DataSource URL cannot be null or empty");
+        }
+        if (driverClassName == null || driverClassName.trim().isEmpty()) {
+            throw new IllegalArgumentException("DataSource driver class name cannot be null or empty");
+        }
+        if (maximumPoolSize < 1) {
+            throw new IllegalArgumentException("Maximum pool size must be at least 1");
+        }
+        if (minimumIdle < 0 || minimumIdle > maximumPoolSize) {
+            throw new IllegalArgumentException("Minimum idle connections must be between 0 and the maximum pool size");
+        }
+        if (connectionTimeoutMillis < 250) {
+            throw new IllegalArgumentException("Connection timeout must be at least 250 ms");
+        }
+        if (idleTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Idle timeout cannot be negative");
+        }
+    }
+
+    /**
+     * Loads settings from {@code application.properties} on the classpath, falling back to
+     * the built-in defaults for any key that is missing. Used by the command line, which has no Spring context.
+     */
+    public static DataSourceSettings fromApplicationProperties() {
+        Properties properties = new Properties();
+        try (InputStream inputStream = DataSourceSettings.class.getClassLoader()
+                                                               .getResourceAsStream(APPLICATION_PROPERTIES_FILE)) {
+            if (inputStream != null) {
+                properties.load(inputStream);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + APPLICATION_PROPERTIES_FILE + ": " + e.getMessage(), e);
+        }
+        return fromProperties(properties);
+    }
+
+    /**
+     * Builds settings from the given properties, falling back to the built-in defaults for any key that is missing.
+     */
+    public static DataSourceSettings fromProperties(Properties properties) {
+        if (properties == null) {
+            throw new IllegalArgumentException("Properties cannot be null");
+        }
+        return fromKeys(properties::getProperty);
+    }
+
+    /**
+     * Builds settings from the Spring environment, so {@code SPRING_DATASOURCE_*} environment variables, profiles
+     * and {@code --spring.datasource.*} arguments apply, falling back to the built-in defaults for any key that is missing.
+     */
+    public static DataSourceSettings fromEnvironment(Environment environment) {
+        if (environment == null) {
+            throw new IllegalArgumentException("Environment cannot be null");
+        }
+        return fromKeys(environment::getProperty);
+    }
+
+    private static DataSourceSettings fromKeys(UnaryOperator<String> values) {
+        return new DataSourceSettings(
+            valueOrDefault(values, URL_KEY, DEFAULT_URL),
+            valueOrDefault(values, USERNAME_KEY, DEFAULT_USERNAME),
+            valueOrDefault(values, PASSWORD_KEY, DEFAULT_PASSWORD),
+            valueOrDefault(values, DRIVER_CLASS_NAME_KEY, DEFAULT_DRIVER_CLASS_NAME),
+            parseInt(values, MAXIMUM_POOL_SIZE_KEY, DEFAULT_MAXIMUM_POOL_SIZE),
+            parseInt(values, MINIMUM_IDLE_KEY, DEFAULT_MINIMUM_IDLE),
+            parseLong(values, CONNECTION_TIMEOUT_KEY, DEFAULT_CONNECTION_TIMEOUT_MILLIS),
+            parseLong(values, IDLE_TIMEOUT_KEY, DEFAULT_IDLE_TIMEOUT_MILLIS)
+        );
+    }
+
+    /**
+     * Returns a copy with every non-null override applied; null arguments keep the current value.
+     */
+    public DataSourceSettings withOverrides(String urlOverride, String usernameOverride, String passwordOverride,
+                                            Integer maximumPoolSizeOverride, Long connectionTimeoutMillisOverride) {
+        int poolSize = maximumPoolSizeOverride != null ? maximumPoolSizeOverride : maximumPoolSize;
+        return new DataSourceSettings(
+            urlOverride != null ? urlOverride : url,
+            usernameOverride != null ? usernameOverride : username,
+            passwordOverride != null ? passwordOverride : password,
+            driverClassName,
+            poolSize,
+            Math.min(minimumIdle, poolSize),
+            connectionTimeoutMillisOverride != null ? connectionTimeoutMillisOverride : connectionTimeoutMillis,
+            idleTimeoutMillis
+        );
+    }
+
+    private static String valueOrDefault(UnaryOperator<String> values, String key, String defaultValue) {
+        String value = values.apply(key);
+        return value != null ? value : defaultValue;
+    }
+
+    private static int parseInt(UnaryOperator<String> values, String key, int defaultValue) {
+        String value = values.apply(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Property '" + key + "' must be an integer but was: " + value, e);
+        }
+    }
+
+    private static long parseLong(UnaryOperator<String> values, String key, long defaultValue) {
+        String value = values.apply(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Property '" + key + "' must be a number but was: " + value, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        // Never expose the password in logs
+        return "DataSourceSettings[url=" + url + ", username=" + username
+            + ", maximumPoolSize=" + maximumPoolSize + ", minimumIdle=" + minimumIdle
+            + ", connectionTimeoutMillis=" + connectionTimeoutMillis + ", idleTimeoutMillis=" + idleTimeoutMillis + "]";
+    }
+}
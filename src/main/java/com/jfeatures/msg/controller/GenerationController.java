@@ -0,0 +1,60 @@
+package com.jfeatures.msg.controller;
+
+import com.jfeatures.msg.codegen.constants.ProjectConstants;
+import com.jfeatures.msg.codegen.generator.ServiceGenerationPipeline;
+import com.jfeatures.msg.service.MicroserviceGenerationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Generates microservices over HTTP, so that repeated generations reuse the warm connection pool,
+ * parser and metadata caches of the running application instead of paying a JVM start each time.
+ */
+@Slf4j
+@RestController
+@RequestMapping(path = "/codegen")
+public class GenerationController {
+
+    private final MicroserviceGenerationService generationService;
+
+    public GenerationController(MicroserviceGenerationService generationService) {
+        this.generationService = generationService;
+    }
+
+    @PostMapping(
+            value = "/generate",
+            consumes = ProjectConstants.APPLICATION_JSON,
+            produces = ProjectConstants.APPLICATION_ZIP
+    )
+    public ResponseEntity<StreamingResponseBody> generate(@RequestBody GenerationRequest request) throws Exception {
+        if (request == null) {
+            throw new IllegalArgumentException("Generation request cannot be null");
+        }
+        // Generate before the response is committed, so that invalid requests still get a 400;
+        // the project files are then streamed into the response as a ZIP archive
+        ServiceGenerationPipeline.GeneratedService service = generationService.generate(request.sql(),
+                request.businessName(), request.analyzePlan(), request.failOnScanRows(), request.recommendIndexes(),
+                request.profileLatency());
+        StreamingResponseBody archive = outputStream -> generationService.writeProjectArchive(service, outputStream);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(request.businessName().toLowerCase() + ".zip")
+                        .build()
+                        .toString())
+                .body(archive);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidRequest(IllegalArgumentException e) {
+        log.warn("Rejected generation request: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
@@ -0,0 +1,18 @@
+package com.jfeatures.msg.controller;
+
+/**
+ * Body of a generation request: the SQL statement to turn into a microservice and its business name, with the
+ * optional reports of the command line options of the same names.
+ *
+ * @param analyzePlan adds the performance report of the estimated execution plan
+ * @param failOnScanRows rejects a statement whose plan scans at least this many rows; null to not check
+ * @param recommendIndexes adds covering-index DDL for the statement
+ * @param profileLatency adds a latency baseline with its regression test
+ */
+public record GenerationRequest(String sql, String businessName, boolean analyzePlan, Long failOnScanRows,
+                                boolean recommendIndexes, boolean profileLatency) {
+
+    public GenerationRequest(String sql, String businessName) {
+        this(sql, businessName, false, null, false, false);
+    }
+}
@@ -0,0 +1,247 @@
+package com.jfeatures.msg.service;
+
+import com.jfeatures.msg.codegen.constants.ProjectConstants;
+import com.jfeatures.msg.codegen.database.ConnectionFailures;
+import com.jfeatures.msg.codegen.dbmetadata.ColumnStatisticsLoader;
+import com.jfeatures.msg.codegen.dbmetadata.MetadataCache;
+import com.jfeatures.msg.codegen.dbmetadata.MetadataStore;
+import com.jfeatures.msg.codegen.dbmetadata.SchemaCatalog;
+import com.jfeatures.msg.codegen.dbmetadata.SchemaCatalogLoader;
+import com.jfeatures.msg.codegen.dbmetadata.TableRowCountLoader;
+import com.jfeatures.msg.codegen.dbmetadata.TableStatistics;
+import com.jfeatures.msg.codegen.dbmetadata.TableVersionLoader;
+import com.jfeatures.msg.codegen.domain.DatabaseConnection;
+import com.jfeatures.msg.codegen.domain.GeneratedMicroservice;
+import com.jfeatures.msg.codegen.filesystem.MicroserviceProjectWriter;
+import com.jfeatures.msg.codegen.filesystem.ZipProjectSink;
+import com.jfeatures.msg.codegen.generator.ServiceGenerationPipeline;
+import com.jfeatures.msg.codegen.profile.GenerationPhase;
+import com.jfeatures.msg.codegen.profile.GenerationProfiler;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import com.jfeatures.msg.codegen.util.LazySupplier;
+import com.jfeatures.msg.codegen.util.SqlStatementDetector;
+import com.jfeatures.msg.codegen.util.SqlStatementType;
+import com.zaxxer.hikari.HikariDataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates microservices on request inside the long-running Spring application.
+ * Unlike a command line run, the connection pool, the schema catalog and the metadata cache outlive a single
+ * generation: they are created on first use and reused by every request until a table of the schema changes,
+ * at which point the catalog is reloaded and the cache is revalidated against the new table modification dates.
+ * Each request goes through the same {@link ServiceGenerationPipeline} as the command line, so the plan, index and
+ * latency options produce the same reports and phases. Plan analysis and latency profiling run the caller's statement
+ * against the database, so they are refused unless {@code msg.generation.allow-live-profiling} is set.
+ */
+@Slf4j
+@Component
+public class MicroserviceGenerationService {
+
+    private final DatabaseConnection databaseConnection;
+    private final String schemaName;
+    private final boolean allowLiveProfiling;
+    private final MicroserviceProjectWriter projectWriter = new MicroserviceProjectWriter();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private final Supplier<String> cacheScope;
+    private final MetadataSnapshot unversionedSnapshot;
+    private MetadataSnapshot metadataSnapshot;
+
+    /**
+     * @param allowLiveProfiling whether requests may analyze the execution plan, check it for scans or profile the
+     *                           latency of their statement; off by default
+     */
+    public MicroserviceGenerationService(DataSource dataSource, JdbcTemplate jdbcTemplate,
+                                         NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                                         @Value("${msg.currentSchema:dbo}") String schemaName,
+                                         @Value("${msg.generation.allow-live-profiling:false}") boolean allowLiveProfiling) {
+        if (schemaName == null || schemaName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Schema name cannot be null or empty");
+        }
+        // The pool is owned by the Spring context, so this connection is never closed here
+        this.databaseConnection = new DatabaseConnection(dataSource, jdbcTemplate, namedParameterJdbcTemplate);
+        this.schemaName = schemaName;
+        this.allowLiveProfiling = allowLiveProfiling;
+        this.cacheScope = LazySupplier.of(() -> jdbcUrl(dataSource) + "|" + schemaName);
+        // Used while the table modification dates cannot be read; its catalog is still loaded only once
+        this.unversionedSnapshot = new MetadataSnapshot(null, metadataSources(MetadataCache.disabled()));
+    }
+
+    /**
+     * Generates the microservice of a SQL statement without the optional reports.
+     *
+     * @throws IllegalArgumentException if the SQL or business name is invalid or the statement type is unsupported
+     */
+    public ServiceGenerationPipeline.GeneratedService generate(String sql, String businessDomainName) throws Exception {
+        return generate(sql, businessDomainName, false, null, false, false);
+    }
+
+    /**
+     * Generates the microservice of a SQL statement with the requested reports, as the command line options of the
+     * same names do. The sources are not written here; stream them with {@link #writeProjectArchive}.
+     *
+     * @param analyzePlan whether the execution plan is analyzed and added as a performance report
+     * @param failOnScanRows fail when the plan scans at least this many rows; null to not check
+     * @param recommendIndexes whether missing indexes are recommended and added as a script
+     * @param profileLatency whether the latency is profiled and added as a baseline with its regression test
+     * @throws IllegalArgumentException if the SQL or business name is invalid, the statement type is unsupported, or
+     *                                  the plan or latency is requested while live profiling is not allowed
+     */
+    public ServiceGenerationPipeline.GeneratedService generate(String sql, String businessDomainName,
+                                                               boolean analyzePlan, Long failOnScanRows,
+                                                               boolean recommendIndexes,
+                                                               boolean profileLatency) throws Exception {
+        if (sql == null || sql.trim().isEmpty()) {
+            throw new IllegalArgumentException("SQL statement cannot be null or empty");
+        }
+        if (businessDomainName == null || !businessDomainName.matches(ProjectConstants.VALID_BUSINESS_NAME_PATTERN)) {
+            throw new IllegalArgumentException(ProjectConstants.ERROR_INVALID_BUSINESS_NAME);
+        }
+        if (failOnScanRows != null && failOnScanRows < 0) {
+            throw new IllegalArgumentException("failOnScanRows must be at least 0");
+        }
+        if (!allowLiveProfiling && (analyzePlan || failOnScanRows != null || profileLatency)) {
+            throw new IllegalArgumentException("analyzePlan, failOnScanRows and profileLatency run the statement against "
+                + "the database and are disabled on this server (msg.generation.allow-live-profiling)");
+        }
+
+        long start = System.nanoTime();
+        var pipeline = new ServiceGenerationPipeline(schemaName, analyzePlan, failOnScanRows, recommendIndexes,
+                                                     profileLatency, null);
+        AtomicReference<ServiceGenerationPipeline.GeneratedService> generated = new AtomicReference<>();
+        // Names the JFR phase events of this request after the service
+        try (GenerationProfiler.ServiceScope ignored = GenerationProfiler.disabled().profile(businessDomainName)) {
+            SqlCompilationUnit unit = SqlCompilationUnit.compile(sql);
+            SqlStatementType statementType = SqlStatementDetector.detectStatementType(unit);
+            // The project is streamed into the response afterwards, so the writer only keeps what was generated
+            pipeline.run(statementType, unit, businessDomainName, databaseConnection,
+                currentMetadataSnapshot().metadataSources(),
+                (microservice, reportFiles) -> generated.set(
+                    new ServiceGenerationPipeline.GeneratedService(microservice, null, reportFiles)));
+        }
+        GeneratedMicroservice microservice = generated.get().microservice();
+        log.info("Generated {} microservice '{}' in {} ms", microservice.statementType(), businessDomainName,
+                 (System.nanoTime() - start) / 1_000_000);
+        return generated.get();
+    }
+
+    /**
+     * Streams the project of a generated microservice, with its reports, as a ZIP archive, with every file under a
+     * root directory named after the business domain. The target stream is left open.
+     */
+    public void writeProjectArchive(ServiceGenerationPipeline.GeneratedService service,
+                                    OutputStream outputStream) throws IOException {
+        GeneratedMicroservice microservice = service.microservice();
+        try (GenerationProfiler.ServiceScope ignored = GenerationProfiler.disabled().profile(microservice.businessDomainName());
+             GenerationProfiler.Phase phase = GenerationProfiler.phase(GenerationPhase.WRITE, "zip");
+             ZipProjectSink sink = new ZipProjectSink(outputStream, microservice.businessDomainName().toLowerCase())) {
+            projectWriter.writeMicroserviceProject(microservice, service.reportFiles(), sink);
+        }
+    }
+
+    /**
+     * Returns the metadata of the current schema version. The table modification dates are read on every
+     * request (one lightweight query) without holding the lock, so concurrent requests do not queue behind it;
+     * only when they differ from the current snapshot are the catalog, statistics and cache replaced.
+     */
+    private MetadataSnapshot currentMetadataSnapshot() {
+        Map<String, String> tableVersions;
+        try {
+            tableVersions = new TableVersionLoader(databaseConnection.jdbcTemplate()).loadTableVersions();
+        } catch (DataAccessException e) {
+            ConnectionFailures.throwIfConnectionFailure(e, "table modification dates");
+            log.warn("Could not read table modification dates, generating without the metadata cache: {}", e.getMessage());
+            return unversionedSnapshot;
+        }
+        snapshotLock.lock();
+        try {
+            if (metadataSnapshot == null || !tableVersions.equals(metadataSnapshot.tableVersions())) {
+                if (metadataSnapshot != null) {
+                    log.info("Schema '{}' changed since the last generation, reloading its catalog", schemaName);
+                }
+                MetadataCache metadataCache = new MetadataCache(MetadataCache.defaultDirectory(), cacheScope.get(),
+                                                                schemaName, tableVersions);
+                metadataSnapshot = new MetadataSnapshot(tableVersions, metadataSources(metadataCache));
+            }
+            return metadataSnapshot;
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * Returns metadata sources whose schema catalog, row counts and statistics are each loaded on first use.
+     */
+    private ServiceGenerationPipeline.MetadataSources metadataSources(MetadataStore metadataStore) {
+        Supplier<Map<String, Long>> rowCounts = LazySupplier.of(this::loadRowCounts);
+        return new ServiceGenerationPipeline.MetadataSources(LazySupplier.of(this::loadSchemaCatalog), metadataStore,
+            rowCounts, LazySupplier.of(() -> loadTableStatistics(rowCounts.get())));
+    }
+
+    private SchemaCatalog loadSchemaCatalog() {
+        try (var ignored = GenerationProfiler.phase(GenerationPhase.METADATA, "schema-catalog")) {
+            return new SchemaCatalogLoader(databaseConnection.jdbcTemplate()).load(schemaName);
+        } catch (DataAccessException e) {
+            ConnectionFailures.throwIfConnectionFailure(e, "the schema catalog");
+            log.warn("Could not load schema catalog for '{}', falling back to JDBC metadata lookups: {}", schemaName, e.getMessage());
+            return null;
+        }
+    }
+
+    private Map<String, Long> loadRowCounts() {
+        try (var ignored = GenerationProfiler.phase(GenerationPhase.METADATA, "row-counts")) {
+            return new TableRowCountLoader(databaseConnection.jdbcTemplate()).loadRowCounts(schemaName);
+        } catch (DataAccessException e) {
+            ConnectionFailures.throwIfConnectionFailure(e, "table row counts");
+            log.warn("Could not read table row counts, index sizes are estimated per row and result rows not at all: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private TableStatistics loadTableStatistics(Map<String, Long> tableRows) {
+        if (tableRows.isEmpty()) {
+            return TableStatistics.empty();
+        }
+        try (var ignored = GenerationProfiler.phase(GenerationPhase.METADATA, "column-statistics")) {
+            return new TableStatistics(tableRows,
+                new ColumnStatisticsLoader(databaseConnection.jdbcTemplate()).loadDistinctValues(schemaName));
+        } catch (DataAccessException e) {
+            ConnectionFailures.throwIfConnectionFailure(e, "column statistics");
+            log.warn("Could not read column statistics, equality predicates are estimated from row counts: {}", e.getMessage());
+            return new TableStatistics(tableRows, Map.of());
+        }
+    }
+
+    /**
+     * Returns the URL of the database the injected pool connects to, so cache entries are scoped to the database
+     * actually used, whichever property source configured it. Other data sources are asked for it once connected.
+     */
+    private String jdbcUrl(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource pooledDataSource) {
+            return pooledDataSource.getJdbcUrl();
+        }
+        return databaseConnection.jdbcTemplate().execute(
+            (ConnectionCallback<String>) connection -> connection.getMetaData().getURL());
+    }
+
+    /**
+     * The metadata sources valid for one version of the schema.
+     *
+     * @param tableVersions the table modification dates the snapshot was built for; null when they could not be read
+     */
+    private record MetadataSnapshot(Map<String, String> tableVersions,
+                                    ServiceGenerationPipeline.MetadataSources metadataSources) {
+    }
+}
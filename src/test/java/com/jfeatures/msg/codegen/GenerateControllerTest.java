@@ -3,6 +3,7 @@ package com.jfeatures.msg.codegen;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.jfeatures.msg.codegen.domain.DBColumn;
+import com.jfeatures.msg.codegen.domain.ResultShape;
 import com.squareup.javapoet.JavaFile;
 import java.util.Arrays;
 import java.util.List;
@@ -164,4 +165,44 @@ class GenerateControllerTest {
         String generatedCode = result.toString();
         assertThat(generatedCode).contains("List<ReportDTO> getDataForReport()");
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldGeneratePagedControllerWithDaoPageSizeDefault() throws Exception {
+        // Given
+        List<DBColumn> predicateLiterals = Arrays.asList(
+            new DBColumn("rental", "customerId", "java.lang.Integer", "INTEGER")
+        );
+
+        // When
+        JavaFile result = GenerateController.createController("Rental", predicateLiterals, ResultShape.PAGED);
+
+        // Then
+        String generatedCode = result.toString();
+        assertThat(generatedCode)
+            .contains("@RequestParam(value = \"page\", defaultValue = \"0\") int pageNumber")
+            .contains("@RequestParam(value = \"size\", defaultValue = \"\" + RentalDAO.DEFAULT_PAGE_SIZE) int pageSize")
+            .contains("return rentalDAO.getRental(customerid, pageNumber, pageSize)")
+            .contains("List<RentalDTO> getDataForRental(");
+    }
+
+    @Test
+    void shouldGenerateStreamingControllerWritingAJsonArray() throws Exception {
+        // Given
+        List<DBColumn> predicateLiterals = Arrays.asList(
+            new DBColumn("rental", "customerId", "java.lang.Integer", "INTEGER")
+        );
+
+        // When
+        JavaFile result = GenerateController.createController("Rental", predicateLiterals, ResultShape.STREAM);
+
+        // Then
+        String generatedCode = result.toString();
+        assertThat(generatedCode)
+            .contains("StreamingResponseBody getDataForRental(")
+            .contains("RentalController(RentalDAO rentalDAO, ObjectMapper objectMapper)")
+            .contains("objectMapper.getFactory().createGenerator(outputStream)")
+            .contains("rentalDAO.streamRental(customerid, dto -> {")
+            .contains("jsonGenerator.writeObject(dto);")
+            .contains("jsonGenerator.writeEndArray();");
+    }
+}
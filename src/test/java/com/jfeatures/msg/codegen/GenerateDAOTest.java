@@ -5,10 +5,13 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.jfeatures.msg.codegen.dbmetadata.ColumnMetadata;
 import com.jfeatures.msg.codegen.domain.DBColumn;
+import com.jfeatures.msg.codegen.domain.ResultShape;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
 import com.jfeatures.msg.test.TestUtils;
 import com.squareup.javapoet.JavaFile;
 import java.util.Arrays;
 import java.util.List;
+import java.util.OptionalLong;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -200,4 +203,71 @@ class GenerateDAOTest {
             .contains("TestDAO(NamedParameterJdbcTemplate namedParameterJdbcTemplate)")
             .contains("this.namedParameterJdbcTemplate = namedParameterJdbcTemplate");
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldGeneratePagedDAOWithEmbeddedPageSizeDefaults() {
+        // Given
+        List<ColumnMetadata> columnMetadata = Arrays.asList(
+            TestUtils.createColumnMetadata("rental_id", "INT", java.sql.Types.INTEGER, false)
+        );
+        List<DBColumn> predicateLiterals = Arrays.asList(
+            new DBColumn("rental", "customerId", "java.lang.Integer", "INTEGER")
+        );
+        String sql = "SELECT rental_id FROM rental WHERE customer_id = ? ORDER BY rental_id;";
+
+        // When
+        JavaFile result = GenerateDAO.createDaoFromMetadata("Rental", columnMetadata, predicateLiterals,
+                                                            SqlCompilationUnit.compile(sql), ResultShape.PAGED, OptionalLong.of(25_000));
+
+        // Then
+        String generatedCode = result.toString();
+        assertThat(generatedCode)
+            .contains("Estimated at generation time to return about 25,000 rows, so the rows are read one page at a time.")
+            .contains("public static final int DEFAULT_PAGE_SIZE = 100;")
+            .contains("public static final int MAX_PAGE_SIZE = 1000;")
+            .contains("public List<RentalDTO> getRental(Integer customerid, int pageNumber, int pageSize)")
+            .contains("int boundedPageSize = Math.min(Math.max(pageSize, 1), MAX_PAGE_SIZE);")
+            .contains("sqlParamMap.put(\"pageOffset\", (long) Math.max(pageNumber, 0) * boundedPageSize);")
+            .contains("  rental_id\n  OFFSET :pageOffset ROWS FETCH NEXT :pageSize ROWS ONLY\n  \"\"\";");
+    }
+
+    @Test
+    void shouldGenerateStreamingDAOThatHandsOnEveryRow() {
+        // Given
+        List<ColumnMetadata> columnMetadata = Arrays.asList(
+            TestUtils.createColumnMetadata("rental_id", "INT", java.sql.Types.INTEGER, false)
+        );
+        String sql = "SELECT rental_id FROM rental";
+
+        // When
+        JavaFile result = GenerateDAO.createDaoFromMetadata("Rental", columnMetadata, List.of(),
+                                                            SqlCompilationUnit.compile(sql), ResultShape.STREAM, OptionalLong.of(16_044_000));
+
+        // Then
+        String generatedCode = result.toString();
+        assertThat(generatedCode)
+            .contains("about 16,044,000 rows, so the rows are handed on as they are read")
+            .contains("public void streamRental(Consumer<RentalDTO> rowConsumer)")
+            .contains("rowConsumer.accept(dto)")
+            .doesNotContain("ArrayList")
+            .doesNotContain("result.add");
+    }
+
+    @Test
+    void shouldRejectPagingOfUnorderedOrLimitedSQL() {
+        List<ColumnMetadata> columnMetadata = Arrays.asList(
+            TestUtils.createColumnMetadata("rental_id", "INT", java.sql.Types.INTEGER, false)
+        );
+
+        assertThat(GenerateDAO.isPageable(SqlCompilationUnit.compile("SELECT rental_id FROM rental ORDER BY rental_id"))).isTrue();
+        assertThat(GenerateDAO.isPageable(SqlCompilationUnit.compile("SELECT TOP 10 rental_id FROM rental ORDER BY rental_id"))).isFalse();
+        assertThat(GenerateDAO.isPageable(SqlCompilationUnit.compile("SELECT rental_id FROM rental"))).isFalse();
+        assertThatThrownBy(() -> GenerateDAO.createDaoFromMetadata("Rental", columnMetadata, List.of(),
+                SqlCompilationUnit.compile("SELECT rental_id FROM rental"), ResultShape.PAGED, OptionalLong.empty()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("ORDER BY");
+        assertThatThrownBy(() -> GenerateDAO.createDaoFromMetadata("Rental", columnMetadata, List.of(),
+                SqlCompilationUnit.compile("SELECT rental_id FROM rental"), null, OptionalLong.empty()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -4,11 +4,15 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import com.jfeatures.msg.codegen.dbmetadata.ColumnMetadata;
 import com.jfeatures.msg.codegen.dbmetadata.InsertMetadata;
+import com.jfeatures.msg.codegen.profile.GenerationPhase;
+import com.jfeatures.msg.codegen.profile.GenerationProfiler;
+import com.jfeatures.msg.codegen.profile.PhaseTiming;
 import com.squareup.javapoet.JavaFile;
 import java.io.IOException;
 import java.sql.Types;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -165,6 +169,21 @@ class GenerateInsertDAOTest {
         assertTrue(code.contains("VALUES"));
     }
 
+    @Test
+    void testCreateInsertDAO_TimesSqlFormattingAsItsOwnPhase() throws IOException {
+        GenerationProfiler profiler = new GenerationProfiler();
+
+        try (GenerationProfiler.ServiceScope ignored = profiler.profile("Customer")) {
+            GenerateInsertDAO.createInsertDAO("Customer", validMetadata);
+        }
+
+        List<PhaseTiming> formatTimings = profiler.timings().stream()
+            .filter(timing -> timing.phase() == GenerationPhase.FORMAT)
+            .toList();
+        assertEquals(1, formatTimings.size());
+        assertEquals("GenerateInsertDAO", formatTimings.get(0).step());
+    }
+
     @Test
     void testCreateInsertDAO_GeneratesCorrectPackageStructure() throws IOException {
         // Test various business names to verify package naming convention
@@ -0,0 +1,66 @@
+package com.jfeatures.msg.codegen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.squareup.javapoet.JavaFile;
+import java.io.StringWriter;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GenerateLatencyRegressionTestTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void createLatencyRegressionTest_ReadsTheBaselineAndAssertsTheTolerance() {
+        JavaFile javaFile = GenerateLatencyRegressionTest.createLatencyRegressionTest("Customer");
+        String source = javaFile.toString();
+
+        assertThat(javaFile.packageName).isEqualTo("com.jfeatures.msg.customer.dao");
+        assertThat(javaFile.typeSpec.name).isEqualTo("CustomerLatencyRegressionTest");
+        assertThat(source)
+            .contains("@SpringBootTest")
+            .contains("@Tag(\"latency\")")
+            .contains("\"/latency-baseline.json\"")
+            .contains("session.execute(\"SET STATISTICS IO ON\")")
+            .contains("connection.rollback()")
+            .contains("allowed(baseline.get(\"p99Micros\").asLong(), tolerance)")
+            .contains("allowed(baseline.get(\"logicalReads\").asLong(), tolerance)");
+    }
+
+    @Test
+    void createLatencyRegressionTest_GeneratedTestCompiles() {
+        String source = GenerateLatencyRegressionTest.createLatencyRegressionTest("Customer").toString();
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        JavaFileObject sourceFile = new SimpleJavaFileObject(
+                URI.create("string:///com/jfeatures/msg/customer/dao/CustomerLatencyRegressionTest.java"),
+                JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        StringWriter diagnostics = new StringWriter();
+
+        Boolean compiled = compiler.getTask(diagnostics, null, null,
+            List.of("-proc:none", "-classpath", System.getProperty("java.class.path"), "-d", tempDir.toString()),
+            null, List.of(sourceFile)).call();
+
+        assertThat(compiled).as(diagnostics.toString()).isTrue();
+    }
+
+    @Test
+    void createLatencyRegressionTest_BlankName_IsRejected() {
+        assertThatThrownBy(() -> GenerateLatencyRegressionTest.createLatencyRegressionTest(" "))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
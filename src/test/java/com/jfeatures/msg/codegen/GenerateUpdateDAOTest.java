@@ -169,6 +169,30 @@ class GenerateUpdateDAOTest {
         assertTrue(code.contains("=: customerId"));
     }
 
+    @Test
+    void testCreateUpdateDAO_WhereColumnFromCatalog_KeepsItsNameInSql() throws Exception {
+        JavaFile javaFile = GenerateUpdateDAO.createUpdateDAO("Customer", validMetadata);
+
+        String code = javaFile.toString();
+        assertTrue(code.contains("customer_id =: customerId"));
+    }
+
+    @Test
+    void testCreateUpdateDAO_WhereColumnAlsoSet_GetsDistinctParameterName() throws Exception {
+        UpdateMetadata metadata = new UpdateMetadata(
+                "customers",
+                Collections.singletonList(statusColumn),
+                Arrays.asList(idColumn, statusColumn),
+                "UPDATE customers SET status = ? WHERE customer_id = ? AND status = ?"
+        );
+
+        String code = GenerateUpdateDAO.createUpdateDAO("Customer", metadata).toString();
+
+        assertTrue(code.contains("status =: whereStatus"));
+        assertTrue(code.contains("paramMap.put(\"status\", updateDto.getStatus())"));
+        assertTrue(code.contains("paramMap.put(\"whereStatus\", whereStatus)"));
+    }
+
     @Test
     void testCreateUpdateDAO_GeneratesCorrectMethodSignature() throws Exception {
         JavaFile javaFile = GenerateUpdateDAO.createUpdateDAO("Customer", validMetadata);
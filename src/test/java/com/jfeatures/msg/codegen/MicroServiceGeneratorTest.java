@@ -1,18 +1,29 @@
 package com.jfeatures.msg.codegen;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.jfeatures.msg.codegen.constants.ProjectConstants;
+import com.jfeatures.msg.codegen.database.DatabaseConnectionException;
+import com.jfeatures.msg.codegen.dbmetadata.ColumnMetadata;
+import com.jfeatures.msg.codegen.dbmetadata.InsertMetadata;
+import com.jfeatures.msg.codegen.dbmetadata.MetadataCache;
+import com.jfeatures.msg.codegen.dbmetadata.MetadataFixture;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -643,4 +654,419 @@ class MicroServiceGeneratorTest {
             assertTrue(e instanceof RuntimeException || e instanceof SQLException || e.getCause() != null);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCall_ReplayMetadata_GeneratesWithoutDatabase() throws Exception {
+        // Given a fixture recorded for the sample INSERT statement
+        String sql = MicroServiceGenerator.getSql(ProjectConstants.DEFAULT_INSERT_SQL_FILE);
+        Path fixtureFile = tempDir.resolve("insert-fixture.json");
+        MetadataFixture recorder = MetadataFixture.recording(fixtureFile, MetadataCache.disabled());
+        recorder.getOrLoad(sql, "insert", new TypeReference<InsertMetadata>() { }, () -> new InsertMetadata("customer", List.of(
+            column("first_name", "varchar", Types.VARCHAR),
+            column("last_name", "varchar", Types.VARCHAR),
+            column("email", "varchar", Types.VARCHAR),
+            column("address_id", "int", Types.INTEGER),
+            column("active", "bit", Types.BIT)
+        ), sql));
+        recorder.save();
+        Path destination = tempDir.resolve("generated");
+
+        // When
+        int exitCode = new CommandLine(new MicroServiceGenerator()).execute(
+            "--name", "Customer", "--sql-file", ProjectConstants.DEFAULT_INSERT_SQL_FILE,
+            "--destination", destination.toString(), "--replay-metadata", fixtureFile.toString());
+
+        // Then
+        assertThat(exitCode).isZero();
+        try (Stream<Path> files = Files.walk(destination)) {
+            assertThat(files.map(path -> path.getFileName().toString())).contains("CustomerInsertDAO.java");
+        }
+    }
+
+    @Test
+    void testCall_AppCdsTrainingRun_ReplaysCommittedFixture() throws Exception {
+        // Given the arguments of the appcds profile's training run
+        Path destination = tempDir.resolve("training-output");
+
+        // When
+        int exitCode = new CommandLine(new MicroServiceGenerator()).execute(
+            "--sql-dir", "src/cds/sql", "--replay-metadata", "src/cds/training-metadata.json",
+            "--destination", destination.toString());
+
+        // Then every training statement is answered by the fixture
+        assertThat(exitCode).isZero();
+        try (Stream<Path> files = Files.walk(destination)) {
+            assertThat(files.map(path -> path.getFileName().toString())).contains(
+                "CustomerSelectDAO.java", "CustomerInsertInsertDAO.java",
+                "CustomerUpdateUpdateDAO.java", "CustomerDeleteDeleteDAO.java");
+        }
+    }
+
+    @Test
+    void testCall_Zip_StreamsProjectWithoutWritingDestination() throws Exception {
+        // Given a fixture recorded for the sample INSERT statement
+        String sql = MicroServiceGenerator.getSql(ProjectConstants.DEFAULT_INSERT_SQL_FILE);
+        Path fixtureFile = tempDir.resolve("zip-fixture.json");
+        MetadataFixture recorder = MetadataFixture.recording(fixtureFile, MetadataCache.disabled());
+        recorder.getOrLoad(sql, "insert", new TypeReference<InsertMetadata>() { }, () -> new InsertMetadata("customer", List.of(
+            column("first_name", "varchar", Types.VARCHAR),
+            column("active", "bit", Types.BIT)
+        ), sql));
+        recorder.save();
+        Path destination = tempDir.resolve("generated");
+        Path archive = tempDir.resolve("customer.zip");
+
+        // When
+        int exitCode = new CommandLine(new MicroServiceGenerator()).execute(
+            "--name", "Customer", "--sql-file", ProjectConstants.DEFAULT_INSERT_SQL_FILE,
+            "--destination", destination.toString(), "--zip", archive.toString(),
+            "--replay-metadata", fixtureFile.toString());
+
+        // Then
+        assertThat(exitCode).isZero();
+        assertThat(destination).doesNotExist();
+        try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+            assertThat(zipFile.stream().map(ZipEntry::getName)).contains(
+                "customer/pom.xml",
+                "customer/src/main/resources/application.properties",
+                "customer/src/main/java/com/jfeatures/msg/customer/dao/CustomerInsertDAO.java");
+        }
+    }
+
+    @Test
+    void testCall_Verify_CompilesGeneratedSources() throws Exception {
+        // Given a fixture recorded for the sample INSERT statement
+        String sql = MicroServiceGenerator.getSql(ProjectConstants.DEFAULT_INSERT_SQL_FILE);
+        Path fixtureFile = tempDir.resolve("verify-fixture.json");
+        MetadataFixture recorder = MetadataFixture.recording(fixtureFile, MetadataCache.disabled());
+        recorder.getOrLoad(sql, "insert", new TypeReference<InsertMetadata>() { }, () -> new InsertMetadata("customer", List.of(
+            column("first_name", "varchar", Types.VARCHAR),
+            column("address_id", "int", Types.INTEGER),
+            column("active", "bit", Types.BIT)
+        ), sql));
+        recorder.save();
+
+        // When
+        int exitCode = new CommandLine(new MicroServiceGenerator()).execute(
+            "--name", "Customer", "--sql-file", ProjectConstants.DEFAULT_INSERT_SQL_FILE, "--verify",
+            "--destination", tempDir.resolve("generated").toString(), "--replay-metadata", fixtureFile.toString());
+
+        // Then
+        assertThat(exitCode).isZero();
+    }
+
+    @Test
+    void testCall_Profile_GeneratesAndLogsPhaseSummary() throws Exception {
+        // Given a fixture recorded for the sample INSERT statement
+        String sql = MicroServiceGenerator.getSql(ProjectConstants.DEFAULT_INSERT_SQL_FILE);
+        Path fixtureFile = tempDir.resolve("profile-fixture.json");
+        MetadataFixture recorder = MetadataFixture.recording(fixtureFile, MetadataCache.disabled());
+        recorder.getOrLoad(sql, "insert", new TypeReference<InsertMetadata>() { }, () -> new InsertMetadata("customer", List.of(
+            column("first_name", "varchar", Types.VARCHAR),
+            column("active", "bit", Types.BIT)
+        ), sql));
+        recorder.save();
+        Path destination = tempDir.resolve("generated");
+
+        // When
+        int exitCode = new CommandLine(new MicroServiceGenerator()).execute(
+            "--name", "Customer", "--sql-file", ProjectConstants.DEFAULT_INSERT_SQL_FILE, "--profile",
+            "--destination", destination.toString(), "--replay-metadata", fixtureFile.toString());
+
+        // Then
+        assertThat(exitCode).isZero();
+        assertThat(destination.resolve("pom.xml")).exists();
+    }
+
+    @Test
+    void testCall_ZipWithSqlDir_IsRejected() {
+        int exitCode = new CommandLine(new MicroServiceGenerator()).execute(
+            "--destination", tempDir.toString(),
+            "--zip", tempDir.resolve("out.zip").toString(),
+            "--sql-dir", tempDir.toString());
+
+        assertThat(exitCode).isNotZero();
+    }
+
+    @Test
+    void testCall_SqlDirectory_GeneratesEachFileAndReportsFailures() throws Exception {
+        // Given a directory with one replayable INSERT and one statement that is not supported
+        String sql = MicroServiceGenerator.getSql(ProjectConstants.DEFAULT_INSERT_SQL_FILE);
+        Path sqlDirectory = Files.createDirectories(tempDir.resolve("sql"));
+        Files.writeString(sqlDirectory.resolve("customer.sql"), sql);
+        Files.writeString(sqlDirectory.resolve("drop_table.sql"), "DROP TABLE customer");
+        Path fixtureFile = tempDir.resolve("batch-fixture.json");
+        MetadataFixture recorder = MetadataFixture.recording(fixtureFile, MetadataCache.disabled());
+        recorder.getOrLoad(sql, "insert", new TypeReference<InsertMetadata>() { }, () -> new InsertMetadata("customer", List.of(
+            column("first_name", "varchar", Types.VARCHAR),
+            column("active", "bit", Types.BIT)
+        ), sql));
+        recorder.save();
+        Path destination = tempDir.resolve("generated");
+
+        // When
+        int exitCode = new CommandLine(new MicroServiceGenerator()).execute(
+            "--sql-dir", sqlDirectory.toString(), "--jobs", "2",
+            "--destination", destination.toString(), "--replay-metadata", fixtureFile.toString());
+
+        // Then the INSERT is generated into its own directory and the failure is reported in the exit code
+        assertThat(exitCode).isNotZero();
+        try (Stream<Path> files = Files.walk(destination.resolve("customer"))) {
+            assertThat(files.map(path -> path.getFileName().toString())).contains("CustomerInsertDAO.java");
+        }
+        assertThat(destination.resolve("drop_table")).doesNotExist();
+    }
+
+    @Test
+    void testCall_SqlFileAndSqlDirTogether_IsRejected() {
+        int exitCode = new CommandLine(new MicroServiceGenerator()).execute(
+            "--destination", tempDir.toString(),
+            "--sql-file", ProjectConstants.DEFAULT_INSERT_SQL_FILE,
+            "--sql-dir", tempDir.toString());
+
+        assertThat(exitCode).isNotZero();
+    }
+
+    @Test
+    void testCall_CrudWithSqlFile_IsRejected() {
+        int exitCode = new CommandLine(new MicroServiceGenerator()).execute(
+            "--destination", tempDir.toString(),
+            "--crud",
+            "--sql-file", ProjectConstants.DEFAULT_INSERT_SQL_FILE);
+
+        assertThat(exitCode).isNotZero();
+    }
+
+    @Test
+    void testCall_WatchWithoutSqlDir_IsRejected() {
+        int exitCode = new CommandLine(new MicroServiceGenerator()).execute(
+            "--destination", tempDir.toString(),
+            "--watch",
+            "--sql-file", ProjectConstants.DEFAULT_INSERT_SQL_FILE);
+
+        assertThat(exitCode).isNotZero();
+    }
+
+    @Test
+    void testCall_RecordAndReplayTogether_IsRejected() {
+        int exitCode = new CommandLine(new MicroServiceGenerator()).execute(
+            "--destination", tempDir.toString(),
+            "--record-metadata", tempDir.resolve("a.json").toString(),
+            "--replay-metadata", tempDir.resolve("b.json").toString());
+
+        assertThat(exitCode).isNotZero();
+    }
+
+    @Test
+    void testCall_UnreachableDatabase_FailsOnFirstConnectionFailure() {
+        // Given a database URL nothing listens on
+        MicroServiceGenerator generator = new MicroServiceGenerator();
+        new CommandLine(generator).parseArgs(
+            "--name", "Customer", "--sql-file", ProjectConstants.DEFAULT_INSERT_SQL_FILE,
+            "--destination", tempDir.resolve("generated").toString(), "--no-metadata-cache",
+            "--db-url", "jdbc:sqlserver://localhost:1;encrypt=false;loginTimeout=1", "--db-connection-timeout", "250");
+
+        // When / Then the optional catalog lookup does not fall back to lookups that would wait again
+        assertThatThrownBy(generator::call)
+            .isInstanceOf(DatabaseConnectionException.class)
+            .hasMessageContaining("the schema catalog");
+    }
+
+    @Test
+    void testCall_EmbeddedSchema_GeneratesFromDdlWithoutDatabase() throws Exception {
+        // Given the customer table of the test schema
+        Path ddlFile = Path.of(MicroServiceGeneratorTest.class.getClassLoader().getResource("sakila-test-schema.sql").toURI());
+        Path destination = tempDir.resolve("generated");
+
+        // When
+        int exitCode = new CommandLine(new MicroServiceGenerator()).execute(
+            "--name", "Customer", "--sql-file", ProjectConstants.DEFAULT_INSERT_SQL_FILE,
+            "--destination", destination.toString(), "--embedded-schema", ddlFile.toString());
+
+        // Then
+        assertThat(exitCode).isZero();
+        try (Stream<Path> files = Files.walk(destination)) {
+            assertThat(files.map(path -> path.getFileName().toString())).contains("CustomerInsertDAO.java");
+        }
+    }
+
+    @Test
+    void testCall_SqlScriptWithEmbeddedSchema_GeneratesOneProjectPerScript() throws Exception {
+        // Given a script of three statements on the test schema, after a SET statement that is not generated
+        Path ddlFile = Path.of(MicroServiceGeneratorTest.class.getClassLoader().getResource("sakila-test-schema.sql").toURI());
+        Path script = tempDir.resolve("customer.sql");
+        Files.writeString(script, """
+            SET NOCOUNT ON;
+            -- @name: CustomerByEmail
+            SELECT first_name, last_name FROM customer WHERE email = ?;
+            -- @name: CustomerRemoval
+            DELETE FROM customer WHERE customer_id = ?
+            GO
+            UPDATE address SET phone = ? WHERE address_id = ?;
+            """);
+        Path destination = tempDir.resolve("generated");
+
+        // When
+        int exitCode = new CommandLine(new MicroServiceGenerator()).execute(
+            "--name", "Sales", "--sql-script", script.toString(), "--jobs", "2",
+            "--destination", destination.toString(), "--embedded-schema", ddlFile.toString());
+
+        // Then the statements share one application class and database configuration
+        assertThat(exitCode).isZero();
+        Path sources = destination.resolve("src/main/java/com/jfeatures");
+        assertThat(sources.resolve("msg/customerbyemail/dao/CustomerByEmailDAO.java")).exists();
+        assertThat(sources.resolve("msg/customerremoval/dao/CustomerRemovalDeleteDAO.java")).exists();
+        assertThat(sources.resolve("msg/sales4/dao/Sales4UpdateDAO.java")).exists();
+        assertThat(sources.resolve("msg/SalesSpringBootApplication.java")).exists();
+        assertThat(sources.resolve("sales/config/DatabaseConfig.java")).exists();
+        try (Stream<Path> files = Files.walk(destination)) {
+            assertThat(files.map(path -> path.getFileName().toString()))
+                .filteredOn(name -> name.endsWith("Application.java") || name.equals("DatabaseConfig.java"))
+                .hasSize(2);
+        }
+    }
+
+    @Test
+    void testCall_SqlScriptWithSqlFile_IsRejected() {
+        int exitCode = new CommandLine(new MicroServiceGenerator()).execute(
+            "--destination", tempDir.toString(),
+            "--sql-script", tempDir.resolve("script.sql").toString(),
+            "--sql-file", ProjectConstants.DEFAULT_INSERT_SQL_FILE);
+
+        assertThat(exitCode).isNotZero();
+    }
+
+    @Test
+    void testCall_SqlScriptWithPerProjectReport_IsRejected() {
+        int exitCode = new CommandLine(new MicroServiceGenerator()).execute(
+            "--destination", tempDir.toString(),
+            "--sql-script", tempDir.resolve("script.sql").toString(), "--recommend-indexes");
+
+        assertThat(exitCode).isNotZero();
+    }
+
+    @Test
+    void testCall_EmbeddedSchemaAndReplayTogether_IsRejected() {
+        int exitCode = new CommandLine(new MicroServiceGenerator()).execute(
+            "--destination", tempDir.toString(),
+            "--embedded-schema", tempDir.resolve("schema.sql").toString(),
+            "--replay-metadata", tempDir.resolve("b.json").toString());
+
+        assertThat(exitCode).isNotZero();
+    }
+
+    @Test
+    void testCall_AnalyzePlanWithEmbeddedSchema_IsRejected() throws Exception {
+        Path ddlFile = Path.of(MicroServiceGeneratorTest.class.getClassLoader().getResource("sakila-test-schema.sql").toURI());
+        Path destination = tempDir.resolve("generated");
+
+        int exitCode = new CommandLine(new MicroServiceGenerator()).execute(
+            "--name", "Customer", "--sql-file", ProjectConstants.DEFAULT_INSERT_SQL_FILE,
+            "--destination", destination.toString(), "--embedded-schema", ddlFile.toString(), "--analyze-plan");
+
+        assertThat(exitCode).isNotZero();
+        assertThat(destination).doesNotExist();
+    }
+
+    @Test
+    void testCall_ProfileLatencyWithEmbeddedSchema_IsRejected() throws Exception {
+        Path ddlFile = Path.of(MicroServiceGeneratorTest.class.getClassLoader().getResource("sakila-test-schema.sql").toURI());
+        Path destination = tempDir.resolve("generated");
+
+        int exitCode = new CommandLine(new MicroServiceGenerator()).execute(
+            "--name", "Customer", "--sql-file", ProjectConstants.DEFAULT_SELECT_SQL_FILE,
+            "--destination", destination.toString(), "--embedded-schema", ddlFile.toString(), "--profile-latency");
+
+        assertThat(exitCode).isNotZero();
+        assertThat(destination).doesNotExist();
+    }
+
+    @Test
+    void testCall_RecommendIndexesWithEmbeddedSchema_WritesIndexScript() throws Exception {
+        // Given a select filtering customers on active and countries on their name, neither of which is indexed
+        Path ddlFile = Path.of(MicroServiceGeneratorTest.class.getClassLoader().getResource("sakila-test-schema.sql").toURI());
+        Path destination = tempDir.resolve("generated");
+
+        // When
+        int exitCode = new CommandLine(new MicroServiceGenerator()).execute(
+            "--name", "Customer", "--sql-file", ProjectConstants.DEFAULT_SELECT_SQL_FILE,
+            "--destination", destination.toString(), "--embedded-schema", ddlFile.toString(), "--recommend-indexes");
+
+        // Then
+        assertThat(exitCode).isZero();
+        String script = Files.readString(destination.resolve("db").resolve("recommended-indexes.sql"));
+        assertThat(script)
+            .contains("CREATE NONCLUSTERED INDEX [IX_customer_active] ON [dbo].[customer] ([active])")
+            .contains("CREATE NONCLUSTERED INDEX [IX_country_country] ON [dbo].[country] ([country]);")
+            .contains("the row count of the table is unknown");
+    }
+
+    @Test
+    void testCall_RecommendIndexesWithReplay_IsRejected() {
+        int exitCode = new CommandLine(new MicroServiceGenerator()).execute(
+            "--destination", tempDir.toString(),
+            "--replay-metadata", tempDir.resolve("fixture.json").toString(), "--recommend-indexes");
+
+        assertThat(exitCode).isNotZero();
+    }
+
+    @Test
+    void testCall_CheckSql_ReportsPredicatesWithoutDatabase() throws Exception {
+        // Given one sargable statement and one that converts the varchar last_name for every row
+        Path sqlDirectory = Files.createDirectories(tempDir.resolve("sql"));
+        Files.writeString(sqlDirectory.resolve("by_id.sql"), "SELECT first_name FROM customer WHERE customer_id = ?");
+        Files.writeString(sqlDirectory.resolve("by_name.sql"), "SELECT first_name FROM customer WHERE last_name = ?");
+        Path ddlFile = Path.of(MicroServiceGeneratorTest.class.getClassLoader().getResource("sakila-test-schema.sql").toURI());
+
+        // When the files are checked by syntax only, and against the column types of the DDL
+        int syntaxExitCode = new CommandLine(new MicroServiceGenerator()).execute(
+            "--check-sql", "--sql-dir", sqlDirectory.toString(), "--db-url", "jdbc:sqlserver://unreachable:1;");
+        int typedExitCode = new CommandLine(new MicroServiceGenerator()).execute(
+            "--check-sql", "--sql-dir", sqlDirectory.toString(), "--embedded-schema", ddlFile.toString());
+
+        // Then only the column types reveal the implicit conversion, and the file is not rewritten
+        assertThat(syntaxExitCode).isZero();
+        assertThat(typedExitCode).isEqualTo(1);
+        assertThat(Files.readString(sqlDirectory.resolve("by_name.sql")))
+            .isEqualTo("SELECT first_name FROM customer WHERE last_name = ?");
+    }
+
+    @Test
+    void testCall_FixSql_RewritesSqlFilesInPlace() throws Exception {
+        Path sqlDirectory = Files.createDirectories(tempDir.resolve("sql"));
+        Path sqlFile = sqlDirectory.resolve("recent_rentals.sql");
+        Files.writeString(sqlFile, "SELECT rental_id FROM rental\nWHERE DATEDIFF(day, rental_date, GETDATE()) < 7\n");
+
+        int exitCode = new CommandLine(new MicroServiceGenerator()).execute(
+            "--fix-sql", "--sql-dir", sqlDirectory.toString());
+
+        assertThat(exitCode).isEqualTo(1);
+        assertThat(Files.readString(sqlFile))
+            .isEqualTo("SELECT rental_id FROM rental\nWHERE rental_date >= DATEADD(DAY, -6, CAST(GETDATE() AS DATE))\n");
+    }
+
+    @Test
+    void testCall_CheckSqlWithoutSqlDir_IsRejected() {
+        int exitCode = new CommandLine(new MicroServiceGenerator()).execute("--check-sql");
+
+        assertThat(exitCode).isNotZero();
+    }
+
+    @Test
+    void testCall_NegativeFailOnScan_IsRejected() {
+        int exitCode = new CommandLine(new MicroServiceGenerator()).execute(
+            "--destination", tempDir.toString(),
+            "--fail-on-scan", "-1");
+
+        assertThat(exitCode).isNotZero();
+    }
+
+    private static ColumnMetadata column(String name, String typeName, int sqlType) {
+        ColumnMetadata column = new ColumnMetadata();
+        column.setColumnName(name);
+        column.setColumnTypeName(typeName);
+        column.setColumnType(sqlType);
+        column.setIsNullable(1);
+        return column;
+    }
+}
@@ -4,9 +4,13 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.lenient;
 
+import com.jfeatures.msg.codegen.dbmetadata.CatalogColumn;
+import com.jfeatures.msg.codegen.dbmetadata.SchemaCatalog;
 import com.jfeatures.msg.codegen.domain.DBColumn;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
 import java.sql.*;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 import javax.sql.DataSource;
 import org.junit.jupiter.api.BeforeEach;
@@ -303,6 +307,24 @@ class ParameterMetadataExtractorTest {
         assertEquals("param2", result.get(1).columnName()); // HAVING parameter gets default name
     }
     
+    @Test
+    void testExtractParameters_RangeComparisonBeforeEquality_KeepsPositions() throws SQLException {
+        // Given
+        String sql = "SELECT * FROM rental WHERE rental_date > ? AND customer_id = ?";
+
+        setupParameterMetaData(2,
+            new int[]{Types.TIMESTAMP, Types.INTEGER});
+
+        // When
+        List<DBColumn> result = extractor.extractParameters(SqlCompilationUnit.compile(sql));
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals("param1", result.get(0).columnName());
+        assertEquals("customerId", result.get(1).columnName());
+        assertEquals("Integer", result.get(1).javaType());
+    }
+
     @Test
     void testExtractParameters_MoreParametersThanColumns_FillsWithDefaults() throws SQLException {
         // Given
@@ -360,7 +382,7 @@ class ParameterMetadataExtractorTest {
         // When & Then
         IllegalArgumentException exception = assertThrows(
             IllegalArgumentException.class,
-            () -> extractor.extractParameters(null)
+            () -> extractor.extractParameters((String) null)
         );
 
         assertEquals("SQL cannot be null or empty", exception.getMessage());
@@ -572,6 +594,28 @@ class ParameterMetadataExtractorTest {
         assertTrue(result.get(1).columnName().equals("param2") || result.get(1).columnName().equals("status"));
     }
     
+    @Test
+    void testExtractParameters_UnparsableSql_NamesParametersFromTokens() throws SQLException {
+        // Given - the parser rejects the statement, so names come from the lexer
+        String sql = "SELECT * FROM customers c WHERE c.note = 'why = ?' /* x = ? */ AND c.customer_id = ? "
+            + "AND created > ? AND [status] = ? AND email = ? BOGUS CLAUSE";
+        SqlCompilationUnit unit = SqlCompilationUnit.compile(sql);
+        assertFalse(unit.isParsed());
+
+        setupParameterMetaData(4,
+            new int[]{Types.INTEGER, Types.TIMESTAMP, Types.VARCHAR, Types.VARCHAR});
+
+        // When
+        List<DBColumn> result = extractor.extractParameters(unit);
+
+        // Then
+        assertEquals(4, result.size());
+        assertEquals("customerId", result.get(0).columnName());
+        assertEquals("param2", result.get(1).columnName());
+        assertEquals("param3", result.get(2).columnName());
+        assertEquals("email", result.get(3).columnName());
+    }
+
     @Test
     void testExtractParameters_NegativeParameterCount_ReturnsEmptyList() throws SQLException {
         // Given
@@ -585,4 +629,56 @@ class ParameterMetadataExtractorTest {
         assertNotNull(result);
         assertEquals(0, result.size());
     }
-}
\ No newline at end of file
+
+    private static SchemaCatalog sakilaCatalog() {
+        return SchemaCatalog.of("dbo", List.of(
+            new CatalogColumn("dbo", "customer", "customer_id", 1, "int", Types.INTEGER, 4, 10, 0, false, true, true),
+            new CatalogColumn("dbo", "customer", "active", 2, "bit", Types.BIT, 1, 1, 0, false, false, false),
+            new CatalogColumn("dbo", "customer", "address_id", 3, "int", Types.INTEGER, 4, 10, 0, false, false, false),
+            new CatalogColumn("dbo", "address", "address_id", 1, "int", Types.INTEGER, 4, 10, 0, false, true, true),
+            new CatalogColumn("dbo", "address", "postal_code", 2, "varchar", Types.VARCHAR, 10, 0, 0, true, false, false)
+        ), Map.of());
+    }
+
+    @Test
+    void testExtractParameters_WithSchemaCatalog_ResolvesWithoutPreparingStatement() throws SQLException {
+        ParameterMetadataExtractor catalogExtractor = new ParameterMetadataExtractor(dataSource, sakilaCatalog());
+        String sql = "SELECT cus.customer_id FROM customer cus JOIN address adr ON cus.address_id = adr.address_id "
+            + "WHERE cus.active = ? AND adr.postal_code = ?";
+
+        List<DBColumn> result = catalogExtractor.extractParameters(sql);
+
+        assertEquals(2, result.size());
+        assertEquals("active", result.get(0).columnName());
+        assertEquals("Boolean", result.get(0).javaType());
+        assertEquals("BIT", result.get(0).jdbcType());
+        assertEquals("postalCode", result.get(1).columnName());
+        assertEquals("String", result.get(1).javaType());
+        verify(dataSource, never()).getConnection();
+    }
+
+    @Test
+    void testExtractParameters_WithSchemaCatalog_AmbiguousColumnFallsBackToPreparedStatement() throws SQLException {
+        ParameterMetadataExtractor catalogExtractor = new ParameterMetadataExtractor(dataSource, sakilaCatalog());
+        String sql = "SELECT * FROM customer c JOIN address a ON c.address_id = a.address_id WHERE address_id = ?";
+        setupParameterMetaData(1, new int[]{Types.INTEGER});
+
+        List<DBColumn> result = catalogExtractor.extractParameters(sql);
+
+        assertEquals(1, result.size());
+        assertEquals("Integer", result.get(0).javaType());
+        verify(connection).prepareStatement(sql);
+    }
+
+    @Test
+    void testExtractParameters_WithSchemaCatalog_NonEqualityParameterFallsBackToPreparedStatement() throws SQLException {
+        ParameterMetadataExtractor catalogExtractor = new ParameterMetadataExtractor(dataSource, sakilaCatalog());
+        String sql = "SELECT * FROM customer WHERE active = ? AND customer_id > ?";
+        setupParameterMetaData(2, new int[]{Types.BIT, Types.INTEGER});
+
+        List<DBColumn> result = catalogExtractor.extractParameters(sql);
+
+        assertEquals(2, result.size());
+        verify(connection).prepareStatement(sql);
+    }
+}
@@ -0,0 +1,104 @@
+package com.jfeatures.msg.codegen.cardinality;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.jfeatures.msg.codegen.dbmetadata.CatalogColumn;
+import com.jfeatures.msg.codegen.dbmetadata.CatalogIndex;
+import com.jfeatures.msg.codegen.dbmetadata.SchemaCatalog;
+import com.jfeatures.msg.codegen.dbmetadata.TableStatistics;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import org.junit.jupiter.api.Test;
+
+class CardinalityEstimatorTest {
+
+    private static final SchemaCatalog CATALOG = SchemaCatalog.of("dbo", List.of(
+        new CatalogColumn("dbo", "customer", "customer_id", 1, "int", Types.INTEGER, 4, 10, 0, false, true, true),
+        new CatalogColumn("dbo", "customer", "store_id", 2, "tinyint", Types.TINYINT, 1, 3, 0, false, false, false),
+        new CatalogColumn("dbo", "customer", "last_name", 3, "varchar", Types.VARCHAR, 45, 0, 0, false, false, false),
+        new CatalogColumn("dbo", "customer", "email", 4, "varchar", Types.VARCHAR, 50, 0, 0, true, false, false),
+        new CatalogColumn("dbo", "customer", "active", 5, "bit", Types.BIT, 1, 1, 0, false, false, false),
+        new CatalogColumn("dbo", "rental", "rental_id", 1, "int", Types.INTEGER, 4, 10, 0, false, true, true),
+        new CatalogColumn("dbo", "rental", "customer_id", 2, "int", Types.INTEGER, 4, 10, 0, false, false, false),
+        new CatalogColumn("dbo", "rental", "rental_date", 3, "datetime", Types.TIMESTAMP, 8, 23, 3, false, false, false),
+        new CatalogColumn("dbo", "rental", "return_date", 4, "datetime", Types.TIMESTAMP, 8, 23, 3, true, false, false),
+        new CatalogColumn("dbo", "staff", "staff_id", 1, "int", Types.INTEGER, 4, 10, 0, false, true, true)
+    ), Map.of("dbo.customer", List.of(
+        new CatalogIndex("ux_email", false, true, false, List.of("email"), List.of()))));
+
+    private static final TableStatistics STATISTICS = new TableStatistics(
+        Map.of("dbo.customer", 600L, "dbo.rental", 16_000L),
+        Map.of("dbo.customer.last_name", 120L, "dbo.customer.store_id", 2L, "dbo.rental.customer_id", 600L));
+
+    private static OptionalLong estimate(String sql) {
+        return new CardinalityEstimator(CATALOG, STATISTICS).estimateRows(SqlCompilationUnit.compile(sql));
+    }
+
+    @Test
+    void estimateRows_Equality_KeepsOneDistinctValue() {
+        assertThat(estimate("SELECT * FROM customer")).hasValue(600);
+        assertThat(estimate("SELECT * FROM customer WHERE customer_id = ?")).hasValue(1);
+        assertThat(estimate("SELECT * FROM customer WHERE email = ?")).hasValue(1);
+        assertThat(estimate("SELECT * FROM customer WHERE last_name = ?")).hasValue(5);
+        // Without statistics SQL Server guesses rows^0.75
+        assertThat(estimate("SELECT * FROM customer WHERE active = 1")).hasValue(121);
+        assertThat(estimate("SELECT * FROM customer WHERE last_name IN (?, ?, ?)")).hasValue(15);
+        assertThat(estimate("SELECT * FROM customer WHERE last_name = ? OR last_name = ?")).hasValue(10);
+        assertThat(estimate("SELECT * FROM customer WHERE store_id <> ?")).hasValue(300);
+    }
+
+    @Test
+    void estimateRows_RangesAndPatterns_UseFixedGuesses_CombinedWithBackoff() {
+        assertThat(estimate("SELECT * FROM rental WHERE rental_date >= ?")).hasValue(4_800);
+        assertThat(estimate("SELECT * FROM rental WHERE rental_date BETWEEN ? AND ?")).hasValue(1_440);
+        assertThat(estimate("SELECT * FROM customer WHERE last_name LIKE ?")).hasValue(54);
+        // 0.3 * sqrt(0.3) of the rows, not 0.3 * 0.3
+        assertThat(estimate("SELECT * FROM rental WHERE rental_date >= ? AND return_date < ?")).hasValue(2_629);
+        // Conditions that cannot be estimated do not reduce the rows
+        assertThat(estimate("SELECT * FROM rental WHERE YEAR(rental_date) = ?")).hasValue(16_000);
+    }
+
+    @Test
+    void estimateRows_Joins_DivideByTheLargerDistinctValues() {
+        assertThat(estimate("SELECT * FROM customer c JOIN rental r ON r.customer_id = c.customer_id")).hasValue(16_000);
+        assertThat(estimate("""
+            SELECT c.last_name, r.rental_date FROM customer c
+            JOIN rental r ON r.customer_id = c.customer_id
+            WHERE c.last_name = ?""")).hasValue(133);
+        assertThat(estimate("SELECT * FROM rental r LEFT JOIN customer c ON c.customer_id = r.customer_id AND c.active = 0"))
+            .hasValue(16_000);
+        assertThat(estimate("SELECT * FROM customer, rental")).hasValue(9_600_000);
+    }
+
+    @Test
+    void estimateRows_AggregatesAndRowLimits_BoundTheRows() {
+        assertThat(estimate("SELECT COUNT(*) FROM rental")).hasValue(1);
+        assertThat(estimate("SELECT store_id, COUNT(*) FROM customer GROUP BY store_id")).hasValue(2);
+        assertThat(estimate("SELECT DISTINCT last_name FROM customer")).hasValue(120);
+        assertThat(estimate("SELECT active, COUNT(*) FROM customer GROUP BY active")).hasValue(600);
+        assertThat(estimate("SELECT TOP 10 * FROM rental ORDER BY rental_date DESC")).hasValue(10);
+        assertThat(estimate("SELECT * FROM rental ORDER BY rental_id OFFSET 0 ROWS FETCH NEXT 50 ROWS ONLY")).hasValue(50);
+    }
+
+    @Test
+    void estimateRows_StatementsThatCannotBeEstimated_AreUnknown() {
+        assertThat(estimate("SELECT * FROM staff")).isEmpty();
+        assertThat(estimate("SELECT * FROM film")).isEmpty();
+        assertThat(estimate("SELECT * FROM (SELECT * FROM customer) c")).isEmpty();
+        assertThat(estimate("WITH c AS (SELECT * FROM customer) SELECT * FROM c")).isEmpty();
+        assertThat(estimate("SELECT customer_id FROM customer UNION SELECT customer_id FROM rental")).isEmpty();
+        assertThat(estimate("UPDATE customer SET active = 0 WHERE customer_id = ?")).isEmpty();
+    }
+
+    @Test
+    void invalidArguments_AreRejected() {
+        assertThatThrownBy(() -> new CardinalityEstimator(null, STATISTICS)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CardinalityEstimator(CATALOG, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CardinalityEstimator(CATALOG, STATISTICS).estimateRows(null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,44 @@
+package com.jfeatures.msg.codegen.database;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+
+class ConnectionFailuresTest {
+
+    @Test
+    void cannotGetConnection_IsRethrownAsDatabaseConnectionException() {
+        var failure = new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection",
+            new SQLTransientConnectionException("msg-metadata - Connection is not available"));
+
+        assertThatThrownBy(() -> ConnectionFailures.throwIfConnectionFailure(failure, "the schema catalog"))
+            .isInstanceOf(DatabaseConnectionException.class)
+            .hasMessageContaining("the schema catalog")
+            .hasCause(failure);
+    }
+
+    @Test
+    void connectionSqlStateInCauseChain_IsRethrown() {
+        var failure = new IllegalStateException("Table metadata lookup failed",
+            new SQLException("The TCP/IP connection to the host localhost, port 1433 has failed", "08S01"));
+
+        assertThatThrownBy(() -> ConnectionFailures.throwIfConnectionFailure(failure, "the referenced tables"))
+            .isInstanceOf(DatabaseConnectionException.class);
+    }
+
+    @Test
+    void permissionAndCatalogErrors_AreLeftToTheFallback() {
+        var permissionDenied = new BadSqlGrammarException("schema catalog", "SELECT ... FROM sys.columns",
+            new SQLException("The SELECT permission was denied on the object 'columns'", "S0005", 229));
+
+        assertThatCode(() -> ConnectionFailures.throwIfConnectionFailure(permissionDenied, "the schema catalog"))
+            .doesNotThrowAnyException();
+        assertThatCode(() -> ConnectionFailures.throwIfConnectionFailure(new SQLException("offline"), "row counts"))
+            .doesNotThrowAnyException();
+    }
+}
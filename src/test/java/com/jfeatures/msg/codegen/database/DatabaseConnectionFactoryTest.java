@@ -3,6 +3,7 @@ package com.jfeatures.msg.codegen.database;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.jfeatures.msg.codegen.domain.DatabaseConnection;
+import java.nio.file.Path;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
@@ -112,6 +113,24 @@ class DatabaseConnectionFactoryTest {
         // If no exception was thrown, the configuration is valid and the method works correctly
     }
 
+    @Test
+    void testCreateEmbeddedDatabaseConnection_LoadsDdlAndClosesDatabase() throws Exception {
+        Path ddlFile = Path.of(getClass().getClassLoader().getResource("sample_ddl.sql").toURI());
+
+        try (DatabaseConnection connection = factory.createEmbeddedDatabaseConnection(ddlFile, "dbo")) {
+            Integer customers = connection.jdbcTemplate().queryForObject("SELECT COUNT(*) FROM dbo.customer", Integer.class);
+            assertEquals(0, customers, "Tables of the DDL file should exist and be empty");
+        }
+    }
+
+    @Test
+    void testCreateEmbeddedDatabaseConnection_MissingDdlFile() {
+        DatabaseConnectionException exception = assertThrows(DatabaseConnectionException.class,
+            () -> factory.createEmbeddedDatabaseConnection(Path.of("does-not-exist.sql"), "dbo"));
+
+        assertTrue(exception.getMessage().contains("does-not-exist.sql"), "Error message should name the DDL file");
+    }
+
     @Test
     void testCreateDatabaseConnection_ConsistentBehavior() {
         // Test that multiple calls behave consistently
@@ -163,4 +182,17 @@ class DatabaseConnectionFactoryTest {
             assertNotNull(e.getMessage(), "Failure should have meaningful message");
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCreateOfflineDatabaseConnection_NeverConnects() {
+        try (DatabaseConnection connection = factory.createOfflineDatabaseConnection()) {
+            assertInstanceOf(OfflineDataSource.class, connection.dataSource());
+            assertNotNull(connection.jdbcTemplate());
+            assertNotNull(connection.namedParameterJdbcTemplate());
+
+            java.sql.SQLException exception = assertThrows(java.sql.SQLException.class, () -> connection.dataSource().getConnection());
+            assertEquals(OfflineDataSource.OFFLINE_MESSAGE, exception.getMessage());
+            assertThrows(java.sql.SQLException.class, () -> connection.dataSource().getConnection("sa", "secret"));
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.jfeatures.msg.codegen.database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.jfeatures.msg.codegen.ParameterMetadataExtractor;
+import com.jfeatures.msg.codegen.dbmetadata.ColumnMetadata;
+import com.jfeatures.msg.codegen.dbmetadata.InsertMetadata;
+import com.jfeatures.msg.codegen.dbmetadata.InsertMetadataExtractor;
+import com.jfeatures.msg.codegen.dbmetadata.SqlMetadata;
+import com.jfeatures.msg.codegen.domain.DBColumn;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class EmbeddedSchemaDataSourceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void selectMetadata_ReportsSqlServerTypeNames() throws Exception {
+        try (var dataSource = new EmbeddedSchemaDataSource(sakilaTestSchema(), "dbo")) {
+            List<ColumnMetadata> columns = new SqlMetadata(new JdbcTemplate(dataSource)).getColumnMetadata(
+                "SELECT c.customer_id, c.first_name, c.create_date FROM customer c WHERE c.customer_id = ?");
+
+            assertThat(columns).extracting(ColumnMetadata::getColumnName)
+                .containsExactly("customer_id", "first_name", "create_date");
+            assertThat(columns).extracting(ColumnMetadata::getColumnTypeName)
+                .containsExactly("int", "varchar", "datetime");
+            assertThat(columns.get(0).isAutoIncrement()).isTrue();
+        }
+    }
+
+    @Test
+    void extractors_RunAgainstSchemaQualifiedTables() throws Exception {
+        try (var dataSource = new EmbeddedSchemaDataSource(sakilaTestSchema(), "dbo")) {
+            InsertMetadata insertMetadata = new InsertMetadataExtractor(dataSource).extractInsertMetadata(
+                "INSERT INTO dbo.customer (first_name, address_id, active) VALUES (?, ?, ?)");
+            List<DBColumn> parameters = new ParameterMetadataExtractor(dataSource).extractParameters(
+                "DELETE FROM dbo.customer WHERE customer_id = ? AND active = ?");
+
+            assertThat(insertMetadata.insertColumns()).extracting(ColumnMetadata::getColumnTypeName)
+                .containsExactly("varchar", "int", "char");
+            assertThat(parameters).extracting(DBColumn::columnName).containsExactly("customerId", "active");
+        }
+    }
+
+    @Test
+    void tSqlBatchSeparatorsAndIndexOptions_AreAccepted() throws Exception {
+        Path ddlFile = tempDir.resolve("schema.sql");
+        Files.writeString(ddlFile, """
+            CREATE TABLE [dbo].[product] (
+                product_id INT IDENTITY(1,1) NOT NULL,
+                name NVARCHAR(100) NOT NULL,
+                price MONEY,
+                discontinued BIT NOT NULL DEFAULT 0,
+                CONSTRAINT pk_product PRIMARY KEY CLUSTERED (product_id)
+            )
+            GO
+            CREATE NONCLUSTERED INDEX idx_product_name ON product (name)
+            GO
+            """);
+
+        try (var dataSource = new EmbeddedSchemaDataSource(ddlFile, "dbo")) {
+            List<ColumnMetadata> columns = new SqlMetadata(new JdbcTemplate(dataSource))
+                .getColumnMetadata("SELECT name, price, discontinued FROM product");
+
+            assertThat(columns).extracting(ColumnMetadata::getColumnTypeName)
+                .containsExactly("varchar", "numeric", "bit");
+        }
+    }
+
+    @Test
+    void close_DropsTheDatabase() throws Exception {
+        var dataSource = new EmbeddedSchemaDataSource(sakilaTestSchema(), "dbo");
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM country", Integer.class)).isEqualTo(3);
+
+        dataSource.close();
+
+        assertThatThrownBy(() -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM country", Integer.class))
+            .isInstanceOf(DataAccessException.class);
+    }
+
+    @Test
+    void invalidDdl_FailsWithScriptError() throws Exception {
+        Path ddlFile = tempDir.resolve("broken.sql");
+        Files.writeString(ddlFile, "CREATE TABLE broken (id INT,);");
+
+        assertThatThrownBy(() -> new EmbeddedSchemaDataSource(ddlFile, "dbo"))
+            .isInstanceOf(DataAccessException.class);
+    }
+
+    @Test
+    void schemaNameThatIsNoIdentifier_IsRejected() {
+        assertThatThrownBy(() -> new EmbeddedSchemaDataSource(tempDir.resolve("schema.sql"), "dbo;DROP ALL OBJECTS"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("plain identifier");
+    }
+
+    @Test
+    void toH2Script_SplitsLikeTheScriptSplitter() {
+        String ddl = """
+            -- a comment ending in GO
+            CREATE TABLE note (body VARCHAR(20) DEFAULT 'GO;')
+            GO
+            CREATE NONCLUSTERED INDEX idx_note ON note (body)
+            """;
+
+        assertThat(EmbeddedSchemaDataSource.toH2Script(ddl)).isEqualTo(
+            "CREATE TABLE note (body VARCHAR(20) DEFAULT 'GO;');\nCREATE INDEX idx_note ON note (body);\n");
+    }
+
+    @Test
+    void toSqlServerTypeName_MapsStandardNamesAndLowerCasesOthers() {
+        assertThat(EmbeddedSchemaDataSource.toSqlServerTypeName("CHARACTER VARYING")).isEqualTo("varchar");
+        assertThat(EmbeddedSchemaDataSource.toSqlServerTypeName("TIMESTAMP")).isEqualTo("datetime");
+        assertThat(EmbeddedSchemaDataSource.toSqlServerTypeName("BOOLEAN")).isEqualTo("bit");
+        assertThat(EmbeddedSchemaDataSource.toSqlServerTypeName("BIGINT")).isEqualTo("bigint");
+        assertThat(EmbeddedSchemaDataSource.toSqlServerTypeName(null)).isNull();
+    }
+
+    private static Path sakilaTestSchema() throws Exception {
+        return Path.of(EmbeddedSchemaDataSourceTest.class.getClassLoader().getResource("sakila-test-schema.sql").toURI());
+    }
+}
@@ -0,0 +1,102 @@
+package com.jfeatures.msg.codegen.database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.jfeatures.msg.codegen.profile.GenerationPhase;
+import com.jfeatures.msg.codegen.profile.GenerationProfiler;
+import com.jfeatures.msg.codegen.profile.PhaseTiming;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RoundTripCountingDataSourceTest {
+
+    private DataSource targetDataSource;
+    private Connection connection;
+    private PreparedStatement preparedStatement;
+    private Statement statement;
+    private DatabaseMetaData databaseMetaData;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        targetDataSource = mock(DataSource.class, withSettings().extraInterfaces(Closeable.class));
+        connection = mock(Connection.class);
+        preparedStatement = mock(PreparedStatement.class);
+        statement = mock(Statement.class);
+        databaseMetaData = mock(DatabaseMetaData.class);
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.getMetaData()).thenReturn(databaseMetaData);
+        when(preparedStatement.executeQuery()).thenReturn(mock(ResultSet.class));
+        when(statement.execute(anyString())).thenReturn(true);
+        when(databaseMetaData.getColumns(any(), any(), any(), any())).thenReturn(mock(ResultSet.class));
+        when(databaseMetaData.getDatabaseProductName()).thenReturn("Microsoft SQL Server");
+    }
+
+    @Test
+    void executionsDescriptionsAndMetadataQueries_AreCountedAsRoundTrips() throws Exception {
+        GenerationProfiler profiler = new GenerationProfiler();
+        var dataSource = new RoundTripCountingDataSource(targetDataSource);
+
+        try (GenerationProfiler.ServiceScope ignored = profiler.profile("Customer");
+             GenerationProfiler.Phase phase = GenerationProfiler.phase(GenerationPhase.METADATA, "select-parameters");
+             Connection pooledConnection = dataSource.getConnection()) {
+            PreparedStatement prepared = pooledConnection.prepareStatement("SELECT * FROM customer WHERE customer_id = ?");
+            prepared.getParameterMetaData();
+            prepared.executeQuery();
+            pooledConnection.createStatement().execute("SELECT 1");
+            DatabaseMetaData metaData = pooledConnection.getMetaData();
+            metaData.getColumns(null, "dbo", "customer", null);
+            metaData.getDatabaseProductName();
+        }
+
+        assertThat(profiler.timings()).extracting(PhaseTiming::roundTrips).containsExactly(4L);
+        verify(preparedStatement).getParameterMetaData();
+        verify(connection).close();
+    }
+
+    @Test
+    void roundTripsOutsideAPhase_AreIgnored() throws Exception {
+        var dataSource = new RoundTripCountingDataSource(targetDataSource);
+
+        try (Connection pooledConnection = dataSource.getConnection()) {
+            assertThat(pooledConnection.createStatement().execute("SELECT 1")).isTrue();
+        }
+
+        verify(statement).execute("SELECT 1");
+    }
+
+    @Test
+    void close_ClosesTheTargetDataSource() throws Exception {
+        new RoundTripCountingDataSource(targetDataSource).close();
+
+        verify((Closeable) targetDataSource).close();
+    }
+
+    @Test
+    void sqlExceptionsOfTheTarget_AreRethrownUnwrapped() throws Exception {
+        SQLException failure = new SQLException("Invalid object name 'customer'");
+        when(preparedStatement.executeQuery()).thenThrow(failure);
+        var dataSource = new RoundTripCountingDataSource(targetDataSource);
+
+        try (Connection pooledConnection = dataSource.getConnection()) {
+            PreparedStatement prepared = pooledConnection.prepareStatement("SELECT * FROM customer");
+            assertThatThrownBy(prepared::executeQuery).isSameAs(failure);
+        }
+    }
+}
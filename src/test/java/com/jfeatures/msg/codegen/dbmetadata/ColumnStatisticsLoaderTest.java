@@ -0,0 +1,50 @@
+package com.jfeatures.msg.codegen.dbmetadata;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.ResultSet;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+@ExtendWith(MockitoExtension.class)
+class ColumnStatisticsLoaderTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Test
+    void testLoadDistinctValues_KeysByNormalizedColumnName() throws Exception {
+        when(resultSet.getString("schema_name")).thenReturn("dbo", "dbo");
+        when(resultSet.getString("table_name")).thenReturn("Customer", "rental");
+        when(resultSet.getString("column_name")).thenReturn("Last_Name", "customer_id");
+        when(resultSet.getLong("distinct_values")).thenReturn(120L, 599L);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(resultSet);
+            handler.processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(eq(ColumnStatisticsLoader.DISTINCT_VALUES_QUERY), any(RowCallbackHandler.class), eq("dbo"));
+
+        Map<String, Long> distinctValues = new ColumnStatisticsLoader(jdbcTemplate).loadDistinctValues("dbo");
+
+        assertEquals(Map.of("dbo.customer.last_name", 120L, "dbo.rental.customer_id", 599L), distinctValues);
+        assertEquals(120L, new TableStatistics(Map.of(), distinctValues).distinctValues("DBO", "customer", "[last_name]").getAsLong());
+    }
+
+    @Test
+    void testInvalidArguments_ThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new ColumnStatisticsLoader(null));
+        assertThrows(IllegalArgumentException.class, () -> new ColumnStatisticsLoader(jdbcTemplate).loadDistinctValues(" "));
+        assertThrows(IllegalArgumentException.class, () -> new TableStatistics(null, Map.of()));
+    }
+}
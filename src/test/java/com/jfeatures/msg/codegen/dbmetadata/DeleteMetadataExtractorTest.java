@@ -6,10 +6,12 @@ import static org.mockito.Mockito.*;
 
 import com.jfeatures.msg.codegen.ParameterMetadataExtractor;
 import com.jfeatures.msg.codegen.domain.DBColumn;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
 import java.sql.*;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import javax.sql.DataSource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -56,7 +58,7 @@ class DeleteMetadataExtractorTest {
         );
         
         try (var mockedConstruction = mockConstruction(ParameterMetadataExtractor.class, (mock, context) -> {
-            when(mock.extractParameters(sql)).thenReturn(mockParameters);
+            when(mock.extractParameters(SqlCompilationUnit.compile(sql))).thenReturn(mockParameters);
         })) {
             
             setupColumnMetadata();
@@ -76,7 +78,7 @@ class DeleteMetadataExtractorTest {
             
             var constructedMocks = mockedConstruction.constructed();
             assertEquals(1, constructedMocks.size());
-            verify(constructedMocks.get(0)).extractParameters(sql);
+            verify(constructedMocks.get(0)).extractParameters(SqlCompilationUnit.compile(sql));
             verify(databaseMetaData, times(2)).getColumns(isNull(), isNull(), eq("customers"), anyString());
         }
     }
@@ -114,7 +116,7 @@ class DeleteMetadataExtractorTest {
         List<DBColumn> emptyParameters = Collections.emptyList();
         
         try (var mockedConstruction = mockConstruction(ParameterMetadataExtractor.class, (mock, context) -> {
-            when(mock.extractParameters(sql)).thenReturn(emptyParameters);
+            when(mock.extractParameters(SqlCompilationUnit.compile(sql))).thenReturn(emptyParameters);
         })) {
             
             // When
@@ -127,7 +129,7 @@ class DeleteMetadataExtractorTest {
             
             var constructedMocks = mockedConstruction.constructed();
             assertEquals(1, constructedMocks.size());
-            verify(constructedMocks.get(0)).extractParameters(sql);
+            verify(constructedMocks.get(0)).extractParameters(SqlCompilationUnit.compile(sql));
         }
     }
     
@@ -141,7 +143,7 @@ class DeleteMetadataExtractorTest {
         );
         
         try (var mockedConstruction = mockConstruction(ParameterMetadataExtractor.class, (mock, context) -> {
-            when(mock.extractParameters(sql)).thenReturn(mockParameters);
+            when(mock.extractParameters(SqlCompilationUnit.compile(sql))).thenReturn(mockParameters);
         })) {
             
             // Setup column metadata for snake_case names
@@ -181,7 +183,7 @@ class DeleteMetadataExtractorTest {
         );
         
         try (var mockedConstruction = mockConstruction(ParameterMetadataExtractor.class, (mock, context) -> {
-            when(mock.extractParameters(sql)).thenReturn(mockParameters);
+            when(mock.extractParameters(SqlCompilationUnit.compile(sql))).thenReturn(mockParameters);
         })) {
             
             setupColumnMetadata();
@@ -209,7 +211,7 @@ class DeleteMetadataExtractorTest {
         );
         
         try (var mockedConstruction = mockConstruction(ParameterMetadataExtractor.class, (mock, context) -> {
-            when(mock.extractParameters(sql)).thenReturn(mockParameters);
+            when(mock.extractParameters(SqlCompilationUnit.compile(sql))).thenReturn(mockParameters);
         })) {
             
             // Setup exact match to fail
@@ -247,7 +249,7 @@ class DeleteMetadataExtractorTest {
         );
         
         try (var mockedConstruction = mockConstruction(ParameterMetadataExtractor.class, (mock, context) -> {
-            when(mock.extractParameters(sql)).thenReturn(mockParameters);
+            when(mock.extractParameters(SqlCompilationUnit.compile(sql))).thenReturn(mockParameters);
         })) {
             
             // Setup both exact and wildcard matches to fail
@@ -277,7 +279,7 @@ class DeleteMetadataExtractorTest {
         );
         
         try (var mockedConstruction = mockConstruction(ParameterMetadataExtractor.class, (mock, context) -> {
-            when(mock.extractParameters(sql)).thenReturn(mockParameters);
+            when(mock.extractParameters(SqlCompilationUnit.compile(sql))).thenReturn(mockParameters);
         })) {
             when(databaseMetaData.getColumns(null, null, "customers", "id"))
                 .thenThrow(new SQLException("Database connection failed"));
@@ -308,7 +310,7 @@ class DeleteMetadataExtractorTest {
         );
         
         try (var mockedConstruction = mockConstruction(ParameterMetadataExtractor.class, (mock, context) -> {
-            when(mock.extractParameters(sql)).thenReturn(mockParameters);
+            when(mock.extractParameters(SqlCompilationUnit.compile(sql))).thenReturn(mockParameters);
         })) {
             
             when(databaseMetaData.getColumns(null, null, "customers", "order_date"))
@@ -447,7 +449,7 @@ class DeleteMetadataExtractorTest {
     @Test
     void testDeleteWithNullSql() {
         assertThrows(IllegalArgumentException.class, () ->
-            extractor.extractDeleteMetadata(null)
+            extractor.extractDeleteMetadata((String) null)
         );
     }
 
@@ -585,4 +587,21 @@ class DeleteMetadataExtractorTest {
         lenient().when(columnsResultSet.getInt("DATA_TYPE")).thenReturn(sqlType);
         lenient().when(columnsResultSet.getInt("NULLABLE")).thenReturn(1);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testExtractDeleteMetadata_WithSchemaCatalog_ResolvesWithoutDatabaseRoundTrip() throws Exception {
+        SchemaCatalog catalog = SchemaCatalog.of("dbo", List.of(
+            new CatalogColumn("dbo", "customer", "customer_id", 1, "int", Types.INTEGER, 4, 10, 0, false, true, true),
+            new CatalogColumn("dbo", "customer", "store_id", 2, "tinyint", Types.TINYINT, 1, 3, 0, false, false, false)
+        ), Map.of());
+        DeleteMetadataExtractor catalogExtractor = new DeleteMetadataExtractor(dataSource, catalog);
+
+        DeleteMetadata result = catalogExtractor.extractDeleteMetadata("DELETE FROM customer WHERE customer_id = ? AND store_id = ?");
+
+        assertEquals("customer", result.tableName());
+        assertEquals(2, result.whereColumns().size());
+        assertEquals("customer_id", result.whereColumns().get(0).getColumnName());
+        assertEquals("tinyint", result.whereColumns().get(1).getColumnTypeName());
+        verify(dataSource, never()).getConnection();
+    }
+}
@@ -5,9 +5,13 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.sql.*;
+import java.util.List;
+import java.util.Map;
 import javax.sql.DataSource;
 import net.sf.jsqlparser.JSQLParserException;
 import org.junit.jupiter.api.BeforeEach;
@@ -232,7 +236,7 @@ class InsertMetadataExtractorTest {
 
     @Test
     void shouldHandleNullSql() {
-        assertThatThrownBy(() -> extractor.extractInsertMetadata(null))
+        assertThatThrownBy(() -> extractor.extractInsertMetadata((String) null))
             .isInstanceOf(IllegalArgumentException.class);
     }
 
@@ -286,4 +290,39 @@ class InsertMetadataExtractorTest {
         assertThatThrownBy(() -> extractor.extractInsertMetadata(sql))
             .isInstanceOf(JSQLParserException.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldResolveInsertColumnsFromSchemaCatalog() throws Exception {
+        // Given
+        SchemaCatalog catalog = SchemaCatalog.of("dbo", List.of(
+            new CatalogColumn("dbo", "customer", "customer_id", 1, "int", Types.INTEGER, 4, 10, 0, false, true, true),
+            new CatalogColumn("dbo", "customer", "first_name", 2, "varchar", Types.VARCHAR, 45, 0, 0, false, false, false),
+            new CatalogColumn("dbo", "customer", "email", 3, "varchar", Types.VARCHAR, 50, 0, 0, true, false, false)
+        ), Map.of());
+        InsertMetadataExtractor catalogExtractor = new InsertMetadataExtractor(dataSource, catalog);
+
+        // When
+        InsertMetadata result = catalogExtractor.extractInsertMetadata("INSERT INTO \"dbo\".\"customer\" (\"email\", first_name) VALUES (?, ?)");
+
+        // Then
+        assertThat(result.insertColumns()).extracting(ColumnMetadata::getColumnName).containsExactly("email", "first_name");
+        assertThat(result.insertColumns().get(0).getIsNullable()).isEqualTo(1);
+        assertThat(result.insertColumns().get(1).getIsNullable()).isZero();
+        verify(dataSource, never()).getConnection();
+    }
+
+    @Test
+    void shouldFallBackToDatabaseMetadataWhenTableIsNotInSchemaCatalog() throws Exception {
+        // Given
+        SchemaCatalog catalog = SchemaCatalog.of("dbo", List.of(), Map.of());
+        InsertMetadataExtractor catalogExtractor = new InsertMetadataExtractor(dataSource, catalog);
+        setupMockResultSetForTwoColumns();
+
+        // When
+        InsertMetadata result = catalogExtractor.extractInsertMetadata("INSERT INTO product (name, price) VALUES (?, ?)");
+
+        // Then
+        assertThat(result.insertColumns()).hasSize(2);
+        verify(dataSource).getConnection();
+    }
+}
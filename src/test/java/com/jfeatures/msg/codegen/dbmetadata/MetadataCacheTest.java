@@ -0,0 +1,168 @@
+package com.jfeatures.msg.codegen.dbmetadata;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.jfeatures.msg.codegen.domain.DBColumn;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MetadataCacheTest {
+
+    private static final String SCOPE = "jdbc:sqlserver://localhost:1433;databaseName=sakila|dbo";
+    private static final String INSERT_SQL = "INSERT INTO customer (first_name, email) VALUES (?, ?)";
+    private static final String JOIN_SQL = "SELECT * FROM customer c JOIN address a ON c.address_id = a.address_id WHERE c.customer_id = ?";
+
+    @TempDir
+    Path cacheDirectory;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private static Map<String, String> versions(String customerVersion, String addressVersion) {
+        return Map.of("dbo.customer", customerVersion, "dbo.address", addressVersion);
+    }
+
+    private MetadataCache cache(Map<String, String> tableVersions) {
+        return new MetadataCache(cacheDirectory, SCOPE, "dbo", tableVersions);
+    }
+
+    private InsertMetadata loadInsertMetadata() {
+        loads.incrementAndGet();
+        ColumnMetadata firstName = new ColumnMetadata();
+        firstName.setColumnName("first_name");
+        firstName.setColumnTypeName("varchar");
+        firstName.setColumnType(Types.VARCHAR);
+        firstName.setAutoIncrement(false);
+        ColumnMetadata email = new ColumnMetadata();
+        email.setColumnName("email");
+        email.setColumnTypeName("varchar");
+        email.setColumnType(Types.VARCHAR);
+        email.setIsNullable(1);
+        return new InsertMetadata("customer", List.of(firstName, email), INSERT_SQL);
+    }
+
+    private List<DBColumn> loadParameters() {
+        loads.incrementAndGet();
+        return List.of(new DBColumn(null, "customerId", "Integer", "INTEGER"));
+    }
+
+    @Test
+    void testGetOrLoad_SecondRunWithUnchangedTables_IsServedFromDisk() throws Exception {
+        InsertMetadata first = cache(versions("v1", "v1")).getOrLoad(INSERT_SQL, "insert",
+            new TypeReference<InsertMetadata>() { }, this::loadInsertMetadata);
+
+        MetadataCache secondRun = cache(versions("v1", "v1"));
+        InsertMetadata second = secondRun.getOrLoad(INSERT_SQL, "insert",
+            new TypeReference<InsertMetadata>() { }, this::loadInsertMetadata);
+
+        assertEquals(1, loads.get());
+        assertEquals(1, secondRun.hitCount());
+        assertEquals(0, secondRun.missCount());
+        assertEquals(first, second);
+        assertEquals(1, second.insertColumns().get(1).getIsNullable());
+    }
+
+    @Test
+    void testGetOrLoad_ReformattedStatement_SharesEntry() throws Exception {
+        cache(versions("v1", "v1")).getOrLoad(JOIN_SQL, "select-parameters",
+            new TypeReference<List<DBColumn>>() { }, this::loadParameters);
+
+        String reformatted = JOIN_SQL.replace(" WHERE ", "\n  -- by id\n  WHERE ") + ";";
+        List<DBColumn> parameters = cache(versions("v1", "v1")).getOrLoad(reformatted, "select-parameters",
+            new TypeReference<List<DBColumn>>() { }, this::loadParameters);
+
+        assertEquals(1, loads.get());
+        assertEquals("customerId", parameters.get(0).columnName());
+    }
+
+    @Test
+    void testGetOrLoad_ReferencedTableChanged_InvalidatesOnlyAffectedEntries() throws Exception {
+        MetadataCache firstRun = cache(versions("v1", "v1"));
+        firstRun.getOrLoad(INSERT_SQL, "insert", new TypeReference<InsertMetadata>() { }, this::loadInsertMetadata);
+        firstRun.getOrLoad(JOIN_SQL, "select-parameters", new TypeReference<List<DBColumn>>() { }, this::loadParameters);
+        assertEquals(2, loads.get());
+
+        // address changed: the join statement is reloaded, the customer-only insert is still served from disk
+        MetadataCache secondRun = cache(versions("v1", "v2"));
+        secondRun.getOrLoad(INSERT_SQL, "insert", new TypeReference<InsertMetadata>() { }, this::loadInsertMetadata);
+        secondRun.getOrLoad(JOIN_SQL, "select-parameters", new TypeReference<List<DBColumn>>() { }, this::loadParameters);
+
+        assertEquals(3, loads.get());
+        assertEquals(1, secondRun.hitCount());
+        assertEquals(1, secondRun.missCount());
+    }
+
+    @Test
+    void testGetOrLoad_DifferentScope_DoesNotShareEntries() throws Exception {
+        cache(versions("v1", "v1")).getOrLoad(INSERT_SQL, "insert", new TypeReference<InsertMetadata>() { }, this::loadInsertMetadata);
+
+        new MetadataCache(cacheDirectory, "jdbc:sqlserver://other:1433|dbo", "dbo", versions("v1", "v1"))
+            .getOrLoad(INSERT_SQL, "insert", new TypeReference<InsertMetadata>() { }, this::loadInsertMetadata);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testGetOrLoad_UnknownTable_IsNotCached() throws Exception {
+        String sql = "INSERT INTO staff (first_name) VALUES (?)";
+        MetadataCache cache = cache(versions("v1", "v1"));
+
+        cache.getOrLoad(sql, "insert", new TypeReference<InsertMetadata>() { }, this::loadInsertMetadata);
+        cache.getOrLoad(sql, "insert", new TypeReference<InsertMetadata>() { }, this::loadInsertMetadata);
+
+        assertEquals(2, loads.get());
+        try (var files = Files.list(cacheDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testGetOrLoad_CorruptEntry_IsReloadedAndRewritten() throws Exception {
+        MetadataCache cache = cache(versions("v1", "v1"));
+        Path entryFile = cache.entryFile(INSERT_SQL, "insert");
+        Files.createDirectories(cacheDirectory);
+        Files.writeString(entryFile, "{ not json");
+
+        InsertMetadata metadata = cache.getOrLoad(INSERT_SQL, "insert", new TypeReference<InsertMetadata>() { }, this::loadInsertMetadata);
+
+        assertEquals("customer", metadata.tableName());
+        assertEquals(1, loads.get());
+        assertTrue(Files.readString(entryFile).contains("\"formatVersion\":" + MetadataCache.FORMAT_VERSION));
+    }
+
+    @Test
+    void testGetOrLoad_LoaderFailure_PropagatesAndWritesNothing() {
+        MetadataCache cache = cache(versions("v1", "v1"));
+
+        assertThrows(java.sql.SQLException.class, () -> cache.getOrLoad(INSERT_SQL, "insert",
+            new TypeReference<InsertMetadata>() { }, () -> { throw new java.sql.SQLException("Connection refused"); }));
+        assertFalse(Files.exists(cache.entryFile(INSERT_SQL, "insert")));
+    }
+
+    @Test
+    void testDisabled_AlwaysDelegatesToLoader() throws Exception {
+        MetadataCache disabled = MetadataCache.disabled();
+
+        disabled.getOrLoad(INSERT_SQL, "insert", new TypeReference<InsertMetadata>() { }, this::loadInsertMetadata);
+        disabled.getOrLoad(INSERT_SQL, "insert", new TypeReference<InsertMetadata>() { }, this::loadInsertMetadata);
+
+        assertFalse(disabled.isEnabled());
+        assertEquals(2, loads.get());
+        assertEquals(0, disabled.hitCount());
+    }
+
+    @Test
+    void testConstructor_InvalidArguments_ThrowsException() {
+        Map<String, String> tableVersions = Map.of();
+        assertThrows(IllegalArgumentException.class, () -> new MetadataCache(null, SCOPE, "dbo", tableVersions));
+        assertThrows(IllegalArgumentException.class, () -> new MetadataCache(cacheDirectory, null, "dbo", tableVersions));
+        assertThrows(IllegalArgumentException.class, () -> new MetadataCache(cacheDirectory, SCOPE, " ", tableVersions));
+        assertThrows(IllegalArgumentException.class, () -> new MetadataCache(cacheDirectory, SCOPE, "dbo", null));
+    }
+}
@@ -0,0 +1,98 @@
+package com.jfeatures.msg.codegen.dbmetadata;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.jfeatures.msg.codegen.domain.DBColumn;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MetadataFixtureTest {
+
+    private static final String SELECT_SQL = "SELECT * FROM customer WHERE customer_id = ?";
+    private static final String DELETE_SQL = "DELETE FROM rental WHERE rental_id = ?";
+    private static final TypeReference<List<DBColumn>> PARAMETERS = new TypeReference<>() { };
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private List<DBColumn> loadParameters(String name) {
+        loads.incrementAndGet();
+        return List.of(new DBColumn(null, name, "Integer", "INTEGER"));
+    }
+
+    @Test
+    void testRecordThenReplay_ServesRecordedAnswersWithoutLoading() throws Exception {
+        Path fixtureFile = tempDir.resolve("fixtures/customer.json");
+        MetadataFixture recorder = MetadataFixture.recording(fixtureFile, MetadataCache.disabled());
+        recorder.getOrLoad(SELECT_SQL, "select-parameters", PARAMETERS, () -> loadParameters("customerId"));
+        recorder.save();
+
+        MetadataFixture replay = MetadataFixture.replaying(fixtureFile);
+        List<DBColumn> parameters = replay.getOrLoad("SELECT *\n  FROM customer\n WHERE customer_id = ?;",
+            "select-parameters", PARAMETERS, () -> fail("Replay must not load metadata"));
+
+        assertTrue(replay.isReplaying());
+        assertEquals(1, loads.get());
+        assertEquals(List.of(new DBColumn(null, "customerId", "Integer", "INTEGER")), parameters);
+    }
+
+    @Test
+    void testRecording_ExistingFixture_IsExtended() throws Exception {
+        Path fixtureFile = tempDir.resolve("sakila.json");
+        MetadataFixture first = MetadataFixture.recording(fixtureFile, MetadataCache.disabled());
+        first.getOrLoad(SELECT_SQL, "select-parameters", PARAMETERS, () -> loadParameters("customerId"));
+        first.save();
+
+        MetadataFixture second = MetadataFixture.recording(fixtureFile, MetadataCache.disabled());
+        second.getOrLoad(DELETE_SQL, "delete-parameters", PARAMETERS, () -> loadParameters("rentalId"));
+        second.save();
+
+        assertEquals(2, MetadataFixture.replaying(fixtureFile).size());
+        assertTrue(Files.readString(fixtureFile).contains("DELETE FROM rental WHERE rental_id = ?"));
+    }
+
+    @Test
+    void testReplay_UnrecordedStatement_FailsWithDescriptiveError() throws Exception {
+        Path fixtureFile = tempDir.resolve("sakila.json");
+        MetadataFixture recorder = MetadataFixture.recording(fixtureFile, MetadataCache.disabled());
+        recorder.getOrLoad(SELECT_SQL, "select-parameters", PARAMETERS, () -> loadParameters("customerId"));
+        recorder.save();
+
+        MetadataFixture replay = MetadataFixture.replaying(fixtureFile);
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> replay.getOrLoad(DELETE_SQL, "delete-parameters", PARAMETERS, () -> loadParameters("rentalId")));
+
+        assertTrue(exception.getMessage().contains("DELETE FROM rental"));
+        assertTrue(exception.getMessage().contains("--record-metadata"));
+        assertEquals(1, loads.get());
+        assertThrows(IllegalStateException.class, replay::save);
+    }
+
+    @Test
+    void testReplaying_MissingOrInvalidFile_ThrowsException() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> MetadataFixture.replaying(tempDir.resolve("missing.json")));
+
+        Path unsupported = tempDir.resolve("unsupported.json");
+        Files.writeString(unsupported, "{\"formatVersion\": 99, \"entries\": {}}");
+        assertThrows(IllegalArgumentException.class, () -> MetadataFixture.replaying(unsupported));
+
+        Path corrupt = tempDir.resolve("corrupt.json");
+        Files.writeString(corrupt, "{ not json");
+        assertThrows(UncheckedIOException.class, () -> MetadataFixture.replaying(corrupt));
+    }
+
+    @Test
+    void testRecording_NullArguments_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> MetadataFixture.recording(null, MetadataCache.disabled()));
+        assertThrows(IllegalArgumentException.class, () -> MetadataFixture.recording(tempDir.resolve("f.json"), null));
+        assertThrows(IllegalArgumentException.class, () -> MetadataFixture.replaying(null));
+    }
+}
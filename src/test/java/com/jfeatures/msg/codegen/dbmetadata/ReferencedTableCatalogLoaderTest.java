@@ -0,0 +1,121 @@
+package com.jfeatures.msg.codegen.dbmetadata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.jfeatures.msg.codegen.database.EmbeddedSchemaDataSource;
+import com.jfeatures.msg.codegen.domain.TableReference;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReferencedTableCatalogLoaderTest {
+
+    private EmbeddedSchemaDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path ddlFile = Path.of(getClass().getClassLoader().getResource("sakila-test-schema.sql").toURI());
+        dataSource = new EmbeddedSchemaDataSource(ddlFile, "dbo");
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void load_JoinedTables_LoadsEveryReferencedTable() throws Exception {
+        SqlCompilationUnit unit = SqlCompilationUnit.compile("""
+            SELECT c.first_name, a.address, ci.city, co.country
+            FROM customer c
+            JOIN address a ON a.address_id = c.address_id
+            JOIN city ci ON ci.city_id = a.city_id
+            JOIN dbo.country co ON co.country_id = ci.country_id
+            WHERE c.customer_id = ?""");
+
+        SchemaCatalog catalog = new ReferencedTableCatalogLoader(dataSource).load("dbo", unit.tableReferences());
+
+        assertThat(catalog.defaultSchema()).isEqualTo("dbo");
+        assertThat(catalog.tables()).extracting(CatalogTable::tableName)
+            .containsExactly("address", "city", "country", "customer");
+        assertThat(catalog.findColumn(null, "customer", "first_name"))
+            .hasValueSatisfying(column -> {
+                assertThat(column.typeName()).isEqualTo("varchar");
+                assertThat(column.precision()).isEqualTo(45);
+                assertThat(column.maxLength()).isEqualTo(45);
+                assertThat(column.nullable()).isFalse();
+            });
+    }
+
+    @Test
+    void load_DetectsIdentityPrimaryKeyAndIndexes() throws Exception {
+        SchemaCatalog catalog = new ReferencedTableCatalogLoader(dataSource)
+            .load("dbo", List.of(new TableReference("dbo", "customer", "c")));
+
+        CatalogTable customer = catalog.findTable("dbo", "customer").orElseThrow();
+        assertThat(customer.columns()).extracting(CatalogColumn::columnName).startsWith("customer_id", "first_name");
+        assertThat(customer.primaryKeyColumns()).extracting(CatalogColumn::columnName).containsExactly("customer_id");
+        assertThat(customer.findColumn("customer_id")).hasValueSatisfying(column -> {
+            assertThat(column.identity()).isTrue();
+            assertThat(column.typeName()).isEqualTo("int");
+        });
+        assertThat(customer.findColumn("email")).hasValueSatisfying(column -> assertThat(column.nullable()).isTrue());
+        assertThat(customer.indexes())
+            .anySatisfy(index -> {
+                assertThat(index.unique()).isTrue();
+                assertThat(index.keyColumns()).containsExactly("customer_id");
+            });
+    }
+
+    @Test
+    void maxLengthInBytes_ReportsBytesLikeTheCatalogViews() {
+        assertThat(ReferencedTableCatalogLoader.maxLengthInBytes("nvarchar", 50)).isEqualTo(100);
+        assertThat(ReferencedTableCatalogLoader.maxLengthInBytes("NCHAR", 10)).isEqualTo(20);
+        assertThat(ReferencedTableCatalogLoader.maxLengthInBytes("varchar", 45)).isEqualTo(45);
+        assertThat(ReferencedTableCatalogLoader.maxLengthInBytes("nvarchar", 4000)).isEqualTo(8000);
+        assertThat(ReferencedTableCatalogLoader.maxLengthInBytes("nvarchar", 1073741823)).isEqualTo(-1);
+        assertThat(ReferencedTableCatalogLoader.maxLengthInBytes("varbinary", Integer.MAX_VALUE)).isEqualTo(-1);
+    }
+
+    @Test
+    void load_SelfJoinAndUnknownTable_LoadsEachExistingTableOnce() throws Exception {
+        List<TableReference> tables = List.of(
+            new TableReference(null, "customer", "c1"),
+            new TableReference("dbo", "CUSTOMER", "c2"),
+            new TableReference(null, "no_such_table", null));
+
+        SchemaCatalog catalog = new ReferencedTableCatalogLoader(dataSource).load("dbo", tables);
+
+        assertThat(catalog.tableCount()).isEqualTo(1);
+        assertThat(catalog.findTable("dbo", "customer")).isPresent();
+        assertThat(catalog.findTable("dbo", "no_such_table")).isEmpty();
+    }
+
+    @Test
+    void load_FailingLookup_ThrowsSqlException() throws Exception {
+        DataSource failingDataSource = mock(DataSource.class);
+        when(failingDataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        assertThatThrownBy(() -> new ReferencedTableCatalogLoader(failingDataSource)
+            .load("dbo", List.of(new TableReference(null, "customer", null))))
+            .isInstanceOf(SQLException.class)
+            .hasMessage("Connection refused");
+    }
+
+    @Test
+    void invalidArguments_AreRejected() {
+        var loader = new ReferencedTableCatalogLoader(dataSource);
+
+        assertThatThrownBy(() -> new ReferencedTableCatalogLoader(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> loader.load(" ", List.of())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> loader.load("dbo", null)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,217 @@
+package com.jfeatures.msg.codegen.dbmetadata;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+@ExtendWith(MockitoExtension.class)
+class SchemaCatalogLoaderTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private final Map<String, Object> currentRow = new HashMap<>();
+
+    private SchemaCatalogLoader loader;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        loader = new SchemaCatalogLoader(jdbcTemplate);
+        lenient().when(resultSet.getString(anyString())).thenAnswer(inv -> (String) currentRow.get(inv.<String>getArgument(0)));
+        lenient().when(resultSet.getInt(anyString())).thenAnswer(inv -> {
+            Object value = currentRow.get(inv.<String>getArgument(0));
+            return value == null ? 0 : (Integer) value;
+        });
+        lenient().when(resultSet.getBoolean(anyString())).thenAnswer(inv -> Boolean.TRUE.equals(currentRow.get(inv.<String>getArgument(0))));
+    }
+
+    private static Map<String, Object> row(String table, int columnId, String column, String type, boolean nullable,
+                                           String indexName, boolean primaryKey, boolean unique, int keyOrdinal, boolean included) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("schema_name", "dbo");
+        row.put("table_name", table);
+        row.put("column_id", columnId);
+        row.put("column_name", column);
+        row.put("base_type_name", type);
+        row.put("max_length", 4);
+        row.put("precision", 10);
+        row.put("scale", 0);
+        row.put("is_nullable", nullable);
+        row.put("is_identity", primaryKey);
+        row.put("index_name", indexName);
+        row.put("is_primary_key", primaryKey);
+        row.put("is_unique", unique);
+        row.put("index_type", indexName == null ? null : primaryKey ? 1 : 2);
+        row.put("key_ordinal", keyOrdinal);
+        row.put("is_included_column", included);
+        return row;
+    }
+
+    private void stubCatalogRows(List<Map<String, Object>> rows) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Map<String, Object> row : rows) {
+                currentRow.clear();
+                currentRow.putAll(row);
+                handler.processRow(resultSet);
+            }
+            return null;
+        }).when(jdbcTemplate).query(eq(SchemaCatalogLoader.CATALOG_QUERY), any(RowCallbackHandler.class), eq("dbo"));
+    }
+
+    @Test
+    void testLoad_MergesIndexRowsIntoColumnsAndIndexes() {
+        stubCatalogRows(List.of(
+            row("customer", 1, "customer_id", "int", false, "PK_customer", true, true, 1, false),
+            row("customer", 2, "store_id", "tinyint", false, "idx_store_name", false, false, 1, false),
+            row("customer", 3, "last_name", "varchar", false, "idx_store_name", false, false, 2, false),
+            row("customer", 4, "email", "varchar", true, "idx_store_name", false, false, 0, true),
+            row("address", 1, "address_id", "int", false, null, false, false, 0, false)
+        ));
+
+        SchemaCatalog catalog = loader.load("dbo");
+
+        assertEquals("dbo", catalog.defaultSchema());
+        assertEquals(2, catalog.tableCount());
+
+        CatalogTable customer = catalog.findTable(null, "customer").orElseThrow();
+        assertEquals(4, customer.columns().size());
+        assertEquals(List.of("customer_id"), customer.primaryKeyColumns().stream().map(CatalogColumn::columnName).toList());
+        assertEquals(Types.TINYINT, customer.findColumn("store_id").orElseThrow().jdbcType());
+        assertTrue(customer.findColumn("email").orElseThrow().nullable());
+
+        CatalogIndex secondary = customer.indexes().stream()
+            .filter(index -> index.indexName().equals("idx_store_name"))
+            .findFirst()
+            .orElseThrow();
+        assertFalse(secondary.unique());
+        assertFalse(secondary.clustered());
+        assertTrue(customer.indexes().stream().filter(CatalogIndex::primaryKey).allMatch(CatalogIndex::clustered));
+        assertEquals(List.of("store_id", "last_name"), secondary.keyColumns());
+        assertEquals(List.of("email"), secondary.includedColumns());
+
+        assertTrue(catalog.findTable("dbo", "address").orElseThrow().indexes().isEmpty());
+    }
+
+    @Test
+    void testLoad_ColumnInSeveralIndexes_IsRecordedOnceAndKeepsPrimaryKeyFlag() {
+        stubCatalogRows(List.of(
+            row("rental", 1, "rental_id", "int", false, "idx_rental_date", false, true, 2, false),
+            row("rental", 1, "rental_id", "int", false, "PK_rental", true, true, 1, false)
+        ));
+
+        CatalogTable rental = loader.load("dbo").findTable(null, "rental").orElseThrow();
+
+        assertEquals(1, rental.columns().size());
+        assertTrue(rental.findColumn("rental_id").orElseThrow().primaryKey());
+        assertEquals(2, rental.indexes().size());
+    }
+
+    @Test
+    void testLoad_AliasTypeColumn_IsMappedFromItsBaseType() {
+        // AdventureWorks' Person.FirstName is declared as the alias type Name, whose base type is nvarchar
+        stubCatalogRows(List.of(
+            row("person", 1, "first_name", "nvarchar", false, null, false, false, 0, false)
+        ));
+
+        CatalogColumn firstName = loader.load("dbo").findTable(null, "person").orElseThrow()
+            .findColumn("first_name").orElseThrow();
+
+        assertTrue(SchemaCatalogLoader.CATALOG_QUERY.contains("COALESCE(TYPE_NAME(c.system_type_id), TYPE_NAME(c.user_type_id)) AS base_type_name"));
+        assertEquals("nvarchar", firstName.typeName());
+        assertEquals(Types.NVARCHAR, firstName.jdbcType());
+    }
+
+    @Test
+    void testLoad_ClrTypeColumn_KeepsItsUserTypeName() {
+        // Sakila's address.location is geography; TYPE_NAME(240) is NULL, so the user type name is reported instead
+        stubCatalogRows(List.of(
+            row("address", 8, "location", "geography", true, null, false, false, 0, false)
+        ));
+
+        CatalogColumn location = loader.load("dbo").findTable(null, "address").orElseThrow()
+            .findColumn("location").orElseThrow();
+
+        assertTrue(SchemaCatalogLoader.CATALOG_QUERY.contains("TYPE_NAME(c.user_type_id)"));
+        assertEquals("geography", location.typeName());
+        assertEquals(Types.OTHER, location.jdbcType());
+    }
+
+    @Test
+    void testLoad_ComputedAndGeneratedAlwaysColumns_AreFlagged() {
+        Map<String, Object> computed = row("payment", 2, "amount_with_tax", "decimal", true, null, false, false, 0, false);
+        computed.put("is_computed", true);
+        Map<String, Object> periodStart = row("payment", 3, "valid_from", "datetime2", false, null, false, false, 0, false);
+        periodStart.put("generated_always_type", 1);
+        stubCatalogRows(List.of(
+            row("payment", 1, "amount", "decimal", false, null, false, false, 0, false),
+            computed,
+            periodStart
+        ));
+
+        CatalogTable payment = loader.load("dbo").findTable(null, "payment").orElseThrow();
+
+        assertFalse(payment.findColumn("amount").orElseThrow().computed());
+        assertFalse(payment.findColumn("amount").orElseThrow().generatedAlways());
+        assertTrue(payment.findColumn("amount_with_tax").orElseThrow().computed());
+        assertTrue(payment.findColumn("valid_from").orElseThrow().generatedAlways());
+    }
+
+    @Test
+    void testLoad_EmptySchema_ReturnsEmptyCatalog() {
+        stubCatalogRows(List.of());
+
+        SchemaCatalog catalog = loader.load("dbo");
+
+        assertEquals(0, catalog.tableCount());
+        assertTrue(catalog.findTable(null, "customer").isEmpty());
+    }
+
+    @Test
+    void testLoad_DatabaseUnavailable_PropagatesDataAccessException() {
+        doThrow(new CannotGetJdbcConnectionException("Connection refused"))
+            .when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        assertThrows(CannotGetJdbcConnectionException.class, () -> loader.load("dbo"));
+    }
+
+    @Test
+    void testLoad_InvalidSchemaName_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> loader.load(null));
+        assertThrows(IllegalArgumentException.class, () -> loader.load("  "));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testConstructor_NullJdbcTemplate_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new SchemaCatalogLoader(null));
+    }
+
+    @Test
+    void testJdbcTypeFor_MapsSqlServerTypeNames() {
+        assertEquals(Types.INTEGER, SchemaCatalogLoader.jdbcTypeFor("INT"));
+        assertEquals(Types.NVARCHAR, SchemaCatalogLoader.jdbcTypeFor("nvarchar"));
+        assertEquals(Types.DECIMAL, SchemaCatalogLoader.jdbcTypeFor("money"));
+        assertEquals(Types.TIMESTAMP, SchemaCatalogLoader.jdbcTypeFor("datetime2"));
+        assertEquals(Types.OTHER, SchemaCatalogLoader.jdbcTypeFor("geography"));
+        assertEquals(Types.OTHER, SchemaCatalogLoader.jdbcTypeFor(null));
+    }
+}
@@ -0,0 +1,93 @@
+package com.jfeatures.msg.codegen.dbmetadata;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class SchemaCatalogTest {
+
+    private static CatalogColumn column(String table, String name, int ordinal, String type, int jdbcType, boolean primaryKey) {
+        return new CatalogColumn("dbo", table, name, ordinal, type, jdbcType, 4, 10, 0, !primaryKey, primaryKey, primaryKey);
+    }
+
+    private SchemaCatalog sampleCatalog() {
+        List<CatalogColumn> columns = List.of(
+            column("customer", "email", 3, "varchar", Types.VARCHAR, false),
+            column("customer", "customer_id", 1, "int", Types.INTEGER, true),
+            column("customer", "first_name", 2, "varchar", Types.VARCHAR, false),
+            column("address", "address_id", 1, "int", Types.INTEGER, true)
+        );
+        Map<String, List<CatalogIndex>> indexes = Map.of(
+            SchemaCatalog.tableKey("dbo", "customer"),
+            List.of(new CatalogIndex("PK_customer", true, true, true, List.of("customer_id"), List.of()))
+        );
+        return SchemaCatalog.of("dbo", columns, indexes);
+    }
+
+    @Test
+    void testFindTable_WithoutSchema_UsesDefaultSchema() {
+        SchemaCatalog catalog = sampleCatalog();
+
+        assertEquals(2, catalog.tableCount());
+        assertTrue(catalog.findTable(null, "customer").isPresent());
+        assertTrue(catalog.findTable("", "address").isPresent());
+        assertTrue(catalog.findTable("sales", "customer").isEmpty());
+    }
+
+    @Test
+    void testFindTable_QuotedAndMixedCaseNames_AreNormalized() {
+        SchemaCatalog catalog = sampleCatalog();
+
+        assertTrue(catalog.findTable("[dbo]", "[Customer]").isPresent());
+        assertTrue(catalog.findTable("\"DBO\"", "CUSTOMER").isPresent());
+    }
+
+    @Test
+    void testFindColumn_CaseInsensitive_ReturnsColumn() {
+        SchemaCatalog catalog = sampleCatalog();
+
+        CatalogColumn column = catalog.findColumn(null, "customer", "[FIRST_NAME]").orElseThrow();
+
+        assertEquals("first_name", column.columnName());
+        assertEquals(Types.VARCHAR, column.jdbcType());
+        assertTrue(catalog.findColumn(null, "customer", "missing").isEmpty());
+        assertTrue(catalog.findColumn(null, "missing", "first_name").isEmpty());
+    }
+
+    @Test
+    void testCatalogTable_ColumnsAreOrderedByOrdinalPosition() {
+        CatalogTable customer = sampleCatalog().findTable("dbo", "customer").orElseThrow();
+
+        assertEquals(List.of("customer_id", "first_name", "email"),
+            customer.columns().stream().map(CatalogColumn::columnName).toList());
+        assertEquals(List.of("customer_id"),
+            customer.primaryKeyColumns().stream().map(CatalogColumn::columnName).toList());
+        assertEquals(1, customer.indexes().size());
+        assertTrue(sampleCatalog().findTable("dbo", "address").orElseThrow().indexes().isEmpty());
+    }
+
+    @Test
+    void testToColumnMetadata_CopiesCatalogAttributes() {
+        CatalogColumn column = new CatalogColumn("dbo", "payment", "amount", 4, "decimal", Types.DECIMAL, 5, 5, 2, false, false, false);
+
+        ColumnMetadata metadata = column.toColumnMetadata();
+
+        assertEquals("amount", metadata.getColumnName());
+        assertEquals("payment", metadata.getTableName());
+        assertEquals("decimal", metadata.getColumnTypeName());
+        assertEquals(Types.DECIMAL, metadata.getColumnType());
+        assertEquals(5, metadata.getPrecision());
+        assertEquals(2, metadata.getScale());
+        assertEquals(0, metadata.getIsNullable());
+        assertFalse(metadata.isAutoIncrement());
+    }
+
+    @Test
+    void testOf_InvalidArguments_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> SchemaCatalog.of(" ", List.of(), Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> SchemaCatalog.of("dbo", null, Map.of()));
+    }
+}
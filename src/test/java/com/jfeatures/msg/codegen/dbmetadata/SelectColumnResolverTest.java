@@ -0,0 +1,67 @@
+package com.jfeatures.msg.codegen.dbmetadata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class SelectColumnResolverTest {
+
+    private static CatalogColumn column(String table, String name, int ordinal, String type, int jdbcType) {
+        return new CatalogColumn("dbo", table, name, ordinal, type, jdbcType, 4, 10, 0, true, false, false);
+    }
+
+    private final SelectColumnResolver resolver = new SelectColumnResolver(SchemaCatalog.of("dbo", List.of(
+        column("film", "film_id", 1, "int", Types.INTEGER),
+        column("film", "title", 2, "varchar", Types.VARCHAR),
+        column("film", "rental_rate", 3, "decimal", Types.DECIMAL),
+        column("language", "language_id", 1, "tinyint", Types.TINYINT),
+        column("language", "name", 2, "char", Types.CHAR),
+        column("language", "title", 3, "varchar", Types.VARCHAR),
+        column("payment", "payment_id", 1, "int", Types.INTEGER),
+        column("payment", "payment_date", 2, "datetimeoffset", Types.TIMESTAMP_WITH_TIMEZONE)
+    ), Map.of()));
+
+    private List<ColumnMetadata> resolve(String sql) {
+        return resolver.resolveColumns(SqlCompilationUnit.compile(sql)).orElseThrow();
+    }
+
+    @Test
+    void testResolveColumns_PlainColumnsAndAliases() {
+        List<ColumnMetadata> columns = resolve("SELECT f.film_id, f.title AS film_title, l.name FROM film f "
+            + "JOIN language l ON l.language_id = f.film_id WHERE f.film_id = ?");
+
+        assertThat(columns).extracting(ColumnMetadata::getColumnName).containsExactly("film_id", "title", "name");
+        assertThat(columns).extracting(ColumnMetadata::getColumnAlias).containsExactly("film_id", "film_title", "name");
+        assertThat(columns).extracting(ColumnMetadata::getColumnClassName)
+            .containsExactly("java.lang.Integer", "java.lang.String", "java.lang.String");
+    }
+
+    @Test
+    void testResolveColumns_Wildcards_ExpandInOrdinalOrder() {
+        assertThat(resolve("SELECT * FROM dbo.film")).extracting(ColumnMetadata::getColumnName)
+            .containsExactly("film_id", "title", "rental_rate");
+        assertThat(resolve("SELECT l.*, f.rental_rate FROM film f, language l"))
+            .extracting(ColumnMetadata::getColumnClassName)
+            .containsExactly("java.lang.Short", "java.lang.String", "java.lang.String", "java.math.BigDecimal");
+    }
+
+    @Test
+    void testResolveColumns_DateTimeOffset_IsReportedAsTheDriverClass() {
+        assertThat(resolve("SELECT payment_id, payment_date FROM payment"))
+            .extracting(ColumnMetadata::getColumnClassName)
+            .containsExactly("java.lang.Integer", "microsoft.sql.DateTimeOffset");
+    }
+
+    @Test
+    void testResolveColumns_UnresolvableSelects_AreLeftToTheDatabase() {
+        assertThat(resolver.resolveColumns(SqlCompilationUnit.compile("SELECT COUNT(*) FROM film"))).isEmpty();
+        assertThat(resolver.resolveColumns(SqlCompilationUnit.compile("SELECT title FROM film f JOIN language l ON 1 = 1"))).isEmpty();
+        assertThat(resolver.resolveColumns(SqlCompilationUnit.compile("SELECT title FROM rental"))).isEmpty();
+        assertThat(resolver.resolveColumns(SqlCompilationUnit.compile("SELECT x.title FROM (SELECT title FROM film) x"))).isEmpty();
+        assertThat(resolver.resolveColumns(SqlCompilationUnit.compile("UPDATE film SET title = ?"))).isEmpty();
+    }
+}
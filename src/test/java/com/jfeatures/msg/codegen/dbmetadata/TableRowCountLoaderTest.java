@@ -0,0 +1,47 @@
+package com.jfeatures.msg.codegen.dbmetadata;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.ResultSet;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+@ExtendWith(MockitoExtension.class)
+class TableRowCountLoaderTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Test
+    void testLoadRowCounts_KeysByNormalizedTableName() throws Exception {
+        when(resultSet.getString("schema_name")).thenReturn("dbo", "dbo");
+        when(resultSet.getString("table_name")).thenReturn("Customer", "rental");
+        when(resultSet.getLong("row_count")).thenReturn(599L, 16044L);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(resultSet);
+            handler.processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(eq(TableRowCountLoader.ROW_COUNT_QUERY), any(RowCallbackHandler.class), eq("dbo"));
+
+        Map<String, Long> rowCounts = new TableRowCountLoader(jdbcTemplate).loadRowCounts("dbo");
+
+        assertEquals(Map.of("dbo.customer", 599L, "dbo.rental", 16044L), rowCounts);
+    }
+
+    @Test
+    void testInvalidArguments_ThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new TableRowCountLoader(null));
+        assertThrows(IllegalArgumentException.class, () -> new TableRowCountLoader(jdbcTemplate).loadRowCounts(" "));
+    }
+}
@@ -0,0 +1,49 @@
+package com.jfeatures.msg.codegen.dbmetadata;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+@ExtendWith(MockitoExtension.class)
+class TableVersionLoaderTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Test
+    void testLoadTableVersions_KeysByNormalizedTableName() throws Exception {
+        Instant modified = Instant.parse("2024-05-01T10:15:30Z");
+        when(resultSet.getString("schema_name")).thenReturn("dbo", "Sales");
+        when(resultSet.getString("table_name")).thenReturn("Customer", "orders");
+        when(resultSet.getTimestamp("modify_date")).thenReturn(Timestamp.from(modified), (Timestamp) null);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(resultSet);
+            handler.processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(eq(TableVersionLoader.TABLE_VERSION_QUERY), any(RowCallbackHandler.class));
+
+        Map<String, String> versions = new TableVersionLoader(jdbcTemplate).loadTableVersions();
+
+        assertEquals(Map.of("dbo.customer", modified.toString(), "sales.orders", ""), versions);
+    }
+
+    @Test
+    void testConstructor_NullJdbcTemplate_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new TableVersionLoader(null));
+    }
+}
@@ -309,7 +309,7 @@ class UpdateMetadataExtractorTest {
     void testExtractUpdateMetadata_NullSql_ThrowsException() {
         IllegalArgumentException exception = assertThrows(
             IllegalArgumentException.class,
-            () -> extractor.extractUpdateMetadata(null)
+            () -> extractor.extractUpdateMetadata((String) null)
         );
         assertEquals("SQL is not an UPDATE statement", exception.getMessage());
     }
@@ -416,4 +416,55 @@ class UpdateMetadataExtractorTest {
             assertNotNull(e);
         }
     }
+
+    @Test
+    void testExtractUpdateMetadata_WithSchemaCatalog_ResolvesSetColumnsFromCatalog() throws Exception {
+        // Given
+        SchemaCatalog catalog = SchemaCatalog.of("dbo", java.util.List.of(
+            new CatalogColumn("dbo", "customers", "customer_id", 1, "int", Types.INTEGER, 4, 10, 0, false, true, true),
+            new CatalogColumn("dbo", "customers", "customer_name", 2, "nvarchar", Types.NVARCHAR, 90, 0, 0, false, false, false),
+            new CatalogColumn("dbo", "customers", "email", 3, "varchar", Types.VARCHAR, 50, 0, 0, true, false, false)
+        ), java.util.Map.of());
+        UpdateMetadataExtractor catalogExtractor = new UpdateMetadataExtractor(dataSource, catalog);
+        String sql = "UPDATE customers SET customer_name = ?, email = ? WHERE customer_id = ?";
+        setupParameterMetadata(3, 2);
+
+        // When
+        UpdateMetadata result = catalogExtractor.extractUpdateMetadata(sql);
+
+        // Then
+        assertEquals(2, result.setColumns().size());
+        assertEquals("nvarchar", result.setColumns().get(0).getColumnTypeName());
+        assertEquals(Types.NVARCHAR, result.setColumns().get(0).getColumnType());
+        assertEquals(1, result.setColumns().get(1).getIsNullable());
+        assertEquals(1, result.whereColumns().size());
+        assertEquals("customer_id", result.whereColumns().get(0).getColumnName());
+        assertEquals(Types.INTEGER, result.whereColumns().get(0).getColumnType());
+        verify(databaseMetaData, never()).getColumns(any(), any(), any(), any());
+        verify(dataSource, never()).getConnection();
+    }
+
+    @Test
+    void testExtractUpdateMetadata_WithSchemaCatalog_DescribesOnlyUnresolvedWhereParametersWithDriver() throws Exception {
+        // Given
+        SchemaCatalog catalog = SchemaCatalog.of("dbo", java.util.List.of(
+            new CatalogColumn("dbo", "customers", "customer_id", 1, "int", Types.INTEGER, 4, 10, 0, false, true, true),
+            new CatalogColumn("dbo", "customers", "email", 2, "varchar", Types.VARCHAR, 50, 0, 0, true, false, false),
+            new CatalogColumn("dbo", "customers", "created_at", 3, "datetime2", Types.TIMESTAMP, 8, 27, 7, false, false, false)
+        ), java.util.Map.of());
+        UpdateMetadataExtractor catalogExtractor = new UpdateMetadataExtractor(dataSource, catalog);
+        String sql = "UPDATE customers SET email = ? WHERE customer_id = ? AND created_at > ?";
+        setupParameterMetadata(3, 1);
+        when(parameterMetaData.getParameterTypeName(3)).thenReturn("datetime2");
+        when(parameterMetaData.getParameterType(3)).thenReturn(Types.TIMESTAMP);
+
+        // When
+        UpdateMetadata result = catalogExtractor.extractUpdateMetadata(sql);
+
+        // Then
+        assertEquals(2, result.whereColumns().size());
+        assertEquals("customer_id", result.whereColumns().get(0).getColumnName());
+        assertEquals("whereParam2", result.whereColumns().get(1).getColumnName());
+        assertEquals(Types.TIMESTAMP, result.whereColumns().get(1).getColumnType());
+    }
 }
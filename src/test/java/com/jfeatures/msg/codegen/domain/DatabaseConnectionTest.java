@@ -1,8 +1,13 @@
 package com.jfeatures.msg.codegen.domain;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
 
+import java.io.Closeable;
 import javax.sql.DataSource;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -54,4 +59,24 @@ class DatabaseConnectionTest {
         assertThrows(IllegalArgumentException.class,
             () -> new DatabaseConnection(dataSource, jdbcTemplate, null));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldCloseClosableDataSource() throws Exception {
+        // Given
+        DataSource pooledDataSource = mock(DataSource.class, withSettings().extraInterfaces(Closeable.class));
+        DatabaseConnection connection = new DatabaseConnection(pooledDataSource, jdbcTemplate, namedParameterJdbcTemplate);
+
+        // When
+        connection.close();
+
+        // Then
+        verify((Closeable) pooledDataSource).close();
+    }
+
+    @Test
+    void shouldIgnoreCloseForNonClosableDataSource() {
+        // When & Then
+        DatabaseConnection connection = new DatabaseConnection(dataSource, jdbcTemplate, namedParameterJdbcTemplate);
+        assertDoesNotThrow(connection::close);
+    }
+}
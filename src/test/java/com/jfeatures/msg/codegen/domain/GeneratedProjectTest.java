@@ -0,0 +1,63 @@
+package com.jfeatures.msg.codegen.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.jfeatures.msg.codegen.util.SqlStatementType;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeSpec;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class GeneratedProjectTest {
+
+    private static final JavaFile APPLICATION = javaFile("com.jfeatures.msg", "SalesSpringBootApplication");
+
+    @Test
+    void shouldCopyMicroservices() {
+        List<GeneratedMicroservice> microservices = new ArrayList<>(List.of(microservice("Customer"), microservice("Rental")));
+
+        GeneratedProject project = new GeneratedProject("Sales", APPLICATION, "config", microservices);
+        microservices.clear();
+
+        assertThat(project.microservices()).extracting(GeneratedMicroservice::businessDomainName)
+            .containsExactly("Customer", "Rental");
+    }
+
+    @Test
+    void shouldRejectMicroservicesWhosePackagesCollide() {
+        List<GeneratedMicroservice> microservices = List.of(microservice("Customer"), microservice("CUSTOMER"));
+
+        assertThatThrownBy(() -> new GeneratedProject("Sales", APPLICATION, "config", microservices))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("distinct business domain names");
+    }
+
+    @Test
+    void shouldRejectMissingParts() {
+        List<GeneratedMicroservice> microservices = List.of(microservice("Customer"));
+
+        assertThatThrownBy(() -> new GeneratedProject(" ", APPLICATION, "config", microservices))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new GeneratedProject("Sales", null, "config", microservices))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new GeneratedProject("Sales", APPLICATION, "", microservices))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new GeneratedProject("Sales", APPLICATION, "config", List.of()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static GeneratedMicroservice microservice(String businessDomainName) {
+        String packageName = "com.jfeatures.msg." + businessDomainName.toLowerCase();
+        return new GeneratedMicroservice(businessDomainName, APPLICATION,
+            javaFile(packageName + ".dto", businessDomainName + "DTO"),
+            javaFile(packageName + ".controller", businessDomainName + "Controller"),
+            javaFile(packageName + ".dao", businessDomainName + "DAO"),
+            "config", SqlStatementType.SELECT);
+    }
+
+    private static JavaFile javaFile(String packageName, String className) {
+        return JavaFile.builder(packageName, TypeSpec.classBuilder(className).build()).build();
+    }
+}
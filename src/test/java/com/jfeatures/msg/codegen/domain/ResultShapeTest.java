@@ -0,0 +1,24 @@
+package com.jfeatures.msg.codegen.domain;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.OptionalLong;
+import org.junit.jupiter.api.Test;
+
+class ResultShapeTest {
+
+    @Test
+    void testForEstimatedRows_PicksShapeBySize() {
+        assertEquals(ResultShape.LIST, ResultShape.forEstimatedRows(OptionalLong.empty()));
+        assertEquals(ResultShape.LIST, ResultShape.forEstimatedRows(OptionalLong.of(3)));
+        assertEquals(ResultShape.LIST, ResultShape.forEstimatedRows(OptionalLong.of(ResultShape.LIST_MAX_ROWS)));
+        assertEquals(ResultShape.PAGED, ResultShape.forEstimatedRows(OptionalLong.of(ResultShape.LIST_MAX_ROWS + 1)));
+        assertEquals(ResultShape.PAGED, ResultShape.forEstimatedRows(OptionalLong.of(ResultShape.PAGED_MAX_ROWS)));
+        assertEquals(ResultShape.STREAM, ResultShape.forEstimatedRows(OptionalLong.of(3_000_000)));
+    }
+
+    @Test
+    void testForEstimatedRows_NullThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> ResultShape.forEstimatedRows(null));
+    }
+}
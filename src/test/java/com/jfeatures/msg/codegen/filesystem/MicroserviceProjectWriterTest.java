@@ -4,12 +4,20 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import com.jfeatures.msg.codegen.domain.GeneratedMicroservice;
+import com.jfeatures.msg.codegen.domain.GeneratedProject;
 import com.jfeatures.msg.codegen.util.SqlStatementType;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.TypeSpec;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -238,6 +246,262 @@ class MicroserviceProjectWriterTest {
         }
     }
 
+    private static GeneratedMicroservice microservice(String businessDomainName, String daoComment) {
+        String packageName = "com.jfeatures.msg." + businessDomainName.toLowerCase();
+        return new GeneratedMicroservice(
+            businessDomainName,
+            JavaFile.builder(packageName, TypeSpec.classBuilder(businessDomainName + "Application").build()).build(),
+            JavaFile.builder(packageName + ".dto", TypeSpec.classBuilder(businessDomainName + "DTO").build()).build(),
+            JavaFile.builder(packageName + ".controller", TypeSpec.classBuilder(businessDomainName + "Controller").build()).build(),
+            JavaFile.builder(packageName + ".dao", TypeSpec.classBuilder(businessDomainName + "DAO")
+                .addJavadoc(daoComment).build()).build(),
+            "// Database config for " + businessDomainName,
+            SqlStatementType.SELECT);
+    }
+
+    @Test
+    void testWriteMicroserviceProject_UnchangedFiles_AreNotRewritten(@TempDir Path tempDir) throws IOException {
+        writer.writeMicroserviceProject(microservice("Customer", "v1"), tempDir.toString());
+        Path dto = tempDir.resolve("src/main/java/com/jfeatures/msg/customer/dto/CustomerDTO.java");
+        Path dao = tempDir.resolve("src/main/java/com/jfeatures/msg/customer/dao/CustomerDAO.java");
+        Path pom = tempDir.resolve("pom.xml");
+        FileTime past = FileTime.from(Instant.parse("2020-01-01T00:00:00Z"));
+        for (Path file : List.of(dto, dao, pom)) {
+            Files.setLastModifiedTime(file, past);
+        }
+
+        writer.writeMicroserviceProject(microservice("Customer", "v2"), tempDir.toString());
+
+        assertEquals(past, Files.getLastModifiedTime(dto));
+        assertEquals(past, Files.getLastModifiedTime(pom));
+        assertNotEquals(past, Files.getLastModifiedTime(dao));
+        assertTrue(Files.readString(dao).contains("v2"));
+        try (Stream<Path> files = Files.walk(tempDir)) {
+            assertTrue(files.noneMatch(file -> file.getFileName().toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void testWriteMicroserviceProject_FilesNoLongerGenerated_AreDeleted(@TempDir Path tempDir) throws IOException {
+        writer.writeMicroserviceProject(microservice("Customer", "v1"), tempDir.toString());
+        Path ideSettings = tempDir.resolve(".idea/workspace.xml");
+        Files.createDirectories(ideSettings.getParent());
+        Files.writeString(ideSettings, "<project/>");
+
+        writer.writeMicroserviceProject(microservice("Rental", "v1"), tempDir.toString());
+
+        assertFalse(Files.exists(tempDir.resolve("src/main/java/com/jfeatures/msg/customer")));
+        assertFalse(Files.exists(tempDir.resolve("src/main/java/com/jfeatures/customer")));
+        assertTrue(Files.exists(tempDir.resolve("src/main/java/com/jfeatures/msg/rental/dao/RentalDAO.java")));
+        assertTrue(Files.exists(tempDir.resolve("src/main/java/com/jfeatures/rental/config/DatabaseConfig.java")));
+        assertTrue(Files.exists(ideSettings));
+    }
+
+    @Test
+    void testWriteMicroserviceProject_UnchangedReports_AreNotRewritten(@TempDir Path tempDir) throws IOException {
+        Map<String, String> reports = Map.of(
+            "src/test/resources/latency-baseline.json", "{\"p50\": 1}",
+            "src/test/java/com/jfeatures/msg/customer/CustomerLatencyRegressionTest.java", "class CustomerLatencyRegressionTest {}");
+        writer.writeMicroserviceProject(microservice("Customer", "v1"), reports, tempDir.toString());
+        Path baseline = tempDir.resolve("src/test/resources/latency-baseline.json");
+        FileTime past = FileTime.from(Instant.parse("2020-01-01T00:00:00Z"));
+        Files.setLastModifiedTime(baseline, past);
+
+        writer.writeMicroserviceProject(microservice("Customer", "v1"), reports, tempDir.toString());
+
+        assertEquals(past, Files.getLastModifiedTime(baseline));
+        assertTrue(Files.readAllLines(tempDir.resolve(MicroserviceProjectWriter.GENERATED_FILES_MANIFEST))
+            .containsAll(reports.keySet()));
+    }
+
+    @Test
+    void testWriteMicroserviceProject_ReportsNoLongerRequested_AreDeleted(@TempDir Path tempDir) throws IOException {
+        Path regressionTest = tempDir.resolve("src/test/java/com/jfeatures/msg/customer/CustomerLatencyRegressionTest.java");
+        Path baseline = tempDir.resolve("src/test/resources/latency-baseline.json");
+        writer.writeMicroserviceProject(microservice("Customer", "v1"), Map.of(
+            "src/test/resources/latency-baseline.json", "{}",
+            "src/test/java/com/jfeatures/msg/customer/CustomerLatencyRegressionTest.java", "class CustomerLatencyRegressionTest {}"),
+            tempDir.toString());
+        Path handWrittenTest = tempDir.resolve("src/test/java/com/jfeatures/msg/customer/CustomerControllerTest.java");
+        Files.writeString(handWrittenTest, "class CustomerControllerTest {}");
+
+        writer.writeMicroserviceProject(microservice("Customer", "v1"), Map.of(), tempDir.toString());
+
+        assertFalse(Files.exists(regressionTest));
+        assertFalse(Files.exists(baseline));
+        assertFalse(Files.exists(tempDir.resolve("src/test/resources")));
+        assertTrue(Files.exists(handWrittenTest));
+    }
+
+    @Test
+    void testWriteMicroserviceProject_ReportsOfGenerationWithoutManifest_AreDeleted(@TempDir Path tempDir) throws IOException {
+        Path regressionTest = tempDir.resolve("src/test/java/com/jfeatures/msg/customer/CustomerLatencyRegressionTest.java");
+        Path baseline = tempDir.resolve("src/test/resources/latency-baseline.json");
+        Files.createDirectories(regressionTest.getParent());
+        Files.writeString(regressionTest, "class CustomerLatencyRegressionTest {}");
+        Files.createDirectories(baseline.getParent());
+        Files.writeString(baseline, "{}");
+        Path report = tempDir.resolve("PERFORMANCE_REPORT.md");
+        Files.writeString(report, "# Plan");
+        Path indexScript = tempDir.resolve("db/recommended-indexes.sql");
+        Files.createDirectories(indexScript.getParent());
+        Files.writeString(indexScript, "-- no recommendations");
+
+        writer.writeMicroserviceProject(microservice("Customer", "v1"), tempDir.toString());
+
+        assertFalse(Files.exists(report));
+        assertFalse(Files.exists(indexScript));
+        assertFalse(Files.exists(regressionTest));
+        assertFalse(Files.exists(baseline));
+    }
+
+    @Test
+    void testWriteMicroserviceProject_PerformanceReport_IsRewrittenOnlyWhileRequestedAndChanged(@TempDir Path tempDir)
+            throws IOException {
+        Path report = tempDir.resolve("PERFORMANCE_REPORT.md");
+        writer.writeMicroserviceProject(microservice("Customer", "v1"),
+            Map.of("PERFORMANCE_REPORT.md", "# Plan v1"), tempDir.toString());
+        FileTime past = FileTime.from(Instant.parse("2020-01-01T00:00:00Z"));
+        Files.setLastModifiedTime(report, past);
+
+        writer.writeMicroserviceProject(microservice("Customer", "v1"),
+            Map.of("PERFORMANCE_REPORT.md", "# Plan v1"), tempDir.toString());
+        assertEquals(past, Files.getLastModifiedTime(report));
+
+        writer.writeMicroserviceProject(microservice("Customer", "v1"), Map.of(), tempDir.toString());
+        assertFalse(Files.exists(report));
+    }
+
+    @Test
+    void testWriteMicroserviceProject_IndexScriptNoLongerRequested_IsDeletedWithItsDirectory(@TempDir Path tempDir)
+            throws IOException {
+        writer.writeMicroserviceProject(microservice("Customer", "v1"),
+            Map.of("db/recommended-indexes.sql", "CREATE INDEX IX_customer_email ON dbo.customer (email);"),
+            tempDir.toString());
+        assertTrue(Files.exists(tempDir.resolve("db/recommended-indexes.sql")));
+
+        writer.writeMicroserviceProject(microservice("Customer", "v1"), Map.of(), tempDir.toString());
+
+        assertFalse(Files.exists(tempDir.resolve("db")));
+    }
+
+    @Test
+    void testDeleteGeneratedProject_DeletesGeneratedFilesAndEmptiedProject(@TempDir Path tempDir) throws IOException {
+        Path project = tempDir.resolve("customer");
+        writer.writeMicroserviceProject(microservice("Customer", "v1"),
+            Map.of("PERFORMANCE_REPORT.md", "# Plan"), project.toString());
+
+        assertTrue(writer.deleteGeneratedProject(project.toString()) > 0);
+
+        assertFalse(Files.exists(project));
+    }
+
+    @Test
+    void testDeleteGeneratedProject_KeepsFilesThatWereNotGenerated(@TempDir Path tempDir) throws IOException {
+        Path project = tempDir.resolve("customer");
+        writer.writeMicroserviceProject(microservice("Customer", "v1"), project.toString());
+        Path handWrittenTest = project.resolve("src/test/java/com/jfeatures/msg/customer/CustomerControllerTest.java");
+        Files.createDirectories(handWrittenTest.getParent());
+        Files.writeString(handWrittenTest, "class CustomerControllerTest {}");
+
+        writer.deleteGeneratedProject(project.toString());
+
+        assertTrue(Files.exists(handWrittenTest));
+        assertFalse(Files.exists(project.resolve("pom.xml")));
+        assertFalse(Files.exists(project.resolve("src/main")));
+        assertFalse(Files.exists(project.resolve(MicroserviceProjectWriter.GENERATED_FILES_MANIFEST)));
+    }
+
+    @Test
+    void testDeleteGeneratedProject_WithoutManifest_LeavesProjectUntouched(@TempDir Path tempDir) throws IOException {
+        Path pom = Files.writeString(tempDir.resolve("pom.xml"), "<project/>");
+
+        assertEquals(0, writer.deleteGeneratedProject(tempDir.toString()));
+
+        assertTrue(Files.exists(pom));
+    }
+
+    @Test
+    void testRenderMicroserviceProject_ReturnsRelativePathsWithoutWriting() throws IOException {
+        Map<String, byte[]> projectFiles = writer.renderMicroserviceProject(microservice("Customer", "v1"));
+
+        assertTrue(projectFiles.containsKey("pom.xml"));
+        assertTrue(projectFiles.containsKey("src/main/resources/application.properties"));
+        assertTrue(projectFiles.containsKey("src/main/java/com/jfeatures/msg/customer/dao/CustomerDAO.java"));
+        assertTrue(projectFiles.containsKey("src/main/java/com/jfeatures/customer/config/DatabaseConfig.java"));
+        assertTrue(new String(projectFiles.get("src/main/java/com/jfeatures/msg/customer/dao/CustomerDAO.java"),
+                              StandardCharsets.UTF_8).contains("v1"));
+        assertFalse(Files.exists(Path.of("src/main/java/com/jfeatures/msg/customer")));
+    }
+
+    @Test
+    void testRenderMicroserviceProject_NullMicroservice() {
+        assertThrows(IllegalArgumentException.class, () -> writer.renderMicroserviceProject(null));
+    }
+
+    @Test
+    void testWriteMicroserviceProject_ToSink_StreamsEveryFileOnce() throws IOException {
+        Map<String, byte[]> streamedFiles = new LinkedHashMap<>();
+        writer.writeMicroserviceProject(microservice("Customer", "v1"), (relativePath, content) -> {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            content.writeTo(buffer);
+            assertNull(streamedFiles.put(relativePath, buffer.toByteArray()), "Streamed twice: " + relativePath);
+        });
+
+        Map<String, byte[]> renderedFiles = writer.renderMicroserviceProject(microservice("Customer", "v1"));
+        assertEquals(renderedFiles.keySet(), streamedFiles.keySet());
+        renderedFiles.forEach((path, content) -> assertArrayEquals(content, streamedFiles.get(path), path));
+    }
+
+    @Test
+    void testWriteMicroserviceProject_NullSink() {
+        assertThrows(IllegalArgumentException.class,
+            () -> writer.writeMicroserviceProject(microservice("Customer", "v1"), (ProjectOutputSink) null));
+    }
+
+    private static GeneratedProject project(GeneratedMicroservice... microservices) {
+        return new GeneratedProject("Sales",
+            JavaFile.builder("com.jfeatures.msg", TypeSpec.classBuilder("SalesSpringBootApplication").build()).build(),
+            "// Database config for Sales", List.of(microservices));
+    }
+
+    @Test
+    void testRenderProject_SharesApplicationAndConfigAcrossMicroservices() throws IOException {
+        Map<String, byte[]> projectFiles = writer.renderProject(
+            project(microservice("Customer", "v1"), microservice("Rental", "v1")));
+
+        assertTrue(projectFiles.containsKey("pom.xml"));
+        assertTrue(projectFiles.containsKey("src/main/java/com/jfeatures/msg/SalesSpringBootApplication.java"));
+        assertTrue(projectFiles.containsKey("src/main/java/com/jfeatures/msg/customer/dao/CustomerDAO.java"));
+        assertTrue(projectFiles.containsKey("src/main/java/com/jfeatures/msg/rental/controller/RentalController.java"));
+        assertEquals("// Database config for Sales", new String(
+            projectFiles.get("src/main/java/com/jfeatures/sales/config/DatabaseConfig.java"), StandardCharsets.UTF_8));
+        assertEquals(1, projectFiles.keySet().stream().filter(path -> path.endsWith("DatabaseConfig.java")).count());
+        assertEquals(1, projectFiles.keySet().stream().filter(path -> path.endsWith("Application.java")).count());
+    }
+
+    @Test
+    void testWriteProject_StatementsRemovedFromScript_AreDeleted(@TempDir Path tempDir) throws IOException {
+        writer.writeProject(project(microservice("Customer", "v1"), microservice("Rental", "v1")), tempDir.toString());
+        Path rentalDao = tempDir.resolve("src/main/java/com/jfeatures/msg/rental/dao/RentalDAO.java");
+        assertTrue(Files.exists(rentalDao));
+
+        writer.writeProject(project(microservice("Customer", "v1")), tempDir.toString());
+
+        assertFalse(Files.exists(rentalDao));
+        assertTrue(Files.exists(tempDir.resolve("src/main/java/com/jfeatures/msg/customer/dao/CustomerDAO.java")));
+        assertTrue(Files.exists(tempDir.resolve("src/main/java/com/jfeatures/sales/config/DatabaseConfig.java")));
+    }
+
+    @Test
+    void testWriteProject_InvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> writer.writeProject(null, "/tmp/generated"));
+        assertThrows(IllegalArgumentException.class,
+            () -> writer.writeProject(project(microservice("Customer", "v1")), (ProjectOutputSink) null));
+        assertThrows(IllegalArgumentException.class,
+            () -> writer.writeProject(project(microservice("Customer", "v1")), "../../../etc"));
+    }
+
     @Test
     void testPathSecurity_DirectoryTraversalWithForwardSlash() {
         IllegalArgumentException exception = assertThrows(
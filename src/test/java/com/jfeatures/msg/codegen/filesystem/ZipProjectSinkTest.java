@@ -0,0 +1,78 @@
+package com.jfeatures.msg.codegen.filesystem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.jupiter.api.Test;
+
+class ZipProjectSinkTest {
+
+    private static Map<String, String> readEntries(byte[] archive) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            for (ZipEntry entry = zipInputStream.getNextEntry(); entry != null; entry = zipInputStream.getNextEntry()) {
+                entries.put(entry.getName(), new String(zipInputStream.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+    @Test
+    void writeFile_PutsEveryFileUnderTheRootDirectory() throws IOException {
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipProjectSink sink = new ZipProjectSink(archive, "customer")) {
+            sink.writeFile("pom.xml", out -> out.write("<project/>".getBytes(StandardCharsets.UTF_8)));
+            sink.writeFile("src/main/java/App.java", out -> out.write("class App {}".getBytes(StandardCharsets.UTF_8)));
+        }
+
+        assertThat(readEntries(archive.toByteArray())).containsExactly(
+            Map.entry("customer/pom.xml", "<project/>"),
+            Map.entry("customer/src/main/java/App.java", "class App {}"));
+    }
+
+    @Test
+    void writeFile_ContentWriterClosingItsStream_DoesNotEndTheArchive() throws IOException {
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipProjectSink sink = new ZipProjectSink(archive, "customer")) {
+            sink.writeFile("a.txt", out -> {
+                out.write('a');
+                out.close();
+            });
+            sink.writeFile("b.txt", out -> out.write('b'));
+        }
+
+        assertThat(readEntries(archive.toByteArray())).containsExactly(
+            Map.entry("customer/a.txt", "a"),
+            Map.entry("customer/b.txt", "b"));
+    }
+
+    @Test
+    void close_LeavesTheTargetStreamOpen() throws IOException {
+        boolean[] closed = {false};
+        ByteArrayOutputStream archive = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        new ZipProjectSink(archive, "customer").close();
+
+        assertThat(closed[0]).isFalse();
+        assertThat(readEntries(archive.toByteArray())).isEmpty();
+    }
+
+    @Test
+    void constructor_WithInvalidArguments_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> new ZipProjectSink(null, "customer")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ZipProjectSink(new ByteArrayOutputStream(), " ")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -8,6 +8,7 @@ import com.jfeatures.msg.codegen.ParameterMetadataExtractor;
 import com.jfeatures.msg.codegen.domain.DBColumn;
 import com.jfeatures.msg.codegen.domain.DatabaseConnection;
 import com.jfeatures.msg.codegen.domain.GeneratedMicroservice;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
 import com.jfeatures.msg.codegen.util.SqlStatementType;
 import java.sql.SQLException;
 import java.util.Arrays;
@@ -56,7 +57,7 @@ class DeleteMicroserviceGeneratorTest {
         String businessDomainName = "Customer";
         
         try (var mockedConstruction = mockConstruction(ParameterMetadataExtractor.class, (mock, context) -> {
-            when(mock.extractParameters(sql)).thenReturn(mockParameters);
+            when(mock.extractParameters(SqlCompilationUnit.compile(sql))).thenReturn(mockParameters);
         })) {
             
             // When
@@ -75,7 +76,7 @@ class DeleteMicroserviceGeneratorTest {
             // Verify interactions with constructed mock
             var constructedMocks = mockedConstruction.constructed();
             assertEquals(1, constructedMocks.size());
-            verify(constructedMocks.get(0)).extractParameters(sql);
+            verify(constructedMocks.get(0)).extractParameters(SqlCompilationUnit.compile(sql));
         }
     }
     
@@ -178,7 +179,7 @@ class DeleteMicroserviceGeneratorTest {
         List<DBColumn> emptyParameters = Collections.emptyList();
         
         try (var mockedConstruction = mockConstruction(ParameterMetadataExtractor.class, (mock, context) -> {
-            when(mock.extractParameters(sql)).thenReturn(emptyParameters);
+            when(mock.extractParameters(SqlCompilationUnit.compile(sql))).thenReturn(emptyParameters);
         })) {
             
             // When & Then
@@ -190,7 +191,7 @@ class DeleteMicroserviceGeneratorTest {
             assertEquals("Delete metadata must have at least one WHERE column", exception.getMessage());
             var constructedMocks = mockedConstruction.constructed();
             assertEquals(1, constructedMocks.size());
-            verify(constructedMocks.get(0)).extractParameters(sql);
+            verify(constructedMocks.get(0)).extractParameters(SqlCompilationUnit.compile(sql));
         }
     }
     
@@ -215,7 +216,7 @@ class DeleteMicroserviceGeneratorTest {
         
         try (var mockedConstruction = mockConstruction(ParameterMetadataExtractor.class, (mock, context) -> {
             
-            when(mock.extractParameters(complexSql)).thenReturn(complexParameters);
+            when(mock.extractParameters(SqlCompilationUnit.compile(complexSql))).thenReturn(complexParameters);
         })) {
             
             // When
@@ -228,7 +229,7 @@ class DeleteMicroserviceGeneratorTest {
             
             var constructedMocks = mockedConstruction.constructed();
             assertEquals(1, constructedMocks.size());
-            verify(constructedMocks.get(0)).extractParameters(complexSql);
+            verify(constructedMocks.get(0)).extractParameters(SqlCompilationUnit.compile(complexSql));
         }
     }
     
@@ -249,7 +250,7 @@ class DeleteMicroserviceGeneratorTest {
         
         try (var mockedConstruction = mockConstruction(ParameterMetadataExtractor.class, (mock, context) -> {
             
-            when(mock.extractParameters(subquerySql)).thenReturn(subqueryParameters);
+            when(mock.extractParameters(SqlCompilationUnit.compile(subquerySql))).thenReturn(subqueryParameters);
         })) {
             
             // When
@@ -262,7 +263,7 @@ class DeleteMicroserviceGeneratorTest {
             
             var constructedMocks = mockedConstruction.constructed();
             assertEquals(1, constructedMocks.size());
-            verify(constructedMocks.get(0)).extractParameters(subquerySql);
+            verify(constructedMocks.get(0)).extractParameters(SqlCompilationUnit.compile(subquerySql));
         }
     }
     
@@ -275,7 +276,7 @@ class DeleteMicroserviceGeneratorTest {
         
         try (var mockedConstruction = mockConstruction(ParameterMetadataExtractor.class, (mock, context) -> {
             
-            when(mock.extractParameters(sql)).thenThrow(sqlException);
+            when(mock.extractParameters(SqlCompilationUnit.compile(sql))).thenThrow(sqlException);
         })) {
             
             // When & Then
@@ -287,7 +288,7 @@ class DeleteMicroserviceGeneratorTest {
             assertEquals("Failed to extract parameters", exception.getMessage());
             var constructedMocks = mockedConstruction.constructed();
             assertEquals(1, constructedMocks.size());
-            verify(constructedMocks.get(0)).extractParameters(sql);
+            verify(constructedMocks.get(0)).extractParameters(SqlCompilationUnit.compile(sql));
         }
     }
     
@@ -317,7 +318,7 @@ class DeleteMicroserviceGeneratorTest {
         
         try (var mockedConstruction = mockConstruction(ParameterMetadataExtractor.class, (mock, context) -> {
             
-            when(mock.extractParameters(sql)).thenReturn(Collections.emptyList());
+            when(mock.extractParameters(SqlCompilationUnit.compile(sql))).thenReturn(Collections.emptyList());
         })) {
             
             // When & Then
@@ -342,7 +343,7 @@ class DeleteMicroserviceGeneratorTest {
         
         try (var mockedConstruction = mockConstruction(ParameterMetadataExtractor.class, (mock, context) -> {
             
-            when(mock.extractParameters(sql)).thenReturn(singleParameter);
+            when(mock.extractParameters(SqlCompilationUnit.compile(sql))).thenReturn(singleParameter);
         })) {
             
             // When
@@ -355,7 +356,7 @@ class DeleteMicroserviceGeneratorTest {
             
             var constructedMocks = mockedConstruction.constructed();
             assertEquals(1, constructedMocks.size());
-            verify(constructedMocks.get(0)).extractParameters(sql);
+            verify(constructedMocks.get(0)).extractParameters(SqlCompilationUnit.compile(sql));
         }
     }
 }
\ No newline at end of file
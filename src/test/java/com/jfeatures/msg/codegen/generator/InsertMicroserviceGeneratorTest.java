@@ -9,6 +9,7 @@ import com.jfeatures.msg.codegen.dbmetadata.InsertMetadata;
 import com.jfeatures.msg.codegen.dbmetadata.InsertMetadataExtractor;
 import com.jfeatures.msg.codegen.domain.DatabaseConnection;
 import com.jfeatures.msg.codegen.domain.GeneratedMicroservice;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
 import com.jfeatures.msg.codegen.util.SqlStatementType;
 import java.util.List;
 import javax.sql.DataSource;
@@ -75,7 +76,7 @@ class InsertMicroserviceGeneratorTest {
         String businessDomainName = "Customer";
         
         try (var mockedConstruction = mockConstruction(InsertMetadataExtractor.class, (mock, context) -> {
-            when(mock.extractInsertMetadata(sql)).thenReturn(insertMetadata);
+            when(mock.extractInsertMetadata(SqlCompilationUnit.compile(sql))).thenReturn(insertMetadata);
         })) {
             
             // When
@@ -94,7 +95,7 @@ class InsertMicroserviceGeneratorTest {
             // Verify interactions with the constructed mock
             var constructedMocks = mockedConstruction.constructed();
             assertEquals(1, constructedMocks.size());
-            verify(constructedMocks.get(0)).extractInsertMetadata(sql);
+            verify(constructedMocks.get(0)).extractInsertMetadata(SqlCompilationUnit.compile(sql));
         }
     }
     
@@ -182,7 +183,7 @@ class InsertMicroserviceGeneratorTest {
         RuntimeException metadataException = new RuntimeException("Failed to extract insert metadata");
         
         try (var mockedConstruction = mockConstruction(InsertMetadataExtractor.class, (mock, context) -> {
-            when(mock.extractInsertMetadata(sql)).thenThrow(metadataException);
+            when(mock.extractInsertMetadata(SqlCompilationUnit.compile(sql))).thenThrow(metadataException);
         })) {
             
             // When & Then
@@ -194,7 +195,7 @@ class InsertMicroserviceGeneratorTest {
             assertEquals("Failed to extract insert metadata", exception.getMessage());
             var constructedMocks = mockedConstruction.constructed();
             assertEquals(1, constructedMocks.size());
-            verify(constructedMocks.get(0)).extractInsertMetadata(sql);
+            verify(constructedMocks.get(0)).extractInsertMetadata(SqlCompilationUnit.compile(sql));
         }
     }
     
@@ -208,7 +209,7 @@ class InsertMicroserviceGeneratorTest {
         String businessDomainName = "Customer";
         
         try (var mockedConstruction = mockConstruction(InsertMetadataExtractor.class, (mock, context) -> {
-            when(mock.extractInsertMetadata(complexSql)).thenReturn(insertMetadata);
+            when(mock.extractInsertMetadata(SqlCompilationUnit.compile(complexSql))).thenReturn(insertMetadata);
         })) {
             
             // When
@@ -221,7 +222,7 @@ class InsertMicroserviceGeneratorTest {
             
             var constructedMocks = mockedConstruction.constructed();
             assertEquals(1, constructedMocks.size());
-            verify(constructedMocks.get(0)).extractInsertMetadata(complexSql);
+            verify(constructedMocks.get(0)).extractInsertMetadata(SqlCompilationUnit.compile(complexSql));
         }
     }
     
@@ -235,7 +236,7 @@ class InsertMicroserviceGeneratorTest {
         String businessDomainName = "Customer";
         
         try (var mockedConstruction = mockConstruction(InsertMetadataExtractor.class, (mock, context) -> {
-            when(mock.extractInsertMetadata(namedParamSql)).thenReturn(insertMetadata);
+            when(mock.extractInsertMetadata(SqlCompilationUnit.compile(namedParamSql))).thenReturn(insertMetadata);
         })) {
             
             // When
@@ -248,7 +249,7 @@ class InsertMicroserviceGeneratorTest {
             
             var constructedMocks = mockedConstruction.constructed();
             assertEquals(1, constructedMocks.size());
-            verify(constructedMocks.get(0)).extractInsertMetadata(namedParamSql);
+            verify(constructedMocks.get(0)).extractInsertMetadata(SqlCompilationUnit.compile(namedParamSql));
         }
     }
     
@@ -270,7 +271,7 @@ class InsertMicroserviceGeneratorTest {
         when(complexInsertMetadata.insertColumns()).thenReturn(List.of(mockColumn));
         
         try (var mockedConstruction = mockConstruction(InsertMetadataExtractor.class, (mock, context) -> {
-            when(mock.extractInsertMetadata(sql)).thenReturn(complexInsertMetadata);
+            when(mock.extractInsertMetadata(SqlCompilationUnit.compile(sql))).thenReturn(complexInsertMetadata);
         })) {
             
             // When
@@ -283,7 +284,7 @@ class InsertMicroserviceGeneratorTest {
             
             var constructedMocks = mockedConstruction.constructed();
             assertEquals(1, constructedMocks.size());
-            verify(constructedMocks.get(0)).extractInsertMetadata(sql);
+            verify(constructedMocks.get(0)).extractInsertMetadata(SqlCompilationUnit.compile(sql));
             verify(complexInsertMetadata, atLeastOnce()).tableName();
         }
     }
@@ -0,0 +1,81 @@
+package com.jfeatures.msg.codegen.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.jfeatures.msg.codegen.domain.BatchGenerationResult;
+import com.jfeatures.msg.codegen.util.SqlStatementType;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class MicroserviceBatchGeneratorTest {
+
+    private static final Path DESTINATION = Paths.get("/tmp/generated");
+
+    @Test
+    void testGenerateAll_ReportsEveryFileInInputOrder() throws InterruptedException {
+        List<Path> sqlFiles = List.of(Paths.get("sql/customer_insert.sql"), Paths.get("sql/broken.sql"),
+                                      Paths.get("sql/film_select.sql"));
+
+        List<BatchGenerationResult> results = new MicroserviceBatchGenerator(2).generateAll(sqlFiles, DESTINATION,
+            (sqlFile, businessDomainName, destination) -> {
+                if (businessDomainName.equals("Broken")) {
+                    throw new IllegalArgumentException("Unknown or unsupported SQL statement type");
+                }
+                return SqlStatementType.SELECT;
+            });
+
+        assertThat(results).extracting(BatchGenerationResult::sqlFile).containsExactlyElementsOf(sqlFiles);
+        assertThat(results).extracting(BatchGenerationResult::succeeded).containsExactly(true, false, true);
+        assertThat(results.get(0).businessDomainName()).isEqualTo("CustomerInsert");
+        assertThat(results.get(0).destination()).isEqualTo(DESTINATION.resolve("customer_insert"));
+        assertThat(results.get(1).errorMessage()).contains("Unknown or unsupported");
+        assertThat(results.get(1).statementType()).isNull();
+    }
+
+    @Test
+    void testGenerateAll_BoundsConcurrencyByJobs() throws InterruptedException {
+        List<Path> sqlFiles = IntStream.range(0, 12).mapToObj(i -> Paths.get("query_" + i + ".sql")).toList();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<BatchGenerationResult> results = new MicroserviceBatchGenerator(3).generateAll(sqlFiles, DESTINATION,
+            (sqlFile, businessDomainName, destination) -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(20);
+                running.decrementAndGet();
+                return SqlStatementType.SELECT;
+            });
+
+        assertThat(results).allMatch(BatchGenerationResult::succeeded);
+        assertThat(maxRunning.get()).isBetween(1, 3);
+    }
+
+    @Test
+    void testGenerateAll_SameFileNameInTwoDirectories_IsRejected() {
+        List<Path> sqlFiles = List.of(Paths.get("a/customer.sql"), Paths.get("b/Customer.sql"));
+        MicroserviceBatchGenerator batchGenerator = new MicroserviceBatchGenerator(1);
+
+        assertThatThrownBy(() -> batchGenerator.generateAll(sqlFiles, DESTINATION, (sqlFile, name, destination) -> null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("same directory");
+    }
+
+    @Test
+    void testBusinessDomainNameFor_DerivesValidName() {
+        assertThat(MicroserviceBatchGenerator.businessDomainNameFor(Paths.get("customer_orders.sql"))).isEqualTo("CustomerOrders");
+        assertThat(MicroserviceBatchGenerator.businessDomainNameFor(Paths.get("01-film.rental.sql"))).isEqualTo("FilmRental");
+        assertThat(MicroserviceBatchGenerator.businessDomainNameFor(Paths.get("rentalHistory.sql"))).isEqualTo("RentalHistory");
+        assertThatThrownBy(() -> MicroserviceBatchGenerator.businessDomainNameFor(Paths.get("2024.sql")))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testConstructor_NonPositiveJobs_Throws() {
+        assertThatThrownBy(() -> new MicroserviceBatchGenerator(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,106 @@
+package com.jfeatures.msg.codegen.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.jfeatures.msg.codegen.dbmetadata.CatalogColumn;
+import com.jfeatures.msg.codegen.dbmetadata.CatalogTable;
+import com.jfeatures.msg.codegen.dbmetadata.SchemaCatalog;
+import com.jfeatures.msg.codegen.domain.CrudGenerationResult;
+import com.jfeatures.msg.codegen.util.SqlStatementDetector;
+import com.jfeatures.msg.codegen.util.SqlStatementType;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SchemaCrudGeneratorTest {
+
+    private static final Path DESTINATION = Paths.get("/tmp/generated");
+
+    private static CatalogColumn column(String schema, String table, String name, int ordinal, boolean primaryKey) {
+        return new CatalogColumn(schema, table, name, ordinal, "int", Types.INTEGER, 4, 10, 0, !primaryKey, false, primaryKey);
+    }
+
+    private static SchemaCatalog sakila() {
+        return SchemaCatalog.of("sakila", List.of(
+            column("sakila", "film", "film_id", 1, true),
+            column("sakila", "film", "language_id", 2, false),
+            column("sakila", "actor_film", "actor_id", 1, true),
+            column("sakila", "actor_film", "film_id", 2, true),
+            column("sakila", "film_list", "film_id", 1, false),
+            column("dbo", "customer", "customer_id", 1, true)
+        ), Map.of());
+    }
+
+    @Test
+    void testTablesOf_KeepsKeyedTablesOfTheSchemaSortedByName() {
+        List<CatalogTable> tables = SchemaCrudGenerator.tablesOf(sakila(), "SAKILA");
+
+        assertThat(tables).extracting(CatalogTable::tableName).containsExactly("actor_film", "film");
+    }
+
+    @Test
+    void testGenerateAll_GeneratesEachSupportedOperationPerTable() throws InterruptedException {
+        List<String> generatedSql = new ArrayList<>();
+
+        List<CrudGenerationResult> results = new SchemaCrudGenerator(2).generateAll(
+            SchemaCrudGenerator.tablesOf(sakila(), "sakila"), DESTINATION,
+            (operation, unit, businessDomainName, destination) -> {
+                assertThat(SqlStatementDetector.detectStatementType(unit)).isEqualTo(operation);
+                synchronized (generatedSql) {
+                    generatedSql.add(unit.sql());
+                }
+                if (operation == SqlStatementType.DELETE && businessDomainName.equals("Film")) {
+                    throw new IllegalStateException("Disk full");
+                }
+            });
+
+        // actor_film has only key columns, so it has no UPDATE service
+        assertThat(results).extracting(CrudGenerationResult::tableName)
+            .containsExactly("actor_film", "actor_film", "actor_film", "film", "film", "film", "film");
+        assertThat(results).extracting(CrudGenerationResult::operation).containsExactly(
+            SqlStatementType.SELECT, SqlStatementType.INSERT, SqlStatementType.DELETE,
+            SqlStatementType.SELECT, SqlStatementType.INSERT, SqlStatementType.UPDATE, SqlStatementType.DELETE);
+        assertThat(results.get(0).businessDomainName()).isEqualTo("ActorFilm");
+        assertThat(results.get(0).destination()).isEqualTo(DESTINATION.resolve("actor_film").resolve("select"));
+        assertThat(results).extracting(CrudGenerationResult::succeeded)
+            .containsExactly(true, true, true, true, true, true, false);
+        assertThat(results.get(6).errorMessage()).isEqualTo("Disk full");
+        assertThat(generatedSql).contains("UPDATE sakila.film SET language_id = ? WHERE film_id = ?");
+    }
+
+    @Test
+    void testGenerateAll_BoundsConcurrencyByJobs() throws InterruptedException {
+        List<CatalogColumn> columns = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            columns.add(column("dbo", "table_" + i, "id", 1, true));
+            columns.add(column("dbo", "table_" + i, "value", 2, false));
+        }
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<CrudGenerationResult> results = new SchemaCrudGenerator(3).generateAll(
+            SchemaCrudGenerator.tablesOf(SchemaCatalog.of("dbo", columns, Map.of()), "dbo"), DESTINATION,
+            (operation, unit, businessDomainName, destination) -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(10);
+                running.decrementAndGet();
+            });
+
+        assertThat(results).hasSize(32).allMatch(CrudGenerationResult::succeeded);
+        assertThat(maxRunning.get()).isBetween(1, 3);
+    }
+
+    @Test
+    void testGenerateAll_NoTables_Throws() {
+        SchemaCrudGenerator crudGenerator = new SchemaCrudGenerator(1);
+
+        assertThatThrownBy(() -> crudGenerator.generateAll(List.of(), DESTINATION, (operation, unit, name, destination) -> { }))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -4,23 +4,32 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import com.jfeatures.msg.codegen.ParameterMetadataExtractor;
+import com.jfeatures.msg.codegen.dbmetadata.CatalogColumn;
 import com.jfeatures.msg.codegen.dbmetadata.ColumnMetadata;
+import com.jfeatures.msg.codegen.dbmetadata.MetadataCache;
+import com.jfeatures.msg.codegen.dbmetadata.SchemaCatalog;
 import com.jfeatures.msg.codegen.dbmetadata.SqlMetadata;
+import com.jfeatures.msg.codegen.dbmetadata.TableStatistics;
 import com.jfeatures.msg.codegen.domain.DBColumn;
 import com.jfeatures.msg.codegen.domain.DatabaseConnection;
 import com.jfeatures.msg.codegen.domain.GeneratedMicroservice;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
 import com.jfeatures.msg.codegen.util.SqlStatementType;
-import com.jfeatures.msg.controller.CodeGenController;
+import java.nio.file.Path;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import javax.sql.DataSource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 
 @ExtendWith(MockitoExtension.class)
 class SelectMicroserviceGeneratorTest {
@@ -37,9 +46,6 @@ class SelectMicroserviceGeneratorTest {
     @Mock
     private SqlMetadata sqlMetadata;
     
-    @Mock
-    private CodeGenController codeGenController;
-    
     @Mock
     private ParameterMetadataExtractor parameterExtractor;
     
@@ -98,11 +104,8 @@ class SelectMicroserviceGeneratorTest {
                      // Handle SQLException from mocking
                  }
              });
-             var controllerMockedConstruction = mockConstruction(CodeGenController.class, (mock, context) -> {
-                 when(mock.selectColumnMetadata()).thenReturn(mockColumnMetadata);
-             });
              var extractorMockedConstruction = mockConstruction(ParameterMetadataExtractor.class, (mock, context) -> {
-                 when(mock.extractParameters(sql)).thenReturn(mockParameters);
+                 when(mock.extractParameters(SqlCompilationUnit.compile(sql))).thenReturn(mockParameters);
              })) {
             
             // When
@@ -120,18 +123,98 @@ class SelectMicroserviceGeneratorTest {
             
             // Verify interactions with constructed mocks
             var sqlMetadataConstructedMocks = sqlMetadataMockedConstruction.constructed();
-            var controllerConstructedMocks = controllerMockedConstruction.constructed();
             var extractorConstructedMocks = extractorMockedConstruction.constructed();
             
             assertEquals(1, sqlMetadataConstructedMocks.size());
-            assertEquals(1, controllerConstructedMocks.size());
             assertEquals(1, extractorConstructedMocks.size());
             
-            verify(controllerConstructedMocks.get(0)).selectColumnMetadata();
-            verify(extractorConstructedMocks.get(0)).extractParameters(sql);
+            // The result columns are described from the statement being generated
+            verify(sqlMetadataConstructedMocks.get(0)).getColumnMetadata(sql);
+            verify(extractorConstructedMocks.get(0)).extractParameters(SqlCompilationUnit.compile(sql));
+        }
+    }
+    
+    @Test
+    void testGenerateSelectMicroservice_CatalogMiss_DescribesStatementBeingGenerated() throws Exception {
+        // Given a statement whose columns only its own description returns
+        SqlCompilationUnit unit = SqlCompilationUnit.compile("SELECT rental_id, return_date FROM rental WHERE rental_id = ?");
+        ColumnMetadata rentalId = new ColumnMetadata();
+        rentalId.setColumnName("rental_id");
+        rentalId.setColumnTypeName("int");
+        rentalId.setColumnType(Types.INTEGER);
+        rentalId.setColumnClassName("java.lang.Integer");
+        ColumnMetadata returnDate = new ColumnMetadata();
+        returnDate.setColumnName("return_date");
+        returnDate.setColumnTypeName("datetime");
+        returnDate.setColumnType(Types.TIMESTAMP);
+        returnDate.setColumnClassName("java.sql.Timestamp");
+
+        try (var sqlMetadataMockedConstruction = mockConstruction(SqlMetadata.class, (mock, context) ->
+                 when(mock.getColumnMetadata(unit.sql())).thenReturn(List.of(rentalId, returnDate)));
+             var extractorMockedConstruction = mockConstruction(ParameterMetadataExtractor.class, (mock, context) ->
+                 when(mock.extractParameters(unit)).thenReturn(
+                     new ArrayList<>(List.of(new DBColumn("rental", "rentalId", "java.lang.Integer", "int")))))) {
+
+            // When
+            GeneratedMicroservice result = generator.generateSelectMicroservice(unit, "Rental", databaseConnection);
+
+            // Then
+            verify(sqlMetadataMockedConstruction.constructed().get(0)).getColumnMetadata(unit.sql());
+            String dto = result.dtoFile().toString();
+            assertTrue(dto.contains("rentalId"));
+            assertTrue(dto.contains("returnDate"));
+            assertFalse(dto.contains("customerName"));
+        }
+    }
+
+    @Test
+    void testGenerateSelectMicroservice_CatalogResolvesColumns_DoesNotDescribeStatement() throws Exception {
+        // Given
+        String sql = "SELECT customer_id, email FROM customer WHERE customer_id = ?";
+        SchemaCatalog catalog = SchemaCatalog.of("dbo", List.of(
+            new CatalogColumn("dbo", "customer", "customer_id", 1, "int", Types.INTEGER, 4, 10, 0, false, true, true),
+            new CatalogColumn("dbo", "customer", "email", 2, "varchar", Types.VARCHAR, 50, 0, 0, true, false, false)
+        ), Map.of());
+        SelectMicroserviceGenerator catalogGenerator = new SelectMicroserviceGenerator(() -> catalog, MetadataCache.disabled());
+        
+        try (var sqlMetadataMockedConstruction = mockConstruction(SqlMetadata.class)) {
+            
+            // When
+            GeneratedMicroservice result = catalogGenerator.generateSelectMicroservice(sql, "Customer", databaseConnection);
+            
+            // Then
+            assertTrue(sqlMetadataMockedConstruction.constructed().isEmpty());
+            String dto = result.dtoFile().toString();
+            assertTrue(dto.contains("Integer customerId"));
+            assertTrue(dto.contains("String email"));
         }
     }
     
+    @Test
+    void testGenerateSelectMicroservice_CachedEstimate_ReadsNeitherStatisticsNorCatalog(@TempDir Path cacheDirectory) throws Exception {
+        // Given an estimate cached by a first generation
+        String sql = "SELECT customer_id, email FROM customer WHERE email = ? ORDER BY customer_id";
+        SchemaCatalog catalog = SchemaCatalog.of("dbo", List.of(
+            new CatalogColumn("dbo", "customer", "customer_id", 1, "int", Types.INTEGER, 4, 10, 0, false, true, true),
+            new CatalogColumn("dbo", "customer", "email", 2, "varchar", Types.VARCHAR, 50, 0, 0, true, false, false)
+        ), Map.of());
+        TableStatistics statistics = new TableStatistics(Map.of("dbo.customer", 100_000L), Map.of());
+        Map<String, String> tableVersions = Map.of("dbo.customer", "2024-01-01T00:00:00");
+        DatabaseConnection connection = new DatabaseConnection(dataSource, jdbcTemplate, mock(NamedParameterJdbcTemplate.class));
+        new SelectMicroserviceGenerator(() -> catalog, new MetadataCache(cacheDirectory, "test", "dbo", tableVersions),
+                                        () -> statistics).generateSelectMicroservice(sql, "Customer", connection);
+
+        // When the statement is generated again with a warm cache
+        SelectMicroserviceGenerator cachedGenerator = new SelectMicroserviceGenerator(
+            () -> { throw new AssertionError("schema catalog loaded on a cache hit"); },
+            new MetadataCache(cacheDirectory, "test", "dbo", tableVersions),
+            () -> { throw new AssertionError("table statistics loaded on a cache hit"); });
+        GeneratedMicroservice result = cachedGenerator.generateSelectMicroservice(sql, "Customer", connection);
+
+        // Then the cached shape is used
+        assertTrue(result.daoFile().toString().contains(":pageOffset"));
+    }
+
     @Test
     void testGenerateSelectMicroservice_NullSql_ThrowsIllegalArgumentException() {
         // Given
@@ -222,11 +305,8 @@ class SelectMicroserviceGeneratorTest {
                      // Handle SQLException from mocking
                  }
              });
-             var controllerMockedConstruction = mockConstruction(CodeGenController.class, (mock, context) -> {
-                 when(mock.selectColumnMetadata()).thenReturn(mockColumnMetadata);
-             });
              var extractorMockedConstruction = mockConstruction(ParameterMetadataExtractor.class, (mock, context) -> {
-                 when(mock.extractParameters(sql)).thenThrow(sqlException);
+                 when(mock.extractParameters(SqlCompilationUnit.compile(sql))).thenThrow(sqlException);
              })) {
             
             // When & Then
@@ -248,13 +328,10 @@ class SelectMicroserviceGeneratorTest {
         
         try (var sqlMetadataMockedConstruction = mockConstruction(SqlMetadata.class, (mock, context) -> {
                  try {
-                     when(mock.getColumnMetadata(sql)).thenReturn(mockColumnMetadata);
+                     when(mock.getColumnMetadata(sql)).thenThrow(metadataException);
                  } catch (Exception e) {
                      // Handle SQLException from mocking
                  }
-             });
-             var controllerMockedConstruction = mockConstruction(CodeGenController.class, (mock, context) -> {
-                 when(mock.selectColumnMetadata()).thenThrow(metadataException);
              })) {
             
             // When & Then
@@ -324,11 +401,8 @@ class SelectMicroserviceGeneratorTest {
                      // Handle SQLException from mocking
                  }
              });
-             var controllerMockedConstruction = mockConstruction(CodeGenController.class, (mock, context) -> {
-                 when(mock.selectColumnMetadata()).thenReturn(complexColumnMetadata);
-             });
              var extractorMockedConstruction = mockConstruction(ParameterMetadataExtractor.class, (mock, context) -> {
-                 when(mock.extractParameters(complexSql)).thenReturn(complexParameters);
+                 when(mock.extractParameters(SqlCompilationUnit.compile(complexSql))).thenReturn(complexParameters);
              })) {
             
             // When
@@ -340,14 +414,14 @@ class SelectMicroserviceGeneratorTest {
             assertEquals(SqlStatementType.SELECT, result.statementType());
             
             // Verify interactions with constructed mocks
-            var controllerConstructedMocks = controllerMockedConstruction.constructed();
+            var sqlMetadataConstructedMocks = sqlMetadataMockedConstruction.constructed();
             var extractorConstructedMocks = extractorMockedConstruction.constructed();
             
-            assertEquals(1, controllerConstructedMocks.size());
+            assertEquals(1, sqlMetadataConstructedMocks.size());
             assertEquals(1, extractorConstructedMocks.size());
             
-            verify(controllerConstructedMocks.get(0)).selectColumnMetadata();
-            verify(extractorConstructedMocks.get(0)).extractParameters(complexSql);
+            verify(sqlMetadataConstructedMocks.get(0)).getColumnMetadata(complexSql);
+            verify(extractorConstructedMocks.get(0)).extractParameters(SqlCompilationUnit.compile(complexSql));
         }
     }
     
@@ -365,11 +439,8 @@ class SelectMicroserviceGeneratorTest {
                      // Handle SQLException from mocking
                  }
              });
-             var controllerMockedConstruction = mockConstruction(CodeGenController.class, (mock, context) -> {
-                 when(mock.selectColumnMetadata()).thenReturn(mockColumnMetadata);
-             });
              var extractorMockedConstruction = mockConstruction(ParameterMetadataExtractor.class, (mock, context) -> {
-                 when(mock.extractParameters(sqlWithoutParams)).thenReturn(emptyParameters);
+                 when(mock.extractParameters(SqlCompilationUnit.compile(sqlWithoutParams))).thenReturn(emptyParameters);
              })) {
             
             // When
@@ -383,7 +454,7 @@ class SelectMicroserviceGeneratorTest {
             // Verify interactions with constructed mocks
             var extractorConstructedMocks = extractorMockedConstruction.constructed();
             assertEquals(1, extractorConstructedMocks.size());
-            verify(extractorConstructedMocks.get(0)).extractParameters(sqlWithoutParams);
+            verify(extractorConstructedMocks.get(0)).extractParameters(SqlCompilationUnit.compile(sqlWithoutParams));
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.jfeatures.msg.codegen.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.jfeatures.msg.codegen.database.EmbeddedSchemaDataSource;
+import com.jfeatures.msg.codegen.dbmetadata.MetadataCache;
+import com.jfeatures.msg.codegen.dbmetadata.TableStatistics;
+import com.jfeatures.msg.codegen.domain.DatabaseConnection;
+import com.jfeatures.msg.codegen.domain.GeneratedMicroservice;
+import com.jfeatures.msg.codegen.index.RecommendedIndexScriptRenderer;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import com.jfeatures.msg.codegen.util.SqlStatementType;
+import com.jfeatures.msg.codegen.verify.GeneratedSourceVerifier;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+class ServiceGenerationPipelineTest {
+
+    private static final ServiceGenerationPipeline.MetadataSources NO_CATALOG = new ServiceGenerationPipeline.MetadataSources(
+        () -> null, MetadataCache.disabled(), Map::of, TableStatistics::empty);
+
+    private static final String CUSTOMER_BY_EMAIL = "SELECT customer_id, first_name FROM customer WHERE email = ?";
+
+    @Test
+    void run_WritesTheServiceWithItsReportsAndVerifiesIt() throws Exception {
+        List<String> steps = new ArrayList<>();
+        try (var dataSource = sakilaDataSource();
+             var sourceVerifier = new GeneratedSourceVerifier()) {
+            var pipeline = new ServiceGenerationPipeline("dbo", false, null, true, false, sourceVerifier);
+
+            GeneratedMicroservice microservice = pipeline.run(SqlStatementType.SELECT,
+                SqlCompilationUnit.compile(CUSTOMER_BY_EMAIL), "CustomerByEmail", connectionTo(dataSource), NO_CATALOG,
+                (generated, reportFiles) -> {
+                    steps.add("write " + generated.businessDomainName());
+                    steps.addAll(reportFiles.keySet());
+                });
+
+            assertThat(microservice.statementType()).isEqualTo(SqlStatementType.SELECT);
+            assertThat(steps).containsExactly("write CustomerByEmail", RecommendedIndexScriptRenderer.SCRIPT_PATH);
+        }
+    }
+
+    @Test
+    void generate_WithoutRequestedReports_ReturnsNoReportFiles() throws Exception {
+        try (var dataSource = sakilaDataSource()) {
+            var pipeline = new ServiceGenerationPipeline("dbo", false, null, false, false, null);
+
+            ServiceGenerationPipeline.GeneratedService service = pipeline.generate(SqlStatementType.SELECT,
+                SqlCompilationUnit.compile(CUSTOMER_BY_EMAIL), "CustomerByEmail", connectionTo(dataSource), NO_CATALOG);
+
+            assertThat(service.microservice().businessDomainName()).isEqualTo("CustomerByEmail");
+            assertThat(service.planReport()).isNull();
+            assertThat(service.reportFiles()).isEmpty();
+        }
+    }
+
+    @Test
+    void constructor_WithBlankSchemaName_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> new ServiceGenerationPipeline(" ", false, null, false, false, null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private EmbeddedSchemaDataSource sakilaDataSource() throws Exception {
+        return new EmbeddedSchemaDataSource(
+            Path.of(getClass().getClassLoader().getResource("sakila-test-schema.sql").toURI()), "dbo");
+    }
+
+    private static DatabaseConnection connectionTo(EmbeddedSchemaDataSource dataSource) {
+        return new DatabaseConnection(dataSource, new JdbcTemplate(dataSource), new NamedParameterJdbcTemplate(dataSource));
+    }
+}
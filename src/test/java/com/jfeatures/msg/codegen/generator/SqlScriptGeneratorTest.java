@@ -0,0 +1,105 @@
+package com.jfeatures.msg.codegen.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import com.jfeatures.msg.codegen.domain.GeneratedMicroservice;
+import com.jfeatures.msg.codegen.domain.ScriptGenerationResult;
+import com.jfeatures.msg.codegen.domain.ScriptStatement;
+import com.jfeatures.msg.codegen.domain.TableReference;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import com.jfeatures.msg.codegen.util.SqlStatementType;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class SqlScriptGeneratorTest {
+
+    @Test
+    void testGenerateAll_ReportsEveryStatementInScriptOrder() throws InterruptedException {
+        List<ScriptStatement> statements = List.of(
+            statement("CustomerById", 1, "SELECT first_name FROM customer WHERE customer_id = ?"),
+            statement("Broken", 3, "DELETE FROM customer WHERE customer_id = ?"),
+            statement("CountryInsert", 5, "INSERT INTO country (country) VALUES (?)"));
+        GeneratedMicroservice microservice = mock(GeneratedMicroservice.class);
+
+        List<ScriptGenerationResult> results = new SqlScriptGenerator(2).generateAll(statements,
+            (statementType, statement) -> {
+                if (statement.businessDomainName().equals("Broken")) {
+                    throw new IllegalStateException("No metadata for customer");
+                }
+                return microservice;
+            });
+
+        assertThat(results).extracting(ScriptGenerationResult::businessDomainName)
+            .containsExactly("CustomerById", "Broken", "CountryInsert");
+        assertThat(results).extracting(ScriptGenerationResult::statementType)
+            .containsExactly(SqlStatementType.SELECT, SqlStatementType.DELETE, SqlStatementType.INSERT);
+        assertThat(results).extracting(ScriptGenerationResult::succeeded).containsExactly(true, false, true);
+        assertThat(results.get(0).microservice()).isSameAs(microservice);
+        assertThat(results.get(1).errorMessage()).isEqualTo("No metadata for customer");
+        assertThat(results.get(1).lineNumber()).isEqualTo(3);
+    }
+
+    @Test
+    void testGenerateAll_SkipsStatementsThatAreNotDml() throws InterruptedException {
+        List<ScriptStatement> statements = List.of(
+            statement("Script1", 1, "SET NOCOUNT ON"),
+            statement("Script2", 2, "SELECT first_name FROM customer"));
+
+        List<ScriptGenerationResult> results = new SqlScriptGenerator(1).generateAll(statements,
+            (statementType, statement) -> mock(GeneratedMicroservice.class));
+
+        assertThat(results).singleElement().extracting(ScriptGenerationResult::businessDomainName).isEqualTo("Script2");
+    }
+
+    @Test
+    void testGenerateAll_BoundsConcurrencyByJobs() throws InterruptedException {
+        List<ScriptStatement> statements = IntStream.range(0, 12)
+            .mapToObj(i -> statement("Query" + i, i + 1, "SELECT first_name FROM customer"))
+            .toList();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<ScriptGenerationResult> results = new SqlScriptGenerator(3).generateAll(statements,
+            (statementType, statement) -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(20);
+                running.decrementAndGet();
+                return mock(GeneratedMicroservice.class);
+            });
+
+        assertThat(results).hasSize(12).allMatch(ScriptGenerationResult::succeeded);
+        assertThat(maxRunning.get()).isBetween(1, 3);
+    }
+
+    @Test
+    void testReferencedTables_ListsEveryTableOnceWithoutAliases() {
+        List<ScriptStatement> statements = List.of(
+            statement("CustomerCity", 1, "SELECT c.first_name FROM customer c JOIN address a ON c.address_id = a.address_id"),
+            statement("CustomerRemoval", 2, "DELETE FROM customer WHERE customer_id = ?"),
+            statement("CountryInsert", 3, "INSERT INTO sales.country (country) VALUES (?)"));
+
+        assertThat(SqlScriptGenerator.referencedTables(statements)).containsExactly(
+            new TableReference(null, "customer", null),
+            new TableReference(null, "address", null),
+            new TableReference("sales", "country", null));
+    }
+
+    @Test
+    void testGenerateAll_InvalidInput_Throws() {
+        SqlScriptGenerator scriptGenerator = new SqlScriptGenerator(1);
+
+        assertThatThrownBy(() -> scriptGenerator.generateAll(List.of(), (statementType, statement) -> null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> scriptGenerator.generateAll(List.of(statement("Script1", 1, "SELECT 1")), null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SqlScriptGenerator(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ScriptStatement statement(String name, int lineNumber, String sql) {
+        return new ScriptStatement(name, lineNumber, SqlCompilationUnit.compile(sql));
+    }
+}
@@ -0,0 +1,69 @@
+package com.jfeatures.msg.codegen.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.jfeatures.msg.codegen.database.EmbeddedSchemaDataSource;
+import com.jfeatures.msg.codegen.dbmetadata.MetadataCache;
+import com.jfeatures.msg.codegen.domain.DatabaseConnection;
+import com.jfeatures.msg.codegen.domain.GeneratedMicroservice;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import com.jfeatures.msg.codegen.util.SqlStatementType;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+class StatementMicroserviceGeneratorTest {
+
+    private final StatementMicroserviceGenerator generator =
+        new StatementMicroserviceGenerator(() -> null, MetadataCache.disabled());
+
+    @Test
+    void constructor_WithNullArguments_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> new StatementMicroserviceGenerator(null, MetadataCache.disabled()))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new StatementMicroserviceGenerator(() -> null, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new StatementMicroserviceGenerator(() -> null, MetadataCache.disabled(), " "))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void generate_WithoutSchemaCatalog_ResolvesJoinFromReferencedTables() throws Exception {
+        Path ddlFile = Path.of(getClass().getClassLoader().getResource("sakila-test-schema.sql").toURI());
+        try (var dataSource = new EmbeddedSchemaDataSource(ddlFile, "dbo")) {
+            var databaseConnection = new DatabaseConnection(dataSource, new JdbcTemplate(dataSource),
+                                                            new NamedParameterJdbcTemplate(dataSource));
+
+            GeneratedMicroservice microservice = new StatementMicroserviceGenerator(() -> null, MetadataCache.disabled(), "dbo")
+                .generate(SqlCompilationUnit.compile("""
+                    SELECT c.customer_id, c.first_name, a.address, ci.city
+                    FROM customer c
+                    JOIN address a ON a.address_id = c.address_id
+                    JOIN city ci ON ci.city_id = a.city_id
+                    WHERE c.active = ?"""), "CustomerAddress", databaseConnection);
+
+            assertThat(microservice.statementType()).isEqualTo(SqlStatementType.SELECT);
+            assertThat(microservice.dtoFile().toString()).contains("customerId", "firstName", "address", "city");
+        }
+    }
+
+    @Test
+    void generate_WithNullUnit_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> generator.generate(null, "Customer", null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void generate_WithUnsupportedStatement_ThrowsIllegalArgumentException() {
+        SqlCompilationUnit unit = SqlCompilationUnit.compile("CREATE TABLE customer (id INT)");
+
+        assertThatThrownBy(() -> generator.generate(unit, "Customer", null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Unknown or unsupported SQL statement type");
+        assertThatThrownBy(() -> generator.generate(SqlStatementType.UNKNOWN, unit, "Customer", null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("'UNKNOWN'");
+    }
+}
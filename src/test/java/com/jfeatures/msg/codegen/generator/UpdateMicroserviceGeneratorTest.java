@@ -8,6 +8,7 @@ import com.jfeatures.msg.codegen.dbmetadata.UpdateMetadata;
 import com.jfeatures.msg.codegen.dbmetadata.UpdateMetadataExtractor;
 import com.jfeatures.msg.codegen.domain.DatabaseConnection;
 import com.jfeatures.msg.codegen.domain.GeneratedMicroservice;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
 import com.jfeatures.msg.codegen.util.SqlStatementType;
 import javax.sql.DataSource;
 import org.junit.jupiter.api.BeforeEach;
@@ -51,7 +52,7 @@ class UpdateMicroserviceGeneratorTest {
         String businessDomainName = "Customer";
         
         try (var mockedConstruction = mockConstruction(UpdateMetadataExtractor.class, (mock, context) -> {
-            when(mock.extractUpdateMetadata(sql)).thenReturn(updateMetadata);
+            when(mock.extractUpdateMetadata(SqlCompilationUnit.compile(sql))).thenReturn(updateMetadata);
         })) {
             
             // When
@@ -70,7 +71,7 @@ class UpdateMicroserviceGeneratorTest {
             // Verify interactions with the constructed mock
             var constructedMocks = mockedConstruction.constructed();
             assertEquals(1, constructedMocks.size());
-            verify(constructedMocks.get(0)).extractUpdateMetadata(sql);
+            verify(constructedMocks.get(0)).extractUpdateMetadata(SqlCompilationUnit.compile(sql));
         }
     }
     
@@ -158,7 +159,7 @@ class UpdateMicroserviceGeneratorTest {
         RuntimeException metadataException = new RuntimeException("Failed to extract update metadata");
         
         try (var mockedConstruction = mockConstruction(UpdateMetadataExtractor.class, (mock, context) -> {
-            when(mock.extractUpdateMetadata(sql)).thenThrow(metadataException);
+            when(mock.extractUpdateMetadata(SqlCompilationUnit.compile(sql))).thenThrow(metadataException);
         })) {
             
             // When & Then
@@ -170,7 +171,7 @@ class UpdateMicroserviceGeneratorTest {
             assertEquals("Failed to extract update metadata", exception.getMessage());
             var constructedMocks = mockedConstruction.constructed();
             assertEquals(1, constructedMocks.size());
-            verify(constructedMocks.get(0)).extractUpdateMetadata(sql);
+            verify(constructedMocks.get(0)).extractUpdateMetadata(SqlCompilationUnit.compile(sql));
         }
     }
     
@@ -185,7 +186,7 @@ class UpdateMicroserviceGeneratorTest {
         String businessDomainName = "Customer";
         
         try (var mockedConstruction = mockConstruction(UpdateMetadataExtractor.class, (mock, context) -> {
-            when(mock.extractUpdateMetadata(complexSql)).thenReturn(updateMetadata);
+            when(mock.extractUpdateMetadata(SqlCompilationUnit.compile(complexSql))).thenReturn(updateMetadata);
         })) {
             
             // When
@@ -198,7 +199,7 @@ class UpdateMicroserviceGeneratorTest {
             
             var constructedMocks = mockedConstruction.constructed();
             assertEquals(1, constructedMocks.size());
-            verify(constructedMocks.get(0)).extractUpdateMetadata(complexSql);
+            verify(constructedMocks.get(0)).extractUpdateMetadata(SqlCompilationUnit.compile(complexSql));
         }
     }
     
@@ -213,7 +214,7 @@ class UpdateMicroserviceGeneratorTest {
         String businessDomainName = "Customer";
         
         try (var mockedConstruction = mockConstruction(UpdateMetadataExtractor.class, (mock, context) -> {
-            when(mock.extractUpdateMetadata(namedParamSql)).thenReturn(updateMetadata);
+            when(mock.extractUpdateMetadata(SqlCompilationUnit.compile(namedParamSql))).thenReturn(updateMetadata);
         })) {
             
             // When
@@ -226,7 +227,7 @@ class UpdateMicroserviceGeneratorTest {
             
             var constructedMocks = mockedConstruction.constructed();
             assertEquals(1, constructedMocks.size());
-            verify(constructedMocks.get(0)).extractUpdateMetadata(namedParamSql);
+            verify(constructedMocks.get(0)).extractUpdateMetadata(SqlCompilationUnit.compile(namedParamSql));
         }
     }
     
@@ -243,7 +244,7 @@ class UpdateMicroserviceGeneratorTest {
         String businessDomainName = "Customer";
         
         try (var mockedConstruction = mockConstruction(UpdateMetadataExtractor.class, (mock, context) -> {
-            when(mock.extractUpdateMetadata(joinUpdateSql)).thenReturn(updateMetadata);
+            when(mock.extractUpdateMetadata(SqlCompilationUnit.compile(joinUpdateSql))).thenReturn(updateMetadata);
         })) {
             
             // When
@@ -256,7 +257,7 @@ class UpdateMicroserviceGeneratorTest {
             
             var constructedMocks = mockedConstruction.constructed();
             assertEquals(1, constructedMocks.size());
-            verify(constructedMocks.get(0)).extractUpdateMetadata(joinUpdateSql);
+            verify(constructedMocks.get(0)).extractUpdateMetadata(SqlCompilationUnit.compile(joinUpdateSql));
         }
     }
     
@@ -273,7 +274,7 @@ class UpdateMicroserviceGeneratorTest {
         String businessDomainName = "Customer";
         
         try (var mockedConstruction = mockConstruction(UpdateMetadataExtractor.class, (mock, context) -> {
-            when(mock.extractUpdateMetadata(subquerySql)).thenReturn(updateMetadata);
+            when(mock.extractUpdateMetadata(SqlCompilationUnit.compile(subquerySql))).thenReturn(updateMetadata);
         })) {
             
             // When
@@ -286,7 +287,7 @@ class UpdateMicroserviceGeneratorTest {
             
             var constructedMocks = mockedConstruction.constructed();
             assertEquals(1, constructedMocks.size());
-            verify(constructedMocks.get(0)).extractUpdateMetadata(subquerySql);
+            verify(constructedMocks.get(0)).extractUpdateMetadata(SqlCompilationUnit.compile(subquerySql));
         }
     }
     
@@ -0,0 +1,133 @@
+package com.jfeatures.msg.codegen.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.jfeatures.msg.codegen.dbmetadata.CatalogColumn;
+import com.jfeatures.msg.codegen.dbmetadata.CatalogIndex;
+import com.jfeatures.msg.codegen.dbmetadata.SchemaCatalog;
+import com.jfeatures.msg.codegen.domain.IndexRecommendation;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class IndexRecommenderTest {
+
+    private static CatalogColumn column(String table, String name, int ordinal, String type, int maxLength) {
+        return new CatalogColumn("dbo", table, name, ordinal, type, Types.OTHER, maxLength, 0, 0, true, false,
+                                 name.equals(table + "_id"));
+    }
+
+    private static final SchemaCatalog CATALOG = SchemaCatalog.of("dbo", List.of(
+        column("customer", "customer_id", 1, "int", 4),
+        column("customer", "store_id", 2, "tinyint", 1),
+        column("customer", "first_name", 3, "varchar", 45),
+        column("customer", "last_name", 4, "varchar", 45),
+        column("customer", "email", 5, "varchar", 50),
+        column("customer", "active", 6, "bit", 1),
+        column("customer", "notes", 7, "nvarchar", -1),
+        column("rental", "rental_id", 1, "int", 4),
+        column("rental", "rental_date", 2, "datetime", 8),
+        column("rental", "customer_id", 3, "int", 4),
+        column("rental", "return_date", 4, "datetime", 8),
+        column("audit_log", "message", 1, "varchar", 200),
+        column("audit_log", "created", 2, "datetime2", 8)
+    ), Map.of(
+        SchemaCatalog.tableKey("dbo", "customer"), List.of(
+            new CatalogIndex("PK_customer", true, true, true, List.of("customer_id"), List.of()),
+            new CatalogIndex("idx_last_name", false, false, false, List.of("last_name"), List.of()),
+            new CatalogIndex("ux_email", false, true, false, List.of("email"), List.of())),
+        SchemaCatalog.tableKey("dbo", "rental"), List.of(
+            new CatalogIndex("PK_rental", true, true, true, List.of("rental_id"), List.of()))
+    ));
+
+    private static final Map<String, Long> ROW_COUNTS = Map.of(
+        SchemaCatalog.tableKey("dbo", "customer"), 599L,
+        SchemaCatalog.tableKey("dbo", "rental"), 16044L);
+
+    private static List<IndexRecommendation> recommend(String sql) {
+        return new IndexRecommender(CATALOG, ROW_COUNTS).recommend(SqlCompilationUnit.compile(sql));
+    }
+
+    @Test
+    void recommend_UnindexedPredicate_CoversSelectedColumns() {
+        List<IndexRecommendation> recommendations = recommend(
+            "SELECT first_name, last_name FROM customer WHERE active = ? AND store_id = ?");
+
+        assertThat(recommendations).singleElement().satisfies(index -> {
+            assertThat(index.indexName()).isEqualTo("IX_customer_active_store_id");
+            assertThat(index.keyColumns()).containsExactly("active", "store_id");
+            assertThat(index.includedColumns()).containsExactly("first_name", "last_name");
+            assertThat(index.extendsExisting()).isFalse();
+            assertThat(index.reason()).isEqualTo("No index has active, store_id as leading key columns");
+            // header 7, active 1, store_id 1, two half-full varchar(45) of 22 + 2, clustered key 4
+            assertThat(index.bytesPerRow()).isEqualTo(61);
+            assertThat(index.tableRows()).isEqualTo(599);
+            assertThat(index.estimatedSizeBytes()).isEqualTo(5 * 8192L);
+        });
+    }
+
+    @Test
+    void recommend_NonUniqueIndexWithoutIncludes_IsExtended() {
+        List<IndexRecommendation> recommendations = recommend(
+            "SELECT c.first_name, c.email, c.notes FROM customer c WHERE c.last_name = ?");
+
+        assertThat(recommendations).singleElement().satisfies(index -> {
+            assertThat(index.indexName()).isEqualTo("idx_last_name");
+            assertThat(index.extendsExisting()).isTrue();
+            assertThat(index.keyColumns()).containsExactly("last_name");
+            assertThat(index.includedColumns()).as("large objects are not included").containsExactly("first_name", "email");
+            assertThat(index.reason()).isEqualTo("idx_last_name has the key columns but does not include first_name, email");
+        });
+    }
+
+    @Test
+    void recommend_SupportedOrUnanalyzedStatements_RecommendNothing() {
+        assertThat(recommend("SELECT * FROM customer WHERE customer_id = ?")).as("clustered seek").isEmpty();
+        assertThat(recommend("SELECT first_name FROM customer WHERE email = ?")).as("unique seek, one lookup").isEmpty();
+        assertThat(recommend("SELECT * FROM customer WHERE last_name = ?")).as("all columns").isEmpty();
+        assertThat(recommend("SELECT email FROM customer WHERE first_name = ? OR last_name = ?")).as("OR").isEmpty();
+        assertThat(recommend("DELETE FROM customer WHERE customer_id = ?")).isEmpty();
+        assertThat(recommend("INSERT INTO customer (first_name) VALUES (?)")).isEmpty();
+        assertThat(recommend("WITH c AS (SELECT * FROM customer) SELECT first_name FROM c WHERE active = ?")).isEmpty();
+    }
+
+    @Test
+    void recommend_JoinedTable_IsKeyedOnJoinColumnAndRangeFollowsEqualities() {
+        assertThat(recommend("""
+                SELECT r.rental_date, c.first_name
+                FROM rental r JOIN customer c ON c.customer_id = r.customer_id
+                WHERE c.email = ?"""))
+            .singleElement().satisfies(index -> {
+                assertThat(index.indexName()).isEqualTo("IX_rental_customer_id");
+                assertThat(index.keyColumns()).containsExactly("customer_id");
+                assertThat(index.includedColumns()).containsExactly("rental_date");
+            });
+
+        assertThat(recommend("UPDATE rental SET return_date = ? WHERE rental_date >= ? AND customer_id = ?"))
+            .singleElement().satisfies(index -> {
+                assertThat(index.keyColumns()).containsExactly("customer_id", "rental_date");
+                assertThat(index.includedColumns()).as("an update reads the row anyway").isEmpty();
+            });
+    }
+
+    @Test
+    void recommend_HeapWithoutRowCount_EstimatesSizePerRow() {
+        assertThat(recommend("SELECT message FROM audit_log WHERE created > ?"))
+            .singleElement().satisfies(index -> {
+                // header 7, row identifier 8, created 8, half-full varchar(200) of 100 + 2
+                assertThat(index.bytesPerRow()).isEqualTo(125);
+                assertThat(index.tableRows()).isNull();
+                assertThat(index.estimatedSizeBytes()).isNull();
+            });
+    }
+
+    @Test
+    void invalidArguments_AreRejected() {
+        assertThatThrownBy(() -> new IndexRecommender(null, Map.of())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new IndexRecommender(CATALOG, null).recommend(null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,36 @@
+package com.jfeatures.msg.codegen.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jfeatures.msg.codegen.domain.IndexRecommendation;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RecommendedIndexScriptRendererTest {
+
+    @Test
+    void render_WritesCreateIndexWithReasonAndSize() {
+        String script = RecommendedIndexScriptRenderer.render("Customer", List.of(
+            new IndexRecommendation("dbo", "customer", "IX_customer_active", List.of("active"),
+                                    List.of("first_name"), false, 42, 1_200_000L, "No index has active as leading key columns"),
+            new IndexRecommendation("dbo", "customer", "idx_last_name", List.of("last_name"),
+                                    List.of("email"), true, 60, null, "idx_last_name has the key columns but does not include email")));
+
+        assertThat(script)
+            .startsWith("-- Recommended indexes for the Customer service\n")
+            .contains("-- [dbo].[customer]: No index has active as leading key columns\n"
+                + "-- Estimated size: 51.0 MB for 1,200,000 rows (42 bytes per row)\n"
+                + "CREATE NONCLUSTERED INDEX [IX_customer_active] ON [dbo].[customer] ([active]) INCLUDE ([first_name]);\n")
+            .contains("-- Estimated size: 60 bytes per row; the row count of the table is unknown\n"
+                + "CREATE NONCLUSTERED INDEX [idx_last_name] ON [dbo].[customer] ([last_name]) INCLUDE ([email])"
+                + " WITH (DROP_EXISTING = ON);\n");
+    }
+
+    @Test
+    void render_NoRecommendations_SaysSo() {
+        assertThat(RecommendedIndexScriptRenderer.render("Customer", List.of()))
+            .contains("no index is needed")
+            .doesNotContain("CREATE");
+        assertThat(RecommendedIndexScriptRenderer.formatBytes(3 * 1024L * 1024 * 1024)).isEqualTo("3.0 GB");
+    }
+}
@@ -0,0 +1,38 @@
+package com.jfeatures.msg.codegen.latency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jfeatures.msg.codegen.domain.LatencyBaseline;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class LatencyBaselineRendererTest {
+
+    @Test
+    void render_WritesEveryFieldTheRegressionTestReads() throws Exception {
+        LatencyBaseline baseline = new LatencyBaseline("Customer", "SELECT * FROM customer WHERE email = ?",
+            List.of(new LatencyBaseline.ParameterSample("SELECT DISTINCT TOP (20) [email] FROM [dbo].[customer] "
+                + "WHERE [email] IS NOT NULL", List.of(1))), 5, 50, 420, 1_250, 3, 1.0);
+
+        String json = LatencyBaselineRenderer.render(baseline);
+
+        assertThat(json).doesNotContain("\r").endsWith("}\n");
+        JsonNode parsed = new ObjectMapper().readTree(json);
+        assertThat(parsed.get("sql").asText()).isEqualTo("SELECT * FROM customer WHERE email = ?");
+        assertThat(parsed.get("parameterSamples").get(0).get("parameterPositions").get(0).asInt()).isEqualTo(1);
+        assertThat(parsed.get("warmupIterations").asInt()).isEqualTo(5);
+        assertThat(parsed.get("iterations").asInt()).isEqualTo(50);
+        assertThat(parsed.get("p50Micros").asLong()).isEqualTo(420);
+        assertThat(parsed.get("p99Micros").asLong()).isEqualTo(1_250);
+        assertThat(parsed.get("logicalReads").asLong()).isEqualTo(3);
+        assertThat(parsed.get("tolerance").asDouble()).isEqualTo(1.0);
+    }
+
+    @Test
+    void render_NullBaseline_IsRejected() {
+        assertThatThrownBy(() -> LatencyBaselineRenderer.render(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
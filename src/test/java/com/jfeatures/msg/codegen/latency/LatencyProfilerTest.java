@@ -0,0 +1,151 @@
+package com.jfeatures.msg.codegen.latency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.jfeatures.msg.codegen.domain.LatencyBaseline;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import com.jfeatures.msg.codegen.util.SqlStatementType;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.util.Optional;
+import java.util.stream.LongStream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class LatencyProfilerTest {
+
+    private static final String SQL = "SELECT * FROM customer WHERE store_id = ? AND email = ?";
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet sampleRows;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Mock
+    private ResultSet rows;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        lenient().when(dataSource.getConnection()).thenReturn(connection);
+        lenient().when(connection.getAutoCommit()).thenReturn(true);
+        lenient().when(connection.createStatement()).thenReturn(statement);
+        lenient().when(statement.executeQuery(anyString())).thenReturn(sampleRows);
+        lenient().when(connection.prepareStatement(SQL)).thenReturn(preparedStatement);
+        lenient().when(preparedStatement.execute()).thenReturn(true);
+        lenient().when(preparedStatement.getResultSet()).thenReturn(rows);
+        lenient().when(preparedStatement.getUpdateCount()).thenReturn(-1);
+        SQLWarning statistics = new SQLWarning("Table 'customer'. Scan count 1, logical reads 3, physical reads 0, "
+            + "lob logical reads 7, lob physical reads 0.");
+        statistics.setNextWarning(new SQLWarning("Table 'Worktable'. Scan count 0, logical reads 2, physical reads 0."));
+        lenient().when(preparedStatement.getWarnings()).thenReturn(statistics);
+    }
+
+    @Test
+    void profile_ExecutesSampledValuesInRolledBackTransactions() throws Exception {
+        when(sampleRows.next()).thenReturn(true, true, false);
+        when(sampleRows.getObject(1)).thenReturn(1, 2);
+        when(sampleRows.getObject(2)).thenReturn("mary@example.com", "john@example.com");
+
+        Optional<LatencyBaseline> baseline = new LatencyProfiler(dataSource, "dbo", 10)
+            .profile("Customer", SqlCompilationUnit.compile(SQL));
+
+        assertThat(baseline).isPresent();
+        assertThat(baseline.get().iterations()).isEqualTo(10);
+        assertThat(baseline.get().warmupIterations()).isEqualTo(LatencyProfiler.WARMUP_ITERATIONS);
+        assertThat(baseline.get().logicalReads()).isEqualTo(5);
+        assertThat(baseline.get().p99Micros()).isGreaterThanOrEqualTo(baseline.get().p50Micros());
+        assertThat(baseline.get().parameterSamples()).singleElement()
+            .satisfies(sample -> assertThat(sample.parameterPositions()).containsExactly(1, 2));
+
+        int executions = 10 + LatencyProfiler.WARMUP_ITERATIONS;
+        verify(preparedStatement, times(executions)).execute();
+        verify(preparedStatement, times(7)).setObject(1, 1);
+        verify(preparedStatement, times(8)).setObject(1, 2);
+        verify(preparedStatement, times(7)).setObject(2, "mary@example.com");
+        verify(connection, times(executions + 1)).rollback();
+        InOrder order = inOrder(connection, statement);
+        order.verify(connection).setAutoCommit(false);
+        order.verify(statement).execute("SET STATISTICS IO ON");
+        order.verify(statement).execute("SET STATISTICS IO OFF");
+        order.verify(connection).setAutoCommit(true);
+    }
+
+    @Test
+    void profile_EmptySampledTable_IsNotProfiled() throws Exception {
+        when(sampleRows.next()).thenReturn(false);
+
+        assertThat(new LatencyProfiler(dataSource, "dbo").profile("Customer", SqlCompilationUnit.compile(SQL))).isEmpty();
+        verifyNoInteractions(preparedStatement);
+    }
+
+    @Test
+    void profile_UnsampleableParameter_IsNotProfiled() throws Exception {
+        assertThat(new LatencyProfiler(dataSource, "dbo")
+            .profile("Customer", SqlCompilationUnit.compile("SELECT * FROM customer WHERE YEAR(create_date) = ?"))).isEmpty();
+        verifyNoInteractions(dataSource);
+    }
+
+    @Test
+    void logicalReads_SumsTablesButNotLobReads() throws Exception {
+        assertThat(LatencyProfiler.logicalReads(preparedStatement.getWarnings())).isEqualTo(5);
+        assertThat(LatencyProfiler.logicalReads(null)).isZero();
+    }
+
+    @Test
+    void percentile_UsesTheNearestRank() {
+        long[] sorted = {10, 20, 30, 40, 50, 60, 70, 80, 90, 100};
+        assertThat(LatencyProfiler.percentile(sorted, 50)).isEqualTo(50);
+        assertThat(LatencyProfiler.percentile(sorted, 99)).isEqualTo(100);
+        assertThat(LatencyProfiler.percentile(new long[] {7}, 50)).isEqualTo(7);
+    }
+
+    @Test
+    void percentile_DefaultIterations_P99IsNotTheSlowestExecution() {
+        long[] sorted = LongStream.rangeClosed(1, LatencyProfiler.DEFAULT_ITERATIONS).toArray();
+        assertThat(LatencyProfiler.percentile(sorted, 99)).isLessThan(sorted[sorted.length - 1]);
+    }
+
+    @Test
+    void canProfile_RejectsInserts() {
+        assertThat(LatencyProfiler.canProfile(SqlStatementType.SELECT)).isTrue();
+        assertThat(LatencyProfiler.canProfile(SqlStatementType.DELETE)).isTrue();
+        assertThat(LatencyProfiler.canProfile(SqlStatementType.INSERT)).isFalse();
+    }
+
+    @Test
+    void invalidArguments_AreRejected() {
+        assertThatThrownBy(() -> new LatencyProfiler(null, "dbo")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new LatencyProfiler(dataSource, " ")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new LatencyProfiler(dataSource, "dbo", 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new LatencyProfiler(dataSource, "dbo").profile("Customer",
+            SqlCompilationUnit.compile("INSERT INTO customer (email) VALUES (?)"))).isInstanceOf(IllegalArgumentException.class);
+    }
+}
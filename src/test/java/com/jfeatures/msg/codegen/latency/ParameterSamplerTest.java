@@ -0,0 +1,67 @@
+package com.jfeatures.msg.codegen.latency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.jfeatures.msg.codegen.domain.LatencyBaseline.ParameterSample;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class ParameterSamplerTest {
+
+    private static Optional<List<ParameterSample>> samples(String sql) {
+        return ParameterSampler.sampleQueries(SqlCompilationUnit.compile(sql), "dbo", 20);
+    }
+
+    @Test
+    void sampleQueries_ParametersOfOneTable_AreSampledTogether() {
+        assertThat(samples("SELECT * FROM customer WHERE store_id = ? AND last_name LIKE ?")).hasValue(List.of(
+            new ParameterSample("SELECT DISTINCT TOP (20) [store_id], [last_name] FROM [dbo].[customer] "
+                + "WHERE [store_id] IS NOT NULL AND [last_name] IS NOT NULL", List.of(1, 2))));
+    }
+
+    @Test
+    void sampleQueries_RangesAndBetween_AreBoundToTheirColumn() {
+        assertThat(samples("SELECT * FROM sales.rental WHERE rental_date BETWEEN ? AND ? AND ? < return_date")).hasValue(List.of(
+            new ParameterSample("SELECT DISTINCT TOP (20) [rental_date], [rental_date], [return_date] FROM [sales].[rental] "
+                + "WHERE [rental_date] IS NOT NULL AND [return_date] IS NOT NULL", List.of(1, 2, 3))));
+    }
+
+    @Test
+    void sampleQueries_JoinedTables_AreSampledSeparatelyByQualifier() {
+        assertThat(samples("""
+            SELECT r.rental_id FROM rental r JOIN customer c ON c.customer_id = r.customer_id
+            WHERE c.email = ? AND r.rental_date >= ?""")).hasValue(List.of(
+            new ParameterSample("SELECT DISTINCT TOP (20) [email] FROM [dbo].[customer] WHERE [email] IS NOT NULL", List.of(1)),
+            new ParameterSample("SELECT DISTINCT TOP (20) [rental_date] FROM [dbo].[rental] WHERE [rental_date] IS NOT NULL",
+                                List.of(2))));
+    }
+
+    @Test
+    void sampleQueries_UpdateAssignments_AreSampledFromTheAssignedColumn() {
+        assertThat(samples("UPDATE customer SET email = ?, active = ? WHERE customer_id = ?")).hasValue(List.of(
+            new ParameterSample("SELECT DISTINCT TOP (20) [email], [active], [customer_id] FROM [dbo].[customer] "
+                + "WHERE [email] IS NOT NULL AND [active] IS NOT NULL AND [customer_id] IS NOT NULL", List.of(1, 2, 3))));
+    }
+
+    @Test
+    void sampleQueries_WithoutParameters_NeedNoSamples() {
+        assertThat(samples("SELECT * FROM customer")).hasValue(List.of());
+    }
+
+    @Test
+    void sampleQueries_ParametersWithoutAKnownColumn_CannotBeSampled() {
+        assertThat(samples("SELECT * FROM customer WHERE YEAR(create_date) = ?")).isEmpty();
+        assertThat(samples("SELECT * FROM customer c JOIN address a ON a.address_id = c.address_id WHERE email = ?")).isEmpty();
+        assertThat(samples("SELECT * FROM customer c WHERE x.email = ?")).isEmpty();
+    }
+
+    @Test
+    void invalidArguments_AreRejected() {
+        assertThatThrownBy(() -> ParameterSampler.sampleQueries(null, "dbo", 20)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ParameterSampler.sampleQueries(SqlCompilationUnit.compile("SELECT 1"), "dbo", 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,143 @@
+package com.jfeatures.msg.codegen.plan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.jfeatures.msg.codegen.domain.DBColumn;
+import com.jfeatures.msg.codegen.domain.ExecutionPlanReport;
+import com.jfeatures.msg.codegen.domain.PlanFinding;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import java.sql.Connection;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ExecutionPlanAnalyzerTest {
+
+    private static final String SQL = "SELECT r.rental_id, r.rental_date, c.first_name FROM rental r "
+        + "JOIN customer c ON c.customer_id = r.customer_id WHERE c.email = ?";
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet planResult;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Mock
+    private ParameterMetaData parameterMetaData;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        lenient().when(dataSource.getConnection()).thenReturn(connection);
+        lenient().when(connection.createStatement()).thenReturn(statement);
+        lenient().when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        lenient().when(preparedStatement.getParameterMetaData()).thenReturn(parameterMetaData);
+        lenient().when(parameterMetaData.getParameterCount()).thenReturn(1);
+        lenient().when(parameterMetaData.getParameterType(1)).thenReturn(Types.VARCHAR);
+        lenient().when(statement.execute(anyString())).thenReturn(false);
+        lenient().when(statement.getUpdateCount()).thenReturn(-1);
+    }
+
+    @Test
+    void analyze_FetchesPlanBetweenShowplanSwitches() throws Exception {
+        String batch = "DECLARE @msg_p1 nvarchar(4000);\n" + SQL.replace("?", "@msg_p1");
+        when(statement.execute(batch)).thenReturn(true);
+        when(statement.getResultSet()).thenReturn(planResult);
+        when(planResult.next()).thenReturn(true, false);
+        when(planResult.getString(1)).thenReturn(ShowplanXmlParserTest.showplan("rental-by-email.xml"));
+
+        ExecutionPlanReport report = new ExecutionPlanAnalyzer(dataSource).analyze("Rental", SqlCompilationUnit.compile(SQL));
+
+        InOrder order = inOrder(statement);
+        order.verify(statement).execute("SET SHOWPLAN_XML ON");
+        order.verify(statement).execute(batch);
+        order.verify(statement).execute("SET SHOWPLAN_XML OFF");
+        assertThat(report.businessDomainName()).isEqualTo("Rental");
+        assertThat(report.sql()).isEqualTo(SQL);
+        assertThat(report.findings()).extracting(PlanFinding::type).containsExactly(
+            PlanFinding.Type.INDEX_SCAN, PlanFinding.Type.TABLE_SCAN, PlanFinding.Type.IMPLICIT_CONVERSION,
+            PlanFinding.Type.MISSING_INDEX, PlanFinding.Type.HIGH_COST);
+        assertThat(report.scansReading(10_000)).extracting(PlanFinding::objectName)
+            .containsExactly("[dbo].[rental].[PK_rental]");
+    }
+
+    @Test
+    void analyze_SwitchesShowplanOffWhenBatchFails() throws Exception {
+        SQLException failure = new SQLException("Invalid object name 'rental'");
+        when(statement.execute("SELECT rental_id FROM rental")).thenThrow(failure);
+
+        ExecutionPlanAnalyzer analyzer = new ExecutionPlanAnalyzer(dataSource);
+        SqlCompilationUnit unit = SqlCompilationUnit.compile("SELECT rental_id FROM rental");
+
+        assertThatThrownBy(() -> analyzer.analyze("Rental", unit)).isSameAs(failure);
+        verify(statement).execute("SET SHOWPLAN_XML OFF");
+        verify(connection).close();
+    }
+
+    @Test
+    void analyze_CheapPlanHasNoHighCostFinding() throws Exception {
+        when(statement.execute("SELECT customer_id, first_name, email FROM customer")).thenReturn(true);
+        when(statement.getResultSet()).thenReturn(planResult);
+        when(planResult.next()).thenReturn(true, false);
+        when(planResult.getString(1)).thenReturn(ShowplanXmlParserTest.showplan("customer-by-last-name.xml"));
+
+        ExecutionPlanReport report = new ExecutionPlanAnalyzer(dataSource)
+            .analyze("Customer", SqlCompilationUnit.compile("SELECT customer_id, first_name, email FROM customer"));
+
+        assertThat(report.estimatedCost()).isLessThan(ExecutionPlanAnalyzer.DEFAULT_COST_THRESHOLD);
+        assertThat(report.findings()).extracting(PlanFinding::type).containsExactly(PlanFinding.Type.KEY_LOOKUP);
+        assertThat(report.scansReading(0)).isEmpty();
+    }
+
+    @Test
+    void toShowplanBatch_DeclaresVariablesWithBoundTypes() {
+        String batch = ExecutionPlanAnalyzer.toShowplanBatch(
+            "UPDATE rental SET return_date = ? WHERE rental_id = ? AND note <> '?'",
+            List.of(new DBColumn(null, "returnDate", "Timestamp", "TIMESTAMP"),
+                    new DBColumn(null, "rentalId", "Integer", "INTEGER")));
+
+        assertThat(batch).isEqualTo("DECLARE @msg_p1 datetime2, @msg_p2 int;\n"
+            + "UPDATE rental SET return_date = @msg_p1 WHERE rental_id = @msg_p2 AND note <> '?'");
+        assertThat(ExecutionPlanAnalyzer.toShowplanBatch("SELECT 1", List.of())).isEqualTo("SELECT 1");
+    }
+
+    @Test
+    void sqlServerType_FallsBackToUnicodeString() {
+        assertThat(ExecutionPlanAnalyzer.sqlServerType("BIGINT")).isEqualTo("bigint");
+        assertThat(ExecutionPlanAnalyzer.sqlServerType("DECIMAL")).isEqualTo("decimal(38, 10)");
+        assertThat(ExecutionPlanAnalyzer.sqlServerType("VARCHAR")).isEqualTo("nvarchar(4000)");
+        assertThat(ExecutionPlanAnalyzer.sqlServerType(null)).isEqualTo("nvarchar(4000)");
+    }
+
+    @Test
+    void constructor_ValidatesArguments() {
+        assertThatThrownBy(() -> new ExecutionPlanAnalyzer(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ExecutionPlanAnalyzer(dataSource, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,36 @@
+package com.jfeatures.msg.codegen.plan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jfeatures.msg.codegen.domain.ExecutionPlanReport;
+import com.jfeatures.msg.codegen.domain.PlanFinding;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PerformanceReportRendererTest {
+
+    @Test
+    void render_ListsFindingsAsTable() {
+        ExecutionPlanReport report = new ExecutionPlanReport("Rental", "SELECT * FROM rental WHERE a = ? OR b = ?\n", 7.25,
+            List.of(new PlanFinding(PlanFinding.Type.TABLE_SCAN, "[dbo].[rental].[PK_rental]", 16044,
+                                    "Clustered Index Scan, estimated subtree cost 0.1428"),
+                    new PlanFinding(PlanFinding.Type.IMPLICIT_CONVERSION, null, 0, "a|b (affects Seek Plan)")));
+
+        String markdown = PerformanceReportRenderer.render(report);
+
+        assertThat(markdown).startsWith("# Performance Report: Rental\n")
+            .contains("```sql\nSELECT * FROM rental WHERE a = ? OR b = ?\n```")
+            .contains("Estimated cost: 7.2500")
+            .contains("| Table scan | [dbo].[rental].[PK_rental] | 16044 | Clustered Index Scan, estimated subtree cost 0.1428 |")
+            .contains("| Implicit conversion |  |  | a\\|b (affects Seek Plan) |");
+    }
+
+    @Test
+    void render_ReportsCleanPlan() {
+        String markdown = PerformanceReportRenderer.render(new ExecutionPlanReport("Customer", "SELECT 1", 0.0033, List.of()));
+
+        assertThat(markdown).contains("Estimated cost: 0.0033")
+            .contains("No scans, key lookups, implicit conversions or missing indexes found.")
+            .doesNotContain("| Finding |");
+    }
+}
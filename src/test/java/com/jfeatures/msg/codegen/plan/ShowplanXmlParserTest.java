@@ -0,0 +1,68 @@
+package com.jfeatures.msg.codegen.plan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import com.jfeatures.msg.codegen.domain.PlanFinding;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class ShowplanXmlParserTest {
+
+    static String showplan(String name) throws IOException {
+        try (InputStream in = ShowplanXmlParserTest.class.getResourceAsStream("/showplan/" + name)) {
+            assertThat(in).as("fixture %s", name).isNotNull();
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void parse_ReportsScansConversionsAndMissingIndexes() throws IOException {
+        ShowplanXmlParser.ParsedShowplan plan = ShowplanXmlParser.parse(showplan("rental-by-email.xml"));
+
+        assertThat(plan.estimatedCost()).isCloseTo(6.41207, within(1e-9));
+        assertThat(plan.findings()).extracting(PlanFinding::type).containsExactly(
+            PlanFinding.Type.INDEX_SCAN, PlanFinding.Type.TABLE_SCAN,
+            PlanFinding.Type.IMPLICIT_CONVERSION, PlanFinding.Type.MISSING_INDEX);
+
+        PlanFinding clusteredScan = plan.findings().get(1);
+        assertThat(clusteredScan.objectName()).isEqualTo("[dbo].[rental].[PK_rental]");
+        assertThat(clusteredScan.estimatedRows()).isEqualTo(16044);
+        assertThat(clusteredScan.detail()).isEqualTo("Clustered Index Scan, estimated subtree cost 0.1428");
+        assertThat(plan.findings().get(0).estimatedRows()).as("rows read, not rows returned").isEqualTo(599);
+
+        assertThat(plan.findings().get(2).detail())
+            .isEqualTo("CONVERT_IMPLICIT(nvarchar(50),[c].[email],0)=[@msg_p1] (affects Seek Plan)");
+        assertThat(plan.findings().get(3).objectName()).isEqualTo("[dbo].[rental]");
+        assertThat(plan.findings().get(3).detail()).isEqualTo(
+            "Estimated impact 81.3%: CREATE INDEX IX_rental_customer_id ON [dbo].[rental] ([customer_id]) INCLUDE ([rental_date])");
+    }
+
+    @Test
+    void parse_ReportsKeyLookupPerOuterRowAndIgnoresSeeks() throws IOException {
+        ShowplanXmlParser.ParsedShowplan plan = ShowplanXmlParser.parse(showplan("customer-by-last-name.xml"));
+
+        assertThat(plan.estimatedCost()).isCloseTo(0.0131, within(1e-9));
+        assertThat(plan.findings()).singleElement().satisfies(lookup -> {
+            assertThat(lookup.type()).isEqualTo(PlanFinding.Type.KEY_LOOKUP);
+            assertThat(lookup.objectName()).isEqualTo("[dbo].[customer].[PK_customer]");
+            assertThat(lookup.estimatedRows()).isEqualTo(1.5);
+            assertThat(lookup.isScan()).isFalse();
+        });
+    }
+
+    @Test
+    void parse_RejectsInvalidXmlAndDocumentTypes() {
+        assertThatThrownBy(() -> ShowplanXmlParser.parse("<ShowPlanXML"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageStartingWith("Invalid showplan XML");
+        assertThatThrownBy(() -> ShowplanXmlParser.parse(
+                "<!DOCTYPE x [<!ENTITY e SYSTEM \"file:///etc/passwd\">]><x>&e;</x>"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ShowplanXmlParser.parse(" "))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
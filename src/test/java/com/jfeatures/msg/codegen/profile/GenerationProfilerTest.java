@@ -0,0 +1,152 @@
+package com.jfeatures.msg.codegen.profile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GenerationProfilerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void phasesOfABoundService_AreCollectedWithTheirCounters() throws Exception {
+        GenerationProfiler profiler = new GenerationProfiler();
+
+        try (GenerationProfiler.ServiceScope ignored = profiler.profile("Customer")) {
+            GenerationProfiler.time(GenerationPhase.METADATA, "select-columns", () -> {
+                GenerationProfiler.countRoundTrip();
+                GenerationProfiler.countRoundTrip();
+                return null;
+            });
+            try (GenerationProfiler.Phase phase = GenerationProfiler.phase(GenerationPhase.WRITE, "project")) {
+                GenerationProfiler.countBytesWritten(1024);
+            }
+        }
+
+        assertThat(profiler.timings())
+            .extracting(PhaseTiming::businessDomainName, PhaseTiming::phase, PhaseTiming::step,
+                        PhaseTiming::roundTrips, PhaseTiming::bytesWritten)
+            .containsExactly(
+                tuple("Customer", GenerationPhase.METADATA, "select-columns", 2L, 0L),
+                tuple("Customer", GenerationPhase.WRITE, "project", 0L, 1024L));
+        assertThat(profiler.timings()).allSatisfy(timing -> assertThat(timing.elapsed().isNegative()).isFalse());
+    }
+
+    @Test
+    void nestedPhase_AddsItsCountersToTheEnclosingPhase() throws Exception {
+        GenerationProfiler profiler = new GenerationProfiler();
+
+        try (GenerationProfiler.ServiceScope ignored = profiler.profile("Customer");
+             GenerationProfiler.Phase outer = GenerationProfiler.phase(GenerationPhase.METADATA, "select-columns")) {
+            GenerationProfiler.countRoundTrip();
+            try (GenerationProfiler.Phase inner = GenerationProfiler.phase(GenerationPhase.METADATA, "schema-catalog")) {
+                GenerationProfiler.countRoundTrip();
+                GenerationProfiler.countRoundTrip();
+            }
+        }
+
+        assertThat(profiler.timings())
+            .extracting(PhaseTiming::step, PhaseTiming::roundTrips)
+            .containsExactly(tuple("schema-catalog", 2L),
+                             tuple("select-columns", 3L));
+    }
+
+    @Test
+    void phasesOutsideAServiceOrOfADisabledProfiler_AreNotCollected() throws Exception {
+        GenerationProfiler profiler = new GenerationProfiler();
+
+        GenerationProfiler.time(GenerationPhase.PARSE, "SqlCompilationUnit", () -> "unbound");
+        try (GenerationProfiler.ServiceScope ignored = GenerationProfiler.disabled().profile("Customer")) {
+            GenerationProfiler.time(GenerationPhase.PARSE, "SqlCompilationUnit", () -> "disabled");
+        }
+
+        assertThat(profiler.timings()).isEmpty();
+        assertThat(GenerationProfiler.disabled().timings()).isEmpty();
+        assertThat(GenerationProfiler.disabled().isEnabled()).isFalse();
+    }
+
+    @Test
+    void closingAServiceScope_RestoresTheEnclosingService() throws Exception {
+        GenerationProfiler profiler = new GenerationProfiler();
+
+        try (GenerationProfiler.ServiceScope outer = profiler.profile("Batch")) {
+            try (GenerationProfiler.ServiceScope inner = profiler.profile("Customer")) {
+                GenerationProfiler.time(GenerationPhase.DETECT, "SqlStatementDetector", () -> null);
+            }
+            GenerationProfiler.time(GenerationPhase.RESOLVE, "sql-file", () -> null);
+        }
+
+        assertThat(profiler.timings()).extracting(PhaseTiming::businessDomainName).containsExactly("Customer", "Batch");
+    }
+
+    @Test
+    void failingAction_StillEndsThePhase() {
+        GenerationProfiler profiler = new GenerationProfiler();
+
+        try (GenerationProfiler.ServiceScope ignored = profiler.profile("Customer")) {
+            assertThatThrownBy(() -> GenerationProfiler.time(GenerationPhase.METADATA, "insert", () -> {
+                throw new IllegalStateException("database unavailable");
+            })).isInstanceOf(IllegalStateException.class).hasMessage("database unavailable");
+        }
+
+        assertThat(profiler.timings()).extracting(PhaseTiming::step).containsExactly("insert");
+    }
+
+    @Test
+    void phases_AreRecordedAsJfrEvents() throws Exception {
+        Path recordingFile = tempDir.resolve("generation.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.jfeatures.msg.GenerationPhase").withThreshold(Duration.ZERO);
+            recording.start();
+            try (GenerationProfiler.ServiceScope ignored = GenerationProfiler.disabled().profile("Customer");
+                 GenerationProfiler.Phase phase = GenerationProfiler.phase(GenerationPhase.GENERATE, "GenerateDAO")) {
+                GenerationProfiler.countRoundTrip();
+            }
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile).stream()
+            .filter(event -> event.getEventType().getName().equals("com.jfeatures.msg.GenerationPhase"))
+            .toList();
+        assertThat(events).hasSize(1);
+        RecordedEvent event = events.get(0);
+        assertThat(event.getString("businessDomainName")).isEqualTo("Customer");
+        assertThat(event.getString("phase")).isEqualTo("GENERATE");
+        assertThat(event.getString("step")).isEqualTo("GenerateDAO");
+        assertThat(event.getLong("roundTrips")).isEqualTo(1);
+    }
+
+    @Test
+    void invalidArguments_AreRejected() {
+        GenerationProfiler profiler = new GenerationProfiler();
+
+        assertThatThrownBy(() -> profiler.profile(" ")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GenerationProfiler.phase(null, "step")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GenerationProfiler.phase(GenerationPhase.WRITE, ""))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void logSummary_HandlesCollectedAndEmptyProfiles() throws Exception {
+        GenerationProfiler profiler = new GenerationProfiler();
+        profiler.logSummary();
+
+        try (GenerationProfiler.ServiceScope ignored = profiler.profile("Customer")) {
+            GenerationProfiler.time(GenerationPhase.PARSE, "SqlCompilationUnit", () -> null);
+        }
+        profiler.logSummary();
+
+        assertThat(profiler.timings()).hasSize(1);
+    }
+}
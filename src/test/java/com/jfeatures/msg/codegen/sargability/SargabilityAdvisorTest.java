@@ -0,0 +1,120 @@
+package com.jfeatures.msg.codegen.sargability;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.jfeatures.msg.codegen.dbmetadata.CatalogColumn;
+import com.jfeatures.msg.codegen.dbmetadata.SchemaCatalog;
+import com.jfeatures.msg.codegen.domain.SargabilityFinding;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class SargabilityAdvisorTest {
+
+    private static final SchemaCatalog CATALOG = SchemaCatalog.of("dbo", List.of(
+        new CatalogColumn("dbo", "customer", "customer_id", 1, "int", Types.INTEGER, 4, 10, 0, false, true, true),
+        new CatalogColumn("dbo", "customer", "last_name", 2, "varchar", Types.VARCHAR, 45, 0, 0, false, false, false),
+        new CatalogColumn("dbo", "customer", "notes", 3, "nvarchar", Types.NVARCHAR, -1, 0, 0, true, false, false),
+        new CatalogColumn("dbo", "customer", "postal_code", 4, "char", Types.CHAR, 10, 0, 0, true, false, false)
+    ), Map.of());
+
+    private static List<SargabilityFinding> analyze(String sql) {
+        return new SargabilityAdvisor().analyze(SqlCompilationUnit.compile(sql));
+    }
+
+    @Test
+    void analyze_FunctionsOnColumns_AreReportedWithSafeRewrites() {
+        List<SargabilityFinding> findings = analyze("""
+            SELECT rental_id FROM rental r
+            WHERE YEAR(r.rental_date) = 2005 AND RTRIM(last_name) = ? AND LEFT(email, 3) = 'abc'
+              AND UPPER(first_name) = ? AND CAST(return_date AS DATE) = ?""");
+
+        assertThat(findings).extracting(SargabilityFinding::type).containsOnly(SargabilityFinding.Type.FUNCTION_ON_COLUMN);
+        assertThat(findings).extracting(SargabilityFinding::predicate).containsExactly(
+            "YEAR(r.rental_date) = 2005", "RTRIM(last_name) = ?", "LEFT(email, 3) = 'abc'", "UPPER(first_name) = ?");
+        assertThat(findings).extracting(SargabilityFinding::rewrite).containsExactly(
+            "(r.rental_date >= '20050101' AND r.rental_date < '20060101')", "last_name = ?", "email LIKE 'abc%'", null);
+        assertThat(findings.get(3).detail()).contains("No index on first_name can seek, since UPPER is applied")
+                                             .contains("case-insensitive");
+    }
+
+    @Test
+    void analyze_DateArithmetic_IsMovedToTheValue() {
+        List<SargabilityFinding> findings = analyze("""
+            SELECT rental_id FROM rental
+            WHERE DATEDIFF(day, rental_date, GETDATE()) <= 30 AND 7 > DATEDIFF(DAY, GETDATE(), return_date)
+              AND DATEADD(hour, 2, last_update) > '2006-02-15' AND DATEADD(month, 1, payment_date) < ?""");
+
+        assertThat(findings).extracting(SargabilityFinding::type).containsOnly(SargabilityFinding.Type.DATE_ARITHMETIC);
+        assertThat(findings).extracting(SargabilityFinding::rewrite).containsExactly(
+            "rental_date >= DATEADD(DAY, -30, CAST(GETDATE() AS DATE))",
+            "return_date < DATEADD(DAY, 7, CAST(GETDATE() AS DATE))",
+            "last_update > DATEADD(hour, -2, '2006-02-15')",
+            null);
+    }
+
+    @Test
+    void analyze_LeadingWildcardsAndArithmetic_AreReportedWithoutRewrite() {
+        List<SargabilityFinding> findings = analyze("""
+            SELECT film_id FROM film
+            WHERE title LIKE '%LOVE' AND description LIKE '%' + ? AND rating LIKE 'PG%' AND length + 10 > ?""");
+
+        assertThat(findings).extracting(SargabilityFinding::type).containsExactly(
+            SargabilityFinding.Type.LEADING_WILDCARD, SargabilityFinding.Type.LEADING_WILDCARD,
+            SargabilityFinding.Type.ARITHMETIC_ON_COLUMN);
+        assertThat(findings).noneMatch(SargabilityFinding::isRewritable);
+    }
+
+    @Test
+    void analyze_OrConditions_AreReportedUnlessTheyShareAColumn() {
+        assertThat(analyze("SELECT * FROM customer WHERE first_name = ? OR last_name = ?"))
+            .singleElement().satisfies(finding -> {
+                assertThat(finding.type()).isEqualTo(SargabilityFinding.Type.OR_ACROSS_COLUMNS);
+                assertThat(finding.detail()).contains("(first_name, last_name)").contains("UNION");
+            });
+        assertThat(analyze("SELECT * FROM customer WHERE store_id = ? AND (? IS NULL OR last_name = ?)"))
+            .singleElement().satisfies(finding -> assertThat(finding.detail()).contains("OPTION (RECOMPILE)"));
+        assertThat(analyze("SELECT * FROM customer WHERE last_name = ? OR (last_name = ? AND first_name = ?)")).isEmpty();
+    }
+
+    @Test
+    void analyze_SubqueriesJoinsAndDml_AreChecked() {
+        assertThat(analyze("""
+            SELECT c.customer_id FROM customer c JOIN rental r ON r.customer_id = c.customer_id AND MONTH(r.rental_date) = ?
+            WHERE c.store_id IN (SELECT store_id FROM store WHERE LOWER(manager_name) = ?)"""))
+            .extracting(SargabilityFinding::predicate)
+            .containsExactlyInAnyOrder("MONTH(r.rental_date) = ?", "LOWER(manager_name) = ?");
+        assertThat(analyze("UPDATE customer SET active = 0 WHERE ISNULL(email, '') = ?")).hasSize(1);
+        assertThat(analyze("DELETE FROM rental WHERE rental_date + 1 < ?")).hasSize(1);
+    }
+
+    @Test
+    void analyze_SargablePredicates_AreNotReported() {
+        assertThat(analyze("""
+            SELECT c.first_name FROM customer c JOIN address a ON a.address_id = c.address_id
+            WHERE c.last_name = ? AND c.create_date >= DATEADD(day, -30, GETDATE()) AND c.email LIKE ?
+              AND c.store_id BETWEEN ? AND ? AND UPPER(?) = 'X'""")).isEmpty();
+        assertThat(analyze("SELECT * FROM")).isEmpty();
+    }
+
+    @Test
+    void analyze_WithCatalog_ReportsImplicitConversionsOfVarcharColumns() {
+        List<SargabilityFinding> findings = new SargabilityAdvisor(CATALOG).analyze(SqlCompilationUnit.compile("""
+            SELECT customer_id FROM customer c
+            WHERE c.last_name = ? AND notes = ? AND postal_code = N'12345' AND c.postal_code <> 12345"""));
+
+        assertThat(findings).extracting(SargabilityFinding::type).containsOnly(SargabilityFinding.Type.IMPLICIT_CONVERSION);
+        assertThat(findings).extracting(SargabilityFinding::rewrite).containsExactly(
+            "c.last_name = CAST(? AS VARCHAR(8000))", "postal_code = '12345'", null);
+        assertThat(findings.get(0).detail()).contains("sendStringParametersAsUnicode=false");
+    }
+
+    @Test
+    void invalidArguments_AreRejected() {
+        assertThatThrownBy(() -> new SargabilityAdvisor(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SargabilityAdvisor().analyze(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
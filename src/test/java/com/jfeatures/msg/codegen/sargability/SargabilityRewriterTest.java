@@ -0,0 +1,63 @@
+package com.jfeatures.msg.codegen.sargability;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.jfeatures.msg.codegen.domain.SargabilityFinding;
+import com.jfeatures.msg.codegen.sql.SqlCompilationUnit;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SargabilityRewriterTest {
+
+    private static String fix(String sql) {
+        return SargabilityRewriter.rewrite(sql, new SargabilityAdvisor().analyze(SqlCompilationUnit.compile(sql)));
+    }
+
+    @Test
+    void rewrite_ReplacesOnlyThePredicates_KeepingFormattingAndComments() {
+        String sql = """
+            -- Rentals of the last month
+            SELECT rental_id
+            FROM   rental
+            WHERE  datediff(DAY, rental_date, getdate())<=30
+              AND  rtrim( last_name ) = ?   /* trailing spaces never matter */
+              AND  title LIKE '%LOVE'
+            """;
+
+        assertThat(fix(sql)).isEqualTo("""
+            -- Rentals of the last month
+            SELECT rental_id
+            FROM   rental
+            WHERE  rental_date >= DATEADD(DAY, -30, CAST(getdate() AS DATE))
+              AND  last_name = ?   /* trailing spaces never matter */
+              AND  title LIKE '%LOVE'
+            """);
+    }
+
+    @Test
+    void rewrite_AmbiguousOrMissingPredicates_AreLeftUnchanged() {
+        String repeated = "SELECT 1 FROM t WHERE RTRIM(a) = ? UNION ALL SELECT 1 FROM t WHERE RTRIM(a) = ?";
+        SargabilityFinding missing = new SargabilityFinding(SargabilityFinding.Type.FUNCTION_ON_COLUMN,
+                                                            "RTRIM(b) = ?", "detail", "b = ?");
+
+        assertThat(fix(repeated)).isEqualTo(repeated);
+        assertThat(SargabilityRewriter.rewrite("SELECT 1 FROM t WHERE RTRIM(a) = ?", List.of(missing)))
+            .isEqualTo("SELECT 1 FROM t WHERE RTRIM(a) = ?");
+    }
+
+    @Test
+    void rewrittenSql_HasNoRewritableFindingsLeft() {
+        String rewritten = fix("SELECT * FROM payment WHERE YEAR(payment_date) >= 2006 AND DATEADD(day, 1, last_update) < GETDATE()");
+
+        assertThat(rewritten).isEqualTo(
+            "SELECT * FROM payment WHERE payment_date >= '20060101' AND last_update < DATEADD(day, -1, GETDATE())");
+        assertThat(new SargabilityAdvisor().analyze(SqlCompilationUnit.compile(rewritten))).isEmpty();
+    }
+
+    @Test
+    void invalidArguments_AreRejected() {
+        assertThatThrownBy(() -> SargabilityRewriter.rewrite(null, List.of())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SargabilityRewriter.rewrite("SELECT 1", null)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,100 @@
+package com.jfeatures.msg.codegen.sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.jfeatures.msg.codegen.dbmetadata.CatalogColumn;
+import com.jfeatures.msg.codegen.dbmetadata.CatalogTable;
+import com.jfeatures.msg.codegen.dbmetadata.SchemaCatalog;
+import com.jfeatures.msg.codegen.util.SqlStatementDetector;
+import com.jfeatures.msg.codegen.util.SqlStatementType;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class CrudSqlSynthesizerTest {
+
+    private static CatalogColumn column(String table, String name, int ordinal, String type, int jdbcType,
+                                        boolean identity, boolean primaryKey) {
+        return new CatalogColumn("sakila", table, name, ordinal, type, jdbcType, 4, 10, 0, !primaryKey, identity, primaryKey);
+    }
+
+    private static CatalogTable table(String tableName) {
+        SchemaCatalog catalog = SchemaCatalog.of("sakila", List.of(
+            column("film", "film_id", 1, "int", Types.INTEGER, true, true),
+            column("film", "title", 2, "varchar", Types.VARCHAR, false, false),
+            column("film", "row_version", 3, "timestamp", Types.BINARY, false, false),
+            column("film_actor", "actor_id", 1, "int", Types.INTEGER, false, true),
+            column("film_actor", "film_id", 2, "int", Types.INTEGER, false, true),
+            column("film_actor", "last_update", 3, "datetime", Types.TIMESTAMP, false, false),
+            column("film_text", "film_id", 1, "int", Types.INTEGER, false, false),
+            column("order line", "order", 1, "int", Types.INTEGER, false, true),
+            column("order line", "qty", 2, "int", Types.INTEGER, false, false),
+            column("payment", "payment_id", 1, "int", Types.INTEGER, false, true),
+            column("payment", "amount", 2, "decimal", Types.DECIMAL, false, false),
+            new CatalogColumn("sakila", "payment", "amount_with_tax", 3, "decimal", Types.DECIMAL, 9, 10, 2,
+                true, false, false, true, false),
+            new CatalogColumn("sakila", "payment", "valid_from", 4, "datetime2", Types.TIMESTAMP, 8, 27, 7,
+                false, false, false, false, true),
+            new CatalogColumn("sakila", "payment", "valid_to", 5, "datetime2", Types.TIMESTAMP, 8, 27, 7,
+                false, false, false, false, true)
+        ), Map.of());
+        return catalog.findTable("sakila", tableName).orElseThrow();
+    }
+
+    @Test
+    void testSynthesize_SingleColumnKey_ProducesParsableStatements() {
+        CatalogTable film = table("film");
+
+        assertThat(CrudSqlSynthesizer.selectByPrimaryKey(film))
+            .isEqualTo("SELECT film_id, title, row_version FROM sakila.film WHERE film_id = ?");
+        assertThat(CrudSqlSynthesizer.insert(film)).isEqualTo("INSERT INTO sakila.film (title) VALUES (?)");
+        assertThat(CrudSqlSynthesizer.updateByPrimaryKey(film)).isEqualTo("UPDATE sakila.film SET title = ? WHERE film_id = ?");
+        assertThat(CrudSqlSynthesizer.deleteByPrimaryKey(film)).isEqualTo("DELETE FROM sakila.film WHERE film_id = ?");
+
+        assertThat(SqlStatementDetector.detectStatementType(SqlCompilationUnit.compile(CrudSqlSynthesizer.selectByPrimaryKey(film)))).isEqualTo(SqlStatementType.SELECT);
+        assertThat(SqlCompilationUnit.compile(CrudSqlSynthesizer.updateByPrimaryKey(film)).isParsed()).isTrue();
+    }
+
+    @Test
+    void testSynthesize_CompositeKey_BindsEveryKeyColumn() {
+        CatalogTable filmActor = table("film_actor");
+
+        assertThat(CrudSqlSynthesizer.deleteByPrimaryKey(filmActor))
+            .isEqualTo("DELETE FROM sakila.film_actor WHERE actor_id = ? AND film_id = ?");
+        assertThat(CrudSqlSynthesizer.insert(filmActor))
+            .isEqualTo("INSERT INTO sakila.film_actor (actor_id, film_id, last_update) VALUES (?, ?, ?)");
+        assertThat(CrudSqlSynthesizer.updateByPrimaryKey(filmActor))
+            .isEqualTo("UPDATE sakila.film_actor SET last_update = ? WHERE actor_id = ? AND film_id = ?");
+    }
+
+    @Test
+    void testSynthesize_ReservedAndSpacedNames_AreQuoted() {
+        String sql = CrudSqlSynthesizer.selectByPrimaryKey(table("order line"));
+
+        assertThat(sql).isEqualTo("SELECT \"order\", qty FROM sakila.\"order line\" WHERE \"order\" = ?");
+        assertThat(SqlCompilationUnit.compile(sql).isParsed()).isTrue();
+    }
+
+    @Test
+    void testSynthesize_ComputedAndGeneratedAlwaysColumns_AreNeitherInsertedNorUpdated() {
+        CatalogTable payment = table("payment");
+
+        assertThat(CrudSqlSynthesizer.insert(payment)).isEqualTo("INSERT INTO sakila.payment (payment_id, amount) VALUES (?, ?)");
+        assertThat(CrudSqlSynthesizer.updateByPrimaryKey(payment)).isEqualTo("UPDATE sakila.payment SET amount = ? WHERE payment_id = ?");
+        assertThat(CrudSqlSynthesizer.selectByPrimaryKey(payment))
+            .isEqualTo("SELECT payment_id, amount, amount_with_tax, valid_from, valid_to FROM sakila.payment WHERE payment_id = ?");
+    }
+
+    @Test
+    void testSynthesize_TableWithoutPrimaryKey_Throws() {
+        CatalogTable filmText = table("film_text");
+
+        assertThatThrownBy(() -> CrudSqlSynthesizer.selectByPrimaryKey(filmText))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("no primary key");
+        assertThatThrownBy(() -> CrudSqlSynthesizer.updateByPrimaryKey(filmText))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,101 @@
+package com.jfeatures.msg.codegen.sql;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.jfeatures.msg.codegen.domain.ParameterReference;
+import com.jfeatures.msg.codegen.domain.TableReference;
+import com.jfeatures.msg.codegen.util.SqlFingerprint;
+import com.jfeatures.msg.codegen.util.SqlStatementDetector;
+import com.jfeatures.msg.codegen.util.SqlStatementType;
+import java.util.List;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.statement.update.Update;
+import org.junit.jupiter.api.Test;
+
+class SqlCompilationUnitTest {
+
+    @Test
+    void testCompile_Update_CarriesStatementTablesAndParameters() throws JSQLParserException {
+        SqlCompilationUnit unit = SqlCompilationUnit.compile(
+            "UPDATE customer SET first_name = ?, last_name = ? WHERE customer_id = ? AND store_id > ?");
+
+        assertTrue(unit.isParsed());
+        assertInstanceOf(Update.class, unit.requireStatement());
+        assertEquals(SqlStatementType.UPDATE, SqlStatementDetector.detectStatementType(unit));
+        assertEquals(List.of(new TableReference(null, "customer", null)), unit.tableReferences());
+        assertEquals(List.of(
+            new ParameterReference(1, null, null),
+            new ParameterReference(2, null, null),
+            new ParameterReference(3, null, "customer_id"),
+            new ParameterReference(4, null, null)), unit.parameters());
+    }
+
+    @Test
+    void testCompile_CteAndJoin_BindsParametersInOrderOfAppearance() {
+        SqlCompilationUnit unit = SqlCompilationUnit.compile("""
+            WITH recent AS (SELECT customer_id FROM rental WHERE staff_id = ?)
+            SELECT c.first_name
+              FROM customer c
+              JOIN recent r ON r.customer_id = c.customer_id AND c.store_id = ?
+             WHERE c.active = ?
+            """);
+
+        assertEquals(3, unit.parameterCount());
+        assertEquals(List.of("staff_id", "c.store_id", "c.active"),
+            unit.parameters().stream().map(ParameterReference::columnReference).toList());
+        assertEquals(List.of(new TableReference(null, "rental", null), new TableReference(null, "customer", "c")),
+            unit.tableReferences());
+    }
+
+    @Test
+    void testCompile_ParameterCastToColumnType_IsBoundToColumn() {
+        SqlCompilationUnit unit = SqlCompilationUnit.compile(
+            "SELECT * FROM customer c WHERE c.last_name = CAST(? AS VARCHAR(8000)) AND store_id > CAST(? AS INT)");
+
+        assertEquals(List.of(new ParameterReference(1, "c", "last_name"), new ParameterReference(2, null, null)),
+            unit.parameters());
+    }
+
+    @Test
+    void testParameterCount_IgnoresQuestionMarksInLiteralsAndComments() {
+        SqlCompilationUnit unit = SqlCompilationUnit.compile(
+            "SELECT * FROM film -- why?\nWHERE title = 'Who?' AND rating = ?");
+
+        assertEquals(1, unit.parameterCount());
+        assertEquals("rating", unit.parameters().get(0).columnName());
+    }
+
+    @Test
+    void testCompile_UnparsableSql_KeepsParseErrorAndCountsParameters() {
+        SqlCompilationUnit unit = SqlCompilationUnit.compile("SELECT FROM WHERE id = ? AND ?");
+
+        assertFalse(unit.isParsed());
+        assertTrue(unit.statement().isEmpty());
+        assertTrue(unit.tableReferences().isEmpty());
+        assertEquals(2, unit.parameterCount());
+        assertFalse(unit.parameters().get(0).isBoundToColumn());
+        assertThrows(JSQLParserException.class, unit::requireStatement);
+        assertEquals(SqlStatementType.SELECT, SqlStatementDetector.detectStatementType(unit));
+    }
+
+    @Test
+    void testFingerprint_MatchesSqlFingerprint() {
+        String sql = "SELECT *\n  FROM customer\n WHERE customer_id = ?;";
+        SqlCompilationUnit unit = SqlCompilationUnit.compile(sql);
+
+        assertEquals(SqlFingerprint.normalize(sql), unit.normalizedSql());
+        assertEquals(SqlFingerprint.fingerprint(sql), unit.fingerprint());
+    }
+
+    @Test
+    void testEquals_SameSqlText() {
+        assertEquals(SqlCompilationUnit.compile("SELECT 1"), SqlCompilationUnit.compile("SELECT 1"));
+        assertNotEquals(SqlCompilationUnit.compile("SELECT 1"), SqlCompilationUnit.compile("SELECT  1"));
+    }
+
+    @Test
+    void testCompile_NullOrEmpty_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> SqlCompilationUnit.compile(null));
+        assertThrows(IllegalArgumentException.class, () -> SqlCompilationUnit.compile("  "));
+    }
+}
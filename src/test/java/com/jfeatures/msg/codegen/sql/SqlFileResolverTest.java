@@ -7,9 +7,13 @@ import com.jfeatures.msg.codegen.constants.ProjectConstants;
 import com.jfeatures.msg.sql.ReadFileFromResources;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -277,4 +281,49 @@ class SqlFileResolverTest {
             mockReadFile.verifyNoMoreInteractions();
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void testResolveSqlFiles_Directory_ReturnsSqlFilesInOrder(@TempDir Path tempDir) throws IOException {
+        Files.writeString(tempDir.resolve("b_update.sql"), "UPDATE t SET a = ?");
+        Files.writeString(tempDir.resolve("a_select.SQL"), "SELECT 1");
+        Files.writeString(tempDir.resolve("notes.txt"), "not sql");
+        Files.createDirectories(tempDir.resolve("nested"));
+        Files.writeString(tempDir.resolve("nested/c_delete.sql"), "DELETE FROM t");
+
+        List<Path> files = resolver.resolveSqlFiles(tempDir.toString());
+
+        assertEquals(List.of(tempDir.resolve("a_select.SQL"), tempDir.resolve("b_update.sql")), files);
+    }
+
+    @Test
+    void testResolveSqlFiles_Glob_MatchesNestedFiles(@TempDir Path tempDir) throws IOException {
+        Files.createDirectories(tempDir.resolve("orders"));
+        Files.createDirectories(tempDir.resolve("customers"));
+        Files.writeString(tempDir.resolve("orders/order_select.sql"), "SELECT 1");
+        Files.writeString(tempDir.resolve("customers/customer_insert.sql"), "INSERT INTO t (a) VALUES (?)");
+        Files.writeString(tempDir.resolve("customers/readme.md"), "docs");
+
+        List<Path> files = resolver.resolveSqlFiles(tempDir + "/**/*.sql");
+
+        assertEquals(List.of(tempDir.resolve("customers/customer_insert.sql"), tempDir.resolve("orders/order_select.sql")), files);
+    }
+
+    @Test
+    void testIsSqlFileOf_MatchesDeletedFilesOfTheSource(@TempDir Path tempDir) throws IOException {
+        Files.createDirectories(tempDir.resolve("orders"));
+
+        assertTrue(resolver.isSqlFileOf(tempDir.toString(), tempDir.resolve("customer_select.sql")));
+        assertFalse(resolver.isSqlFileOf(tempDir.toString(), tempDir.resolve("notes.txt")));
+        assertFalse(resolver.isSqlFileOf(tempDir.toString(), tempDir.resolve("orders/order_select.sql")));
+        assertTrue(resolver.isSqlFileOf(tempDir + "/**/*.sql", tempDir.resolve("orders/order_select.sql")));
+        assertFalse(resolver.isSqlFileOf(tempDir + "/**/*.sql", tempDir.resolve("orders/readme.md")));
+    }
+
+    @Test
+    void testResolveSqlFiles_NoMatches_Throws(@TempDir Path tempDir) {
+        String glob = tempDir + "/*.sql";
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> resolver.resolveSqlFiles(glob));
+        assertTrue(exception.getMessage().contains("No SQL files found"));
+    }
+}
@@ -0,0 +1,154 @@
+package com.jfeatures.msg.codegen.sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SqlFileWatcherTest {
+
+    private static final Duration DEBOUNCE = Duration.ofMillis(200);
+
+    @TempDir
+    Path tempDir;
+
+    private final BlockingQueue<List<Path>> notifications = new LinkedBlockingQueue<>();
+    private SqlFileWatcher watcher;
+    private Thread watchThread;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (watcher != null) {
+            watcher.close();
+            watchThread.join(5000);
+        }
+    }
+
+    private void startWatching(String directoryOrGlob) throws IOException {
+        watcher = new SqlFileWatcher(directoryOrGlob, new SqlFileResolver(), DEBOUNCE);
+        watchThread = Thread.ofVirtual().start(() -> {
+            try {
+                watcher.watch(notifications::add);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    private List<Path> nextNotification() throws InterruptedException {
+        return notifications.poll(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void rapidSaves_AreReportedOnce() throws Exception {
+        Path customer = Files.writeString(tempDir.resolve("customer.sql"), "SELECT 1");
+        Files.writeString(tempDir.resolve("orders.sql"), "SELECT 2");
+        startWatching(tempDir.toString());
+
+        for (int i = 0; i < 5; i++) {
+            Files.writeString(customer, "SELECT * FROM customer WHERE customer_id = " + i);
+        }
+
+        assertThat(nextNotification()).containsExactly(customer);
+        assertThat(notifications.poll(DEBOUNCE.toMillis() * 3, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void changesToOtherFiles_AreIgnored() throws Exception {
+        Path customer = Files.writeString(tempDir.resolve("customer.sql"), "SELECT 1");
+        startWatching(tempDir.toString());
+
+        Files.writeString(tempDir.resolve("notes.txt"), "not SQL");
+        Files.writeString(customer, "SELECT 2");
+
+        assertThat(nextNotification()).containsExactly(customer);
+    }
+
+    @Test
+    void newFileInNewSubdirectory_IsReportedForGlob() throws Exception {
+        Files.writeString(tempDir.resolve("customer.sql"), "SELECT 1");
+        startWatching(tempDir + "/**.sql");
+
+        Path reports = Files.createDirectories(tempDir.resolve("reports"));
+        Path sales = Files.writeString(reports.resolve("sales.sql"), "SELECT 2");
+
+        assertThat(nextNotification()).containsExactly(sales);
+    }
+
+    @Test
+    void vanishedNewSubdirectory_DoesNotEndTheWatch() throws Exception {
+        startWatching(tempDir + "/**.sql");
+
+        for (int i = 0; i < 20; i++) {
+            Path build = Files.createDirectories(tempDir.resolve("build" + i).resolve("nested"));
+            Files.delete(build);
+            Files.delete(build.getParent());
+        }
+        Path sales = Files.writeString(tempDir.resolve("sales.sql"), "SELECT 2");
+
+        assertThat(nextNotification()).containsExactly(sales);
+        assertThat(watchThread.isAlive()).isTrue();
+    }
+
+    @Test
+    void deletedFile_IsReportedAsRemovedOnly() throws Exception {
+        Path customer = Files.writeString(tempDir.resolve("customer.sql"), "SELECT 1");
+        Files.writeString(tempDir.resolve("orders.sql"), "SELECT 2");
+        BlockingQueue<List<Path>> removals = new LinkedBlockingQueue<>();
+        watcher = new SqlFileWatcher(tempDir.toString(), new SqlFileResolver(), DEBOUNCE);
+        watchThread = Thread.ofVirtual().start(() -> {
+            try {
+                watcher.watch(new SqlFileWatcher.ChangeListener() {
+                    @Override
+                    public void filesChanged(List<Path> sqlFiles) {
+                        notifications.add(sqlFiles);
+                    }
+
+                    @Override
+                    public void filesRemoved(List<Path> sqlFiles) {
+                        removals.add(sqlFiles);
+                    }
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        Files.delete(customer);
+        Files.delete(tempDir.resolve("orders.sql"));
+        Files.writeString(tempDir.resolve("orders.sql"), "SELECT 3");
+
+        assertThat(removals.poll(10, TimeUnit.SECONDS)).containsExactly(customer);
+        assertThat(nextNotification()).containsExactly(tempDir.resolve("orders.sql"));
+    }
+
+    @Test
+    void constructor_WithMissingDirectory_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> new SqlFileWatcher(tempDir.resolve("missing") + "/*.sql", new SqlFileResolver(), DEBOUNCE))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SqlFileWatcher(tempDir.toString(), null, DEBOUNCE))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SqlFileWatcher(tempDir.toString(), new SqlFileResolver(), Duration.ofMillis(-1)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void close_StopsWatching() throws Exception {
+        startWatching(tempDir.toString());
+
+        watcher.close();
+        watchThread.join(5000);
+
+        assertThat(watchThread.isAlive()).isFalse();
+    }
+}
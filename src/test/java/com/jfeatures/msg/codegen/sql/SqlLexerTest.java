@@ -0,0 +1,65 @@
+package com.jfeatures.msg.codegen.sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SqlLexerTest {
+
+    @Test
+    void tokenize_SplitsStatementWithPositions() {
+        String sql = "SELECT c.name FROM customer c WHERE c.id = ?";
+
+        List<SqlToken> tokens = SqlLexer.tokenize(sql);
+
+        assertThat(tokens).extracting(SqlToken::text)
+            .containsExactly("SELECT", "c", ".", "name", "FROM", "customer", "c", "WHERE", "c", ".", "id", "=", "?");
+        SqlToken placeholder = tokens.get(tokens.size() - 1);
+        assertThat(placeholder.type()).isEqualTo(SqlToken.Type.PARAMETER);
+        assertThat(placeholder.start()).isEqualTo(sql.length() - 1);
+        assertThat(placeholder.end()).isEqualTo(sql.length());
+        assertThat(tokens).allSatisfy(token -> assertThat(sql.substring(token.start(), token.end())).isEqualTo(token.text()));
+    }
+
+    @Test
+    void tokenize_ClassifiesLiteralsIdentifiersAndVariables() {
+        List<SqlToken> tokens = SqlLexer.tokenize("[order id] = N'it''s' AND \"x\" > 1.5e3 AND @limit <> `y`");
+
+        assertThat(tokens).extracting(SqlToken::type).containsExactly(
+            SqlToken.Type.QUOTED_IDENTIFIER, SqlToken.Type.SYMBOL, SqlToken.Type.STRING, SqlToken.Type.WORD,
+            SqlToken.Type.QUOTED_IDENTIFIER, SqlToken.Type.SYMBOL, SqlToken.Type.NUMBER, SqlToken.Type.WORD,
+            SqlToken.Type.WORD, SqlToken.Type.SYMBOL, SqlToken.Type.SYMBOL, SqlToken.Type.QUOTED_IDENTIFIER);
+        assertThat(tokens.get(2).text()).isEqualTo("N'it''s'");
+        assertThat(tokens.get(8).text()).isEqualTo("@limit");
+    }
+
+    @Test
+    void placeholders_IgnoresQuestionMarksInLiteralsIdentifiersAndComments() {
+        String sql = """
+            SELECT [what?], 'why?' AS reason -- really?
+            FROM faq /* outer ? /* nested ? */ still a comment ? */
+            WHERE question = ? AND note = 'it''s ?' AND answer = ?""";
+
+        List<SqlToken> placeholders = SqlLexer.placeholders(sql);
+
+        assertThat(placeholders).hasSize(2);
+        assertThat(placeholders).allSatisfy(token -> assertThat(sql.charAt(token.start())).isEqualTo('?'));
+        assertThat(sql.substring(0, placeholders.get(0).start())).endsWith("question = ");
+        assertThat(sql.substring(0, placeholders.get(1).start())).endsWith("answer = ");
+    }
+
+    @Test
+    void unterminatedLiteralOrComment_ExtendsToEndOfText() {
+        assertThat(SqlLexer.placeholders("SELECT 'open ? literal")).isEmpty();
+        assertThat(SqlLexer.placeholders("SELECT ? /* open ? comment")).hasSize(1);
+        assertThat(SqlLexer.tokenize("   ")).isEmpty();
+    }
+
+    @Test
+    void nullSql_IsRejected() {
+        assertThatThrownBy(() -> SqlLexer.tokenize(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SqlLexer.placeholders(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -3,6 +3,7 @@ package com.jfeatures.msg.codegen.sql;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.jfeatures.msg.codegen.domain.DBColumn;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -307,4 +308,41 @@ class SqlParameterReplacerTest {
         String expected = "SELECT * FROM customers WHERE description NOT LIKE '%What%' AND id = :id";
         assertEquals(expected, result);
     }
-}
\ No newline at end of file
+    
+    @Test
+    void testConvertToNamedParameterSql_QuestionMarksInLiteralsIdentifiersAndComments_AreNotPlaceholders() {
+        // Given
+        String sql = "SELECT [why?] FROM faq /* who? */ WHERE question = 'what?' AND faq_id = ? -- and ?\n AND topic = ?";
+        List<DBColumn> parameters = Arrays.asList(
+            new DBColumn("table", "faq_id", "Integer", "INTEGER"),
+            new DBColumn("table", "topic", "String", "VARCHAR")
+        );
+        
+        // When
+        String result = SqlParameterReplacer.convertToNamedParameterSql(sql, parameters);
+        
+        // Then
+        String expected = "SELECT [why?] FROM faq /* who? */ WHERE question = 'what?' AND faq_id = :faq_id -- and ?\n AND topic = :topic";
+        assertEquals(expected, result);
+    }
+    
+    @Test
+    void testConvertToNamedParameterSql_ManyPlaceholders_ReplacesEachInOrder() {
+        // Given
+        int parameterCount = 5_000;
+        StringBuilder sql = new StringBuilder("SELECT * FROM wide_table WHERE 1 = 1");
+        StringBuilder expected = new StringBuilder(sql);
+        List<DBColumn> parameters = new ArrayList<>();
+        for (int i = 0; i < parameterCount; i++) {
+            sql.append(" AND col_").append(i).append(" = ?");
+            expected.append(" AND col_").append(i).append(" = :col_").append(i);
+            parameters.add(new DBColumn("table", "col_" + i, "String", "VARCHAR"));
+        }
+        
+        // When
+        String result = SqlParameterReplacer.convertToNamedParameterSql(sql.toString(), parameters);
+        
+        // Then
+        assertEquals(expected.toString(), result);
+    }
+}
@@ -0,0 +1,131 @@
+package com.jfeatures.msg.codegen.sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.jfeatures.msg.codegen.domain.ScriptStatement;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SqlScriptSplitterTest {
+
+    @Test
+    void split_SeparatesStatementsAtSemicolonsAndGoLines() {
+        String script = """
+            SELECT first_name FROM customer WHERE customer_id = ?;
+            DELETE FROM customer WHERE customer_id = ?
+            GO
+            UPDATE customer SET email = ? WHERE customer_id = ?
+            go 2
+            INSERT INTO country (country) VALUES (?)
+            """;
+
+        List<ScriptStatement> statements = SqlScriptSplitter.split(script, "Customer");
+
+        assertThat(statements).extracting(statement -> statement.unit().sql()).containsExactly(
+            "SELECT first_name FROM customer WHERE customer_id = ?",
+            "DELETE FROM customer WHERE customer_id = ?",
+            "UPDATE customer SET email = ? WHERE customer_id = ?",
+            "INSERT INTO country (country) VALUES (?)");
+        assertThat(statements).extracting(ScriptStatement::lineNumber).containsExactly(1, 2, 4, 6);
+        assertThat(statements).allMatch(statement -> statement.unit().isParsed());
+    }
+
+    @Test
+    void split_IgnoresSeparatorsInLiteralsCommentsAndIdentifiers() {
+        String script = """
+            SELECT [go], 'a;b' AS x FROM customer WHERE last_name = 'GO' -- trailing; comment
+            /* GO
+            ; */
+            AND customer_id = ?;
+            """;
+
+        List<ScriptStatement> statements = SqlScriptSplitter.split(script, "Customer");
+
+        assertThat(statements).hasSize(1);
+        assertThat(statements.get(0).unit().sql()).startsWith("SELECT [go]").endsWith("AND customer_id = ?");
+    }
+
+    @Test
+    void split_NamesStatementsFromLeadingAnnotationOrNumber() {
+        String script = """
+            -- Lookups used by the customer screen
+            -- @name: CustomerByEmail
+            SELECT first_name FROM customer WHERE email = ?;
+
+            SELECT first_name FROM customer WHERE customer_id = ?;
+            /* @name CustomerRemoval */
+            DELETE FROM customer WHERE customer_id = ?;
+            """;
+
+        List<ScriptStatement> statements = SqlScriptSplitter.split(script, "Customer");
+
+        assertThat(statements).extracting(ScriptStatement::businessDomainName)
+            .containsExactly("CustomerByEmail", "Customer2", "CustomerRemoval");
+    }
+
+    @Test
+    void split_SkipsEmptyStatements() {
+        List<ScriptStatement> statements = SqlScriptSplitter.split(";;\nGO\n-- only a comment\n;SELECT 1;", "Script");
+
+        assertThat(statements).singleElement().satisfies(statement -> {
+            assertThat(statement.unit().sql()).isEqualTo("SELECT 1");
+            assertThat(statement.businessDomainName()).isEqualTo("Script1");
+            assertThat(statement.lineNumber()).isEqualTo(4);
+        });
+        assertThat(SqlScriptSplitter.split("  -- nothing here\n", "Script")).isEmpty();
+    }
+
+    @Test
+    void split_LineNumbers_CountBreaksInStatementsCommentsAndLiterals() {
+        String script = """
+            SELECT 'multi
+            line' AS x;
+            /* two
+               lines */ SELECT 2
+            GO
+
+            -- skipped ; comment
+            SELECT 3; SELECT 4
+            """;
+
+        List<ScriptStatement> statements = SqlScriptSplitter.split(script, "Script");
+
+        assertThat(statements).extracting(ScriptStatement::lineNumber).containsExactly(1, 4, 8, 8);
+    }
+
+    @Test
+    void statementTexts_ReturnsTheSourceOfEachStatement() {
+        String script = "-- setup\nCREATE TABLE t (id INT)\nGO\nINSERT INTO t VALUES (1); ;\n";
+
+        assertThat(SqlScriptSplitter.statementTexts(script))
+            .containsExactly("CREATE TABLE t (id INT)", "INSERT INTO t VALUES (1)");
+        assertThatThrownBy(() -> SqlScriptSplitter.statementTexts(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void split_InvalidAnnotatedName_ReportsLine() {
+        String script = "SELECT 1;\n-- @name: 2fast\nSELECT 2;";
+
+        assertThatThrownBy(() -> SqlScriptSplitter.split(script, "Script"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("'2fast'")
+            .hasMessageContaining("line 3");
+    }
+
+    @Test
+    void split_DuplicateNames_AreRejected() {
+        String script = "-- @name: Lookup\nSELECT 1;\n-- @name: LOOKUP\nSELECT 2;";
+
+        assertThatThrownBy(() -> SqlScriptSplitter.split(script, "Script"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("same name")
+            .hasMessageContaining("line 4");
+    }
+
+    @Test
+    void split_InvalidInput_Throws() {
+        assertThatThrownBy(() -> SqlScriptSplitter.split(null, "Script")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SqlScriptSplitter.split("SELECT 1", "bad name")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
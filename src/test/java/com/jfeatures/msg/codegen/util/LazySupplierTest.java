@@ -0,0 +1,70 @@
+package com.jfeatures.msg.codegen.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class LazySupplierTest {
+
+    @Test
+    void testGet_CallsLoaderOnceAndReusesItsResult() {
+        AtomicInteger loads = new AtomicInteger();
+        LazySupplier<String> supplier = LazySupplier.of(() -> "catalog-" + loads.incrementAndGet());
+
+        assertEquals(0, loads.get());
+        assertEquals("catalog-1", supplier.get());
+        assertEquals("catalog-1", supplier.get());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testGet_NullResult_IsRememberedToo() {
+        AtomicInteger loads = new AtomicInteger();
+        LazySupplier<String> supplier = LazySupplier.of(() -> {
+            loads.incrementAndGet();
+            return null;
+        });
+
+        assertNull(supplier.get());
+        assertNull(supplier.get());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testGet_ConcurrentFirstCalls_LoadOnce() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        LazySupplier<Integer> supplier = LazySupplier.of(loads::incrementAndGet);
+
+        List<Thread> threads = new ArrayList<>();
+        List<Integer> results = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 8; i++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                results.add(supplier.get());
+            }));
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(8, results.size());
+        assertTrue(results.stream().allMatch(result -> result == 1));
+    }
+
+    @Test
+    void testOf_NullLoader_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> LazySupplier.of(null));
+    }
+}
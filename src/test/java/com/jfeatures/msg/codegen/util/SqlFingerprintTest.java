@@ -0,0 +1,61 @@
+package com.jfeatures.msg.codegen.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import org.junit.jupiter.api.Test;
+
+class SqlFingerprintTest {
+
+    @Test
+    void testFingerprint_WhitespaceCommentsAndSemicolon_AreIgnored() {
+        String compact = "SELECT * FROM customer WHERE customer_id = ?";
+        String formatted = """
+            -- look up one customer
+            SELECT *
+              FROM customer   /* sakila */
+             WHERE customer_id = ?;
+            """;
+
+        assertEquals(SqlFingerprint.fingerprint(compact), SqlFingerprint.fingerprint(formatted));
+        assertEquals(64, SqlFingerprint.fingerprint(compact).length());
+    }
+
+    @Test
+    void testFingerprint_DifferentStatements_Differ() {
+        assertNotEquals(
+            SqlFingerprint.fingerprint("SELECT * FROM customer WHERE customer_id = ?"),
+            SqlFingerprint.fingerprint("SELECT * FROM customer WHERE store_id = ?"));
+    }
+
+    @Test
+    void testFingerprint_IdentifierCase_IsSignificant() {
+        assertNotEquals(
+            SqlFingerprint.fingerprint("SELECT * FROM Customer"),
+            SqlFingerprint.fingerprint("SELECT * FROM customer"));
+    }
+
+    @Test
+    void testNormalize_LiteralsAndQuotedIdentifiers_AreKeptVerbatim() {
+        String sql = "SELECT  \"First  Name\" FROM customer WHERE email = 'a  --b'  AND note = 'it''s  /* ok */'";
+
+        assertEquals("SELECT \"First  Name\" FROM customer WHERE email = 'a  --b' AND note = 'it''s  /* ok */'",
+            SqlFingerprint.normalize(sql));
+    }
+
+    @Test
+    void testNormalize_NullOrBlank_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> SqlFingerprint.normalize(null));
+        assertThrows(IllegalArgumentException.class, () -> SqlFingerprint.fingerprint("   "));
+    }
+
+    @Test
+    void testConstructor_ThrowsUnsupportedOperationException() throws Exception {
+        Constructor<SqlFingerprint> constructor = SqlFingerprint.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+
+        InvocationTargetException exception = assertThrows(InvocationTargetException.class, constructor::newInstance);
+        assertInstanceOf(UnsupportedOperationException.class, exception.getCause());
+    }
+}
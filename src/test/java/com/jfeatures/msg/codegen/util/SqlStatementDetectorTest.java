@@ -44,7 +44,7 @@ class SqlStatementDetectorTest {
 
     @Test
     void shouldReturnUnknownForNullSql() throws Exception {
-        assertThat(SqlStatementDetector.detectStatementType(null))
+        assertThat(SqlStatementDetector.detectStatementType((String) null))
             .isEqualTo(SqlStatementType.UNKNOWN);
     }
 
@@ -0,0 +1,75 @@
+package com.jfeatures.msg.codegen.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.jfeatures.msg.codegen.domain.TableReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import org.junit.jupiter.api.Test;
+
+class TableReferenceFinderTest {
+
+    @Test
+    void testFindTableReferences_JoinWithAliases_ReturnsTablesAndAliases() throws Exception {
+        String sql = """
+            SELECT cus.first_name, adr.address
+            FROM customer cus
+            JOIN address adr ON cus.address_id = adr.address_id
+            WHERE cus.active = ?
+            """;
+
+        List<TableReference> references = TableReferenceFinder.findTableReferences(CCJSqlParserUtil.parse(sql));
+
+        assertEquals(List.of(
+            new TableReference(null, "customer", "cus"),
+            new TableReference(null, "address", "adr")
+        ), references);
+    }
+
+    @Test
+    void testFindTableReferences_QuotedSchemaQualifiedTable_IsUnquoted() throws Exception {
+        List<TableReference> references = TableReferenceFinder.findTableReferences(
+            CCJSqlParserUtil.parse("UPDATE \"dbo\".\"customer\" SET first_name = ? WHERE customer_id = ?"));
+
+        assertEquals(List.of(new TableReference("dbo", "customer", null)), references);
+    }
+
+    @Test
+    void testFindTableReferences_CommonTableExpression_IsExcluded() throws Exception {
+        String sql = """
+            WITH active_customers AS (SELECT customer_id FROM customer WHERE active = 1)
+            SELECT p.amount FROM payment p JOIN active_customers ac ON p.customer_id = ac.customer_id
+            """;
+
+        List<String> tableNames = TableReferenceFinder.findTableReferences(CCJSqlParserUtil.parse(sql))
+            .stream()
+            .map(TableReference::tableName)
+            .toList();
+
+        assertEquals(List.of("customer", "payment"), tableNames.stream().sorted().toList());
+    }
+
+    @Test
+    void testFindTableReferences_NullStatement_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> TableReferenceFinder.findTableReferences(null));
+    }
+
+    @Test
+    void testUnquote_StripsBracketsAndDoubleQuotes() {
+        assertEquals("customer", TableReferenceFinder.unquote("[customer]"));
+        assertEquals("customer", TableReferenceFinder.unquote("\"customer\""));
+        assertEquals("customer", TableReferenceFinder.unquote(" customer "));
+        assertNull(TableReferenceFinder.unquote(null));
+    }
+
+    @Test
+    void testConstructor_ThrowsUnsupportedOperationException() throws Exception {
+        Constructor<TableReferenceFinder> constructor = TableReferenceFinder.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+
+        InvocationTargetException exception = assertThrows(InvocationTargetException.class, constructor::newInstance);
+        assertInstanceOf(UnsupportedOperationException.class, exception.getCause());
+    }
+}
@@ -0,0 +1,130 @@
+package com.jfeatures.msg.codegen.verify;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import com.jfeatures.msg.codegen.dbmetadata.CatalogColumn;
+import com.jfeatures.msg.codegen.dbmetadata.MetadataCache;
+import com.jfeatures.msg.codegen.dbmetadata.SchemaCatalog;
+import com.jfeatures.msg.codegen.dbmetadata.TableStatistics;
+import com.jfeatures.msg.codegen.domain.DatabaseConnection;
+import com.jfeatures.msg.codegen.domain.GeneratedMicroservice;
+import com.jfeatures.msg.codegen.domain.SourceDiagnostic;
+import com.jfeatures.msg.codegen.domain.SourceVerificationResult;
+import com.jfeatures.msg.codegen.generator.SelectMicroserviceGenerator;
+import com.jfeatures.msg.codegen.util.SqlStatementType;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeSpec;
+import java.io.IOException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+class GeneratedSourceVerifierTest {
+
+    private final GeneratedSourceVerifier verifier = new GeneratedSourceVerifier();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        verifier.close();
+    }
+
+    @Test
+    void verify_GeneratedSelectMicroservice_Compiles() throws Exception {
+        SchemaCatalog catalog = SchemaCatalog.of("dbo", List.of(
+            new CatalogColumn("dbo", "customer", "customer_id", 1, "int", Types.INTEGER, 4, 10, 0, false, true, true),
+            new CatalogColumn("dbo", "customer", "email", 2, "varchar", Types.VARCHAR, 50, 0, 0, true, false, false)
+        ), Map.of());
+        GeneratedMicroservice microservice = new SelectMicroserviceGenerator(() -> catalog, MetadataCache.disabled())
+            .generateSelectMicroservice("SELECT customer_id, email FROM customer WHERE customer_id = ?", "Customer",
+                                        new DatabaseConnection(mock(DataSource.class), mock(JdbcTemplate.class),
+                                                               mock(NamedParameterJdbcTemplate.class)));
+
+        SourceVerificationResult result = verifier.verify(microservice);
+
+        assertThat(result.diagnostics()).isEmpty();
+        assertThat(result.succeeded()).isTrue();
+        assertThat(result.sourceFileCount()).isEqualTo(5);
+    }
+
+    @Test
+    void verify_PagedAndStreamedSelectMicroservices_Compile() throws Exception {
+        SchemaCatalog catalog = SchemaCatalog.of("dbo", List.of(
+            new CatalogColumn("dbo", "customer", "customer_id", 1, "int", Types.INTEGER, 4, 10, 0, false, true, true),
+            new CatalogColumn("dbo", "customer", "email", 2, "varchar", Types.VARCHAR, 50, 0, 0, true, false, false)
+        ), Map.of());
+        TableStatistics statistics = new TableStatistics(Map.of("dbo.customer", 100_000L), Map.of());
+        SelectMicroserviceGenerator generator =
+            new SelectMicroserviceGenerator(() -> catalog, MetadataCache.disabled(), () -> statistics);
+        DatabaseConnection databaseConnection = new DatabaseConnection(mock(DataSource.class), mock(JdbcTemplate.class),
+                                                                       mock(NamedParameterJdbcTemplate.class));
+
+        GeneratedMicroservice paged = generator.generateSelectMicroservice(
+            "SELECT customer_id, email FROM customer WHERE email = ? ORDER BY customer_id", "Customer", databaseConnection);
+        // Without an ORDER BY the rows have no stable order to page by, so they are streamed
+        GeneratedMicroservice streamed = generator.generateSelectMicroservice(
+            "SELECT customer_id, email FROM customer WHERE email = ?", "Customer", databaseConnection);
+
+        assertThat(paged.daoFile().toString()).contains("DEFAULT_PAGE_SIZE").contains(":pageOffset");
+        assertThat(streamed.daoFile().toString()).contains("streamCustomer");
+        assertThat(verifier.verify(paged).diagnostics()).isEmpty();
+        assertThat(verifier.verify(streamed).diagnostics()).isEmpty();
+    }
+
+    @Test
+    void verify_SourceWithUnknownType_ReportsErrorForThatFile() throws Exception {
+        String packageName = "com.jfeatures.msg.customer";
+        TypeSpec brokenDao = TypeSpec.classBuilder("CustomerDAO")
+            .addMethod(MethodSpec.methodBuilder("find")
+                .returns(ClassName.get("com.example.missing", "MissingType"))
+                .addStatement("return null")
+                .build())
+            .build();
+        GeneratedMicroservice microservice = new GeneratedMicroservice(
+            "Customer",
+            JavaFile.builder(packageName, TypeSpec.classBuilder("CustomerApplication").build()).build(),
+            JavaFile.builder(packageName + ".dto", TypeSpec.classBuilder("CustomerDTO").build()).build(),
+            JavaFile.builder(packageName + ".controller", TypeSpec.classBuilder("CustomerController").build()).build(),
+            JavaFile.builder(packageName + ".dao", brokenDao).build(),
+            "package com.jfeatures.customer.config;\n\npublic class DatabaseConfig {\n}\n",
+            SqlStatementType.SELECT);
+
+        SourceVerificationResult result = verifier.verify(microservice);
+
+        assertThat(result.succeeded()).isFalse();
+        assertThat(result.diagnostics())
+            .isNotEmpty()
+            .allSatisfy(diagnostic -> {
+                assertThat(diagnostic.sourceFile()).isEqualTo("src/main/java/com/jfeatures/msg/customer/dao/CustomerDAO.java");
+                assertThat(diagnostic.lineNumber()).isPositive();
+            });
+        assertThat(result.diagnostics()).extracting(SourceDiagnostic::message)
+            .anyMatch(message -> message.contains("com.example.missing"));
+    }
+
+    @Test
+    void verify_NullMicroservice_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> verifier.verify(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void constructor_WithoutCompiler_ThrowsIllegalStateException() {
+        assertThatThrownBy(() -> new GeneratedSourceVerifier(null, "")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void sourceDiagnostic_FormatsLikeTheCompiler() {
+        assertThat(new SourceDiagnostic("src/main/java/A.java", 3, 7, "cannot find symbol"))
+            .hasToString("src/main/java/A.java:3:7: cannot find symbol");
+        assertThat(new SourceDiagnostic("src/main/java/A.java", -1, -1, "error"))
+            .hasToString("src/main/java/A.java: error");
+    }
+}
@@ -0,0 +1,130 @@
+package com.jfeatures.msg.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import java.util.Properties;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.env.SystemEnvironmentPropertySource;
+import org.springframework.mock.env.MockEnvironment;
+
+class DataSourceSettingsTest {
+
+    @Test
+    void testFromApplicationProperties_ReadsClasspathSettings() {
+        DataSourceSettings settings = DataSourceSettings.fromApplicationProperties();
+
+        assertTrue(settings.url().contains("databaseName=sakila"));
+        assertEquals("sa", settings.username());
+        assertEquals("com.microsoft.sqlserver.jdbc.SQLServerDriver", settings.driverClassName());
+        assertEquals(4, settings.maximumPoolSize());
+        assertEquals(1, settings.minimumIdle());
+        assertEquals(30_000L, settings.connectionTimeoutMillis());
+        assertEquals(600_000L, settings.idleTimeoutMillis());
+    }
+
+    @Test
+    void testFromProperties_EmptyProperties_UsesDefaults() {
+        DataSourceSettings settings = DataSourceSettings.fromProperties(new Properties());
+
+        assertEquals(DataSourceSettings.DEFAULT_URL, settings.url());
+        assertEquals(DataSourceSettings.DEFAULT_USERNAME, settings.username());
+        assertEquals(DataSourceSettings.DEFAULT_MAXIMUM_POOL_SIZE, settings.maximumPoolSize());
+        assertEquals(DataSourceSettings.DEFAULT_CONNECTION_TIMEOUT_MILLIS, settings.connectionTimeoutMillis());
+    }
+
+    @Test
+    void testFromProperties_NonNumericPoolSize_ThrowsException() {
+        Properties properties = new Properties();
+        properties.setProperty("spring.datasource.hikari.maximum-pool-size", "many");
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> DataSourceSettings.fromProperties(properties));
+
+        assertTrue(exception.getMessage().contains("spring.datasource.hikari.maximum-pool-size"));
+    }
+
+    @Test
+    void testFromProperties_NullProperties_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> DataSourceSettings.fromProperties(null));
+    }
+
+    @Test
+    void testFromEnvironment_ReadsSpringProperties() {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("spring.datasource.url", "jdbc:sqlserver://db.internal:1433;databaseName=erp")
+            .withProperty("spring.datasource.hikari.maximum-pool-size", "12");
+
+        DataSourceSettings settings = DataSourceSettings.fromEnvironment(environment);
+
+        assertEquals("jdbc:sqlserver://db.internal:1433;databaseName=erp", settings.url());
+        assertEquals(12, settings.maximumPoolSize());
+        assertEquals(DataSourceSettings.DEFAULT_USERNAME, settings.username());
+    }
+
+    @Test
+    void testFromEnvironment_EnvironmentVariablesOverrideProperties() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new SystemEnvironmentPropertySource("test-environment", Map.of(
+            "SPRING_DATASOURCE_URL", "jdbc:sqlserver://from-env:1433",
+            "SPRING_DATASOURCE_HIKARI_CONNECTION_TIMEOUT", "5000")));
+
+        DataSourceSettings settings = DataSourceSettings.fromEnvironment(environment);
+
+        assertEquals("jdbc:sqlserver://from-env:1433", settings.url());
+        assertEquals(5_000L, settings.connectionTimeoutMillis());
+    }
+
+    @Test
+    void testFromEnvironment_NullEnvironment_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> DataSourceSettings.fromEnvironment(null));
+    }
+
+    @Test
+    void testWithOverrides_AppliesOnlyNonNullValues() {
+        DataSourceSettings settings = DataSourceSettings.fromProperties(new Properties());
+
+        DataSourceSettings overridden = settings.withOverrides("jdbc:sqlserver://other:1433", null, null, 8, null);
+
+        assertEquals("jdbc:sqlserver://other:1433", overridden.url());
+        assertEquals(settings.username(), overridden.username());
+        assertEquals(settings.password(), overridden.password());
+        assertEquals(8, overridden.maximumPoolSize());
+        assertEquals(settings.connectionTimeoutMillis(), overridden.connectionTimeoutMillis());
+    }
+
+    @Test
+    void testWithOverrides_PoolSmallerThanMinimumIdle_ClampsMinimumIdle() {
+        Properties properties = new Properties();
+        properties.setProperty("spring.datasource.hikari.maximum-pool-size", "10");
+        properties.setProperty("spring.datasource.hikari.minimum-idle", "5");
+        DataSourceSettings settings = DataSourceSettings.fromProperties(properties);
+
+        DataSourceSettings overridden = settings.withOverrides(null, null, null, 2, null);
+
+        assertEquals(2, overridden.maximumPoolSize());
+        assertEquals(2, overridden.minimumIdle());
+    }
+
+    @Test
+    void testConstructor_InvalidPoolSize_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new DataSourceSettings(
+            "jdbc:sqlserver://localhost:1433", "sa", "pw", "com.microsoft.sqlserver.jdbc.SQLServerDriver",
+            0, 0, 30_000L, 600_000L));
+    }
+
+    @Test
+    void testConstructor_BlankUrl_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new DataSourceSettings(
+            " ", "sa", "pw", "com.microsoft.sqlserver.jdbc.SQLServerDriver",
+            4, 1, 30_000L, 600_000L));
+    }
+
+    @Test
+    void testToString_DoesNotExposePassword() {
+        DataSourceSettings settings = DataSourceSettings.fromProperties(new Properties());
+
+        assertFalse(settings.toString().contains(DataSourceSettings.DEFAULT_PASSWORD));
+    }
+}
@@ -0,0 +1,100 @@
+package com.jfeatures.msg.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.jfeatures.msg.codegen.generator.ServiceGenerationPipeline;
+import com.jfeatures.msg.service.MicroserviceGenerationService;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Tests for GenerationController to ensure proper REST endpoint behavior.
+ */
+@ExtendWith(MockitoExtension.class)
+class GenerationControllerTest {
+
+    @Mock
+    private MicroserviceGenerationService generationService;
+
+    private GenerationController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new GenerationController(generationService);
+    }
+
+    @Test
+    void generate_WithValidRequest_StreamsArchiveAsAttachment() throws Exception {
+        ServiceGenerationPipeline.GeneratedService service = mock(ServiceGenerationPipeline.GeneratedService.class);
+        when(generationService.generate("SELECT * FROM customer", "Customer", false, null, false, false))
+            .thenReturn(service);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write(new byte[] {1, 2, 3});
+            return null;
+        }).when(generationService).writeProjectArchive(eq(service), any(OutputStream.class));
+
+        ResponseEntity<StreamingResponseBody> response =
+            controller.generate(new GenerationRequest("SELECT * FROM customer", "Customer"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION))
+            .isEqualTo("attachment; filename=\"customer.zip\"");
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        response.getBody().writeTo(body);
+        assertThat(body.toByteArray()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void generate_WithInvalidRequest_FailsBeforeStreaming() throws Exception {
+        when(generationService.generate("DROP TABLE customer", "Customer", false, null, false, false))
+            .thenThrow(new IllegalArgumentException("Unknown or unsupported SQL statement type"));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> controller.generate(new GenerationRequest("DROP TABLE customer", "Customer")));
+        verify(generationService, never()).writeProjectArchive(any(), any());
+    }
+
+    @Test
+    void generate_WithReportOptions_PassesThemToTheService() throws Exception {
+        ServiceGenerationPipeline.GeneratedService service = mock(ServiceGenerationPipeline.GeneratedService.class);
+        when(generationService.generate("SELECT * FROM customer", "Customer", true, 1000L, true, false))
+            .thenReturn(service);
+
+        ResponseEntity<StreamingResponseBody> response = controller.generate(
+            new GenerationRequest("SELECT * FROM customer", "Customer", true, 1000L, true, false));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void generate_WithNullRequest_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> controller.generate(null));
+        verifyNoInteractions(generationService);
+    }
+
+    @Test
+    void handleInvalidRequest_ReturnsBadRequestWithMessage() {
+        ResponseEntity<String> response = controller.handleInvalidRequest(new IllegalArgumentException("bad SQL"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).isEqualTo("bad SQL");
+    }
+}
@@ -0,0 +1,142 @@
+package com.jfeatures.msg.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.jfeatures.msg.codegen.database.EmbeddedSchemaDataSource;
+import com.jfeatures.msg.codegen.domain.GeneratedMicroservice;
+import com.jfeatures.msg.codegen.generator.ServiceGenerationPipeline;
+import com.jfeatures.msg.codegen.util.SqlStatementType;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeSpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class MicroserviceGenerationServiceTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private MicroserviceGenerationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new MicroserviceGenerationService(dataSource, jdbcTemplate, namedParameterJdbcTemplate, "dbo", false);
+    }
+
+    @Test
+    void constructor_WithBlankSchema_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new MicroserviceGenerationService(dataSource, jdbcTemplate, namedParameterJdbcTemplate, " ", false));
+    }
+
+    @Test
+    void generateProjectArchive_WithBlankSql_IsRejectedBeforeTouchingTheDatabase() {
+        assertThrows(IllegalArgumentException.class, () -> service.generate("  ", "Customer"));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void generateProjectArchive_WithInvalidBusinessName_IsRejectedBeforeTouchingTheDatabase() {
+        assertThrows(IllegalArgumentException.class,
+            () -> service.generate("SELECT * FROM customer", "../Customer"));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void generate_WithNegativeFailOnScanRows_IsRejectedBeforeTouchingTheDatabase() {
+        assertThrows(IllegalArgumentException.class,
+            () -> service.generate("SELECT * FROM customer", "Customer", true, -1L, false, false));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void generate_WithLiveProfilingDisabled_RejectsPlanAndLatencyRequests() {
+        assertThrows(IllegalArgumentException.class,
+            () -> service.generate("SELECT * FROM customer", "Customer", true, null, false, false));
+        assertThrows(IllegalArgumentException.class,
+            () -> service.generate("SELECT * FROM customer", "Customer", false, 1000L, false, false));
+        assertThrows(IllegalArgumentException.class,
+            () -> service.generate("DELETE FROM customer WHERE customer_id = ?", "Customer", false, null, false, true));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void generate_WithoutTableVersions_LoadsTheSchemaCatalogOnce() throws Exception {
+        // The embedded database has no modification dates and no catalog views, as a login without VIEW DEFINITION
+        Path ddlFile = Path.of(getClass().getClassLoader().getResource("sakila-test-schema.sql").toURI());
+        try (var embeddedDataSource = new EmbeddedSchemaDataSource(ddlFile, "dbo")) {
+            JdbcTemplate embeddedJdbcTemplate = spy(new JdbcTemplate(embeddedDataSource));
+            var embeddedService = new MicroserviceGenerationService(embeddedDataSource, embeddedJdbcTemplate,
+                new NamedParameterJdbcTemplate(embeddedDataSource), "dbo", false);
+
+            embeddedService.generate("SELECT customer_id, first_name FROM customer WHERE customer_id = ?", "Customer");
+            ServiceGenerationPipeline.GeneratedService generated = embeddedService.generate(
+                "SELECT customer_id, email FROM customer WHERE customer_id = ?", "CustomerEmail", false, null, true, false);
+
+            assertThat(generated.microservice().statementType()).isEqualTo(SqlStatementType.SELECT);
+            assertThat(generated.reportFiles()).containsKey("db/recommended-indexes.sql");
+            verify(embeddedJdbcTemplate, times(1)).query(contains("FROM sys.columns"), any(RowCallbackHandler.class), eq("dbo"));
+        }
+    }
+
+    @Test
+    void writeProjectArchive_StreamsTheProjectUnderTheBusinessName() throws IOException {
+        String packageName = "com.jfeatures.msg.customer";
+        GeneratedMicroservice microservice = new GeneratedMicroservice(
+            "Customer",
+            JavaFile.builder(packageName, TypeSpec.classBuilder("CustomerApplication").build()).build(),
+            JavaFile.builder(packageName + ".dto", TypeSpec.classBuilder("CustomerDTO").build()).build(),
+            JavaFile.builder(packageName + ".controller", TypeSpec.classBuilder("CustomerController").build()).build(),
+            JavaFile.builder(packageName + ".dao", TypeSpec.classBuilder("CustomerDAO").build()).build(),
+            "// Database config for Customer",
+            SqlStatementType.SELECT);
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+
+        service.writeProjectArchive(new ServiceGenerationPipeline.GeneratedService(microservice, null,
+            Map.of("PERFORMANCE_REPORT.md", "# Performance report")), archive);
+
+        List<String> entries = new ArrayList<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(archive.toByteArray()))) {
+            for (ZipEntry entry = zipInputStream.getNextEntry(); entry != null; entry = zipInputStream.getNextEntry()) {
+                entries.add(entry.getName());
+            }
+        }
+        assertThat(entries).contains(
+            "customer/pom.xml",
+            "customer/src/main/java/com/jfeatures/msg/customer/dao/CustomerDAO.java",
+            "customer/src/main/java/com/jfeatures/customer/config/DatabaseConfig.java",
+            "customer/PERFORMANCE_REPORT.md");
+        verifyNoInteractions(jdbcTemplate);
+    }
+}